@@ -29,10 +29,14 @@ import java.util.Map;
 public class PageRankMemoryEstimateDefinition implements MemoryEstimateDefinition {
     @Override
     public MemoryEstimation memoryEstimation() {
+        // the sum reducer of the page rank variants is combinable
         return Pregel.memoryEstimation(
             Map.of(PageRankComputation.PAGE_RANK, ValueType.DOUBLE),
             false,
-            false
+            false,
+            false,
+            false,
+            true
         );
     }
 }
@@ -33,9 +33,9 @@ class PageRankMemoryEstimateDefinitionTest {
 
     private static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1, 2412832L),
-            Arguments.of(4, 2413000L),
-            Arguments.of(42, 2415128L)
+            Arguments.of(1, 2429312L),
+            Arguments.of(4, 2478920L),
+            Arguments.of(42, 3107288L)
         );
     }
 
@@ -61,7 +61,7 @@ class PageRankMemoryEstimateDefinitionTest {
 
         MemoryEstimationAssert.assertThat(memoryEstimation)
             .memoryRange(nodeCount, relationshipCount, new Concurrency(4))
-            .hasSameMinAndMaxEqualTo(241_286_621_640L);
+            .hasSameMinAndMaxEqualTo(241_286_687_560L);
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface HugeConcurrentMap {
+
+    /**
+     * The type of the values which are stored in the generated HugeConcurrentMap.
+     * Keys are always of type {@code long}.
+     */
+    Class<?> valueType();
+
+    /**
+     * The functional interface which takes a {@code long} key and returns the valueType.
+     * The method is expected to be named "applyAs" followed by the capitalized valueType, e.g. "applyAsLong".
+     */
+    Class<?> mappingFunctionInterface();
+
+    /**
+     * The functional interface which takes a {@code long} key and the valueType.
+     * The method is expected to be named "accept".
+     */
+    Class<?> entryConsumerInterface();
+}
@@ -33,6 +33,7 @@ import org.neo4j.gds.metrics.algorithms.AlgorithmMetricsService;
 
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 
 public class DefaultAlgorithmProcessingTemplate implements AlgorithmProcessingTemplate {
@@ -224,19 +225,37 @@ public class DefaultAlgorithmProcessingTemplate implements AlgorithmProcessingTe
             postGraphStoreLoadETLHooks
         );
 
-        var result = runComputation(
-            configuration,
-            graphResources,
-            label,
-            estimationSupplier,
-            computation,
-            timingsBuilder,
-            dimensionTransformer
-        );
+        // the graph must not be evicted from the catalog while we compute on it and write results back
+        var pin = graphStoreCatalogService.pin(graphResources.graphStore());
+        var pinIsHandedOver = false;
+        try {
+            var result = runComputation(
+                configuration,
+                graphResources,
+                label,
+                estimationSupplier,
+                computation,
+                timingsBuilder,
+                dimensionTransformer
+            );
+
+            var metadata = processSideEffect(timingsBuilder, graphResources, result, sideEffect);
 
-        var metadata = processSideEffect(timingsBuilder, graphResources, result, sideEffect);
+            var renderedResult = resultRenderer.render(graphResources, result, timingsBuilder.build(), metadata);
 
-        return resultRenderer.render(graphResources, result, timingsBuilder.build(), metadata);
+            // streamed results read from the graph lazily, so it stays pinned until the stream is closed
+            if (renderedResult instanceof BaseStream<?, ?> stream) {
+                pinIsHandedOver = true;
+                //noinspection unchecked
+                return (RESULT_TO_CALLER) stream.onClose(pin::close);
+            }
+
+            return renderedResult;
+        } finally {
+            if (!pinIsHandedOver) {
+                pin.close();
+            }
+        }
     }
 
     /**
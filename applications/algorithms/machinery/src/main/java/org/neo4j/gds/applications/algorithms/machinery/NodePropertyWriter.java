@@ -92,6 +92,7 @@ public class NodePropertyWriter {
             .withProgressTracker(progressTracker)
             .withResultStore(resultStore)
             .withTerminationFlag(terminationFlag)
+            .withWriteOnlyChanged(writeConfig.writeOnlyChanged(), writeConfig.writeTolerance())
             .build();
 
         try {
@@ -26,8 +26,11 @@ import org.neo4j.gds.core.loading.GraphResources;
 import org.neo4j.gds.core.loading.GraphStoreCatalogService;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +43,7 @@ class DefaultAlgorithmProcessingTemplateTest {
     @Test
     void shouldDoFourStepProcess() {
         var graphStoreCatalogService = mock(GraphStoreCatalogService.class);
+        when(graphStoreCatalogService.pin(any())).thenReturn(() -> {});
         var requestScopedDependencies = RequestScopedDependencies.builder().build();
         var algorithmComputer = mock(ComputationService.class);
         var template = new DefaultAlgorithmProcessingTemplate(
@@ -95,6 +99,7 @@ class DefaultAlgorithmProcessingTemplateTest {
     @Test
     void shouldSkipSideEffect() {
         var graphStoreCatalogService = mock(GraphStoreCatalogService.class);
+        when(graphStoreCatalogService.pin(any())).thenReturn(() -> {});
         var requestScopedDependencies = RequestScopedDependencies.builder().build();
         var algorithmComputer = mock(ComputationService.class);
         var template = new DefaultAlgorithmProcessingTemplate(
@@ -146,4 +151,52 @@ class DefaultAlgorithmProcessingTemplateTest {
 
         assertThat(renderedResult).isEqualTo("some other rendered result");
     }
+
+    @Test
+    void shouldKeepGraphPinnedUntilResultStreamIsClosed() {
+        var graphStoreCatalogService = mock(GraphStoreCatalogService.class);
+        var pinned = new AtomicBoolean(true);
+        when(graphStoreCatalogService.pin(any())).thenReturn(() -> pinned.set(false));
+        var requestScopedDependencies = RequestScopedDependencies.builder().build();
+        var algorithmComputer = mock(ComputationService.class);
+        var template = new DefaultAlgorithmProcessingTemplate(
+            graphStoreCatalogService,
+            requestScopedDependencies,
+            algorithmComputer
+        );
+
+        var configuration = new ExampleConfiguration();
+        var graphResources = new GraphResources(null, mock(Graph.class), null);
+        when(graphStoreCatalogService.getGraphResources(
+            GraphName.parse("some graph"),
+            configuration,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            requestScopedDependencies.user(),
+            requestScopedDependencies.databaseId()
+        )).thenReturn(graphResources);
+
+        Stream<String> renderedResult = template.processAlgorithmAndAnySideEffects(
+            Optional.empty(),
+            GraphName.parse("some graph"),
+            configuration,
+            Optional.empty(),
+            Optional.empty(),
+            new StandardLabel("some compute job"),
+            DimensionTransformer.DISABLED,
+            null,
+            null,
+            Optional.empty(),
+            (__, result, timings, metadata) -> Stream.of("a", "b")
+        );
+
+        // the stream is consumed after the procedure call returned
+        assertThat(pinned).isTrue();
+        try (renderedResult) {
+            assertThat(renderedResult.toList()).containsExactly("a", "b");
+            assertThat(pinned).isTrue();
+        }
+        assertThat(pinned).isFalse();
+    }
 }
@@ -189,6 +189,10 @@ public final class GraphMemoryUsage {
                 mi.headTailDiffBits().ifPresent(headTailDiffBits -> out.put("headTailDiffBits", headTailDiffBits.toMap()));
                 mi.bestMaxDiffBits().ifPresent(bestMaxDiffBits -> out.put("bestMaxDiffBits", bestMaxDiffBits.toMap()));
                 mi.pforExceptions().ifPresent(pforExceptions -> out.put("exceptions", pforExceptions.toMap()));
+                if (!mi.bytesPerEncoding().isEmpty()) {
+                    out.put("adjacencyListsPerEncoding", mi.adjacencyListsPerEncoding());
+                    out.put("bytesPerEncoding", mi.bytesPerEncoding());
+                }
                 adjacencyListDetails.put(relationshipType.name(), out);
             });
             details.put("adjacencyLists", adjacencyListDetails);
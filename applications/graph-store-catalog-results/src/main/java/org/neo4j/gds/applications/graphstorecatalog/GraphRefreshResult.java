@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+public class GraphRefreshResult {
+    public final String graphName;
+    public final long nodeCount;
+    public final long relationshipCount;
+    public final long changesApplied;
+    public final long nodesAdded;
+    public final long nodesRemoved;
+    public final long relationshipsAdded;
+    public final long relationshipsRemoved;
+    public final long refreshMillis;
+
+    public GraphRefreshResult(
+        String graphName,
+        long nodeCount,
+        long relationshipCount,
+        long changesApplied,
+        long nodesAdded,
+        long nodesRemoved,
+        long relationshipsAdded,
+        long relationshipsRemoved,
+        long refreshMillis
+    ) {
+        this.graphName = graphName;
+        this.nodeCount = nodeCount;
+        this.relationshipCount = relationshipCount;
+        this.changesApplied = changesApplied;
+        this.nodesAdded = nodesAdded;
+        this.nodesRemoved = nodesRemoved;
+        this.relationshipsAdded = relationshipsAdded;
+        this.relationshipsRemoved = relationshipsRemoved;
+        this.refreshMillis = refreshMillis;
+    }
+}
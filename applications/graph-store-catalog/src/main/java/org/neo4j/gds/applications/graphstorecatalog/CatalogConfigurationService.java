@@ -31,6 +31,10 @@ import org.neo4j.gds.core.CypherMapWrapper;
 import org.neo4j.gds.core.io.db.GraphStoreToDatabaseExporterConfig;
 import org.neo4j.gds.core.io.file.GraphStoreToCsvEstimationConfig;
 import org.neo4j.gds.core.io.file.GraphStoreToFileExporterConfig;
+import org.neo4j.gds.core.io.snapshot.GraphSnapshotConfig;
+import org.neo4j.gds.core.io.snapshot.GraphSnapshotRestoreConfig;
+import org.neo4j.gds.core.loading.overlay.GraphUpdateRelationshipsConfig;
+import org.neo4j.gds.core.loading.refresh.GraphRefreshConfig;
 import org.neo4j.gds.core.loading.GraphStoreCatalogEntry;
 import org.neo4j.gds.graphsampling.config.CommonNeighbourAwareRandomWalkConfig;
 import org.neo4j.gds.legacycypherprojection.GraphProjectFromCypherConfig;
@@ -367,6 +371,41 @@ public class CatalogConfigurationService {
         return configuration;
     }
 
+    GraphSnapshotConfig parseGraphSnapshotConfiguration(User user, Map<String, Object> rawConfiguration) {
+        var cypherConfig = CypherMapWrapper.create(rawConfiguration);
+        var configuration = GraphSnapshotConfig.of(user.getUsername(), cypherConfig);
+        ensureThereAreNoExtraConfigurationKeys(cypherConfig, configuration);
+
+        return configuration;
+    }
+
+    GraphSnapshotRestoreConfig parseGraphSnapshotRestoreConfiguration(User user, Map<String, Object> rawConfiguration) {
+        var cypherConfig = CypherMapWrapper.create(rawConfiguration);
+        var configuration = GraphSnapshotRestoreConfig.of(user.getUsername(), cypherConfig);
+        ensureThereAreNoExtraConfigurationKeys(cypherConfig, configuration);
+
+        return configuration;
+    }
+
+    GraphRefreshConfig parseGraphRefreshConfiguration(User user, Map<String, Object> rawConfiguration) {
+        var cypherConfig = CypherMapWrapper.create(rawConfiguration);
+        var configuration = GraphRefreshConfig.of(user.getUsername(), cypherConfig);
+        ensureThereAreNoExtraConfigurationKeys(cypherConfig, configuration);
+
+        return configuration;
+    }
+
+    GraphUpdateRelationshipsConfig parseGraphUpdateRelationshipsConfiguration(
+        User user,
+        Map<String, Object> rawConfiguration
+    ) {
+        var cypherConfig = CypherMapWrapper.create(rawConfiguration);
+        var configuration = GraphUpdateRelationshipsConfig.of(user.getUsername(), cypherConfig);
+        ensureThereAreNoExtraConfigurationKeys(cypherConfig, configuration);
+
+        return configuration;
+    }
+
     GraphStoreToCsvEstimationConfig parseGraphStoreToCsvEstimationConfiguration(
         User user,
         Map<String, Object> rawConfiguration
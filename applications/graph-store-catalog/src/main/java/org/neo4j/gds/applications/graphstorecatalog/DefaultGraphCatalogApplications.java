@@ -114,6 +114,9 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
     private final ExportToCsvApplication exportToCsvApplication;
     private final ExportToCsvEstimateApplication exportToCsvEstimateApplication;
     private final ExportToDatabaseApplication exportToDatabaseApplication;
+    private final GraphSnapshotApplication graphSnapshotApplication;
+    private final GraphRefreshApplication graphRefreshApplication;
+    private final UpdateRelationshipsApplication updateRelationshipsApplication;
 
     DefaultGraphCatalogApplications(
         Log log,
@@ -142,7 +145,10 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
         WriteRelationshipsApplication writeRelationshipsApplication,
         ExportToCsvApplication exportToCsvApplication,
         ExportToCsvEstimateApplication exportToCsvEstimateApplication,
-        ExportToDatabaseApplication exportToDatabaseApplication
+        ExportToDatabaseApplication exportToDatabaseApplication,
+        GraphSnapshotApplication graphSnapshotApplication,
+        GraphRefreshApplication graphRefreshApplication,
+        UpdateRelationshipsApplication updateRelationshipsApplication
     ) {
         this.log = log;
         this.graphStoreCatalogService = graphStoreCatalogService;
@@ -174,6 +180,9 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
         this.exportToCsvApplication = exportToCsvApplication;
         this.exportToCsvEstimateApplication = exportToCsvEstimateApplication;
         this.exportToDatabaseApplication = exportToDatabaseApplication;
+        this.graphSnapshotApplication = graphSnapshotApplication;
+        this.graphRefreshApplication = graphRefreshApplication;
+        this.updateRelationshipsApplication = updateRelationshipsApplication;
     }
 
     public static GraphCatalogApplications create(
@@ -216,6 +225,8 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
         var generateGraphApplication = new GenerateGraphApplication(log, graphStoreCatalogService);
         var graphMemoryUsageApplication = new GraphMemoryUsageApplication(graphStoreCatalogService);
         var graphSamplingApplication = new GraphSamplingApplication(log, graphStoreCatalogService);
+        var graphSnapshotApplication = new GraphSnapshotApplication(log, graphStoreCatalogService, exportLocation);
+        var graphRefreshApplication = new GraphRefreshApplication(log, graphStoreCatalogService);
         var listGraphApplication = ListGraphApplication.create(graphStoreCatalogService);
         var nativeProjectApplication = new NativeProjectApplication(
             new GenericProjectApplication<>(
@@ -236,6 +247,7 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
         var writeNodePropertiesApplication = new WriteNodePropertiesApplication(log);
         var writeRelationshipPropertiesApplication = new WriteRelationshipPropertiesApplication(log);
         var writeRelationshipsApplication = new WriteRelationshipsApplication(log);
+        var updateRelationshipsApplication = new UpdateRelationshipsApplication(log, graphStoreCatalogService);
 
         return new DefaultGraphCatalogApplicationsBuilder(
             log,
@@ -255,6 +267,9 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
             .withGenerateGraphApplication(generateGraphApplication)
             .withGraphMemoryUsageApplication(graphMemoryUsageApplication)
             .withGraphSamplingApplication(graphSamplingApplication)
+            .withGraphSnapshotApplication(graphSnapshotApplication)
+            .withGraphRefreshApplication(graphRefreshApplication)
+            .withUpdateRelationshipsApplication(updateRelationshipsApplication)
             .withListGraphApplication(listGraphApplication)
             .withNativeProjectApplication(nativeProjectApplication)
             .withNodeLabelMutatorApplication(nodeLabelMutatorApplication)
@@ -1078,6 +1093,99 @@ public class DefaultGraphCatalogApplications implements GraphCatalogApplications
         return exportToDatabaseApplication.run(graphName, configuration, graphStore);
     }
 
+    @Override
+    public GraphSnapshotResult saveSnapshot(String graphNameAsString, Map<String, Object> rawConfiguration) {
+        var graphName = graphNameValidationService.validate(graphNameAsString);
+
+        var configuration = catalogConfigurationService.parseGraphSnapshotConfiguration(
+            requestScopedDependencies.user(),
+            rawConfiguration
+        );
+
+        var graphStoreCatalogEntry = graphStoreCatalogService.getGraphStoreCatalogEntry(
+            graphName,
+            configuration,
+            requestScopedDependencies.user(),
+            requestScopedDependencies.databaseId()
+        );
+
+        return graphSnapshotApplication.save(graphName, configuration, graphStoreCatalogEntry);
+    }
+
+    @Override
+    public GraphSnapshotResult restoreSnapshot(String graphNameAsString, Map<String, Object> rawConfiguration) {
+        var user = requestScopedDependencies.user();
+        var databaseId = requestScopedDependencies.databaseId();
+        var graphName = ensureGraphNameValidAndUnknown(user, databaseId, graphNameAsString);
+
+        var configuration = catalogConfigurationService.parseGraphSnapshotRestoreConfiguration(user, rawConfiguration);
+
+        return graphSnapshotApplication.restore(databaseId, graphName, configuration);
+    }
+
+    @Override
+    public GraphRefreshResult refreshGraph(String graphNameAsString, Map<String, Object> rawConfiguration) {
+        var graphName = graphNameValidationService.validate(graphNameAsString);
+
+        var configuration = catalogConfigurationService.parseGraphRefreshConfiguration(
+            requestScopedDependencies.user(),
+            rawConfiguration
+        );
+
+        var graphStoreCatalogEntry = graphStoreCatalogService.getGraphStoreCatalogEntry(
+            graphName,
+            configuration,
+            requestScopedDependencies.user(),
+            requestScopedDependencies.databaseId()
+        );
+
+        return graphRefreshApplication.refresh(graphName, configuration, graphStoreCatalogEntry);
+    }
+
+    @Override
+    public GraphUpdateRelationshipsResult insertRelationships(
+        String graphNameAsString,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> rawConfiguration
+    ) {
+        var user = requestScopedDependencies.user();
+        var graphName = graphNameValidationService.validate(graphNameAsString);
+
+        var configuration = catalogConfigurationService.parseGraphUpdateRelationshipsConfiguration(user, rawConfiguration);
+
+        return updateRelationshipsApplication.insert(
+            user,
+            requestScopedDependencies.databaseId(),
+            graphName,
+            relationshipType,
+            relationships,
+            configuration
+        );
+    }
+
+    @Override
+    public GraphUpdateRelationshipsResult deleteRelationships(
+        String graphNameAsString,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> rawConfiguration
+    ) {
+        var user = requestScopedDependencies.user();
+        var graphName = graphNameValidationService.validate(graphNameAsString);
+
+        var configuration = catalogConfigurationService.parseGraphUpdateRelationshipsConfiguration(user, rawConfiguration);
+
+        return updateRelationshipsApplication.delete(
+            user,
+            requestScopedDependencies.databaseId(),
+            graphName,
+            relationshipType,
+            relationships,
+            configuration
+        );
+    }
+
     private GraphStore getGraphStoreAndValidateForExport(
         GraphName graphName,
         GraphStoreExporterBaseConfig configuration
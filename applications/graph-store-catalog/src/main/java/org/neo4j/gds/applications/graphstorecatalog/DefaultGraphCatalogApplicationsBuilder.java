@@ -58,6 +58,9 @@ class DefaultGraphCatalogApplicationsBuilder {
     private ExportToCsvApplication exportToCsvApplication;
     private ExportToCsvEstimateApplication exportToCsvEstimateApplication;
     private ExportToDatabaseApplication exportToDatabaseApplication;
+    private GraphSnapshotApplication graphSnapshotApplication;
+    private GraphRefreshApplication graphRefreshApplication;
+    private UpdateRelationshipsApplication updateRelationshipsApplication;
 
     public DefaultGraphCatalogApplicationsBuilder(
         Log log,
@@ -133,6 +136,23 @@ class DefaultGraphCatalogApplicationsBuilder {
         return this;
     }
 
+    DefaultGraphCatalogApplicationsBuilder withGraphSnapshotApplication(GraphSnapshotApplication graphSnapshotApplication) {
+        this.graphSnapshotApplication = graphSnapshotApplication;
+        return this;
+    }
+
+    DefaultGraphCatalogApplicationsBuilder withGraphRefreshApplication(GraphRefreshApplication graphRefreshApplication) {
+        this.graphRefreshApplication = graphRefreshApplication;
+        return this;
+    }
+
+    DefaultGraphCatalogApplicationsBuilder withUpdateRelationshipsApplication(
+        UpdateRelationshipsApplication updateRelationshipsApplication
+    ) {
+        this.updateRelationshipsApplication = updateRelationshipsApplication;
+        return this;
+    }
+
     DefaultGraphCatalogApplicationsBuilder withGenerateGraphApplication(GenerateGraphApplication generateGraphApplication) {
         this.generateGraphApplication = generateGraphApplication;
         return this;
@@ -235,7 +255,10 @@ class DefaultGraphCatalogApplicationsBuilder {
             writeRelationshipsApplication,
             exportToCsvApplication,
             exportToCsvEstimateApplication,
-            exportToDatabaseApplication
+            exportToDatabaseApplication,
+            graphSnapshotApplication,
+            graphRefreshApplication,
+            updateRelationshipsApplication
         );
     }
 }
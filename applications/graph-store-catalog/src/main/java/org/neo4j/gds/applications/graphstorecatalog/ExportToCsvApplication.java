@@ -69,7 +69,8 @@ class ExportToCsvApplication {
             configuration.username(),
             RelationshipType.of(configuration.defaultRelationshipType()),
             configuration.typedWriteConcurrency(),
-            configuration.batchSize()
+            configuration.batchSize(),
+            configuration.compression()
         );
 
         var exportLocation = this.exportLocation.getAcceptingError();
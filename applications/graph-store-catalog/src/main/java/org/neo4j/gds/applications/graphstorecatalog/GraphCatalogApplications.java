@@ -293,4 +293,24 @@ public interface GraphCatalogApplications {
     MemoryEstimateResult exportToCsvEstimate(String graphName, Map<String, Object> configuration);
 
     DatabaseExportResult exportToDatabase(String graphName, Map<String, Object> configuration);
+
+    GraphSnapshotResult saveSnapshot(String graphName, Map<String, Object> configuration);
+
+    GraphSnapshotResult restoreSnapshot(String graphName, Map<String, Object> configuration);
+
+    GraphRefreshResult refreshGraph(String graphName, Map<String, Object> configuration);
+
+    GraphUpdateRelationshipsResult insertRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    );
+
+    GraphUpdateRelationshipsResult deleteRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    );
 }
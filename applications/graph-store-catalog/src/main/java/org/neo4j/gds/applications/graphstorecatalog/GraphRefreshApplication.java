@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.PropertyMapping;
+import org.neo4j.gds.RelationshipProjection;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.api.GraphName;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.loading.GraphStoreCatalogEntry;
+import org.neo4j.gds.core.loading.GraphStoreCatalogService;
+import org.neo4j.gds.core.loading.refresh.GraphChange;
+import org.neo4j.gds.core.loading.refresh.GraphChangeLog;
+import org.neo4j.gds.core.loading.refresh.GraphRefreshConfig;
+import org.neo4j.gds.core.loading.refresh.GraphStoreDelta;
+import org.neo4j.gds.core.loading.refresh.GraphStoreRefresher;
+import org.neo4j.gds.logging.Log;
+import org.neo4j.gds.projection.GraphProjectFromStoreConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Applies the changes that have been committed to the database since a graph has been projected,
+ * or last been refreshed, to the graph. The refreshed graph replaces the graph in the catalog.
+ */
+class GraphRefreshApplication {
+    private final Log log;
+    private final GraphStoreCatalogService graphStoreCatalogService;
+
+    GraphRefreshApplication(Log log, GraphStoreCatalogService graphStoreCatalogService) {
+        this.log = log;
+        this.graphStoreCatalogService = graphStoreCatalogService;
+    }
+
+    GraphRefreshResult refresh(GraphName graphName, GraphRefreshConfig configuration, GraphStoreCatalogEntry catalogEntry) {
+        if (!(catalogEntry.config() instanceof GraphProjectFromStoreConfig projectConfig) || !projectConfig.trackChanges()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Graph `%s` does not track changes. Only graphs that have been projected with `gds.graph.project` and `trackChanges: true` can be refreshed.",
+                graphName.getValue()
+            ));
+        }
+
+        var graphStore = catalogEntry.graphStore();
+        GraphStoreRefresher.validate(graphStore);
+        var changeLog = GraphChangeLog.of(graphStore.databaseInfo().databaseId());
+        var pendingChanges = changeLog.pendingChanges(projectConfig.username(), projectConfig.graphName());
+
+        var start = System.nanoTime();
+        var delta = new ChangeTranslator(projectConfig, graphStore).translate(
+            pendingChanges.changes(),
+            pendingChanges.concurrentCount()
+        );
+        var result = GraphStoreRefresher.refresh(graphStore, delta, configuration.concurrency());
+        graphStoreCatalogService.replace(projectConfig, result.graphStore());
+        changeLog.acknowledge(projectConfig.username(), projectConfig.graphName(), pendingChanges.position());
+        var refreshMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info(
+            "Refreshed graph `%s` with %d changes in %d ms.",
+            graphName.getValue(),
+            pendingChanges.changes().size(),
+            refreshMillis
+        );
+
+        return new GraphRefreshResult(
+            graphName.getValue(),
+            result.graphStore().nodeCount(),
+            result.graphStore().relationshipCount(),
+            pendingChanges.changes().size(),
+            result.nodesAdded(),
+            result.nodesRemoved(),
+            result.relationshipsAdded(),
+            result.relationshipsRemoved(),
+            refreshMillis
+        );
+    }
+
+    /**
+     * Translates database changes into graph changes the way the native projection would have projected them.
+     * <p>
+     * Changes that have been committed while the graph was projected might already be part of the graph.
+     * Created relationships that the graph already has and deleted relationships that it does not have are skipped.
+     * For graphs with parallel relationships this is a best effort, as parallel relationships with the same
+     * property values cannot be told apart.
+     * Node changes do not need this, adding a node that exists and removing a node that does not are no-ops.
+     */
+    private static final class ChangeTranslator {
+        private final GraphProjectFromStoreConfig projectConfig;
+        private final GraphStore graphStore;
+        private final GraphStoreDelta delta;
+        private final Map<RelationshipType, List<String>> relationshipPropertyKeys;
+        private final Map<RelationshipType, Graph> graphs;
+
+        private ChangeTranslator(GraphProjectFromStoreConfig projectConfig, GraphStore graphStore) {
+            this.projectConfig = projectConfig;
+            this.graphStore = graphStore;
+            this.delta = new GraphStoreDelta();
+            this.graphs = new HashMap<>();
+            this.relationshipPropertyKeys = new HashMap<>();
+            projectConfig.relationshipProjections().projections().forEach((relationshipType, projection) ->
+                relationshipPropertyKeys.put(
+                    relationshipType,
+                    projection.properties().stream().map(PropertyMapping::propertyKey).toList()
+                )
+            );
+        }
+
+        GraphStoreDelta translate(List<GraphChange> changes, int concurrentCount) {
+            for (int i = 0; i < changes.size(); i++) {
+                var change = changes.get(i);
+                var concurrent = i < concurrentCount;
+                if (change instanceof GraphChange.NodeCreated nodeCreated) {
+                    nodeCreated(nodeCreated);
+                } else if (change instanceof GraphChange.NodeDeleted nodeDeleted) {
+                    delta.removeNode(nodeDeleted.nodeId());
+                } else if (change instanceof GraphChange.NodeUpdated nodeUpdated) {
+                    nodeUpdated(nodeUpdated);
+                } else if (change instanceof GraphChange.RelationshipCreated relationshipCreated) {
+                    relationshipCreated(relationshipCreated, concurrent);
+                } else if (change instanceof GraphChange.RelationshipDeleted relationshipDeleted) {
+                    relationshipDeleted(relationshipDeleted, concurrent);
+                }
+            }
+            return delta;
+        }
+
+        private void nodeCreated(GraphChange.NodeCreated nodeCreated) {
+            var labels = new ArrayList<NodeLabel>();
+            var properties = new HashMap<String, Object>();
+            projectNode(nodeCreated.labels(), nodeCreated.properties(), labels, properties);
+            if (!labels.isEmpty()) {
+                delta.addNode(nodeCreated.nodeId(), labels, properties);
+            }
+        }
+
+        private void nodeUpdated(GraphChange.NodeUpdated nodeUpdated) {
+            var labels = new ArrayList<NodeLabel>();
+            var properties = new HashMap<String, Object>();
+            projectNode(nodeUpdated.labels(), nodeUpdated.properties(), labels, properties);
+            // the node lost all projected labels
+            if (labels.isEmpty()) {
+                delta.removeNode(nodeUpdated.nodeId());
+            } else {
+                delta.updateNode(nodeUpdated.nodeId(), labels, properties);
+            }
+        }
+
+        private void projectNode(
+            List<String> databaseLabels,
+            Map<String, Object> databaseProperties,
+            List<NodeLabel> labels,
+            Map<String, Object> properties
+        ) {
+            projectConfig.nodeProjections().projections().forEach((nodeLabel, projection) -> {
+                if (projection.projectAll() || databaseLabels.contains(projection.label())) {
+                    labels.add(nodeLabel);
+                    projection.properties().forEach(mapping -> {
+                        var value = databaseProperties.get(mapping.neoPropertyKey());
+                        if (value != null) {
+                            properties.put(mapping.propertyKey(), value);
+                        }
+                    });
+                }
+            });
+        }
+
+        private void relationshipCreated(GraphChange.RelationshipCreated relationshipCreated, boolean concurrent) {
+            projectConfig.relationshipProjections().projections().forEach((relationshipType, projection) -> {
+                if (!matches(projection, relationshipCreated.type())) {
+                    return;
+                }
+                var reverse = projection.orientation() == Orientation.REVERSE;
+                var source = reverse ? relationshipCreated.targetNodeId() : relationshipCreated.sourceNodeId();
+                var target = reverse ? relationshipCreated.sourceNodeId() : relationshipCreated.targetNodeId();
+                // the projection has already seen this relationship
+                if (concurrent && exists(relationshipType, source, target)) {
+                    return;
+                }
+                var values = propertyValues(projection, relationshipCreated.properties());
+                delta.relationships(relationshipType, relationshipPropertyKeys.get(relationshipType))
+                    .addRelationship(relationshipCreated.relationshipId(), source, target, values);
+            });
+        }
+
+        private void relationshipDeleted(GraphChange.RelationshipDeleted relationshipDeleted, boolean concurrent) {
+            projectConfig.relationshipProjections().projections().forEach((relationshipType, projection) -> {
+                if (!matches(projection, relationshipDeleted.type())) {
+                    return;
+                }
+                var reverse = projection.orientation() == Orientation.REVERSE;
+                var source = reverse ? relationshipDeleted.targetNodeId() : relationshipDeleted.sourceNodeId();
+                var target = reverse ? relationshipDeleted.sourceNodeId() : relationshipDeleted.targetNodeId();
+                // the projection has already missed this relationship
+                if (concurrent && !exists(relationshipType, source, target)) {
+                    return;
+                }
+                // the values tell apart parallel relationships that have been projected before
+                var values = propertyValues(projection, relationshipDeleted.properties());
+                delta.relationships(relationshipType, relationshipPropertyKeys.get(relationshipType))
+                    .removeRelationship(relationshipDeleted.relationshipId(), source, target, values);
+            });
+        }
+
+        private boolean exists(RelationshipType relationshipType, long sourceOriginalId, long targetOriginalId) {
+            var graph = graphs.computeIfAbsent(relationshipType, type -> graphStore.getGraph(type));
+            var source = graph.safeToMappedNodeId(sourceOriginalId);
+            var target = graph.safeToMappedNodeId(targetOriginalId);
+            return source != IdMap.NOT_FOUND && target != IdMap.NOT_FOUND && graph.exists(source, target);
+        }
+
+        private static boolean matches(RelationshipProjection projection, String type) {
+            return projection.projectAll() || projection.type().equals(type);
+        }
+
+        private static double[] propertyValues(RelationshipProjection projection, Map<String, Object> properties) {
+            var mappings = projection.properties().mappings();
+            var values = new double[mappings.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = propertyValue(projection, mappings.get(i), properties);
+            }
+            return values;
+        }
+
+        private static double propertyValue(
+            RelationshipProjection projection,
+            PropertyMapping mapping,
+            Map<String, Object> properties
+        ) {
+            var aggregation = mapping.aggregation() == Aggregation.DEFAULT ? projection.aggregation() : mapping.aggregation();
+            // counts are aggregated by summing up the counts of the added relationships
+            if (aggregation == Aggregation.COUNT) {
+                return 1.0;
+            }
+            var value = properties.get(mapping.neoPropertyKey());
+            return value instanceof Number ? ((Number) value).doubleValue() : mapping.defaultValue().doubleValue();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.GraphName;
+import org.neo4j.gds.core.io.snapshot.GraphProjectFromSnapshotConfig;
+import org.neo4j.gds.core.io.snapshot.GraphSnapshotConfig;
+import org.neo4j.gds.core.io.snapshot.GraphSnapshotRestoreConfig;
+import org.neo4j.gds.core.io.snapshot.GraphStoreSnapshotReader;
+import org.neo4j.gds.core.io.snapshot.GraphStoreSnapshotWriter;
+import org.neo4j.gds.core.loading.GraphStoreCatalogEntry;
+import org.neo4j.gds.core.loading.GraphStoreCatalogService;
+import org.neo4j.gds.logging.Log;
+
+import java.nio.file.Path;
+
+import static org.neo4j.gds.core.io.file.FileToGraphStoreImporter.DIRECTORY_IS_READABLE;
+import static org.neo4j.gds.core.io.file.GraphStoreExporterUtil.exportPath;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Saves graphs to and restores graphs from binary snapshots in the {@value #SNAPSHOT_DIR} directory
+ * of the export location.
+ */
+class GraphSnapshotApplication {
+    static final String SNAPSHOT_DIR = "snapshots";
+
+    private final Log log;
+    private final GraphStoreCatalogService graphStoreCatalogService;
+    private final ExportLocation exportLocation;
+
+    GraphSnapshotApplication(
+        Log log,
+        GraphStoreCatalogService graphStoreCatalogService,
+        ExportLocation exportLocation
+    ) {
+        this.log = log;
+        this.graphStoreCatalogService = graphStoreCatalogService;
+        this.exportLocation = exportLocation;
+    }
+
+    GraphSnapshotResult save(
+        GraphName graphName,
+        GraphSnapshotConfig configuration,
+        GraphStoreCatalogEntry catalogEntry
+    ) {
+        var snapshotDirectory = exportPath(snapshotRoot(), configuration.snapshotName());
+        var graphStore = catalogEntry.graphStore();
+
+        var start = System.nanoTime();
+        var sizeInBytes = GraphStoreSnapshotWriter.write(
+            graphStore,
+            catalogEntry.config(),
+            snapshotDirectory,
+            configuration.concurrency()
+        );
+        var snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info(
+            "Saved graph `%s` to snapshot `%s` (%d bytes) in %d ms.",
+            graphName.getValue(),
+            configuration.snapshotName(),
+            sizeInBytes,
+            snapshotMillis
+        );
+
+        return new GraphSnapshotResult(
+            graphName.getValue(),
+            configuration.snapshotName(),
+            graphStore.nodeCount(),
+            graphStore.relationshipCount(),
+            sizeInBytes,
+            snapshotMillis
+        );
+    }
+
+    GraphSnapshotResult restore(DatabaseId databaseId, GraphName graphName, GraphSnapshotRestoreConfig configuration) {
+        var snapshotDirectory = snapshotDirectory(configuration.snapshotName());
+
+        var start = System.nanoTime();
+        var snapshot = configuration.lazy()
+            ? GraphStoreSnapshotReader.readLazily(snapshotDirectory, configuration.concurrency())
+            : GraphStoreSnapshotReader.read(snapshotDirectory, configuration.concurrency());
+        var snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+
+        var graphStore = snapshot.graphStore();
+        var snapshotDatabaseId = graphStore.databaseInfo().databaseId();
+        if (!snapshotDatabaseId.equals(databaseId)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Snapshot `%s` was taken from database `%s` and cannot be restored into database `%s`.",
+                configuration.snapshotName(),
+                snapshotDatabaseId.databaseName(),
+                databaseId.databaseName()
+            ));
+        }
+
+        graphStoreCatalogService.set(
+            GraphProjectFromSnapshotConfig.of(
+                configuration.username(),
+                graphName.getValue(),
+                snapshot.projectConfiguration()
+            ),
+            graphStore
+        );
+
+        log.info(
+            "Restored graph `%s` from snapshot `%s` in %d ms.",
+            graphName.getValue(),
+            configuration.snapshotName(),
+            snapshotMillis
+        );
+
+        return new GraphSnapshotResult(
+            graphName.getValue(),
+            configuration.snapshotName(),
+            graphStore.nodeCount(),
+            graphStore.relationshipCount(),
+            snapshot.sizeInBytes(),
+            snapshotMillis
+        );
+    }
+
+    private Path snapshotRoot() {
+        return exportLocation.getAcceptingError().resolve(SNAPSHOT_DIR);
+    }
+
+    private Path snapshotDirectory(String snapshotName) {
+        var snapshotRoot = snapshotRoot().normalize();
+        var snapshotDirectory = snapshotRoot.resolve(snapshotName).normalize();
+        if (!snapshotDirectory.startsWith(snapshotRoot) || snapshotDirectory.equals(snapshotRoot)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Illegal parameter value for parameter snapshotName '%s'. It attempts to read from a forbidden directory.",
+                snapshotName
+            ));
+        }
+        DIRECTORY_IS_READABLE.validate(snapshotDirectory);
+        return snapshotDirectory;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+import org.neo4j.gds.config.ConcurrencyConfig;
+import org.neo4j.gds.core.io.snapshot.GraphStoreSnapshotWriter;
+import org.neo4j.gds.core.loading.CatalogEvictionPolicy;
+import org.neo4j.gds.core.loading.GraphStoreCatalogEntry;
+import org.neo4j.gds.logging.Log;
+
+import static org.neo4j.gds.core.io.file.GraphStoreExporterUtil.exportPath;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Spills evicted graphs to snapshots in the {@value GraphSnapshotApplication#SNAPSHOT_DIR} directory
+ * of the export location, from where they can be restored with {@code gds.graph.snapshot.restore}.
+ * Graphs that cannot be written to a snapshot stay in the catalog.
+ */
+public class GraphSnapshotEvictionPolicy implements CatalogEvictionPolicy {
+
+    private final Log log;
+    private final ExportLocation exportLocation;
+
+    public GraphSnapshotEvictionPolicy(Log log, ExportLocation exportLocation) {
+        this.log = log;
+        this.exportLocation = exportLocation;
+    }
+
+    @Override
+    public boolean evict(String username, GraphStoreCatalogEntry catalogEntry) {
+        var graphStore = catalogEntry.graphStore();
+        var graphName = catalogEntry.config().graphName();
+        var snapshotName = formatWithLocale(
+            "%s-%s-%d",
+            graphStore.databaseInfo().databaseId().databaseName(),
+            graphName,
+            System.currentTimeMillis()
+        );
+
+        try {
+            var snapshotDirectory = exportPath(
+                exportLocation.getAcceptingError().resolve(GraphSnapshotApplication.SNAPSHOT_DIR),
+                snapshotName
+            );
+            var sizeInBytes = GraphStoreSnapshotWriter.write(
+                graphStore,
+                catalogEntry.config(),
+                snapshotDirectory,
+                ConcurrencyConfig.TYPED_DEFAULT_CONCURRENCY
+            );
+            log.info(
+                "Spilled graph `%s` of user `%s` to snapshot `%s` (%d bytes).",
+                graphName,
+                username,
+                snapshotName,
+                sizeInBytes
+            );
+            return true;
+        } catch (RuntimeException e) {
+            log.warn(
+                "Could not spill graph `%s` of user `%s`, it stays in the catalog: %s",
+                graphName,
+                username,
+                e.getMessage()
+            );
+            return false;
+        }
+    }
+
+    @Override
+    public boolean runsInBackground() {
+        return true;
+    }
+}
@@ -19,8 +19,12 @@
  */
 package org.neo4j.gds.applications.graphstorecatalog;
 
+import org.neo4j.gds.NodeProjection;
+import org.neo4j.gds.PropertyMapping;
+import org.neo4j.gds.RelationshipProjection;
 import org.neo4j.gds.api.DatabaseId;
 import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.loading.refresh.GraphChangeLog;
 import org.neo4j.gds.termination.TerminationFlag;
 import org.neo4j.gds.core.utils.progress.TaskRegistryFactory;
 import org.neo4j.gds.core.utils.warnings.UserLogRegistryFactory;
@@ -30,6 +34,9 @@ import org.neo4j.gds.applications.algorithms.machinery.MemoryEstimateResult;
 import org.neo4j.gds.transaction.TransactionContext;
 import org.neo4j.graphdb.GraphDatabaseService;
 
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 public class NativeProjectApplication {
     private final GenericProjectApplication<
         GraphProjectNativeResult,
@@ -55,15 +62,73 @@ public class NativeProjectApplication {
         UserLogRegistryFactory userLogRegistryFactory,
         GraphProjectFromStoreConfig configuration
     ) {
-        return genericProjectApplication.project(
-            databaseId,
-            graphDatabaseService,
-            graphProjectMemoryUsageService,
-            taskRegistryFactory,
-            terminationFlag,
-            transactionContext,
-            userLogRegistryFactory,
-            configuration
+        if (!configuration.trackChanges()) {
+            return genericProjectApplication.project(
+                databaseId,
+                graphDatabaseService,
+                graphProjectMemoryUsageService,
+                taskRegistryFactory,
+                terminationFlag,
+                transactionContext,
+                userLogRegistryFactory,
+                configuration
+            );
+        }
+
+        // start tracking before reading the store, so that no change is missed.
+        // Changes committed while the store is read may or may not be projected, the refresh checks them
+        // against the graph. A graph that is tracked already exists, projecting it again fails without
+        // touching its tracking.
+        var changeLog = GraphChangeLog.of(databaseId);
+        var startsTracking = !changeLog.isTracked(configuration.username(), configuration.graphName());
+        if (startsTracking) {
+            changeLog.track(configuration.username(), configuration.graphName(), changeInterest(configuration));
+        }
+        try {
+            var result = genericProjectApplication.project(
+                databaseId,
+                graphDatabaseService,
+                graphProjectMemoryUsageService,
+                taskRegistryFactory,
+                terminationFlag,
+                transactionContext,
+                userLogRegistryFactory,
+                configuration
+            );
+            if (startsTracking) {
+                changeLog.projected(configuration.username(), configuration.graphName());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (startsTracking) {
+                changeLog.release(configuration.username(), configuration.graphName());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The labels, relationship types and properties whose changes the projected graph needs.
+     */
+    static GraphChangeLog.Interest changeInterest(GraphProjectFromStoreConfig configuration) {
+        var nodeProjections = configuration.nodeProjections().projections().values();
+        var relationshipProjections = configuration.relationshipProjections().projections().values();
+        return new GraphChangeLog.Interest(
+            nodeProjections.stream().anyMatch(NodeProjection::projectAll),
+            nodeProjections.stream().filter(projection -> !projection.projectAll()).map(NodeProjection::label)
+                .collect(Collectors.toSet()),
+            nodeProjections.stream().flatMap(projection -> projection.properties().stream())
+                .map(PropertyMapping::neoPropertyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()),
+            relationshipProjections.stream().anyMatch(RelationshipProjection::projectAll),
+            relationshipProjections.stream().filter(projection -> !projection.projectAll())
+                .map(RelationshipProjection::type)
+                .collect(Collectors.toSet()),
+            relationshipProjections.stream().flatMap(projection -> projection.properties().stream())
+                .map(PropertyMapping::neoPropertyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet())
         );
     }
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.GraphName;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.User;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.loading.GraphNotFoundException;
+import org.neo4j.gds.core.loading.GraphStoreCatalogEntry;
+import org.neo4j.gds.core.loading.GraphStoreCatalogService;
+import org.neo4j.gds.core.loading.overlay.GraphStoreOverlay;
+import org.neo4j.gds.core.loading.overlay.GraphUpdateRelationshipsConfig;
+import org.neo4j.gds.logging.Log;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Inserts relationships into and deletes relationships from a graph in the catalog, without projecting it again.
+ * The changes are recorded in a {@link GraphStoreOverlay}, whose latest snapshot replaces the graph in the catalog
+ * after every update and every compaction.
+ * Deletions are recorded without checking that the relationships exist, so the number of deleted relationships
+ * in the result is the number of requested deletions.
+ */
+class UpdateRelationshipsApplication {
+    private static final String SOURCE_KEY = "source";
+    private static final String TARGET_KEY = "target";
+    private static final String PROPERTIES_KEY = "properties";
+
+    // guards creating the overlay of a graph, so that concurrent first updates share the same overlay
+    private static final Object OVERLAY_CREATION_LOCK = new Object();
+
+    private final Log log;
+    private final GraphStoreCatalogService graphStoreCatalogService;
+
+    UpdateRelationshipsApplication(Log log, GraphStoreCatalogService graphStoreCatalogService) {
+        this.log = log;
+        this.graphStoreCatalogService = graphStoreCatalogService;
+    }
+
+    GraphUpdateRelationshipsResult insert(
+        User user,
+        DatabaseId databaseId,
+        GraphName graphName,
+        String relationshipTypeAsString,
+        List<Map<String, Object>> relationships,
+        GraphUpdateRelationshipsConfig configuration
+    ) {
+        var catalogLookup = new CatalogLookup(user, databaseId, graphName, configuration);
+        var relationshipType = RelationshipType.of(relationshipTypeAsString);
+
+        var start = System.nanoTime();
+        var overlay = overlay(catalogLookup, configuration);
+        var graphStore = entry(catalogLookup).graphStore();
+        var propertyKeys = overlay.propertyKeys(relationshipType);
+        var defaultValues = new double[propertyKeys.size()];
+        for (int i = 0; i < defaultValues.length; i++) {
+            defaultValues[i] = graphStore.relationshipPropertyValues(relationshipType, propertyKeys.get(i))
+                .values()
+                .defaultPropertyValue();
+        }
+
+        for (var relationship : relationships) {
+            var propertyValues = propertyValues(relationship, propertyKeys, defaultValues);
+            overlay.insert(
+                relationshipType,
+                nodeId(relationship, SOURCE_KEY),
+                nodeId(relationship, TARGET_KEY),
+                propertyValues
+            );
+        }
+        var snapshot = publish(catalogLookup, overlay);
+
+        return result(graphName, relationshipTypeAsString, snapshot, overlay, relationships.size(), 0, start);
+    }
+
+    GraphUpdateRelationshipsResult delete(
+        User user,
+        DatabaseId databaseId,
+        GraphName graphName,
+        String relationshipTypeAsString,
+        List<Map<String, Object>> relationships,
+        GraphUpdateRelationshipsConfig configuration
+    ) {
+        var catalogLookup = new CatalogLookup(user, databaseId, graphName, configuration);
+        var relationshipType = RelationshipType.of(relationshipTypeAsString);
+
+        var start = System.nanoTime();
+        var overlay = overlay(catalogLookup, configuration);
+        for (var relationship : relationships) {
+            overlay.delete(relationshipType, nodeId(relationship, SOURCE_KEY), nodeId(relationship, TARGET_KEY));
+        }
+        var snapshot = publish(catalogLookup, overlay);
+
+        return result(graphName, relationshipTypeAsString, snapshot, overlay, 0, relationships.size(), start);
+    }
+
+    private GraphStoreOverlay overlay(CatalogLookup catalogLookup, GraphUpdateRelationshipsConfig configuration) {
+        synchronized (OVERLAY_CREATION_LOCK) {
+            var catalogEntry = entry(catalogLookup);
+            var existingOverlay = GraphStoreOverlay.find(catalogEntry.graphStore());
+            if (existingOverlay.isPresent()) {
+                return existingOverlay.get();
+            }
+
+            var overlay = GraphStoreOverlay.create(
+                catalogEntry.graphStore(),
+                configuration.concurrency(),
+                GraphStoreOverlay.DEFAULT_COMPACTION_THRESHOLD,
+                DefaultPool.INSTANCE,
+                new CompactionListener(catalogLookup)
+            );
+            // the catalog holds a snapshot of the overlay from now on, so that later updates find it
+            replace(catalogEntry.config(), overlay.graphStore());
+            return overlay;
+        }
+    }
+
+    /**
+     * Replaces the graph in the catalog with the latest snapshot of the overlay.
+     * Snapshots are taken and published under the lock of the overlay,
+     * so that an older snapshot never replaces a newer one.
+     */
+    private GraphStore publish(CatalogLookup catalogLookup, GraphStoreOverlay overlay) {
+        synchronized (overlay) {
+            var catalogEntry = entry(catalogLookup);
+            if (GraphStoreOverlay.find(catalogEntry.graphStore()).orElse(null) != overlay) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Graph `%s` has been replaced while its relationships were updated.",
+                    catalogLookup.graphName().getValue()
+                ));
+            }
+            // the overlay returns the same snapshot as long as nothing has changed
+            var snapshot = overlay.graphStore();
+            if (snapshot != catalogEntry.graphStore()) {
+                replace(catalogEntry.config(), snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    private GraphStoreCatalogEntry entry(CatalogLookup catalogLookup) {
+        return graphStoreCatalogService.getGraphStoreCatalogEntry(
+            catalogLookup.graphName(),
+            catalogLookup.configuration(),
+            catalogLookup.user(),
+            catalogLookup.databaseId()
+        );
+    }
+
+    private void replace(GraphProjectConfig config, GraphStore graphStore) {
+        graphStoreCatalogService.replace(config, graphStore);
+    }
+
+    private static GraphUpdateRelationshipsResult result(
+        GraphName graphName,
+        String relationshipType,
+        GraphStore snapshot,
+        GraphStoreOverlay overlay,
+        long inserted,
+        long deleted,
+        long start
+    ) {
+        return new GraphUpdateRelationshipsResult(
+            graphName.getValue(),
+            relationshipType,
+            snapshot.relationshipCount(),
+            inserted,
+            deleted,
+            overlay.pendingChanges(),
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    private static long nodeId(Map<String, Object> relationship, String key) {
+        var nodeId = relationship.get(key);
+        if (!(nodeId instanceof Number)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected every relationship to have a numeric `%s` node id, but got `%s`.",
+                key,
+                relationship
+            ));
+        }
+        return ((Number) nodeId).longValue();
+    }
+
+    private static double[] propertyValues(
+        Map<String, Object> relationship,
+        List<String> propertyKeys,
+        double[] defaultValues
+    ) {
+        var values = defaultValues.clone();
+        var properties = relationship.getOrDefault(PROPERTIES_KEY, Map.of());
+        if (!(properties instanceof Map)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected the `%s` of a relationship to be a map, but got `%s`.",
+                PROPERTIES_KEY,
+                properties
+            ));
+        }
+        ((Map<?, ?>) properties).forEach((key, value) -> {
+            var index = propertyKeys.indexOf(key);
+            if (index == -1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unknown relationship property `%s`, expected one of %s.",
+                    key,
+                    propertyKeys
+                ));
+            }
+            if (!(value instanceof Number)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected relationship property `%s` to be numeric, but got `%s`.",
+                    key,
+                    value
+                ));
+            }
+            values[index] = ((Number) value).doubleValue();
+        });
+        return values;
+    }
+
+    private record CatalogLookup(
+        User user,
+        DatabaseId databaseId,
+        GraphName graphName,
+        GraphUpdateRelationshipsConfig configuration
+    ) {}
+
+    private final class CompactionListener implements GraphStoreOverlay.CompactionListener {
+        private final CatalogLookup catalogLookup;
+        private final GraphName graphName;
+
+        private CompactionListener(CatalogLookup catalogLookup) {
+            this.catalogLookup = catalogLookup;
+            this.graphName = catalogLookup.graphName();
+        }
+
+        @Override
+        public void onCompaction(GraphStoreOverlay overlay) {
+            try {
+                publish(catalogLookup, overlay);
+                log.info("Compacted the relationship changes of graph `%s`.", graphName.getValue());
+            } catch (GraphNotFoundException | IllegalStateException e) {
+                // the graph has been dropped or replaced in the meantime, nobody sees the compacted graph
+                log.debug("Discarded the compacted graph `%s`: %s", graphName.getValue(), e.getMessage());
+            }
+        }
+
+        @Override
+        public void onCompactionFailure(GraphStoreOverlay overlay, RuntimeException error) {
+            log.warn(
+                formatWithLocale("Compacting the relationship changes of graph `%s` failed", graphName.getValue()),
+                error
+            );
+        }
+    }
+}
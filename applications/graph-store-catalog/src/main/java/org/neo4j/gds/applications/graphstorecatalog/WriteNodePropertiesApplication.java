@@ -133,6 +133,7 @@ public class WriteNodePropertiesApplication {
                 .withProgressTracker(progressTracker)
                 .withResultStore(config.resolveResultStore(resultStore))
                 .withJobId(config.jobId())
+                .withWriteOnlyChanged(config.writeOnlyChanged(), config.writeTolerance())
                 .build();
 
             var writeNodeProperties = config.nodeProperties()
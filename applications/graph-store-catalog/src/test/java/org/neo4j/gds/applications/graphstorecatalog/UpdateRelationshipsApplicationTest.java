@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.applications.graphstorecatalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.GraphName;
+import org.neo4j.gds.api.User;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.CypherMapWrapper;
+import org.neo4j.gds.core.loading.GraphStoreCatalog;
+import org.neo4j.gds.core.loading.GraphStoreCatalogService;
+import org.neo4j.gds.core.loading.overlay.GraphStoreOverlay;
+import org.neo4j.gds.core.loading.overlay.GraphUpdateRelationshipsConfig;
+import org.neo4j.gds.gdl.GdlFactory;
+import org.neo4j.gds.logging.Log;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+import static org.neo4j.gds.TestSupport.fromGdl;
+
+class UpdateRelationshipsApplicationTest {
+
+    private static final String USER_NAME = "alice";
+    private static final User USER = new User(USER_NAME, false);
+    private static final GraphName GRAPH_NAME = GraphName.parse("g");
+    private static final GraphUpdateRelationshipsConfig CONFIGURATION =
+        GraphUpdateRelationshipsConfig.of(USER_NAME, CypherMapWrapper.empty());
+
+    private static final String NODES = "(n0:A), (n1:A), (n2:A), (n3:A)";
+    private static final String GRAPH = NODES +
+        ", (n0)-[:T {w: 1.0}]->(n1)" +
+        ", (n1)-[:T {w: 2.0}]->(n2)";
+
+    private final GraphStoreCatalogService graphStoreCatalogService = new GraphStoreCatalogService();
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldInsertAndDeleteRelationships() {
+        var databaseId = project();
+        var application = new UpdateRelationshipsApplication(Log.noOpLog(), graphStoreCatalogService);
+
+        var inserted = application.insert(
+            USER,
+            databaseId,
+            GRAPH_NAME,
+            "T",
+            List.of(
+                Map.of("source", 2L, "target", 3L, "properties", Map.of("w", 3.0)),
+                // node ids may be given as any number
+                Map.of("source", 3, "target", 0, "properties", Map.of("w", 4))
+            ),
+            CONFIGURATION
+        );
+
+        assertThat(inserted.relationshipsInserted).isEqualTo(2);
+        assertThat(inserted.relationshipCount).isEqualTo(4);
+
+        var deleted = application.delete(
+            USER,
+            databaseId,
+            GRAPH_NAME,
+            "T",
+            List.of(Map.of("source", 0L, "target", 1L)),
+            CONFIGURATION
+        );
+
+        assertThat(deleted.relationshipsDeleted).isEqualTo(1);
+        assertThat(deleted.relationshipCount).isEqualTo(3);
+
+        // the catalog holds the latest snapshot of the overlay
+        var graphStore = GraphStoreCatalog.get(USER_NAME, databaseId, GRAPH_NAME.getValue()).graphStore();
+        assertThat(GraphStoreOverlay.find(graphStore)).isPresent();
+        assertGraphEquals(
+            fromGdl(NODES +
+                ", (n1)-[:T {w: 2.0}]->(n2)" +
+                ", (n2)-[:T {w: 3.0}]->(n3)" +
+                ", (n3)-[:T {w: 4.0}]->(n0)"
+            ),
+            graphStore.getUnion()
+        );
+    }
+
+    @Test
+    void shouldRejectUnknownProperties() {
+        var databaseId = project();
+        var application = new UpdateRelationshipsApplication(Log.noOpLog(), graphStoreCatalogService);
+
+        assertThatThrownBy(() -> application.insert(
+            USER,
+            databaseId,
+            GRAPH_NAME,
+            "T",
+            List.of(Map.of("source", 0L, "target", 1L, "properties", Map.of("x", 1.0))),
+            CONFIGURATION
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown relationship property `x`, expected one of [w].");
+    }
+
+    private static DatabaseId project() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, GRAPH_NAME.getValue()), graphStore);
+        return graphStore.databaseInfo().databaseId();
+    }
+}
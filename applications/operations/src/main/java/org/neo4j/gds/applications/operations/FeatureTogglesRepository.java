@@ -58,6 +58,12 @@ public class FeatureTogglesRepository {
         return GdsFeatureToggles.ENABLE_ARROW_DATABASE_IMPORT.isEnabled();
     }
 
+    String resetNodeReorderingStrategy() {
+        GdsFeatureToggles.NODE_REORDERING_STRATEGY.set(GdsFeatureToggles.NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+
+        return GdsFeatureToggles.NODE_REORDERING_STRATEGY.get().name();
+    }
+
     int resetPagesPerThread() {
         GdsFeatureToggles.PAGES_PER_THREAD.set(GdsFeatureToggles.PAGES_PER_THREAD_DEFAULT_SETTING);
 
@@ -96,6 +102,24 @@ public class FeatureTogglesRepository {
         GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY.set(strategyIdentifier);
     }
 
+    void setNodeReorderingStrategy(String strategyIdentifierAsString) {
+        var canonicalizedStrategyIdentifier = toUpperCaseWithLocale(strategyIdentifierAsString);
+
+        try {
+            GdsFeatureToggles.NODE_REORDERING_STRATEGY.set(
+                GdsFeatureToggles.NodeReorderingStrategy.valueOf(canonicalizedStrategyIdentifier)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                formatWithLocale(
+                    "Invalid node reordering strategy: %s, must be one of %s",
+                    strategyIdentifierAsString,
+                    Arrays.toString(GdsFeatureToggles.NodeReorderingStrategy.values())
+                )
+            );
+        }
+    }
+
     void setPagesPerThread(int value) {
         GdsFeatureToggles.PAGES_PER_THREAD.set(value);
     }
@@ -107,6 +107,10 @@ public final class OperationsApplications {
         return featureTogglesRepository.resetEnableArrowDatabaseImport();
     }
 
+    public String resetNodeReorderingStrategy() {
+        return featureTogglesRepository.resetNodeReorderingStrategy();
+    }
+
     public int resetPagesPerThread() {
         return featureTogglesRepository.resetPagesPerThread();
     }
@@ -131,6 +135,10 @@ public final class OperationsApplications {
         featureTogglesRepository.setAdjacencyPackingStrategy(strategyIdentifier);
     }
 
+    public void setNodeReorderingStrategy(String strategyIdentifier) {
+        featureTogglesRepository.setNodeReorderingStrategy(strategyIdentifier);
+    }
+
     public void setPagesPerThread(long pagesPerThread) {
         if (pagesPerThread <= 0 || pagesPerThread > Integer.MAX_VALUE) {
             throw new IllegalArgumentException(formatWithLocale(
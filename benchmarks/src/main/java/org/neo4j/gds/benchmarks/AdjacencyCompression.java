@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.utils.GdsFeatureToggles;
+import org.neo4j.gds.utils.GdsFeatureToggles.AdjacencyPackingStrategy;
+
+import java.util.function.Supplier;
+
+/**
+ * The adjacency list implementations that can be selected via {@link GdsFeatureToggles}.
+ * Benchmarks use this as a {@code @Param} to measure all of them with the same workload.
+ */
+public enum AdjacencyCompression {
+    VAR_LONG(false, false, false, null),
+    UNCOMPRESSED(true, false, false, null),
+    MIXED(false, false, true, AdjacencyPackingStrategy.INLINED_HEAD_PACKED_TAIL),
+    PACKED_BLOCK_ALIGNED_TAIL(false, true, false, AdjacencyPackingStrategy.BLOCK_ALIGNED_TAIL),
+    PACKED_VAR_LONG_TAIL(false, true, false, AdjacencyPackingStrategy.VAR_LONG_TAIL),
+    PACKED_PACKED_TAIL(false, true, false, AdjacencyPackingStrategy.PACKED_TAIL),
+    PACKED_INLINED_HEAD_PACKED_TAIL(false, true, false, AdjacencyPackingStrategy.INLINED_HEAD_PACKED_TAIL);
+
+    private final boolean uncompressed;
+    private final boolean packed;
+    private final boolean mixed;
+    private final @Nullable AdjacencyPackingStrategy packingStrategy;
+
+    AdjacencyCompression(
+        boolean uncompressed,
+        boolean packed,
+        boolean mixed,
+        @Nullable AdjacencyPackingStrategy packingStrategy
+    ) {
+        this.uncompressed = uncompressed;
+        this.packed = packed;
+        this.mixed = mixed;
+        this.packingStrategy = packingStrategy;
+    }
+
+    /**
+     * Runs {@code code} with the feature toggles set to select this compression
+     * and restores the previous toggle values afterwards.
+     * The toggles are read when adjacency lists are built, so the returned value keeps its compression.
+     */
+    public <T> T apply(Supplier<T> code) {
+        var uncompressedBefore = GdsFeatureToggles.USE_UNCOMPRESSED_ADJACENCY_LIST.toggle(uncompressed);
+        var packedBefore = GdsFeatureToggles.USE_PACKED_ADJACENCY_LIST.toggle(packed);
+        var mixedBefore = GdsFeatureToggles.USE_MIXED_ADJACENCY_LIST.toggle(mixed);
+        var strategyBefore = GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY.get();
+        if (packingStrategy != null) {
+            GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY.set(packingStrategy);
+        }
+        try {
+            return code.get();
+        } finally {
+            GdsFeatureToggles.USE_UNCOMPRESSED_ADJACENCY_LIST.toggle(uncompressedBefore);
+            GdsFeatureToggles.USE_PACKED_ADJACENCY_LIST.toggle(packedBefore);
+            GdsFeatureToggles.USE_MIXED_ADJACENCY_LIST.toggle(mixedBefore);
+            GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY.set(strategyBefore);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.beta.generator.RelationshipDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding throughput of {@link AdjacencyCursor} for every adjacency list implementation.
+ * Each invocation visits the adjacency lists of all nodes once, reusing a single cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class AdjacencyCursorBenchmark {
+
+    @Param({"VAR_LONG", "UNCOMPRESSED", "MIXED", "PACKED_BLOCK_ALIGNED_TAIL", "PACKED_VAR_LONG_TAIL", "PACKED_PACKED_TAIL", "PACKED_INLINED_HEAD_PACKED_TAIL"})
+    public AdjacencyCompression compression;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"100000"})
+    public long nodeCount;
+
+    @Param({"32"})
+    public long averageDegree;
+
+    private AdjacencyList adjacencyList;
+    private long[] batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var graph = BenchmarkGraphs.generate(nodeCount, averageDegree, distribution, compression);
+        this.adjacencyList = graph.relationshipTopology().adjacencyList();
+        this.batch = new long[64];
+    }
+
+    @Benchmark
+    public long nextVLong() {
+        long checksum = 0L;
+        AdjacencyCursor cursor = null;
+        for (long node = 0; node < nodeCount; node++) {
+            cursor = adjacencyList.adjacencyCursor(cursor, node);
+            while (cursor.hasNextVLong()) {
+                checksum += cursor.nextVLong();
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long nextBatch() {
+        long checksum = 0L;
+        long[] batch = this.batch;
+        AdjacencyCursor cursor = null;
+        for (long node = 0; node < nodeCount; node++) {
+            cursor = adjacencyList.adjacencyCursor(cursor, node);
+            int length;
+            while ((length = cursor.nextBatch(batch, batch.length)) > 0) {
+                for (int i = 0; i < length; i++) {
+                    checksum += batch[i];
+                }
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long skipUntil() {
+        long checksum = 0L;
+        AdjacencyCursor cursor = null;
+        for (long node = 0; node < nodeCount; node++) {
+            cursor = adjacencyList.adjacencyCursor(cursor, node);
+            // node ids are uniformly spread over the targets, so this skips about half of each list
+            checksum += cursor.skipUntil(node);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long advance() {
+        long checksum = 0L;
+        AdjacencyCursor cursor = null;
+        for (long node = 0; node < nodeCount; node++) {
+            cursor = adjacencyList.adjacencyCursor(cursor, node);
+            checksum += cursor.advance(node);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.beta.generator.RelationshipDistribution;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building adjacency lists from a fixed relationship stream, i.e. buffering, sorting and compressing.
+ * The relationships are taken from a generated graph so that the degree distribution is realistic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class AdjacencyListBuildBenchmark {
+
+    private static final RelationshipType TYPE = RelationshipType.of("REL");
+
+    @Param({"VAR_LONG", "UNCOMPRESSED", "MIXED", "PACKED_BLOCK_ALIGNED_TAIL", "PACKED_VAR_LONG_TAIL", "PACKED_PACKED_TAIL", "PACKED_INLINED_HEAD_PACKED_TAIL"})
+    public AdjacencyCompression compression;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"100000"})
+    public long nodeCount;
+
+    @Param({"32"})
+    public long averageDegree;
+
+    @Param({"4"})
+    public int concurrency;
+
+    private IdMap idMap;
+    private long[] sources;
+    private long[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var graph = BenchmarkGraphs.generate(nodeCount, averageDegree, distribution, AdjacencyCompression.VAR_LONG);
+        this.idMap = graph.idMap();
+
+        var relationshipCount = Math.toIntExact(graph.relationshipCount());
+        this.sources = new long[relationshipCount];
+        this.targets = new long[relationshipCount];
+
+        var index = new int[]{0};
+        graph.forEachNode(node -> {
+            graph.forEachRelationship(node, (source, target) -> {
+                sources[index[0]] = source;
+                targets[index[0]] = target;
+                index[0]++;
+                return true;
+            });
+            return true;
+        });
+    }
+
+    @Benchmark
+    public SingleTypeRelationships build() {
+        return compression.apply(() -> {
+            var builder = GraphFactory.initRelationshipsBuilder()
+                .nodes(idMap)
+                .relationshipType(TYPE)
+                .concurrency(new Concurrency(concurrency))
+                .build();
+
+            for (int i = 0; i < sources.length; i++) {
+                builder.addFromInternal(sources[i], targets[i]);
+            }
+
+            return builder.build();
+        });
+    }
+}
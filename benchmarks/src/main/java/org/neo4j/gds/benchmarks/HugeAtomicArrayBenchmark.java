@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.neo4j.gds.collections.haa.HugeAtomicDoubleArray;
+import org.neo4j.gds.collections.haa.HugeAtomicLongArray;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.utils.paged.ParallelDoublePageCreator;
+import org.neo4j.gds.core.utils.paged.ParalleLongPageCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent updates on {@link HugeAtomicLongArray} and {@link HugeAtomicDoubleArray}.
+ * The {@code hotSetSize} parameter controls contention: all threads update indices within the first
+ * {@code hotSetSize} elements, which mimics many threads writing to the few hub nodes of a power-law graph.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HugeAtomicArrayBenchmark {
+
+    @Param({"16777216"})
+    public long size;
+
+    // must be a power of two and not larger than size
+    @Param({"64", "16777216"})
+    public long hotSetSize;
+
+    private HugeAtomicLongArray longs;
+    private HugeAtomicDoubleArray doubles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var concurrency = new Concurrency(Runtime.getRuntime().availableProcessors());
+        this.longs = HugeAtomicLongArray.of(size, ParalleLongPageCreator.passThrough(concurrency));
+        this.doubles = HugeAtomicDoubleArray.of(size, ParallelDoublePageCreator.passThrough(concurrency));
+    }
+
+    @State(Scope.Thread)
+    public static class Indices {
+        private long state;
+        private long mask;
+
+        @Setup(Level.Trial)
+        public void setup(HugeAtomicArrayBenchmark benchmark) {
+            this.state = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L + 1;
+            this.mask = benchmark.hotSetSize - 1;
+        }
+
+        long next() {
+            // xorshift64
+            long x = state;
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            state = x;
+            return x & mask;
+        }
+    }
+
+    @Benchmark
+    public long longGet(Indices indices) {
+        return longs.get(indices.next());
+    }
+
+    @Benchmark
+    public long longGetAndAdd(Indices indices) {
+        return longs.getAndAdd(indices.next(), 1L);
+    }
+
+    @Benchmark
+    public boolean longCompareAndSet(Indices indices) {
+        var index = indices.next();
+        var current = longs.get(index);
+        return longs.compareAndSet(index, current, current + 1);
+    }
+
+    @Benchmark
+    public double doubleGetAndAdd(Indices indices) {
+        return doubles.getAndAdd(indices.next(), 1.0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential, random and cursor based access to single-page and paged {@link HugeLongArray}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class HugeLongArrayBenchmark {
+
+    // odd, so that multiplying with it is a permutation modulo any power of two
+    private static final long PERMUTATION_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    public enum Layout {
+        SINGLE,
+        PAGED
+    }
+
+    @Param({"SINGLE", "PAGED"})
+    public Layout layout;
+
+    // must be a power of two
+    @Param({"16777216"})
+    public int size;
+
+    private HugeLongArray array;
+    private long mask;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.array = layout == Layout.SINGLE
+            ? HugeLongArray.newSingleArray(size)
+            : HugeLongArray.newPagedArray(size);
+        this.array.setAll(index -> index);
+        this.mask = size - 1L;
+    }
+
+    @Benchmark
+    public long sequentialGet() {
+        long checksum = 0L;
+        for (long i = 0; i < size; i++) {
+            checksum += array.get(i);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long randomGet() {
+        long checksum = 0L;
+        for (long i = 0; i < size; i++) {
+            checksum += array.get((i * PERMUTATION_MULTIPLIER) & mask);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long cursorScan() {
+        long checksum = 0L;
+        try (var cursor = array.newCursor()) {
+            array.initCursor(cursor);
+            while (cursor.next()) {
+                var page = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    checksum += page[i];
+                }
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public HugeLongArray sequentialSet() {
+        for (long i = 0; i < size; i++) {
+            array.set(i, i);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public HugeLongArray randomAddTo() {
+        for (long i = 0; i < size; i++) {
+            array.addTo((i * PERMUTATION_MULTIPLIER) & mask, 1L);
+        }
+        return array;
+    }
+}
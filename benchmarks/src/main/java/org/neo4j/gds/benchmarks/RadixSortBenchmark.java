@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.benchmarks;
+
+import org.neo4j.gds.core.loading.RadixSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting a relationship batch the way {@code RelationshipsBatchBuffer} does it during import.
+ * Every invocation first restores the unsorted input, that copy is part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class RadixSortBenchmark {
+
+    @Param({"10000", "100000"})
+    public int batchSize;
+
+    @Param({"100000", "100000000"})
+    public long nodeCount;
+
+    private long[] input;
+    private long[] references;
+
+    private long[] buffer;
+    private long[] bufferCopy;
+    private long[] relationshipReferences;
+    private long[] relationshipReferencesCopy;
+    private Object[] propertyReferences;
+    private Object[] propertyReferencesCopy;
+    private int[] histogram;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new SplittableRandom(BenchmarkGraphs.SEED);
+        this.input = new long[2 * batchSize];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextLong(nodeCount);
+        }
+        this.references = new long[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            references[i] = i;
+        }
+
+        this.buffer = new long[input.length];
+        this.bufferCopy = RadixSort.newCopy(buffer);
+        this.relationshipReferences = new long[batchSize];
+        this.relationshipReferencesCopy = RadixSort.newCopy(relationshipReferences);
+        this.propertyReferences = new Object[batchSize];
+        this.propertyReferencesCopy = RadixSort.newCopy(propertyReferences);
+        this.histogram = RadixSort.newHistogram(batchSize);
+    }
+
+    @Benchmark
+    public long[] sortBySource() {
+        reset();
+        RadixSort.radixSort(
+            buffer,
+            bufferCopy,
+            relationshipReferences,
+            relationshipReferencesCopy,
+            propertyReferences,
+            propertyReferencesCopy,
+            histogram,
+            buffer.length
+        );
+        return buffer;
+    }
+
+    @Benchmark
+    public long[] sortByTarget() {
+        reset();
+        RadixSort.radixSort2(
+            buffer,
+            bufferCopy,
+            relationshipReferences,
+            relationshipReferencesCopy,
+            propertyReferences,
+            propertyReferencesCopy,
+            histogram,
+            buffer.length
+        );
+        return buffer;
+    }
+
+    private void reset() {
+        System.arraycopy(input, 0, buffer, 0, input.length);
+        System.arraycopy(references, 0, relationshipReferences, 0, references.length);
+    }
+}
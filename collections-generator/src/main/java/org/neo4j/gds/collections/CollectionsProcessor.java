@@ -22,6 +22,7 @@ package org.neo4j.gds.collections;
 import com.google.auto.common.BasicAnnotationProcessor;
 import com.google.auto.service.AutoService;
 import org.neo4j.gds.collections.haa.HugeAtomicArrayStep;
+import org.neo4j.gds.collections.hcm.HugeConcurrentMapStep;
 import org.neo4j.gds.collections.hsa.HugeSparseArrayStep;
 import org.neo4j.gds.collections.hsl.HugeSparseListStep;
 
@@ -50,7 +51,8 @@ public class CollectionsProcessor extends BasicAnnotationProcessor {
         return List.of(
             HugeSparseArrayStep.of(processingEnv, sourcePath),
             HugeSparseListStep.of(processingEnv, sourcePath),
-            HugeAtomicArrayStep.of(processingEnv, sourcePath)
+            HugeAtomicArrayStep.of(processingEnv, sourcePath),
+            HugeConcurrentMapStep.of(processingEnv, sourcePath)
         );
     }
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.SimpleElementVisitor9;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import static org.neo4j.gds.collections.ValidatorUtils.doesNotThrow;
+import static org.neo4j.gds.collections.ValidatorUtils.hasNoParameters;
+import static org.neo4j.gds.collections.ValidatorUtils.hasParameterCount;
+import static org.neo4j.gds.collections.ValidatorUtils.hasSingleLongParameter;
+import static org.neo4j.gds.collections.ValidatorUtils.hasTypeAtIndex;
+import static org.neo4j.gds.collections.ValidatorUtils.hasTypeKindAtIndex;
+import static org.neo4j.gds.collections.ValidatorUtils.isAbstract;
+import static org.neo4j.gds.collections.ValidatorUtils.isNotGeneric;
+import static org.neo4j.gds.collections.ValidatorUtils.mustReturn;
+
+final class ElementValidator extends SimpleElementVisitor9<Boolean, TypeMirror> {
+
+    private final Types typeUtils;
+    private final TypeMirror mappingFunctionType;
+    private final TypeMirror entryConsumerType;
+    private final Messager messager;
+
+    ElementValidator(
+        Types typeUtils,
+        TypeMirror mappingFunctionType,
+        TypeMirror entryConsumerType,
+        Messager messager
+    ) {
+        super(false);
+        this.typeUtils = typeUtils;
+        this.mappingFunctionType = mappingFunctionType;
+        this.entryConsumerType = entryConsumerType;
+        this.messager = messager;
+    }
+
+    @Override
+    protected Boolean defaultAction(Element e, TypeMirror valueType) {
+        messager.printMessage(Diagnostic.Kind.ERROR, "Unexpected enclosed element", e);
+        return false;
+    }
+
+    @Override
+    public Boolean visitType(TypeElement e, TypeMirror valueType) {
+        // no inner type expected
+        return true;
+    }
+
+    @Override
+    public Boolean visitExecutable(ExecutableElement e, TypeMirror valueType) {
+        if (e.getModifiers().contains(Modifier.STATIC)) {
+            // ignore static methods for validation
+            return true;
+        }
+
+        switch (e.getSimpleName().toString()) {
+            case "get":
+                return validateGetMethod(e, valueType);
+            case "containsKey":
+                return validateContainsKeyMethod(e);
+            case "put":
+            case "addTo":
+                return validateUpdateMethod(e, valueType);
+            case "computeIfAbsent":
+                return validateComputeIfAbsentMethod(e, valueType);
+            case "forEach":
+                return validateForEachMethod(e);
+            case "defaultValue":
+                return validateValueMethod(e, valueType);
+            case "size":
+            case "capacity":
+            case "sizeOf":
+                return validateLongMethod(e);
+            default:
+                messager.printMessage(Diagnostic.Kind.ERROR, "unexpected method", e);
+        }
+
+        return false;
+    }
+
+    private boolean validateGetMethod(ExecutableElement e, TypeMirror valueType) {
+        return mustReturn(e, valueType.getKind(), messager)
+               && hasSingleLongParameter(e, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateContainsKeyMethod(ExecutableElement e) {
+        return mustReturn(e, TypeKind.BOOLEAN, messager)
+               && hasSingleLongParameter(e, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateUpdateMethod(ExecutableElement e, TypeMirror valueType) {
+        return mustReturn(e, TypeKind.VOID, messager)
+               && hasParameterCount(e, 2, messager)
+               && hasTypeKindAtIndex(e, 0, TypeKind.LONG, messager)
+               && hasTypeKindAtIndex(e, 1, valueType.getKind(), messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateComputeIfAbsentMethod(ExecutableElement e, TypeMirror valueType) {
+        return mustReturn(e, valueType.getKind(), messager)
+               && hasParameterCount(e, 2, messager)
+               && hasTypeKindAtIndex(e, 0, TypeKind.LONG, messager)
+               && hasTypeAtIndex(typeUtils, e, 1, mappingFunctionType, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateForEachMethod(ExecutableElement e) {
+        return mustReturn(e, TypeKind.VOID, messager)
+               && hasParameterCount(e, 1, messager)
+               && hasTypeAtIndex(typeUtils, e, 0, entryConsumerType, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateValueMethod(ExecutableElement e, TypeMirror valueType) {
+        return mustReturn(e, valueType.getKind(), messager)
+               && hasNoParameters(e, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+
+    private boolean validateLongMethod(ExecutableElement e) {
+        return mustReturn(e, TypeKind.LONG, messager)
+               && hasNoParameters(e, messager)
+               && doesNotThrow(e, messager)
+               && isNotGeneric(e, messager)
+               && isAbstract(e, messager);
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import org.neo4j.gds.collections.CollectionStep;
+
+import javax.annotation.processing.Generated;
+import javax.lang.model.element.Modifier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a lock-free open-addressing hash map with linear probing.
+ * <p>
+ * Keys and values are stored in huge atomic arrays of the same capacity.
+ * A key slot is either empty ({@code 0}), claimed by a thread that is about to write the value
+ * ({@code -(key + 1)}) or published ({@code key + 1}), which limits keys to non-negative values.
+ * Slots are never freed and the map does not grow, so a published key never moves.
+ */
+final class HugeConcurrentMapGenerator implements CollectionStep.Generator<HugeConcurrentMapValidation.Spec> {
+
+    private static final String HAA_PACKAGE = "org.neo4j.gds.collections.haa";
+    private static final ClassName PAGE_CREATOR = ClassName.get(HAA_PACKAGE, "PageCreator");
+    private static final ClassName HUGE_ATOMIC_LONG_ARRAY = ClassName.get(HAA_PACKAGE, "HugeAtomicLongArray");
+    private static final ClassName BIT_UTIL = ClassName.get("org.neo4j.gds.mem", "BitUtil");
+    private static final ClassName ESTIMATE = ClassName.get("org.neo4j.gds.mem", "Estimate");
+    private static final ClassName BIT_MIXER = ClassName.get("com.carrotsearch.hppc", "BitMixer");
+
+    @Override
+    public TypeSpec generate(HugeConcurrentMapValidation.Spec spec) {
+        var className = ClassName.get(spec.rootPackage().toString(), spec.className());
+        var valueType = TypeName.get(spec.valueType());
+        var types = new Types(
+            className,
+            spec.element().getSimpleName().toString(),
+            TypeName.get(spec.element().asType()),
+            valueType,
+            capitalize(valueType.toString()),
+            TypeName.get(spec.mappingFunctionInterface()),
+            TypeName.get(spec.entryConsumerInterface())
+        );
+
+        var builder = TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.FINAL)
+            .addSuperinterface(types.interfaceType)
+            .addOriginatingElement(spec.element());
+
+        builder.addAnnotation(generatedAnnotation());
+
+        builder.addField(FieldSpec.builder(TypeName.LONG, "EMPTY", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("0L")
+            .build());
+        builder.addField(FieldSpec.builder(TypeName.DOUBLE, "LOAD_FACTOR", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("0.75")
+            .build());
+
+        builder.addField(HUGE_ATOMIC_LONG_ARRAY, "keys", Modifier.PRIVATE, Modifier.FINAL);
+        builder.addField(types.valueArrayType(), "values", Modifier.PRIVATE, Modifier.FINAL);
+        builder.addField(AtomicLong.class, "assigned", Modifier.PRIVATE, Modifier.FINAL);
+        builder.addField(TypeName.LONG, "mask", Modifier.PRIVATE, Modifier.FINAL);
+        builder.addField(TypeName.LONG, "maxAssigned", Modifier.PRIVATE, Modifier.FINAL);
+        builder.addField(valueType, "defaultValue", Modifier.PRIVATE, Modifier.FINAL);
+
+        builder.addMethod(ofMethod(types));
+        builder.addMethod(memoryEstimationMethod(types));
+        builder.addMethod(capacityForMethod());
+        builder.addMethod(constructor(types));
+
+        builder.addMethod(getMethod(types));
+        builder.addMethod(containsKeyMethod());
+        builder.addMethod(putMethod(types));
+        builder.addMethod(addToMethod(types));
+        builder.addMethod(computeIfAbsentMethod(types));
+        builder.addMethod(forEachMethod(types));
+        builder.addMethod(defaultValueMethod(types));
+        builder.addMethod(sizeMethod());
+        builder.addMethod(capacityMethod());
+        builder.addMethod(sizeOfMethod());
+
+        builder.addMethod(insertionSlotMethod(types));
+        builder.addMethod(encodeMethod());
+        builder.addMethod(slotMethod());
+
+        builder.addType(pageCreator("Long"));
+        if (!types.valueName.equals("Long")) {
+            builder.addType(pageCreator(types.valueName));
+        }
+
+        return builder.build();
+    }
+
+    private static AnnotationSpec generatedAnnotation() {
+        return AnnotationSpec.builder(Generated.class)
+            .addMember("value", "$S", HugeConcurrentMapGenerator.class.getCanonicalName())
+            .build();
+    }
+
+    private static MethodSpec ofMethod(Types types) {
+        return MethodSpec.methodBuilder("of")
+            .addModifiers(Modifier.STATIC)
+            .addParameter(TypeName.LONG, "expectedElements")
+            .addParameter(types.valueType, "defaultValue")
+            .returns(types.interfaceType)
+            .addStatement("return new $T(capacityFor(expectedElements), defaultValue)", types.className)
+            .build();
+    }
+
+    private static MethodSpec memoryEstimationMethod(Types types) {
+        return MethodSpec.methodBuilder("memoryEstimation")
+            .addModifiers(Modifier.STATIC)
+            .addParameter(TypeName.LONG, "expectedElements")
+            .returns(TypeName.LONG)
+            .addStatement("var capacity = capacityFor(expectedElements)")
+            .addStatement(
+                "return $1T.sizeOfInstance($2T.class) + $1T.sizeOfInstance($3T.class) + $4T.memoryEstimation(capacity) + $5T.memoryEstimation(capacity)",
+                ESTIMATE,
+                types.className,
+                AtomicLong.class,
+                HUGE_ATOMIC_LONG_ARRAY,
+                types.valueArrayType()
+            )
+            .build();
+    }
+
+    private static MethodSpec capacityForMethod() {
+        return MethodSpec.methodBuilder("capacityFor")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addParameter(TypeName.LONG, "expectedElements")
+            .returns(TypeName.LONG)
+            .addStatement("assert expectedElements >= 0")
+            .addComment("one slot always stays empty, so that probing for an absent key terminates")
+            .addStatement(
+                "return $T.nextHighestPowerOfTwo(Math.max(2L, (long) Math.ceil((expectedElements + 1) / LOAD_FACTOR)))",
+                BIT_UTIL
+            )
+            .build();
+    }
+
+    private static MethodSpec constructor(Types types) {
+        var valuePageCreator = types.valueName.equals("Long") ? "LongPages" : types.valueName + "Pages";
+        return MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(TypeName.LONG, "capacity")
+            .addParameter(types.valueType, "defaultValue")
+            .addStatement("this.keys = $T.of(capacity, new LongPages())", HUGE_ATOMIC_LONG_ARRAY)
+            .addStatement("this.values = $T.of(capacity, new $N())", types.valueArrayType(), valuePageCreator)
+            .addStatement("this.assigned = new $T()", AtomicLong.class)
+            .addStatement("this.mask = capacity - 1")
+            .addStatement("this.maxAssigned = capacity - 1")
+            .addStatement("this.defaultValue = defaultValue")
+            .build();
+    }
+
+    private static MethodSpec getMethod(Types types) {
+        return MethodSpec.methodBuilder("get")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(TypeName.LONG, "key")
+            .returns(types.valueType)
+            .addStatement("var encodedKey = encode(key)")
+            .addStatement("var slot = slot(encodedKey)")
+            .beginControlFlow("while (true)")
+            .addStatement("var current = keys.get(slot)")
+            .beginControlFlow("if (current == encodedKey)")
+            .addStatement("return values.get(slot)")
+            .endControlFlow()
+            .addComment("the key is absent or its insertion has not completed yet")
+            .beginControlFlow("if (current == EMPTY || current == -encodedKey)")
+            .addStatement("return defaultValue")
+            .endControlFlow()
+            .addStatement("slot = (slot + 1) & mask")
+            .endControlFlow()
+            .build();
+    }
+
+    private static MethodSpec containsKeyMethod() {
+        return MethodSpec.methodBuilder("containsKey")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(TypeName.LONG, "key")
+            .returns(TypeName.BOOLEAN)
+            .addStatement("var encodedKey = encode(key)")
+            .addStatement("var slot = slot(encodedKey)")
+            .beginControlFlow("while (true)")
+            .addStatement("var current = keys.get(slot)")
+            .beginControlFlow("if (current == encodedKey)")
+            .addStatement("return true")
+            .endControlFlow()
+            .beginControlFlow("if (current == EMPTY || current == -encodedKey)")
+            .addStatement("return false")
+            .endControlFlow()
+            .addStatement("slot = (slot + 1) & mask")
+            .endControlFlow()
+            .build();
+    }
+
+    private static MethodSpec putMethod(Types types) {
+        return MethodSpec.methodBuilder("put")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(TypeName.LONG, "key")
+            .addParameter(types.valueType, "value")
+            .addStatement("var encodedKey = encode(key)")
+            .addStatement("var slot = insertionSlot(encodedKey)")
+            .beginControlFlow("if (slot >= 0)")
+            .addStatement("values.set(slot, value)")
+            .addStatement("return")
+            .endControlFlow()
+            .addStatement("slot = ~slot")
+            .addStatement("values.set(slot, value)")
+            .addStatement("keys.set(slot, encodedKey)")
+            .build();
+    }
+
+    private static MethodSpec addToMethod(Types types) {
+        return MethodSpec.methodBuilder("addTo")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(TypeName.LONG, "key")
+            .addParameter(types.valueType, "delta")
+            .addStatement("var encodedKey = encode(key)")
+            .addStatement("var slot = insertionSlot(encodedKey)")
+            .beginControlFlow("if (slot >= 0)")
+            .addStatement("values.getAndAdd(slot, delta)")
+            .addStatement("return")
+            .endControlFlow()
+            .addStatement("slot = ~slot")
+            .addStatement("values.set(slot, defaultValue + delta)")
+            .addStatement("keys.set(slot, encodedKey)")
+            .build();
+    }
+
+    private static MethodSpec computeIfAbsentMethod(Types types) {
+        return MethodSpec.methodBuilder("computeIfAbsent")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(TypeName.LONG, "key")
+            .addParameter(types.mappingFunctionType, "mappingFunction")
+            .returns(types.valueType)
+            .addStatement("var encodedKey = encode(key)")
+            .addStatement("var slot = insertionSlot(encodedKey)")
+            .beginControlFlow("if (slot >= 0)")
+            .addStatement("return values.get(slot)")
+            .endControlFlow()
+            .addStatement("slot = ~slot")
+            .addStatement("var value = defaultValue")
+            .beginControlFlow("try")
+            .addStatement("value = mappingFunction.applyAs$L(key)", types.valueName)
+            .addStatement("return value")
+            .nextControlFlow("finally")
+            .addComment("publish the key even if the function fails, threads that insert the same key wait for it")
+            .addStatement("values.set(slot, value)")
+            .addStatement("keys.set(slot, encodedKey)")
+            .endControlFlow()
+            .build();
+    }
+
+    private static MethodSpec forEachMethod(Types types) {
+        return MethodSpec.methodBuilder("forEach")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(types.entryConsumerType, "consumer")
+            .beginControlFlow("for (long slot = 0; slot <= mask; slot++)")
+            .addStatement("var current = keys.get(slot)")
+            .beginControlFlow("if (current > 0)")
+            .addStatement("consumer.accept(current - 1, values.get(slot))")
+            .endControlFlow()
+            .endControlFlow()
+            .build();
+    }
+
+    private static MethodSpec defaultValueMethod(Types types) {
+        return MethodSpec.methodBuilder("defaultValue")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(types.valueType)
+            .addStatement("return defaultValue")
+            .build();
+    }
+
+    private static MethodSpec sizeMethod() {
+        return MethodSpec.methodBuilder("size")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(TypeName.LONG)
+            .addStatement("return assigned.get()")
+            .build();
+    }
+
+    private static MethodSpec capacityMethod() {
+        return MethodSpec.methodBuilder("capacity")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(TypeName.LONG)
+            .addStatement("return maxAssigned")
+            .build();
+    }
+
+    private static MethodSpec sizeOfMethod() {
+        return MethodSpec.methodBuilder("sizeOf")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(TypeName.LONG)
+            .addStatement("return keys.sizeOf() + values.sizeOf()")
+            .build();
+    }
+
+    /**
+     * Returns the slot of a published key or the complement of a slot that has been claimed for the key.
+     * The caller of the latter has to write the value and then publish the key.
+     */
+    private static MethodSpec insertionSlotMethod(Types types) {
+        return MethodSpec.methodBuilder("insertionSlot")
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(TypeName.LONG, "encodedKey")
+            .returns(TypeName.LONG)
+            .addStatement("var slot = slot(encodedKey)")
+            .beginControlFlow("while (true)")
+            .addStatement("var current = keys.get(slot)")
+            .beginControlFlow("if (current == encodedKey)")
+            .addStatement("return slot")
+            .endControlFlow()
+            .beginControlFlow("if (current == -encodedKey)")
+            .addComment("another thread is inserting the same key")
+            .addStatement("Thread.onSpinWait()")
+            .addStatement("continue")
+            .endControlFlow()
+            .beginControlFlow("if (current == EMPTY)")
+            .beginControlFlow("if (assigned.getAndIncrement() >= maxAssigned)")
+            .addStatement("assigned.getAndDecrement()")
+            .addStatement(
+                "throw new $T($S + maxAssigned + $S)",
+                IllegalStateException.class,
+                types.interfaceName + " is full, it can hold at most ",
+                " keys."
+            )
+            .endControlFlow()
+            .beginControlFlow("if (keys.compareAndSet(slot, EMPTY, -encodedKey))")
+            .addStatement("return ~slot")
+            .endControlFlow()
+            .addComment("the slot has been claimed concurrently, possibly for the same key")
+            .addStatement("assigned.getAndDecrement()")
+            .addStatement("continue")
+            .endControlFlow()
+            .addStatement("slot = (slot + 1) & mask")
+            .endControlFlow()
+            .build();
+    }
+
+    private static MethodSpec encodeMethod() {
+        return MethodSpec.methodBuilder("encode")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addParameter(TypeName.LONG, "key")
+            .returns(TypeName.LONG)
+            .beginControlFlow("if (key < 0 || key == Long.MAX_VALUE)")
+            .addStatement(
+                "throw new $T($S + key)",
+                IllegalArgumentException.class,
+                "Keys must be non-negative and less than Long.MAX_VALUE, but got "
+            )
+            .endControlFlow()
+            .addStatement("return key + 1")
+            .build();
+    }
+
+    private static MethodSpec slotMethod() {
+        return MethodSpec.methodBuilder("slot")
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(TypeName.LONG, "encodedKey")
+            .returns(TypeName.LONG)
+            .addStatement("return $T.mixPhi(encodedKey) & mask", BIT_MIXER)
+            .build();
+    }
+
+    private static TypeSpec pageCreator(String valueName) {
+        var pageType = ArrayTypeName.of(TypeName.get(primitive(valueName)));
+        return TypeSpec.classBuilder(valueName + "Pages")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .addSuperinterface(PAGE_CREATOR.nestedClass(valueName + "PageCreator"))
+            .addMethod(MethodSpec.methodBuilder("fill")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ArrayTypeName.of(pageType), "pages")
+                .addParameter(TypeName.INT, "lastPageSize")
+                .addParameter(TypeName.INT, "pageShift")
+                .addStatement("int lastPageIndex = pages.length - 1")
+                .beginControlFlow("for (int pageIndex = 0; pageIndex < lastPageIndex; pageIndex++)")
+                .addStatement("pages[pageIndex] = new $T[1 << pageShift]", pageType.componentType)
+                .endControlFlow()
+                .addStatement("pages[lastPageIndex] = new $T[lastPageSize]", pageType.componentType)
+                .build())
+            .addMethod(MethodSpec.methodBuilder("fillPage")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(pageType, "page")
+                .addParameter(TypeName.LONG, "base")
+                .addComment("slots start out empty")
+                .build())
+            .build();
+    }
+
+    private static Class<?> primitive(String valueName) {
+        switch (valueName) {
+            case "Long":
+                return long.class;
+            case "Double":
+                return double.class;
+            case "Int":
+                return int.class;
+            default:
+                throw new IllegalArgumentException("Unsupported value type " + valueName);
+        }
+    }
+
+    private static String capitalize(String primitiveName) {
+        return Character.toUpperCase(primitiveName.charAt(0)) + primitiveName.substring(1);
+    }
+
+    private static final class Types {
+        private final ClassName className;
+        private final String interfaceName;
+        private final TypeName interfaceType;
+        private final TypeName valueType;
+        private final String valueName;
+        private final TypeName mappingFunctionType;
+        private final TypeName entryConsumerType;
+
+        private Types(
+            ClassName className,
+            String interfaceName,
+            TypeName interfaceType,
+            TypeName valueType,
+            String valueName,
+            TypeName mappingFunctionType,
+            TypeName entryConsumerType
+        ) {
+            this.className = className;
+            this.interfaceName = interfaceName;
+            this.interfaceType = interfaceType;
+            this.valueType = valueType;
+            this.valueName = valueName;
+            this.mappingFunctionType = mappingFunctionType;
+            this.entryConsumerType = entryConsumerType;
+        }
+
+        private ClassName valueArrayType() {
+            return ClassName.get(HAA_PACKAGE, "HugeAtomic" + valueName + "Array");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import org.neo4j.gds.collections.CollectionStep;
+import org.neo4j.gds.collections.HugeConcurrentMap;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.nio.file.Path;
+
+public final class HugeConcurrentMapStep extends CollectionStep<HugeConcurrentMapValidation.Spec> {
+
+    private static final Class<HugeConcurrentMap> HCM_ANNOTATION = HugeConcurrentMap.class;
+
+    public static HugeConcurrentMapStep of(ProcessingEnvironment processingEnv, Path sourcePath) {
+        var validation = new HugeConcurrentMapValidation(
+            processingEnv.getTypeUtils(),
+            processingEnv.getElementUtils(),
+            processingEnv.getMessager()
+        );
+
+        var mainGenerator = new HugeConcurrentMapGenerator();
+
+        return new HugeConcurrentMapStep(processingEnv, sourcePath, validation, mainGenerator);
+    }
+
+    private HugeConcurrentMapStep(
+        ProcessingEnvironment processingEnv,
+        Path sourcePath,
+        Validation<HugeConcurrentMapValidation.Spec> validation,
+        Generator<HugeConcurrentMapValidation.Spec> mainGenerator
+    ) {
+        super(processingEnv, sourcePath, validation, mainGenerator, null);
+    }
+
+    @Override
+    public String annotation() {
+        return HCM_ANNOTATION.getCanonicalName();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import com.google.auto.common.MoreElements;
+import org.neo4j.gds.annotation.ValueClass;
+import org.neo4j.gds.collections.CollectionStep;
+import org.neo4j.gds.collections.HugeConcurrentMap;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Name;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.auto.common.AnnotationMirrors.getAnnotationValue;
+
+final class HugeConcurrentMapValidation implements CollectionStep.Validation<HugeConcurrentMapValidation.Spec> {
+
+    // the values are stored in the huge atomic array of the same type
+    private static final Set<TypeKind> VALUE_TYPES = Set.of(TypeKind.LONG, TypeKind.DOUBLE, TypeKind.INT);
+
+    private final Types typeUtils;
+    private final Elements elementUtils;
+    private final Messager messager;
+
+    HugeConcurrentMapValidation(Types typeUtils, Elements elementUtils, Messager messager) {
+        this.typeUtils = typeUtils;
+        this.elementUtils = elementUtils;
+        this.messager = messager;
+    }
+
+    @Override
+    public Optional<Spec> validate(Element element) {
+        var annotationMirror = MoreElements.getAnnotationMirror(element, HugeConcurrentMap.class).get();
+        var valueType = (TypeMirror) getAnnotationValue(annotationMirror, "valueType").getValue();
+        var mappingFunctionInterface = (TypeMirror) getAnnotationValue(annotationMirror, "mappingFunctionInterface").getValue();
+        var entryConsumerInterface = (TypeMirror) getAnnotationValue(annotationMirror, "entryConsumerInterface").getValue();
+
+        if (!VALUE_TYPES.contains(valueType.getKind())) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "value type must be one of long, double or int", element);
+            return Optional.empty();
+        }
+
+        if (element.getKind() != ElementKind.INTERFACE) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "HugeConcurrentMap must be an interface", element);
+            return Optional.empty();
+        }
+
+        var elementValidator = new ElementValidator(
+            typeUtils,
+            mappingFunctionInterface,
+            entryConsumerInterface,
+            messager
+        );
+
+        if (!isValid(element, elementValidator, valueType)) {
+            return Optional.empty();
+        }
+
+        var spec = ImmutableSpec.builder()
+            .element(element)
+            .valueType(valueType)
+            .mappingFunctionInterface(mappingFunctionInterface)
+            .entryConsumerInterface(entryConsumerInterface)
+            .rootPackage(elementUtils.getPackageOf(element).getQualifiedName())
+            .build();
+
+        return Optional.of(spec);
+    }
+
+    private static boolean isValid(Element element, ElementValidator validator, TypeMirror valueType) {
+        return element
+            .getEnclosedElements()
+            .stream()
+            // We do not use `allMatch` in order to run all validations and not stop on the first failing one.
+            .map(e -> e.accept(validator, valueType))
+            .reduce(true, (a, b) -> a && b);
+    }
+
+    @ValueClass
+    public interface Spec extends CollectionStep.Spec {
+        Element element();
+
+        TypeMirror valueType();
+
+        TypeMirror mappingFunctionInterface();
+
+        TypeMirror entryConsumerInterface();
+
+        @Override
+        Name rootPackage();
+
+        default String className() {
+            return element().getSimpleName() + "Son";
+        }
+    }
+}
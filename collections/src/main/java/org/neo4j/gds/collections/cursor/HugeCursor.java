@@ -201,4 +201,64 @@ public abstract class HugeCursor<Array> implements AutoCloseable {
             pageIndex = -1;
         }
     }
+
+    /**
+     * Cursor over data that is not stored in Java arrays, for example in off-heap memory.
+     * Every call to {@link #next()} copies the next slice of values into a reused buffer,
+     * which is why writes to {@link #array} are not reflected in the underlying data.
+     */
+    public abstract static class BufferedCursor<Array> extends HugeCursor<Array> {
+
+        private final long capacity;
+        private long nextBase;
+        private long end;
+
+        protected BufferedCursor(Array buffer, long capacity) {
+            super();
+            this.array = buffer;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Copies {@code length} values, starting at the global index {@code from}, into {@code buffer}.
+         */
+        protected abstract void load(long from, Array buffer, int length);
+
+        @Override
+        void setRange() {
+            setRange(0L, capacity);
+        }
+
+        @Override
+        public void setRange(long start, long end) {
+            this.nextBase = start;
+            this.end = end;
+            this.base = start;
+            this.offset = 0;
+            this.limit = 0;
+        }
+
+        @Override
+        public boolean next() {
+            if (nextBase >= end) {
+                return false;
+            }
+            int length = (int) Math.min(getLength(array), end - nextBase);
+            load(nextBase, array, length);
+            base = nextBase;
+            offset = 0;
+            limit = length;
+            nextBase += length;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            array = null;
+            base = 0L;
+            nextBase = 0L;
+            end = 0L;
+            limit = 0;
+        }
+    }
 }
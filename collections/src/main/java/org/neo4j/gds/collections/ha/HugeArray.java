@@ -104,6 +104,14 @@ public abstract class HugeArray<Array, Box, Self extends HugeArray<Array, Box, S
      * @return the number of entries copied
      */
     public final int copyFromArrayIntoSlice(Array source, long sliceStart, long sliceEnd) {
+        return copyIntoSlice(source, sliceStart, sliceEnd);
+    }
+
+    /**
+     * Copies through the cursor pages. Off-heap arrays override this to write into their pages directly,
+     * as their cursors only hold copies of the values.
+     */
+    int copyIntoSlice(Array source, long sliceStart, long sliceEnd) {
         int sourceIndex = 0;
         try (HugeCursor<Array> cursor = initCursor(newCursor(), sliceStart, sliceEnd)) {
             int sourceLength = java.lang.reflect.Array.getLength(source);
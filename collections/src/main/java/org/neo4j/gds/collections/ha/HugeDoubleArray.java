@@ -208,6 +208,20 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         return PagedHugeDoubleArray.of(size);
     }
 
+    /**
+     * Creates a new array of the given size, whose pages are allocated by the given {@link PageAllocator}.
+     */
+    public static HugeDoubleArray newArray(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? newArray(size) : OffHeapHugeDoubleArray.of(size, allocator);
+    }
+
+    /**
+     * For off-heap allocators, only the part of the array that lives on the heap is estimated.
+     */
+    public static long memoryEstimation(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? memoryEstimation(size) : OffHeapHugeDoubleArray.heapMemoryEstimation(size);
+    }
+
     public static HugeDoubleArray of(final double... values) {
         return new HugeDoubleArray.SingleHugeDoubleArray(values.length, values);
     }
@@ -270,6 +284,10 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
 
         @Override
         public void copyTo(HugeDoubleArray dest, long length) {
+            if (dest instanceof OffHeapHugeDoubleArray) {
+                OffHeapHugeDoubleArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -410,6 +428,10 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
 
         @Override
         public void copyTo(HugeDoubleArray dest, long length) {
+            if (dest instanceof OffHeapHugeDoubleArray) {
+                OffHeapHugeDoubleArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -224,6 +224,20 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
         return PagedHugeIntArray.of(size);
     }
 
+    /**
+     * Creates a new array of the given size, whose pages are allocated by the given {@link PageAllocator}.
+     */
+    public static HugeIntArray newArray(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? newArray(size) : OffHeapHugeIntArray.of(size, allocator);
+    }
+
+    /**
+     * For off-heap allocators, only the part of the array that lives on the heap is estimated.
+     */
+    public static long memoryEstimation(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? memoryEstimation(size) : OffHeapHugeIntArray.heapMemoryEstimation(size);
+    }
+
     public static HugeIntArray of(final int... values) {
         return new HugeIntArray.SingleHugeIntArray(values.length, values);
     }
@@ -307,6 +321,10 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
 
         @Override
         public void copyTo(HugeIntArray dest, long length) {
+            if (dest instanceof OffHeapHugeIntArray) {
+                OffHeapHugeIntArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -468,6 +486,10 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
 
         @Override
         public void copyTo(HugeIntArray dest, long length) {
+            if (dest instanceof OffHeapHugeIntArray) {
+                OffHeapHugeIntArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -225,6 +225,20 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         return PagedHugeLongArray.of(size);
     }
 
+    /**
+     * Creates a new array of the given size, whose pages are allocated by the given {@link PageAllocator}.
+     */
+    public static HugeLongArray newArray(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? newArray(size) : OffHeapHugeLongArray.of(size, allocator);
+    }
+
+    /**
+     * For off-heap allocators, only the part of the array that lives on the heap is estimated.
+     */
+    public static long memoryEstimation(long size, PageAllocator allocator) {
+        return allocator.isOnHeap() ? memoryEstimation(size) : OffHeapHugeLongArray.heapMemoryEstimation(size);
+    }
+
     public static HugeLongArray of(final long... values) {
         return new SingleHugeLongArray(values.length, values);
     }
@@ -312,6 +326,10 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
 
         @Override
         public void copyTo(HugeLongArray dest, long length) {
+            if (dest instanceof OffHeapHugeLongArray) {
+                OffHeapHugeLongArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -477,6 +495,10 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
 
         @Override
         public void copyTo(HugeLongArray dest, long length) {
+            if (dest instanceof OffHeapHugeLongArray) {
+                OffHeapHugeLongArray.copyElementWise(this, dest, length);
+                return;
+            }
             if (length > size) {
                 length = size;
             }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.ha;
+
+import org.neo4j.gds.collections.PageUtil;
+import org.neo4j.gds.collections.cursor.HugeCursor;
+import org.neo4j.gds.mem.Estimate;
+import org.neo4j.gds.mem.HugeArrays;
+
+import java.nio.DoubleBuffer;
+import java.util.function.LongToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+import static org.neo4j.gds.collections.ha.PageAllocator.PAGE_MASK;
+import static org.neo4j.gds.collections.ha.PageAllocator.PAGE_SHIFT;
+import static org.neo4j.gds.collections.ha.PageAllocator.PAGE_SIZE;
+
+/**
+ * A {@link HugeDoubleArray} whose pages are allocated outside the Java heap by a {@link PageAllocator}.
+ */
+final class OffHeapHugeDoubleArray extends HugeDoubleArray {
+
+    static HugeDoubleArray of(long size, PageAllocator allocator) {
+        int numPages = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+        var pages = new DoubleBuffer[numPages];
+        for (int i = 0; i < numPages; i++) {
+            int pageSize = i == numPages - 1 ? PageUtil.exclusiveIndexOfPage(size, (int) PAGE_MASK) : PAGE_SIZE;
+            pages[i] = allocator.allocate(pageSize * Double.BYTES).asDoubleBuffer();
+        }
+        return new OffHeapHugeDoubleArray(size, pages);
+    }
+
+    /**
+     * Only accounts for the heap, as the off-heap pages do not compete with the heap.
+     */
+    static long heapMemoryEstimation(long size) {
+        int numPages = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+        return Estimate.sizeOfInstance(OffHeapHugeDoubleArray.class) + Estimate.sizeOfObjectArray(numPages);
+    }
+
+    private final long size;
+    private DoubleBuffer[] pages;
+
+    private OffHeapHugeDoubleArray(long size, DoubleBuffer[] pages) {
+        this.size = size;
+        this.pages = pages;
+    }
+
+    @Override
+    public double get(long index) {
+        assert index < size : "index = " + index + " size = " + size;
+        return pages[PageUtil.pageIndex(index, PAGE_SHIFT)].get(PageUtil.indexInPage(index, PAGE_MASK));
+    }
+
+    @Override
+    public void set(long index, double value) {
+        assert index < size : "index = " + index + " size = " + size;
+        pages[PageUtil.pageIndex(index, PAGE_SHIFT)].put(PageUtil.indexInPage(index, PAGE_MASK), value);
+    }
+
+    @Override
+    public void addTo(long index, double value) {
+        set(index, get(index) + value);
+    }
+
+    @Override
+    public void setAll(LongToDoubleFunction gen) {
+        for (long index = 0; index < size; index++) {
+            set(index, gen.applyAsDouble(index));
+        }
+    }
+
+    @Override
+    public void fill(double value) {
+        for (var page : pages) {
+            for (int i = 0; i < page.capacity(); i++) {
+                page.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return LongStream.range(0, size).mapToDouble(this::get);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long sizeOf() {
+        return heapMemoryEstimation(size) + size * Double.BYTES;
+    }
+
+    @Override
+    public long release() {
+        if (pages != null) {
+            pages = null;
+            return sizeOf();
+        }
+        return 0L;
+    }
+
+    @Override
+    public HugeCursor<double[]> newCursor() {
+        return new HugeCursor.BufferedCursor<>(new double[(int) Math.min(size, HugeArrays.PAGE_SIZE)], size) {
+            @Override
+            protected void load(long from, double[] buffer, int length) {
+                copyToArray(from, buffer, 0, length);
+            }
+        };
+    }
+
+    @Override
+    public void copyTo(HugeDoubleArray dest, long length) {
+        copyElementWise(this, dest, length);
+    }
+
+    @Override
+    int copyIntoSlice(double[] source, long sliceStart, long sliceEnd) {
+        int length = (int) Math.min(source.length, sliceEnd - sliceStart);
+        int copied = 0;
+        while (copied < length) {
+            long index = sliceStart + copied;
+            var page = pages[PageUtil.pageIndex(index, PAGE_SHIFT)];
+            int indexInPage = PageUtil.indexInPage(index, PAGE_MASK);
+            int toCopy = Math.min(length - copied, page.capacity() - indexInPage);
+            page.put(indexInPage, source, copied, toCopy);
+            copied += toCopy;
+        }
+        return length;
+    }
+
+    private void copyToArray(long from, double[] target, int offset, int length) {
+        int copied = 0;
+        while (copied < length) {
+            long index = from + copied;
+            var page = pages[PageUtil.pageIndex(index, PAGE_SHIFT)];
+            int indexInPage = PageUtil.indexInPage(index, PAGE_MASK);
+            int toCopy = Math.min(length - copied, page.capacity() - indexInPage);
+            page.get(indexInPage, target, offset + copied, toCopy);
+            copied += toCopy;
+        }
+    }
+
+    /**
+     * Copies between arrays of any implementation, with the semantics of {@link HugeDoubleArray#copyTo(HugeDoubleArray, long)}.
+     */
+    static void copyElementWise(HugeDoubleArray source, HugeDoubleArray dest, long length) {
+        length = Math.min(length, Math.min(source.size(), dest.size()));
+        for (long index = 0; index < length; index++) {
+            dest.set(index, source.get(index));
+        }
+        for (long index = length; index < dest.size(); index++) {
+            dest.set(index, 0D);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.ha;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Decides where the pages of a huge array live.
+ * <p>
+ * The {@link #heap() heap} allocator keeps the regular paged Java arrays.
+ * The other allocators back every page by a {@link ByteBuffer} outside the Java heap,
+ * so that the garbage collector only sees one small buffer object per page instead of the values.
+ * Off-heap pages are released when their buffers are garbage collected.
+ */
+public interface PageAllocator {
+
+    /**
+     * Off-heap pages are larger than on-heap pages, as they are not subject to the GC concerns of large arrays.
+     */
+    int PAGE_SHIFT = 20;
+    int PAGE_SIZE = 1 << PAGE_SHIFT;
+    long PAGE_MASK = PAGE_SIZE - 1;
+
+    boolean isOnHeap();
+
+    /**
+     * Allocates a zeroed off-heap page of the given size.
+     *
+     * @throws UnsupportedOperationException for the {@link #heap()} allocator
+     */
+    ByteBuffer allocate(int bytes);
+
+    static PageAllocator heap() {
+        return HeapAllocator.INSTANCE;
+    }
+
+    /**
+     * Pages are allocated as direct memory, which is limited by {@code -XX:MaxDirectMemorySize}.
+     */
+    static PageAllocator offHeap() {
+        return DirectAllocator.INSTANCE;
+    }
+
+    /**
+     * Pages are memory-mapped from temporary files in the given directory.
+     * The operating system can write those pages back to disk under memory pressure,
+     * which allows arrays that are larger than the available memory.
+     * The files are deleted once they are mapped, and their space is reclaimed once the mapping is released.
+     */
+    static PageAllocator mapped(Path directory) {
+        return new MappedAllocator(directory);
+    }
+
+    enum HeapAllocator implements PageAllocator {
+        INSTANCE;
+
+        @Override
+        public boolean isOnHeap() {
+            return true;
+        }
+
+        @Override
+        public ByteBuffer allocate(int bytes) {
+            throw new UnsupportedOperationException("Heap pages are allocated as Java arrays.");
+        }
+    }
+
+    enum DirectAllocator implements PageAllocator {
+        INSTANCE;
+
+        @Override
+        public boolean isOnHeap() {
+            return false;
+        }
+
+        @Override
+        public ByteBuffer allocate(int bytes) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    final class MappedAllocator implements PageAllocator {
+
+        private final Path directory;
+
+        private MappedAllocator(Path directory) {
+            this.directory = directory;
+        }
+
+        public Path directory() {
+            return directory;
+        }
+
+        @Override
+        public boolean isOnHeap() {
+            return false;
+        }
+
+        @Override
+        public ByteBuffer allocate(int bytes) {
+            try {
+                var file = Files.createTempFile(directory, "gds-", ".page");
+                try (var channel = FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE)) {
+                    return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
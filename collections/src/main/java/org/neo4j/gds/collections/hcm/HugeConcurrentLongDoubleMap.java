@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import org.neo4j.gds.collections.HugeConcurrentMap;
+
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * A concurrent hash map from {@code long} keys to {@code double} values with a fixed capacity.
+ * <p>
+ * The map uses open addressing with linear probing over huge atomic arrays and never takes a lock.
+ * Keys must be in {@code [0, Long.MAX_VALUE)}. Keys cannot be removed and the map does not grow,
+ * inserting more than {@link #capacity()} keys fails with an {@link IllegalStateException}.
+ */
+@HugeConcurrentMap(valueType = double.class, mappingFunctionInterface = LongToDoubleFunction.class, entryConsumerInterface = EntryConsumers.LongDoubleConsumer.class)
+public interface HugeConcurrentLongDoubleMap {
+
+    /**
+     * Creates a new map that can hold at least {@code expectedElements} keys with a default value of {@code 0D}.
+     */
+    static HugeConcurrentLongDoubleMap of(long expectedElements) {
+        return of(expectedElements, 0D);
+    }
+
+    /**
+     * Creates a new map that can hold at least {@code expectedElements} keys.
+     *
+     * @param defaultValue the value returned for absent keys and the initial value for {@link #addTo}
+     */
+    static HugeConcurrentLongDoubleMap of(long expectedElements, double defaultValue) {
+        return HugeConcurrentLongDoubleMapSon.of(expectedElements, defaultValue);
+    }
+
+    static long memoryEstimation(long expectedElements) {
+        return HugeConcurrentLongDoubleMapSon.memoryEstimation(expectedElements);
+    }
+
+    /**
+     * @return the value for the given key or {@link #defaultValue()} if the key is absent
+     */
+    double get(long key);
+
+    boolean containsKey(long key);
+
+    /**
+     * Associates the given value with the given key, replacing any existing value.
+     */
+    void put(long key, double value);
+
+    /**
+     * Atomically adds the given delta to the value of the given key.
+     * An absent key is inserted with the value {@code defaultValue() + delta}.
+     */
+    void addTo(long key, double delta);
+
+    /**
+     * Returns the value of the given key. If the key is absent, the mapping function is called
+     * once and its result is inserted. Concurrent calls for the same key wait for that result.
+     */
+    double computeIfAbsent(long key, LongToDoubleFunction mappingFunction);
+
+    /**
+     * Calls the consumer for every key and its value.
+     * Not safe to call while other threads insert keys.
+     */
+    void forEach(EntryConsumers.LongDoubleConsumer consumer);
+
+    double defaultValue();
+
+    /**
+     * @return the number of keys in this map
+     */
+    long size();
+
+    /**
+     * @return the maximum number of keys this map can hold
+     */
+    long capacity();
+
+    /**
+     * @return the amount of memory used by the instance of this map, in bytes.
+     */
+    long sizeOf();
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.ha;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.gds.collections.cursor.HugeCursor;
+
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapHugeArrayTest {
+
+    // spans two pages with a partially filled second one
+    private static final long SIZE = PageAllocator.PAGE_SIZE + 42;
+
+    @TempDir
+    static Path tempDir;
+
+    static Stream<Function<Path, PageAllocator>> allocators() {
+        return Stream.of(
+            ignore -> PageAllocator.offHeap(),
+            PageAllocator::mapped
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldGetAndSetLongs(Function<Path, PageAllocator> allocator) {
+        var array = HugeLongArray.newArray(SIZE, allocator.apply(tempDir));
+        assertThat(array).isInstanceOf(OffHeapHugeLongArray.class);
+        assertThat(array.size()).isEqualTo(SIZE);
+
+        array.setAll(i -> i * 3);
+        assertThat(array.get(0)).isEqualTo(0);
+        assertThat(array.get(PageAllocator.PAGE_SIZE)).isEqualTo(PageAllocator.PAGE_SIZE * 3L);
+        assertThat(array.get(SIZE - 1)).isEqualTo((SIZE - 1) * 3);
+
+        array.addTo(7, 2);
+        array.or(8, 1);
+        assertThat(array.and(9, 24)).isEqualTo(24 & 27);
+        assertThat(array.get(7)).isEqualTo(23);
+        assertThat(array.get(8)).isEqualTo(25);
+
+        array.fill(1337);
+        assertThat(array.get(SIZE - 1)).isEqualTo(1337);
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldGetAndSetIntsAndDoubles(Function<Path, PageAllocator> allocator) {
+        var ints = HugeIntArray.newArray(SIZE, allocator.apply(tempDir));
+        ints.setAll(i -> (int) i);
+        ints.addTo(SIZE - 1, 1);
+        assertThat(ints.get(SIZE - 1)).isEqualTo((int) SIZE);
+
+        var doubles = HugeDoubleArray.newArray(SIZE, allocator.apply(tempDir));
+        doubles.setAll(i -> i / 2.0);
+        doubles.addTo(SIZE - 1, 0.25);
+        assertThat(doubles.get(3)).isEqualTo(1.5);
+        assertThat(doubles.get(SIZE - 1)).isEqualTo((SIZE - 1) / 2.0 + 0.25);
+        assertThat(doubles.stream().count()).isEqualTo(SIZE);
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldCopyBetweenHeapAndOffHeap(Function<Path, PageAllocator> allocator) {
+        var heap = HugeLongArray.newArray(SIZE);
+        heap.setAll(i -> i + 1);
+
+        var offHeap = HugeLongArray.newArray(SIZE + 10, allocator.apply(tempDir));
+        offHeap.fill(-1);
+        heap.copyTo(offHeap, SIZE);
+        for (long i = 0; i < SIZE; i++) {
+            assertThat(offHeap.get(i)).isEqualTo(i + 1);
+        }
+        // the remainder of the destination is cleared, like for the heap arrays
+        assertThat(offHeap.get(SIZE + 9)).isEqualTo(0);
+
+        var copy = HugeLongArray.newArray(SIZE);
+        offHeap.copyTo(copy, SIZE);
+        for (long i = 0; i < SIZE; i++) {
+            assertThat(copy.get(i)).isEqualTo(i + 1);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldIterateWithCursor(Function<Path, PageAllocator> allocator) {
+        var array = HugeLongArray.newArray(SIZE, allocator.apply(tempDir));
+        array.setAll(i -> i);
+
+        long start = PageAllocator.PAGE_SIZE - 5;
+        long end = SIZE - 3;
+        try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor(), start, end)) {
+            long expected = start;
+            while (cursor.next()) {
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    assertThat(cursor.array[i]).isEqualTo(expected++);
+                }
+            }
+            assertThat(expected).isEqualTo(end);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldCopyFromArrayIntoSlice(Function<Path, PageAllocator> allocator) {
+        var array = HugeLongArray.newArray(SIZE, allocator.apply(tempDir));
+        var source = new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        long sliceStart = PageAllocator.PAGE_SIZE - 4;
+        int written = array.copyFromArrayIntoSlice(source, sliceStart, sliceStart + source.length);
+
+        assertThat(written).isEqualTo(source.length);
+        for (int i = 0; i < source.length; i++) {
+            assertThat(array.get(sliceStart + i)).isEqualTo(source[i]);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void shouldBinarySearch(Function<Path, PageAllocator> allocator) {
+        var array = HugeLongArray.newArray(SIZE, allocator.apply(tempDir));
+        array.setAll(i -> i * 2);
+
+        assertThat(array.binarySearch(0)).isEqualTo(0);
+        assertThat(array.binarySearch(PageAllocator.PAGE_SIZE * 2L)).isEqualTo(PageAllocator.PAGE_SIZE);
+        assertThat(array.binarySearch(7)).isEqualTo(3);
+        assertThat(array.binarySearch(-1)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldEstimateOnlyTheHeapPart() {
+        assertThat(HugeLongArray.memoryEstimation(SIZE, PageAllocator.heap()))
+            .isEqualTo(HugeLongArray.memoryEstimation(SIZE));
+        assertThat(HugeLongArray.memoryEstimation(SIZE, PageAllocator.offHeap()))
+            .isLessThan(1024L);
+    }
+}
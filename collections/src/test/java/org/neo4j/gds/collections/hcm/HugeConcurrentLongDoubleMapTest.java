@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class HugeConcurrentLongDoubleMapTest {
+
+    @Test
+    void shouldPutGetAndAdd() {
+        var map = HugeConcurrentLongDoubleMap.of(10, Double.NaN);
+
+        map.put(3, 1.5);
+        map.addTo(3, 1.0);
+        map.addTo(4, 1.0);
+
+        assertThat(map.get(3)).isEqualTo(2.5);
+        assertThat(map.get(4)).isNaN();
+        assertThat(map.get(5)).isNaN();
+        assertThat(map.computeIfAbsent(6, key -> key / 2.0)).isEqualTo(3.0);
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldAddConcurrently() throws Exception {
+        int threads = 4;
+        int keys = 1_000;
+        var map = HugeConcurrentLongDoubleMap.of(keys);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = IntStream.range(0, threads).mapToObj(thread -> executor.submit(() -> {
+                for (long key = 0; key < keys; key++) {
+                    map.addTo(key, 0.5);
+                }
+            })).collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var sum = new double[1];
+        map.forEach((key, value) -> sum[0] += value);
+        assertThat(sum[0]).isEqualTo(keys * threads * 0.5);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.collections.hcm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.gds.collections.haa.HugeAtomicLongArray;
+import org.neo4j.gds.mem.Estimate;
+
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class HugeConcurrentLongLongMapTest {
+
+    @Test
+    void shouldPutAndGet() {
+        var map = HugeConcurrentLongLongMap.of(10);
+
+        map.put(0, 42);
+        map.put(1337, 1);
+        map.put(1337, 2);
+
+        assertThat(map.get(0)).isEqualTo(42);
+        assertThat(map.get(1337)).isEqualTo(2);
+        assertThat(map.get(7)).isEqualTo(0);
+        assertThat(map.containsKey(1337)).isTrue();
+        assertThat(map.containsKey(7)).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnDefaultValueForAbsentKeys() {
+        var map = HugeConcurrentLongLongMap.of(10, -1);
+
+        assertThat(map.get(42)).isEqualTo(-1);
+        assertThat(map.defaultValue()).isEqualTo(-1);
+
+        map.addTo(42, 5);
+        assertThat(map.get(42)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldAddTo() {
+        var map = HugeConcurrentLongLongMap.of(10);
+
+        map.addTo(1, 2);
+        map.addTo(1, 3);
+        map.addTo(2, 4);
+
+        assertThat(map.get(1)).isEqualTo(5);
+        assertThat(map.get(2)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldComputeIfAbsentOnlyOnce() {
+        var map = HugeConcurrentLongLongMap.of(10);
+        var calls = new AtomicInteger();
+
+        assertThat(map.computeIfAbsent(5, key -> { calls.incrementAndGet(); return key * 2; })).isEqualTo(10);
+        assertThat(map.computeIfAbsent(5, key -> { calls.incrementAndGet(); return 0; })).isEqualTo(10);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldPublishDefaultValueIfMappingFunctionFails() {
+        var map = HugeConcurrentLongLongMap.of(10, 7);
+
+        assertThatThrownBy(() -> map.computeIfAbsent(5, key -> { throw new IllegalStateException("boom"); }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("boom");
+
+        assertThat(map.containsKey(5)).isTrue();
+        assertThat(map.get(5)).isEqualTo(7);
+    }
+
+    @Test
+    void shouldIterateAllEntries() {
+        var map = HugeConcurrentLongLongMap.of(100);
+        for (long key = 0; key < 100; key++) {
+            map.put(key * 31, key);
+        }
+
+        var entries = new HashMap<Long, Long>();
+        map.forEach(entries::put);
+
+        var expected = IntStream.range(0, 100).boxed().collect(Collectors.toMap(key -> key * 31L, Integer::longValue));
+        assertThat(entries).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRejectNegativeKeys() {
+        var map = HugeConcurrentLongLongMap.of(10);
+
+        assertThatThrownBy(() -> map.put(-1, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("-1");
+    }
+
+    @Test
+    void shouldFailWhenFull() {
+        var map = HugeConcurrentLongLongMap.of(2);
+        var capacity = map.capacity();
+        assertThat(capacity).isGreaterThanOrEqualTo(2);
+
+        for (long key = 0; key < capacity; key++) {
+            map.put(key, key);
+        }
+
+        assertThatThrownBy(() -> map.put(capacity, 0))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("HugeConcurrentLongLongMap is full");
+        // updates of existing keys still work
+        map.put(0, 42);
+        assertThat(map.get(0)).isEqualTo(42);
+        assertThat(map.get(capacity)).isEqualTo(0);
+    }
+
+    @Test
+    void shouldHandleConcurrentUpdates() throws Exception {
+        int threads = 8;
+        int keys = 10_000;
+        int rounds = 10;
+        var map = HugeConcurrentLongLongMap.of(2L * keys);
+        var computed = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = IntStream.range(0, threads).mapToObj(thread -> executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (long key = 0; key < keys; key++) {
+                        map.addTo(key, 1);
+                        map.computeIfAbsent(keys + key, k -> {
+                            computed.incrementAndGet();
+                            return k;
+                        });
+                    }
+                }
+            })).collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(map.size()).isEqualTo(2L * keys);
+        assertThat(computed).hasValue(keys);
+        for (long key = 0; key < keys; key++) {
+            assertThat(map.get(key)).isEqualTo((long) threads * rounds);
+            assertThat(map.get(keys + key)).isEqualTo(keys + key);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 100, 10_000, 1_000_000})
+    void shouldEstimateMemory(long expectedElements) {
+        var map = HugeConcurrentLongLongMap.of(expectedElements);
+        var capacity = map.capacity() + 1;
+
+        assertThat(capacity).isGreaterThan(expectedElements);
+        assertThat(Long.bitCount(capacity)).isEqualTo(1);
+        assertThat(HugeConcurrentLongLongMap.memoryEstimation(expectedElements)).isEqualTo(
+            Estimate.sizeOfInstance(HugeConcurrentLongLongMapSon.class) +
+            Estimate.sizeOfInstance(AtomicLong.class) +
+            2 * HugeAtomicLongArray.memoryEstimation(capacity)
+        );
+        assertThat(map.sizeOf()).isLessThanOrEqualTo(HugeConcurrentLongLongMap.memoryEstimation(expectedElements));
+    }
+}
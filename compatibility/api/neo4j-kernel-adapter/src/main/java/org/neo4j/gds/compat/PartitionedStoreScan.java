@@ -30,6 +30,7 @@ import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.kernel.api.KernelTransaction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public final class PartitionedStoreScan<C extends Cursor> implements StoreScan<C> {
@@ -48,6 +49,29 @@ public final class PartitionedStoreScan<C extends Cursor> implements StoreScan<C
         KernelTransaction transaction,
         int batchSize,
         int... labelIds
+    ) {
+        var labelWeights = new int[labelIds.length];
+        Arrays.fill(labelWeights, 1);
+        return createScans(transaction, batchSize, 1, labelWeights, labelIds);
+    }
+
+    /**
+     * Creates partitioned scans for the given labels that all share the partitioning of the label with the most nodes.
+     * <p>
+     * The number of partitions is chosen so that a partition holds about {@code batchSize} units of work,
+     * where every node of a label adds the weight of that label, e.g. to account for the properties loaded for it.
+     * Scanning threads reserve one partition at a time, so with at least {@code minNumberOfPartitions} partitions,
+     * threads that are done early take over the remaining partitions instead of waiting for a few large ones.
+     *
+     * @param labelWeights the weight of every label, in the same order as {@code labelIds}
+     * @param labelIds     the labels to scan, reordered such that the label with the most nodes comes first
+     */
+    public static List<StoreScan<NodeLabelIndexCursor>> createScans(
+        KernelTransaction transaction,
+        int batchSize,
+        int minNumberOfPartitions,
+        int[] labelWeights,
+        int... labelIds
     ) {
         var indexDescriptor = NodeLabelIndexLookupImpl.findUsableMatchingIndex(
             transaction,
@@ -66,9 +90,11 @@ public final class PartitionedStoreScan<C extends Cursor> implements StoreScan<C
         int maxToken = labelIds[0];
         long maxCount = read.estimateCountsForNode(labelIds[0]);
         int maxIndex = 0;
+        long totalWork = maxCount * labelWeights[0];
 
         for (int i = 1; i < labelIds.length; i++) {
             long count = read.estimateCountsForNode(labelIds[i]);
+            totalWork += count * labelWeights[i];
             if (count > maxCount) {
                 maxCount = count;
                 maxToken = labelIds[i];
@@ -80,7 +106,11 @@ public final class PartitionedStoreScan<C extends Cursor> implements StoreScan<C
         labelIds[maxIndex] = labelIds[0];
         labelIds[0] = maxToken;
 
-        int numberOfPartitions = getNumberOfPartitions(maxCount, batchSize);
+        // partitions are ranges of the driving label, they cannot get smaller than one of its nodes
+        int numberOfPartitions = (int) Math.min(
+            Math.max(getNumberOfPartitions(totalWork, batchSize), minNumberOfPartitions),
+            Math.max(maxCount, 1)
+        );
 
         try {
             var session = read.tokenReadSession(indexDescriptor);
@@ -48,6 +48,21 @@ public interface WriteConfig extends ConcurrencyConfig {
             .validate(writeConcurrency().value(), WRITE_CONCURRENCY_KEY, ConcurrencyConfig.CONCURRENCY_LIMITATION);
     }
 
+    /**
+     * Skip node property values that are already stored in the database, see {@link #writeTolerance()}.
+     */
+    default boolean writeOnlyChanged() {
+        return false;
+    }
+
+    /**
+     * The absolute difference up to which floating point values are unchanged for {@link #writeOnlyChanged()}.
+     */
+    @Configuration.DoubleRange(min = 0)
+    default double writeTolerance() {
+        return 0.0;
+    }
+
     default boolean writeToResultStore() {
         return false;
     }
@@ -89,6 +89,25 @@ public interface AdjacencyCursor {
      */
     long advanceBy(int n);
 
+    /**
+     * Read and decode up to {@code max} target ids into {@code buffer}, starting at index 0.
+     * Returns the number of target ids that have been written, which is {@code 0} iff the cursor is exhausted.
+     * Subsequent calls continue where the previous call, or any other method that progresses the cursor, stopped.
+     *
+     * Implementations that decode blocks of targets internally hand them out with a single array copy,
+     * so that callers can process the neighbors of a node in a tight loop over a primitive array.
+     *
+     * @param buffer the array to write the target ids to, must have a length of at least {@code max}.
+     * @param max the maximum number of target ids to decode.
+     */
+    default int nextBatch(long[] buffer, int max) {
+        int count = 0;
+        while (count < max && hasNextVLong()) {
+            buffer[count++] = nextVLong();
+        }
+        return count;
+    }
+
     /**
      * Returns a cursor that is always empty.
      */
@@ -143,5 +162,10 @@ public interface AdjacencyCursor {
             return NOT_FOUND;
         }
 
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            return 0;
+        }
+
     }
 }
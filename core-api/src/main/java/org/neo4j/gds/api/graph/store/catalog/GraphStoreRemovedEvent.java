@@ -19,5 +19,12 @@
  */
 package org.neo4j.gds.api.graph.store.catalog;
 
-public record GraphStoreRemovedEvent(String user, String database, String graphName, long memoryInBytes) {
+/**
+ * @param evicted whether the graph was removed to keep the catalog within its memory budget, rather than dropped
+ */
+public record GraphStoreRemovedEvent(String user, String database, String graphName, long memoryInBytes, boolean evicted) {
+
+    public GraphStoreRemovedEvent(String user, String database, String graphName, long memoryInBytes) {
+        this(user, database, graphName, memoryInBytes, false);
+    }
 }
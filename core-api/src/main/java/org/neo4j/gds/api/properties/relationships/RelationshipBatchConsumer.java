@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.api.properties.relationships;
+
+/**
+ * Consumer interface for the relationships of a single node, handed out in batches of target ids.
+ *
+ * @see RelationshipIterator#forEachRelationshipBatch(long, long[], RelationshipBatchConsumer)
+ */
+@FunctionalInterface
+public interface RelationshipBatchConsumer {
+
+    /**
+     * Called for every batch of relationships of the given source node.
+     * Only the first {@code length} elements of {@code targetNodeIds} are valid.
+     * The array is reused for the next batch and must not be retained.
+     *
+     * @param sourceNodeId  mapped source node id
+     * @param targetNodeIds mapped target node ids
+     * @param length        the number of valid target node ids
+     * @return {@code true} if the iteration shall continue, otherwise {@code false}.
+     */
+    boolean accept(long sourceNodeId, long[] targetNodeIds, int length);
+}
@@ -43,6 +43,36 @@ public interface RelationshipIterator extends RelationshipPredicate {
      */
     void forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer);
 
+    /**
+     * Calls the given consumer for batches of relationships of a given node.
+     * The target ids are written to the provided {@code buffer}, which is then
+     * passed to the consumer together with the number of valid entries.
+     * This allows processing the neighbors of a node in a tight loop over a
+     * primitive array instead of calling the consumer once per relationship.
+     * <p>
+     * The buffer is owned by the caller and can be reused across nodes.
+     * Its length determines the maximum batch size.
+     *
+     * @param nodeId id of the node for which to iterate relationships
+     * @param buffer array the target ids are written to, must not be empty
+     * @param consumer relationship batch consumer function
+     */
+    default void forEachRelationshipBatch(long nodeId, long[] buffer, RelationshipBatchConsumer consumer) {
+        var length = new int[]{0};
+        var proceed = new boolean[]{true};
+        forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+            buffer[length[0]++] = targetNodeId;
+            if (length[0] == buffer.length) {
+                length[0] = 0;
+                proceed[0] = consumer.accept(sourceNodeId, buffer, buffer.length);
+            }
+            return proceed[0];
+        });
+        if (proceed[0] && length[0] > 0) {
+            consumer.accept(nodeId, buffer, length[0]);
+        }
+    }
+
     /**
      * Calls the given consumer for every inverse relationship of a given node.
      * Inverse relationships basically mirror the relationships in that graph.
@@ -22,6 +22,8 @@ package org.neo4j.gds.core.compression;
 import org.neo4j.gds.annotation.ValueClass;
 import org.neo4j.gds.core.compression.common.ImmutableHistogram;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.stream.LongStream;
@@ -159,6 +161,17 @@ public interface MemoryInfo {
      */
     Optional<ImmutableHistogram> pforExceptions();
 
+    /**
+     * Tracks the number of adjacency lists per encoding, for adjacency lists that mix multiple encodings.
+     */
+    Map<String, Long> adjacencyListsPerEncoding();
+
+    /**
+     * Tracks the number of bytes used to store the target ids per encoding,
+     * for adjacency lists that mix multiple encodings.
+     */
+    Map<String, Long> bytesPerEncoding();
+
     default MemoryInfo merge(MemoryInfo other) {
         return ImmutableMemoryInfo.builder()
             .pages(pages() + other.pages())
@@ -207,6 +220,14 @@ public interface MemoryInfo {
             .pforExceptions(pforExceptions()
                 .map(left -> other.pforExceptions().map(left::merge).orElse(left))
                 .or(other::pforExceptions))
+            .adjacencyListsPerEncoding(mergeCounts(adjacencyListsPerEncoding(), other.adjacencyListsPerEncoding()))
+            .bytesPerEncoding(mergeCounts(bytesPerEncoding(), other.bytesPerEncoding()))
             .build();
     }
+
+    private static Map<String, Long> mergeCounts(Map<String, Long> left, Map<String, Long> right) {
+        var merged = new HashMap<>(left);
+        right.forEach((key, value) -> merged.merge(key, value, Long::sum));
+        return merged;
+    }
 }
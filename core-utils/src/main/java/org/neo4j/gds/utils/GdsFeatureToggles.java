@@ -114,6 +114,22 @@ public enum GdsFeatureToggles {
     public static final AtomicReference<AdjacencyPackingStrategy> ADJACENCY_PACKING_STRATEGY =
         new AtomicReference<>(ADJACENCY_PACKING_STRATEGY_DEFAULT_SETTING);
 
+    // Determines whether and how nodes are relabeled after a graph has been projected.
+    // Relabeling assigns nodes that are likely accessed together consecutive ids,
+    // which improves memory locality of the id-indexed arrays during traversals.
+    public enum NodeReorderingStrategy {
+        // Keep the order in which nodes have been imported.
+        NONE,
+        // Order nodes by descending degree.
+        DEGREE,
+        // Order nodes by a breadth-first traversal, starting from the highest-degree nodes.
+        BFS,
+    }
+
+    public static final NodeReorderingStrategy NODE_REORDERING_STRATEGY_DEFAULT_SETTING = NodeReorderingStrategy.NONE;
+    public static final AtomicReference<NodeReorderingStrategy> NODE_REORDERING_STRATEGY =
+        new AtomicReference<>(NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+
     private static String name(Class<?> location, String name) {
         return location.getCanonicalName() + "." + name;
     }
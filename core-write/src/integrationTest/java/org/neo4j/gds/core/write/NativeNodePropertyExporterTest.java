@@ -142,6 +142,45 @@ class NativeNodePropertyExporterTest extends BaseTest {
         );
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void exportOnlyChangedNodeProperties(boolean parallel) {
+        Graph graph = new StoreLoaderBuilder().databaseService(db)
+            .addNodeProperty("prop1", "prop1", DefaultValue.of(42.0), Aggregation.NONE)
+            .build()
+            .graph();
+
+        var exporterBuilder = NativeNodePropertyExporter
+            .builder(TestSupport.fullAccessTransaction(db), graph, TerminationFlag.RUNNING_TRUE)
+            .withWriteOnlyChanged(true, 1E-6);
+        if (parallel) {
+            exporterBuilder = exporterBuilder.parallel(DefaultPool.INSTANCE, new Concurrency(4));
+        }
+        var exporter = exporterBuilder.build();
+
+        double[] doubleData = {1.0, 2.5, 3.0 + 1E-9};
+        exporter.write("prop1", new DoubleTestPropertyValues(nodeId -> doubleData[(int) nodeId]));
+
+        assertThat(exporter.propertiesWritten()).isEqualTo(1);
+
+        Graph updatedGraph = new StoreLoaderBuilder().databaseService(db)
+            .addNodeProperty("prop1", "prop1", DefaultValue.of(42.0), Aggregation.NONE)
+            .build()
+            .graph();
+
+        assertGraphEquals(
+            fromGdl(
+                "(a { prop1: 1.0 })" +
+                "(b { prop1: 2.5 })" +
+                "(c { prop1: 3.0 })" +
+                "(a)-->(b)" +
+                "(a)-->(c)" +
+                "(b)-->(c)" +
+                "(b)-->(c)"),
+            updatedGraph
+        );
+    }
+
     @Test
     void stopsExportingWhenTransactionHasBeenTerminated() {
         transactionTerminationTest(null);
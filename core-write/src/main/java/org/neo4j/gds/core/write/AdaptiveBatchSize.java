@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Batch size for write transactions that adapts to the observed commit latency.
+ * <p>
+ * Batches that commit faster than {@link #FAST_COMMIT_NANOS} are mostly transaction overhead, so the size doubles.
+ * Batches that take longer than {@link #SLOW_COMMIT_NANOS} hold their locks for too long, so the size halves,
+ * as it does when a commit fails with a transient error, e.g. a lock timeout or a deadlock.
+ * The size always stays within the bounds given at construction.
+ */
+final class AdaptiveBatchSize {
+
+    static final long FAST_COMMIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long SLOW_COMMIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long minBatchSize;
+    private final long maxBatchSize;
+    private final AtomicLong batchSize;
+
+    AdaptiveBatchSize(long initialBatchSize, long minBatchSize, long maxBatchSize) {
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException(
+                formatWithLocale("Invalid batch size bounds [%d, %d]", minBatchSize, maxBatchSize)
+            );
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = new AtomicLong(clamp(initialBatchSize));
+    }
+
+    long get() {
+        return batchSize.get();
+    }
+
+    void onCommit(long committedBatchSize, long commitNanos) {
+        // the last batch of a write is usually smaller and tells nothing about the current size
+        if (committedBatchSize < batchSize.get() / 2) {
+            return;
+        }
+        if (commitNanos < FAST_COMMIT_NANOS) {
+            batchSize.updateAndGet(current -> clamp(current * 2));
+        } else if (commitNanos > SLOW_COMMIT_NANOS) {
+            batchSize.updateAndGet(current -> clamp(current / 2));
+        }
+    }
+
+    void onContention() {
+        batchSize.updateAndGet(current -> clamp(current / 2));
+    }
+
+    private long clamp(long value) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, value));
+    }
+}
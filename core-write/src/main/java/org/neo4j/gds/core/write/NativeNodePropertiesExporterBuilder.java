@@ -41,7 +41,9 @@ public class NativeNodePropertiesExporterBuilder extends NodePropertyExporterBui
             terminationFlag,
             progressTracker,
             writeConcurrency,
-            executorService
+            executorService,
+            writeOnlyChanged,
+            writeTolerance
         );
     }
 }
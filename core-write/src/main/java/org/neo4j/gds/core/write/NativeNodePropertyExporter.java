@@ -19,12 +19,12 @@
  */
 package org.neo4j.gds.core.write;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.exceptions.KernelException;
 import org.neo4j.gds.api.IdMap;
 import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.ParallelUtil;
-import org.neo4j.gds.core.concurrency.RunWithConcurrency;
-import org.neo4j.gds.core.utils.LazyBatchCollection;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
 import org.neo4j.gds.termination.TerminationFlag;
 import org.neo4j.gds.transaction.TransactionContext;
@@ -32,12 +32,16 @@ import org.neo4j.gds.utils.StatementApi;
 import org.neo4j.gds.values.Neo4jNodePropertyValues;
 import org.neo4j.gds.values.Neo4jNodePropertyValuesUtil;
 import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.exceptions.InvalidTransactionTypeKernelException;
+import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.Collectors;
@@ -51,6 +55,8 @@ public class NativeNodePropertyExporter extends StatementApi implements NodeProp
     protected final long nodeCount;
     protected final LongUnaryOperator toOriginalId;
     protected final LongAdder propertiesWritten;
+    protected final boolean writeOnlyChanged;
+    protected final double writeTolerance;
 
     public static NodePropertyExporterBuilder builder(TransactionContext transactionContext, IdMap idMap, TerminationFlag terminationFlag) {
         return new NativeNodePropertiesExporterBuilder(transactionContext)
@@ -69,10 +75,6 @@ public class NativeNodePropertyExporter extends StatementApi implements NodeProp
         }
     }
 
-    public interface WriteConsumer {
-        void accept(Write ops, long value) throws Exception;
-    }
-
     NativeNodePropertyExporter(
         TransactionContext tx,
         long nodeCount,
@@ -80,7 +82,9 @@ public class NativeNodePropertyExporter extends StatementApi implements NodeProp
         TerminationFlag terminationFlag,
         ProgressTracker progressTracker,
         Concurrency concurrency,
-        ExecutorService executorService
+        ExecutorService executorService,
+        boolean writeOnlyChanged,
+        double writeTolerance
     ) {
         super(tx);
         this.nodeCount = nodeCount;
@@ -90,6 +94,8 @@ public class NativeNodePropertyExporter extends StatementApi implements NodeProp
         this.concurrency = concurrency;
         this.executorService = executorService;
         this.propertiesWritten = new LongAdder();
+        this.writeOnlyChanged = writeOnlyChanged;
+        this.writeTolerance = writeTolerance;
     }
 
     @Override
@@ -132,78 +138,240 @@ public class NativeNodePropertyExporter extends StatementApi implements NodeProp
         return propertiesWritten.longValue();
     }
 
-    private void writeSequential(Iterable<ResolvedNodeProperty> nodeProperties) {
-        writeSequential((ops, nodeId) -> doWrite(nodeProperties, ops, nodeId));
+    private void writeSequential(List<ResolvedNodeProperty> nodeProperties) {
+        acceptInTransaction(stmt -> {
+            terminationFlag.assertRunning();
+            try (var writer = new PropertyWriter(stmt, nodeProperties)) {
+                for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+                    long originalNodeId = toOriginalId.applyAsLong(nodeId);
+                    writer.startNode(originalNodeId);
+                    for (int p = 0; p < nodeProperties.size(); p++) {
+                        var value = nodeProperties.get(p).values().neo4jValue(nodeId);
+                        if (value != null && writer.write(originalNodeId, p, value)) {
+                            propertiesWritten.increment();
+                        }
+                    }
+                    progressTracker.logProgress();
+                    if ((nodeId + 1) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
+                        terminationFlag.assertRunning();
+                    }
+                }
+            }
+        });
+    }
+
+    private void writeParallel(List<ResolvedNodeProperty> nodeProperties) {
+        var initialBatchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, MIN_BATCH_SIZE, MAX_BATCH_SIZE);
+        var nextNode = new AtomicLong();
+        PipelinedBatchWriter.BatchProducer<NodeBatch> producer = batchSize -> {
+            long start = nextNode.getAndAdd(batchSize);
+            if (start >= nodeCount) {
+                return null;
+            }
+            return materialize(nodeProperties, start, Math.min(nodeCount, start + batchSize));
+        };
+
+        new PipelinedBatchWriter<>(
+            this::acceptInTransaction,
+            producer,
+            (transaction, batch) -> writeBatch(nodeProperties, transaction, batch),
+            batch -> propertiesWritten.add(batch.propertiesWritten),
+            new AdaptiveBatchSize(initialBatchSize, MIN_BATCH_SIZE, MAX_BATCH_SIZE),
+            concurrency,
+            terminationFlag,
+            progressTracker,
+            executorService
+        ).run();
+    }
+
+    /**
+     * The original ids and the values of the given nodes, with one column per property.
+     */
+    private static final class NodeBatch implements PipelinedBatchWriter.Batch {
+        private final long[] originalIds;
+        private final Column[] columns;
+        // set by the transaction that writes the batch, a retried transaction overrides it
+        private int propertiesWritten;
+
+        NodeBatch(long[] originalIds, Column[] columns) {
+            this.originalIds = originalIds;
+            this.columns = columns;
+        }
+
+        @Override
+        public int size() {
+            return originalIds.length;
+        }
     }
 
-    private void writeParallel(Iterable<ResolvedNodeProperty> nodeProperties) {
-        writeParallel((ops, offset) -> doWrite(nodeProperties, ops, offset));
+    /**
+     * The values of one property for the nodes of a batch.
+     * Scalar values are kept in primitive arrays and only boxed into a {@link Value} when they are written.
+     */
+    private interface Column {
+        /**
+         * @return the value of the node at the given batch offset, or {@code null} if the node has no value
+         */
+        @Nullable Value value(int offset);
+
+        static Column of(Neo4jNodePropertyValues values, long start, int length) {
+            return switch (values.valueType()) {
+                case LONG -> LongColumn.of(values, start, length);
+                case DOUBLE -> DoubleColumn.of(values, start, length);
+                default -> ValueColumn.of(values, start, length);
+            };
+        }
     }
 
-    private void doWrite(Iterable<ResolvedNodeProperty> nodeProperties, Write ops, long nodeId) throws Exception {
-        for (ResolvedNodeProperty nodeProperty : nodeProperties) {
-            int propertyId = nodeProperty.token();
-            final Value prop = nodeProperty.values().neo4jValue(nodeId);
-            if (prop != null) {
-                ops.nodeSetProperty(
-                    toOriginalId.applyAsLong(nodeId),
-                    propertyId,
-                    prop
-                );
-                propertiesWritten.increment();
+    private static final class LongColumn implements Column {
+        private final long[] values;
+        // nodes without a value are rare, they are only possible for filtered properties
+        private final BitSet missing;
+
+        private LongColumn(long[] values, BitSet missing) {
+            this.values = values;
+            this.missing = missing;
+        }
+
+        static LongColumn of(Neo4jNodePropertyValues properties, long start, int length) {
+            var values = new long[length];
+            var missing = new BitSet();
+            for (int i = 0; i < length; i++) {
+                values[i] = properties.longValue(start + i);
+                if (values[i] == Long.MIN_VALUE && properties.neo4jValue(start + i) == null) {
+                    missing.set(i);
+                }
             }
+            return new LongColumn(values, missing);
+        }
+
+        @Override
+        public @Nullable Value value(int offset) {
+            return missing.get(offset) ? null : Values.longValue(values[offset]);
         }
     }
 
-    private void writeSequential(WriteConsumer writer) {
-        acceptInTransaction(stmt -> {
+    private static final class DoubleColumn implements Column {
+        // nodes without a value are NaN
+        private final double[] values;
+
+        private DoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        static DoubleColumn of(Neo4jNodePropertyValues properties, long start, int length) {
+            var values = new double[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = properties.doubleValue(start + i);
+            }
+            return new DoubleColumn(values);
+        }
+
+        @Override
+        public @Nullable Value value(int offset) {
+            return Double.isNaN(values[offset]) ? null : Values.doubleValue(values[offset]);
+        }
+    }
+
+    /**
+     * Array values, which are objects anyway.
+     */
+    private static final class ValueColumn implements Column {
+        private final Value[] values;
+
+        private ValueColumn(Value[] values) {
+            this.values = values;
+        }
+
+        static ValueColumn of(Neo4jNodePropertyValues properties, long start, int length) {
+            var values = new Value[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = properties.neo4jValue(start + i);
+            }
+            return new ValueColumn(values);
+        }
+
+        @Override
+        public @Nullable Value value(int offset) {
+            return values[offset];
+        }
+    }
+
+    private NodeBatch materialize(List<ResolvedNodeProperty> nodeProperties, long start, long end) {
+        var originalIds = new long[Math.toIntExact(end - start)];
+        for (int i = 0; i < originalIds.length; i++) {
+            originalIds[i] = toOriginalId.applyAsLong(start + i);
+        }
+        var columns = new Column[nodeProperties.size()];
+        for (int p = 0; p < columns.length; p++) {
             terminationFlag.assertRunning();
-            long progress = 0L;
-            Write ops = stmt.dataWrite();
-            for (long i = 0L; i < nodeCount; i++) {
-                writer.accept(ops, i);
-                progressTracker.logProgress();
-                if (++progress % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
-                    terminationFlag.assertRunning();
+            columns[p] = Column.of(nodeProperties.get(p).values(), start, originalIds.length);
+        }
+        return new NodeBatch(originalIds, columns);
+    }
+
+    private void writeBatch(
+        List<ResolvedNodeProperty> nodeProperties,
+        KernelTransaction transaction,
+        NodeBatch batch
+    ) throws Exception {
+        int written = 0;
+        try (var writer = new PropertyWriter(transaction, nodeProperties)) {
+            for (int i = 0; i < batch.originalIds.length; i++) {
+                writer.startNode(batch.originalIds[i]);
+                for (int p = 0; p < batch.columns.length; p++) {
+                    var value = batch.columns[p].value(i);
+                    if (value != null && writer.write(batch.originalIds[i], p, value)) {
+                        written++;
+                    }
                 }
             }
-        });
+        }
+        batch.propertiesWritten = written;
     }
 
-    private void writeParallel(WriteConsumer writer) {
-        final long batchSize = ParallelUtil.adjustedBatchSize(
-            nodeCount,
-            concurrency,
-            MIN_BATCH_SIZE,
-            MAX_BATCH_SIZE
-        );
-        final Collection<Runnable> runnables = LazyBatchCollection.of(
-            nodeCount,
-            batchSize,
-            (start, len) -> () -> {
-                acceptInTransaction(stmt -> {
-                    terminationFlag.assertRunning();
-                    long end = start + len;
-                    Write ops = stmt.dataWrite();
-                    for (long currentNode = start; currentNode < end; currentNode++) {
-                        writer.accept(ops, currentNode);
-                        progressTracker.logProgress();
-
-                        if ((currentNode - start) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
-                            terminationFlag.assertRunning();
-                        }
-                    }
-                });
+    /**
+     * Writes property values within one transaction.
+     * In {@code writeOnlyChanged} mode, values that are already stored for a node are skipped.
+     */
+    private final class PropertyWriter implements AutoCloseable {
+        private final Write ops;
+        private final int[] propertyTokens;
+        private final @Nullable StoredNodePropertyValues storedValues;
+
+        PropertyWriter(
+            KernelTransaction transaction,
+            List<ResolvedNodeProperty> nodeProperties
+        ) throws InvalidTransactionTypeKernelException {
+            this.ops = transaction.dataWrite();
+            this.propertyTokens = nodeProperties.stream().mapToInt(ResolvedNodeProperty::token).toArray();
+            this.storedValues = writeOnlyChanged
+                ? new StoredNodePropertyValues(transaction, propertyTokens, writeTolerance)
+                : null;
+        }
+
+        void startNode(long originalNodeId) {
+            if (storedValues != null) {
+                storedValues.load(originalNodeId);
+            }
+        }
+
+        /**
+         * @return whether the value has been written
+         */
+        boolean write(long originalNodeId, int propertyIndex, Value value) throws KernelException {
+            if (storedValues != null && storedValues.isUnchanged(propertyIndex, value)) {
+                return false;
             }
-        );
-        RunWithConcurrency.builder()
-            .concurrency(concurrency)
-            .tasks(runnables)
-            .maxWaitRetries(Integer.MAX_VALUE)
-            .waitTime(10L, TimeUnit.MICROSECONDS)
-            .terminationFlag(terminationFlag)
-            .executor(executorService)
-            .mayInterruptIfRunning(false)
-            .run();
+            ops.nodeSetProperty(originalNodeId, propertyTokens[propertyIndex], value);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (storedValues != null) {
+                storedValues.close();
+            }
+        }
     }
 }
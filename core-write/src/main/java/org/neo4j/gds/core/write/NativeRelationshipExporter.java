@@ -26,24 +26,33 @@ import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.api.IdMap;
 import org.neo4j.gds.api.properties.relationships.RelationshipIterator;
 import org.neo4j.gds.api.properties.relationships.RelationshipWithPropertyConsumer;
+import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.DefaultPool;
-import org.neo4j.gds.core.concurrency.RunWithConcurrency;
-import org.neo4j.gds.core.utils.partition.Partition;
+import org.neo4j.gds.core.utils.partition.DegreePartition;
 import org.neo4j.gds.core.utils.partition.PartitionUtils;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
 import org.neo4j.gds.termination.TerminationFlag;
 import org.neo4j.gds.transaction.TransactionContext;
-import org.neo4j.gds.utils.ExceptionUtil;
 import org.neo4j.gds.utils.StatementApi;
 import org.neo4j.internal.kernel.api.Write;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.LongUnaryOperator;
 
+import static org.neo4j.gds.core.write.NodePropertyExporter.MAX_BATCH_SIZE;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
 
 public final class NativeRelationshipExporter extends StatementApi implements RelationshipExporter {
 
+    // a single writer, since concurrent relationship creation contends on node locks, and a single producer
+    private static final Concurrency WRITE_CONCURRENCY = new Concurrency(2);
+
     private final Graph graph;
     private final LongUnaryOperator toOriginalId;
     private final RelationshipPropertyTranslator propertyTranslator;
@@ -119,144 +128,157 @@ public final class NativeRelationshipExporter extends StatementApi implements Re
     }
 
     private void write(int relationshipTypeToken, int propertyKeyToken, @Nullable RelationshipWithPropertyConsumer afterWriteConsumer) {
-        var tasks = PartitionUtils.degreePartitionWithBatchSize(
-            graph,
-            batchSize,
-            partition -> createBatchRunnable(
-                relationshipTypeToken,
-                propertyKeyToken,
-                partition,
-                afterWriteConsumer
-            )
-        );
+        // fine-grained partitions that producers combine into batches of the currently preferred size
+        var partitions = PartitionUtils.degreePartitionWithBatchSize(graph, batchSize, Function.identity());
+        var nextPartition = new AtomicInteger();
+        // batches that have been split off partitions with more relationships than the preferred batch size
+        var splitBatches = new ConcurrentLinkedQueue<RelationshipBatch>();
+        PipelinedBatchWriter.BatchProducer<RelationshipBatch> producer = preferredBatchSize -> {
+            var splitBatch = splitBatches.poll();
+            if (splitBatch != null) {
+                return splitBatch;
+            }
+            int first;
+            int end;
+            do {
+                first = nextPartition.get();
+                if (first >= partitions.size()) {
+                    return splitBatches.poll();
+                }
+                end = first + 1;
+                long relationshipCount = partitions.get(first).relationshipCount();
+                while (end < partitions.size() &&
+                       relationshipCount + partitions.get(end).relationshipCount() <= preferredBatchSize) {
+                    relationshipCount += partitions.get(end).relationshipCount();
+                    end++;
+                }
+            } while (!nextPartition.compareAndSet(first, end));
+
+            var batches = materialize(partitions.subList(first, end), Math.toIntExact(preferredBatchSize));
+            splitBatches.addAll(batches.subList(1, batches.size()));
+            return batches.get(0);
+        };
+        Consumer<RelationshipBatch> afterCommit = afterWriteConsumer == null
+            ? batch -> {}
+            : batch -> batch.forEach(afterWriteConsumer);
 
         progressTracker.beginSubTask();
         try {
-            RunWithConcurrency
-                .builder()
-                .concurrency(RelationshipExporterBuilder.TYPED_DEFAULT_WRITE_CONCURRENCY)
-                .tasks(tasks)
-                .maxWaitRetries(Integer.MAX_VALUE)
-                .waitTime(10L, TimeUnit.MICROSECONDS)
-                .terminationFlag(terminationFlag)
-                .executor(DefaultPool.INSTANCE)
-                .mayInterruptIfRunning(false)
-                .run();
+            new PipelinedBatchWriter<>(
+                this::acceptInTransaction,
+                producer,
+                (transaction, batch) -> writeBatch(
+                    transaction.dataWrite(),
+                    batch,
+                    relationshipTypeToken,
+                    propertyKeyToken
+                ),
+                afterCommit,
+                new AdaptiveBatchSize(batchSize, batchSize, Math.max(batchSize, MAX_BATCH_SIZE)),
+                WRITE_CONCURRENCY,
+                terminationFlag,
+                progressTracker,
+                DefaultPool.INSTANCE
+            ).run();
         } finally {
             progressTracker.endSubTask();
         }
     }
 
-    private Runnable createBatchRunnable(
-        int relationshipToken,
-        int propertyToken,
-        Partition partition,
-        @Nullable RelationshipWithPropertyConsumer afterWrite
-    ) {
-        return () -> acceptInTransaction(stmt -> {
-            terminationFlag.assertRunning();
-            Write ops = stmt.dataWrite();
-
-            RelationshipWithPropertyConsumer writeConsumer = new WriteConsumer(
-                toOriginalId,
-                ops,
-                propertyTranslator,
-                relationshipToken,
-                propertyToken,
-                progressTracker
-            );
-            if (afterWrite != null) {
-                writeConsumer = writeConsumer.andThen(afterWrite);
-            }
-            RelationshipIterator relationshipIterator = graph.concurrentCopy();
-            RelationshipWithPropertyConsumer finalWriteConsumer = writeConsumer;
-            var startNode = partition.startNode();
-            partition.consume(nodeId -> {
-                relationshipIterator.forEachRelationship(nodeId, Double.NaN, finalWriteConsumer);
+    /**
+     * The relationships of a range of source nodes, with both their internal and their original node ids.
+     */
+    private static final class RelationshipBatch implements PipelinedBatchWriter.Batch {
+        private long[] sourceIds;
+        private long[] targetIds;
+        private long[] originalSourceIds;
+        private long[] originalTargetIds;
+        private double[] properties;
+        private int size;
 
-                if ((nodeId - startNode) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
-                    terminationFlag.assertRunning();
-                }
-            });
-        });
-    }
-
-    private static class WriteConsumer implements RelationshipWithPropertyConsumer {
-        @FunctionalInterface
-        interface RelationshipWriteBehavior {
-            void apply(long sourceNodeId, long targetNodeId, double property) throws KernelException;
+        RelationshipBatch(int capacity) {
+            this.sourceIds = new long[capacity];
+            this.targetIds = new long[capacity];
+            this.originalSourceIds = new long[capacity];
+            this.originalTargetIds = new long[capacity];
+            this.properties = new double[capacity];
         }
 
-        private final LongUnaryOperator toOriginalId;
-        private final Write ops;
-        private final RelationshipPropertyTranslator propertyTranslator;
-        private final int relTypeToken;
-        private final int propertyToken;
-        private final ProgressTracker progressTracker;
-        private final RelationshipWriteBehavior relationshipWriteBehavior;
-
-        WriteConsumer(
-            LongUnaryOperator toOriginalId,
-            Write ops,
-            RelationshipPropertyTranslator propertyTranslator,
-            int relTypeToken,
-            int propertyToken,
-            ProgressTracker progressTracker
-        ) {
-            this.toOriginalId = toOriginalId;
-            this.ops = ops;
-            this.propertyTranslator = propertyTranslator;
-            this.relTypeToken = relTypeToken;
-            this.propertyToken = propertyToken;
-            this.progressTracker = progressTracker;
-            if (propertyToken == NO_SUCH_PROPERTY_KEY) {
-                relationshipWriteBehavior = this::writeWithoutProperty;
-            } else {
-                relationshipWriteBehavior = this::writeWithProperty;
-            }
+        @Override
+        public int size() {
+            return size;
         }
 
-        @Override
-        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
-            try {
-                relationshipWriteBehavior.apply(sourceNodeId, targetNodeId, property);
-                return true;
-            } catch (Exception e) {
-                ExceptionUtil.throwIfUnchecked(e);
-                throw new RuntimeException(e);
+        void add(long sourceId, long targetId, long originalSourceId, long originalTargetId, double property) {
+            if (size == sourceIds.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                sourceIds = Arrays.copyOf(sourceIds, capacity);
+                targetIds = Arrays.copyOf(targetIds, capacity);
+                originalSourceIds = Arrays.copyOf(originalSourceIds, capacity);
+                originalTargetIds = Arrays.copyOf(originalTargetIds, capacity);
+                properties = Arrays.copyOf(properties, capacity);
             }
+            sourceIds[size] = sourceId;
+            targetIds[size] = targetId;
+            originalSourceIds[size] = originalSourceId;
+            originalTargetIds[size] = originalTargetId;
+            properties[size] = property;
+            size++;
         }
 
-        private void writeWithoutProperty(long sourceNodeId, long targetNodeId, double property) throws
-            KernelException {
-            writeRelationship(sourceNodeId, targetNodeId);
-            progressTracker.logProgress();
+        void forEach(RelationshipWithPropertyConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(sourceIds[i], targetIds[i], properties[i]);
+            }
         }
+    }
 
-        private void writeWithProperty(
-            long sourceNodeId,
-            long targetNodeId,
-            double property
-        ) throws KernelException {
-            long relId = writeRelationship(sourceNodeId, targetNodeId);
-            exportProperty(property, relId);
-            progressTracker.logProgress();
+    /**
+     * Materializes the relationships of the given partitions into batches of at most {@code maxBatchSize}.
+     * The list contains more than one batch only if a partition, i.e. a node with a high degree,
+     * has more relationships than {@code maxBatchSize}.
+     */
+    private List<RelationshipBatch> materialize(List<DegreePartition> partitions, int maxBatchSize) {
+        long relationshipCount = partitions.stream().mapToLong(DegreePartition::relationshipCount).sum();
+        var batches = new ArrayList<RelationshipBatch>();
+        batches.add(new RelationshipBatch(Math.toIntExact(Math.min(relationshipCount, maxBatchSize))));
+        RelationshipIterator relationshipIterator = graph.concurrentCopy();
+        for (var partition : partitions) {
+            terminationFlag.assertRunning();
+            partition.consume(nodeId -> {
+                long originalSourceId = toOriginalId.applyAsLong(nodeId);
+                relationshipIterator.forEachRelationship(nodeId, Double.NaN, (sourceId, targetId, property) -> {
+                    var batch = batches.get(batches.size() - 1);
+                    if (batch.size == maxBatchSize) {
+                        long remaining = relationshipCount - (long) batches.size() * maxBatchSize;
+                        batch = new RelationshipBatch(Math.toIntExact(Math.max(0, Math.min(remaining, maxBatchSize))));
+                        batches.add(batch);
+                    }
+                    batch.add(sourceId, targetId, originalSourceId, toOriginalId.applyAsLong(targetId), property);
+                    return true;
+                });
+            });
         }
+        return batches;
+    }
 
-        private long writeRelationship(long sourceNodeId, long targetNodeId) throws KernelException {
-            return ops.relationshipCreate(
-                toOriginalId.applyAsLong(sourceNodeId),
-                relTypeToken,
-                toOriginalId.applyAsLong(targetNodeId)
+    private void writeBatch(
+        Write ops,
+        RelationshipBatch batch,
+        int relationshipToken,
+        int propertyToken
+    ) throws KernelException {
+        for (int i = 0; i < batch.size; i++) {
+            long relationshipId = ops.relationshipCreate(
+                batch.originalSourceIds[i],
+                relationshipToken,
+                batch.originalTargetIds[i]
             );
-        }
-
-        private void exportProperty(double property, long relId) throws KernelException {
-            if (!Double.isNaN(property)) {
+            if (propertyToken != NO_SUCH_PROPERTY_KEY && !Double.isNaN(batch.properties[i])) {
                 ops.relationshipSetProperty(
-                    relId,
+                    relationshipId,
                     propertyToken,
-                    propertyTranslator.toValue(property)
+                    propertyTranslator.toValue(batch.properties[i])
                 );
             }
         }
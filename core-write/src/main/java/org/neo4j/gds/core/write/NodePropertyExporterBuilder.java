@@ -45,6 +45,8 @@ public abstract class NodePropertyExporterBuilder {
     protected ProgressTracker progressTracker = ProgressTracker.NULL_TRACKER;
     protected Optional<ResultStore> resultStore = Optional.empty();
     protected JobId jobId;
+    protected boolean writeOnlyChanged = false;
+    protected double writeTolerance = 0.0;
 
     public abstract NodePropertyExporter build();
 
@@ -86,6 +88,18 @@ public abstract class NodePropertyExporterBuilder {
         return this;
     }
 
+    /**
+     * Skip values that are already stored in the database, so that they do not end up in the transaction log.
+     * Floating point values, also within arrays, that differ by at most {@code tolerance} are considered unchanged.
+     *
+     * Only applies to exporters that write to a database.
+     */
+    public NodePropertyExporterBuilder withWriteOnlyChanged(boolean writeOnlyChanged, double tolerance) {
+        this.writeOnlyChanged = writeOnlyChanged;
+        this.writeTolerance = tolerance;
+        return this;
+    }
+
     public NodePropertyExporterBuilder withJobId(JobId jobId){
         this.jobId = jobId;
         return this;
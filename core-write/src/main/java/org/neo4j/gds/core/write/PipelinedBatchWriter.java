@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.termination.TerminationFlag;
+import org.neo4j.gds.utils.StatementApi;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.exceptions.Status;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Writes batches in a pipeline of producer and writer tasks.
+ * <p>
+ * Producers materialize batches, i.e. they resolve original ids and compute the values to write, and hand them
+ * over to the writers through a bounded queue. Writers commit one batch per transaction, so the database work
+ * of one batch overlaps with the computation of the next ones. Whenever no batch is ready, a writer materializes
+ * one itself instead of waiting, so the write finishes even if the executor never gets to run the producers.
+ * The configured concurrency is split between writers and producers, writers get the larger half.
+ * <p>
+ * The size of the batches follows an {@link AdaptiveBatchSize}. Commits that fail with a transient error,
+ * such as a lock timeout or a deadlock, are retried with the already materialized batch.
+ */
+final class PipelinedBatchWriter<BATCH extends PipelinedBatchWriter.Batch> {
+
+    static final int MAX_COMMIT_ATTEMPTS = 5;
+
+    private static final long POLL_MICROS = 100L;
+
+    interface Batch {
+        /**
+         * The number of elements, e.g. nodes or relationships, in the batch.
+         */
+        int size();
+    }
+
+    @FunctionalInterface
+    interface BatchProducer<BATCH> {
+        /**
+         * Claims and materializes the next batch of roughly {@code batchSize} elements.
+         * Must be thread-safe, returns {@code null} once all batches have been claimed.
+         */
+        @Nullable BATCH next(long batchSize);
+    }
+
+    @FunctionalInterface
+    interface BatchWriter<BATCH> {
+        void write(KernelTransaction transaction, BATCH batch) throws Exception;
+    }
+
+    private final Consumer<StatementApi.TxConsumer> committer;
+    private final BatchProducer<BATCH> producer;
+    private final BatchWriter<BATCH> writer;
+    private final Consumer<BATCH> afterCommit;
+    private final AdaptiveBatchSize batchSize;
+    private final Concurrency concurrency;
+    private final int writers;
+    private final int producers;
+    private final TerminationFlag terminationFlag;
+    private final ProgressTracker progressTracker;
+    private final ExecutorService executorService;
+
+    private final BlockingQueue<BATCH> materializedBatches;
+    // number of producers that may still hand over a batch
+    private final AtomicInteger producing;
+    private volatile boolean failed;
+
+    PipelinedBatchWriter(
+        Consumer<StatementApi.TxConsumer> committer,
+        BatchProducer<BATCH> producer,
+        BatchWriter<BATCH> writer,
+        Consumer<BATCH> afterCommit,
+        AdaptiveBatchSize batchSize,
+        Concurrency concurrency,
+        TerminationFlag terminationFlag,
+        ProgressTracker progressTracker,
+        ExecutorService executorService
+    ) {
+        this.committer = committer;
+        this.producer = producer;
+        this.writer = writer;
+        this.afterCommit = afterCommit;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.producers = concurrency.value() / 2;
+        this.writers = concurrency.value() - producers;
+        this.terminationFlag = terminationFlag;
+        this.progressTracker = progressTracker;
+        this.executorService = executorService;
+        this.materializedBatches = new ArrayBlockingQueue<>(2 * writers);
+        this.producing = new AtomicInteger();
+    }
+
+    void run() {
+        var tasks = new ArrayList<Runnable>(writers + producers);
+        // writers are submitted first, they can finish the write on their own if no thread is left for producers
+        for (int i = 0; i < writers; i++) {
+            tasks.add(failFast(this::writeBatches));
+        }
+        for (int i = 0; i < producers; i++) {
+            tasks.add(failFast(this::produceBatches));
+        }
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .maxWaitRetries(Integer.MAX_VALUE)
+            .waitTime(10L, TimeUnit.MICROSECONDS)
+            .terminationFlag(terminationFlag)
+            .executor(executorService)
+            .mayInterruptIfRunning(false)
+            .run();
+    }
+
+    private Runnable failFast(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
+            }
+        };
+    }
+
+    private void writeBatches() {
+        while (!failed) {
+            terminationFlag.assertRunning();
+            var batch = materializedBatches.poll();
+            if (batch == null) {
+                batch = producer.next(batchSize.get());
+            }
+            if (batch == null) {
+                // everything is claimed, only wait for batches that producers are still materializing
+                if (producing.get() == 0 && materializedBatches.isEmpty()) {
+                    return;
+                }
+                batch = poll();
+                if (batch == null) {
+                    continue;
+                }
+            }
+            commit(batch);
+        }
+    }
+
+    private void produceBatches() {
+        while (!failed && terminationFlag.running()) {
+            producing.incrementAndGet();
+            try {
+                var batch = producer.next(batchSize.get());
+                if (batch == null) {
+                    return;
+                }
+                while (!offer(batch)) {
+                    if (failed || !terminationFlag.running()) {
+                        return;
+                    }
+                }
+            } finally {
+                producing.decrementAndGet();
+            }
+        }
+    }
+
+    private void commit(BATCH batch) {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                committer.accept(transaction -> writer.write(transaction, batch));
+            } catch (RuntimeException e) {
+                if (attempt == MAX_COMMIT_ATTEMPTS || !isTransient(e)) {
+                    throw e;
+                }
+                // the transaction has been rolled back, a termination must not be mistaken for contention
+                terminationFlag.assertRunning();
+                batchSize.onContention();
+                continue;
+            }
+            batchSize.onCommit(batch.size(), System.nanoTime() - start);
+            afterCommit.accept(batch);
+            // progress is logged per element, a single call for the whole batch would skip over the log intervals
+            for (int i = 0; i < batch.size(); i++) {
+                progressTracker.logProgress();
+            }
+            return;
+        }
+    }
+
+    static boolean isTransient(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof Status.HasStatus hasStatus &&
+                hasStatus.status().code().classification() == Status.Classification.TransientError) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private @Nullable BATCH poll() {
+        try {
+            return materializedBatches.poll(POLL_MICROS, TimeUnit.MICROSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean offer(BATCH batch) {
+        try {
+            return materializedBatches.offer(batch, POLL_MICROS, TimeUnit.MICROSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
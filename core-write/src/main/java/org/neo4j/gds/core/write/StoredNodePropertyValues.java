@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.values.storable.FloatingPointArray;
+import org.neo4j.values.storable.FloatingPointValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import java.util.Arrays;
+
+/**
+ * The values that are stored in the database for a set of node properties, one node at a time.
+ * Used to skip writing values that would not change the stored ones.
+ */
+final class StoredNodePropertyValues implements AutoCloseable {
+
+    private final Read read;
+    private final NodeCursor nodeCursor;
+    private final PropertyCursor propertyCursor;
+    private final int[] propertyTokens;
+    private final PropertySelection selection;
+    private final Value[] storedValues;
+    private final double tolerance;
+
+    StoredNodePropertyValues(KernelTransaction transaction, int[] propertyTokens, double tolerance) {
+        this.read = transaction.dataRead();
+        this.nodeCursor = transaction.cursors().allocateNodeCursor(transaction.cursorContext());
+        this.propertyCursor = transaction
+            .cursors()
+            .allocatePropertyCursor(transaction.cursorContext(), transaction.memoryTracker());
+        this.propertyTokens = propertyTokens;
+        this.selection = PropertySelection.selection(propertyTokens);
+        this.storedValues = new Value[propertyTokens.length];
+        this.tolerance = tolerance;
+    }
+
+    void load(long originalNodeId) {
+        Arrays.fill(storedValues, Values.NO_VALUE);
+        read.singleNode(originalNodeId, nodeCursor);
+        if (!nodeCursor.next()) {
+            return;
+        }
+        nodeCursor.properties(propertyCursor, selection);
+        while (propertyCursor.next()) {
+            int propertyKey = propertyCursor.propertyKey();
+            for (int i = 0; i < propertyTokens.length; i++) {
+                if (propertyTokens[i] == propertyKey) {
+                    storedValues[i] = propertyCursor.propertyValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the value is equal to the one stored for the property of the loaded node.
+     */
+    boolean isUnchanged(int propertyIndex, Value value) {
+        return isUnchanged(storedValues[propertyIndex], value, tolerance);
+    }
+
+    static boolean isUnchanged(Value storedValue, Value value, double tolerance) {
+        // numbers of different types are equal if their values are, but writing the value changes the type
+        if (storedValue.valueRepresentation() != value.valueRepresentation()) {
+            return false;
+        }
+        if (tolerance > 0) {
+            if (value instanceof FloatingPointValue floatingPointValue) {
+                return withinTolerance(
+                    ((FloatingPointValue) storedValue).doubleValue(),
+                    floatingPointValue.doubleValue(),
+                    tolerance
+                );
+            }
+            if (value instanceof FloatingPointArray array) {
+                var storedArray = (FloatingPointArray) storedValue;
+                if (storedArray.intSize() != array.intSize()) {
+                    return false;
+                }
+                for (int i = 0; i < array.intSize(); i++) {
+                    if (!withinTolerance(storedArray.doubleValue(i), array.doubleValue(i), tolerance)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return storedValue.equals(value);
+    }
+
+    private static boolean withinTolerance(double storedValue, double value, double tolerance) {
+        return Math.abs(storedValue - value) <= tolerance;
+    }
+
+    @Override
+    public void close() {
+        nodeCursor.close();
+        propertyCursor.close();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveBatchSizeTest {
+
+    @Test
+    void shouldGrowOnFastCommits() {
+        var batchSize = new AdaptiveBatchSize(100, 10, 250);
+
+        batchSize.onCommit(100, AdaptiveBatchSize.FAST_COMMIT_NANOS - 1);
+        assertThat(batchSize.get()).isEqualTo(200);
+
+        batchSize.onCommit(200, AdaptiveBatchSize.FAST_COMMIT_NANOS - 1);
+        assertThat(batchSize.get()).isEqualTo(250);
+    }
+
+    @Test
+    void shouldShrinkOnSlowCommitsAndContention() {
+        var batchSize = new AdaptiveBatchSize(100, 30, 1000);
+
+        batchSize.onCommit(100, AdaptiveBatchSize.SLOW_COMMIT_NANOS + 1);
+        assertThat(batchSize.get()).isEqualTo(50);
+
+        batchSize.onContention();
+        assertThat(batchSize.get()).isEqualTo(30);
+    }
+
+    @Test
+    void shouldKeepSizeForRegularCommits() {
+        var batchSize = new AdaptiveBatchSize(100, 10, 1000);
+
+        batchSize.onCommit(100, AdaptiveBatchSize.FAST_COMMIT_NANOS);
+        batchSize.onCommit(100, AdaptiveBatchSize.SLOW_COMMIT_NANOS);
+
+        assertThat(batchSize.get()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldIgnoreSmallTrailingBatches() {
+        var batchSize = new AdaptiveBatchSize(100, 10, 1000);
+
+        batchSize.onCommit(10, AdaptiveBatchSize.SLOW_COMMIT_NANOS + 1);
+
+        assertThat(batchSize.get()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldValidateBounds() {
+        assertThatThrownBy(() -> new AdaptiveBatchSize(100, 0, 1000))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveBatchSize(100, 1000, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
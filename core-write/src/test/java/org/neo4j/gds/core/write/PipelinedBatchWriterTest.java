@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.termination.TerminationFlag;
+import org.neo4j.gds.utils.StatementApi;
+import org.neo4j.kernel.api.exceptions.Status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelinedBatchWriterTest {
+
+    private static final int ELEMENT_COUNT = 10_000;
+
+    record Range(long start, long end) implements PipelinedBatchWriter.Batch {
+        @Override
+        public int size() {
+            return (int) (end - start);
+        }
+    }
+
+    static final class TransientException extends RuntimeException implements Status.HasStatus {
+        @Override
+        public Status status() {
+            return Status.Transaction.DeadlockDetected;
+        }
+    }
+
+    private static final Consumer<StatementApi.TxConsumer> COMMIT = transaction -> {
+        try {
+            transaction.accept(null);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    };
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldWriteEveryElementOnce(int concurrency) {
+        var writes = new AtomicLongArray(ELEMENT_COUNT);
+        var committed = new AtomicLong();
+
+        writer(
+            (transaction, batch) -> {
+                for (long i = batch.start(); i < batch.end(); i++) {
+                    writes.incrementAndGet((int) i);
+                }
+            },
+            batch -> committed.addAndGet(batch.size()),
+            concurrency,
+            TerminationFlag.RUNNING_TRUE
+        ).run();
+
+        assertThat(committed.get()).isEqualTo(ELEMENT_COUNT);
+        for (int i = 0; i < ELEMENT_COUNT; i++) {
+            assertThat(writes.get(i)).as("writes of element %d", i).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRetryTransientFailures() {
+        var attempts = new AtomicInteger();
+        var committed = new AtomicLong();
+
+        writer(
+            (transaction, batch) -> {
+                if (batch.start() == 0 && attempts.incrementAndGet() < PipelinedBatchWriter.MAX_COMMIT_ATTEMPTS) {
+                    throw new TransientException();
+                }
+            },
+            batch -> committed.addAndGet(batch.size()),
+            2,
+            TerminationFlag.RUNNING_TRUE
+        ).run();
+
+        assertThat(attempts.get()).isEqualTo(PipelinedBatchWriter.MAX_COMMIT_ATTEMPTS);
+        assertThat(committed.get()).isEqualTo(ELEMENT_COUNT);
+    }
+
+    @Test
+    void shouldFailOnPermanentFailures() {
+        var attempts = new AtomicInteger();
+
+        var writer = writer(
+            (transaction, batch) -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("boom");
+            },
+            batch -> {},
+            2,
+            TerminationFlag.RUNNING_TRUE
+        );
+
+        assertThatThrownBy(writer::run).hasMessageContaining("boom");
+        assertThat(attempts.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldStopWhenTerminated() {
+        var writer = writer((transaction, batch) -> {}, batch -> {}, 2, TerminationFlag.STOP_RUNNING);
+
+        assertThatThrownBy(writer::run).hasMessageContaining("terminated");
+    }
+
+    @Test
+    void shouldDetectTransientFailuresInCauses() {
+        assertThat(PipelinedBatchWriter.isTransient(new RuntimeException(new TransientException()))).isTrue();
+        assertThat(PipelinedBatchWriter.isTransient(new RuntimeException(new IllegalStateException()))).isFalse();
+    }
+
+    private static PipelinedBatchWriter<Range> writer(
+        PipelinedBatchWriter.BatchWriter<Range> batchWriter,
+        Consumer<Range> afterCommit,
+        int concurrency,
+        TerminationFlag terminationFlag
+    ) {
+        var next = new AtomicLong();
+        PipelinedBatchWriter.BatchProducer<Range> producer = batchSize -> {
+            long start = next.getAndAdd(batchSize);
+            return start >= ELEMENT_COUNT ? null : new Range(start, Math.min(ELEMENT_COUNT, start + batchSize));
+        };
+        return new PipelinedBatchWriter<>(
+            COMMIT,
+            producer,
+            batchWriter,
+            afterCommit,
+            new AdaptiveBatchSize(100, 10, 1000),
+            new Concurrency(concurrency),
+            terminationFlag,
+            ProgressTracker.NULL_TRACKER,
+            DefaultPool.INSTANCE
+        );
+    }
+}
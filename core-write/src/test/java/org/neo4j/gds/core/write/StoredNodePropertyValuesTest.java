@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.write;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoredNodePropertyValuesTest {
+
+    @Test
+    void shouldCompareExactlyWithoutTolerance() {
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.longValue(42), Values.longValue(42), 0)).isTrue();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.longValue(42), Values.longValue(43), 0)).isFalse();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.doubleValue(0.5), Values.doubleValue(0.5), 0)).isTrue();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.doubleValue(0.5), Values.doubleValue(0.50001), 0))
+            .isFalse();
+    }
+
+    @Test
+    void shouldTreatMissingValuesAsChanged() {
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.NO_VALUE, Values.longValue(42), 0)).isFalse();
+    }
+
+    @Test
+    void shouldTreatDifferentTypesAsChanged() {
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.longValue(42), Values.doubleValue(42), 0)).isFalse();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.doubleValue(42), Values.longValue(42), 1)).isFalse();
+    }
+
+    @Test
+    void shouldApplyToleranceToFloatingPointValues() {
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.doubleValue(0.5), Values.doubleValue(0.50001), 1E-4))
+            .isTrue();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.doubleValue(0.5), Values.doubleValue(0.6), 1E-4))
+            .isFalse();
+        assertThat(StoredNodePropertyValues.isUnchanged(Values.longValue(1), Values.longValue(2), 1E-4)).isFalse();
+    }
+
+    @Test
+    void shouldApplyToleranceToFloatingPointArrays() {
+        var stored = Values.doubleArray(new double[]{0.5, 1.5});
+
+        assertThat(StoredNodePropertyValues.isUnchanged(stored, Values.doubleArray(new double[]{0.50001, 1.5}), 1E-4))
+            .isTrue();
+        assertThat(StoredNodePropertyValues.isUnchanged(stored, Values.doubleArray(new double[]{0.5, 1.6}), 1E-4))
+            .isFalse();
+        assertThat(StoredNodePropertyValues.isUnchanged(stored, Values.doubleArray(new double[]{0.5}), 1E-4))
+            .isFalse();
+        assertThat(StoredNodePropertyValues.isUnchanged(stored, Values.doubleArray(new double[]{0.5, 1.5}), 0))
+            .isTrue();
+    }
+}
@@ -30,14 +30,18 @@ import org.neo4j.gds.api.schema.MutableGraphSchema;
 import org.neo4j.gds.collections.ha.HugeIntArray;
 import org.neo4j.gds.collections.ha.HugeLongArray;
 import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.IdMapBehaviorServiceProvider;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.compression.properties.PropertyCompressor;
 import org.neo4j.gds.core.huge.HugeGraph;
 import org.neo4j.gds.core.loading.AdjacencyBuffer;
 import org.neo4j.gds.core.loading.AdjacencyListBehavior;
 import org.neo4j.gds.core.loading.CSRGraphStore;
 import org.neo4j.gds.core.loading.Capabilities;
 import org.neo4j.gds.core.loading.GraphStoreBuilder;
+import org.neo4j.gds.core.loading.NodeReordering;
 import org.neo4j.gds.core.loading.Nodes;
 import org.neo4j.gds.core.loading.RelationshipImportResult;
 import org.neo4j.gds.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
@@ -46,6 +50,7 @@ import org.neo4j.gds.mem.MemoryEstimations;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
 import org.neo4j.gds.mem.Estimate;
 import org.neo4j.gds.mem.MemoryUsage;
+import org.neo4j.gds.utils.GdsFeatureToggles;
 
 import java.util.List;
 import java.util.Map;
@@ -65,6 +70,18 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
     }
 
     protected CSRGraphStore createGraphStore(Nodes nodes, RelationshipImportResult relationshipImportResult) {
+        var reorderingStrategy = GdsFeatureToggles.NODE_REORDERING_STRATEGY.get();
+        if (reorderingStrategy != GdsFeatureToggles.NodeReorderingStrategy.NONE) {
+            var reorderedGraph = NodeReordering.reorder(
+                nodes,
+                relationshipImportResult,
+                reorderingStrategy,
+                graphProjectConfig.readConcurrency()
+            );
+            nodes = reorderedGraph.nodes();
+            relationshipImportResult = reorderedGraph.relationshipImportResult();
+        }
+
         var schema = MutableGraphSchema.of(
             nodes.schema(),
             relationshipImportResult.relationshipSchema(),
@@ -104,6 +121,19 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
         NodeProjections nodeProjections,
         RelationshipProjections relationshipProjections,
         boolean isLoading
+    ) {
+        return getMemoryEstimation(nodeProjections, relationshipProjections, isLoading, false);
+    }
+
+    /**
+     * @param hashAggregation whether parallel relationships of high-degree nodes may be aggregated on insertion,
+     *                        see {@link org.neo4j.gds.core.loading.ChunkedAdjacencyLists}
+     */
+    public static MemoryEstimation getMemoryEstimation(
+        NodeProjections nodeProjections,
+        RelationshipProjections relationshipProjections,
+        boolean isLoading,
+        boolean hashAggregation
     ) {
         MemoryEstimations.Builder builder = MemoryEstimations.builder("graph projection");
 
@@ -118,9 +148,15 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
         relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> {
             boolean undirected = relationshipProjection.orientation() == Orientation.UNDIRECTED;
             if (isLoading) {
+                boolean aggregated = Aggregation.resolve(relationshipProjection.aggregation()) != Aggregation.NONE;
                 builder.max(
                     List.of(
-                        relationshipEstimationDuringLoading(relationshipType, relationshipProjection, undirected),
+                        relationshipEstimationDuringLoading(
+                            relationshipType,
+                            relationshipProjection,
+                            undirected,
+                            hashAggregation && aggregated
+                        ),
                         relationshipEstimationAfterLoading(relationshipType, relationshipProjection, undirected)
                     )
                 );
@@ -130,6 +166,15 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
             }
         });
 
+        // the reordered graph is built while the imported graph is still held
+        var reorderingStrategy = GdsFeatureToggles.NODE_REORDERING_STRATEGY.get();
+        if (isLoading && reorderingStrategy != GdsFeatureToggles.NodeReorderingStrategy.NONE) {
+            builder.add(
+                "node reordering",
+                NodeReordering.memoryEstimation(getMemoryEstimation(nodeProjections, relationshipProjections, false))
+            );
+        }
+
         return builder.build();
     }
 
@@ -137,7 +182,8 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
     private static MemoryEstimation relationshipEstimationDuringLoading(
         RelationshipType relationshipType,
         RelationshipProjection relationshipProjection,
-        boolean undirected
+        boolean undirected,
+        boolean hashAggregation
     ) {
         var duringLoadingEstimation = MemoryEstimations.builder("size during loading");
 
@@ -145,6 +191,7 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
             relationshipType,
             relationshipProjection,
             undirected,
+            hashAggregation,
             false,
             duringLoadingEstimation
         );
@@ -154,6 +201,7 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
                 relationshipType,
                 relationshipProjection,
                 undirected,
+                hashAggregation,
                 true,
                 duringLoadingEstimation
             );
@@ -166,6 +214,7 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
         RelationshipType relationshipType,
         RelationshipProjection relationshipProjection,
         boolean undirected,
+        boolean hashAggregation,
         boolean printIndexSuffix,
         MemoryEstimations.Builder estimationBuilder
     ) {
@@ -180,7 +229,8 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
             AdjacencyBuffer.memoryEstimation(
                 relationshipType,
                 (int) relationshipProjection.properties().stream().count(),
-                undirected
+                undirected,
+                hashAggregation
             )
         );
 
@@ -261,6 +311,18 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphProjectConfig> ex
                 ),
                 AdjacencyListBehavior.adjacencyPropertiesEstimation(relationshipType, undirected)
             );
+            // the compressed values are built next to the uncompressed ones
+            if (resolvedPropertyMapping.compression() != PropertyCompression.NONE) {
+                afterLoadingEstimation.add(
+                    formatWithLocale(
+                        "compression of property '%s.%s'%s",
+                        relationshipType,
+                        resolvedPropertyMapping.propertyKey(),
+                        indexSuffix
+                    ),
+                    PropertyCompressor.memoryEstimation(relationshipType, undirected)
+                );
+            }
         });
     }
 }
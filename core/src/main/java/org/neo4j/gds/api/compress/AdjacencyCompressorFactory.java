@@ -21,6 +21,7 @@ package org.neo4j.gds.api.compress;
 
 import org.neo4j.gds.collections.ha.HugeIntArray;
 import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.collections.ha.PageAllocator;
 
 import java.util.concurrent.atomic.LongAdder;
 
@@ -29,7 +30,14 @@ public interface AdjacencyCompressorFactory {
     /**
      * Prepares the compressor for flushing, for example by initializing data structures as they are needed.
      */
-    void init();
+    default void init() {
+        init(PageAllocator.heap());
+    }
+
+    /**
+     * Like {@link #init()}, but allocates the per-node degrees and offsets with the given {@code allocator}.
+     */
+    void init(PageAllocator allocator);
 
     void init(HugeIntArray degrees, HugeLongArray adjacencyOffsets, HugeLongArray propertyOffsets);
 
@@ -53,5 +53,20 @@ public final class MemoryInfoUtil {
         return builder;
     }
 
+    /**
+     * Records the number of adjacency lists and the number of bytes for a single encoding
+     * of an adjacency list that mixes multiple encodings.
+     */
+    public static ImmutableMemoryInfo.Builder recordEncoding(
+        ImmutableMemoryInfo.Builder builder,
+        String encoding,
+        long adjacencyLists,
+        long bytes
+    ) {
+        return builder
+            .putAdjacencyListsPerEncoding(encoding, adjacencyLists)
+            .putBytesPerEncoding(encoding, bytes);
+    }
+
     private MemoryInfoUtil() {}
 }
@@ -29,6 +29,7 @@ import org.neo4j.gds.api.compress.ImmutableAdjacencyListsWithProperties;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.collections.ha.HugeIntArray;
 import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.collections.ha.PageAllocator;
 
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
@@ -62,11 +63,11 @@ public abstract class AbstractAdjacencyCompressorFactory<TARGET_PAGE, PROPERTY_P
     }
 
     @Override
-    public void init() {
+    public void init(PageAllocator allocator) {
         var nodeCount = this.nodeCountSupplier.getAsLong();
-        this.adjacencyDegrees = HugeIntArray.newArray(nodeCount);
-        this.adjacencyOffsets = HugeLongArray.newArray(nodeCount);
-        this.propertyOffsets = HugeLongArray.newArray(nodeCount);
+        this.adjacencyDegrees = HugeIntArray.newArray(nodeCount, allocator);
+        this.adjacencyOffsets = HugeLongArray.newArray(nodeCount, allocator);
+        this.propertyOffsets = HugeLongArray.newArray(nodeCount, allocator);
     }
 
     @Override
@@ -23,17 +23,26 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.AdjacencyCursor;
 import org.neo4j.gds.api.AdjacencyList;
 import org.neo4j.gds.core.compression.MemoryInfo;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
 
 public class MixedAdjacencyList implements AdjacencyList {
 
     private final AdjacencyList packedAdjacencyList;
     private final AdjacencyList vlongAdjacencyList;
+    // nodes whose adjacency list is stored in the packed adjacency list
+    private final HugeAtomicBitSet packedNodes;
 
     private final MemoryInfo memoryInfo;
 
-    MixedAdjacencyList(AdjacencyList packedAdjacencyList, AdjacencyList vlongAdjacencyList, MemoryInfo memoryInfo) {
+    MixedAdjacencyList(
+        AdjacencyList packedAdjacencyList,
+        AdjacencyList vlongAdjacencyList,
+        HugeAtomicBitSet packedNodes,
+        MemoryInfo memoryInfo
+    ) {
         this.packedAdjacencyList = packedAdjacencyList;
         this.vlongAdjacencyList = vlongAdjacencyList;
+        this.packedNodes = packedNodes;
         this.memoryInfo = memoryInfo;
     }
 
@@ -44,7 +53,7 @@ public class MixedAdjacencyList implements AdjacencyList {
 
     @Override
     public AdjacencyCursor adjacencyCursor(long node, double fallbackValue) {
-        if (MixedCompressor.usePacking(degree(node))) {
+        if (this.packedNodes.get(node)) {
             return this.packedAdjacencyList.adjacencyCursor(node, fallbackValue);
         }
         return vlongAdjacencyList.adjacencyCursor(node, fallbackValue);
@@ -57,7 +66,7 @@ public class MixedAdjacencyList implements AdjacencyList {
 
     @Override
     public AdjacencyCursor adjacencyCursor(@Nullable AdjacencyCursor reuse, long node, double fallbackValue) {
-        if (MixedCompressor.usePacking(degree(node))) {
+        if (this.packedNodes.get(node)) {
             return this.packedAdjacencyList.adjacencyCursor(node, fallbackValue);
         }
         return vlongAdjacencyList.adjacencyCursor(reuse, node, fallbackValue);
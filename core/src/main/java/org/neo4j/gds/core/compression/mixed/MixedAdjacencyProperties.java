@@ -19,30 +19,30 @@
  */
 package org.neo4j.gds.core.compression.mixed;
 
-import org.neo4j.gds.api.AdjacencyList;
 import org.neo4j.gds.api.AdjacencyProperties;
 import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
 
 public class MixedAdjacencyProperties implements AdjacencyProperties {
 
-    private final AdjacencyList adjacencyList;
+    private final HugeAtomicBitSet packedNodes;
 
     private final AdjacencyProperties packedAdjacencyProperties;
     private final AdjacencyProperties vlongAdjacencyProperties;
 
     MixedAdjacencyProperties(
-        AdjacencyList adjacencyList,
+        HugeAtomicBitSet packedNodes,
         AdjacencyProperties packedAdjacencyProperties,
         AdjacencyProperties vlongAdjacencyProperties
     ) {
-        this.adjacencyList = adjacencyList;
+        this.packedNodes = packedNodes;
         this.packedAdjacencyProperties = packedAdjacencyProperties;
         this.vlongAdjacencyProperties = vlongAdjacencyProperties;
     }
 
     @Override
     public PropertyCursor propertyCursor(long node, double fallbackValue) {
-        if (MixedCompressor.usePacking(this.adjacencyList.degree(node))) {
+        if (this.packedNodes.get(node)) {
             return this.packedAdjacencyProperties.propertyCursor(node, fallbackValue);
         }
         return this.vlongAdjacencyProperties.propertyCursor(node, fallbackValue);
@@ -50,7 +50,7 @@ public class MixedAdjacencyProperties implements AdjacencyProperties {
 
     @Override
     public PropertyCursor propertyCursor(PropertyCursor reuse, long node, double fallbackValue) {
-        if (MixedCompressor.usePacking(this.adjacencyList.degree(node))) {
+        if (this.packedNodes.get(node)) {
             return this.packedAdjacencyProperties.propertyCursor(node, fallbackValue);
         }
         return this.vlongAdjacencyProperties.propertyCursor(reuse, node, fallbackValue);
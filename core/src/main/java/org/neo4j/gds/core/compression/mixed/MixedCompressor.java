@@ -19,6 +19,7 @@
  */
 package org.neo4j.gds.core.compression.mixed;
 
+import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.gds.PropertyMappings;
 import org.neo4j.gds.api.AdjacencyList;
 import org.neo4j.gds.api.AdjacencyProperties;
@@ -29,14 +30,19 @@ import org.neo4j.gds.api.compress.AdjacencyListsWithProperties;
 import org.neo4j.gds.api.compress.ImmutableAdjacencyListsWithProperties;
 import org.neo4j.gds.collections.ha.HugeIntArray;
 import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.compression.ImmutableMemoryInfo;
 import org.neo4j.gds.core.compression.MemoryInfo;
+import org.neo4j.gds.core.compression.MemoryInfoUtil;
 import org.neo4j.gds.core.compression.common.MemoryTracker;
 import org.neo4j.gds.core.compression.packed.Address;
 import org.neo4j.gds.core.compression.packed.AdjacencyPacking;
 import org.neo4j.gds.core.compression.packed.PackedCompressor;
 import org.neo4j.gds.core.compression.varlong.DeltaVarLongCompressor;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.mem.BitUtil;
+import org.neo4j.gds.mem.MemoryUsage;
 
 import java.util.ArrayList;
 import java.util.concurrent.atomic.LongAdder;
@@ -51,26 +57,76 @@ public final class MixedCompressor implements AdjacencyCompressor {
      */
     private static final int PACKING_DEGREE_THRESHOLD = AdjacencyPacking.BLOCK_SIZE * 8;
 
+    /**
+     * Nodes with a degree below one block never use packing, since they would
+     * be encoded in the tail of the packed adjacency list anyway.
+     */
+    private static final int MIN_PACKING_DEGREE = AdjacencyPacking.BLOCK_SIZE;
+
+    static final String PACKED_ENCODING = "packed";
+    static final String VLONG_ENCODING = "varLong";
+
     private final AdjacencyCompressor packedCompressor;
     private final AdjacencyCompressor vLongCompressor;
+    private final HugeAtomicBitSet packedNodes;
+    private final LongAdder packedNodeCounter;
+    private final LongAdder vlongNodeCounter;
 
     private MixedCompressor(
         AdjacencyCompressor packedCompressor,
-        AdjacencyCompressor vLongCompressor
+        AdjacencyCompressor vLongCompressor,
+        HugeAtomicBitSet packedNodes,
+        LongAdder packedNodeCounter,
+        LongAdder vlongNodeCounter
     ) {
         this.packedCompressor = packedCompressor;
         this.vLongCompressor = vLongCompressor;
+        this.packedNodes = packedNodes;
+        this.packedNodeCounter = packedNodeCounter;
+        this.vlongNodeCounter = vlongNodeCounter;
     }
 
-    static boolean usePacking(int degree) {
-        return degree > PACKING_DEGREE_THRESHOLD;
+    /**
+     * Decides per adjacency list whether to use packing or var-long compression.
+     * <p>
+     * Large adjacency lists are always packed. Between one block and the packing threshold,
+     * we estimate the number of bits per delta-encoded target from the average gap between
+     * targets and pack if that at least halves the size of the var-long encoding.
+     * That is the case for dense neighborhoods, e.g. hubs that are connected to a large
+     * fraction of a contiguous id range, which packing encodes with very few bits per target.
+     *
+     * @param targets the unsorted target ids, only the first {@code degree} values are considered
+     */
+    static boolean usePacking(long[] targets, int degree) {
+        if (degree > PACKING_DEGREE_THRESHOLD) {
+            return true;
+        }
+        if (degree < MIN_PACKING_DEGREE) {
+            return false;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < degree; i++) {
+            min = Math.min(min, targets[i]);
+            max = Math.max(max, targets[i]);
+        }
+
+        long averageGap = (max - min) / (degree - 1);
+        int packedBitsPerTarget = Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(averageGap));
+        int vlongBitsPerTarget = BitUtil.ceilDiv(packedBitsPerTarget, 7) * Byte.SIZE;
+
+        return packedBitsPerTarget * 2 <= vlongBitsPerTarget;
     }
 
     @Override
     public int compress(long nodeId, long[] targets, long[][] properties, int degree) {
-        if (usePacking(degree)) {
+        if (usePacking(targets, degree)) {
+            this.packedNodes.set(nodeId);
+            this.packedNodeCounter.increment();
             return this.packedCompressor.compress(nodeId, targets, properties, degree);
         } else {
+            this.vlongNodeCounter.increment();
             return this.vLongCompressor.compress(nodeId, targets, properties, degree);
         }
     }
@@ -119,7 +175,11 @@ public final class MixedCompressor implements AdjacencyCompressor {
         private final LongAdder relationshipCounter;
         private final AdjacencyCompressorFactory packedCompressorFactory;
         private final AdjacencyCompressorFactory vlongCompressorFactory;
-
+        private final LongAdder packedNodeCounter;
+        private final LongAdder vlongNodeCounter;
+        private HugeAtomicBitSet packedNodes;
+        private HugeIntArray degrees;
+        private HugeLongArray adjacencyOffsets;
 
         Factory(
             LongSupplier nodeCountSupplier,
@@ -131,20 +191,25 @@ public final class MixedCompressor implements AdjacencyCompressor {
             this.relationshipCounter = relationshipCounter;
             this.packedCompressorFactory = packedCompressorFactory;
             this.vlongCompressorFactory = vlongCompressorFactory;
+            this.packedNodeCounter = new LongAdder();
+            this.vlongNodeCounter = new LongAdder();
         }
 
         @Override
-        public void init() {
+        public void init(PageAllocator allocator) {
             var nodeCount = this.nodeCountSupplier.getAsLong();
-            HugeIntArray adjacencyDegrees = HugeIntArray.newArray(nodeCount);
-            HugeLongArray adjacencyOffsets = HugeLongArray.newArray(nodeCount);
-            HugeLongArray propertyOffsets = HugeLongArray.newArray(nodeCount);
+            HugeIntArray adjacencyDegrees = HugeIntArray.newArray(nodeCount, allocator);
+            HugeLongArray adjacencyOffsets = HugeLongArray.newArray(nodeCount, allocator);
+            HugeLongArray propertyOffsets = HugeLongArray.newArray(nodeCount, allocator);
 
             init(adjacencyDegrees, adjacencyOffsets, propertyOffsets);
         }
 
         @Override
         public void init(HugeIntArray degrees, HugeLongArray adjacencyOffsets, HugeLongArray propertyOffsets) {
+            this.packedNodes = HugeAtomicBitSet.create(degrees.size());
+            this.degrees = degrees;
+            this.adjacencyOffsets = adjacencyOffsets;
             this.packedCompressorFactory.init(degrees, adjacencyOffsets, propertyOffsets);
             this.vlongCompressorFactory.init(degrees, adjacencyOffsets, propertyOffsets);
         }
@@ -153,7 +218,13 @@ public final class MixedCompressor implements AdjacencyCompressor {
         public AdjacencyCompressor createCompressor() {
             var packedCompressor = packedCompressorFactory.createCompressor();
             var vlongCompressor = vlongCompressorFactory.createCompressor();
-            return new MixedCompressor(packedCompressor, vlongCompressor);
+            return new MixedCompressor(
+                packedCompressor,
+                vlongCompressor,
+                packedNodes,
+                packedNodeCounter,
+                vlongNodeCounter
+            );
         }
 
         @Override
@@ -174,6 +245,7 @@ public final class MixedCompressor implements AdjacencyCompressor {
             var mixedAdjacencyList = new MixedAdjacencyList(
                 packedAdjacencyList.adjacency(),
                 vlongAdjacencyList.adjacency(),
+                packedNodes,
                 memoryInfo
             );
 
@@ -182,7 +254,7 @@ public final class MixedCompressor implements AdjacencyCompressor {
             for (int i = 0; i < packedAdjacencyList.properties().size(); i++) {
                 var left = packedAdjacencyList.properties().get(i);
                 var right = vlongAdjacencyList.properties().get(i);
-                var mixedProperties = new MixedAdjacencyProperties(vlongAdjacencyList.adjacency(), left, right);
+                var mixedProperties = new MixedAdjacencyProperties(packedNodes, left, right);
                 mixedAdjacencyProperties.add(mixedProperties);
             }
 
@@ -194,16 +266,27 @@ public final class MixedCompressor implements AdjacencyCompressor {
                 .build();
         }
 
-        private static MemoryInfo mergeMemoryInfo(
+        private MemoryInfo mergeMemoryInfo(
             MemoryInfo packed,
             MemoryInfo vlong
         ) {
-            return ImmutableMemoryInfo.builder()
+            var sharedBytesOnHeap = new MutableLong();
+            MemoryUsage.sizeOfObject(degrees).ifPresent(sharedBytesOnHeap::add);
+            MemoryUsage.sizeOfObject(adjacencyOffsets).ifPresent(sharedBytesOnHeap::add);
+            var vlongBytes = vlong.bytesOnHeap().orElse(0) - sharedBytesOnHeap.longValue();
+            var packedBytes = packed.bytesOffHeap().orElse(0);
+
+            var builder = ImmutableMemoryInfo.builder()
                 .pages(packed.pages() + vlong.pages())
                 .pageSizes(vlong.pageSizes().merge(packed.pageSizes()))
                 // We use the vlong on heap data structures (pages, offsets and degrees),
                 // where offsets and degrees are shared with the packed adjacency list.
-                .bytesOnHeap(vlong.bytesOnHeap())
+                // In addition, we track which node uses which encoding.
+                .bytesOnHeap(vlong
+                    .bytesOnHeap()
+                    .stream()
+                    .map(bytes -> bytes + HugeAtomicBitSet.memoryEstimation(packedNodes.size()))
+                    .findFirst())
                 .heapAllocations(vlong.heapAllocations())
                 // We only need to track the off heap data structures of the packed adjacency list.
                 .bytesOffHeap(packed.bytesOffHeap())
@@ -220,8 +303,12 @@ public final class MixedCompressor implements AdjacencyCompressor {
                 .indexOfMaxValue(packed.indexOfMaxValue())
                 .headTailDiffBits(packed.headTailDiffBits())
                 .bestMaxDiffBits(packed.bestMaxDiffBits())
-                .pforExceptions(packed.pforExceptions())
-                .build();
+                .pforExceptions(packed.pforExceptions());
+
+            MemoryInfoUtil.recordEncoding(builder, PACKED_ENCODING, packedNodeCounter.longValue(), packedBytes);
+            MemoryInfoUtil.recordEncoding(builder, VLONG_ENCODING, vlongNodeCounter.longValue(), vlongBytes);
+
+            return builder.build();
         }
     }
 
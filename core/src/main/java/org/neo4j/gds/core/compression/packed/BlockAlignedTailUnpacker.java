@@ -88,6 +88,19 @@ final class BlockAlignedTailUnpacker {
         return block[this.idxInBlock];
     }
 
+    void nextBatch(long[] buffer, int length) {
+        int copied = 0;
+        while (copied < length) {
+            if (this.idxInBlock == BLOCK_SIZE) {
+                decompressBlock();
+            }
+            int count = Math.min(length - copied, BLOCK_SIZE - this.idxInBlock);
+            System.arraycopy(this.block, this.idxInBlock, buffer, copied, count);
+            this.idxInBlock += count;
+            copied += count;
+        }
+    }
+
     long advanceBy(int steps) {
         // Due to delta encoded target ids, we can't yet skip blocks
         // as we need to decompress all the previous blocks to get
@@ -78,6 +78,14 @@ public final class VarLongTailCursor implements AdjacencyCursor {
         return decompressingReader.peek();
     }
 
+    @Override
+    public int nextBatch(long[] buffer, int max) {
+        int count = Math.min(max, remaining());
+        this.decompressingReader.nextBatch(buffer, count);
+        this.currentPosition += count;
+        return count;
+    }
+
     @Override
     public long skipUntil(long targetId) {
         long next;
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.compression.properties;
+
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.PropertyCompression;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Relationship property values stored as fixed-width codes that are bit-packed into consecutive words.
+ * The meaning of a code depends on the {@link #compression()}: an index into a table of distinct values,
+ * an offset to the smallest integral value or the bits of a 32-bit float.
+ * Cursors decode the codes back to the raw bits of a double, so that consumers cannot tell the difference.
+ */
+public final class CompressedAdjacencyProperties implements AdjacencyProperties {
+
+    private final PropertyCompression compression;
+    // offsets.get(node) is the index of the first value of node, offsets.get(node + 1) the end of its values
+    private final HugeLongArray offsets;
+    private final HugeLongArray words;
+    private final int bitsPerValue;
+    // DICTIONARY only, empty otherwise
+    private final double[] dictionary;
+    // INTEGRAL only
+    private final long base;
+
+    CompressedAdjacencyProperties(
+        PropertyCompression compression,
+        HugeLongArray offsets,
+        HugeLongArray words,
+        int bitsPerValue,
+        double[] dictionary,
+        long base
+    ) {
+        this.compression = compression;
+        this.offsets = offsets;
+        this.words = words;
+        this.bitsPerValue = bitsPerValue;
+        this.dictionary = dictionary;
+        this.base = base;
+    }
+
+    public PropertyCompression compression() {
+        return compression;
+    }
+
+    public int bitsPerValue() {
+        return bitsPerValue;
+    }
+
+    public long sizeInBytes() {
+        return offsets.sizeOf() + words.sizeOf() + (long) dictionary.length * Double.BYTES;
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(long node, double fallbackValue) {
+        return propertyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(PropertyCursor reuse, long node, double fallbackValue) {
+        var offset = offsets.get(node);
+        var degree = (int) (offsets.get(node + 1) - offset);
+        if (degree == 0) {
+            return PropertyCursor.empty();
+        }
+        var cursor = reuse instanceof Cursor ? reuse : rawPropertyCursor();
+        cursor.init(offset, degree);
+        return cursor;
+    }
+
+    @Override
+    public PropertyCursor rawPropertyCursor() {
+        return new Cursor(this);
+    }
+
+    static long read(HugeLongArray words, long index, int bitsPerValue, long mask) {
+        long bitIndex = index * bitsPerValue;
+        long wordIndex = bitIndex >>> 6;
+        int shift = (int) (bitIndex & 63);
+        long code = words.get(wordIndex) >>> shift;
+        if (shift + bitsPerValue > Long.SIZE) {
+            code |= words.get(wordIndex + 1) << (Long.SIZE - shift);
+        }
+        return code & mask;
+    }
+
+    static void write(HugeLongArray words, long index, int bitsPerValue, long code) {
+        long bitIndex = index * bitsPerValue;
+        long wordIndex = bitIndex >>> 6;
+        int shift = (int) (bitIndex & 63);
+        words.or(wordIndex, code << shift);
+        if (shift + bitsPerValue > Long.SIZE) {
+            words.or(wordIndex + 1, code >>> (Long.SIZE - shift));
+        }
+    }
+
+    static long mask(int bitsPerValue) {
+        return bitsPerValue == Long.SIZE ? -1L : (1L << bitsPerValue) - 1;
+    }
+
+    private static final class Cursor implements PropertyCursor {
+
+        private final PropertyCompression compression;
+        private final HugeLongArray words;
+        private final int bitsPerValue;
+        private final long mask;
+        private final double[] dictionary;
+        private final long base;
+
+        private long index;
+        private long limit;
+
+        private Cursor(CompressedAdjacencyProperties properties) {
+            this.compression = properties.compression;
+            this.words = properties.words;
+            this.bitsPerValue = properties.bitsPerValue;
+            this.mask = mask(properties.bitsPerValue);
+            this.dictionary = properties.dictionary;
+            this.base = properties.base;
+        }
+
+        @Override
+        public void init(long index, int degree) {
+            this.index = index;
+            this.limit = index + degree;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return index < limit;
+        }
+
+        @Override
+        public long nextLong() {
+            long code = read(words, index++, bitsPerValue, mask);
+            switch (compression) {
+                case DICTIONARY:
+                    return Double.doubleToRawLongBits(dictionary[(int) code]);
+                case INTEGRAL:
+                    return Double.doubleToRawLongBits((double) (base + code));
+                case FLOAT:
+                    return Double.doubleToRawLongBits(Float.intBitsToFloat((int) code));
+                default:
+                    throw new IllegalStateException(formatWithLocale("Unexpected property compression: %s", compression));
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.compression.properties;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.utils.partition.DegreePartition;
+import org.neo4j.gds.core.utils.partition.PartitionUtils;
+import org.neo4j.gds.mem.BitUtil;
+import org.neo4j.gds.mem.Estimate;
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+import org.neo4j.gds.mem.MemoryRange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Re-encodes the values of a finished {@link AdjacencyProperties} into a {@link CompressedAdjacencyProperties}.
+ * The values are read twice, once to find out which encodings are applicable and once to encode them.
+ * Both passes run in parallel over degree partitions of the nodes.
+ */
+public final class PropertyCompressor {
+
+    // a larger dictionary does not fit into the codes of a 16-bit encoding and rarely pays off against INTEGRAL or FLOAT
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private PropertyCompressor() {}
+
+    /**
+     * Estimates the memory used while compressing one property, in addition to the uncompressed values.
+     */
+    public static MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations.builder(PropertyCompressor.class.getSimpleName())
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .rangePerGraphDimension("codes", (dimensions, concurrency) -> {
+                long relationshipCount = dimensions
+                    .relationshipCounts()
+                    .getOrDefault(relationshipType, dimensions.relCountUpperBound());
+                if (undirected) {
+                    relationshipCount *= 2;
+                }
+                // between a constant property and one that needs all 64 bits per value
+                return MemoryRange.of(
+                    HugeLongArray.memoryEstimation(1),
+                    HugeLongArray.memoryEstimation(Math.max(1, relationshipCount))
+                );
+            })
+            .perThread("distinct values", Estimate.sizeOfInstance(Statistics.class) + sizeOfDictionary())
+            .fixed("dictionary", sizeOfDictionary() + Estimate.sizeOfDoubleArray(MAX_DICTIONARY_SIZE))
+            .build();
+    }
+
+    private static long sizeOfDictionary() {
+        // the map is released once it would exceed the maximum size, at which point it has grown to its largest size
+        long buckets = BitUtil.nextHighestPowerOfTwo((long) Math.ceil(MAX_DICTIONARY_SIZE / 0.75)) + 1;
+        return Estimate.sizeOfInstance(LongIntHashMap.class)
+            + Estimate.sizeOfLongArray(buckets)
+            + Estimate.sizeOfIntArray(buckets);
+    }
+
+    /**
+     * @return the compressed properties, or the given {@code properties} for {@link PropertyCompression#NONE},
+     *     for empty properties and if {@link PropertyCompression#AUTO} does not find an encoding that saves memory.
+     * @throws IllegalArgumentException if the requested encoding cannot represent the values.
+     */
+    public static AdjacencyProperties compress(
+        String propertyKey,
+        AdjacencyList adjacencyList,
+        AdjacencyProperties properties,
+        long nodeCount,
+        long relationshipCount,
+        PropertyCompression compression,
+        Concurrency concurrency
+    ) {
+        if (compression == PropertyCompression.NONE) {
+            return properties;
+        }
+
+        List<DegreePartition> partitions = PartitionUtils.degreePartition(
+            nodeCount,
+            relationshipCount,
+            adjacencyList::degree,
+            concurrency,
+            Function.identity(),
+            Optional.empty()
+        );
+
+        // the offsets are relative to the first value of the partition until the partitions have been merged
+        var offsets = HugeLongArray.newArray(nodeCount + 1);
+        var partitionStatistics = new Statistics[partitions.size()];
+        var statisticsTasks = new ArrayList<Runnable>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            var partitionIndex = i;
+            var partition = partitions.get(i);
+            statisticsTasks.add(() -> partitionStatistics[partitionIndex] = collect(
+                adjacencyList,
+                properties,
+                offsets,
+                partition
+            ));
+        }
+        RunWithConcurrency.builder().concurrency(concurrency).tasks(statisticsTasks).run();
+
+        var statistics = new Statistics();
+        var partitionStarts = new long[partitions.size() + 1];
+        for (int i = 0; i < partitions.size(); i++) {
+            partitionStarts[i] = statistics.count;
+            statistics.merge(partitionStatistics[i]);
+            partitionStatistics[i] = null;
+        }
+        partitionStarts[partitions.size()] = statistics.count;
+        offsets.set(nodeCount, statistics.count);
+
+        if (statistics.count == 0) {
+            return properties;
+        }
+
+        var encoding = compression == PropertyCompression.AUTO
+            ? statistics.cheapestEncoding()
+            : statistics.validate(propertyKey, compression);
+
+        if (encoding == PropertyCompression.NONE) {
+            return properties;
+        }
+
+        return encode(
+            adjacencyList,
+            properties,
+            partitions,
+            partitionStarts,
+            offsets,
+            statistics,
+            encoding,
+            concurrency
+        );
+    }
+
+    private static Statistics collect(
+        AdjacencyList adjacencyList,
+        AdjacencyProperties properties,
+        HugeLongArray offsets,
+        DegreePartition partition
+    ) {
+        var statistics = new Statistics();
+        PropertyCursor cursor = properties.rawPropertyCursor();
+        long end = partition.startNode() + partition.nodeCount();
+        for (long node = partition.startNode(); node < end; node++) {
+            offsets.set(node, statistics.count);
+            if (adjacencyList.degree(node) == 0) {
+                continue;
+            }
+            cursor = properties.propertyCursor(cursor, node, Double.NaN);
+            while (cursor.hasNextLong()) {
+                statistics.add(cursor.nextLong());
+            }
+        }
+        return statistics;
+    }
+
+    private static CompressedAdjacencyProperties encode(
+        AdjacencyList adjacencyList,
+        AdjacencyProperties properties,
+        List<DegreePartition> partitions,
+        long[] partitionStarts,
+        HugeLongArray offsets,
+        Statistics statistics,
+        PropertyCompression encoding,
+        Concurrency concurrency
+    ) {
+        int bitsPerValue = statistics.bitsPerValue(encoding);
+        // a constant property has zero bits per value, but still reads one word
+        var words = HugeLongArray.newArray(Math.max(1, BitUtil.ceilDiv(statistics.count * bitsPerValue, Long.SIZE)));
+
+        double[] dictionary = encoding == PropertyCompression.DICTIONARY
+            ? statistics.dictionary()
+            : new double[0];
+
+        var writers = new PartitionWriter[partitions.size()];
+        var encodingTasks = new ArrayList<Runnable>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            var partition = partitions.get(i);
+            var writer = new PartitionWriter(words, bitsPerValue, partitionStarts[i], partitionStarts[i + 1]);
+            writers[i] = writer;
+            encodingTasks.add(() -> {
+                PropertyCursor cursor = properties.rawPropertyCursor();
+                long index = writer.startIndex;
+                long end = partition.startNode() + partition.nodeCount();
+                for (long node = partition.startNode(); node < end; node++) {
+                    offsets.set(node, offsets.get(node) + writer.startIndex);
+                    if (bitsPerValue == 0 || adjacencyList.degree(node) == 0) {
+                        continue;
+                    }
+                    cursor = properties.propertyCursor(cursor, node, Double.NaN);
+                    while (cursor.hasNextLong()) {
+                        writer.write(index++, statistics.code(encoding, cursor.nextLong()));
+                    }
+                }
+            });
+        }
+        RunWithConcurrency.builder().concurrency(concurrency).tasks(encodingTasks).run();
+
+        for (var writer : writers) {
+            writer.flushBoundaryWords();
+        }
+
+        return new CompressedAdjacencyProperties(
+            encoding,
+            offsets,
+            words,
+            bitsPerValue,
+            dictionary,
+            statistics.min
+        );
+    }
+
+    /**
+     * Writes the codes of one partition. The first and the last word of a partition may be shared with
+     * the neighbouring partitions, so they are buffered and written after all partitions are done.
+     */
+    private static final class PartitionWriter {
+        private final HugeLongArray words;
+        private final int bitsPerValue;
+        private final long startIndex;
+        private final long firstWord;
+        private final long lastWord;
+
+        private long firstWordBits;
+        private long lastWordBits;
+
+        private PartitionWriter(HugeLongArray words, int bitsPerValue, long startIndex, long endIndex) {
+            this.words = words;
+            this.bitsPerValue = bitsPerValue;
+            this.startIndex = startIndex;
+            this.firstWord = (startIndex * bitsPerValue) >>> 6;
+            this.lastWord = endIndex > startIndex ? (endIndex * bitsPerValue - 1) >>> 6 : firstWord;
+        }
+
+        void write(long index, long code) {
+            long bitIndex = index * bitsPerValue;
+            long wordIndex = bitIndex >>> 6;
+            int shift = (int) (bitIndex & 63);
+            or(wordIndex, code << shift);
+            if (shift + bitsPerValue > Long.SIZE) {
+                or(wordIndex + 1, code >>> (Long.SIZE - shift));
+            }
+        }
+
+        private void or(long wordIndex, long bits) {
+            if (wordIndex == firstWord) {
+                firstWordBits |= bits;
+            } else if (wordIndex == lastWord) {
+                lastWordBits |= bits;
+            } else {
+                words.or(wordIndex, bits);
+            }
+        }
+
+        void flushBoundaryWords() {
+            if (firstWordBits != 0) {
+                words.or(firstWord, firstWordBits);
+            }
+            if (lastWordBits != 0) {
+                words.or(lastWord, lastWordBits);
+            }
+        }
+    }
+
+    static int bitsNeeded(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    private static final class Statistics {
+        long count;
+
+        boolean integral = true;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        boolean singlePrecision = true;
+
+        final LongIntHashMap distinct = new LongIntHashMap();
+        boolean dictionaryOverflow;
+
+        void add(long rawBits) {
+            count++;
+            double value = Double.longBitsToDouble(rawBits);
+
+            if (integral) {
+                long longValue = (long) value;
+                if (Double.doubleToRawLongBits((double) longValue) == rawBits) {
+                    min = Math.min(min, longValue);
+                    max = Math.max(max, longValue);
+                } else {
+                    integral = false;
+                }
+            }
+
+            if (singlePrecision) {
+                singlePrecision = Double.doubleToRawLongBits((float) value) == rawBits;
+            }
+
+            if (!dictionaryOverflow && !distinct.containsKey(rawBits)) {
+                if (distinct.size() == MAX_DICTIONARY_SIZE) {
+                    dictionaryOverflow = true;
+                    distinct.release();
+                } else {
+                    distinct.put(rawBits, distinct.size());
+                }
+            }
+        }
+
+        PropertyCompression cheapestEncoding() {
+            var cheapest = PropertyCompression.NONE;
+            long cheapestBits = count * Double.SIZE;
+            for (var candidate : new PropertyCompression[]{
+                PropertyCompression.INTEGRAL,
+                PropertyCompression.DICTIONARY,
+                PropertyCompression.FLOAT
+            }) {
+                if (isLossless(candidate) && totalBits(candidate) < cheapestBits) {
+                    cheapest = candidate;
+                    cheapestBits = totalBits(candidate);
+                }
+            }
+            return cheapest;
+        }
+
+        PropertyCompression validate(String propertyKey, PropertyCompression compression) {
+            if (compression == PropertyCompression.INTEGRAL && !integral) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship property `%s` cannot use `%s` compression as it contains non-integral values.",
+                    propertyKey,
+                    compression
+                ));
+            }
+            if (compression == PropertyCompression.DICTIONARY && dictionaryOverflow) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship property `%s` cannot use `%s` compression as it contains more than %d distinct values.",
+                    propertyKey,
+                    compression,
+                    MAX_DICTIONARY_SIZE
+                ));
+            }
+            return compression;
+        }
+
+        boolean isLossless(PropertyCompression encoding) {
+            switch (encoding) {
+                case INTEGRAL:
+                    return integral;
+                case DICTIONARY:
+                    return !dictionaryOverflow;
+                case FLOAT:
+                    return singlePrecision;
+                default:
+                    return true;
+            }
+        }
+
+        long totalBits(PropertyCompression encoding) {
+            long codeBits = count * bitsPerValue(encoding);
+            return encoding == PropertyCompression.DICTIONARY
+                ? codeBits + (long) distinct.size() * Double.SIZE
+                : codeBits;
+        }
+
+        int bitsPerValue(PropertyCompression encoding) {
+            switch (encoding) {
+                case INTEGRAL:
+                    // the range may overflow into the sign bit, the unsigned offset still fits into 64 bits
+                    return bitsNeeded(max - min);
+                case DICTIONARY:
+                    return bitsNeeded(distinct.size() - 1);
+                case FLOAT:
+                    return Float.SIZE;
+                default:
+                    return Double.SIZE;
+            }
+        }
+
+        long code(PropertyCompression encoding, long rawBits) {
+            switch (encoding) {
+                case INTEGRAL:
+                    return (long) Double.longBitsToDouble(rawBits) - min;
+                case DICTIONARY:
+                    return distinct.get(rawBits);
+                case FLOAT:
+                    return Float.floatToRawIntBits((float) Double.longBitsToDouble(rawBits)) & 0xFFFF_FFFFL;
+                default:
+                    throw new IllegalStateException(formatWithLocale("Unexpected property compression: %s", encoding));
+            }
+        }
+
+        void merge(Statistics other) {
+            count += other.count;
+            integral &= other.integral;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            singlePrecision &= other.singlePrecision;
+
+            if (!dictionaryOverflow && other.dictionaryOverflow) {
+                dictionaryOverflow = true;
+                distinct.release();
+            }
+            if (dictionaryOverflow) {
+                return;
+            }
+            // insert in the order of the partition codes, so that the dictionary does not depend on hashing
+            var otherValues = new long[other.distinct.size()];
+            for (var entry : other.distinct) {
+                otherValues[entry.value] = entry.key;
+            }
+            for (long rawBits : otherValues) {
+                if (distinct.containsKey(rawBits)) {
+                    continue;
+                }
+                if (distinct.size() == MAX_DICTIONARY_SIZE) {
+                    dictionaryOverflow = true;
+                    distinct.release();
+                    return;
+                }
+                distinct.put(rawBits, distinct.size());
+            }
+        }
+
+        double[] dictionary() {
+            var dictionary = new double[distinct.size()];
+            for (var entry : distinct) {
+                dictionary[entry.value] = Double.longBitsToDouble(entry.key);
+            }
+            return dictionary;
+        }
+    }
+}
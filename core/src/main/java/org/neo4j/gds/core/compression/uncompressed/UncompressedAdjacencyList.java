@@ -33,6 +33,7 @@ import org.neo4j.gds.collections.ha.HugeLongArray;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.compression.MemoryInfo;
 import org.neo4j.gds.core.compression.common.BumpAllocator;
+import org.neo4j.gds.core.compression.common.MemoryTracker;
 import org.neo4j.gds.core.loading.MutableIntValue;
 import org.neo4j.gds.mem.BitUtil;
 import org.neo4j.gds.mem.Estimate;
@@ -122,6 +123,36 @@ public final class UncompressedAdjacencyList implements AdjacencyList, Adjacency
         this.memoryInfo = memoryInfo;
     }
 
+    /**
+     * Creates an adjacency list from the pages, degrees and offsets of a previously built list,
+     * for example when a graph is restored from a snapshot.
+     */
+    public static UncompressedAdjacencyList of(long[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
+        var memoryInfo = new UncompressedAdjacencyListBuilder(MemoryTracker.empty()).memoryInfo(pages, degrees, offsets);
+        return new UncompressedAdjacencyList(pages, degrees, offsets, memoryInfo);
+    }
+
+    /**
+     * Creates a cursor over pages that are managed outside of an adjacency list,
+     * for example the pages of a lazily restored snapshot.
+     * The cursor reads from the array it is given, so the pages can be swapped between calls to {@code init}.
+     */
+    public static Cursor cursor(long[][] pages) {
+        return new Cursor(pages);
+    }
+
+    public long[][] pages() {
+        return pages;
+    }
+
+    public HugeIntArray degrees() {
+        return degrees;
+    }
+
+    public HugeLongArray offsets() {
+        return offsets;
+    }
+
     @Override
     public int degree(long node) {
         return degrees.get(node);
@@ -248,6 +279,14 @@ public final class UncompressedAdjacencyList implements AdjacencyList, Adjacency
             return currentPage[offset];
         }
 
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            int count = Math.min(max, limit - offset);
+            System.arraycopy(currentPage, offset, buffer, 0, count);
+            offset += count;
+            return count;
+        }
+
         @Override
         public long skipUntil(long target) {
             if (remaining() <= 0) {
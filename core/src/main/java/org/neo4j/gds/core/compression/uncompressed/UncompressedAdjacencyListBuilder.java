@@ -64,7 +64,7 @@ public final class UncompressedAdjacencyListBuilder implements AdjacencyListBuil
         return new UncompressedAdjacencyList(intoPages, degrees, offsets, memoryInfo);
     }
 
-    private MemoryInfo memoryInfo(long[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
+    MemoryInfo memoryInfo(long[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
         for (long[] page : pages) {
             this.memoryTracker.recordPageSize(page.length * Long.BYTES);
         }
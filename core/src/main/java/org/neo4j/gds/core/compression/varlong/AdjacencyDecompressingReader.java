@@ -89,6 +89,25 @@ final class AdjacencyDecompressingReader {
         return readNextBlock(remaining);
     }
 
+    /**
+     * Copies the next {@code length} targets into {@code buffer}.
+     * {@code remaining} is the number of targets that are left to decode before this call
+     * and must not be smaller than {@code length}.
+     */
+    void nextBatch(long[] buffer, int length, int remaining) {
+        int copied = 0;
+        while (copied < length) {
+            if (this.pos >= CHUNK_SIZE) {
+                offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining - copied, CHUNK_SIZE), block);
+                this.pos = 0;
+            }
+            int count = Math.min(length - copied, CHUNK_SIZE - this.pos);
+            System.arraycopy(block, this.pos, buffer, copied, count);
+            this.pos += count;
+            copied += count;
+        }
+    }
+
     private long readNextBlock(int remaining) {
         offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
         return block[0];
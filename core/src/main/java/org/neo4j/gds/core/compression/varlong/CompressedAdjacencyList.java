@@ -27,6 +27,7 @@ import org.neo4j.gds.api.AdjacencyList;
 import org.neo4j.gds.core.compression.MemoryInfo;
 import org.neo4j.gds.collections.PageUtil;
 import org.neo4j.gds.core.compression.common.BumpAllocator;
+import org.neo4j.gds.core.compression.common.MemoryTracker;
 import org.neo4j.gds.core.loading.MutableIntValue;
 import org.neo4j.gds.mem.MemoryEstimation;
 import org.neo4j.gds.mem.MemoryEstimations;
@@ -111,6 +112,36 @@ public final class CompressedAdjacencyList implements AdjacencyList {
         this.memoryInfo = memoryInfo;
     }
 
+    /**
+     * Creates an adjacency list from the pages, degrees and offsets of a previously built list,
+     * for example when a graph is restored from a snapshot.
+     */
+    public static CompressedAdjacencyList of(byte[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
+        var memoryInfo = new CompressedAdjacencyListBuilder(MemoryTracker.empty()).memoryInfo(pages, degrees, offsets);
+        return new CompressedAdjacencyList(pages, degrees, offsets, memoryInfo);
+    }
+
+    /**
+     * Creates a cursor over pages that are managed outside of an adjacency list,
+     * for example the pages of a lazily restored snapshot.
+     * The cursor reads from the array it is given, so the pages can be swapped between calls to {@code init}.
+     */
+    public static DecompressingCursor cursor(byte[][] pages) {
+        return new DecompressingCursor(pages);
+    }
+
+    public byte[][] pages() {
+        return pages;
+    }
+
+    public HugeIntArray degrees() {
+        return degrees;
+    }
+
+    public HugeLongArray offsets() {
+        return offsets;
+    }
+
     @Override
     public int degree(long node) {
         return degrees.get(node);
@@ -204,6 +235,15 @@ public final class CompressedAdjacencyList implements AdjacencyList {
             return decompress.peek(remaining);
         }
 
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            int remaining = remaining();
+            int count = Math.min(max, remaining);
+            decompress.nextBatch(buffer, count, remaining);
+            currentPosition += count;
+            return count;
+        }
+
         /**
          * Read and decode target ids until it is strictly larger than ({@literal >}) the provided {@code target}.
          * If there are no such targets before this cursor is exhausted, {@link org.neo4j.gds.api.AdjacencyCursor#NOT_FOUND -1} is returned.
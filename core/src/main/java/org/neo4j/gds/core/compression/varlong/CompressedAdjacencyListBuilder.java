@@ -63,7 +63,7 @@ public final class CompressedAdjacencyListBuilder implements AdjacencyListBuilde
         return new CompressedAdjacencyList(intoPages, degrees, offsets, memoryInfo);
     }
 
-    private MemoryInfo memoryInfo(byte[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
+    MemoryInfo memoryInfo(byte[][] pages, HugeIntArray degrees, HugeLongArray offsets) {
         for (byte[] page : pages) {
             this.memoryTracker.recordPageSize(page.length * Byte.BYTES);
         }
@@ -39,6 +39,7 @@ import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
 import org.neo4j.gds.api.properties.relationships.ImmutableProperties;
 import org.neo4j.gds.api.properties.relationships.Properties;
 import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.api.properties.relationships.RelationshipBatchConsumer;
 import org.neo4j.gds.api.properties.relationships.RelationshipConsumer;
 import org.neo4j.gds.api.properties.relationships.RelationshipCursor;
 import org.neo4j.gds.api.properties.relationships.RelationshipWithPropertyConsumer;
@@ -314,6 +315,17 @@ public class HugeGraph implements CSRGraph {
         runForEach(nodeId, fallbackValue, consumer);
     }
 
+    @Override
+    public void forEachRelationshipBatch(long nodeId, long[] buffer, RelationshipBatchConsumer consumer) {
+        var adjacencyCursor = adjacencyCursorForIteration(nodeId);
+        int length;
+        while ((length = adjacencyCursor.nextBatch(buffer, buffer.length)) > 0) {
+            if (!consumer.accept(nodeId, buffer, length)) {
+                break;
+            }
+        }
+    }
+
     @Override
     public void forEachInverseRelationship(long nodeId, RelationshipConsumer consumer) {
         runForEachInverse(nodeId, consumer);
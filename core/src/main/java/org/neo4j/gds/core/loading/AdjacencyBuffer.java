@@ -28,6 +28,7 @@ import org.neo4j.gds.RelationshipType;
 import org.neo4j.gds.api.compress.AdjacencyCompressor;
 import org.neo4j.gds.api.compress.AdjacencyCompressorFactory;
 import org.neo4j.gds.api.compress.LongArrayBuffer;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.compression.common.AdjacencyCompression;
 import org.neo4j.gds.core.compression.common.ZigZagLongDecoding;
@@ -73,11 +74,21 @@ public final class AdjacencyBuffer {
     private final double[] defaultValues;
     private final Aggregation[] aggregations;
     private final boolean atLeastOnePropertyToLoad;
+    private final PageAllocator pageAllocator;
 
     public static MemoryEstimation memoryEstimation(
         RelationshipType relationshipType,
         int propertyCount,
         boolean undirected
+    ) {
+        return memoryEstimation(relationshipType, propertyCount, undirected, false);
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        RelationshipType relationshipType,
+        int propertyCount,
+        boolean undirected,
+        boolean hashAggregation
     ) {
         return MemoryEstimations.setup("", (dimensions, concurrency) -> {
             long nodeCount = dimensions.nodeCount();
@@ -86,7 +97,7 @@ public final class AdjacencyBuffer {
                 .getOrDefault(relationshipType, dimensions.relCountUpperBound());
             long relCount = undirected ? relCountForType * 2 : relCountForType;
             long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
-            return memoryEstimation(avgDegree, nodeCount, propertyCount, concurrency);
+            return memoryEstimation(avgDegree, nodeCount, propertyCount, hashAggregation, concurrency);
         });
     }
 
@@ -95,6 +106,16 @@ public final class AdjacencyBuffer {
         long nodeCount,
         int propertyCount,
         Concurrency concurrency
+    ) {
+        return memoryEstimation(avgDegree, nodeCount, propertyCount, false, concurrency);
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        long avgDegree,
+        long nodeCount,
+        int propertyCount,
+        boolean hashAggregation,
+        Concurrency concurrency
     ) {
         var importSizing = ImportSizing.of(concurrency, nodeCount);
         var numberOfPages = importSizing.numberOfPages();
@@ -106,7 +127,9 @@ public final class AdjacencyBuffer {
             .fixed("ChunkedAdjacencyLists pages", sizeOfObjectArray(numberOfPages))
             .add(
                 "ChunkedAdjacencyLists",
-                ChunkedAdjacencyLists.memoryEstimation(avgDegree, pageSize, propertyCount).times(numberOfPages)
+                ChunkedAdjacencyLists
+                    .memoryEstimation(avgDegree, pageSize, propertyCount, hashAggregation)
+                    .times(numberOfPages)
             )
             .build();
     }
@@ -126,7 +149,9 @@ public final class AdjacencyBuffer {
         for (int page = 0; page < numPages; page++) {
             compressedAdjacencyLists[page] = ChunkedAdjacencyLists.of(
                 importMetaData.propertyKeyIds().length,
-                pageSize.orElse(0)
+                pageSize.orElse(0),
+                importMetaData.aggregations(),
+                importMetaData.hashAggregationThreshold()
             );
             chunkLocks[page] = new ReentrantLock();
         }
@@ -166,6 +191,7 @@ public final class AdjacencyBuffer {
         this.defaultValues = importMetaData.defaultValues();
         this.aggregations = importMetaData.aggregations();
         this.atLeastOnePropertyToLoad = atLeastOnePropertyToLoad;
+        this.pageAllocator = importMetaData.pageAllocator();
     }
 
     /**
@@ -219,7 +245,11 @@ public final class AdjacencyBuffer {
                 if (propertyValues == null) {
                     compressedTargets.add(localId, targets, startOffset, endOffset, targetsToImport);
                 } else {
-                    if (aggregations[0] != Aggregation.NONE && targetsToImport > 1) {
+                    if (
+                        aggregations[0] != Aggregation.NONE &&
+                        targetsToImport > 1 &&
+                        !compressedTargets.isHashAggregated(localId)
+                    ) {
                         targetsToImport = preAggregate(targets, propertyValues, startOffset, endOffset, aggregations);
                     }
                     compressedTargets.add(localId, targets, propertyValues, startOffset, endOffset, targetsToImport);
@@ -238,7 +268,7 @@ public final class AdjacencyBuffer {
         Optional<AdjacencyCompressor.ValueMapper> mapper,
         Optional<LongConsumer> drainCountConsumer
     ) {
-        adjacencyCompressorFactory.init();
+        adjacencyCompressorFactory.init(pageAllocator);
 
         var tasks = new ArrayList<AdjacencyListBuilderTask>(chunkedAdjacencyLists.length + 1);
         for (int page = 0; page < chunkedAdjacencyLists.length; page++) {
@@ -69,6 +69,33 @@ public class ArrayIdMap extends LabeledIdMap {
         return ESTIMATION;
     }
 
+    /**
+     * Creates an id map for the given internal to original id mapping.
+     * The label information must already refer to the internal ids.
+     */
+    public static ArrayIdMap of(
+        HugeLongArray internalToOriginalIds,
+        LabelInformation labelInformation,
+        long highestOriginalId,
+        Concurrency concurrency
+    ) {
+        var nodeCount = internalToOriginalIds.size();
+        var originalToInternalIds = ArrayIdMapBuilderOps.buildSparseIdMap(
+            nodeCount,
+            highestOriginalId,
+            concurrency,
+            internalToOriginalIds
+        );
+
+        return new ArrayIdMap(
+            internalToOriginalIds,
+            originalToInternalIds,
+            labelInformation,
+            nodeCount,
+            highestOriginalId
+        );
+    }
+
     /**
      * initialize the map with pre-built sub arrays
      */
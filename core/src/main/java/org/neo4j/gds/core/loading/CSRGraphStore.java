@@ -427,6 +427,13 @@ public final class CSRGraphStore implements GraphStore {
             );
     }
 
+    /**
+     * Returns the topologies and properties of the given relationship type as they are stored in this graph store.
+     */
+    public Optional<SingleTypeRelationships> relationships(RelationshipType relationshipType) {
+        return Optional.ofNullable(relationships.get(relationshipType));
+    }
+
     @Override
     public void addRelationshipType(SingleTypeRelationships relationships) {
         updateGraphStore(graphStore -> {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading;
+
+/**
+ * Decides what happens to a graph that is evicted from the {@link GraphStoreCatalog}
+ * because the catalog exceeds its memory budget.
+ */
+@FunctionalInterface
+public interface CatalogEvictionPolicy {
+
+    CatalogEvictionPolicy DROP = (username, catalogEntry) -> true;
+
+    /**
+     * Called before the graph is removed from the catalog.
+     *
+     * @return whether the graph can be removed, the graph is kept if this returns {@code false}
+     */
+    boolean evict(String username, GraphStoreCatalogEntry catalogEntry);
+
+    /**
+     * Policies that take a while, for example because they write the graph to disk,
+     * run on a background thread so that adding a graph is not blocked by evicting other graphs.
+     */
+    default boolean runsInBackground() {
+        return false;
+    }
+}
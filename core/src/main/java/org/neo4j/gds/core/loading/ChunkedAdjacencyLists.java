@@ -19,6 +19,10 @@
  */
 package org.neo4j.gds.core.loading;
 
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.collections.ArrayUtil;
 import org.neo4j.gds.collections.DrainingIterator;
 import org.neo4j.gds.collections.hsa.HugeSparseCollections;
@@ -26,6 +30,9 @@ import org.neo4j.gds.collections.hsl.HugeSparseByteArrayList;
 import org.neo4j.gds.collections.hsl.HugeSparseIntList;
 import org.neo4j.gds.collections.hsl.HugeSparseLongArrayList;
 import org.neo4j.gds.collections.hsl.HugeSparseLongList;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.compression.common.AdjacencyCompression;
+import org.neo4j.gds.core.compression.common.ZigZagLongDecoding;
 import org.neo4j.gds.mem.MemoryEstimation;
 import org.neo4j.gds.mem.MemoryEstimations;
 import org.neo4j.gds.mem.MemoryRange;
@@ -45,6 +52,17 @@ import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
 
 public final class ChunkedAdjacencyLists {
 
+    /**
+     * The buffered degree from which parallel relationships of a node may be aggregated on insertion,
+     * {@code 0} disables hash aggregation.
+     */
+    public static final int DEFAULT_HASH_AGGREGATION_THRESHOLD = 0;
+
+    // a distinct target takes more memory in the hash map than in the compressed buffer,
+    // so a node only switches to hash aggregation if a sample of its targets has enough duplicates
+    static final double MIN_SAMPLED_DUPLICATE_RATIO = 0.5;
+    static final int DUPLICATE_SAMPLE_SIZE = 1024;
+
     private static final byte[] EMPTY_BYTES = new byte[0];
     private static final long[] EMPTY_PROPERTIES = new long[0];
 
@@ -54,7 +72,25 @@ public final class ChunkedAdjacencyLists {
     private final HugeSparseLongList lastValues;
     private final HugeSparseIntList lengths;
 
+    private final Aggregation[] aggregations;
+    private final int hashAggregationThreshold;
+    // high-degree nodes whose targets are deduplicated on insertion, null if relationships are not aggregated
+    private final @Nullable LongObjectHashMap<HashAggregatedTargets> hashAggregatedTargets;
+
     public static MemoryEstimation memoryEstimation(long avgDegree, long nodeCount, int propertyCount) {
+        return memoryEstimation(avgDegree, nodeCount, propertyCount, false);
+    }
+
+    /**
+     * @param hashAggregation whether nodes may switch to hash aggregation, which, in the worst case,
+     *                        keeps every buffered relationship in a hash map as well
+     */
+    public static MemoryEstimation memoryEstimation(
+        long avgDegree,
+        long nodeCount,
+        int propertyCount,
+        boolean hashAggregation
+    ) {
         // Best case scenario:
         // Difference between node identifiers in each adjacency list is 1.
         // This leads to ideal compression through delta encoding.
@@ -68,7 +104,7 @@ public final class ChunkedAdjacencyLists {
         long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
         long worstCaseCompressedTargetsSize = compressedTargetSize(avgDegree, nodeCount, deltaWorstCase);
 
-        return MemoryEstimations.builder(ChunkedAdjacencyLists.class)
+        var builder = MemoryEstimations.builder(ChunkedAdjacencyLists.class)
             .fixed("compressed targets", MemoryRange.of(bestCaseCompressedTargetsSize, worstCaseCompressedTargetsSize))
             .fixed("positions", HugeSparseCollections.estimateInt(nodeCount, nodeCount))
             .fixed("lengths", HugeSparseCollections.estimateInt(nodeCount, nodeCount))
@@ -76,8 +112,22 @@ public final class ChunkedAdjacencyLists {
             .fixed(
                 "properties",
                 HugeSparseCollections.estimateLongArray(nodeCount, nodeCount, (int) avgDegree).times(propertyCount)
-            )
-            .build();
+            );
+
+        if (hashAggregation) {
+            builder.fixed(
+                "hash aggregated targets",
+                MemoryRange.of(0, hashAggregatedTargetsSize(avgDegree * nodeCount, propertyCount))
+            );
+        }
+
+        return builder.build();
+    }
+
+    private static long hashAggregatedTargetsSize(long targetCount, int propertyCount) {
+        long hashMapSize = Estimate.sizeOfLongArray((long) Math.ceil(targetCount * 1.25)) +
+                           Estimate.sizeOfIntArray((long) Math.ceil(targetCount * 1.25));
+        return hashMapSize + Estimate.sizeOfLongArray(targetCount) * (1 + propertyCount);
     }
 
     private static long compressedTargetSize(long avgDegree, long nodeCount, long delta) {
@@ -88,15 +138,41 @@ public final class ChunkedAdjacencyLists {
     }
 
     public static ChunkedAdjacencyLists of(int numberOfProperties, long initialCapacity) {
-        return new ChunkedAdjacencyLists(numberOfProperties, initialCapacity);
+        return of(numberOfProperties, initialCapacity, new Aggregation[]{Aggregation.NONE}, 0);
+    }
+
+    /**
+     * Creates adjacency lists that sample the targets of a node once it has buffered
+     * {@code hashAggregationThreshold} targets, and again whenever that number doubles.
+     * If the sampled duplicate ratio is at least {@link #MIN_SAMPLED_DUPLICATE_RATIO}, the node switches to
+     * hash aggregation. From then on, parallel relationships of that node are merged on insertion using the
+     * given aggregations, instead of being buffered until the adjacency list is built.
+     * A threshold of {@code 0} disables hash aggregation, as do the {@link Aggregation#NONE} aggregations.
+     */
+    public static ChunkedAdjacencyLists of(
+        int numberOfProperties,
+        long initialCapacity,
+        Aggregation[] aggregations,
+        int hashAggregationThreshold
+    ) {
+        return new ChunkedAdjacencyLists(numberOfProperties, initialCapacity, aggregations, hashAggregationThreshold);
     }
 
-    private ChunkedAdjacencyLists(int numberOfProperties, long initialCapacity) {
+    private ChunkedAdjacencyLists(
+        int numberOfProperties,
+        long initialCapacity,
+        Aggregation[] aggregations,
+        int hashAggregationThreshold
+    ) {
         this.targetLists = HugeSparseByteArrayList.of(EMPTY_BYTES, initialCapacity);
         this.positions = HugeSparseIntList.of(0, initialCapacity);
         this.lastValues = HugeSparseLongList.of(0, initialCapacity);
         this.lengths = HugeSparseIntList.of(0, initialCapacity);
 
+        this.aggregations = aggregations;
+        this.hashAggregationThreshold = hashAggregationThreshold;
+        boolean aggregate = aggregations.length > 0 && aggregations[0] != Aggregation.NONE;
+        this.hashAggregatedTargets = aggregate && hashAggregationThreshold > 0 ? new LongObjectHashMap<>() : null;
 
         if (numberOfProperties > 0) {
             this.properties = new HugeSparseLongArrayList[numberOfProperties];
@@ -114,6 +190,18 @@ public final class ChunkedAdjacencyLists {
      * @param end     end index in values
      */
     public void add(long index, long[] targets, int start, int end, int valuesToAdd) {
+        var hashAggregated = hashAggregatedTargets(index);
+        if (hashAggregated != null) {
+            hashAggregated.add(targets, null, start, end);
+            return;
+        }
+
+        int lengthBefore = lengths.get(index);
+        addTargets(index, targets, start, end, valuesToAdd);
+        switchToHashAggregationIfNeeded(index, lengthBefore);
+    }
+
+    private void addTargets(long index, long[] targets, int start, int end, int valuesToAdd) {
         // not inlined to avoid field access
         long currentLastValue = this.lastValues.get(index);
         long delta;
@@ -151,13 +239,124 @@ public final class ChunkedAdjacencyLists {
      * @param targetsToAdd  the actual number of targets to import from this range
      */
     public void add(long index, long[] targets, long[][] allProperties, int start, int end, int targetsToAdd) {
+        var hashAggregated = hashAggregatedTargets(index);
+        if (hashAggregated != null) {
+            hashAggregated.add(targets, allProperties, start, end);
+            return;
+        }
+
+        int lengthBefore = lengths.get(index);
+        addTargetsWithProperties(index, targets, allProperties, start, end, targetsToAdd);
+        switchToHashAggregationIfNeeded(index, lengthBefore);
+    }
+
+    /**
+     * Whether parallel relationships of the node are already merged on insertion,
+     * so that there is no need to pre-aggregate them before adding.
+     */
+    public boolean isHashAggregated(long index) {
+        return hashAggregatedTargets(index) != null;
+    }
+
+    private void addTargetsWithProperties(
+        long index,
+        long[] targets,
+        long[][] allProperties,
+        int start,
+        int end,
+        int targetsToAdd
+    ) {
         // write properties
         for (int i = 0; i < allProperties.length; i++) {
             addProperties(index, targets, allProperties[i], start, end, i, targetsToAdd);
         }
 
         // write values
-        add(index, targets, start, end, targetsToAdd);
+        addTargets(index, targets, start, end, targetsToAdd);
+    }
+
+    private @Nullable HashAggregatedTargets hashAggregatedTargets(long index) {
+        if (hashAggregatedTargets == null || hashAggregatedTargets.isEmpty()) {
+            return null;
+        }
+        return hashAggregatedTargets.get(index);
+    }
+
+    private void switchToHashAggregationIfNeeded(long index, int lengthBefore) {
+        if (hashAggregatedTargets == null) {
+            return;
+        }
+        var length = lengths.get(index);
+        // sample at the threshold and whenever the buffered degree has doubled since the last sample
+        if (length < hashAggregationThreshold ||
+            Integer.highestOneBit(length / hashAggregationThreshold) ==
+            Integer.highestOneBit(lengthBefore / hashAggregationThreshold)) {
+            return;
+        }
+
+        var targets = new long[length];
+        AdjacencyCompression.zigZagUncompressFrom(
+            targets,
+            targetLists.get(index),
+            length,
+            positions.get(index),
+            ZigZagLongDecoding.Identity.INSTANCE
+        );
+        if (sampledDuplicateRatio(targets) < MIN_SAMPLED_DUPLICATE_RATIO) {
+            return;
+        }
+
+        targetLists.set(index, EMPTY_BYTES);
+        positions.set(index, 0);
+        lastValues.set(index, 0);
+        lengths.set(index, 0);
+
+        long[][] allProperties = null;
+        if (properties != null) {
+            allProperties = new long[properties.length][];
+            for (int i = 0; i < properties.length; i++) {
+                allProperties[i] = properties[i].get(index);
+                properties[i].set(index, EMPTY_PROPERTIES);
+            }
+        }
+
+        var hashAggregated = new HashAggregatedTargets(aggregations, properties == null ? 0 : properties.length);
+        hashAggregated.add(targets, allProperties, 0, length);
+        hashAggregatedTargets.put(index, hashAggregated);
+    }
+
+    /**
+     * The ratio of duplicates among up to {@link #DUPLICATE_SAMPLE_SIZE} targets, taken at equal distances.
+     */
+    static double sampledDuplicateRatio(long[] targets) {
+        int stride = Math.max(1, targets.length / DUPLICATE_SAMPLE_SIZE);
+        var distinctTargets = new LongHashSet();
+        int sampleSize = 0;
+        for (int i = 0; i < targets.length; i += stride) {
+            distinctTargets.add(targets[i]);
+            sampleSize++;
+        }
+        return sampleSize == 0 ? 0 : 1 - (double) distinctTargets.size() / sampleSize;
+    }
+
+    /**
+     * Writes the deduplicated targets of hash aggregated nodes back into the compressed buffers.
+     */
+    private void flushHashAggregatedTargets() {
+        if (hashAggregatedTargets == null || hashAggregatedTargets.isEmpty()) {
+            return;
+        }
+        for (var cursor : hashAggregatedTargets) {
+            var hashAggregated = cursor.value;
+            var size = hashAggregated.size;
+            if (properties == null) {
+                addTargets(cursor.key, hashAggregated.targets, 0, size, size);
+            } else {
+                addTargetsWithProperties(cursor.key, hashAggregated.targets, hashAggregated.properties, 0, size, size);
+            }
+        }
+        hashAggregatedTargets.clear();
+        hashAggregatedTargets.release();
     }
 
     private void addProperties(
@@ -254,6 +453,7 @@ public final class ChunkedAdjacencyLists {
     }
 
     public void consume(Consumer consumer) {
+        flushHashAggregatedTargets();
         new CompositeDrainingIterator(targetLists, properties, positions, lastValues, lengths).consume(consumer);
     }
 
@@ -267,6 +467,63 @@ public final class ChunkedAdjacencyLists {
         );
     }
 
+    /**
+     * The distinct targets of a single node, together with their aggregated properties.
+     */
+    private static final class HashAggregatedTargets {
+        private final Aggregation[] aggregations;
+        private final LongIntHashMap positionsByTarget;
+        private final long[][] properties;
+        private long[] targets;
+        private int size;
+
+        HashAggregatedTargets(Aggregation[] aggregations, int numberOfProperties) {
+            this.aggregations = aggregations;
+            this.positionsByTarget = new LongIntHashMap();
+            this.targets = new long[0];
+            this.properties = new long[numberOfProperties][];
+            Arrays.setAll(this.properties, i -> EMPTY_PROPERTIES);
+        }
+
+        void add(long[] newTargets, long[] @Nullable [] newProperties, int start, int end) {
+            for (int i = start; i < end; i++) {
+                long target = newTargets[i];
+                if (target == IGNORE_VALUE) {
+                    continue;
+                }
+                int slot = positionsByTarget.indexOf(target);
+                if (positionsByTarget.indexExists(slot)) {
+                    int position = positionsByTarget.indexGet(slot);
+                    for (int propertyId = 0; propertyId < properties.length; propertyId++) {
+                        double runningTotal = Double.longBitsToDouble(properties[propertyId][position]);
+                        double value = Double.longBitsToDouble(newProperties[propertyId][i]);
+                        double updatedProperty = aggregations[propertyId].merge(runningTotal, value);
+                        properties[propertyId][position] = Double.doubleToLongBits(updatedProperty);
+                    }
+                } else {
+                    positionsByTarget.indexInsert(slot, target, size);
+                    ensureCapacity(size + 1);
+                    targets[size] = target;
+                    for (int propertyId = 0; propertyId < properties.length; propertyId++) {
+                        properties[propertyId][size] = newProperties[propertyId][i];
+                    }
+                    size++;
+                }
+            }
+        }
+
+        private void ensureCapacity(int minLength) {
+            if (targets.length >= minLength) {
+                return;
+            }
+            var newLength = getNewLength(minLength);
+            targets = Arrays.copyOf(targets, newLength);
+            for (int propertyId = 0; propertyId < properties.length; propertyId++) {
+                properties[propertyId] = Arrays.copyOf(properties[propertyId], newLength);
+            }
+        }
+    }
+
     private static class CompositeDrainingIterator {
         private final DrainingIterator<byte[][]> targetListIterator;
         private final DrainingIterator.DrainingBatch<byte[][]> targetListBatch;
@@ -30,17 +30,27 @@ import org.neo4j.gds.api.graph.store.catalog.GraphStoreAddedEventListener;
 import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEvent;
 import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEventListener;
 import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.concurrency.ExecutorServiceUtil;
 import org.neo4j.gds.logging.Log;
 import org.neo4j.gds.mem.MemoryUsage;
 import org.neo4j.gds.utils.ExceptionUtil;
 import org.neo4j.gds.utils.StringJoining;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -58,6 +68,15 @@ public final class GraphStoreCatalog {
     // we make the log injectable
     private static Optional<Log> log = Optional.empty();
 
+    // graphs are evicted in the order of their last access once the catalog exceeds its memory budget
+    private static final AtomicLong accessClock = new AtomicLong();
+    private static volatile long maxMemoryInBytes = Long.MAX_VALUE;
+    private static volatile CatalogEvictionPolicy evictionPolicy = CatalogEvictionPolicy.DROP;
+    // evictions that write the graph somewhere must not block the thread that added a graph
+    private static final ExecutorService evictionExecutor = ExecutorServiceUtil.createSingleThreadPool(
+        "GDS-CatalogEviction"
+    );
+
     private GraphStoreCatalog() {
     }
 
@@ -81,6 +100,28 @@ public final class GraphStoreCatalog {
         GraphStoreCatalog.log = Optional.of(log);
     }
 
+    /**
+     * Limits the estimated memory of all graphs in the catalog.
+     * Whenever a graph is added and the limit is exceeded, the least recently used graphs are passed
+     * to the eviction policy and removed until the catalog fits again.
+     * The graph that has just been added is never evicted.
+     */
+    public static void setMemoryBudget(long maxMemoryInBytes, CatalogEvictionPolicy evictionPolicy) {
+        if (maxMemoryInBytes <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The catalog memory budget must be positive, but got %d bytes.",
+                maxMemoryInBytes
+            ));
+        }
+        GraphStoreCatalog.evictionPolicy = evictionPolicy;
+        GraphStoreCatalog.maxMemoryInBytes = maxMemoryInBytes;
+    }
+
+    public static void removeMemoryBudget() {
+        GraphStoreCatalog.maxMemoryInBytes = Long.MAX_VALUE;
+        GraphStoreCatalog.evictionPolicy = CatalogEvictionPolicy.DROP;
+    }
+
     public static GraphStoreCatalogEntry get(CatalogRequest request, String graphName) {
         var userCatalogKey = UserCatalog.UserCatalogKey.of(request.databaseName(), graphName);
         var ownCatalog = getUserCatalog(request.username());
@@ -185,15 +226,13 @@ public final class GraphStoreCatalog {
     }
 
     public static void set(GraphProjectConfig config, GraphStore graphStore) {
+        var userCatalogKey = UserCatalog.UserCatalogKey.of(graphStore.databaseInfo().databaseId(), config.graphName());
+        var memoryInBytes = MemoryUsage.sizeOf(graphStore);
         userCatalogs.compute(config.username(), (user, userCatalog) -> {
             if (userCatalog == null) {
                 userCatalog = new UserCatalog();
             }
-            userCatalog.set(
-                UserCatalog.UserCatalogKey.of(graphStore.databaseInfo().databaseId(), config.graphName()),
-                config,
-                graphStore
-            );
+            userCatalog.set(userCatalogKey, config, graphStore, memoryInBytes);
             return userCatalog;
         });
 
@@ -210,12 +249,213 @@ public final class GraphStoreCatalog {
                         config.username(),
                         graphStore.databaseInfo().databaseId().databaseName(),
                         config.graphName(),
-                        MemoryUsage.sizeOf(graphStore)
+                        memoryInBytes
                     )
                 ),
                 log.orElseGet(Log::noOpLog)::warn
             )
         );
+
+        enforceMemoryBudget(config.username(), userCatalogKey);
+    }
+
+    /**
+     * Replaces a graph in the catalog with a new version of it, for example a refreshed one.
+     * The result store is kept, listeners see the old graph being removed and the new one being added.
+     */
+    public static void replace(GraphProjectConfig config, GraphStore graphStore) {
+        var userCatalogKey = UserCatalog.UserCatalogKey.of(graphStore.databaseInfo().databaseId(), config.graphName());
+        var memoryInBytes = MemoryUsage.sizeOf(graphStore);
+        var replaced = getUserCatalog(config.username()).replace(userCatalogKey, config, graphStore, memoryInBytes);
+
+        var databaseName = graphStore.databaseInfo().databaseId().databaseName();
+        graphStoreRemovedEventListeners.forEach(
+            listener -> ExceptionUtil.safeRunWithLogException(
+                () -> String.format(
+                    Locale.US,
+                    "Could not call listener %s on replacing the graph %s",
+                    listener,
+                    config.graphName()
+                ),
+                () -> listener.onGraphStoreRemoved(
+                    new GraphStoreRemovedEvent(
+                        config.username(),
+                        databaseName,
+                        config.graphName(),
+                        MemoryUsage.sizeOf(replaced.graphStore())
+                    )
+                ),
+                log.orElseGet(Log::noOpLog)::warn
+            )
+        );
+        graphStoreAddedEventListeners.forEach(
+            listener -> ExceptionUtil.safeRunWithLogException(
+                () -> String.format(
+                    Locale.US,
+                    "Could not call listener %s on replacing the graph %s",
+                    listener,
+                    config.graphName()
+                ),
+                () -> listener.onGraphStoreAdded(
+                    new GraphStoreAddedEvent(
+                        config.username(),
+                        databaseName,
+                        config.graphName(),
+                        memoryInBytes
+                    )
+                ),
+                log.orElseGet(Log::noOpLog)::warn
+            )
+        );
+
+        enforceMemoryBudget(config.username(), userCatalogKey);
+    }
+
+    /**
+     * Keeps the graph from being evicted while it is in use, for example by an algorithm.
+     * Graphs are pinned by identity, so every catalog entry of the given graph store is pinned.
+     * Closing the returned pin more than once has no further effect.
+     */
+    public static Pin pin(GraphStore graphStore) {
+        var usages = new ArrayList<CatalogUsage>();
+        userCatalogs.values().forEach(userCatalog -> userCatalog.graphsByName.forEach((key, entry) -> {
+            var usage = userCatalog.usageByName.get(key);
+            if (entry.graphStore() == graphStore && usage != null) {
+                usage.pins.incrementAndGet();
+                usages.add(usage);
+            }
+        }));
+        var closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                usages.forEach(usage -> usage.pins.decrementAndGet());
+            }
+        };
+    }
+
+    private static void enforceMemoryBudget(String addedUsername, UserCatalog.UserCatalogKey addedKey) {
+        var budget = maxMemoryInBytes;
+        if (budget == Long.MAX_VALUE) {
+            return;
+        }
+
+        var policy = evictionPolicy;
+        measureModifiedGraphs();
+        var victims = selectVictims(budget, addedUsername, addedKey);
+        if (victims.isEmpty()) {
+            return;
+        }
+
+        if (policy.runsInBackground()) {
+            evictionExecutor.execute(() -> evict(victims, policy, budget));
+        } else {
+            evict(victims, policy, budget);
+        }
+    }
+
+    /**
+     * Measures the graphs that have been mutated since they were last measured.
+     * Measuring walks the whole graph, so it must happen outside of the lock of {@link #selectVictims}.
+     */
+    private static void measureModifiedGraphs() {
+        userCatalogs.values().forEach(userCatalog -> userCatalog.usageByName.forEach((key, usage) -> {
+            var catalogEntry = userCatalog.graphsByName.get(key);
+            if (catalogEntry != null) {
+                usage.measureIfModified(catalogEntry.graphStore());
+            }
+        }));
+    }
+
+    /**
+     * Picks the least recently used graphs until the catalog fits into its budget again.
+     * Only the choice is made under the lock, based on the sizes measured when the graphs were stored,
+     * replaced or last modified. Measuring and the eviction itself happen outside of the lock.
+     */
+    private static synchronized List<EvictionCandidate> selectVictims(
+        long budget,
+        String addedUsername,
+        UserCatalog.UserCatalogKey addedKey
+    ) {
+        var candidates = new ArrayList<EvictionCandidate>();
+        long usedMemory = 0;
+        for (var userCatalogEntry : userCatalogs.entrySet()) {
+            var username = userCatalogEntry.getKey();
+            var userCatalog = userCatalogEntry.getValue();
+            for (var usageEntry : userCatalog.usageByName.entrySet()) {
+                var catalogEntry = userCatalog.graphsByName.get(usageEntry.getKey());
+                var usage = usageEntry.getValue();
+                // graphs that are being evicted already will release their memory soon
+                if (catalogEntry == null || usage.evicting) {
+                    continue;
+                }
+                usedMemory += usage.memoryInBytes;
+                var isAdded = username.equals(addedUsername) && usageEntry.getKey().equals(addedKey);
+                if (!isAdded && !usage.isPinned()) {
+                    candidates.add(new EvictionCandidate(username, usageEntry.getKey(), usage));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.usage().lastAccess));
+
+        var victims = new ArrayList<EvictionCandidate>();
+        for (var candidate : candidates) {
+            if (usedMemory <= budget) {
+                break;
+            }
+            candidate.usage().evicting = true;
+            usedMemory -= candidate.usage().memoryInBytes;
+            victims.add(candidate);
+        }
+
+        if (usedMemory > budget) {
+            log.orElseGet(Log::noOpLog).warn(
+                "The graph catalog uses %d bytes, which exceeds its memory budget of %d bytes.",
+                usedMemory,
+                budget
+            );
+        }
+
+        return victims;
+    }
+
+    private static void evict(List<EvictionCandidate> victims, CatalogEvictionPolicy policy, long budget) {
+        for (var victim : victims) {
+            var usage = victim.usage();
+            try {
+                var userCatalog = getUserCatalog(victim.username());
+                var catalogEntry = userCatalog.graphsByName.get(victim.key());
+                // the graph might have been dropped, replaced or taken into use in the meantime
+                if (catalogEntry == null || userCatalog.usageByName.get(victim.key()) != usage || usage.isPinned()) {
+                    continue;
+                }
+                if (!policy.evict(victim.username(), catalogEntry) || usage.isPinned()) {
+                    continue;
+                }
+                if (userCatalog.remove(victim.key(), __ -> {}, false, true)) {
+                    log.orElseGet(Log::noOpLog).info(
+                        "Evicted graph `%s` of user `%s` (%d bytes) " +
+                        "to stay within the catalog memory budget of %d bytes.",
+                        victim.key().graphName(),
+                        victim.username(),
+                        usage.memoryInBytes,
+                        budget
+                    );
+                }
+            } finally {
+                usage.evicting = false;
+            }
+        }
+    }
+
+    @TestOnly
+    static void awaitEvictions() {
+        try {
+            evictionExecutor.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
     public static boolean exists(String username, String databaseName, String graphName) {
@@ -309,6 +549,53 @@ public final class GraphStoreCatalog {
     public record GraphStoreCatalogEntryWithUsername(GraphStoreCatalogEntry catalogEntry, String username) {
     }
 
+    private record EvictionCandidate(String username, UserCatalog.UserCatalogKey key, CatalogUsage usage) {
+    }
+
+    /**
+     * A handle on a pinned graph, closing it allows the graph to be evicted again.
+     */
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class CatalogUsage {
+        private final AtomicInteger pins = new AtomicInteger();
+        private volatile long memoryInBytes;
+        private volatile ZonedDateTime sizedAt;
+        private volatile long lastAccess;
+        private volatile boolean evicting;
+
+        private CatalogUsage(GraphStore graphStore, long memoryInBytes) {
+            // the size is unknown if the memory layout of the VM cannot be inspected
+            this.memoryInBytes = Math.max(memoryInBytes, 0);
+            this.sizedAt = graphStore.modificationTime();
+            this.lastAccess = accessClock.incrementAndGet();
+        }
+
+        private void touch() {
+            this.lastAccess = accessClock.incrementAndGet();
+        }
+
+        private boolean isPinned() {
+            return pins.get() > 0;
+        }
+
+        /**
+         * Mutations, such as adding node properties, change the size of a graph,
+         * so the size is measured again whenever the graph has been modified since it was last measured.
+         */
+        private void measureIfModified(GraphStore graphStore) {
+            var modificationTime = graphStore.modificationTime();
+            if (!modificationTime.equals(sizedAt)) {
+                memoryInBytes = Math.max(MemoryUsage.sizeOf(graphStore), 0);
+                sizedAt = modificationTime;
+            }
+        }
+    }
+
     static class UserCatalog {
 
         @ValueClass
@@ -333,10 +620,13 @@ public final class GraphStoreCatalog {
 
         private final Map<UserCatalogKey, Map<String, Object>> degreeDistributionByName = new ConcurrentHashMap<>();
 
+        private final Map<UserCatalogKey, CatalogUsage> usageByName = new ConcurrentHashMap<>();
+
         private void set(
             UserCatalogKey userCatalogKey,
             GraphProjectConfig config,
-            GraphStore graphStore
+            GraphStore graphStore,
+            long memoryInBytes
         ) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
@@ -357,6 +647,24 @@ public final class GraphStoreCatalog {
                 );
             }
             graphsByName.put(userCatalogKey, graphStoreCatalogEntry);
+            usageByName.put(userCatalogKey, new CatalogUsage(graphStore, memoryInBytes));
+        }
+
+        private GraphStoreCatalogEntry replace(
+            UserCatalogKey userCatalogKey,
+            GraphProjectConfig config,
+            GraphStore graphStore,
+            long memoryInBytes
+        ) {
+            var current = graphsByName.get(userCatalogKey);
+            if (current == null) {
+                throw new GraphNotFoundException(userCatalogKey);
+            }
+            graphsByName.put(userCatalogKey, new GraphStoreCatalogEntry(graphStore, config, current.resultStore()));
+            usageByName.put(userCatalogKey, new CatalogUsage(graphStore, memoryInBytes));
+            // the degree distribution is computed lazily and would be stale
+            removeDegreeDistribution(userCatalogKey);
+            return current;
         }
 
         private void setDegreeDistribution(UserCatalogKey userCatalogKey, Map<String, Object> degreeDistribution) {
@@ -387,6 +695,13 @@ public final class GraphStoreCatalog {
                 throw new GraphNotFoundException(userCatalogKey);
             }
 
+            if (graphStoreWithConfig != null) {
+                var usage = usageByName.get(userCatalogKey);
+                if (usage != null) {
+                    usage.touch();
+                }
+            }
+
             return graphStoreWithConfig;
         }
 
@@ -405,12 +720,22 @@ public final class GraphStoreCatalog {
             UserCatalogKey userCatalogKey,
             Consumer<GraphStoreCatalogEntry> removedGraphConsumer,
             boolean failOnMissing
+        ) {
+            return remove(userCatalogKey, removedGraphConsumer, failOnMissing, false);
+        }
+
+        private boolean remove(
+            UserCatalogKey userCatalogKey,
+            Consumer<GraphStoreCatalogEntry> removedGraphConsumer,
+            boolean failOnMissing,
+            boolean evicted
         ) {
             return Optional.ofNullable(get(userCatalogKey, failOnMissing))
                 .map(graphStoreWithConfig -> {
                     removedGraphConsumer.accept(graphStoreWithConfig);
                     removeDegreeDistribution(userCatalogKey);
                     var removed = graphsByName.remove(userCatalogKey);
+                    usageByName.remove(userCatalogKey);
                     var config = removed.config();
                     var graphStore = removed.graphStore();
 
@@ -427,7 +752,8 @@ public final class GraphStoreCatalog {
                                     config.username(),
                                     graphStore.databaseInfo().databaseId().databaseName(),
                                     config.graphName(),
-                                    MemoryUsage.sizeOf(graphStore)
+                                    MemoryUsage.sizeOf(graphStore),
+                                    evicted
                                 )
                             ),
                             log.orElseGet(Log::noOpLog)::warn
@@ -70,6 +70,13 @@ public class GraphStoreCatalogService {
         return GraphStoreCatalog.get(catalogRequest, graphName.getValue());
     }
 
+    /**
+     * Keep the graph store in the catalog while it is in use, even if the catalog exceeds its memory budget.
+     */
+    public GraphStoreCatalog.Pin pin(GraphStore graphStore) {
+        return GraphStoreCatalog.pin(graphStore);
+    }
+
     /**
      * Load graphstore and graph, with copious validation.
      */
@@ -225,4 +232,8 @@ public class GraphStoreCatalogService {
     public void set(GraphProjectConfig configuration, GraphStore graphStore) {
         GraphStoreCatalog.set(configuration, graphStore);
     }
+
+    public void replace(GraphProjectConfig configuration, GraphStore graphStore) {
+        GraphStoreCatalog.replace(configuration, graphStore);
+    }
 }
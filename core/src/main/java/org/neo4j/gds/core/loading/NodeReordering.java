@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.annotation.ValueClass;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.ImmutableTopology;
+import org.neo4j.gds.api.Topology;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.ImmutableNodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.properties.relationships.ImmutableRelationshipProperty;
+import org.neo4j.gds.api.properties.relationships.RelationshipPropertyStore;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.compression.properties.CompressedAdjacencyProperties;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.ParallelUtil;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.huge.CSRCompositeRelationshipIterator;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.neo4j.gds.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
+import org.neo4j.gds.core.utils.paged.HugeSerialIndirectMergeSort;
+import org.neo4j.gds.core.utils.partition.PartitionUtils;
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+import org.neo4j.gds.termination.TerminationFlag;
+import org.neo4j.gds.utils.GdsFeatureToggles.NodeReorderingStrategy;
+import org.neo4j.gds.values.primitive.PrimitiveValues;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongUnaryOperator;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Relabels the nodes of a freshly projected graph in order to improve memory locality.
+ * <p>
+ * Node ids are assigned in the order in which nodes are scanned from the store,
+ * which is unrelated to the graph structure. Since degrees are only known after the
+ * relationships have been imported, relabeling is done as a separate pass over the
+ * imported {@link Nodes} and {@link RelationshipImportResult}: the id map, node properties
+ * and adjacency lists are rebuilt according to the new order. The original ids are kept
+ * in the new id map, so that results that are streamed or written back are unaffected.
+ * <p>
+ * The relabeled graph is built next to the imported one, so both are held in memory
+ * until the imported graph is released, see {@link #memoryEstimation(MemoryEstimation)}.
+ */
+public final class NodeReordering {
+
+    private static final EnumSet<ValueType> SUPPORTED_NODE_PROPERTY_TYPES = EnumSet.of(
+        ValueType.LONG,
+        ValueType.DOUBLE,
+        ValueType.DOUBLE_ARRAY,
+        ValueType.FLOAT_ARRAY,
+        ValueType.LONG_ARRAY
+    );
+
+    @ValueClass
+    public interface ReorderedGraph {
+        Nodes nodes();
+
+        RelationshipImportResult relationshipImportResult();
+    }
+
+    private NodeReordering() {}
+
+    /**
+     * Estimates the memory needed in addition to the imported graph while the nodes are reordered.
+     *
+     * @param reorderedGraph the estimation of the graph after loading, which is built a second time
+     */
+    public static MemoryEstimation memoryEstimation(MemoryEstimation reorderedGraph) {
+        return MemoryEstimations.builder(NodeReordering.class.getSimpleName())
+            .perNode("new to old ids", HugeLongArray::memoryEstimation)
+            .perNode("old to new ids", HugeLongArray::memoryEstimation)
+            .perNode("degrees", HugeLongArray::memoryEstimation)
+            .add("reordered graph", reorderedGraph)
+            .build();
+    }
+
+    public static ReorderedGraph reorder(
+        Nodes nodes,
+        RelationshipImportResult relationshipImportResult,
+        NodeReorderingStrategy strategy,
+        Concurrency concurrency
+    ) {
+        // fail before any of the work is done
+        validateNodeProperties(nodes.properties());
+
+        var idMap = nodes.idMap();
+        var adjacencyLists = relationshipImportResult
+            .importResults()
+            .values()
+            .stream()
+            .map(relationships -> relationships.topology().adjacencyList())
+            .toList();
+
+        var newToOld = computeOrder(idMap.nodeCount(), adjacencyLists, strategy, concurrency);
+        var oldToNew = invert(newToOld, concurrency);
+
+        var reorderedIdMap = reorderIdMap(idMap, newToOld, concurrency);
+        var reorderedNodes = ImmutableNodes.of(
+            nodes.schema(),
+            reorderedIdMap,
+            reorderNodeProperties(nodes.properties(), idMap, reorderedIdMap, newToOld, concurrency)
+        );
+
+        var reorderedRelationships = new HashMap<>(relationshipImportResult.importResults());
+        reorderedRelationships.replaceAll((relationshipType, relationships) -> reorderRelationships(
+            relationships,
+            reorderedIdMap,
+            newToOld,
+            oldToNew,
+            concurrency
+        ));
+
+        return ImmutableReorderedGraph.of(reorderedNodes, RelationshipImportResult.of(reorderedRelationships));
+    }
+
+    /**
+     * Computes the new order of the nodes.
+     *
+     * @return an array mapping the new node ids to the current node ids
+     */
+    static HugeLongArray computeOrder(
+        long nodeCount,
+        List<AdjacencyList> adjacencyLists,
+        NodeReorderingStrategy strategy,
+        Concurrency concurrency
+    ) {
+        switch (strategy) {
+            case NONE:
+                var identity = HugeLongArray.newArray(nodeCount);
+                identity.setAll(nodeId -> nodeId);
+                return identity;
+            case DEGREE:
+                return degreeOrder(nodeCount, adjacencyLists, concurrency);
+            case BFS:
+                return bfsOrder(nodeCount, adjacencyLists, degreeOrder(nodeCount, adjacencyLists, concurrency));
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Unknown node reordering strategy `%s`", strategy));
+        }
+    }
+
+    private static HugeLongArray degreeOrder(long nodeCount, List<AdjacencyList> adjacencyLists, Concurrency concurrency) {
+        var degrees = HugeLongArray.newArray(nodeCount);
+        ParallelUtil.parallelForEachNode(nodeCount, concurrency, TerminationFlag.RUNNING_TRUE, nodeId -> {
+            long degree = 0;
+            for (var adjacencyList : adjacencyLists) {
+                degree += adjacencyList.degree(nodeId);
+            }
+            degrees.set(nodeId, degree);
+        });
+
+        var order = HugeLongArray.newArray(nodeCount);
+        order.setAll(nodeId -> nodeId);
+        // the merge sort is stable, nodes with equal degree keep their relative order
+        HugeSerialIndirectMergeSort.sort(order, nodeId -> -degrees.get(nodeId));
+        return order;
+    }
+
+    private static HugeLongArray bfsOrder(long nodeCount, List<AdjacencyList> adjacencyLists, HugeLongArray seeds) {
+        var order = HugeLongArray.newArray(nodeCount);
+        var visited = new BitSet(nodeCount);
+        var cursors = new AdjacencyCursor[adjacencyLists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = adjacencyLists.get(i).rawAdjacencyCursor();
+        }
+
+        // `order` doubles as the queue of the traversal: [head, tail) are the nodes yet to be expanded
+        long head = 0;
+        long tail = 0;
+        for (long seedIndex = 0; seedIndex < nodeCount; seedIndex++) {
+            long seed = seeds.get(seedIndex);
+            if (visited.getAndSet(seed)) {
+                continue;
+            }
+            order.set(tail++, seed);
+
+            while (head < tail) {
+                long nodeId = order.get(head++);
+                for (int i = 0; i < cursors.length; i++) {
+                    var cursor = adjacencyLists.get(i).adjacencyCursor(cursors[i], nodeId);
+                    while (cursor.hasNextVLong()) {
+                        long target = cursor.nextVLong();
+                        if (!visited.getAndSet(target)) {
+                            order.set(tail++, target);
+                        }
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+
+    private static HugeLongArray invert(HugeLongArray newToOld, Concurrency concurrency) {
+        var oldToNew = HugeLongArray.newArray(newToOld.size());
+        ParallelUtil.parallelForEachNode(
+            newToOld.size(),
+            concurrency,
+            TerminationFlag.RUNNING_TRUE,
+            newId -> oldToNew.set(newToOld.get(newId), newId)
+        );
+        return oldToNew;
+    }
+
+    private static IdMap reorderIdMap(IdMap idMap, HugeLongArray newToOld, Concurrency concurrency) {
+        var nodeCount = idMap.nodeCount();
+        var availableLabels = idMap.availableNodeLabels();
+
+        LabelInformation.Builder labelInformationBuilder;
+        boolean copyLabels = false;
+        if (availableLabels.isEmpty() || (availableLabels.size() == 1 && availableLabels.contains(NodeLabel.ALL_NODES))) {
+            labelInformationBuilder = LabelInformationBuilders.allNodes();
+        } else if (availableLabels.size() == 1) {
+            labelInformationBuilder = LabelInformationBuilders.singleLabel(availableLabels.iterator().next());
+        } else {
+            labelInformationBuilder = LabelInformationBuilders.multiLabelWithCapacityAndLabelInformation(
+                nodeCount,
+                availableLabels,
+                List.of()
+            );
+            copyLabels = true;
+        }
+
+        var internalToOriginalIds = HugeLongArray.newArray(nodeCount);
+        var shouldCopyLabels = copyLabels;
+        ParallelUtil.parallelForEachNode(nodeCount, concurrency, TerminationFlag.RUNNING_TRUE, newId -> {
+            var oldId = newToOld.get(newId);
+            internalToOriginalIds.set(newId, idMap.toOriginalNodeId(oldId));
+            if (shouldCopyLabels) {
+                idMap.forEachNodeLabel(oldId, nodeLabel -> {
+                    labelInformationBuilder.addNodeIdToLabel(nodeLabel, newId);
+                    return true;
+                });
+            }
+        });
+
+        // labels have been added for the new internal ids, hence no further mapping is needed
+        var labelInformation = labelInformationBuilder.build(nodeCount, LongUnaryOperator.identity());
+
+        return ArrayIdMap.of(internalToOriginalIds, labelInformation, idMap.highestOriginalId(), concurrency);
+    }
+
+    static void validateNodeProperties(NodePropertyStore properties) {
+        properties.properties().forEach((propertyKey, nodeProperty) -> {
+            var valueType = nodeProperty.valueType();
+            if (!SUPPORTED_NODE_PROPERTY_TYPES.contains(valueType)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Cannot reorder node property `%s` of type %s, supported types are %s",
+                    propertyKey,
+                    valueType,
+                    SUPPORTED_NODE_PROPERTY_TYPES
+                ));
+            }
+        });
+    }
+
+    private static NodePropertyStore reorderNodeProperties(
+        NodePropertyStore properties,
+        IdMap idMap,
+        IdMap reorderedIdMap,
+        HugeLongArray newToOld,
+        Concurrency concurrency
+    ) {
+        var builder = NodePropertyStore.builder();
+        properties.properties().forEach((propertyKey, nodeProperty) -> builder.putProperty(
+            propertyKey,
+            reorderNodeProperty(nodeProperty, idMap, reorderedIdMap, newToOld, concurrency)
+        ));
+        return builder.build();
+    }
+
+    /**
+     * Rebuilds the property with the same builder that is used by the native projection,
+     * so that the default value, missing values and the max value of the property are kept.
+     */
+    private static NodeProperty reorderNodeProperty(
+        NodeProperty nodeProperty,
+        IdMap idMap,
+        IdMap reorderedIdMap,
+        HugeLongArray newToOld,
+        Concurrency concurrency
+    ) {
+        var values = nodeProperty.values();
+        var propertyBuilder = NodePropertiesFromStoreBuilder.of(
+            nodeProperty.propertySchema().defaultValue(),
+            concurrency
+        );
+
+        forEachNode(newToOld, concurrency, (newId, oldId) -> {
+            if (values.hasValue(oldId)) {
+                propertyBuilder.set(idMap.toOriginalNodeId(oldId), PrimitiveValues.create(values.getObject(oldId)));
+            }
+        });
+
+        return ImmutableNodeProperty.of(propertyBuilder.build(reorderedIdMap), nodeProperty.propertySchema());
+    }
+
+    private static SingleTypeRelationships reorderRelationships(
+        SingleTypeRelationships relationships,
+        IdMap reorderedIdMap,
+        HugeLongArray newToOld,
+        HugeLongArray oldToNew,
+        Concurrency concurrency
+    ) {
+        var schemaEntry = relationships.relationshipSchemaEntry();
+        var propertyStore = relationships.properties().orElseGet(() -> RelationshipPropertyStore.builder().build());
+        var propertyKeys = propertyStore.keySet().toArray(String[]::new);
+        var properties = new AdjacencyProperties[propertyKeys.length];
+        var propertyConfigs = new GraphFactory.PropertyConfig[propertyKeys.length];
+        for (int i = 0; i < propertyKeys.length; i++) {
+            var relationshipProperty = propertyStore.get(propertyKeys[i]);
+            properties[i] = relationshipProperty.values().propertiesList();
+            // keep the encoding that was chosen during the import, the values are representable by construction
+            var compression = properties[i] instanceof CompressedAdjacencyProperties
+                ? ((CompressedAdjacencyProperties) properties[i]).compression()
+                : PropertyCompression.NONE;
+            propertyConfigs[i] = GraphFactory.PropertyConfig.builder()
+                .propertyKey(propertyKeys[i])
+                .aggregation(Aggregation.NONE)
+                .defaultValue(relationshipProperty.defaultValue())
+                .compression(compression)
+                .build();
+        }
+
+        // The adjacency lists already contain both directions for undirected relationships
+        // and have already been aggregated, so we copy them as they are.
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(reorderedIdMap)
+            .relationshipType(schemaEntry.identifier())
+            .aggregation(Aggregation.NONE)
+            .addPropertyConfigs(propertyConfigs)
+            .indexInverse(relationships.inverseTopology().isPresent())
+            .concurrency(concurrency)
+            .build();
+
+        var relationshipIterator = new CSRCompositeRelationshipIterator(
+            relationships.topology().adjacencyList(),
+            Optional.empty(),
+            propertyKeys,
+            properties,
+            CSRCompositeRelationshipIterator.EMPTY_PROPERTIES
+        );
+
+        var tasks = PartitionUtils.rangePartition(
+            concurrency,
+            newToOld.size(),
+            partition -> (Runnable) () -> {
+                var iterator = relationshipIterator.concurrentCopy();
+                partition.consume(newSource -> iterator.forEachRelationship(
+                    newToOld.get(newSource),
+                    (oldSource, oldTarget, propertyValues) -> {
+                        var newTarget = oldToNew.get(oldTarget);
+                        if (propertyValues.length == 0) {
+                            relationshipsBuilder.addFromInternal(newSource, newTarget);
+                        } else if (propertyValues.length == 1) {
+                            relationshipsBuilder.addFromInternal(newSource, newTarget, propertyValues[0]);
+                        } else {
+                            relationshipsBuilder.addFromInternal(newSource, newTarget, propertyValues);
+                        }
+                        return true;
+                    }
+                ));
+            },
+            Optional.empty()
+        );
+
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        var reordered = relationshipsBuilder.build();
+
+        return SingleTypeRelationships.builder()
+            .relationshipSchemaEntry(schemaEntry)
+            .topology(withMultiGraphFlag(reordered.topology(), relationships.topology().isMultiGraph()))
+            .properties(reordered.properties().map(store -> withPropertySchemas(store, propertyStore)))
+            .inverseTopology(reordered.inverseTopology().map(topology -> withMultiGraphFlag(
+                topology,
+                relationships.topology().isMultiGraph()
+            )))
+            .inverseProperties(reordered.inverseProperties().map(store -> withPropertySchemas(store, propertyStore)))
+            .build();
+    }
+
+    private static Topology withMultiGraphFlag(Topology topology, boolean isMultiGraph) {
+        return ImmutableTopology.builder().from(topology).isMultiGraph(isMultiGraph).build();
+    }
+
+    /**
+     * The relationships builder creates property schemas with {@link Aggregation#NONE},
+     * this restores the schemas of the projected properties.
+     */
+    private static RelationshipPropertyStore withPropertySchemas(
+        RelationshipPropertyStore reordered,
+        RelationshipPropertyStore original
+    ) {
+        var builder = RelationshipPropertyStore.builder();
+        reordered.relationshipProperties().forEach((propertyKey, relationshipProperty) -> builder.putRelationshipProperty(
+            propertyKey,
+            ImmutableRelationshipProperty.of(
+                relationshipProperty.values(),
+                original.get(propertyKey).propertySchema()
+            )
+        ));
+        return builder.build();
+    }
+
+    private static void forEachNode(HugeLongArray newToOld, Concurrency concurrency, NodeIdPairConsumer consumer) {
+        ParallelUtil.parallelForEachNode(
+            newToOld.size(),
+            concurrency,
+            TerminationFlag.RUNNING_TRUE,
+            newId -> consumer.accept(newId, newToOld.get(newId))
+        );
+    }
+
+    @FunctionalInterface
+    private interface NodeIdPairConsumer {
+        void accept(long newId, long oldId);
+    }
+}
@@ -27,7 +27,12 @@ import org.neo4j.gds.annotation.ValueClass;
 import org.neo4j.gds.api.compress.AdjacencyCompressor;
 import org.neo4j.gds.api.compress.AdjacencyCompressorFactory;
 import org.neo4j.gds.api.compress.AdjacencyListsWithProperties;
+import org.neo4j.gds.api.compress.ImmutableAdjacencyListsWithProperties;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.compression.properties.PropertyCompressor;
+import org.neo4j.gds.core.concurrency.Concurrency;
 
 import java.util.Collection;
 import java.util.Map;
@@ -43,6 +48,8 @@ public final class SingleTypeRelationshipImporter {
     private final int typeId;
 
     private final AdjacencyBuffer adjacencyBuffer;
+    private final LongSupplier nodeCountSupplier;
+    private final Concurrency concurrency;
 
     @org.immutables.builder.Builder.Factory
     public static SingleTypeRelationshipImporter of(
@@ -66,7 +73,9 @@ public final class SingleTypeRelationshipImporter {
             adjacencyCompressorFactory,
             adjacencyBuffer,
             importMetaData,
-            importMetaData.typeTokenId()
+            importMetaData.typeTokenId(),
+            nodeCountSupplier,
+            new Concurrency(importSizing.threadCount())
         );
     }
 
@@ -74,12 +83,16 @@ public final class SingleTypeRelationshipImporter {
         AdjacencyCompressorFactory adjacencyCompressorFactory,
         AdjacencyBuffer adjacencyBuffer,
         ImportMetaData importMetaData,
-        int typeToken
+        int typeToken,
+        LongSupplier nodeCountSupplier,
+        Concurrency concurrency
     ) {
         this.adjacencyCompressorFactory = adjacencyCompressorFactory;
         this.importMetaData = importMetaData;
         this.typeId = typeToken;
         this.adjacencyBuffer = adjacencyBuffer;
+        this.nodeCountSupplier = nodeCountSupplier;
+        this.concurrency = concurrency;
     }
 
     public int typeId() {
@@ -118,7 +131,32 @@ public final class SingleTypeRelationshipImporter {
     }
 
     public AdjacencyListsWithProperties build() {
-        return adjacencyCompressorFactory.build(true);
+        var adjacencyListsWithProperties = adjacencyCompressorFactory.build(true);
+
+        var propertyMappings = importMetaData.projection().properties().mappings();
+        if (propertyMappings.stream().allMatch(mapping -> mapping.compression() == PropertyCompression.NONE)) {
+            return adjacencyListsWithProperties;
+        }
+
+        var nodeCount = nodeCountSupplier.getAsLong();
+        var properties = adjacencyListsWithProperties.properties();
+        var builder = ImmutableAdjacencyListsWithProperties
+            .builder()
+            .adjacency(adjacencyListsWithProperties.adjacency())
+            .relationshipCount(adjacencyListsWithProperties.relationshipCount());
+        for (int i = 0; i < properties.size(); i++) {
+            var mapping = propertyMappings.get(i);
+            builder.addProperty(PropertyCompressor.compress(
+                mapping.propertyKey(),
+                adjacencyListsWithProperties.adjacency(),
+                properties.get(i),
+                nodeCount,
+                adjacencyListsWithProperties.relationshipCount(),
+                mapping.compression(),
+                concurrency
+            ));
+        }
+        return builder.build();
     }
 
     @ValueClass
@@ -135,11 +173,32 @@ public final class SingleTypeRelationshipImporter {
 
         boolean skipDanglingRelationships();
 
+        /**
+         * Allocates the per-node degrees and offsets of the adjacency list.
+         */
+        @Value.Default
+        @Value.Parameter(false)
+        default PageAllocator pageAllocator() {
+            return PageAllocator.heap();
+        }
+
+        /**
+         * The buffered degree from which parallel relationships of a node are aggregated on insertion,
+         * see {@link ChunkedAdjacencyLists#of(int, long, Aggregation[], int)}.
+         */
+        @Value.Default
+        @Value.Parameter(false)
+        default int hashAggregationThreshold() {
+            return ChunkedAdjacencyLists.DEFAULT_HASH_AGGREGATION_THRESHOLD;
+        }
+
         static ImportMetaData of(
             RelationshipProjection projection,
             int typeTokenId,
             Map<String, Integer> relationshipPropertyTokens,
-            boolean skipDanglingRelationships
+            boolean skipDanglingRelationships,
+            PageAllocator pageAllocator,
+            int hashAggregationThreshold
         ) {
             return ImmutableImportMetaData
                 .builder()
@@ -149,6 +208,8 @@ public final class SingleTypeRelationshipImporter {
                 .defaultValues(defaultValues(projection))
                 .typeTokenId(typeTokenId)
                 .skipDanglingRelationships(skipDanglingRelationships)
+                .pageAllocator(pageAllocator)
+                .hashAggregationThreshold(hashAggregationThreshold)
                 .build();
         }
 
@@ -21,6 +21,7 @@ package org.neo4j.gds.core.loading.construction;
 
 import org.immutables.builder.Builder;
 import org.immutables.value.Value;
+import org.neo4j.gds.ImmutablePropertyMapping;
 import org.neo4j.gds.ImmutableRelationshipProjection;
 import org.neo4j.gds.Orientation;
 import org.neo4j.gds.RelationshipProjection;
@@ -40,6 +41,7 @@ import org.neo4j.gds.api.schema.MutableRelationshipSchema;
 import org.neo4j.gds.api.schema.NodeSchema;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.IdMapBehaviorServiceProvider;
+import org.neo4j.gds.core.PropertyCompression;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.DefaultPool;
 import org.neo4j.gds.core.huge.HugeGraph;
@@ -215,6 +217,12 @@ public final class GraphFactory {
         default PropertyState propertyState() {
             return PropertyState.TRANSIENT;
         }
+
+        @Value.Default
+        @Value.Parameter(false)
+        default PropertyCompression compression() {
+            return PropertyCompression.NONE;
+        }
     }
 
     public static RelationshipsBuilderBuilder initRelationshipsBuilder() {
@@ -254,10 +262,12 @@ public final class GraphFactory {
 
         propertyConfigs.forEach(
             propertyConfig -> projectionBuilder.addProperty(
-                propertyConfig.propertyKey(),
-                propertyConfig.propertyKey(),
-                DefaultValue.of(propertyConfig.defaultValue()),
-                propertyConfig.aggregation()
+                ImmutablePropertyMapping.builder()
+                    .propertyKey(propertyConfig.propertyKey())
+                    .defaultValue(DefaultValue.of(propertyConfig.defaultValue()))
+                    .aggregation(propertyConfig.aggregation())
+                    .compression(propertyConfig.compression())
+                    .build()
             )
         );
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the inserted and deleted relationships of one relationship type in one direction,
+ * as a log of changes per source node.
+ * <p>
+ * Changes are only ever appended and are not checked against the relationships of the node,
+ * a deletion is a tombstone that is resolved when the relationships of the node are merged.
+ * Every change carries the sequence number of the update it belongs to,
+ * so that readers can ignore the changes that happened after they took their snapshot.
+ * <p>
+ * Only the nodes that have been changed take up memory. Appending and reading the changes of a node
+ * synchronizes on the {@link NodeLocks} of the overlay, nodes without changes are recognized without taking a lock.
+ */
+final class DeltaBuffer {
+
+    static final byte INSERT = 0;
+    static final byte DELETE = 1;
+    // the change of an undirected relationship that has been recorded for the target node
+    static final byte MIRRORED = 2;
+
+    private final int propertyCount;
+    private final Map<Long, NodeChanges> changes;
+    private final NodeLocks locks;
+
+    DeltaBuffer(int propertyCount, NodeLocks locks) {
+        this.propertyCount = propertyCount;
+        this.changes = new ConcurrentHashMap<>();
+        this.locks = locks;
+    }
+
+    int propertyCount() {
+        return propertyCount;
+    }
+
+    boolean hasChanges(long node) {
+        return changes.containsKey(node);
+    }
+
+    void append(long node, long target, long sequence, byte kind, double[] propertyValues) {
+        var nodeChanges = changes.computeIfAbsent(node, __ -> new NodeChanges(propertyCount));
+        synchronized (locks.lock(node)) {
+            nodeChanges.add(target, sequence, kind, propertyValues);
+        }
+    }
+
+    /**
+     * Copies the changes of the given node with a sequence number up to {@code maxSequence} into {@code into}.
+     */
+    void copyChanges(long node, long maxSequence, NodeChanges into) {
+        into.clear();
+        var nodeChanges = changes.get(node);
+        if (nodeChanges != null) {
+            synchronized (locks.lock(node)) {
+                nodeChanges.copyTo(into, maxSequence);
+            }
+        }
+    }
+
+    /**
+     * Visits all nodes with changes. Must only be called while no changes are appended.
+     */
+    void forEachChangedNode(ChangedNodeConsumer consumer) {
+        changes.forEach(consumer::accept);
+    }
+
+    @FunctionalInterface
+    interface ChangedNodeConsumer {
+        void accept(long node, NodeChanges nodeChanges);
+    }
+
+    /**
+     * The changes of a single node in the order in which they have been recorded.
+     * Property values of deletions are undefined.
+     */
+    static final class NodeChanges {
+        private final int propertyCount;
+        private long[] targets;
+        private long[] sequences;
+        private byte[] kinds;
+        private double[] propertyValues;
+        private int size;
+
+        NodeChanges(int propertyCount) {
+            this.propertyCount = propertyCount;
+            this.targets = new long[2];
+            this.sequences = new long[2];
+            this.kinds = new byte[2];
+            this.propertyValues = new double[2 * propertyCount];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long target(int index) {
+            return targets[index];
+        }
+
+        boolean isDelete(int index) {
+            return (kinds[index] & DELETE) != 0;
+        }
+
+        boolean isMirrored(int index) {
+            return (kinds[index] & MIRRORED) != 0;
+        }
+
+        double propertyValue(int index, int property) {
+            return propertyValues[index * propertyCount + property];
+        }
+
+        double[] propertyValues(int index) {
+            return Arrays.copyOfRange(propertyValues, index * propertyCount, (index + 1) * propertyCount);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        private void add(long target, long sequence, byte kind, double[] values) {
+            ensureCapacity(size + 1);
+            targets[size] = target;
+            sequences[size] = sequence;
+            kinds[size] = kind;
+            if (values != null) {
+                System.arraycopy(values, 0, propertyValues, size * propertyCount, propertyCount);
+            }
+            size++;
+        }
+
+        private void copyTo(NodeChanges into, long maxSequence) {
+            into.ensureCapacity(size);
+            for (int i = 0; i < size; i++) {
+                // sequence numbers are not ordered within a node, updates of different threads interleave
+                if (sequences[i] <= maxSequence) {
+                    into.targets[into.size] = targets[i];
+                    into.sequences[into.size] = sequences[i];
+                    into.kinds[into.size] = kinds[i];
+                    System.arraycopy(propertyValues, i * propertyCount, into.propertyValues, into.size * propertyCount, propertyCount);
+                    into.size++;
+                }
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > targets.length) {
+                var newLength = Math.max(capacity, targets.length + (targets.length >> 1));
+                targets = Arrays.copyOf(targets, newLength);
+                sequences = Arrays.copyOf(sequences, newLength);
+                kinds = Arrays.copyOf(kinds, newLength);
+                propertyValues = Arrays.copyOf(propertyValues, newLength * propertyCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,674 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.ImmutableTopology;
+import org.neo4j.gds.api.Topology;
+import org.neo4j.gds.api.properties.graph.GraphPropertyStore;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.properties.relationships.ImmutableProperties;
+import org.neo4j.gds.api.properties.relationships.ImmutableRelationshipProperty;
+import org.neo4j.gds.api.properties.relationships.RelationshipPropertyStore;
+import org.neo4j.gds.api.schema.Direction;
+import org.neo4j.gds.api.schema.MutableGraphSchema;
+import org.neo4j.gds.api.schema.MutableNodeSchema;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.core.loading.GraphStoreBuilder;
+import org.neo4j.gds.core.loading.ImmutableNodes;
+import org.neo4j.gds.core.loading.RelationshipImportResult;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+import org.neo4j.gds.core.loading.refresh.GraphStoreDelta;
+import org.neo4j.gds.core.loading.refresh.GraphStoreRefresher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A mutable layer on top of an in-memory graph store that records inserted and deleted relationships,
+ * so that streams of relationship updates can be applied without projecting the graph again.
+ * <p>
+ * Updates are appended per node to {@link DeltaBuffer}s without looking at the existing relationships,
+ * and are visible in the graph stores returned by {@link #graphStore()}. Those are snapshots: their adjacency lists
+ * merge the changes that have been recorded up to the snapshot into the cursors of changed nodes,
+ * later updates do not affect them. Every snapshot merges the nodes that have been changed since the previous one
+ * to keep the relationship count up to date, and reuses the relationships of the types that have not been changed.
+ * <p>
+ * Once the changes exceed a fraction of the relationships of the base graph store, they are compacted in the background.
+ * Updates continue in a new delta layer, while the previous layers are applied to the base graph store
+ * with the {@link GraphStoreRefresher}, which rebuilds the adjacency lists of the changed nodes.
+ * Snapshots that have been taken before stay valid.
+ * <p>
+ * Relationships of undirected types are recorded for both nodes, relationships of types with an inverse index
+ * are recorded in both directions. Deleting a relationship deletes one relationship between its nodes,
+ * which for graphs without parallel relationships is the aggregated one. Deleting a relationship that does not exist
+ * has no effect.
+ */
+public final class GraphStoreOverlay {
+
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.1;
+
+    /**
+     * Notified from the compaction thread, once the changes have been compacted into the base graph store
+     * or compacting them failed. Failed compactions are retried with the next update that exceeds the threshold.
+     */
+    public interface CompactionListener {
+        void onCompaction(GraphStoreOverlay overlay);
+
+        void onCompactionFailure(GraphStoreOverlay overlay, RuntimeException error);
+    }
+
+    private final Concurrency concurrency;
+    private final double compactionThreshold;
+    private final Executor compactionExecutor;
+    private final CompactionListener compactionListener;
+    private final Map<RelationshipType, TypeInfo> types;
+    private final Map<RelationshipType, TypeCounts> counts;
+    private final NodeLocks locks;
+    // updates share the lock, snapshots and compactions take it exclusively to see a consistent state
+    private final ReentrantReadWriteLock stateLock;
+    // serializes snapshots and the end of compactions, which both update the relationship counts
+    private final Object snapshotLock;
+    private final AtomicLong sequence;
+    private final AtomicBoolean compacting;
+    private volatile State state;
+
+    // the latest snapshot, guarded by the snapshot lock
+    private @Nullable Snapshot snapshot;
+
+    private GraphStoreOverlay(
+        CSRGraphStore graphStore,
+        Concurrency concurrency,
+        double compactionThreshold,
+        Executor compactionExecutor,
+        CompactionListener compactionListener
+    ) {
+        this.concurrency = concurrency;
+        this.compactionThreshold = compactionThreshold;
+        this.compactionExecutor = compactionExecutor;
+        this.compactionListener = compactionListener;
+        this.types = new HashMap<>();
+        this.counts = new HashMap<>();
+        for (var relationshipType : graphStore.relationshipTypes()) {
+            var type = TypeInfo.of(graphStore.relationships(relationshipType).orElseThrow());
+            types.put(relationshipType, type);
+            counts.put(
+                relationshipType,
+                new TypeCounts(new RelationshipCount(), type.inverseIndexed() ? new RelationshipCount() : null)
+            );
+        }
+        this.locks = new NodeLocks();
+        this.stateLock = new ReentrantReadWriteLock();
+        this.snapshotLock = new Object();
+        this.sequence = new AtomicLong();
+        this.compacting = new AtomicBoolean();
+        this.state = new State(graphStore, List.of(new Layer(locks)));
+    }
+
+    public static GraphStoreOverlay create(
+        GraphStore graphStore,
+        Concurrency concurrency,
+        double compactionThreshold,
+        Executor compactionExecutor,
+        CompactionListener compactionListener
+    ) {
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Only graphs that have been projected into memory can be updated, got a `%s`.",
+                graphStore.getClass().getSimpleName()
+            ));
+        }
+        return new GraphStoreOverlay(
+            (CSRGraphStore) graphStore,
+            concurrency,
+            compactionThreshold,
+            compactionExecutor,
+            compactionListener
+        );
+    }
+
+    /**
+     * Returns the overlay the given graph store is a snapshot of, if any.
+     */
+    public static Optional<GraphStoreOverlay> find(GraphStore graphStore) {
+        if (!(graphStore instanceof CSRGraphStore)) {
+            return Optional.empty();
+        }
+        var csrGraphStore = (CSRGraphStore) graphStore;
+        return csrGraphStore.relationshipTypes()
+            .stream()
+            .map(relationshipType -> csrGraphStore.relationships(relationshipType).orElseThrow().topology().adjacencyList())
+            .filter(OverlayAdjacencyList.class::isInstance)
+            .map(adjacencyList -> ((OverlayAdjacencyList) adjacencyList).overlay())
+            .findFirst();
+    }
+
+    /**
+     * The keys of the relationship properties of the given type, in the order in which values are expected on insertion.
+     */
+    public List<String> propertyKeys(RelationshipType relationshipType) {
+        return typeInfo(relationshipType).propertyKeys();
+    }
+
+    public void insert(RelationshipType relationshipType, long sourceNodeId, long targetNodeId, double... propertyValues) {
+        var type = typeInfo(relationshipType);
+        if (propertyValues.length != type.propertyKeys().size()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected values for the properties %s, but got %d values.",
+                type.propertyKeys(),
+                propertyValues.length
+            ));
+        }
+        record(relationshipType, type, sourceNodeId, targetNodeId, DeltaBuffer.INSERT, propertyValues);
+    }
+
+    /**
+     * Records the deletion of a relationship. Whether the relationship exists is only resolved
+     * when the relationships of its nodes are merged, deleting a relationship that does not exist has no effect.
+     */
+    public void delete(RelationshipType relationshipType, long sourceNodeId, long targetNodeId) {
+        var type = typeInfo(relationshipType);
+        record(relationshipType, type, sourceNodeId, targetNodeId, DeltaBuffer.DELETE, null);
+    }
+
+    /**
+     * The number of updates that have not been compacted yet, including deletions of relationships that do not exist.
+     */
+    public long pendingChanges() {
+        return state.layers().stream().mapToLong(layer -> layer.changeCount.sum()).sum();
+    }
+
+    /**
+     * Returns a graph store with all updates that have been recorded so far.
+     * Node properties, graph properties and unchanged adjacency lists are shared with the base graph store.
+     * Without updates since the previous call, the previous graph store is returned.
+     */
+    public GraphStore graphStore() {
+        synchronized (snapshotLock) {
+            State snapshotState;
+            long maxSequence;
+            var changedNodes = new HashMap<RelationshipType, ChangedNodes>();
+            stateLock.writeLock().lock();
+            try {
+                snapshotState = state;
+                maxSequence = sequence.get();
+                // no update is in progress, all changes up to the sequence number have been marked
+                counts.forEach((relationshipType, typeCounts) -> {
+                    var forward = typeCounts.forward().drainChangedNodes();
+                    var inverse = typeCounts.inverse() == null
+                        ? Set.<Long>of()
+                        : typeCounts.inverse().drainChangedNodes();
+                    if (!forward.isEmpty() || !inverse.isEmpty()) {
+                        changedNodes.put(relationshipType, new ChangedNodes(forward, inverse));
+                    }
+                });
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+
+            var previous = snapshot != null && snapshot.state() == snapshotState ? snapshot : null;
+            if (previous != null && changedNodes.isEmpty()) {
+                return previous.graphStore();
+            }
+
+            var base = snapshotState.base();
+            var relationshipsByType = new HashMap<RelationshipType, SingleTypeRelationships>();
+            for (var entry : types.entrySet()) {
+                var relationshipType = entry.getKey();
+                var changed = changedNodes.get(relationshipType);
+                if (previous != null && changed == null) {
+                    relationshipsByType.put(relationshipType, previous.relationships().get(relationshipType));
+                    continue;
+                }
+                relationshipsByType.put(
+                    relationshipType,
+                    overlayRelationships(
+                        relationshipType,
+                        entry.getValue(),
+                        snapshotState,
+                        maxSequence,
+                        changed == null ? ChangedNodes.NONE : changed
+                    )
+                );
+            }
+
+            var nodeProperties = NodePropertyStore.builder();
+            base.nodePropertyKeys().forEach(key -> nodeProperties.putProperty(key, base.nodeProperty(key)));
+            var graphProperties = GraphPropertyStore.builder();
+            base.graphPropertyKeys().forEach(key -> graphProperties.putIfAbsent(key, base.graphProperty(key)));
+
+            var graphStore = new GraphStoreBuilder()
+                .databaseInfo(base.databaseInfo())
+                .capabilities(base.capabilities())
+                .schema(MutableGraphSchema.from(base.schema()))
+                .nodes(ImmutableNodes.of(
+                    MutableNodeSchema.from(base.schema().nodeSchema()),
+                    base.nodes(),
+                    nodeProperties.build()
+                ))
+                .relationshipImportResult(RelationshipImportResult.of(relationshipsByType))
+                .graphProperties(graphProperties.build())
+                .concurrency(concurrency)
+                .build();
+            snapshot = new Snapshot(snapshotState, relationshipsByType, graphStore);
+            return graphStore;
+        }
+    }
+
+    private SingleTypeRelationships overlayRelationships(
+        RelationshipType relationshipType,
+        TypeInfo type,
+        State snapshotState,
+        long maxSequence,
+        ChangedNodes changedNodes
+    ) {
+        var relationships = snapshotState.base().relationships(relationshipType).orElseThrow();
+        var typeCounts = counts.get(relationshipType);
+
+        var forwardLayers = snapshotState.buffers(relationshipType, false);
+        var forwardCountChange = typeCounts.forward().update(
+            relationships.topology(),
+            forwardLayers,
+            maxSequence,
+            changedNodes.forward()
+        );
+        var forward = overlayTopology(
+            type,
+            relationships.topology(),
+            relationships.properties(),
+            forwardLayers,
+            maxSequence,
+            forwardCountChange
+        );
+        var builder = SingleTypeRelationships.builder()
+            .relationshipSchemaEntry(relationships.relationshipSchemaEntry())
+            .topology(forward.topology())
+            .properties(forward.properties());
+        relationships.inverseTopology().ifPresent(inverseTopology -> {
+            var inverseLayers = snapshotState.buffers(relationshipType, true);
+            var inverseCountChange = typeCounts.inverse().update(
+                inverseTopology,
+                inverseLayers,
+                maxSequence,
+                changedNodes.inverse()
+            );
+            var inverse = overlayTopology(
+                type,
+                inverseTopology,
+                relationships.inverseProperties(),
+                inverseLayers,
+                maxSequence,
+                inverseCountChange
+            );
+            builder.inverseTopology(inverse.topology()).inverseProperties(inverse.properties());
+        });
+        return builder.build();
+    }
+
+    private void record(
+        RelationshipType relationshipType,
+        TypeInfo type,
+        long sourceNodeId,
+        long targetNodeId,
+        byte kind,
+        double @Nullable [] propertyValues
+    ) {
+        stateLock.readLock().lock();
+        try {
+            var currentState = state;
+            var idMap = currentState.base().nodes();
+            var mappedSource = mappedNodeId(idMap, sourceNodeId);
+            var mappedTarget = mappedNodeId(idMap, targetNodeId);
+            // relationships of undirected types are recorded for the smaller node, so that both orientations cancel out
+            var source = type.undirected() ? Math.min(mappedSource, mappedTarget) : mappedSource;
+            var target = type.undirected() ? Math.max(mappedSource, mappedTarget) : mappedTarget;
+            var sequenceNumber = sequence.incrementAndGet();
+
+            var activeLayer = currentState.activeLayer();
+            var buffers = activeLayer.buffers(relationshipType, type);
+            locks.withLocks(source, target, () -> {
+                buffers.forward().append(source, target, sequenceNumber, kind, propertyValues);
+                if (type.undirected()) {
+                    var mirrored = (byte) (kind | DeltaBuffer.MIRRORED);
+                    buffers.forward().append(target, source, sequenceNumber, mirrored, propertyValues);
+                }
+                if (buffers.inverse() != null) {
+                    buffers.inverse().append(target, source, sequenceNumber, kind, propertyValues);
+                }
+            });
+
+            var typeCounts = counts.get(relationshipType);
+            typeCounts.forward().markChanged(source);
+            if (type.undirected()) {
+                typeCounts.forward().markChanged(target);
+            }
+            if (typeCounts.inverse() != null) {
+                typeCounts.inverse().markChanged(target);
+            }
+            activeLayer.changeCount.increment();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        var currentState = state;
+        var threshold = compactionThreshold * Math.max(1, currentState.base().relationshipCount());
+        if (currentState.activeLayer().changeCount.sum() > threshold && compacting.compareAndSet(false, true)) {
+            try {
+                compactionExecutor.execute(this::compact);
+            } catch (RejectedExecutionException e) {
+                compacting.set(false);
+            }
+        }
+    }
+
+    private void compact() {
+        try {
+            List<Layer> compactedLayers;
+            CSRGraphStore base;
+            stateLock.writeLock().lock();
+            try {
+                // updates continue in a new layer, the previous ones do not change anymore
+                compactedLayers = state.layers();
+                base = state.base();
+                var layers = new ArrayList<>(compactedLayers);
+                layers.add(new Layer(locks));
+                state = new State(base, layers);
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+
+            // layers are compacted one at a time, as they are merged one at a time into the snapshots
+            for (var layer : compactedLayers) {
+                var delta = layer.toDelta(base.nodes(), types);
+                base = (CSRGraphStore) GraphStoreRefresher.refresh(base, delta, concurrency).graphStore();
+            }
+
+            synchronized (snapshotLock) {
+                stateLock.writeLock().lock();
+                try {
+                    var layers = state.layers();
+                    state = new State(base, List.copyOf(layers.subList(compactedLayers.size(), layers.size())));
+                    // the counts are relative to the base graph store, the remaining changes are merged again
+                    counts.forEach((relationshipType, typeCounts) -> {
+                        typeCounts.forward().reset(state.buffers(relationshipType, false));
+                        if (typeCounts.inverse() != null) {
+                            typeCounts.inverse().reset(state.buffers(relationshipType, true));
+                        }
+                    });
+                } finally {
+                    stateLock.writeLock().unlock();
+                }
+            }
+
+            compactionListener.onCompaction(this);
+        } catch (RuntimeException e) {
+            compactionListener.onCompactionFailure(this, e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private TypeInfo typeInfo(RelationshipType relationshipType) {
+        var type = types.get(relationshipType);
+        if (type == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The graph has no relationships of type `%s`.",
+                relationshipType.name()
+            ));
+        }
+        return type;
+    }
+
+    private static long mappedNodeId(IdMap idMap, long originalNodeId) {
+        var mappedNodeId = idMap.safeToMappedNodeId(originalNodeId);
+        if (mappedNodeId == IdMap.NOT_FOUND) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node with id %d is not part of the graph.",
+                originalNodeId
+            ));
+        }
+        return mappedNodeId;
+    }
+
+    private OverlayTopology overlayTopology(
+        TypeInfo type,
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties,
+        DeltaBuffer[] layers,
+        long maxSequence,
+        long countChange
+    ) {
+        var baseAdjacencyList = topology.adjacencyList();
+        var elementCount = topology.elementCount() + countChange;
+        var adjacencyList = new OverlayAdjacencyList(this, baseAdjacencyList, layers, maxSequence, topology.isMultiGraph());
+        var overlayProperties = properties.map(propertyStore -> {
+            var builder = RelationshipPropertyStore.builder();
+            for (int i = 0; i < type.propertyKeys().size(); i++) {
+                var propertyKey = type.propertyKeys().get(i);
+                var relationshipProperty = propertyStore.get(propertyKey);
+                var adjacencyProperties = new OverlayAdjacencyProperties(
+                    baseAdjacencyList,
+                    relationshipProperty.values().propertiesList(),
+                    i,
+                    topology.isMultiGraph() ? null : type.aggregations()[i],
+                    layers,
+                    maxSequence
+                );
+                builder.putRelationshipProperty(
+                    propertyKey,
+                    ImmutableRelationshipProperty.of(
+                        ImmutableProperties.of(adjacencyProperties, elementCount, relationshipProperty.values().defaultPropertyValue()),
+                        relationshipProperty.propertySchema()
+                    )
+                );
+            }
+            return builder.build();
+        });
+        return new OverlayTopology(
+            ImmutableTopology.of(adjacencyList, elementCount, topology.isMultiGraph()),
+            overlayProperties
+        );
+    }
+
+    private record OverlayTopology(Topology topology, Optional<RelationshipPropertyStore> properties) {}
+
+    private record Snapshot(
+        State state,
+        Map<RelationshipType, SingleTypeRelationships> relationships,
+        GraphStore graphStore
+    ) {}
+
+    private record ChangedNodes(Set<Long> forward, Set<Long> inverse) {
+        static final ChangedNodes NONE = new ChangedNodes(Set.of(), Set.of());
+    }
+
+    private record TypeCounts(RelationshipCount forward, @Nullable RelationshipCount inverse) {}
+
+    /**
+     * Tracks by how much the changes of one relationship type in one direction change the relationship count
+     * of the base graph store. Deletions of relationships that do not exist and insertions that are aggregated
+     * only show their effect once the relationships of the node are merged, which the snapshots do for the nodes
+     * that have been changed since the previous snapshot.
+     */
+    private static final class RelationshipCount {
+        // written by updates under the shared state lock, swapped by snapshots under the exclusive one
+        private Set<Long> changedNodes = ConcurrentHashMap.newKeySet();
+        // the difference between the merged and the base degree of every node that has been merged,
+        // guarded by the snapshot lock
+        private LongIntHashMap degreeChanges = new LongIntHashMap();
+        private long countChange;
+
+        void markChanged(long node) {
+            changedNodes.add(node);
+        }
+
+        Set<Long> drainChangedNodes() {
+            var drained = changedNodes;
+            if (!drained.isEmpty()) {
+                changedNodes = ConcurrentHashMap.newKeySet();
+            }
+            return drained;
+        }
+
+        long update(Topology topology, DeltaBuffer[] layers, long maxSequence, Set<Long> nodes) {
+            if (nodes.isEmpty()) {
+                return countChange;
+            }
+            var adjacencyList = topology.adjacencyList();
+            var merger = new NodeMerger(
+                adjacencyList,
+                null,
+                -1,
+                topology.isMultiGraph() ? null : Aggregation.SINGLE,
+                layers,
+                maxSequence
+            );
+            for (long node : nodes) {
+                var degreeChange = merger.merge(node) - adjacencyList.degree(node);
+                countChange += degreeChange - degreeChanges.put(node, degreeChange);
+            }
+            return countChange;
+        }
+
+        void reset(DeltaBuffer[] layers) {
+            // a new map, as cleared maps keep the value of node 0
+            degreeChanges = new LongIntHashMap();
+            countChange = 0;
+            for (var layer : layers) {
+                layer.forEachChangedNode((node, __) -> changedNodes.add(node));
+            }
+        }
+    }
+
+    private record TypeInfo(
+        List<String> propertyKeys,
+        boolean undirected,
+        boolean inverseIndexed,
+        Aggregation[] aggregations
+    ) {
+        static TypeInfo of(SingleTypeRelationships relationships) {
+            var propertyKeys = relationships.properties()
+                .map(propertyStore -> List.copyOf(propertyStore.keySet()))
+                .orElse(List.of());
+            var aggregations = new Aggregation[propertyKeys.size()];
+            for (int i = 0; i < aggregations.length; i++) {
+                var aggregation = Aggregation.resolve(relationships.properties().orElseThrow().get(propertyKeys.get(i)).aggregation());
+                // aggregated graphs keep a single value when no aggregation has been given for the property
+                aggregations[i] = aggregation == Aggregation.NONE ? Aggregation.SINGLE : aggregation;
+            }
+            return new TypeInfo(
+                propertyKeys,
+                relationships.relationshipSchemaEntry().direction() == Direction.UNDIRECTED,
+                relationships.inverseTopology().isPresent(),
+                aggregations
+            );
+        }
+    }
+
+    private record State(CSRGraphStore base, List<Layer> layers) {
+        Layer activeLayer() {
+            return layers.get(layers.size() - 1);
+        }
+
+        /**
+         * The buffers of all layers that have changes for the given type, oldest first.
+         */
+        DeltaBuffer[] buffers(RelationshipType relationshipType, boolean inverse) {
+            var buffers = new ArrayList<DeltaBuffer>(layers.size());
+            for (var layer : layers) {
+                var layerBuffers = layer.buffers.get(relationshipType);
+                if (layerBuffers != null && (!inverse || layerBuffers.inverse() != null)) {
+                    buffers.add(inverse ? layerBuffers.inverse() : layerBuffers.forward());
+                }
+            }
+            return buffers.toArray(DeltaBuffer[]::new);
+        }
+    }
+
+    private record LayerBuffers(DeltaBuffer forward, @Nullable DeltaBuffer inverse) {}
+
+    /**
+     * The changes recorded between two compactions.
+     */
+    private static final class Layer {
+        private final NodeLocks locks;
+        private final Map<RelationshipType, LayerBuffers> buffers;
+        private final LongAdder changeCount;
+
+        Layer(NodeLocks locks) {
+            this.locks = locks;
+            this.buffers = new ConcurrentHashMap<>();
+            this.changeCount = new LongAdder();
+        }
+
+        LayerBuffers buffers(RelationshipType relationshipType, TypeInfo type) {
+            return buffers.computeIfAbsent(relationshipType, __ -> new LayerBuffers(
+                new DeltaBuffer(type.propertyKeys().size(), locks),
+                type.inverseIndexed() ? new DeltaBuffer(type.propertyKeys().size(), locks) : null
+            ));
+        }
+
+        GraphStoreDelta toDelta(IdMap idMap, Map<RelationshipType, TypeInfo> types) {
+            var delta = new GraphStoreDelta();
+            buffers.forEach((relationshipType, layerBuffers) -> {
+                var changes = delta.relationships(relationshipType, types.get(relationshipType).propertyKeys());
+                // the refresher records undirected relationships and inverse indices itself
+                layerBuffers.forward().forEachChangedNode((node, nodeChanges) -> {
+                    var source = idMap.toOriginalNodeId(node);
+                    for (int i = 0; i < nodeChanges.size(); i++) {
+                        if (nodeChanges.isMirrored(i)) {
+                            continue;
+                        }
+                        var target = idMap.toOriginalNodeId(nodeChanges.target(i));
+                        if (nodeChanges.isDelete(i)) {
+                            changes.remove(source, target);
+                        } else {
+                            changes.add(source, target, nodeChanges.propertyValues(i));
+                        }
+                    }
+                });
+            });
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import java.util.Arrays;
+
+/**
+ * A fixed number of locks that guard the changes of all nodes, shared by all delta buffers of an overlay.
+ * Changes of a relationship are recorded for both of its nodes while holding both locks,
+ * so that the changes of both nodes are recorded in the same order.
+ */
+final class NodeLocks {
+
+    private static final int LOCK_COUNT = 1024;
+    private static final int LOCK_MASK = LOCK_COUNT - 1;
+
+    private final Object[] locks;
+
+    NodeLocks() {
+        this.locks = new Object[LOCK_COUNT];
+        Arrays.setAll(locks, __ -> new Object());
+    }
+
+    Object lock(long node) {
+        return locks[(int) (node & LOCK_MASK)];
+    }
+
+    void withLocks(long node, long otherNode, Runnable action) {
+        var index = (int) (node & LOCK_MASK);
+        var otherIndex = (int) (otherNode & LOCK_MASK);
+        // always lock in the same order to avoid deadlocks, locks are reentrant if both nodes share a lock
+        synchronized (locks[Math.min(index, otherIndex)]) {
+            synchronized (locks[Math.max(index, otherIndex)]) {
+                action.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.core.Aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Computes the relationships of a single node by applying the changes recorded in the delta layers
+ * to the relationships of the node in the base adjacency list, optionally together with the values of one property.
+ * <p>
+ * The result is what compacting the layers into the base list would produce: layers are applied one after another.
+ * A deletion cancels the latest insertion of the same relationship in its layer and otherwise removes
+ * the first matching relationship that existed before the layer. For graphs without parallel relationships,
+ * relationships between the same nodes are aggregated after every layer.
+ * <p>
+ * A merger reuses its buffers and is not thread-safe.
+ */
+final class NodeMerger {
+
+    private final AdjacencyList baseAdjacencyList;
+    private final @Nullable AdjacencyProperties baseProperties;
+    // the index of the merged property in the delta buffers, or -1 to merge targets only
+    private final int property;
+    // null for graphs with parallel relationships
+    private final @Nullable Aggregation aggregation;
+    private final DeltaBuffer[] layers;
+    private final long maxSequence;
+
+    private final DeltaBuffer.NodeChanges changes;
+    private @Nullable AdjacencyCursor adjacencyCursor;
+    private @Nullable PropertyCursor propertyCursor;
+
+    private long[] targets;
+    private double[] values;
+    private int size;
+
+    NodeMerger(
+        AdjacencyList baseAdjacencyList,
+        @Nullable AdjacencyProperties baseProperties,
+        int property,
+        @Nullable Aggregation aggregation,
+        DeltaBuffer[] layers,
+        long maxSequence
+    ) {
+        this.baseAdjacencyList = baseAdjacencyList;
+        this.baseProperties = baseProperties;
+        this.property = property;
+        this.aggregation = aggregation;
+        this.layers = layers;
+        this.maxSequence = maxSequence;
+        this.changes = new DeltaBuffer.NodeChanges(layers.length == 0 ? 0 : layers[0].propertyCount());
+        this.targets = new long[16];
+        this.values = new double[16];
+    }
+
+    static boolean hasChanges(DeltaBuffer[] layers, long node) {
+        for (var layer : layers) {
+            if (layer.hasChanges(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long[] targets() {
+        return targets;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    /**
+     * Merges the relationships of the given node, the result is available through {@link #targets()}
+     * and {@link #values()}, sorted by target.
+     *
+     * @return the number of merged relationships
+     */
+    int merge(long node) {
+        size = 0;
+        readBase(node);
+
+        for (var layer : layers) {
+            if (!layer.hasChanges(node)) {
+                continue;
+            }
+            layer.copyChanges(node, maxSequence, changes);
+            if (changes.size() == 0) {
+                continue;
+            }
+            int layerStart = size;
+            for (int i = 0; i < changes.size(); i++) {
+                var target = changes.target(i);
+                if (changes.isDelete(i)) {
+                    if (delete(target, layerStart)) {
+                        layerStart--;
+                    }
+                } else {
+                    add(target, property < 0 ? 0 : changes.propertyValue(i, property));
+                }
+            }
+            sort();
+            if (aggregation != null) {
+                aggregate();
+            }
+        }
+
+        return size;
+    }
+
+    private void readBase(long node) {
+        int degree = baseAdjacencyList.degree(node);
+        if (degree == 0) {
+            return;
+        }
+        ensureCapacity(degree);
+        adjacencyCursor = baseAdjacencyList.adjacencyCursor(adjacencyCursor, node);
+        if (property >= 0 && baseProperties != null) {
+            propertyCursor = baseProperties.propertyCursor(propertyCursor, node);
+            while (adjacencyCursor.hasNextVLong()) {
+                targets[size] = adjacencyCursor.nextVLong();
+                values[size] = Double.longBitsToDouble(propertyCursor.nextLong());
+                size++;
+            }
+        } else {
+            while (adjacencyCursor.hasNextVLong()) {
+                targets[size++] = adjacencyCursor.nextVLong();
+            }
+        }
+    }
+
+    private void add(long target, double value) {
+        ensureCapacity(size + 1);
+        targets[size] = target;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * @return whether a relationship that existed before the layer has been removed
+     */
+    private boolean delete(long target, int layerStart) {
+        // the latest insertion of this layer
+        for (int i = size - 1; i >= layerStart; i--) {
+            if (targets[i] == target) {
+                remove(i);
+                return false;
+            }
+        }
+        // the first relationship that existed before the layer, which is sorted by target
+        int index = firstIndexOf(target, layerStart);
+        if (index >= 0) {
+            remove(index);
+            return true;
+        }
+        return false;
+    }
+
+    private int firstIndexOf(long target, int length) {
+        int index = Arrays.binarySearch(targets, 0, length, target);
+        if (index < 0) {
+            return -1;
+        }
+        while (index > 0 && targets[index - 1] == target) {
+            index--;
+        }
+        return index;
+    }
+
+    private void remove(int index) {
+        System.arraycopy(targets, index + 1, targets, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+    }
+
+    private void sort() {
+        if (isSorted()) {
+            return;
+        }
+        var sortedTargets = targets;
+        // stable, so that parallel relationships keep the order in which they have been added
+        var order = IndirectSort.mergesort(0, size, (a, b) -> Long.compare(sortedTargets[a], sortedTargets[b]));
+        var newTargets = new long[targets.length];
+        var newValues = new double[values.length];
+        for (int i = 0; i < size; i++) {
+            newTargets[i] = targets[order[i]];
+            newValues[i] = values[order[i]];
+        }
+        targets = newTargets;
+        values = newValues;
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (targets[i - 1] > targets[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void aggregate() {
+        if (size == 0) {
+            return;
+        }
+        int write = 0;
+        for (int read = 1; read < size; read++) {
+            if (targets[read] == targets[write]) {
+                values[write] = aggregation.merge(values[write], values[read]);
+            } else {
+                write++;
+                targets[write] = targets[read];
+                values[write] = values[read];
+            }
+        }
+        size = write + 1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > targets.length) {
+            var newLength = Math.max(capacity, targets.length + (targets.length >> 1));
+            targets = Arrays.copyOf(targets, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+    }
+}
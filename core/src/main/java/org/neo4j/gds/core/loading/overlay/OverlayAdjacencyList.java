@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.compression.MemoryInfo;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A snapshot of an adjacency list with the changes of a {@link GraphStoreOverlay} applied.
+ * Nodes without changes are served from the base list, the relationships of changed nodes
+ * are merged when a cursor is initialized for them.
+ * <p>
+ * Callers reuse cursors by passing them back in and expect them to be re-initialized in place,
+ * so the cursors of this list hold a cursor for the base list and one for merged nodes and switch between them.
+ */
+final class OverlayAdjacencyList implements AdjacencyList {
+
+    private final GraphStoreOverlay overlay;
+    private final AdjacencyList base;
+    private final DeltaBuffer[] layers;
+    private final long maxSequence;
+    private final @Nullable Aggregation aggregation;
+    // merging is the expensive part of computing the degree of a changed node
+    private final ConcurrentHashMap<Long, Integer> mergedDegrees;
+
+    OverlayAdjacencyList(
+        GraphStoreOverlay overlay,
+        AdjacencyList base,
+        DeltaBuffer[] layers,
+        long maxSequence,
+        boolean isMultiGraph
+    ) {
+        this.overlay = overlay;
+        this.base = base;
+        this.layers = layers;
+        this.maxSequence = maxSequence;
+        this.aggregation = isMultiGraph ? null : Aggregation.SINGLE;
+        this.mergedDegrees = new ConcurrentHashMap<>();
+    }
+
+    GraphStoreOverlay overlay() {
+        return overlay;
+    }
+
+    @Override
+    public int degree(long node) {
+        if (!NodeMerger.hasChanges(layers, node)) {
+            return base.degree(node);
+        }
+        return mergedDegrees.computeIfAbsent(node, __ -> newMerger().merge(node));
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(long node, double fallbackValue) {
+        return adjacencyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(@Nullable AdjacencyCursor reuse, long node, double fallbackValue) {
+        var cursor = reuse instanceof OverlayCursor ? (OverlayCursor) reuse : new OverlayCursor();
+        if (!NodeMerger.hasChanges(layers, node)) {
+            cursor.current = base.adjacencyCursor(cursor.baseCursor, node, fallbackValue);
+            // lists return the shared empty cursor for nodes without relationships, which is not worth keeping
+            if (cursor.current != AdjacencyCursor.empty()) {
+                cursor.baseCursor = cursor.current;
+            }
+        } else {
+            if (cursor.merger == null) {
+                cursor.merger = newMerger();
+            }
+            var degree = cursor.merger.merge(node);
+            cursor.mergedCursor.init(cursor.merger.targets(), degree);
+            cursor.current = cursor.mergedCursor;
+        }
+        return cursor;
+    }
+
+    @Override
+    public AdjacencyCursor rawAdjacencyCursor() {
+        return new OverlayCursor();
+    }
+
+    @Override
+    public MemoryInfo memoryInfo() {
+        return base.memoryInfo();
+    }
+
+    private NodeMerger newMerger() {
+        return new NodeMerger(base, null, -1, aggregation, layers, maxSequence);
+    }
+
+    private static final class OverlayCursor implements AdjacencyCursor {
+
+        private @Nullable AdjacencyCursor baseCursor;
+        private @Nullable NodeMerger merger;
+        private final MergedCursor mergedCursor = new MergedCursor();
+        private AdjacencyCursor current = AdjacencyCursor.empty();
+
+        @Override
+        public void init(long index, int degree) {
+            current.init(index, degree);
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return current.hasNextVLong();
+        }
+
+        @Override
+        public long nextVLong() {
+            return current.nextVLong();
+        }
+
+        @Override
+        public long peekVLong() {
+            return current.peekVLong();
+        }
+
+        @Override
+        public int remaining() {
+            return current.remaining();
+        }
+
+        @Override
+        public long skipUntil(long nodeId) {
+            return current.skipUntil(nodeId);
+        }
+
+        @Override
+        public long advance(long nodeId) {
+            return current.advance(nodeId);
+        }
+
+        @Override
+        public long advanceBy(int n) {
+            return current.advanceBy(n);
+        }
+
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            return current.nextBatch(buffer, max);
+        }
+    }
+
+    /**
+     * Iterates over the sorted targets of a merged node.
+     */
+    private static final class MergedCursor implements AdjacencyCursor {
+
+        private long[] targets;
+        private int size;
+        private int offset;
+
+        void init(long[] targets, int size) {
+            this.targets = targets;
+            this.size = size;
+            this.offset = 0;
+        }
+
+        @Override
+        public void init(long index, int degree) {
+            throw new UnsupportedOperationException("Cursors of merged nodes are initialized by the adjacency list.");
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return offset < size;
+        }
+
+        @Override
+        public long nextVLong() {
+            return targets[offset++];
+        }
+
+        @Override
+        public long peekVLong() {
+            return targets[offset];
+        }
+
+        @Override
+        public int remaining() {
+            return size - offset;
+        }
+
+        @Override
+        public long skipUntil(long nodeId) {
+            while (offset < size) {
+                var target = targets[offset++];
+                if (target > nodeId) {
+                    return target;
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        public long advance(long nodeId) {
+            while (offset < size) {
+                var target = targets[offset++];
+                if (target >= nodeId) {
+                    return target;
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        public long advanceBy(int n) {
+            assert n >= 0;
+
+            offset += n;
+            if (offset >= size) {
+                offset = size;
+                return NOT_FOUND;
+            }
+            return targets[offset++];
+        }
+
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            int count = Math.min(max, size - offset);
+            System.arraycopy(targets, offset, buffer, 0, count);
+            offset += count;
+            return count;
+        }
+    }
+}
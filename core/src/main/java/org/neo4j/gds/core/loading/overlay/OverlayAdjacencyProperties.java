@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.core.Aggregation;
+
+/**
+ * The properties matching an {@link OverlayAdjacencyList}, see there for why cursors switch between the base and merged nodes.
+ * Merging a node needs its targets, hence the properties know the base adjacency list.
+ */
+final class OverlayAdjacencyProperties implements AdjacencyProperties {
+
+    private final AdjacencyList baseAdjacencyList;
+    private final AdjacencyProperties base;
+    private final int property;
+    private final @Nullable Aggregation aggregation;
+    private final DeltaBuffer[] layers;
+    private final long maxSequence;
+
+    OverlayAdjacencyProperties(
+        AdjacencyList baseAdjacencyList,
+        AdjacencyProperties base,
+        int property,
+        @Nullable Aggregation aggregation,
+        DeltaBuffer[] layers,
+        long maxSequence
+    ) {
+        this.baseAdjacencyList = baseAdjacencyList;
+        this.base = base;
+        this.property = property;
+        this.aggregation = aggregation;
+        this.layers = layers;
+        this.maxSequence = maxSequence;
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(long node, double fallbackValue) {
+        return propertyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(PropertyCursor reuse, long node, double fallbackValue) {
+        var cursor = reuse instanceof OverlayCursor ? (OverlayCursor) reuse : new OverlayCursor();
+        if (!NodeMerger.hasChanges(layers, node)) {
+            cursor.current = base.propertyCursor(cursor.baseCursor, node, fallbackValue);
+            if (cursor.current != PropertyCursor.empty()) {
+                cursor.baseCursor = cursor.current;
+            }
+        } else {
+            if (cursor.merger == null) {
+                cursor.merger = new NodeMerger(baseAdjacencyList, base, property, aggregation, layers, maxSequence);
+            }
+            var degree = cursor.merger.merge(node);
+            cursor.mergedCursor.init(cursor.merger.values(), degree);
+            cursor.current = cursor.mergedCursor;
+        }
+        return cursor;
+    }
+
+    @Override
+    public PropertyCursor rawPropertyCursor() {
+        return new OverlayCursor();
+    }
+
+    private static final class OverlayCursor implements PropertyCursor {
+
+        private PropertyCursor baseCursor;
+        private @Nullable NodeMerger merger;
+        private final MergedCursor mergedCursor = new MergedCursor();
+        private PropertyCursor current = PropertyCursor.empty();
+
+        @Override
+        public void init(long index, int degree) {
+            current.init(index, degree);
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return current.hasNextLong();
+        }
+
+        @Override
+        public long nextLong() {
+            return current.nextLong();
+        }
+
+        @Override
+        public void close() {
+            if (baseCursor != null) {
+                baseCursor.close();
+            }
+        }
+    }
+
+    /**
+     * Iterates over the property values of a merged node, in the order of its sorted targets.
+     */
+    private static final class MergedCursor implements PropertyCursor {
+
+        private double[] values;
+        private int size;
+        private int offset;
+
+        void init(double[] values, int size) {
+            this.values = values;
+            this.size = size;
+            this.offset = 0;
+        }
+
+        @Override
+        public void init(long index, int degree) {
+            throw new UnsupportedOperationException("Cursors of merged nodes are initialized by the adjacency properties.");
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return offset < size;
+        }
+
+        @Override
+        public long nextLong() {
+            return Double.doubleToLongBits(values[offset++]);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
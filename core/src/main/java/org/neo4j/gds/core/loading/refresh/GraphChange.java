@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A change to the database that has been committed, in terms of database node ids, label names,
+ * relationship type names and property keys.
+ */
+public interface GraphChange {
+
+    record NodeCreated(long nodeId, List<String> labels, Map<String, Object> properties) implements GraphChange {}
+
+    record NodeDeleted(long nodeId) implements GraphChange {}
+
+    /**
+     * The labels or properties of an existing node changed. Carries all current labels of the node
+     * and the current values of the properties that tracking graphs project.
+     */
+    record NodeUpdated(long nodeId, List<String> labels, Map<String, Object> properties) implements GraphChange {}
+
+    record RelationshipCreated(
+        long relationshipId,
+        String type,
+        long sourceNodeId,
+        long targetNodeId,
+        Map<String, Object> properties
+    ) implements GraphChange {}
+
+    /**
+     * Carries the values that the tracked properties of the relationship had before it was deleted,
+     * which tell parallel relationships apart once the relationship id is no longer known.
+     */
+    record RelationshipDeleted(
+        long relationshipId,
+        String type,
+        long sourceNodeId,
+        long targetNodeId,
+        Map<String, Object> properties
+    ) implements GraphChange {}
+}
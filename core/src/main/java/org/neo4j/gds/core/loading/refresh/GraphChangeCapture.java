@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphdb.Entity;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.event.PropertyEntry;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the changes of a transaction that are relevant for the graphs tracking changes
+ * and appends them to the change log of the database once the transaction has been committed.
+ * <p>
+ * Nodes whose labels or properties change are recorded with all their current labels and tracked properties.
+ * Relationships whose properties change are recorded as being deleted and created again.
+ * Deleted relationships carry the values their tracked properties had before the transaction,
+ * so that a parallel relationship with other values is not mistaken for them.
+ */
+final class GraphChangeCapture implements TransactionEventListener<List<GraphChange>> {
+
+    private final GraphChangeLog changeLog;
+
+    GraphChangeCapture(GraphChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public List<GraphChange> beforeCommit(
+        TransactionData data,
+        Transaction transaction,
+        GraphDatabaseService databaseService
+    ) {
+        if (!changeLog.isRecording()) {
+            return null;
+        }
+        var interest = changeLog.interest();
+
+        // the values that changed relationship properties had before the transaction, null if they were not set
+        var previousValues = new HashMap<Long, Map<String, Object>>();
+        recordPreviousValues(data.assignedRelationshipProperties(), interest.relationshipProperties(), previousValues);
+        recordPreviousValues(data.removedRelationshipProperties(), interest.relationshipProperties(), previousValues);
+
+        // within a transaction, relationships are deleted before their nodes and created after them
+        var changes = new ArrayList<GraphChange>();
+        var deletedRelationships = new LongHashSet();
+        for (var relationship : data.deletedRelationships()) {
+            deletedRelationships.add(id(relationship));
+            if (interest.tracksRelationship(relationship.getType().name())) {
+                // all properties of deleted relationships are reported as removed
+                var properties = previousProperties(Map.of(), previousValues.get(id(relationship)));
+                changes.add(relationshipDeleted(relationship, properties));
+            }
+        }
+
+        // deleted nodes have no labels anymore, their former labels are reported as removed
+        var deletedNodeLabels = new LinkedHashMap<Long, List<String>>();
+        for (var node : data.deletedNodes()) {
+            deletedNodeLabels.put(id(node), new ArrayList<>());
+        }
+        for (var labelEntry : data.removedLabels()) {
+            var labels = deletedNodeLabels.get(id(labelEntry.node()));
+            if (labels != null) {
+                labels.add(labelEntry.label().name());
+            }
+        }
+        var deletedNodes = new LongHashSet();
+        deletedNodeLabels.forEach((nodeId, labels) -> {
+            deletedNodes.add(nodeId);
+            if (interest.tracksNode(labels)) {
+                changes.add(new GraphChange.NodeDeleted(nodeId));
+            }
+        });
+        var createdNodes = new LongHashSet();
+        for (var node : data.createdNodes()) {
+            createdNodes.add(id(node));
+            var labels = labels(node);
+            if (interest.tracksNode(labels)) {
+                changes.add(new GraphChange.NodeCreated(id(node), labels, properties(node, interest.nodeProperties())));
+            }
+        }
+
+        var updatedNodes = new LinkedHashMap<Long, Node>();
+        for (var labelEntry : data.assignedLabels()) {
+            if (interest.labels().contains(labelEntry.label().name())) {
+                updatedNodes.putIfAbsent(id(labelEntry.node()), labelEntry.node());
+            }
+        }
+        for (var labelEntry : data.removedLabels()) {
+            if (interest.labels().contains(labelEntry.label().name())) {
+                updatedNodes.putIfAbsent(id(labelEntry.node()), labelEntry.node());
+            }
+        }
+        for (var propertyEntry : data.assignedNodeProperties()) {
+            if (interest.nodeProperties().contains(propertyEntry.key())) {
+                updatedNodes.putIfAbsent(id(propertyEntry.entity()), propertyEntry.entity());
+            }
+        }
+        for (var propertyEntry : data.removedNodeProperties()) {
+            if (interest.nodeProperties().contains(propertyEntry.key())) {
+                updatedNodes.putIfAbsent(id(propertyEntry.entity()), propertyEntry.entity());
+            }
+        }
+        updatedNodes.forEach((nodeId, node) -> {
+            if (!createdNodes.contains(nodeId) && !deletedNodes.contains(nodeId)) {
+                var properties = properties(node, interest.nodeProperties());
+                changes.add(new GraphChange.NodeUpdated(nodeId, labels(node), properties));
+            }
+        });
+
+        var createdRelationships = new LongHashSet();
+        for (var relationship : data.createdRelationships()) {
+            createdRelationships.add(id(relationship));
+            if (interest.tracksRelationship(relationship.getType().name())) {
+                var properties = properties(relationship, interest.relationshipProperties());
+                changes.add(relationshipCreated(relationship, properties));
+            }
+        }
+
+        var updatedRelationships = new LinkedHashMap<Long, Relationship>();
+        for (var propertyEntry : data.assignedRelationshipProperties()) {
+            if (interest.relationshipProperties().contains(propertyEntry.key())) {
+                updatedRelationships.putIfAbsent(id(propertyEntry.entity()), propertyEntry.entity());
+            }
+        }
+        for (var propertyEntry : data.removedRelationshipProperties()) {
+            if (interest.relationshipProperties().contains(propertyEntry.key())) {
+                updatedRelationships.putIfAbsent(id(propertyEntry.entity()), propertyEntry.entity());
+            }
+        }
+        updatedRelationships.forEach((relationshipId, relationship) -> {
+            var isCreatedOrDeleted = createdRelationships.contains(relationshipId)
+                || deletedRelationships.contains(relationshipId);
+            if (!isCreatedOrDeleted && interest.tracksRelationship(relationship.getType().name())) {
+                var properties = properties(relationship, interest.relationshipProperties());
+                var previousProperties = previousProperties(properties, previousValues.get(relationshipId));
+                changes.add(relationshipDeleted(relationship, previousProperties));
+                changes.add(relationshipCreated(relationship, properties));
+            }
+        });
+
+        return changes;
+    }
+
+    @Override
+    public void afterCommit(TransactionData data, List<GraphChange> changes, GraphDatabaseService databaseService) {
+        if (changes != null && !changes.isEmpty()) {
+            changeLog.append(changes);
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionData data, List<GraphChange> changes, GraphDatabaseService databaseService) {
+    }
+
+    private static GraphChange.RelationshipDeleted relationshipDeleted(
+        Relationship relationship,
+        Map<String, Object> properties
+    ) {
+        return new GraphChange.RelationshipDeleted(
+            id(relationship),
+            relationship.getType().name(),
+            id(relationship.getStartNode()),
+            id(relationship.getEndNode()),
+            properties
+        );
+    }
+
+    private static GraphChange.RelationshipCreated relationshipCreated(
+        Relationship relationship,
+        Map<String, Object> properties
+    ) {
+        return new GraphChange.RelationshipCreated(
+            id(relationship),
+            relationship.getType().name(),
+            id(relationship.getStartNode()),
+            id(relationship.getEndNode()),
+            properties
+        );
+    }
+
+    private static void recordPreviousValues(
+        Iterable<PropertyEntry<Relationship>> propertyEntries,
+        Set<String> propertyKeys,
+        Map<Long, Map<String, Object>> previousValues
+    ) {
+        for (var propertyEntry : propertyEntries) {
+            if (propertyKeys.contains(propertyEntry.key())) {
+                previousValues
+                    .computeIfAbsent(id(propertyEntry.entity()), __ -> new HashMap<>())
+                    .put(propertyEntry.key(), propertyEntry.previouslyCommittedValue());
+            }
+        }
+    }
+
+    /**
+     * Undoes the changes of the transaction to the given current property values.
+     */
+    private static Map<String, Object> previousProperties(
+        Map<String, Object> properties,
+        @Nullable Map<String, Object> previousValues
+    ) {
+        if (previousValues == null) {
+            return properties;
+        }
+        var previousProperties = new HashMap<>(properties);
+        previousValues.forEach((key, value) -> {
+            if (value == null) {
+                previousProperties.remove(key);
+            } else {
+                previousProperties.put(key, value);
+            }
+        });
+        return previousProperties;
+    }
+
+    private static List<String> labels(Node node) {
+        var labels = new ArrayList<String>();
+        for (Label label : node.getLabels()) {
+            labels.add(label.name());
+        }
+        return labels;
+    }
+
+    private static Map<String, Object> properties(Entity entity, Set<String> propertyKeys) {
+        if (propertyKeys.isEmpty()) {
+            return Map.of();
+        }
+        return entity.getProperties(propertyKeys.toArray(String[]::new));
+    }
+
+    // native projections use the internal ids as original node ids
+    @SuppressWarnings("removal")
+    private static long id(Entity entity) {
+        return entity.getId();
+    }
+}
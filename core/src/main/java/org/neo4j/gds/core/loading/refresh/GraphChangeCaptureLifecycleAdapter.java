@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEvent;
+import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEventListener;
+import org.neo4j.gds.core.loading.GraphStoreCatalog;
+import org.neo4j.graphdb.event.DatabaseEventContext;
+import org.neo4j.graphdb.event.DatabaseEventListener;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.SYSTEM_DATABASE_NAME;
+
+/**
+ * Registers a {@link GraphChangeCapture} for every user database and stops tracking changes
+ * for graphs that are dropped from the catalog.
+ */
+public class GraphChangeCaptureLifecycleAdapter extends LifecycleAdapter implements DatabaseEventListener, GraphStoreRemovedEventListener {
+
+    private final DatabaseManagementService dbms;
+    private final Map<String, GraphChangeCapture> captures;
+
+    public GraphChangeCaptureLifecycleAdapter(DatabaseManagementService dbms) {
+        this.dbms = dbms;
+        this.captures = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void init() {
+        dbms.registerDatabaseEventListener(this);
+        GraphStoreCatalog.registerGraphStoreRemovedListener(this);
+    }
+
+    @Override
+    public void shutdown() {
+        GraphStoreCatalog.unregisterGraphStoreRemovedListener(this);
+        dbms.unregisterDatabaseEventListener(this);
+    }
+
+    @Override
+    public void databaseStart(DatabaseEventContext eventContext) {
+        var databaseName = eventContext.getDatabaseName();
+        if (SYSTEM_DATABASE_NAME.equals(databaseName)) {
+            return;
+        }
+        var capture = new GraphChangeCapture(GraphChangeLog.of(DatabaseId.of(databaseName)));
+        captures.put(databaseName, capture);
+        dbms.registerTransactionEventListener(databaseName, capture);
+    }
+
+    @Override
+    public void databaseShutdown(DatabaseEventContext eventContext) {
+        stopCapturing(eventContext.getDatabaseName());
+    }
+
+    @Override
+    public void databasePanic(DatabaseEventContext eventContext) {
+        stopCapturing(eventContext.getDatabaseName());
+    }
+
+    @Override
+    public void databaseCreate(DatabaseEventContext eventContext) {
+    }
+
+    @Override
+    public void databaseDrop(DatabaseEventContext eventContext) {
+        stopCapturing(eventContext.getDatabaseName());
+    }
+
+    @Override
+    public void onGraphStoreRemoved(GraphStoreRemovedEvent event) {
+        // refreshing a graph replaces it in the catalog, which keeps tracking changes
+        if (!GraphStoreCatalog.exists(event.user(), event.database(), event.graphName())) {
+            GraphChangeLog.of(DatabaseId.of(event.database())).release(event.user(), event.graphName());
+        }
+    }
+
+    private void stopCapturing(String databaseName) {
+        var capture = captures.remove(databaseName);
+        if (capture != null) {
+            dbms.unregisterTransactionEventListener(databaseName, capture);
+        }
+        // changes that happen while the database is down are not captured, tracking graphs cannot be refreshed anymore
+        GraphChangeLog.removeDatabase(DatabaseId.of(databaseName));
+    }
+}
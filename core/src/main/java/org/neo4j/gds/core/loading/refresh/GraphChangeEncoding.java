@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A compact binary encoding of {@link GraphChange}s. Ids are written as variable length longs,
+ * labels, relationship types and property keys as indices into a dictionary of names.
+ * Property values that native projections can load are stored as primitives, other values as strings.
+ * <p>
+ * Not thread-safe, the {@link GraphChangeLog} synchronizes access.
+ */
+final class GraphChangeEncoding {
+
+    private static final byte NODE_CREATED = 0;
+    private static final byte NODE_DELETED = 1;
+    private static final byte NODE_UPDATED = 2;
+    private static final byte RELATIONSHIP_CREATED = 3;
+    private static final byte RELATIONSHIP_DELETED = 4;
+
+    private static final byte LONG = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte LONG_ARRAY = 2;
+    private static final byte DOUBLE_ARRAY = 3;
+    private static final byte FLOAT_ARRAY = 4;
+    private static final byte STRING = 5;
+
+    private final List<String> names;
+    private final Map<String, Integer> nameIds;
+
+    GraphChangeEncoding() {
+        this.names = new ArrayList<>();
+        this.nameIds = new HashMap<>();
+    }
+
+    static final class Chunk {
+        private final long firstPosition;
+        private int count;
+        private byte[] bytes;
+        private int length;
+
+        Chunk(long firstPosition) {
+            this.firstPosition = firstPosition;
+            this.bytes = new byte[1024];
+        }
+
+        long firstPosition() {
+            return firstPosition;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int sizeInBytes() {
+            return length;
+        }
+
+        private void put(byte value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = value;
+        }
+
+        private void putVLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((byte) value);
+        }
+
+        private void putZigZag(long value) {
+            putVLong((value << 1) ^ (value >> 63));
+        }
+
+        private void putFixed(long value, int byteCount) {
+            for (int shift = (byteCount - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                put((byte) (value >>> shift));
+            }
+        }
+    }
+
+    private static final class ChunkReader {
+        private final Chunk chunk;
+        private int offset;
+
+        private ChunkReader(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        private byte get() {
+            return chunk.bytes[offset++];
+        }
+
+        private long getVLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private int getVInt() {
+            return (int) getVLong();
+        }
+
+        private long getZigZag() {
+            var value = getVLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long getFixed(int byteCount) {
+            long value = 0;
+            for (int i = 0; i < byteCount; i++) {
+                value = (value << Byte.SIZE) | (get() & 0xFF);
+            }
+            return value;
+        }
+    }
+
+    void write(Chunk chunk, GraphChange change) {
+        if (change instanceof GraphChange.NodeCreated nodeCreated) {
+            chunk.put(NODE_CREATED);
+            chunk.putVLong(nodeCreated.nodeId());
+            writeNames(chunk, nodeCreated.labels());
+            writeProperties(chunk, nodeCreated.properties());
+        } else if (change instanceof GraphChange.NodeDeleted nodeDeleted) {
+            chunk.put(NODE_DELETED);
+            chunk.putVLong(nodeDeleted.nodeId());
+        } else if (change instanceof GraphChange.NodeUpdated nodeUpdated) {
+            chunk.put(NODE_UPDATED);
+            chunk.putVLong(nodeUpdated.nodeId());
+            writeNames(chunk, nodeUpdated.labels());
+            writeProperties(chunk, nodeUpdated.properties());
+        } else if (change instanceof GraphChange.RelationshipCreated relationshipCreated) {
+            chunk.put(RELATIONSHIP_CREATED);
+            chunk.putVLong(relationshipCreated.relationshipId());
+            chunk.putVLong(nameId(relationshipCreated.type()));
+            chunk.putVLong(relationshipCreated.sourceNodeId());
+            chunk.putVLong(relationshipCreated.targetNodeId());
+            writeProperties(chunk, relationshipCreated.properties());
+        } else if (change instanceof GraphChange.RelationshipDeleted relationshipDeleted) {
+            chunk.put(RELATIONSHIP_DELETED);
+            chunk.putVLong(relationshipDeleted.relationshipId());
+            chunk.putVLong(nameId(relationshipDeleted.type()));
+            chunk.putVLong(relationshipDeleted.sourceNodeId());
+            chunk.putVLong(relationshipDeleted.targetNodeId());
+            writeProperties(chunk, relationshipDeleted.properties());
+        } else {
+            throw new IllegalArgumentException("Unknown change " + change);
+        }
+        chunk.count++;
+    }
+
+    /**
+     * Decodes the changes of the chunk starting at the given position in the log.
+     */
+    void read(Chunk chunk, long fromPosition, Consumer<GraphChange> consumer) {
+        var reader = new ChunkReader(chunk);
+        for (long position = chunk.firstPosition; position < chunk.firstPosition + chunk.count; position++) {
+            var change = read(reader);
+            if (position >= fromPosition) {
+                consumer.accept(change);
+            }
+        }
+    }
+
+    private GraphChange read(ChunkReader reader) {
+        var tag = reader.get();
+        switch (tag) {
+            case NODE_CREATED:
+                return new GraphChange.NodeCreated(reader.getVLong(), readNames(reader), readProperties(reader));
+            case NODE_DELETED:
+                return new GraphChange.NodeDeleted(reader.getVLong());
+            case NODE_UPDATED:
+                return new GraphChange.NodeUpdated(reader.getVLong(), readNames(reader), readProperties(reader));
+            case RELATIONSHIP_CREATED:
+                return new GraphChange.RelationshipCreated(
+                    reader.getVLong(),
+                    names.get(reader.getVInt()),
+                    reader.getVLong(),
+                    reader.getVLong(),
+                    readProperties(reader)
+                );
+            case RELATIONSHIP_DELETED:
+                return new GraphChange.RelationshipDeleted(
+                    reader.getVLong(),
+                    names.get(reader.getVInt()),
+                    reader.getVLong(),
+                    reader.getVLong(),
+                    readProperties(reader)
+                );
+            default:
+                throw new IllegalStateException("Unknown change tag " + tag);
+        }
+    }
+
+    private int nameId(String name) {
+        return nameIds.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    private void writeNames(Chunk chunk, List<String> values) {
+        chunk.putVLong(values.size());
+        for (var value : values) {
+            chunk.putVLong(nameId(value));
+        }
+    }
+
+    private List<String> readNames(ChunkReader reader) {
+        var count = reader.getVInt();
+        var values = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(names.get(reader.getVInt()));
+        }
+        return values;
+    }
+
+    private void writeProperties(Chunk chunk, Map<String, Object> properties) {
+        chunk.putVLong(properties.size());
+        properties.forEach((key, value) -> {
+            chunk.putVLong(nameId(key));
+            writeValue(chunk, value);
+        });
+    }
+
+    private Map<String, Object> readProperties(ChunkReader reader) {
+        var count = reader.getVInt();
+        var properties = new HashMap<String, Object>(count);
+        for (int i = 0; i < count; i++) {
+            var key = names.get(reader.getVInt());
+            properties.put(key, readValue(reader));
+        }
+        return properties;
+    }
+
+    private static void writeValue(Chunk chunk, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            chunk.put(LONG);
+            chunk.putZigZag(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            chunk.put(DOUBLE);
+            chunk.putFixed(Double.doubleToRawLongBits(((Number) value).doubleValue()), Long.BYTES);
+        } else if (value instanceof long[] longs) {
+            chunk.put(LONG_ARRAY);
+            chunk.putVLong(longs.length);
+            for (var element : longs) {
+                chunk.putZigZag(element);
+            }
+        } else if (value instanceof int[] ints) {
+            chunk.put(LONG_ARRAY);
+            chunk.putVLong(ints.length);
+            for (var element : ints) {
+                chunk.putZigZag(element);
+            }
+        } else if (value instanceof double[] doubles) {
+            chunk.put(DOUBLE_ARRAY);
+            chunk.putVLong(doubles.length);
+            for (var element : doubles) {
+                chunk.putFixed(Double.doubleToRawLongBits(element), Long.BYTES);
+            }
+        } else if (value instanceof float[] floats) {
+            chunk.put(FLOAT_ARRAY);
+            chunk.putVLong(floats.length);
+            for (var element : floats) {
+                chunk.putFixed(Float.floatToRawIntBits(element), Integer.BYTES);
+            }
+        } else {
+            // projections reject these values when the change is applied, the string keeps the error message useful
+            var bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            chunk.put(STRING);
+            chunk.putVLong(bytes.length);
+            for (var b : bytes) {
+                chunk.put(b);
+            }
+        }
+    }
+
+    private static Object readValue(ChunkReader reader) {
+        var tag = reader.get();
+        switch (tag) {
+            case LONG:
+                return reader.getZigZag();
+            case DOUBLE:
+                return Double.longBitsToDouble(reader.getFixed(Long.BYTES));
+            case LONG_ARRAY: {
+                var values = new long[reader.getVInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = reader.getZigZag();
+                }
+                return values;
+            }
+            case DOUBLE_ARRAY: {
+                var values = new double[reader.getVInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Double.longBitsToDouble(reader.getFixed(Long.BYTES));
+                }
+                return values;
+            }
+            case FLOAT_ARRAY: {
+                var values = new float[reader.getVInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Float.intBitsToFloat((int) reader.getFixed(Integer.BYTES));
+                }
+                return values;
+            }
+            case STRING: {
+                var bytes = new byte[reader.getVInt()];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = reader.get();
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            default:
+                throw new IllegalStateException("Unknown value tag " + tag);
+        }
+    }
+}
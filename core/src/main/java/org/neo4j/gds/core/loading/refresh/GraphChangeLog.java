@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.jetbrains.annotations.TestOnly;
+import org.neo4j.gds.api.DatabaseId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The changes committed to a database since graphs that track changes have been projected or refreshed.
+ * <p>
+ * Changes are only recorded while at least one graph of the database tracks changes, only for the labels,
+ * relationship types and properties that the tracking graphs project, and only as long as the tracking graphs
+ * have not seen them yet. Changes are stored in a compact binary encoding, in chunks of about
+ * {@link #CHUNK_SIZE} bytes. The log holds at most {@link #DEFAULT_CAPACITY_IN_BYTES} bytes, older chunks are
+ * discarded and graphs that have not seen them must be projected again.
+ */
+public final class GraphChangeLog {
+
+    static final long DEFAULT_CAPACITY_IN_BYTES = 256L * 1024 * 1024;
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final Map<DatabaseId, GraphChangeLog> LOGS = new ConcurrentHashMap<>();
+
+    public static GraphChangeLog of(DatabaseId databaseId) {
+        return LOGS.computeIfAbsent(databaseId, id -> new GraphChangeLog(DEFAULT_CAPACITY_IN_BYTES));
+    }
+
+    public static void removeDatabase(DatabaseId databaseId) {
+        LOGS.remove(databaseId);
+    }
+
+    @TestOnly
+    public static void removeAll() {
+        LOGS.clear();
+    }
+
+    /**
+     * The changes a graph has not seen yet, up to the given position in the log.
+     * The first {@code concurrentCount} changes have been committed while the graph was projected,
+     * the graph may or may not contain them already.
+     */
+    public record PendingChanges(List<GraphChange> changes, int concurrentCount, long position) {}
+
+    /**
+     * The part of the database a tracking graph projects, in terms of database labels, relationship types
+     * and property keys. Changes outside of it are not recorded.
+     */
+    public record Interest(
+        boolean allNodes,
+        Set<String> labels,
+        Set<String> nodeProperties,
+        boolean allRelationships,
+        Set<String> relationshipTypes,
+        Set<String> relationshipProperties
+    ) {
+        static final Interest NOTHING = new Interest(false, Set.of(), Set.of(), false, Set.of(), Set.of());
+
+        public boolean tracksNode(Iterable<String> nodeLabels) {
+            if (allNodes) {
+                return true;
+            }
+            for (var label : nodeLabels) {
+                if (labels.contains(label)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean tracksRelationship(String relationshipType) {
+            return allRelationships || relationshipTypes.contains(relationshipType);
+        }
+
+        private static Interest union(Iterable<Interest> interests) {
+            var labels = new HashSet<String>();
+            var nodeProperties = new HashSet<String>();
+            var relationshipTypes = new HashSet<String>();
+            var relationshipProperties = new HashSet<String>();
+            boolean allNodes = false;
+            boolean allRelationships = false;
+            for (var interest : interests) {
+                allNodes |= interest.allNodes();
+                allRelationships |= interest.allRelationships();
+                labels.addAll(interest.labels());
+                nodeProperties.addAll(interest.nodeProperties());
+                relationshipTypes.addAll(interest.relationshipTypes());
+                relationshipProperties.addAll(interest.relationshipProperties());
+            }
+            return new Interest(
+                allNodes,
+                Set.copyOf(labels),
+                Set.copyOf(nodeProperties),
+                allRelationships,
+                Set.copyOf(relationshipTypes),
+                Set.copyOf(relationshipProperties)
+            );
+        }
+    }
+
+    private record TrackingKey(String username, String graphName) {}
+
+    private static final class Tracking {
+        private final Interest interest;
+        private long position;
+        // changes before this position may have been seen by the projection of the graph
+        private long projectedUntil;
+
+        private Tracking(Interest interest, long position) {
+            this.interest = interest;
+            this.position = position;
+            this.projectedUntil = Long.MAX_VALUE;
+        }
+    }
+
+    private final long capacityInBytes;
+    private final GraphChangeEncoding encoding;
+    private final ArrayDeque<GraphChangeEncoding.Chunk> chunks;
+    private long sizeInBytes;
+    // the position of the first retained change, positions keep increasing when changes are discarded
+    private long offset;
+    private long end;
+    private final Map<TrackingKey, Tracking> trackings;
+    private volatile Interest interest;
+    private volatile boolean recording;
+
+    GraphChangeLog(long capacityInBytes) {
+        this.capacityInBytes = capacityInBytes;
+        this.encoding = new GraphChangeEncoding();
+        this.chunks = new ArrayDeque<>();
+        this.trackings = new HashMap<>();
+        this.interest = Interest.NOTHING;
+    }
+
+    /**
+     * Cheap check for the transaction listener, so that transactions do not collect changes nobody needs.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * The union of what the tracking graphs project, for the transaction listener to skip irrelevant changes.
+     */
+    public Interest interest() {
+        return interest;
+    }
+
+    public synchronized void append(List<GraphChange> committedChanges) {
+        if (trackings.isEmpty()) {
+            return;
+        }
+        for (var change : committedChanges) {
+            var chunk = chunks.peekLast();
+            if (chunk == null || chunk.sizeInBytes() >= CHUNK_SIZE) {
+                chunk = new GraphChangeEncoding.Chunk(end);
+                chunks.addLast(chunk);
+            }
+            var before = chunk.sizeInBytes();
+            encoding.write(chunk, change);
+            sizeInBytes += chunk.sizeInBytes() - before;
+            end++;
+        }
+        while (sizeInBytes > capacityInBytes && !chunks.isEmpty()) {
+            discardFirstChunk();
+        }
+    }
+
+    /**
+     * Starts tracking changes for a graph. Changes committed from now on will be returned by {@link #pendingChanges}.
+     */
+    public synchronized void track(String username, String graphName, Interest interest) {
+        trackings.put(new TrackingKey(username, graphName), new Tracking(interest, end));
+        updateInterest();
+    }
+
+    /**
+     * Marks the end of the projection of a graph. Changes committed between {@link #track} and now
+     * may or may not have been seen by the projection.
+     */
+    public synchronized void projected(String username, String graphName) {
+        var tracking = trackings.get(new TrackingKey(username, graphName));
+        if (tracking != null) {
+            tracking.projectedUntil = end;
+        }
+    }
+
+    public synchronized void release(String username, String graphName) {
+        trackings.remove(new TrackingKey(username, graphName));
+        updateInterest();
+        discardSeenChanges();
+    }
+
+    public synchronized boolean isTracked(String username, String graphName) {
+        return trackings.containsKey(new TrackingKey(username, graphName));
+    }
+
+    public synchronized PendingChanges pendingChanges(String username, String graphName) {
+        var tracking = trackings.get(new TrackingKey(username, graphName));
+        if (tracking == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Changes are not tracked for graph `%s`. Project the graph with `trackChanges: true` to refresh it.",
+                graphName
+            ));
+        }
+        if (tracking.position < offset) {
+            throw new IllegalStateException(formatWithLocale(
+                "More than %d bytes of changes have been committed since graph `%s` has been refreshed, " +
+                "the graph must be projected again.",
+                capacityInBytes,
+                graphName
+            ));
+        }
+        var changes = new ArrayList<GraphChange>((int) (end - tracking.position));
+        for (var chunk : chunks) {
+            if (chunk.firstPosition() + chunk.count() > tracking.position) {
+                encoding.read(chunk, tracking.position, changes::add);
+            }
+        }
+        var concurrentCount = Math.min(Math.max(tracking.projectedUntil - tracking.position, 0), changes.size());
+        return new PendingChanges(changes, (int) concurrentCount, end);
+    }
+
+    /**
+     * Marks the changes up to the given position as seen by the graph.
+     */
+    public synchronized void acknowledge(String username, String graphName, long position) {
+        var tracking = trackings.get(new TrackingKey(username, graphName));
+        if (tracking != null) {
+            tracking.position = Math.max(tracking.position, position);
+        }
+        discardSeenChanges();
+    }
+
+    @TestOnly
+    synchronized long size() {
+        return end - offset;
+    }
+
+    @TestOnly
+    synchronized long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    private void updateInterest() {
+        recording = !trackings.isEmpty();
+        interest = trackings.isEmpty()
+            ? Interest.NOTHING
+            : Interest.union(trackings.values().stream().map(tracking -> tracking.interest).toList());
+    }
+
+    private void discardSeenChanges() {
+        var lowestPosition = trackings.values().stream().mapToLong(tracking -> tracking.position).min().orElse(end);
+        while (!chunks.isEmpty()) {
+            var first = chunks.peekFirst();
+            if (first.firstPosition() + first.count() > lowestPosition) {
+                break;
+            }
+            discardFirstChunk();
+        }
+    }
+
+    private void discardFirstChunk() {
+        var first = chunks.removeFirst();
+        sizeInBytes -= first.sizeInBytes();
+        offset = chunks.isEmpty() ? end : chunks.peekFirst().firstPosition();
+    }
+}
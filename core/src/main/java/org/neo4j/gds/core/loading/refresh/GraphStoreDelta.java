@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Changes to apply to a graph store, expressed in original node ids and in the labels,
+ * relationship types and property keys of the graph store.
+ * <p>
+ * Changes are recorded in the order in which they happened. Removing a node or relationship
+ * that has been added earlier in the same delta cancels the addition. Otherwise, removals
+ * apply to the graph store and are applied before additions.
+ * Updating a node replaces its labels and property values; updating a node that is not part
+ * of the graph store adds it.
+ * A removed relationship drops one relationship between its source and target, which for
+ * aggregated relationship types is the aggregated relationship. Relationships that are recorded with
+ * their database id are matched by that id within the delta. As the graph store does not know
+ * relationship ids, removals from it are matched by the property values of the removed relationship,
+ * which only leaves parallel relationships that cannot be told apart in the graph store.
+ * <p>
+ * A delta is not thread-safe.
+ */
+public final class GraphStoreDelta {
+
+    private final Map<Long, AddedNode> addedNodes;
+    private final Map<Long, AddedNode> updatedNodes;
+    private final LongHashSet removedNodes;
+    private final Map<RelationshipType, RelationshipChanges> relationshipChanges;
+
+    public GraphStoreDelta() {
+        this.addedNodes = new LinkedHashMap<>();
+        this.updatedNodes = new LinkedHashMap<>();
+        this.removedNodes = new LongHashSet();
+        this.relationshipChanges = new HashMap<>();
+    }
+
+    /**
+     * @param properties node property values by property key, either a {@link Number} or a primitive array.
+     *                   Missing properties are set to the default value of the property.
+     */
+    public void addNode(long originalId, List<NodeLabel> labels, Map<String, Object> properties) {
+        addedNodes.put(originalId, new AddedNode(originalId, labels, properties));
+    }
+
+    /**
+     * @param properties all node property values of the node, missing properties are set to the default value
+     */
+    public void updateNode(long originalId, List<NodeLabel> labels, Map<String, Object> properties) {
+        var node = new AddedNode(originalId, labels, properties);
+        if (addedNodes.containsKey(originalId)) {
+            addedNodes.put(originalId, node);
+        } else {
+            updatedNodes.put(originalId, node);
+        }
+    }
+
+    public void removeNode(long originalId) {
+        updatedNodes.remove(originalId);
+        if (addedNodes.remove(originalId) == null) {
+            removedNodes.add(originalId);
+        }
+    }
+
+    /**
+     * Returns the relationship changes for the given type.
+     * All added relationships carry values for the given property keys, in that order.
+     */
+    public RelationshipChanges relationships(RelationshipType relationshipType, List<String> propertyKeys) {
+        var changes = relationshipChanges.computeIfAbsent(
+            relationshipType,
+            type -> new RelationshipChanges(List.copyOf(propertyKeys))
+        );
+        if (!changes.propertyKeys.equals(propertyKeys)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Relationship changes of type `%s` have been recorded with the properties %s, not %s.",
+                relationshipType.name(),
+                changes.propertyKeys,
+                propertyKeys
+            ));
+        }
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return addedNodes.isEmpty()
+            && updatedNodes.isEmpty()
+            && removedNodes.isEmpty()
+            && relationshipChanges.values().stream().allMatch(RelationshipChanges::isEmpty);
+    }
+
+    Iterable<AddedNode> addedNodes() {
+        return addedNodes.values();
+    }
+
+    int addedNodeCount() {
+        return addedNodes.size();
+    }
+
+    Iterable<AddedNode> updatedNodes() {
+        return updatedNodes.values();
+    }
+
+    LongHashSet removedNodes() {
+        return removedNodes;
+    }
+
+    Map<RelationshipType, RelationshipChanges> relationshipChanges() {
+        return relationshipChanges;
+    }
+
+    record AddedNode(long originalId, List<NodeLabel> labels, Map<String, Object> properties) {}
+
+    public static final class RelationshipChanges {
+
+        private final List<String> propertyKeys;
+
+        private final LongArrayList addedSources;
+        private final LongArrayList addedTargets;
+        private final List<double[]> addedProperties;
+        // indices of additions that have not been cancelled yet, for cancelling them on removal
+        private final Map<SourceTarget, IntArrayList> pendingAdditions;
+        private final LongIntHashMap pendingAdditionsById;
+
+        private final LongArrayList removedSources;
+        private final LongArrayList removedTargets;
+        private final List<double[]> removedProperties;
+
+        private int cancelledAdditions;
+
+        private RelationshipChanges(List<String> propertyKeys) {
+            this.propertyKeys = propertyKeys;
+            this.addedSources = new LongArrayList();
+            this.addedTargets = new LongArrayList();
+            this.addedProperties = new ArrayList<>();
+            this.pendingAdditions = new HashMap<>();
+            this.pendingAdditionsById = new LongIntHashMap();
+            this.removedSources = new LongArrayList();
+            this.removedTargets = new LongArrayList();
+            this.removedProperties = new ArrayList<>();
+        }
+
+        public void add(long sourceOriginalId, long targetOriginalId, double... propertyValues) {
+            validatePropertyValues(propertyValues);
+            pendingAdditions
+                .computeIfAbsent(new SourceTarget(sourceOriginalId, targetOriginalId), __ -> new IntArrayList(1))
+                .add(addedSources.size());
+            append(sourceOriginalId, targetOriginalId, propertyValues);
+        }
+
+        /**
+         * Adds the database relationship with the given id, a later removal of that id cancels exactly this addition.
+         */
+        public void addRelationship(
+            long relationshipId,
+            long sourceOriginalId,
+            long targetOriginalId,
+            double... propertyValues
+        ) {
+            validatePropertyValues(propertyValues);
+            pendingAdditionsById.put(relationshipId, addedSources.size());
+            append(sourceOriginalId, targetOriginalId, propertyValues);
+        }
+
+        /**
+         * Removes any one relationship between the given nodes.
+         */
+        public void remove(long sourceOriginalId, long targetOriginalId) {
+            var key = new SourceTarget(sourceOriginalId, targetOriginalId);
+            var pending = pendingAdditions.get(key);
+            if (pending != null) {
+                var index = pending.remove(pending.size() - 1);
+                if (pending.isEmpty()) {
+                    pendingAdditions.remove(key);
+                }
+                cancel(index);
+                return;
+            }
+            removedSources.add(sourceOriginalId);
+            removedTargets.add(targetOriginalId);
+            removedProperties.add(null);
+        }
+
+        /**
+         * Removes the database relationship with the given id. If it has not been added in this delta,
+         * a relationship between the given nodes with the given property values is removed from the graph store.
+         */
+        public void removeRelationship(
+            long relationshipId,
+            long sourceOriginalId,
+            long targetOriginalId,
+            double... propertyValues
+        ) {
+            validatePropertyValues(propertyValues);
+            if (pendingAdditionsById.containsKey(relationshipId)) {
+                cancel(pendingAdditionsById.remove(relationshipId));
+                return;
+            }
+            removedSources.add(sourceOriginalId);
+            removedTargets.add(targetOriginalId);
+            removedProperties.add(propertyValues);
+        }
+
+        private void validatePropertyValues(double[] propertyValues) {
+            if (propertyValues.length != propertyKeys.size()) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected values for the properties %s, but got %d values.",
+                    propertyKeys,
+                    propertyValues.length
+                ));
+            }
+        }
+
+        private void append(long sourceOriginalId, long targetOriginalId, double[] propertyValues) {
+            addedSources.add(sourceOriginalId);
+            addedTargets.add(targetOriginalId);
+            addedProperties.add(propertyValues);
+        }
+
+        private void cancel(int index) {
+            // cancelled additions are skipped when the delta is applied
+            addedSources.set(index, CANCELLED);
+            addedProperties.set(index, null);
+            cancelledAdditions++;
+        }
+
+        public boolean isEmpty() {
+            return addedCount() == 0 && removedCount() == 0;
+        }
+
+        public int addedCount() {
+            return addedSources.size() - cancelledAdditions;
+        }
+
+        public int removedCount() {
+            return removedSources.size();
+        }
+
+        List<String> propertyKeys() {
+            return propertyKeys;
+        }
+
+        int additionSlots() {
+            return addedSources.size();
+        }
+
+        long addedSource(int index) {
+            return addedSources.get(index);
+        }
+
+        long addedTarget(int index) {
+            return addedTargets.get(index);
+        }
+
+        double[] addedProperties(int index) {
+            return addedProperties.get(index);
+        }
+
+        long removedSource(int index) {
+            return removedSources.get(index);
+        }
+
+        long removedTarget(int index) {
+            return removedTargets.get(index);
+        }
+
+        /**
+         * @return the property values the removed relationship must have, or null if any relationship matches
+         */
+        double @Nullable [] removedProperties(int index) {
+            return removedProperties.get(index);
+        }
+    }
+
+    static final long CANCELLED = -1L;
+
+    private record SourceTarget(long source, long target) {}
+}
@@ -0,0 +1,1185 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.procedures.LongProcedure;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.ImmutableTopology;
+import org.neo4j.gds.api.Topology;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.graph.GraphPropertyStore;
+import org.neo4j.gds.api.properties.nodes.ImmutableNodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValuesAdapter;
+import org.neo4j.gds.api.properties.relationships.ImmutableProperties;
+import org.neo4j.gds.api.properties.relationships.ImmutableRelationshipProperty;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.api.properties.relationships.RelationshipPropertyStore;
+import org.neo4j.gds.api.schema.Direction;
+import org.neo4j.gds.api.schema.MutableGraphSchema;
+import org.neo4j.gds.api.schema.MutableNodeSchema;
+import org.neo4j.gds.collections.ha.HugeDoubleArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.collections.ha.HugeObjectArray;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.ParallelUtil;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.loading.ArrayIdMap;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.core.loading.GraphStoreBuilder;
+import org.neo4j.gds.core.loading.ImmutableNodes;
+import org.neo4j.gds.core.loading.LabelInformation;
+import org.neo4j.gds.core.loading.LabelInformationBuilders;
+import org.neo4j.gds.core.loading.Nodes;
+import org.neo4j.gds.core.loading.RelationshipImportResult;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.neo4j.gds.core.loading.construction.RelationshipsBuilder;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.partition.PartitionUtils;
+import org.neo4j.gds.termination.TerminationFlag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Applies a {@link GraphStoreDelta} to a graph store and returns the refreshed graph store.
+ * The given graph store is not modified and stays usable.
+ * <p>
+ * As long as no nodes are removed, node ids are stable: added nodes are appended to the id map
+ * and only the adjacency lists of the nodes that have changes are rebuilt. They are stored in a patch
+ * that is layered on top of the existing adjacency list, which is shared with the given graph store.
+ * Refreshing a refreshed graph store merges the earlier patch into the new one, so there is at most one
+ * patch per adjacency list. Once the patch covers more than {@link #COMPACTION_THRESHOLD} of the nodes,
+ * the adjacency list is compacted into a single one.
+ * <p>
+ * Removing nodes changes the node ids, hence the id map, node properties and all adjacency lists
+ * are rebuilt in memory. This is still a lot cheaper than projecting the graph from the database.
+ */
+public final class GraphStoreRefresher {
+
+    static final double COMPACTION_THRESHOLD = 0.2;
+
+    private static final Set<ValueType> SUPPORTED_NODE_PROPERTY_TYPES = EnumSet.of(
+        ValueType.LONG,
+        ValueType.DOUBLE,
+        ValueType.LONG_ARRAY,
+        ValueType.FLOAT_ARRAY,
+        ValueType.DOUBLE_ARRAY
+    );
+
+    public record Result(
+        GraphStore graphStore,
+        long nodesAdded,
+        long nodesRemoved,
+        long relationshipsAdded,
+        long relationshipsRemoved
+    ) {}
+
+    private final CSRGraphStore graphStore;
+    private final GraphStoreDelta delta;
+    private final Concurrency concurrency;
+
+    private final LongAdder relationshipsAdded;
+    private final LongAdder relationshipsRemoved;
+
+    private GraphStoreRefresher(CSRGraphStore graphStore, GraphStoreDelta delta, Concurrency concurrency) {
+        this.graphStore = graphStore;
+        this.delta = delta;
+        this.concurrency = concurrency;
+        this.relationshipsAdded = new LongAdder();
+        this.relationshipsRemoved = new LongAdder();
+    }
+
+    public static Result refresh(GraphStore graphStore, GraphStoreDelta delta, Concurrency concurrency) {
+        validate(graphStore);
+        return new GraphStoreRefresher((CSRGraphStore) graphStore, delta, concurrency).refresh();
+    }
+
+    /**
+     * Checks that the graph store can be refreshed at all, before any changes are translated or applied.
+     *
+     * @throws IllegalArgumentException if the graph store or one of its node properties cannot be refreshed
+     */
+    public static void validate(GraphStore graphStore) {
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Only graphs that have been projected into memory can be refreshed, got a `%s`.",
+                graphStore.getClass().getSimpleName()
+            ));
+        }
+        var unsupportedProperties = graphStore.nodePropertyKeys().stream()
+            .filter(key -> !SUPPORTED_NODE_PROPERTY_TYPES.contains(graphStore.nodeProperty(key).valueType()))
+            .sorted()
+            .map(key -> formatWithLocale("`%s` of type %s", key, graphStore.nodeProperty(key).valueType()))
+            .toList();
+        if (!unsupportedProperties.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The graph cannot be refreshed, because the node properties %s are not supported. " +
+                "Supported types are %s.",
+                String.join(", ", unsupportedProperties),
+                SUPPORTED_NODE_PROPERTY_TYPES
+            ));
+        }
+    }
+
+    private Result refresh() {
+        for (var relationshipType : delta.relationshipChanges().keySet()) {
+            if (!graphStore.hasRelationshipType(relationshipType)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The graph has no relationships of type `%s`.",
+                    relationshipType.name()
+                ));
+            }
+        }
+
+        var nodeChanges = NodeChanges.of(graphStore.nodes(), delta);
+        var nodes = nodeChanges.isEmpty() && !nodeChanges.hasUpdates() ? currentNodes() : refreshNodes(nodeChanges);
+
+        var relationshipsByType = new HashMap<RelationshipType, SingleTypeRelationships>();
+        for (var relationshipType : graphStore.relationshipTypes()) {
+            var relationships = graphStore.relationships(relationshipType).orElseThrow();
+            relationshipsByType.put(
+                relationshipType,
+                refreshRelationships(relationships, delta.relationshipChanges().get(relationshipType), nodes.idMap(), nodeChanges)
+            );
+        }
+
+        var graphProperties = GraphPropertyStore.builder();
+        graphStore.graphPropertyKeys().forEach(key -> graphProperties.putIfAbsent(key, graphStore.graphProperty(key)));
+
+        var refreshed = new GraphStoreBuilder()
+            .databaseInfo(graphStore.databaseInfo())
+            .capabilities(graphStore.capabilities())
+            .schema(MutableGraphSchema.from(graphStore.schema()))
+            .nodes(nodes)
+            .relationshipImportResult(RelationshipImportResult.of(relationshipsByType))
+            .graphProperties(graphProperties.build())
+            .concurrency(concurrency)
+            .build();
+
+        return new Result(
+            refreshed,
+            nodeChanges.added.size(),
+            nodeChanges.removedCount,
+            relationshipsAdded.sum(),
+            relationshipsRemoved.sum()
+        );
+    }
+
+    private Nodes currentNodes() {
+        var properties = NodePropertyStore.builder();
+        graphStore.nodePropertyKeys().forEach(key -> properties.putProperty(key, graphStore.nodeProperty(key)));
+        return ImmutableNodes.of(MutableNodeSchema.from(graphStore.schema().nodeSchema()), graphStore.nodes(), properties.build());
+    }
+
+    private Nodes refreshNodes(NodeChanges nodeChanges) {
+        var oldIdMap = graphStore.nodes();
+        var newNodeCount = nodeChanges.newNodeCount;
+        var survivorCount = nodeChanges.survivorCount();
+
+        var availableLabels = oldIdMap.availableNodeLabels();
+        LabelInformation.Builder labelInformationBuilder;
+        boolean copyLabels = false;
+        if (availableLabels.isEmpty() || (availableLabels.size() == 1 && availableLabels.contains(NodeLabel.ALL_NODES))) {
+            labelInformationBuilder = LabelInformationBuilders.allNodes();
+        } else if (availableLabels.size() == 1) {
+            labelInformationBuilder = LabelInformationBuilders.singleLabel(availableLabels.iterator().next());
+        } else {
+            labelInformationBuilder = LabelInformationBuilders.multiLabelWithCapacityAndLabelInformation(
+                newNodeCount,
+                availableLabels,
+                List.of()
+            );
+            copyLabels = true;
+        }
+
+        // updated nodes get their new labels instead of the old ones
+        var updatedNodes = HugeAtomicBitSet.create(copyLabels ? oldIdMap.nodeCount() : 0);
+        if (copyLabels) {
+            nodeChanges.updatedIds.forEach((LongProcedure) updatedNodes::set);
+        }
+
+        var internalToOriginalIds = HugeLongArray.newArray(newNodeCount);
+        var shouldCopyLabels = copyLabels;
+        ParallelUtil.parallelForEachNode(survivorCount, concurrency, TerminationFlag.RUNNING_TRUE, newId -> {
+            var oldId = nodeChanges.newToOld.applyAsLong(newId);
+            internalToOriginalIds.set(newId, oldIdMap.toOriginalNodeId(oldId));
+            if (shouldCopyLabels && !updatedNodes.get(oldId)) {
+                oldIdMap.forEachNodeLabel(oldId, nodeLabel -> {
+                    labelInformationBuilder.addNodeIdToLabel(nodeLabel, newId);
+                    return true;
+                });
+            }
+        });
+
+        long highestOriginalId = oldIdMap.highestOriginalId();
+        for (int i = 0; i < nodeChanges.added.size(); i++) {
+            var addedNode = nodeChanges.added.get(i);
+            var newId = survivorCount + i;
+            internalToOriginalIds.set(newId, addedNode.originalId());
+            highestOriginalId = Math.max(highestOriginalId, addedNode.originalId());
+            if (shouldCopyLabels) {
+                addLabels(labelInformationBuilder, availableLabels, addedNode, newId);
+            }
+        }
+        if (shouldCopyLabels) {
+            for (int i = 0; i < nodeChanges.updated.size(); i++) {
+                var newId = nodeChanges.oldToNew.applyAsLong(nodeChanges.updatedIds.get(i));
+                addLabels(labelInformationBuilder, availableLabels, nodeChanges.updated.get(i), newId);
+            }
+        }
+
+        var labelInformation = labelInformationBuilder.build(newNodeCount, LongUnaryOperator.identity());
+        var idMap = ArrayIdMap.of(internalToOriginalIds, labelInformation, highestOriginalId, concurrency);
+
+        var properties = NodePropertyStore.builder();
+        graphStore.nodePropertyKeys().forEach(key -> properties.putProperty(
+            key,
+            refreshNodeProperty(graphStore.nodeProperty(key), nodeChanges)
+        ));
+
+        return ImmutableNodes.of(MutableNodeSchema.from(graphStore.schema().nodeSchema()), idMap, properties.build());
+    }
+
+    private static void addLabels(
+        LabelInformation.Builder labelInformationBuilder,
+        Set<NodeLabel> availableLabels,
+        GraphStoreDelta.AddedNode node,
+        long newId
+    ) {
+        for (var nodeLabel : node.labels()) {
+            // labels that are not part of the projection are ignored, like during projection
+            if (availableLabels.contains(nodeLabel)) {
+                labelInformationBuilder.addNodeIdToLabel(nodeLabel, newId);
+            }
+        }
+    }
+
+    private NodeProperty refreshNodeProperty(NodeProperty nodeProperty, NodeChanges nodeChanges) {
+        var key = nodeProperty.key();
+        var values = nodeProperty.values();
+        var defaultValue = nodeProperty.propertySchema().defaultValue();
+        var newNodeCount = nodeChanges.newNodeCount;
+        var survivorCount = nodeChanges.survivorCount();
+        var newToOld = nodeChanges.newToOld;
+        // added nodes and updated nodes get the values they have in the delta
+        var assignedIds = new long[nodeChanges.added.size() + nodeChanges.updated.size()];
+        var assigned = new ArrayList<Map<String, Object>>(assignedIds.length);
+        for (int i = 0; i < nodeChanges.added.size(); i++) {
+            assignedIds[i] = survivorCount + i;
+            assigned.add(nodeChanges.added.get(i).properties());
+        }
+        for (int i = 0; i < nodeChanges.updated.size(); i++) {
+            assignedIds[nodeChanges.added.size() + i] = nodeChanges.oldToNew.applyAsLong(nodeChanges.updatedIds.get(i));
+            assigned.add(nodeChanges.updated.get(i).properties());
+        }
+
+        NodePropertyValues refreshedValues;
+        switch (values.valueType()) {
+            case LONG:
+                var longs = HugeLongArray.newArray(newNodeCount);
+                forEachNode(survivorCount, newToOld, (newId, oldId) -> longs.set(newId, values.longValue(oldId)));
+                for (int i = 0; i < assignedIds.length; i++) {
+                    var value = assigned.get(i).get(key);
+                    longs.set(assignedIds[i], value == null ? defaultValue.longValue() : asNumber(key, value).longValue());
+                }
+                refreshedValues = NodePropertyValuesAdapter.adapt(longs);
+                break;
+            case DOUBLE:
+                var doubles = HugeDoubleArray.newArray(newNodeCount);
+                forEachNode(survivorCount, newToOld, (newId, oldId) -> doubles.set(newId, values.doubleValue(oldId)));
+                for (int i = 0; i < assignedIds.length; i++) {
+                    var value = assigned.get(i).get(key);
+                    doubles.set(assignedIds[i], value == null ? defaultValue.doubleValue() : asNumber(key, value).doubleValue());
+                }
+                refreshedValues = NodePropertyValuesAdapter.adapt(doubles);
+                break;
+            case DOUBLE_ARRAY:
+                var doubleArrays = HugeObjectArray.newArray(double[].class, newNodeCount);
+                forEachNode(survivorCount, newToOld, (newId, oldId) -> doubleArrays.set(newId, values.doubleArrayValue(oldId)));
+                for (int i = 0; i < assignedIds.length; i++) {
+                    var value = assigned.get(i).get(key);
+                    doubleArrays.set(assignedIds[i], value == null ? defaultValue.doubleArrayValue() : asDoubleArray(key, value));
+                }
+                refreshedValues = NodePropertyValuesAdapter.adapt(doubleArrays);
+                break;
+            case FLOAT_ARRAY:
+                var floatArrays = HugeObjectArray.newArray(float[].class, newNodeCount);
+                forEachNode(survivorCount, newToOld, (newId, oldId) -> floatArrays.set(newId, values.floatArrayValue(oldId)));
+                for (int i = 0; i < assignedIds.length; i++) {
+                    var value = assigned.get(i).get(key);
+                    floatArrays.set(assignedIds[i], value == null ? defaultValue.floatArrayValue() : asFloatArray(key, value));
+                }
+                refreshedValues = NodePropertyValuesAdapter.adapt(floatArrays);
+                break;
+            case LONG_ARRAY:
+                var longArrays = HugeObjectArray.newArray(long[].class, newNodeCount);
+                forEachNode(survivorCount, newToOld, (newId, oldId) -> longArrays.set(newId, values.longArrayValue(oldId)));
+                for (int i = 0; i < assignedIds.length; i++) {
+                    var value = assigned.get(i).get(key);
+                    longArrays.set(assignedIds[i], value == null ? defaultValue.longArrayValue() : asLongArray(key, value));
+                }
+                refreshedValues = NodePropertyValuesAdapter.adapt(longArrays);
+                break;
+            default:
+                throw new UnsupportedOperationException(formatWithLocale(
+                    "Cannot refresh node property `%s` of type %s",
+                    key,
+                    values.valueType()
+                ));
+        }
+
+        return ImmutableNodeProperty.of(refreshedValues, nodeProperty.propertySchema());
+    }
+
+    private void forEachNode(long survivorCount, LongUnaryOperator newToOld, NodeIdPairConsumer consumer) {
+        ParallelUtil.parallelForEachNode(
+            survivorCount,
+            concurrency,
+            TerminationFlag.RUNNING_TRUE,
+            newId -> consumer.accept(newId, newToOld.applyAsLong(newId))
+        );
+    }
+
+    private static Number asNumber(String propertyKey, Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        throw invalidPropertyValue(propertyKey, value);
+    }
+
+    private static long[] asLongArray(String propertyKey, Object value) {
+        if (value instanceof long[]) {
+            return (long[]) value;
+        }
+        if (value instanceof int[]) {
+            return Arrays.stream((int[]) value).asLongStream().toArray();
+        }
+        throw invalidPropertyValue(propertyKey, value);
+    }
+
+    private static double[] asDoubleArray(String propertyKey, Object value) {
+        if (value instanceof double[]) {
+            return (double[]) value;
+        }
+        if (value instanceof float[]) {
+            var floats = (float[]) value;
+            var doubles = new double[floats.length];
+            for (int i = 0; i < floats.length; i++) {
+                doubles[i] = floats[i];
+            }
+            return doubles;
+        }
+        if (value instanceof long[]) {
+            return Arrays.stream((long[]) value).asDoubleStream().toArray();
+        }
+        if (value instanceof int[]) {
+            return Arrays.stream((int[]) value).asDoubleStream().toArray();
+        }
+        throw invalidPropertyValue(propertyKey, value);
+    }
+
+    private static float[] asFloatArray(String propertyKey, Object value) {
+        if (value instanceof float[]) {
+            return (float[]) value;
+        }
+        var doubles = asDoubleArray(propertyKey, value);
+        var floats = new float[doubles.length];
+        for (int i = 0; i < doubles.length; i++) {
+            floats[i] = (float) doubles[i];
+        }
+        return floats;
+    }
+
+    private static IllegalArgumentException invalidPropertyValue(String propertyKey, Object value) {
+        return new IllegalArgumentException(formatWithLocale(
+            "Unsupported value `%s` of type %s for node property `%s`.",
+            value,
+            value.getClass().getSimpleName(),
+            propertyKey
+        ));
+    }
+
+    private SingleTypeRelationships refreshRelationships(
+        SingleTypeRelationships relationships,
+        GraphStoreDelta.RelationshipChanges changes,
+        IdMap idMap,
+        NodeChanges nodeChanges
+    ) {
+        var schemaEntry = relationships.relationshipSchemaEntry();
+        var propertyStore = relationships.properties().orElseGet(() -> RelationshipPropertyStore.builder().build());
+        var propertyKeys = propertyStore.keySet().toArray(String[]::new);
+
+        var undirected = schemaEntry.direction() == Direction.UNDIRECTED;
+        var isMultiGraph = relationships.topology().isMultiGraph();
+        var forward = DirectedChanges.of(changes, propertyKeys, propertyStore, idMap, false, undirected, isMultiGraph);
+
+        var topology = refreshTopology(
+            schemaEntry.identifier(),
+            relationships.topology(),
+            relationships.properties(),
+            propertyKeys,
+            forward,
+            idMap,
+            nodeChanges
+        );
+        // undirected relationships are stored once per direction
+        relationshipsAdded.add(undirected ? forward.addedCount() / 2 : forward.addedCount());
+        relationshipsRemoved.add(undirected ? topology.removed() / 2 : topology.removed());
+
+        var builder = SingleTypeRelationships.builder()
+            .relationshipSchemaEntry(schemaEntry)
+            .topology(topology.topology())
+            .properties(topology.properties());
+
+        relationships.inverseTopology().ifPresent(inverseTopology -> {
+            // relationships in the inverse index have already been counted
+            var backward = DirectedChanges.of(changes, propertyKeys, propertyStore, idMap, true, false, isMultiGraph);
+            var inverse = refreshTopology(
+                schemaEntry.identifier(),
+                inverseTopology,
+                relationships.inverseProperties(),
+                propertyKeys,
+                backward,
+                idMap,
+                nodeChanges
+            );
+            builder.inverseTopology(inverse.topology()).inverseProperties(inverse.properties());
+        });
+
+        return builder.build();
+    }
+
+    private RefreshedTopology refreshTopology(
+        RelationshipType relationshipType,
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties,
+        String[] propertyKeys,
+        DirectedChanges changes,
+        IdMap idMap,
+        NodeChanges nodeChanges
+    ) {
+        var oldNodeCount = graphStore.nodeCount();
+        var newNodeCount = idMap.nodeCount();
+        var adjacencyList = topology.adjacencyList();
+        var adjacencyProperties = new AdjacencyProperties[propertyKeys.length];
+        for (int i = 0; i < propertyKeys.length; i++) {
+            adjacencyProperties[i] = properties.orElseThrow().get(propertyKeys[i]).values().propertiesList();
+        }
+
+        if (changes.isEmpty() && nodeChanges.isEmpty()) {
+            return new RefreshedTopology(topology, properties, 0);
+        }
+
+        HugeAtomicBitSet patchedNodes = null;
+        boolean rebuild = nodeChanges.removedCount > 0;
+        if (!rebuild) {
+            patchedNodes = HugeAtomicBitSet.create(newNodeCount);
+            if (adjacencyList instanceof PatchedAdjacencyList) {
+                ((PatchedAdjacencyList) adjacencyList).patchedNodes().forEachSetBit(patchedNodes::set);
+            }
+            // added nodes are unknown to the base list
+            if (newNodeCount > oldNodeCount) {
+                patchedNodes.set(oldNodeCount, newNodeCount);
+            }
+
+            if (changes.isEmpty()) {
+                return extendPatch(topology, properties, propertyKeys, patchedNodes);
+            }
+
+            for (int i = 0; i < changes.addedSources.length; i++) {
+                patchedNodes.set(changes.addedSources[i]);
+            }
+            for (int i = 0; i < changes.removedSources.length; i++) {
+                patchedNodes.set(changes.removedSources[i]);
+            }
+            rebuild = patchedNodes.cardinality() > COMPACTION_THRESHOLD * newNodeCount;
+        }
+
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .relationshipType(relationshipType)
+            .addAllPropertyConfigs(propertyConfigs(propertyKeys, properties, topology.isMultiGraph()))
+            .aggregation(topology.isMultiGraph() ? Aggregation.NONE : Aggregation.SINGLE)
+            .concurrency(concurrency)
+            .build();
+
+        var rebuildAll = rebuild;
+        var nodesToRebuild = patchedNodes;
+        var replacedElementCount = new LongAdder();
+        var removedCount = new LongAdder();
+        var tasks = PartitionUtils.rangePartition(
+            concurrency,
+            newNodeCount,
+            partition -> (Runnable) () -> {
+                var rebuilder = new NodeRebuilder(adjacencyList, adjacencyProperties, changes, nodeChanges, oldNodeCount);
+                partition.consume(nodeId -> {
+                    if (rebuildAll || nodesToRebuild.get(nodeId)) {
+                        replacedElementCount.add(rebuilder.rebuild(nodeId, relationshipsBuilder));
+                    }
+                });
+                removedCount.add(rebuilder.removed);
+            },
+            Optional.empty()
+        );
+
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        var rebuilt = relationshipsBuilder.build();
+        var rebuiltAdjacencyList = rebuilt.topology().adjacencyList();
+        var rebuiltProperties = new AdjacencyProperties[propertyKeys.length];
+        for (int i = 0; i < propertyKeys.length; i++) {
+            rebuiltProperties[i] = rebuilt.properties().orElseThrow().get(propertyKeys[i]).values().propertiesList();
+        }
+
+        if (rebuild) {
+            return refreshedTopology(
+                rebuiltAdjacencyList,
+                rebuiltProperties,
+                rebuilt.topology().elementCount(),
+                removedCount.sum(),
+                topology,
+                properties,
+                propertyKeys
+            );
+        }
+
+        var baseAdjacencyList = adjacencyList instanceof PatchedAdjacencyList
+            ? ((PatchedAdjacencyList) adjacencyList).base()
+            : adjacencyList;
+        var patchedProperties = new AdjacencyProperties[propertyKeys.length];
+        for (int i = 0; i < propertyKeys.length; i++) {
+            var baseProperties = adjacencyProperties[i] instanceof PatchedAdjacencyProperties
+                ? ((PatchedAdjacencyProperties) adjacencyProperties[i]).base()
+                : adjacencyProperties[i];
+            patchedProperties[i] = new PatchedAdjacencyProperties(baseProperties, rebuiltProperties[i], patchedNodes, newNodeCount);
+        }
+
+        return refreshedTopology(
+            new PatchedAdjacencyList(baseAdjacencyList, rebuiltAdjacencyList, patchedNodes, newNodeCount),
+            patchedProperties,
+            topology.elementCount() - replacedElementCount.sum() + rebuilt.topology().elementCount(),
+            removedCount.sum(),
+            topology,
+            properties,
+            propertyKeys
+        );
+    }
+
+    /**
+     * Nodes have been added, but the relationships did not change.
+     * The existing patch is kept and covers the added nodes, which have no relationships.
+     */
+    private static RefreshedTopology extendPatch(
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties,
+        String[] propertyKeys,
+        HugeAtomicBitSet patchedNodes
+    ) {
+        var adjacencyList = topology.adjacencyList();
+        var adjacencyProperties = new AdjacencyProperties[propertyKeys.length];
+        var extendedProperties = new AdjacencyProperties[propertyKeys.length];
+        for (int i = 0; i < propertyKeys.length; i++) {
+            adjacencyProperties[i] = properties.orElseThrow().get(propertyKeys[i]).values().propertiesList();
+        }
+
+        PatchedAdjacencyList extendedAdjacencyList;
+        if (adjacencyList instanceof PatchedAdjacencyList) {
+            var patched = (PatchedAdjacencyList) adjacencyList;
+            extendedAdjacencyList = new PatchedAdjacencyList(patched.base(), patched.patch(), patchedNodes, patched.patchNodeCount());
+            for (int i = 0; i < propertyKeys.length; i++) {
+                var patchedProperties = (PatchedAdjacencyProperties) adjacencyProperties[i];
+                extendedProperties[i] = new PatchedAdjacencyProperties(
+                    patchedProperties.base(),
+                    patchedProperties.patch(),
+                    patchedNodes,
+                    patched.patchNodeCount()
+                );
+            }
+        } else {
+            // the patch is empty, all patched nodes are at or above the patch node count
+            extendedAdjacencyList = new PatchedAdjacencyList(adjacencyList, AdjacencyList.EMPTY, patchedNodes, 0);
+            for (int i = 0; i < propertyKeys.length; i++) {
+                extendedProperties[i] = new PatchedAdjacencyProperties(adjacencyProperties[i], NO_PROPERTIES, patchedNodes, 0);
+            }
+        }
+
+        return refreshedTopology(
+            extendedAdjacencyList,
+            extendedProperties,
+            topology.elementCount(),
+            0,
+            topology,
+            properties,
+            propertyKeys
+        );
+    }
+
+    private static RefreshedTopology refreshedTopology(
+        AdjacencyList adjacencyList,
+        AdjacencyProperties[] adjacencyProperties,
+        long elementCount,
+        long removed,
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties,
+        String[] propertyKeys
+    ) {
+        var refreshedTopology = ImmutableTopology.of(adjacencyList, elementCount, topology.isMultiGraph());
+        var refreshedProperties = properties.map(propertyStore -> {
+            var builder = RelationshipPropertyStore.builder();
+            for (int i = 0; i < propertyKeys.length; i++) {
+                var relationshipProperty = propertyStore.get(propertyKeys[i]);
+                builder.putRelationshipProperty(
+                    propertyKeys[i],
+                    ImmutableRelationshipProperty.of(
+                        ImmutableProperties.of(adjacencyProperties[i], elementCount, relationshipProperty.values().defaultPropertyValue()),
+                        relationshipProperty.propertySchema()
+                    )
+                );
+            }
+            return builder.build();
+        });
+        return new RefreshedTopology(refreshedTopology, refreshedProperties, removed);
+    }
+
+    /**
+     * Relationships of aggregated types have been aggregated during projection already,
+     * hence only added relationships can be aggregated with existing ones.
+     * Counts are aggregated by summing up, the count of an added relationship is one.
+     */
+    private static List<GraphFactory.PropertyConfig> propertyConfigs(
+        String[] propertyKeys,
+        Optional<RelationshipPropertyStore> properties,
+        boolean isMultiGraph
+    ) {
+        var propertyConfigs = new ArrayList<GraphFactory.PropertyConfig>(propertyKeys.length);
+        for (var propertyKey : propertyKeys) {
+            var relationshipProperty = properties.orElseThrow().get(propertyKey);
+            var aggregation = isMultiGraph ? Aggregation.NONE : relationshipProperty.aggregation();
+            if (aggregation == Aggregation.COUNT) {
+                aggregation = Aggregation.SUM;
+            }
+            propertyConfigs.add(GraphFactory.PropertyConfig.of(
+                propertyKey,
+                aggregation,
+                relationshipProperty.propertySchema().defaultValue()
+            ));
+        }
+        return propertyConfigs;
+    }
+
+    private static final AdjacencyProperties NO_PROPERTIES = new AdjacencyProperties() {
+        @Override
+        public PropertyCursor propertyCursor(long node, double fallbackValue) {
+            return PropertyCursor.empty();
+        }
+
+        @Override
+        public PropertyCursor rawPropertyCursor() {
+            return PropertyCursor.empty();
+        }
+    };
+
+    private record RefreshedTopology(Topology topology, Optional<RelationshipPropertyStore> properties, long removed) {}
+
+    @FunctionalInterface
+    private interface NodeIdPairConsumer {
+        void accept(long newId, long oldId);
+    }
+
+    /**
+     * Node changes resolved against the id map of the graph store.
+     * Surviving nodes keep their relative order and are followed by the added nodes.
+     */
+    private static final class NodeChanges {
+        private final List<GraphStoreDelta.AddedNode> added;
+        // updates of nodes that stay in the graph, by their id in the given graph store
+        private final LongArrayList updatedIds;
+        private final List<GraphStoreDelta.AddedNode> updated;
+        private final long removedCount;
+        private final long newNodeCount;
+        private final LongUnaryOperator newToOld;
+        private final LongUnaryOperator oldToNew;
+
+        private NodeChanges(
+            List<GraphStoreDelta.AddedNode> added,
+            LongArrayList updatedIds,
+            List<GraphStoreDelta.AddedNode> updated,
+            long removedCount,
+            long newNodeCount,
+            LongUnaryOperator newToOld,
+            LongUnaryOperator oldToNew
+        ) {
+            this.added = added;
+            this.updatedIds = updatedIds;
+            this.updated = updated;
+            this.removedCount = removedCount;
+            this.newNodeCount = newNodeCount;
+            this.newToOld = newToOld;
+            this.oldToNew = oldToNew;
+        }
+
+        static NodeChanges of(IdMap idMap, GraphStoreDelta delta) {
+            var nodeCount = idMap.nodeCount();
+            var removed = HugeAtomicBitSet.create(nodeCount);
+            delta.removedNodes().forEach((LongProcedure) originalId -> {
+                var mappedId = idMap.safeToMappedNodeId(originalId);
+                if (mappedId != IdMap.NOT_FOUND) {
+                    removed.set(mappedId);
+                }
+            });
+
+            var added = new ArrayList<GraphStoreDelta.AddedNode>(delta.addedNodeCount());
+            for (var addedNode : delta.addedNodes()) {
+                var mappedId = idMap.safeToMappedNodeId(addedNode.originalId());
+                // the database reuses the ids of deleted nodes
+                if (mappedId == IdMap.NOT_FOUND || removed.get(mappedId)) {
+                    added.add(addedNode);
+                }
+            }
+
+            var updatedIds = new LongArrayList();
+            var updated = new ArrayList<GraphStoreDelta.AddedNode>();
+            for (var updatedNode : delta.updatedNodes()) {
+                var mappedId = idMap.safeToMappedNodeId(updatedNode.originalId());
+                // nodes that gained a projected label are new to the graph
+                if (mappedId == IdMap.NOT_FOUND || removed.get(mappedId)) {
+                    added.add(updatedNode);
+                } else {
+                    updatedIds.add(mappedId);
+                    updated.add(updatedNode);
+                }
+            }
+
+            var removedCount = removed.cardinality();
+            var newNodeCount = nodeCount - removedCount + added.size();
+            if (removedCount == 0) {
+                return new NodeChanges(
+                    added,
+                    updatedIds,
+                    updated,
+                    0,
+                    newNodeCount,
+                    LongUnaryOperator.identity(),
+                    LongUnaryOperator.identity()
+                );
+            }
+
+            var newToOld = HugeLongArray.newArray(nodeCount - removedCount);
+            var oldToNew = HugeLongArray.newArray(nodeCount);
+            long newId = 0;
+            for (long oldId = 0; oldId < nodeCount; oldId++) {
+                if (removed.get(oldId)) {
+                    oldToNew.set(oldId, IdMap.NOT_FOUND);
+                } else {
+                    newToOld.set(newId, oldId);
+                    oldToNew.set(oldId, newId++);
+                }
+            }
+            return new NodeChanges(
+                added,
+                updatedIds,
+                updated,
+                removedCount,
+                newNodeCount,
+                newToOld::get,
+                oldToNew::get
+            );
+        }
+
+        /**
+         * Whether the node ids stay the same, labels and properties of nodes may still change.
+         */
+        boolean isEmpty() {
+            return added.isEmpty() && removedCount == 0;
+        }
+
+        boolean hasUpdates() {
+            return !updated.isEmpty();
+        }
+
+        long survivorCount() {
+            return newNodeCount - added.size();
+        }
+    }
+
+    /**
+     * Relationship changes of one adjacency list, resolved to the node ids of the refreshed graph
+     * and sorted by source node. Changes with an endpoint that does not exist are dropped.
+     * <p>
+     * Removals of parallel relationships carry the property values of the removed relationship,
+     * in the order of the property keys of the graph. Only the properties that have been recorded are compared.
+     * Relationships of aggregated types are unique per source and target, their values are not compared.
+     */
+    private static final class DirectedChanges {
+        private final long[] addedSources;
+        private final long[] addedTargets;
+        private final double[][] addedProperties;
+        private final long[] removedSources;
+        private final long[] removedTargets;
+        private final double[][] removedProperties;
+        private final boolean[] comparedProperties;
+
+        private DirectedChanges(
+            long[] addedSources,
+            long[] addedTargets,
+            double[][] addedProperties,
+            long[] removedSources,
+            long[] removedTargets,
+            double[][] removedProperties,
+            boolean[] comparedProperties
+        ) {
+            this.addedSources = addedSources;
+            this.addedTargets = addedTargets;
+            this.addedProperties = addedProperties;
+            this.removedSources = removedSources;
+            this.removedTargets = removedTargets;
+            this.removedProperties = removedProperties;
+            this.comparedProperties = comparedProperties;
+        }
+
+        static DirectedChanges of(
+            GraphStoreDelta.RelationshipChanges changes,
+            String[] propertyKeys,
+            RelationshipPropertyStore propertyStore,
+            IdMap idMap,
+            boolean inverse,
+            boolean undirected,
+            boolean isMultiGraph
+        ) {
+            var sources = new LongArrayList();
+            var targets = new LongArrayList();
+            var properties = new ArrayList<double[]>();
+            var removedSources = new LongArrayList();
+            var removedTargets = new LongArrayList();
+            var removedProperties = new ArrayList<double[]>();
+            var comparedProperties = new boolean[propertyKeys.length];
+
+            if (changes != null) {
+                // the position of each property of the graph in the recorded values, or -1 if it has not been recorded
+                var propertyIndices = new int[propertyKeys.length];
+                var defaultValues = new double[propertyKeys.length];
+                for (int i = 0; i < propertyKeys.length; i++) {
+                    propertyIndices[i] = changes.propertyKeys().indexOf(propertyKeys[i]);
+                    defaultValues[i] = propertyStore.get(propertyKeys[i]).values().defaultPropertyValue();
+                    comparedProperties[i] = propertyIndices[i] != -1;
+                }
+
+                for (int i = 0; i < changes.additionSlots(); i++) {
+                    if (changes.addedSource(i) == GraphStoreDelta.CANCELLED) {
+                        continue;
+                    }
+                    var source = idMap.safeToMappedNodeId(changes.addedSource(i));
+                    var target = idMap.safeToMappedNodeId(changes.addedTarget(i));
+                    if (source == IdMap.NOT_FOUND || target == IdMap.NOT_FOUND) {
+                        continue;
+                    }
+                    var recordedValues = changes.addedProperties(i);
+                    var values = new double[propertyKeys.length];
+                    for (int p = 0; p < propertyKeys.length; p++) {
+                        values[p] = propertyIndices[p] == -1 ? defaultValues[p] : recordedValues[propertyIndices[p]];
+                    }
+                    add(sources, targets, inverse ? target : source, inverse ? source : target);
+                    properties.add(values);
+                    if (undirected) {
+                        add(sources, targets, target, source);
+                        properties.add(values);
+                    }
+                }
+
+                for (int i = 0; i < changes.removedCount(); i++) {
+                    var source = idMap.safeToMappedNodeId(changes.removedSource(i));
+                    var target = idMap.safeToMappedNodeId(changes.removedTarget(i));
+                    if (source == IdMap.NOT_FOUND || target == IdMap.NOT_FOUND) {
+                        continue;
+                    }
+                    var recordedValues = isMultiGraph ? changes.removedProperties(i) : null;
+                    double[] values = null;
+                    if (recordedValues != null) {
+                        values = new double[propertyKeys.length];
+                        for (int p = 0; p < propertyKeys.length; p++) {
+                            values[p] = comparedProperties[p] ? recordedValues[propertyIndices[p]] : defaultValues[p];
+                        }
+                    }
+                    add(removedSources, removedTargets, inverse ? target : source, inverse ? source : target);
+                    removedProperties.add(values);
+                    if (undirected) {
+                        add(removedSources, removedTargets, target, source);
+                        removedProperties.add(values);
+                    }
+                }
+            }
+
+            var addedOrder = sortBySource(sources);
+            var removedOrder = sortBySource(removedSources);
+            return new DirectedChanges(
+                permute(sources, addedOrder),
+                permute(targets, addedOrder),
+                permute(properties, addedOrder),
+                permute(removedSources, removedOrder),
+                permute(removedTargets, removedOrder),
+                permute(removedProperties, removedOrder),
+                comparedProperties
+            );
+        }
+
+        private static void add(LongArrayList sources, LongArrayList targets, long source, long target) {
+            sources.add(source);
+            targets.add(target);
+        }
+
+        private static int[] sortBySource(LongArrayList sources) {
+            var buffer = sources.buffer;
+            return IndirectSort.mergesort(0, sources.size(), (a, b) -> Long.compare(buffer[a], buffer[b]));
+        }
+
+        private static long[] permute(LongArrayList values, int[] order) {
+            var permuted = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                permuted[i] = values.get(order[i]);
+            }
+            return permuted;
+        }
+
+        private static double[][] permute(List<double[]> values, int[] order) {
+            var permuted = new double[order.length][];
+            for (int i = 0; i < order.length; i++) {
+                permuted[i] = values.get(order[i]);
+            }
+            return permuted;
+        }
+
+        /**
+         * Whether the removal at the given index applies to a relationship with the given property values.
+         */
+        boolean removes(int removalIndex, double[] propertyValues) {
+            var removedValues = removedProperties[removalIndex];
+            if (removedValues == null) {
+                return true;
+            }
+            for (int p = 0; p < removedValues.length; p++) {
+                var matches = Double.doubleToLongBits(removedValues[p]) == Double.doubleToLongBits(propertyValues[p]);
+                if (comparedProperties[p] && !matches) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return addedSources.length == 0 && removedSources.length == 0;
+        }
+
+        long addedCount() {
+            return addedSources.length;
+        }
+
+        /**
+         * Index of the first change of the given source, or of the first change of a larger source.
+         */
+        private static int firstIndex(long[] sources, long source) {
+            int low = 0;
+            int high = sources.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sources[mid] < source) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Merges the current relationships of a node with its changes and adds the result to a relationships builder.
+     * Not thread-safe, every task uses its own rebuilder.
+     */
+    private static final class NodeRebuilder {
+        private final AdjacencyList adjacencyList;
+        private final AdjacencyProperties[] adjacencyProperties;
+        private final DirectedChanges changes;
+        private final NodeChanges nodeChanges;
+        private final long oldNodeCount;
+
+        private AdjacencyCursor adjacencyCursor;
+        private final PropertyCursor[] propertyCursors;
+        private final LongIntHashMap removals;
+        private final IntArrayList pendingRemovals;
+        private final LongArrayList targets;
+        private final DoubleArrayList[] values;
+        private final double[] valueBuffer;
+
+        private long removed;
+
+        NodeRebuilder(
+            AdjacencyList adjacencyList,
+            AdjacencyProperties[] adjacencyProperties,
+            DirectedChanges changes,
+            NodeChanges nodeChanges,
+            long oldNodeCount
+        ) {
+            this.adjacencyList = adjacencyList;
+            this.adjacencyProperties = adjacencyProperties;
+            this.changes = changes;
+            this.nodeChanges = nodeChanges;
+            this.oldNodeCount = oldNodeCount;
+            this.adjacencyCursor = adjacencyList.rawAdjacencyCursor();
+            this.propertyCursors = new PropertyCursor[adjacencyProperties.length];
+            for (int i = 0; i < adjacencyProperties.length; i++) {
+                propertyCursors[i] = adjacencyProperties[i].rawPropertyCursor();
+            }
+            this.removals = new LongIntHashMap();
+            this.pendingRemovals = new IntArrayList();
+            this.targets = new LongArrayList();
+            this.values = new DoubleArrayList[adjacencyProperties.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new DoubleArrayList();
+            }
+            this.valueBuffer = new double[adjacencyProperties.length];
+        }
+
+        /**
+         * @return the number of relationships the node had before the refresh
+         */
+        int rebuild(long nodeId, RelationshipsBuilder relationshipsBuilder) {
+            targets.clear();
+            for (var nodeValues : values) {
+                nodeValues.clear();
+            }
+
+            removals.clear();
+            pendingRemovals.clear();
+            for (int i = DirectedChanges.firstIndex(changes.removedSources, nodeId); i < changes.removedSources.length && changes.removedSources[i] == nodeId; i++) {
+                removals.addTo(changes.removedTargets[i], 1);
+                pendingRemovals.add(i);
+            }
+
+            int currentDegree = 0;
+            var oldId = nodeId < nodeChanges.survivorCount() ? nodeChanges.newToOld.applyAsLong(nodeId) : IdMap.NOT_FOUND;
+            if (oldId != IdMap.NOT_FOUND && oldId < oldNodeCount) {
+                currentDegree = adjacencyList.degree(oldId);
+                if (currentDegree > 0) {
+                    adjacencyCursor = adjacencyList.adjacencyCursor(adjacencyCursor, oldId);
+                    for (int p = 0; p < adjacencyProperties.length; p++) {
+                        propertyCursors[p] = adjacencyProperties[p].propertyCursor(propertyCursors[p], oldId);
+                    }
+                    while (adjacencyCursor.hasNextVLong()) {
+                        var target = nodeChanges.oldToNew.applyAsLong(adjacencyCursor.nextVLong());
+                        for (int p = 0; p < adjacencyProperties.length; p++) {
+                            valueBuffer[p] = Double.longBitsToDouble(propertyCursors[p].nextLong());
+                        }
+                        if (target == IdMap.NOT_FOUND) {
+                            continue;
+                        }
+                        if (removals.getOrDefault(target, 0) > 0 && consumeRemoval(target)) {
+                            removals.addTo(target, -1);
+                            removed++;
+                            continue;
+                        }
+                        targets.add(target);
+                        for (int p = 0; p < values.length; p++) {
+                            values[p].add(valueBuffer[p]);
+                        }
+                    }
+                }
+            }
+
+            for (int i = DirectedChanges.firstIndex(changes.addedSources, nodeId); i < changes.addedSources.length && changes.addedSources[i] == nodeId; i++) {
+                targets.add(changes.addedTargets[i]);
+                for (int p = 0; p < values.length; p++) {
+                    values[p].add(changes.addedProperties[i][p]);
+                }
+            }
+
+            for (int i = 0; i < targets.size(); i++) {
+                var target = targets.get(i);
+                if (values.length == 0) {
+                    relationshipsBuilder.addFromInternal(nodeId, target);
+                } else if (values.length == 1) {
+                    relationshipsBuilder.addFromInternal(nodeId, target, values[0].get(i));
+                } else {
+                    var propertyValues = new double[values.length];
+                    for (int p = 0; p < values.length; p++) {
+                        propertyValues[p] = values[p].get(i);
+                    }
+                    relationshipsBuilder.addFromInternal(nodeId, target, propertyValues);
+                }
+            }
+
+            return currentDegree;
+        }
+
+        /**
+         * Consumes a pending removal of a relationship to the given target with the values in the value buffer.
+         * Removals that match the property values are preferred over removals that match any relationship.
+         */
+        private boolean consumeRemoval(long target) {
+            int anyMatch = -1;
+            for (int i = 0; i < pendingRemovals.size(); i++) {
+                var removalIndex = pendingRemovals.get(i);
+                if (changes.removedTargets[removalIndex] != target || !changes.removes(removalIndex, valueBuffer)) {
+                    continue;
+                }
+                if (changes.removedProperties[removalIndex] != null) {
+                    pendingRemovals.remove(i);
+                    return true;
+                }
+                if (anyMatch == -1) {
+                    anyMatch = i;
+                }
+            }
+            if (anyMatch != -1) {
+                pendingRemovals.remove(anyMatch);
+                return true;
+            }
+            return false;
+        }
+    }
+}
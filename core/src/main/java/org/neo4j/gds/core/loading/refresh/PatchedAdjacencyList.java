@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.core.compression.MemoryInfo;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+
+/**
+ * An adjacency list that serves the nodes touched by a refresh from a patch
+ * and all other nodes from the adjacency list the patch was built against.
+ * <p>
+ * Callers reuse cursors by passing them back in and expect them to be re-initialized in place,
+ * so the cursors of this list hold a cursor for either list and switch between them.
+ */
+final class PatchedAdjacencyList implements AdjacencyList {
+
+    private final AdjacencyList base;
+    private final AdjacencyList patch;
+    // nodes whose adjacency list is stored in the patch
+    private final HugeAtomicBitSet patchedNodes;
+    // nodes at or above this id have been added after the patch was built and have no relationships
+    private final long patchNodeCount;
+
+    PatchedAdjacencyList(AdjacencyList base, AdjacencyList patch, HugeAtomicBitSet patchedNodes, long patchNodeCount) {
+        this.base = base;
+        this.patch = patch;
+        this.patchedNodes = patchedNodes;
+        this.patchNodeCount = patchNodeCount;
+    }
+
+    AdjacencyList base() {
+        return base;
+    }
+
+    AdjacencyList patch() {
+        return patch;
+    }
+
+    HugeAtomicBitSet patchedNodes() {
+        return patchedNodes;
+    }
+
+    long patchNodeCount() {
+        return patchNodeCount;
+    }
+
+    @Override
+    public int degree(long node) {
+        if (patchedNodes.get(node)) {
+            return node < patchNodeCount ? patch.degree(node) : 0;
+        }
+        return base.degree(node);
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(long node, double fallbackValue) {
+        return adjacencyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(@Nullable AdjacencyCursor reuse, long node, double fallbackValue) {
+        var cursor = reuse instanceof PatchedCursor ? (PatchedCursor) reuse : new PatchedCursor();
+        if (!patchedNodes.get(node)) {
+            cursor.current = base.adjacencyCursor(cursor.baseCursor, node, fallbackValue);
+            // lists return the shared empty cursor for nodes without relationships, which is not worth keeping
+            if (cursor.current != AdjacencyCursor.empty()) {
+                cursor.baseCursor = cursor.current;
+            }
+        } else if (node < patchNodeCount) {
+            cursor.current = patch.adjacencyCursor(cursor.patchCursor, node, fallbackValue);
+            if (cursor.current != AdjacencyCursor.empty()) {
+                cursor.patchCursor = cursor.current;
+            }
+        } else {
+            cursor.current = AdjacencyCursor.empty();
+        }
+        return cursor;
+    }
+
+    @Override
+    public AdjacencyCursor rawAdjacencyCursor() {
+        return new PatchedCursor();
+    }
+
+    @Override
+    public MemoryInfo memoryInfo() {
+        return base.memoryInfo().merge(patch.memoryInfo());
+    }
+
+    private static final class PatchedCursor implements AdjacencyCursor {
+
+        private @Nullable AdjacencyCursor baseCursor;
+        private @Nullable AdjacencyCursor patchCursor;
+        private AdjacencyCursor current = AdjacencyCursor.empty();
+
+        @Override
+        public void init(long index, int degree) {
+            current.init(index, degree);
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return current.hasNextVLong();
+        }
+
+        @Override
+        public long nextVLong() {
+            return current.nextVLong();
+        }
+
+        @Override
+        public long peekVLong() {
+            return current.peekVLong();
+        }
+
+        @Override
+        public int remaining() {
+            return current.remaining();
+        }
+
+        @Override
+        public long skipUntil(long nodeId) {
+            return current.skipUntil(nodeId);
+        }
+
+        @Override
+        public long advance(long nodeId) {
+            return current.advance(nodeId);
+        }
+
+        @Override
+        public long advanceBy(int n) {
+            return current.advanceBy(n);
+        }
+
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            return current.nextBatch(buffer, max);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+
+/**
+ * The properties matching a {@link PatchedAdjacencyList}, see there for why cursors switch between both lists.
+ */
+final class PatchedAdjacencyProperties implements AdjacencyProperties {
+
+    private final AdjacencyProperties base;
+    private final AdjacencyProperties patch;
+    private final HugeAtomicBitSet patchedNodes;
+    private final long patchNodeCount;
+
+    PatchedAdjacencyProperties(
+        AdjacencyProperties base,
+        AdjacencyProperties patch,
+        HugeAtomicBitSet patchedNodes,
+        long patchNodeCount
+    ) {
+        this.base = base;
+        this.patch = patch;
+        this.patchedNodes = patchedNodes;
+        this.patchNodeCount = patchNodeCount;
+    }
+
+    AdjacencyProperties base() {
+        return base;
+    }
+
+    AdjacencyProperties patch() {
+        return patch;
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(long node, double fallbackValue) {
+        return propertyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(PropertyCursor reuse, long node, double fallbackValue) {
+        var cursor = reuse instanceof PatchedCursor ? (PatchedCursor) reuse : new PatchedCursor();
+        if (!patchedNodes.get(node)) {
+            cursor.current = base.propertyCursor(cursor.baseCursor, node, fallbackValue);
+            if (cursor.current != PropertyCursor.empty()) {
+                cursor.baseCursor = cursor.current;
+            }
+        } else if (node < patchNodeCount) {
+            cursor.current = patch.propertyCursor(cursor.patchCursor, node, fallbackValue);
+            if (cursor.current != PropertyCursor.empty()) {
+                cursor.patchCursor = cursor.current;
+            }
+        } else {
+            cursor.current = PropertyCursor.empty();
+        }
+        return cursor;
+    }
+
+    @Override
+    public PropertyCursor rawPropertyCursor() {
+        return new PatchedCursor();
+    }
+
+    private static final class PatchedCursor implements PropertyCursor {
+
+        private PropertyCursor baseCursor;
+        private PropertyCursor patchCursor;
+        private PropertyCursor current = PropertyCursor.empty();
+
+        @Override
+        public void init(long index, int degree) {
+            current.init(index, degree);
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return current.hasNextLong();
+        }
+
+        @Override
+        public long nextLong() {
+            return current.nextLong();
+        }
+
+        @Override
+        public void close() {
+            if (baseCursor != null) {
+                baseCursor.close();
+            }
+            if (patchCursor != null) {
+                patchCursor.close();
+            }
+        }
+    }
+}
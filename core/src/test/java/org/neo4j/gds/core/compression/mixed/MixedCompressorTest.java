@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.compression.mixed;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.neo4j.gds.core.loading.construction.RelationshipsBuilder;
+import org.neo4j.gds.utils.GdsFeatureToggles;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MixedCompressorTest {
+
+    private static final long NODE_COUNT = 100_000;
+
+    // targets of the dense node: a contiguous id range
+    private static final long DENSE_NODE = 0;
+    private static final long[] DENSE_TARGETS = LongStream.range(1_000, 1_200).toArray();
+
+    // targets of the sparse node: spread over the whole id space
+    private static final long SPARSE_NODE = 1;
+    private static final long[] SPARSE_TARGETS = LongStream.range(0, 200).map(i -> i * 499 + 7).toArray();
+
+    // a node with a degree above the packing threshold
+    private static final long LARGE_NODE = 2;
+    private static final long[] LARGE_TARGETS = LongStream.range(0, 1_000).map(i -> i * 97 + 3).toArray();
+
+    @Test
+    void shouldPackDenseNeighborhoods() {
+        assertThat(MixedCompressor.usePacking(DENSE_TARGETS.clone(), DENSE_TARGETS.length)).isTrue();
+        assertThat(MixedCompressor.usePacking(SPARSE_TARGETS.clone(), SPARSE_TARGETS.length)).isFalse();
+        assertThat(MixedCompressor.usePacking(LARGE_TARGETS.clone(), LARGE_TARGETS.length)).isTrue();
+        // small adjacency lists are never packed, regardless of their density
+        assertThat(MixedCompressor.usePacking(new long[]{1, 2, 3}, 3)).isFalse();
+    }
+
+    @Test
+    void shouldDecodeEveryEncoding() {
+        var adjacencyList = buildAdjacencyList();
+
+        assertThat(targets(adjacencyList, DENSE_NODE)).containsExactly(DENSE_TARGETS);
+        assertThat(targets(adjacencyList, SPARSE_NODE)).containsExactly(SPARSE_TARGETS);
+        assertThat(targets(adjacencyList, LARGE_NODE)).containsExactly(LARGE_TARGETS);
+    }
+
+    @Test
+    void shouldReportMemoryPerEncoding() {
+        var memoryInfo = buildAdjacencyList().memoryInfo();
+
+        assertThat(memoryInfo.adjacencyListsPerEncoding())
+            .containsEntry(MixedCompressor.PACKED_ENCODING, 2L)
+            .containsEntry(MixedCompressor.VLONG_ENCODING, 1L);
+        assertThat(memoryInfo.bytesPerEncoding().get(MixedCompressor.PACKED_ENCODING)).isPositive();
+        assertThat(memoryInfo.bytesPerEncoding().get(MixedCompressor.VLONG_ENCODING)).isPositive();
+    }
+
+    private static AdjacencyList buildAdjacencyList() {
+        var result = new AtomicReference<AdjacencyList>();
+        GdsFeatureToggles.USE_MIXED_ADJACENCY_LIST.enableAndRun(() -> {
+            var nodesBuilder = GraphFactory.initNodesBuilder()
+                .maxOriginalId(NODE_COUNT)
+                .concurrency(new Concurrency(1))
+                .build();
+            for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+                nodesBuilder.addNode(nodeId);
+            }
+            var idMap = nodesBuilder.build().idMap();
+
+            var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+                .nodes(idMap)
+                .relationshipType(RelationshipType.of("REL"))
+                .concurrency(new Concurrency(1))
+                .build();
+
+            addAll(relationshipsBuilder, DENSE_NODE, DENSE_TARGETS);
+            addAll(relationshipsBuilder, SPARSE_NODE, SPARSE_TARGETS);
+            addAll(relationshipsBuilder, LARGE_NODE, LARGE_TARGETS);
+
+            result.set(relationshipsBuilder.build().topology().adjacencyList());
+        });
+        return result.get();
+    }
+
+    private static void addAll(
+        RelationshipsBuilder relationshipsBuilder,
+        long source,
+        long[] targets
+    ) {
+        for (long target : targets) {
+            relationshipsBuilder.addFromInternal(source, target);
+        }
+    }
+
+    private static long[] targets(AdjacencyList adjacencyList, long nodeId) {
+        var targets = new long[adjacencyList.degree(nodeId)];
+        var decoded = adjacencyList.adjacencyCursor(nodeId).nextBatch(targets, targets.length);
+        assertThat(decoded).isEqualTo(targets.length);
+        return targets;
+    }
+}
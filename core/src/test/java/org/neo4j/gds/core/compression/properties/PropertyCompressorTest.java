@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.compression.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+
+import java.util.function.LongToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyCompressorTest {
+
+    private static final long NODE_COUNT = 1_000;
+    private static final int DEGREE = 10;
+
+    @ParameterizedTest
+    @EnumSource(value = PropertyCompression.class, names = {"AUTO", "DICTIONARY", "INTEGRAL", "FLOAT"})
+    void shouldRoundtripIntegralValues(PropertyCompression compression) {
+        LongToDoubleFunction values = index -> (index % 7) - 3;
+        var properties = buildProperties(compression, values);
+
+        assertThat(properties).isInstanceOf(CompressedAdjacencyProperties.class);
+        assertValues(properties, values);
+    }
+
+    @Test
+    void shouldPickSmallestLosslessEncoding() {
+        var integral = buildProperties(PropertyCompression.AUTO, index -> index * 3);
+        assertThat(((CompressedAdjacencyProperties) integral).compression()).isEqualTo(PropertyCompression.INTEGRAL);
+
+        // three distinct values need two bits each, the range of the values is too large for INTEGRAL
+        LongToDoubleFunction lowCardinality = index -> new double[]{0.25, 1e12, -7.5}[(int) (index % 3)];
+        var dictionary = buildProperties(PropertyCompression.AUTO, lowCardinality);
+        assertThat(((CompressedAdjacencyProperties) dictionary).compression()).isEqualTo(PropertyCompression.DICTIONARY);
+        assertThat(((CompressedAdjacencyProperties) dictionary).bitsPerValue()).isEqualTo(2);
+        assertValues(dictionary, lowCardinality);
+
+        LongToDoubleFunction singlePrecision = index -> index / 8.0 + 0.5;
+        var floats = buildProperties(PropertyCompression.AUTO, singlePrecision);
+        assertThat(((CompressedAdjacencyProperties) floats).compression()).isEqualTo(PropertyCompression.FLOAT);
+        assertValues(floats, singlePrecision);
+    }
+
+    @Test
+    void shouldStoreConstantValuesWithoutCodes() {
+        var properties = buildProperties(PropertyCompression.AUTO, index -> 42.0);
+
+        assertThat(((CompressedAdjacencyProperties) properties).bitsPerValue()).isZero();
+        assertValues(properties, index -> 42.0);
+    }
+
+    @Test
+    void shouldKeepUncompressibleValues() {
+        LongToDoubleFunction values = index -> Math.sqrt(index + 2);
+
+        var properties = buildProperties(PropertyCompression.AUTO, values);
+
+        assertThat(properties).isNotInstanceOf(CompressedAdjacencyProperties.class);
+        assertValues(properties, values);
+    }
+
+    @Test
+    void shouldRoundValuesForExplicitFloatCompression() {
+        var properties = buildProperties(PropertyCompression.FLOAT, index -> Math.PI);
+
+        assertValues(properties, index -> (float) Math.PI);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PropertyCompression.class, names = {"DICTIONARY", "INTEGRAL", "FLOAT"})
+    void shouldCompressPartitionsInParallel(PropertyCompression compression) {
+        // 13 bits per INTEGRAL code, so that codes and partitions do not align with the words
+        LongToDoubleFunction values = index -> index % 5_000;
+        var nodeCount = 20 * NODE_COUNT;
+
+        var sequential = buildProperties(compression, values, nodeCount, new Concurrency(1));
+        var parallel = buildProperties(compression, values, nodeCount, new Concurrency(4));
+
+        assertThat(((CompressedAdjacencyProperties) parallel).bitsPerValue())
+            .isEqualTo(((CompressedAdjacencyProperties) sequential).bitsPerValue());
+        assertValues(parallel, values, nodeCount);
+    }
+
+    @Test
+    void shouldFailForInapplicableEncoding() {
+        assertThatThrownBy(() -> buildProperties(PropertyCompression.INTEGRAL, index -> index + 0.5))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Relationship property `weight` cannot use `INTEGRAL` compression");
+    }
+
+    private static AdjacencyProperties buildProperties(PropertyCompression compression, LongToDoubleFunction values) {
+        return buildProperties(compression, values, NODE_COUNT, new Concurrency(1));
+    }
+
+    private static AdjacencyProperties buildProperties(
+        PropertyCompression compression,
+        LongToDoubleFunction values,
+        long nodeCount,
+        Concurrency concurrency
+    ) {
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(nodeCount)
+            .concurrency(new Concurrency(1))
+            .build();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            nodesBuilder.addNode(nodeId);
+        }
+        var idMap = nodesBuilder.build().idMap();
+
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .relationshipType(RelationshipType.of("REL"))
+            .addPropertyConfig(GraphFactory.PropertyConfig.builder()
+                .propertyKey("weight")
+                .compression(compression)
+                .build())
+            .concurrency(concurrency)
+            .build();
+
+        // every other node has no relationships
+        for (long source = 0; source < nodeCount; source += 2) {
+            for (long target = 0; target < DEGREE; target++) {
+                relationshipsBuilder.addFromInternal(source, target, values.applyAsDouble(source * DEGREE + target));
+            }
+        }
+
+        return relationshipsBuilder
+            .build()
+            .properties()
+            .orElseThrow()
+            .get("weight")
+            .values()
+            .propertiesList();
+    }
+
+    private static void assertValues(AdjacencyProperties properties, LongToDoubleFunction expected) {
+        assertValues(properties, expected, NODE_COUNT);
+    }
+
+    private static void assertValues(AdjacencyProperties properties, LongToDoubleFunction expected, long nodeCount) {
+        for (long source = 0; source < nodeCount; source++) {
+            var cursor = properties.propertyCursor(source);
+            if (source % 2 == 1) {
+                assertThat(cursor.hasNextLong()).isFalse();
+                continue;
+            }
+            for (long target = 0; target < DEGREE; target++) {
+                assertThat(cursor.hasNextLong()).isTrue();
+                assertThat(Double.longBitsToDouble(cursor.nextLong()))
+                    .isEqualTo(expected.applyAsDouble(source * DEGREE + target));
+            }
+            assertThat(cursor.hasNextLong()).isFalse();
+        }
+    }
+}
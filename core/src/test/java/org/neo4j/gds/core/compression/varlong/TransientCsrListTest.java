@@ -271,6 +271,50 @@ class TransientCsrListTest {
         });
     }
 
+    @ParameterizedTest
+    @MethodSource("org.neo4j.gds.core.TestMethodRunner#adjacencyCompressions")
+    void nextBatchAcrossBlocks(TestMethodRunner runner) {
+        runner.run(() -> {
+            int targetCount = 3 * CHUNK_SIZE + CHUNK_SIZE / 2;
+            withAdjacencyCursor(targetCount, adjacencyCursor -> {
+                var buffer = new long[CHUNK_SIZE + 7];
+                var decoded = LongStream.builder();
+                int count;
+                while ((count = adjacencyCursor.nextBatch(buffer, buffer.length)) > 0) {
+                    for (int i = 0; i < count; i++) {
+                        decoded.add(buffer[i]);
+                    }
+                }
+
+                assertThat(decoded.build().toArray()).containsExactly(LongStream.range(0, targetCount).toArray());
+                assertFalse(adjacencyCursor.hasNextVLong());
+                assertThat(adjacencyCursor.remaining()).isEqualTo(0);
+                assertThat(adjacencyCursor.nextBatch(buffer, buffer.length)).isEqualTo(0);
+            });
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.gds.core.TestMethodRunner#adjacencyCompressions")
+    void nextBatchContinuesAfterOtherMethods(TestMethodRunner runner) {
+        runner.run(() -> {
+            withAdjacencyCursor(2 * CHUNK_SIZE, adjacencyCursor -> {
+                var buffer = new long[3];
+                assertThat(adjacencyCursor.nextVLong()).isEqualTo(0);
+                assertThat(adjacencyCursor.nextBatch(buffer, 3)).isEqualTo(3);
+                assertThat(buffer).containsExactly(1, 2, 3);
+
+                assertThat(adjacencyCursor.advance(CHUNK_SIZE)).isEqualTo(CHUNK_SIZE);
+                assertThat(adjacencyCursor.nextBatch(buffer, 2)).isEqualTo(2);
+                assertThat(buffer).startsWith(CHUNK_SIZE + 1, CHUNK_SIZE + 2);
+
+                assertThat(adjacencyCursor.remaining()).isEqualTo(CHUNK_SIZE - 3);
+                assertThat(adjacencyCursor.peekVLong()).isEqualTo(CHUNK_SIZE + 3);
+                assertThat(adjacencyCursor.nextVLong()).isEqualTo(CHUNK_SIZE + 3);
+            });
+        });
+    }
+
     @ParameterizedTest
     @MethodSource("org.neo4j.gds.core.TestMethodRunner#adjacencyCompressions")
     void memoryInfo(TestMethodRunner runner) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.huge;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.gds.api.schema.Direction;
+import org.neo4j.gds.beta.generator.RandomGraphGenerator;
+import org.neo4j.gds.beta.generator.RelationshipDistribution;
+import org.neo4j.gds.core.TestMethodRunner;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HugeGraphForEachRelationshipBatchTest {
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.gds.core.TestMethodRunner#adjacencyCompressions")
+    void shouldReturnSameTargetsAsForEachRelationship(TestMethodRunner runner) {
+        runner.run(() -> {
+            var graph = RandomGraphGenerator.builder()
+                .nodeCount(1_000)
+                .averageDegree(100)
+                .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+                .direction(Direction.DIRECTED)
+                .seed(42)
+                .build()
+                .generate();
+
+            var buffer = new long[37];
+            graph.forEachNode(nodeId -> {
+                var expected = LongStream.builder();
+                graph.forEachRelationship(nodeId, (source, target) -> {
+                    expected.add(target);
+                    return true;
+                });
+
+                var actual = LongStream.builder();
+                graph.forEachRelationshipBatch(nodeId, buffer, (source, targets, length) -> {
+                    assertThat(source).isEqualTo(nodeId);
+                    assertThat(length).isBetween(1, buffer.length);
+                    for (int i = 0; i < length; i++) {
+                        actual.add(targets[i]);
+                    }
+                    return true;
+                });
+
+                assertThat(actual.build().toArray()).containsExactly(expected.build().toArray());
+                return true;
+            });
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.gds.core.TestMethodRunner#adjacencyCompressions")
+    void shouldStopWhenConsumerReturnsFalse(TestMethodRunner runner) {
+        runner.run(() -> {
+            var graph = RandomGraphGenerator.builder()
+                .nodeCount(10)
+                .averageDegree(100)
+                .relationshipDistribution(RelationshipDistribution.UNIFORM)
+                .direction(Direction.DIRECTED)
+                .seed(42)
+                .build()
+                .generate();
+
+            var batches = new int[]{0};
+            graph.forEachRelationshipBatch(0, new long[8], (source, targets, length) -> {
+                batches[0]++;
+                return false;
+            });
+
+            assertThat(batches[0]).isEqualTo(1);
+        });
+    }
+}
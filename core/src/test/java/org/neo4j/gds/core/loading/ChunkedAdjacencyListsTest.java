@@ -22,8 +22,13 @@ package org.neo4j.gds.core.loading;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.compression.common.AdjacencyCompression;
 import org.neo4j.gds.core.compression.common.ZigZagLongDecoding;
+import org.neo4j.gds.core.concurrency.Concurrency;
+
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -236,6 +241,108 @@ class ChunkedAdjacencyListsTest {
         });
     }
 
+    @Test
+    void shouldHashAggregateTargetsAboveThreshold() {
+        var adjacencyLists = ChunkedAdjacencyLists.of(0, 0, new Aggregation[]{Aggregation.SINGLE}, 3);
+
+        adjacencyLists.add(0, new long[]{42L, 1337L}, 0, 2, 2);
+        assertThat(adjacencyLists.isHashAggregated(0)).isFalse();
+
+        adjacencyLists.add(0, new long[]{42L, 42L}, 0, 2, 2);
+        assertThat(adjacencyLists.isHashAggregated(0)).isTrue();
+
+        adjacencyLists.add(0, new long[]{5L, 42L, IGNORE_VALUE, 7L}, 0, 4, 3);
+        // nodes below the threshold keep their parallel relationships
+        adjacencyLists.add(1, new long[]{42L, 42L}, 0, 2, 2);
+
+        adjacencyLists.consume((nodeId, targets, properties, position, length) -> {
+            var actualTargets = new long[length];
+            AdjacencyCompression.zigZagUncompressFrom(actualTargets, targets, length, position, INSTANCE);
+            if (nodeId == 0) {
+                assertThat(actualTargets).containsExactly(42L, 1337L, 5L, 7L);
+            } else {
+                assertThat(actualTargets).containsExactly(42L, 42L);
+            }
+        });
+        assertThat(adjacencyLists.isHashAggregated(0)).isFalse();
+    }
+
+    @Test
+    void shouldHashAggregatePropertiesAboveThreshold() {
+        var adjacencyLists = ChunkedAdjacencyLists.of(
+            2,
+            0,
+            new Aggregation[]{Aggregation.SUM, Aggregation.MAX},
+            2
+        );
+
+        adjacencyLists.add(0, new long[]{42L, 1337L}, new long[][]{bits(1, 2), bits(1, 2)}, 0, 2, 2);
+        assertThat(adjacencyLists.isHashAggregated(0)).isFalse();
+        adjacencyLists.add(0, new long[]{1337L, 42L, 42L}, new long[][]{bits(3, 4, 5), bits(3, 4, 5)}, 0, 3, 3);
+        assertThat(adjacencyLists.isHashAggregated(0)).isTrue();
+        adjacencyLists.add(0, new long[]{42L}, new long[][]{bits(6), bits(0)}, 0, 1, 1);
+
+        adjacencyLists.consume((nodeId, targets, properties, position, length) -> {
+            var actualTargets = new long[length];
+            AdjacencyCompression.zigZagUncompressFrom(actualTargets, targets, length, position, INSTANCE);
+            assertThat(actualTargets).containsExactly(42L, 1337L);
+
+            assertThat(Arrays.copyOf(properties[0], length)).containsExactly(bits(16, 5));
+            assertThat(Arrays.copyOf(properties[1], length)).containsExactly(bits(5, 3));
+        });
+    }
+
+    @Test
+    void shouldNotHashAggregateTargetsWithFewDuplicates() {
+        var adjacencyLists = ChunkedAdjacencyLists.of(0, 0, new Aggregation[]{Aggregation.SINGLE}, 2);
+
+        adjacencyLists.add(0, new long[]{1L, 2L, 3L, 3L}, 0, 4, 4);
+        assertThat(adjacencyLists.isHashAggregated(0)).isFalse();
+
+        // sampled again once the buffered degree has doubled
+        adjacencyLists.add(0, new long[]{3L, 3L, 3L, 3L}, 0, 4, 4);
+        assertThat(adjacencyLists.isHashAggregated(0)).isTrue();
+    }
+
+    @Test
+    void shouldSampleDuplicateRatio() {
+        assertThat(ChunkedAdjacencyLists.sampledDuplicateRatio(new long[0])).isEqualTo(0);
+        assertThat(ChunkedAdjacencyLists.sampledDuplicateRatio(new long[]{1L, 2L, 3L, 4L})).isEqualTo(0);
+        assertThat(ChunkedAdjacencyLists.sampledDuplicateRatio(new long[]{1L, 1L, 1L, 2L})).isEqualTo(0.5);
+
+        var manyDuplicates = new long[100 * ChunkedAdjacencyLists.DUPLICATE_SAMPLE_SIZE];
+        Arrays.setAll(manyDuplicates, i -> i % 10);
+        assertThat(ChunkedAdjacencyLists.sampledDuplicateRatio(manyDuplicates)).isGreaterThan(0.99);
+    }
+
+    @Test
+    void shouldEstimateHashAggregatedTargets() {
+        var withoutHashAggregation = ChunkedAdjacencyLists
+            .memoryEstimation(100, 1000, 1)
+            .estimate(GraphDimensions.of(1000), new Concurrency(1))
+            .memoryUsage();
+        var withHashAggregation = ChunkedAdjacencyLists
+            .memoryEstimation(100, 1000, 1, true)
+            .estimate(GraphDimensions.of(1000), new Concurrency(1))
+            .memoryUsage();
+
+        assertThat(withHashAggregation.min).isEqualTo(withoutHashAggregation.min);
+        assertThat(withHashAggregation.max).isGreaterThan(withoutHashAggregation.max);
+    }
+
+    @Test
+    void shouldNotHashAggregateWithoutAggregation() {
+        var adjacencyLists = ChunkedAdjacencyLists.of(0, 0, new Aggregation[]{Aggregation.NONE}, 1);
+
+        adjacencyLists.add(0, new long[]{42L, 42L}, 0, 2, 2);
+
+        assertThat(adjacencyLists.isHashAggregated(0)).isFalse();
+    }
+
+    private static long[] bits(double... values) {
+        return Arrays.stream(values).mapToLong(Double::doubleToLongBits).toArray();
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {
         110_000_000_0,
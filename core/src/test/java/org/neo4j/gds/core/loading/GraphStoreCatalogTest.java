@@ -25,13 +25,20 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.gds.api.DatabaseId;
 import org.neo4j.gds.api.GraphStore;
 import org.neo4j.gds.api.graph.store.catalog.GraphStoreAddedEventListener;
+import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEvent;
+import org.neo4j.gds.api.graph.store.catalog.GraphStoreRemovedEventListener;
+import org.neo4j.gds.api.properties.nodes.DoubleNodePropertyValues;
 import org.neo4j.gds.config.GraphProjectConfig;
 import org.neo4j.gds.extension.GdlExtension;
 import org.neo4j.gds.extension.GdlGraph;
 import org.neo4j.gds.extension.Inject;
 import org.neo4j.gds.gdl.GdlFactory;
+import org.neo4j.gds.mem.MemoryUsage;
 
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -423,6 +430,174 @@ class GraphStoreCatalogTest {
         assertThat(listenerCalls.intValue()).isEqualTo(1);
     }
 
+    @Test
+    void evictLeastRecentlyUsedGraphsWhenExceedingMemoryBudget() {
+        var removedEvents = new ArrayList<GraphStoreRemovedEvent>();
+        GraphStoreRemovedEventListener listener = removedEvents::add;
+        GraphStoreCatalog.registerGraphStoreRemovedListener(listener);
+        try {
+            var graphSize = MemoryUsage.sizeOf(graphStore);
+            assertThat(graphSize).isPositive();
+            // room for two graphs
+            GraphStoreCatalog.setMemoryBudget(2 * graphSize + graphSize / 2, CatalogEvictionPolicy.DROP);
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph0"), graphStore);
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName("bob", "graph1"), graphStore);
+            GraphStoreCatalog.get(CatalogRequest.of(USER_NAME, DATABASE_ID), "graph0");
+            assertThat(removedEvents).isEmpty();
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph2"), graphStore);
+
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertFalse(GraphStoreCatalog.exists("bob", DATABASE_ID, "graph1"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph2"));
+            assertThat(removedEvents)
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.user()).isEqualTo("bob");
+                    assertThat(event.graphName()).isEqualTo("graph1");
+                    assertThat(event.evicted()).isTrue();
+                });
+        } finally {
+            GraphStoreCatalog.unregisterGraphStoreRemovedListener(listener);
+            GraphStoreCatalog.removeMemoryBudget();
+        }
+    }
+
+    @Test
+    void keepGraphsThatTheEvictionPolicyRejects() {
+        try {
+            GraphStoreCatalog.setMemoryBudget(
+                1,
+                (username, catalogEntry) -> !catalogEntry.config().graphName().equals("graph0")
+            );
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph0"), graphStore);
+            // the graph that has just been added is never evicted
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph1"), graphStore);
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph2"), graphStore);
+
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph1"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph2"));
+        } finally {
+            GraphStoreCatalog.removeMemoryBudget();
+        }
+    }
+
+    @Test
+    void keepPinnedGraphsWhenExceedingMemoryBudget() {
+        try {
+            GraphStoreCatalog.setMemoryBudget(1, CatalogEvictionPolicy.DROP);
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph0"), graphStore);
+            try (var ignored = GraphStoreCatalog.pin(graphStore)) {
+                GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph1"), otherGraphStore);
+                assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            }
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph2"), emptyGraphStore());
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph1"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph2"));
+        } finally {
+            GraphStoreCatalog.removeMemoryBudget();
+        }
+    }
+
+    @Test
+    void evictInTheBackgroundWithoutBlockingTheAddedGraph() throws InterruptedException {
+        var spilling = new CountDownLatch(1);
+        var spilled = new CountDownLatch(1);
+        try {
+            GraphStoreCatalog.setMemoryBudget(1, new CatalogEvictionPolicy() {
+                @Override
+                public boolean evict(String username, GraphStoreCatalogEntry catalogEntry) {
+                    spilling.countDown();
+                    try {
+                        return spilled.await(1, TimeUnit.MINUTES);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+
+                @Override
+                public boolean runsInBackground() {
+                    return true;
+                }
+            });
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph0"), graphStore);
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph1"), otherGraphStore);
+
+            // the eviction is still waiting, but adding the graph is done
+            assertTrue(spilling.await(1, TimeUnit.MINUTES));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph1"));
+
+            spilled.countDown();
+            GraphStoreCatalog.awaitEvictions();
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph1"));
+        } finally {
+            spilled.countDown();
+            GraphStoreCatalog.removeMemoryBudget();
+        }
+    }
+
+    @Test
+    void measureGraphsAgainAfterTheyWereModified() {
+        try {
+            var graphSize = MemoryUsage.sizeOf(graphStore);
+            assertThat(graphSize).isPositive();
+            // room for three small graphs
+            GraphStoreCatalog.setMemoryBudget(3 * graphSize + graphSize / 2, CatalogEvictionPolicy.DROP);
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph0"), graphStore);
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph1"), otherGraphStore);
+
+            // mutating a graph makes it grow beyond the budget
+            otherGraphStore.addNodeProperty(
+                otherGraphStore.nodeLabels(),
+                "mutated",
+                new DoubleArrayValues(new double[1_000_000])
+            );
+
+            GraphStoreCatalog.set(GraphProjectConfig.emptyWithName(USER_NAME, "graph2"), emptyGraphStore());
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+            assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph1"));
+            assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph2"));
+        } finally {
+            GraphStoreCatalog.removeMemoryBudget();
+        }
+    }
+
+    // not a record, the memory layout of records cannot be inspected
+    private static final class DoubleArrayValues implements DoubleNodePropertyValues {
+        private final double[] values;
+
+        private DoubleArrayValues(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public double doubleValue(long nodeId) {
+            return values[(int) nodeId];
+        }
+
+        @Override
+        public long nodeCount() {
+            return values.length;
+        }
+    }
+
+    private static GraphStore emptyGraphStore() {
+        return GdlFactory.builder().gdlGraph("()").databaseId(DATABASE_ID).build().build();
+    }
+
     @Test
     void shouldThrowOnMissingGraph() {
         var dummyDatabaseId = DatabaseId.of("mydatabase");
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.DefaultValue;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.PropertyState;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.ImmutableNodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.schema.MutableGraphSchema;
+import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.neo4j.gds.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
+import org.neo4j.gds.utils.GdsFeatureToggles.NodeReorderingStrategy;
+import org.neo4j.gds.values.primitive.PrimitiveValues;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+
+class NodeReorderingTest {
+
+    private static final long NODE_COUNT = 10;
+    private static final long ID_OFFSET = 100;
+    // the node with the highest degree, it is connected to every other node
+    private static final long HUB = ID_OFFSET + NODE_COUNT - 1;
+
+    @ParameterizedTest
+    @EnumSource(NodeReorderingStrategy.class)
+    void shouldPreserveGraph(NodeReorderingStrategy strategy) {
+        var nodes = nodes();
+        var relationships = relationships(nodes);
+        var graphStore = graphStore(nodes, relationships);
+
+        var reordered = NodeReordering.reorder(nodes, relationships, strategy, new Concurrency(4));
+        var reorderedGraphStore = graphStore(reordered.nodes(), reordered.relationshipImportResult());
+
+        assertThat(reorderedGraphStore.schema()).isEqualTo(graphStore.schema());
+        assertThat(reorderedGraphStore.inverseIndexedRelationshipTypes()).isEqualTo(graphStore.inverseIndexedRelationshipTypes());
+        assertGraphEquals(graphStore.getUnion(), reorderedGraphStore.getUnion());
+        assertGraphEquals(
+            graphStore.getGraph(RelationshipType.of("KNOWS")),
+            reorderedGraphStore.getGraph(RelationshipType.of("KNOWS"))
+        );
+
+        var idMap = graphStore.nodes();
+        var reorderedIdMap = reorderedGraphStore.nodes();
+        for (long originalId = ID_OFFSET; originalId < ID_OFFSET + NODE_COUNT; originalId++) {
+            var nodeId = idMap.toMappedNodeId(originalId);
+            var reorderedNodeId = reorderedIdMap.toMappedNodeId(originalId);
+
+            assertThat(reorderedIdMap.toOriginalNodeId(reorderedNodeId)).isEqualTo(originalId);
+            assertThat(reorderedIdMap.nodeLabels(reorderedNodeId)).isEqualTo(idMap.nodeLabels(nodeId));
+            assertThat(reorderedGraphStore.nodeProperty("age").values().longValue(reorderedNodeId))
+                .isEqualTo(graphStore.nodeProperty("age").values().longValue(nodeId));
+            assertThat(reorderedGraphStore.nodeProperty("score").values().doubleValue(reorderedNodeId))
+                .isEqualTo(graphStore.nodeProperty("score").values().doubleValue(nodeId));
+        }
+    }
+
+    @Test
+    void shouldOrderByDegree() {
+        var nodes = nodes();
+        var relationships = relationships(nodes);
+
+        var reordered = NodeReordering.reorder(nodes, relationships, NodeReorderingStrategy.DEGREE, new Concurrency(1));
+        var idMap = reordered.nodes().idMap();
+
+        assertThat(idMap.toOriginalNodeId(0)).isEqualTo(HUB);
+        var adjacencyList = reordered.relationshipImportResult()
+            .importResults()
+            .get(RelationshipType.of("LINKS"))
+            .topology()
+            .adjacencyList();
+        for (long nodeId = 1; nodeId < NODE_COUNT; nodeId++) {
+            assertThat(adjacencyList.degree(nodeId)).isLessThanOrEqualTo(adjacencyList.degree(nodeId - 1));
+        }
+    }
+
+    @Test
+    void shouldOrderByBreadthFirstTraversal() {
+        var nodes = nodes();
+        var relationships = relationships(nodes);
+
+        var reordered = NodeReordering.reorder(nodes, relationships, NodeReorderingStrategy.BFS, new Concurrency(1));
+        var idMap = reordered.nodes().idMap();
+
+        // the traversal starts at the hub, all other nodes are its direct neighbors
+        assertThat(idMap.toOriginalNodeId(0)).isEqualTo(HUB);
+        var adjacencyCursor = reordered.relationshipImportResult()
+            .importResults()
+            .get(RelationshipType.of("LINKS"))
+            .topology()
+            .adjacencyList()
+            .adjacencyCursor(0);
+        long expectedTarget = 1;
+        while (adjacencyCursor.hasNextVLong()) {
+            assertThat(adjacencyCursor.nextVLong()).isEqualTo(expectedTarget++);
+        }
+        assertThat(expectedTarget).isEqualTo(NODE_COUNT);
+    }
+
+    @Test
+    void shouldKeepDefaultValues() {
+        var nodes = nodes();
+        var idMap = nodes.idMap();
+        var defaultValue = DefaultValue.of(42L);
+        var propertyBuilder = NodePropertiesFromStoreBuilder.of(defaultValue, new Concurrency(1));
+        // only every third node has a value
+        for (long originalId = ID_OFFSET; originalId < ID_OFFSET + NODE_COUNT; originalId += 3) {
+            propertyBuilder.set(originalId, PrimitiveValues.longValue(originalId));
+        }
+        var propertySchema = PropertySchema.of("rank", ValueType.LONG, defaultValue, PropertyState.PERSISTENT);
+        var nodesWithDefaults = ImmutableNodes.of(
+            nodes.schema(),
+            idMap,
+            NodePropertyStore.builder()
+                .putProperty("rank", ImmutableNodeProperty.of(propertyBuilder.build(idMap), propertySchema))
+                .build()
+        );
+
+        var reordered = NodeReordering.reorder(
+            nodesWithDefaults,
+            relationships(nodes),
+            NodeReorderingStrategy.DEGREE,
+            new Concurrency(4)
+        );
+
+        var reorderedIdMap = reordered.nodes().idMap();
+        var rank = reordered.nodes().properties().get("rank");
+        assertThat(rank.propertySchema()).isEqualTo(propertySchema);
+        assertThat(rank.values().getMaxLongPropertyValue()).hasValue(HUB);
+        for (long originalId = ID_OFFSET; originalId < ID_OFFSET + NODE_COUNT; originalId++) {
+            var expected = (originalId - ID_OFFSET) % 3 == 0 ? originalId : 42L;
+            assertThat(rank.values().longValue(reorderedIdMap.toMappedNodeId(originalId))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldRejectUnsupportedNodePropertiesUpFront() {
+        var nodes = nodes();
+        var age = nodes.properties().get("age");
+        var tagsSchema = PropertySchema.of("tags", ValueType.UNKNOWN);
+        var nodesWithUnsupportedProperty = ImmutableNodes.of(
+            nodes.schema(),
+            nodes.idMap(),
+            NodePropertyStore.builder()
+                .putProperty("tags", ImmutableNodeProperty.of(age.values(), tagsSchema))
+                .build()
+        );
+
+        assertThatThrownBy(() -> NodeReordering.reorder(
+            nodesWithUnsupportedProperty,
+            relationships(nodes),
+            NodeReorderingStrategy.DEGREE,
+            new Concurrency(1)
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cannot reorder node property `tags` of type UNKNOWN");
+    }
+
+    private static Nodes nodes() {
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(ID_OFFSET + NODE_COUNT)
+            .hasLabelInformation(true)
+            .hasProperties(true)
+            .concurrency(new Concurrency(1))
+            .build();
+
+        for (long originalId = ID_OFFSET; originalId < ID_OFFSET + NODE_COUNT; originalId++) {
+            nodesBuilder.addNode(
+                originalId,
+                Map.of(
+                    "age", PrimitiveValues.longValue(originalId * 2),
+                    "score", PrimitiveValues.floatingPointValue(originalId / 4.0)
+                ),
+                originalId % 2 == 0 ? NodeLabel.of("A") : NodeLabel.of("B")
+            );
+        }
+
+        return nodesBuilder.build();
+    }
+
+    private static RelationshipImportResult relationships(Nodes nodes) {
+        var idMap = nodes.idMap();
+
+        var links = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .relationshipType(RelationshipType.of("LINKS"))
+            .orientation(Orientation.UNDIRECTED)
+            .concurrency(new Concurrency(1))
+            .build();
+        for (long originalId = ID_OFFSET; originalId < HUB; originalId++) {
+            links.add(HUB, originalId);
+        }
+
+        var knows = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .relationshipType(RelationshipType.of("KNOWS"))
+            .orientation(Orientation.NATURAL)
+            .addPropertyConfig(GraphFactory.PropertyConfig.of("weight", Aggregation.NONE, DefaultValue.forDouble()))
+            .indexInverse(true)
+            .concurrency(new Concurrency(1))
+            .build();
+        for (long originalId = ID_OFFSET; originalId < HUB - 1; originalId++) {
+            knows.add(originalId, originalId + 1, originalId / 10.0);
+            knows.add(originalId + 1, originalId, originalId / 5.0);
+        }
+
+        return RelationshipImportResult.of(Map.of(
+            RelationshipType.of("LINKS"), links.build(),
+            RelationshipType.of("KNOWS"), knows.build()
+        ));
+    }
+
+    private static GraphStore graphStore(Nodes nodes, RelationshipImportResult relationships) {
+        return new GraphStoreBuilder()
+            .databaseInfo(DatabaseInfo.of(DatabaseId.of("neo4j"), DatabaseInfo.DatabaseLocation.LOCAL))
+            .capabilities(ImmutableStaticCapabilities.of(Capabilities.WriteMode.LOCAL))
+            .schema(MutableGraphSchema.of(nodes.schema(), relationships.relationshipSchema(), Map.of()))
+            .nodes(nodes)
+            .relationshipImportResult(relationships)
+            .concurrency(new Concurrency(1))
+            .build();
+    }
+}
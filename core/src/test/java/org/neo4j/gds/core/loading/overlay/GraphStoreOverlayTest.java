@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.overlay;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.gdl.GdlFactory;
+import org.neo4j.gds.gdl.ImmutableGraphProjectFromGdlConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+import static org.neo4j.gds.TestSupport.fromGdl;
+
+class GraphStoreOverlayTest {
+
+    private static final RelationshipType T = RelationshipType.of("T");
+
+    private static final String NODES =
+        "  (n0:A {p: 0}), (n1:A {p: 1}), (n2:A {p: 2}), (n3:A {p: 3}), (n4:B {p: 4})" +
+        ", (n5:B {p: 5}), (n6:B {p: 6}), (n7:B {p: 7}), (n8:B {p: 8}), (n9:B {p: 9})";
+
+    private static final String GRAPH = NODES +
+        ", (n0)-[:T {w: 1.0}]->(n1)" +
+        ", (n0)-[:T {w: 2.0}]->(n2)" +
+        ", (n1)-[:T {w: 3.0}]->(n2)" +
+        ", (n8)-[:T {w: 4.0}]->(n9)";
+
+    // compactions are only run when triggered explicitly
+    private static final Executor NO_COMPACTION = task -> {};
+
+    @Test
+    void shouldMergeChangesIntoSnapshots() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        var overlay = overlay(graphStore, 1.0, NO_COMPACTION, new CountingListener());
+
+        overlay.insert(T, 0, 3, 5.0);
+        overlay.insert(T, 0, 1, 6.0);
+        overlay.delete(T, 0, 1);
+        overlay.delete(T, 0, 1);
+        // deleting relationships that do not exist has no effect
+        overlay.delete(T, 0, 1);
+        overlay.delete(T, 2, 0);
+
+        var snapshot = overlay.graphStore();
+
+        assertThat(snapshot.relationshipCount()).isEqualTo(4);
+        assertThat(snapshot.getGraph(T).degree(0)).isEqualTo(2);
+        assertGraphEquals(
+            fromGdl(NODES +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n0)-[:T {w: 5.0}]->(n3)" +
+                ", (n1)-[:T {w: 3.0}]->(n2)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)"
+            ),
+            snapshot.getUnion()
+        );
+        assertThat(GraphStoreOverlay.find(snapshot)).containsSame(overlay);
+        assertThat(GraphStoreOverlay.find(graphStore)).isEmpty();
+        // the base graph store is unchanged
+        assertGraphEquals(fromGdl(GRAPH), graphStore.getUnion());
+    }
+
+    @Test
+    void shouldIsolateSnapshotsFromLaterChanges() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        var overlay = overlay(graphStore, 1.0, NO_COMPACTION, new CountingListener());
+
+        overlay.insert(T, 5, 6, 7.0);
+        var first = overlay.graphStore();
+        overlay.insert(T, 5, 7, 8.0);
+        overlay.delete(T, 5, 6);
+        var second = overlay.graphStore();
+
+        assertGraphEquals(fromGdl(GRAPH + ", (n5)-[:T {w: 7.0}]->(n6)"), first.getUnion());
+        assertGraphEquals(fromGdl(GRAPH + ", (n5)-[:T {w: 8.0}]->(n7)"), second.getUnion());
+    }
+
+    @Test
+    void shouldReuseSnapshotsWithoutChanges() {
+        var graphStore = GdlFactory.of(GRAPH + ", (n3)-[:U]->(n4)").build();
+        var overlay = overlay(graphStore, 1.0, NO_COMPACTION, new CountingListener());
+        var u = RelationshipType.of("U");
+
+        overlay.insert(T, 5, 6, 7.0);
+        var first = overlay.graphStore();
+        assertThat(overlay.graphStore()).isSameAs(first);
+
+        overlay.delete(T, 5, 6);
+        var second = overlay.graphStore();
+        assertThat(second).isNotSameAs(first);
+        // unchanged relationship types are shared between snapshots
+        assertThat(((CSRGraphStore) second).relationships(u).orElseThrow())
+            .isSameAs(((CSRGraphStore) first).relationships(u).orElseThrow());
+        assertThat(second.relationshipCount()).isEqualTo(5);
+
+        // deleting a relationship that does not exist still creates a snapshot with the same relationships
+        overlay.delete(T, 5, 6);
+        var third = overlay.graphStore();
+        assertThat(third.relationshipCount()).isEqualTo(5);
+        assertGraphEquals(second.getUnion(), third.getUnion());
+    }
+
+    @Test
+    void shouldApplyConcurrentUpdatesWhileReading() throws Exception {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        var compactionExecutor = Executors.newSingleThreadExecutor();
+        var listener = new CountingListener();
+        var overlay = overlay(graphStore, 0.5, compactionExecutor, listener);
+        var writerCount = 4;
+        var insertionsPerWriter = 200;
+
+        var pool = Executors.newFixedThreadPool(writerCount + 2);
+        var writersDone = new AtomicBoolean();
+        try {
+            var readers = new ArrayList<Future<?>>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(pool.submit(() -> {
+                    do {
+                        assertConsistent(overlay.graphStore());
+                    } while (!writersDone.get());
+                }));
+            }
+            var writers = new ArrayList<Future<?>>();
+            for (int w = 0; w < writerCount; w++) {
+                var source = w;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < insertionsPerWriter; i++) {
+                        overlay.insert(T, source, i % 10, i);
+                        if (i % 2 == 1) {
+                            overlay.delete(T, source, i % 10);
+                        }
+                    }
+                }));
+            }
+            for (var writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            writersDone.set(true);
+            for (var reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdown();
+            compactionExecutor.shutdown();
+        }
+        assertThat(compactionExecutor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(listener.failures).isEmpty();
+        assertThat(listener.compactions.get()).isPositive();
+        var snapshot = overlay.graphStore();
+        assertConsistent(snapshot);
+        assertThat(snapshot.relationshipCount()).isEqualTo(4 + writerCount * insertionsPerWriter / 2);
+    }
+
+    @Test
+    void shouldCompactChanges() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        var compactions = new ArrayList<Runnable>();
+        var listener = new CountingListener();
+        var overlay = overlay(graphStore, 0.5, compactions::add, listener);
+
+        overlay.insert(T, 3, 4, 9.0);
+        overlay.delete(T, 0, 2);
+        assertThat(compactions).isEmpty();
+        overlay.insert(T, 4, 5, 10.0);
+        assertThat(compactions).hasSize(1);
+
+        var uncompacted = overlay.graphStore();
+        compactions.get(0).run();
+
+        assertThat(listener.compactions.get()).isEqualTo(1);
+        assertThat(overlay.pendingChanges()).isZero();
+        overlay.insert(T, 6, 7, 11.0);
+        assertThat(overlay.pendingChanges()).isEqualTo(1);
+        var expected = fromGdl(NODES +
+            ", (n0)-[:T {w: 1.0}]->(n1)" +
+            ", (n1)-[:T {w: 3.0}]->(n2)" +
+            ", (n3)-[:T {w: 9.0}]->(n4)" +
+            ", (n4)-[:T {w: 10.0}]->(n5)" +
+            ", (n6)-[:T {w: 11.0}]->(n7)" +
+            ", (n8)-[:T {w: 4.0}]->(n9)"
+        );
+        var compacted = overlay.graphStore();
+        assertThat(compacted.relationshipCount()).isEqualTo(6);
+        assertGraphEquals(expected, compacted.getUnion());
+        // snapshots taken before the compaction are still valid
+        assertThat(uncompacted.relationshipCount()).isEqualTo(5);
+        assertThat(uncompacted.getGraph(T).degree(6)).isZero();
+    }
+
+    @Test
+    void shouldRecordUndirectedChangesForBothNodes() {
+        var config = ImmutableGraphProjectFromGdlConfig.builder()
+            .graphName("graph")
+            .gdlGraph(GRAPH)
+            .orientation(Orientation.UNDIRECTED)
+            .build();
+        var graphStore = GdlFactory.builder().graphProjectConfig(config).build().build();
+        var compactions = new ArrayList<Runnable>();
+        var overlay = overlay(graphStore, 0.0, compactions::add, new CountingListener());
+
+        overlay.insert(T, 7, 6, 11.0);
+        // the relationship has been projected as (n1)-[:T]->(n2)
+        overlay.delete(T, 2, 1);
+
+        var expected = fromGdl(
+            NODES +
+            ", (n0)-[:T {w: 1.0}]->(n1)" +
+            ", (n0)-[:T {w: 2.0}]->(n2)" +
+            ", (n6)-[:T {w: 11.0}]->(n7)" +
+            ", (n8)-[:T {w: 4.0}]->(n9)",
+            Orientation.UNDIRECTED
+        );
+        var snapshot = overlay.graphStore();
+        assertThat(snapshot.relationshipCount()).isEqualTo(8);
+        assertGraphEquals(expected, snapshot.getUnion());
+
+        compactions.get(0).run();
+        assertThat(overlay.pendingChanges()).isZero();
+        assertGraphEquals(expected, overlay.graphStore().getUnion());
+    }
+
+    @Test
+    void shouldAggregateInsertedRelationships() {
+        var config = ImmutableGraphProjectFromGdlConfig.builder()
+            .graphName("graph")
+            .gdlGraph(GRAPH)
+            .aggregation(Aggregation.SUM)
+            .build();
+        var graphStore = GdlFactory.builder().graphProjectConfig(config).build().build();
+        var compactions = new ArrayList<Runnable>();
+        var overlay = overlay(graphStore, 0.0, compactions::add, new CountingListener());
+
+        overlay.insert(T, 0, 1, 10.0);
+
+        var expected = fromGdl(NODES +
+            ", (n0)-[:T {w: 11.0}]->(n1)" +
+            ", (n0)-[:T {w: 2.0}]->(n2)" +
+            ", (n1)-[:T {w: 3.0}]->(n2)" +
+            ", (n8)-[:T {w: 4.0}]->(n9)"
+        );
+        var snapshot = overlay.graphStore();
+        assertThat(snapshot.relationshipCount()).isEqualTo(4);
+        assertGraphEquals(expected, snapshot.getUnion());
+
+        compactions.get(0).run();
+        var compacted = overlay.graphStore();
+        assertThat(compacted.relationshipCount()).isEqualTo(4);
+        assertGraphEquals(expected, compacted.getUnion());
+    }
+
+    @Test
+    void shouldValidateUpdates() {
+        var overlay = overlay(GdlFactory.of(GRAPH).build(), 1.0, NO_COMPACTION, new CountingListener());
+
+        assertThat(overlay.propertyKeys(T)).containsExactly("w");
+        assertThatThrownBy(() -> overlay.insert(RelationshipType.of("X"), 0, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The graph has no relationships of type `X`.");
+        assertThatThrownBy(() -> overlay.insert(T, 0, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Expected values for the properties [w], but got 0 values.");
+        assertThatThrownBy(() -> overlay.insert(T, 0, 42, 1.0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Node with id 42 is not part of the graph.");
+    }
+
+    private static void assertConsistent(GraphStore snapshot) {
+        var graph = snapshot.getGraph(T);
+        long degrees = 0;
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            var degree = graph.degree(node);
+            var targets = new ArrayList<Long>();
+            graph.forEachRelationship(node, (source, target) -> targets.add(target));
+            assertThat(targets).hasSize(degree).isSorted();
+            degrees += degree;
+        }
+        assertThat(degrees).isEqualTo(snapshot.relationshipCount());
+    }
+
+    private static GraphStoreOverlay overlay(
+        GraphStore graphStore,
+        double compactionThreshold,
+        Executor compactionExecutor,
+        GraphStoreOverlay.CompactionListener listener
+    ) {
+        return GraphStoreOverlay.create(graphStore, new Concurrency(1), compactionThreshold, compactionExecutor, listener);
+    }
+
+    private static final class CountingListener implements GraphStoreOverlay.CompactionListener {
+        private final AtomicInteger compactions = new AtomicInteger();
+        private final List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onCompaction(GraphStoreOverlay overlay) {
+            compactions.incrementAndGet();
+        }
+
+        @Override
+        public void onCompactionFailure(GraphStoreOverlay overlay, RuntimeException error) {
+            failures.add(error);
+        }
+    }
+}
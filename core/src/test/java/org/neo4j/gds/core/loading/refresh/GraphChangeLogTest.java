@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphChangeLogTest {
+
+    private static final GraphChangeLog.Interest EVERYTHING = new GraphChangeLog.Interest(
+        true,
+        Set.of(),
+        Set.of("p"),
+        true,
+        Set.of(),
+        Set.of("w")
+    );
+
+    @Test
+    void shouldOnlyRecordWhileGraphsAreTracked() {
+        var changeLog = new GraphChangeLog(1024);
+        assertThat(changeLog.isRecording()).isFalse();
+
+        changeLog.append(List.of(new GraphChange.NodeDeleted(0)));
+        assertThat(changeLog.size()).isZero();
+
+        changeLog.track("user", "graph", EVERYTHING);
+        assertThat(changeLog.isRecording()).isTrue();
+        changeLog.append(List.of(new GraphChange.NodeDeleted(1)));
+        assertThat(changeLog.size()).isEqualTo(1);
+
+        changeLog.release("user", "graph");
+        assertThat(changeLog.isRecording()).isFalse();
+        assertThat(changeLog.size()).isZero();
+    }
+
+    @Test
+    void shouldReturnChangesSinceTheLastAcknowledgedPosition() {
+        var changeLog = new GraphChangeLog(1024);
+        changeLog.track("user", "a", EVERYTHING);
+        changeLog.append(List.of(new GraphChange.NodeDeleted(0)));
+        changeLog.track("user", "b", EVERYTHING);
+        changeLog.append(List.of(new GraphChange.NodeDeleted(1), new GraphChange.NodeDeleted(2)));
+
+        assertThat(changeLog.pendingChanges("user", "a").changes()).containsExactly(
+            new GraphChange.NodeDeleted(0),
+            new GraphChange.NodeDeleted(1),
+            new GraphChange.NodeDeleted(2)
+        );
+        var pendingForB = changeLog.pendingChanges("user", "b");
+        assertThat(pendingForB.changes()).containsExactly(
+            new GraphChange.NodeDeleted(1),
+            new GraphChange.NodeDeleted(2)
+        );
+
+        changeLog.acknowledge("user", "b", pendingForB.position());
+        assertThat(changeLog.pendingChanges("user", "b").changes()).isEmpty();
+        // graph `a` has not seen any change yet, so nothing can be discarded
+        assertThat(changeLog.size()).isEqualTo(3);
+
+        changeLog.acknowledge("user", "a", changeLog.pendingChanges("user", "a").position());
+        assertThat(changeLog.size()).isZero();
+    }
+
+    @Test
+    void shouldFailWhenChangesHaveBeenDiscarded() {
+        var changeLog = new GraphChangeLog(4);
+        changeLog.track("user", "graph", EVERYTHING);
+        changeLog.append(List.of(
+            new GraphChange.NodeDeleted(0),
+            new GraphChange.NodeDeleted(1),
+            new GraphChange.NodeDeleted(2)
+        ));
+
+        assertThatThrownBy(() -> changeLog.pendingChanges("user", "graph"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("must be projected again");
+    }
+
+    @Test
+    void shouldEncodeChangesCompactly() {
+        var changeLog = new GraphChangeLog(1024);
+        changeLog.track("user", "graph", EVERYTHING);
+        List<GraphChange> changes = List.of(
+            new GraphChange.NodeCreated(1, List.of("A", "B"), Map.of("p", 42L, "q", new double[]{1.0, 2.0})),
+            new GraphChange.NodeUpdated(1, List.of("A"), Map.of("p", -1L, "r", "text")),
+            new GraphChange.RelationshipCreated(7, "T", 1, 300, Map.of("w", 0.5)),
+            new GraphChange.RelationshipDeleted(7, "T", 1, 300, Map.of("w", 0.5)),
+            new GraphChange.NodeDeleted(1)
+        );
+        changeLog.append(changes);
+
+        var pending = changeLog.pendingChanges("user", "graph").changes();
+        assertThat(pending).hasSize(5);
+        assertThat(pending.get(0)).isInstanceOfSatisfying(GraphChange.NodeCreated.class, nodeCreated -> {
+            assertThat(nodeCreated.labels()).containsExactly("A", "B");
+            assertThat(nodeCreated.properties()).containsEntry("p", 42L);
+            assertThat((double[]) nodeCreated.properties().get("q")).containsExactly(1.0, 2.0);
+        });
+        assertThat(pending.subList(1, 5)).containsExactlyElementsOf(changes.subList(1, 5));
+        // names are stored once, ids and values in a few bytes
+        assertThat(changeLog.sizeInBytes()).isLessThan(96);
+    }
+
+    @Test
+    void shouldMarkChangesCommittedWhileProjecting() {
+        var changeLog = new GraphChangeLog(1024);
+        changeLog.track("user", "graph", EVERYTHING);
+        changeLog.append(List.of(new GraphChange.NodeDeleted(0), new GraphChange.NodeDeleted(1)));
+        changeLog.projected("user", "graph");
+        changeLog.append(List.of(new GraphChange.NodeDeleted(2)));
+
+        var pending = changeLog.pendingChanges("user", "graph");
+        assertThat(pending.changes()).hasSize(3);
+        assertThat(pending.concurrentCount()).isEqualTo(2);
+
+        changeLog.acknowledge("user", "graph", pending.position());
+        changeLog.append(List.of(new GraphChange.NodeDeleted(3)));
+        assertThat(changeLog.pendingChanges("user", "graph").concurrentCount()).isZero();
+    }
+
+    @Test
+    void shouldFailForUntrackedGraphs() {
+        var changeLog = new GraphChangeLog(4);
+
+        assertThatThrownBy(() -> changeLog.pendingChanges("user", "graph"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("trackChanges: true");
+    }
+}
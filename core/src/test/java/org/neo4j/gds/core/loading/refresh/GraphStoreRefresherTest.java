@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.loading.refresh;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.gdl.GdlFactory;
+import org.neo4j.gds.gdl.ImmutableGraphProjectFromGdlConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+import static org.neo4j.gds.TestSupport.fromGdl;
+
+class GraphStoreRefresherTest {
+
+    private static final RelationshipType T = RelationshipType.of("T");
+
+    // ten nodes, so that changing the relationships of a single node stays below the compaction threshold
+    private static final String NODES =
+        "  (n0:A {p: 0}), (n1:A {p: 1}), (n2:A {p: 2}), (n3:A {p: 3}), (n4:B {p: 4})" +
+        ", (n5:B {p: 5}), (n6:B {p: 6}), (n7:B {p: 7}), (n8:B {p: 8}), (n9:B {p: 9})";
+
+    private static final String GRAPH = NODES +
+        ", (n0)-[:T {w: 1.0}]->(n1)" +
+        ", (n0)-[:T {w: 2.0}]->(n2)" +
+        ", (n1)-[:T {w: 3.0}]->(n2)" +
+        ", (n8)-[:T {w: 4.0}]->(n9)";
+
+    @Test
+    void shouldPatchChangedNodes() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+
+        var delta = new GraphStoreDelta();
+        var changes = delta.relationships(T, List.of("w"));
+        changes.add(0, 3, 5.0);
+        changes.remove(0, 1);
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(4));
+
+        assertThat(result.relationshipsAdded()).isEqualTo(1);
+        assertThat(result.relationshipsRemoved()).isEqualTo(1);
+        assertThat(adjacencyList(result.graphStore())).isInstanceOf(PatchedAdjacencyList.class);
+        assertGraphEquals(
+            fromGdl(NODES +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n0)-[:T {w: 5.0}]->(n3)" +
+                ", (n1)-[:T {w: 3.0}]->(n2)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)"
+            ),
+            result.graphStore().getUnion()
+        );
+
+        // the refreshed graph store shares the adjacency list, but the original is unchanged
+        assertGraphEquals(fromGdl(GRAPH), graphStore.getUnion());
+    }
+
+    @Test
+    void shouldAddNodes() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+
+        var delta = new GraphStoreDelta();
+        delta.addNode(42, List.of(NodeLabel.of("A")), Map.of("p", 42L));
+        delta.addNode(43, List.of(NodeLabel.of("B"), NodeLabel.of("C")), Map.of("p", 43));
+        delta.relationships(T, List.of("w")).add(42, 9, 6.0);
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(1));
+
+        assertThat(result.nodesAdded()).isEqualTo(2);
+        var refreshed = result.graphStore();
+        assertThat(refreshed.nodeCount()).isEqualTo(12);
+        assertThat(refreshed.relationshipCount()).isEqualTo(5);
+        assertThat(refreshed.nodes().toMappedNodeId(42)).isEqualTo(10);
+
+        // labels that are not part of the graph are ignored
+        assertGraphEquals(
+            fromGdl(NODES +
+                ", (n10:A {p: 42}), (n11:B {p: 43})" +
+                ", (n0)-[:T {w: 1.0}]->(n1)" +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n1)-[:T {w: 3.0}]->(n2)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)" +
+                ", (n10)-[:T {w: 6.0}]->(n9)"
+            ),
+            refreshed.getUnion()
+        );
+    }
+
+    @Test
+    void shouldUseDefaultValuesForMissingProperties() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+
+        var delta = new GraphStoreDelta();
+        delta.addNode(42, List.of(), Map.of());
+        delta.relationships(T, List.of()).add(42, 0);
+
+        var refreshed = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(1)).graphStore();
+
+        var nodeId = refreshed.nodes().toMappedNodeId(42);
+        var nodeProperty = refreshed.nodeProperty("p");
+        assertThat(nodeProperty.values().longValue(nodeId)).isEqualTo(nodeProperty.propertySchema().defaultValue().longValue());
+        var defaultWeight = refreshed.relationshipPropertyValues(T, "w").values().defaultPropertyValue();
+        var weights = new ArrayList<Double>();
+        refreshed.getGraph(T, Optional.of("w")).forEachRelationship(nodeId, 0.0, (source, target, weight) -> {
+            weights.add(weight);
+            return true;
+        });
+        assertThat(weights).containsExactly(defaultWeight);
+    }
+
+    @Test
+    void shouldRebuildWhenNodesAreRemoved() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+
+        var delta = new GraphStoreDelta();
+        delta.removeNode(2);
+        delta.relationships(T, List.of("w")).add(3, 4, 7.0);
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(4));
+
+        assertThat(result.nodesRemoved()).isEqualTo(1);
+        var refreshed = result.graphStore();
+        assertThat(adjacencyList(refreshed)).isNotInstanceOf(PatchedAdjacencyList.class);
+        assertThat(refreshed.nodes().safeToMappedNodeId(2)).isEqualTo(-1);
+        assertThat(refreshed.nodeProperty("p").values().longValue(refreshed.nodes().toMappedNodeId(3))).isEqualTo(3L);
+        assertGraphEquals(
+            fromGdl(
+                "  (n0:A {p: 0}), (n1:A {p: 1}), (n3:A {p: 3}), (n4:B {p: 4})" +
+                ", (n5:B {p: 5}), (n6:B {p: 6}), (n7:B {p: 7}), (n8:B {p: 8}), (n9:B {p: 9})" +
+                ", (n0)-[:T {w: 1.0}]->(n1)" +
+                ", (n3)-[:T {w: 7.0}]->(n4)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)"
+            ),
+            refreshed.getUnion()
+        );
+    }
+
+    @Test
+    void shouldMergePatchesAndCompact() {
+        GraphStore graphStore = GdlFactory.of(GRAPH).build();
+
+        var first = new GraphStoreDelta();
+        first.relationships(T, List.of("w")).add(5, 6, 8.0);
+        graphStore = GraphStoreRefresher.refresh(graphStore, first, new Concurrency(1)).graphStore();
+
+        var second = new GraphStoreDelta();
+        second.relationships(T, List.of("w")).remove(5, 6);
+        graphStore = GraphStoreRefresher.refresh(graphStore, second, new Concurrency(1)).graphStore();
+
+        var patched = (PatchedAdjacencyList) adjacencyList(graphStore);
+        assertThat(patched.base()).isNotInstanceOf(PatchedAdjacencyList.class);
+        assertThat(patched.patchedNodes().cardinality()).isEqualTo(1);
+        assertGraphEquals(fromGdl(GRAPH), graphStore.getUnion());
+
+        var third = new GraphStoreDelta();
+        var changes = third.relationships(T, List.of("w"));
+        changes.add(3, 4, 9.0);
+        changes.add(4, 5, 10.0);
+        graphStore = GraphStoreRefresher.refresh(graphStore, third, new Concurrency(1)).graphStore();
+
+        // three out of ten nodes have been patched
+        assertThat(adjacencyList(graphStore)).isNotInstanceOf(PatchedAdjacencyList.class);
+        assertGraphEquals(
+            fromGdl(GRAPH + ", (n3)-[:T {w: 9.0}]->(n4), (n4)-[:T {w: 10.0}]->(n5)"),
+            graphStore.getUnion()
+        );
+    }
+
+    @Test
+    void shouldApplyChangesToBothDirections() {
+        var config = ImmutableGraphProjectFromGdlConfig.builder()
+            .graphName("graph")
+            .gdlGraph(GRAPH)
+            .orientation(Orientation.UNDIRECTED)
+            .build();
+        var graphStore = GdlFactory.builder().graphProjectConfig(config).build().build();
+
+        var delta = new GraphStoreDelta();
+        var changes = delta.relationships(T, List.of("w"));
+        changes.add(6, 7, 11.0);
+        changes.remove(1, 2);
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(1));
+
+        assertThat(result.relationshipsAdded()).isEqualTo(1);
+        assertThat(result.relationshipsRemoved()).isEqualTo(1);
+        assertGraphEquals(
+            fromGdl(
+                NODES +
+                ", (n0)-[:T {w: 1.0}]->(n1)" +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n6)-[:T {w: 11.0}]->(n7)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)",
+                Orientation.UNDIRECTED
+            ),
+            result.graphStore().getUnion()
+        );
+    }
+
+    @Test
+    void shouldAggregateAddedRelationships() {
+        var config = ImmutableGraphProjectFromGdlConfig.builder()
+            .graphName("graph")
+            .gdlGraph(GRAPH)
+            .aggregation(Aggregation.SUM)
+            .build();
+        var graphStore = GdlFactory.builder().graphProjectConfig(config).build().build();
+
+        var delta = new GraphStoreDelta();
+        delta.relationships(T, List.of("w")).add(0, 1, 10.0);
+
+        var refreshed = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(1)).graphStore();
+
+        assertThat(refreshed.relationshipCount()).isEqualTo(4);
+        assertGraphEquals(
+            fromGdl(NODES +
+                ", (n0)-[:T {w: 11.0}]->(n1)" +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n1)-[:T {w: 3.0}]->(n2)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)"
+            ),
+            refreshed.getUnion()
+        );
+    }
+
+    @Test
+    void shouldCancelChangesWithinTheDelta() {
+        var delta = new GraphStoreDelta();
+        delta.addNode(42, List.of(), Map.of());
+        delta.removeNode(42);
+        var changes = delta.relationships(T, List.of("w"));
+        changes.add(0, 1, 1.0);
+        changes.remove(0, 1);
+
+        assertThat(delta.isEmpty()).isTrue();
+        assertThatThrownBy(() -> delta.relationships(T, List.of()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("have been recorded with the properties [w]");
+    }
+
+    @Test
+    void shouldRemoveParallelRelationshipsByPropertyValues() {
+        var graphStore = GdlFactory.of(GRAPH + ", (n0)-[:T {w: 6.0}]->(n1), (n0)-[:T {w: 7.0}]->(n1)").build();
+
+        var delta = new GraphStoreDelta();
+        var changes = delta.relationships(T, List.of("w"));
+        // a property update of the second parallel relationship
+        changes.removeRelationship(11, 0, 1, 6.0);
+        changes.addRelationship(11, 0, 1, 8.0);
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(1));
+
+        assertThat(result.relationshipsRemoved()).isEqualTo(1);
+        assertGraphEquals(
+            fromGdl(GRAPH + ", (n0)-[:T {w: 8.0}]->(n1), (n0)-[:T {w: 7.0}]->(n1)"),
+            result.graphStore().getUnion()
+        );
+    }
+
+    @Test
+    void shouldCancelAdditionsOfTheSameRelationship() {
+        var delta = new GraphStoreDelta();
+        var changes = delta.relationships(T, List.of("w"));
+        changes.addRelationship(1, 0, 1, 1.0);
+        changes.addRelationship(2, 0, 1, 2.0);
+        changes.removeRelationship(1, 0, 1, 1.0);
+
+        // removing by node pair would have cancelled the last addition instead
+        assertThat(changes.addedCount()).isEqualTo(1);
+        assertThat(changes.removedCount()).isZero();
+        assertThat(changes.addedProperties(1)).containsExactly(2.0);
+    }
+
+    @Test
+    void shouldUpdateLabelsAndProperties() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+
+        var delta = new GraphStoreDelta();
+        delta.updateNode(1, List.of(NodeLabel.of("B")), Map.of("p", 11L));
+        delta.updateNode(5, List.of(NodeLabel.of("A"), NodeLabel.of("B")), Map.of("p", 15L));
+        // updating a node that is not part of the graph adds it
+        delta.updateNode(42, List.of(NodeLabel.of("A")), Map.of("p", 42L));
+
+        var result = GraphStoreRefresher.refresh(graphStore, delta, new Concurrency(4));
+
+        assertThat(result.nodesAdded()).isEqualTo(1);
+        assertThat(result.relationshipsAdded()).isZero();
+        assertGraphEquals(
+            fromGdl(
+                "  (n0:A {p: 0}), (n1:B {p: 11}), (n2:A {p: 2}), (n3:A {p: 3}), (n4:B {p: 4})" +
+                ", (n5:A:B {p: 15}), (n6:B {p: 6}), (n7:B {p: 7}), (n8:B {p: 8}), (n9:B {p: 9})" +
+                ", (n10:A {p: 42})" +
+                ", (n0)-[:T {w: 1.0}]->(n1)" +
+                ", (n0)-[:T {w: 2.0}]->(n2)" +
+                ", (n1)-[:T {w: 3.0}]->(n2)" +
+                ", (n8)-[:T {w: 4.0}]->(n9)"
+            ),
+            result.graphStore().getUnion()
+        );
+    }
+
+    @Test
+    void shouldDropUpdatesOfRemovedNodes() {
+        var delta = new GraphStoreDelta();
+        delta.updateNode(1, List.of(NodeLabel.of("B")), Map.of());
+        delta.removeNode(1);
+        delta.addNode(42, List.of(), Map.of());
+        delta.updateNode(42, List.of(NodeLabel.of("A")), Map.of());
+
+        assertThat(delta.updatedNodes()).isEmpty();
+        assertThat(delta.removedNodes().contains(1)).isTrue();
+        assertThat(delta.addedNodes()).singleElement().satisfies(node -> {
+            assertThat(node.originalId()).isEqualTo(42);
+            assertThat(node.labels()).containsExactly(NodeLabel.of("A"));
+        });
+    }
+
+    @Test
+    void shouldRejectUnsupportedNodeProperties() {
+        var graphStore = GdlFactory.of(GRAPH).build();
+        graphStore.addNodeProperty(Set.of(NodeLabel.of("A")), "s", new NodePropertyValues() {
+            @Override
+            public ValueType valueType() {
+                return ValueType.STRING;
+            }
+
+            @Override
+            public Object getObject(long nodeId) {
+                return "s";
+            }
+
+            @Override
+            public long nodeCount() {
+                return graphStore.nodeCount();
+            }
+
+            @Override
+            public Optional<Integer> dimension() {
+                return Optional.of(1);
+            }
+        });
+
+        assertThatThrownBy(() -> GraphStoreRefresher.refresh(graphStore, new GraphStoreDelta(), new Concurrency(1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("node properties `s` of type STRING are not supported");
+    }
+
+    private static Object adjacencyList(GraphStore graphStore) {
+        return ((CSRGraphStore) graphStore).relationships(T).orElseThrow().topology().adjacencyList();
+    }
+}
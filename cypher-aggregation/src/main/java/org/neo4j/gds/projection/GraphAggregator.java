@@ -30,6 +30,7 @@ import org.neo4j.gds.api.PropertyState;
 import org.neo4j.gds.core.ConfigKeyValidation;
 import org.neo4j.gds.core.CypherMapAccess;
 import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.DefaultPool;
 import org.neo4j.gds.core.loading.Capabilities.WriteMode;
 import org.neo4j.gds.core.loading.GraphStoreCatalog;
 import org.neo4j.gds.core.loading.LazyIdMapBuilder;
@@ -94,7 +95,7 @@ abstract class GraphAggregator implements UserAggregationReducer, UserAggregatio
     // Used for initializing the data and rel importers
     private final Lock lock;
     private final ExtractNodeId extractNodeId;
-    private volatile @Nullable GraphImporter importer;
+    private volatile @Nullable TripletImporter importer;
 
     // #result() may be called twice, we cache the result of the first call to return it again in the second invocation
     private @Nullable AggregationResult result;
@@ -171,7 +172,7 @@ abstract class GraphAggregator implements UserAggregationReducer, UserAggregatio
         );
     }
 
-    private GraphImporter initGraphData(TextValue graphName, AnyValue config) {
+    private TripletImporter initGraphData(TextValue graphName, AnyValue config) {
         var data = this.importer;
         if (data != null) {
             return data;
@@ -189,7 +190,7 @@ abstract class GraphAggregator implements UserAggregationReducer, UserAggregatio
         }
     }
 
-    private GraphImporter createGraphImporter(
+    private TripletImporter createGraphImporter(
         TextValue graphNameValue,
         AnyValue configMap
     ) {
@@ -217,15 +218,20 @@ abstract class GraphAggregator implements UserAggregationReducer, UserAggregatio
         );
         this.progressTracker = BatchingTaskProgressTracker.create(internalProgressTracker, taskVolume, config.readConcurrency());
 
-        return new GraphImporter(
+        var importer = new GraphImporter(
             config,
             config.undirectedRelationshipTypes(),
             config.inverseIndexedRelationshipTypes(),
+            config.relationshipPropertyCompression(),
             idMapBuilder,
             this.writeMode,
             query,
             progressTracker
         );
+
+        return config.parallelImport()
+            ? new ParallelGraphImporter(importer, config.readConcurrency(), DefaultPool.INSTANCE, log)
+            : importer;
     }
 
     private static LazyIdMapBuilder idMapBuilder(Concurrency readConcurrency) {
@@ -272,7 +278,10 @@ abstract class GraphAggregator implements UserAggregationReducer, UserAggregatio
 
     @Override
     public void applyUpdates() {
-
+        var importer = this.importer;
+        if (importer != null) {
+            importer.flush();
+        }
     }
 
     @Override
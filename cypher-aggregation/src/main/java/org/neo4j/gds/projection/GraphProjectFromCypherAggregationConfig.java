@@ -25,13 +25,16 @@ import org.neo4j.gds.annotation.Configuration;
 import org.neo4j.gds.config.GraphProjectConfig;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.CypherMapWrapper;
+import org.neo4j.gds.core.PropertyCompression;
 import org.neo4j.values.virtual.MapValue;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.neo4j.gds.Orientation.NATURAL;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
 
 @Configuration
 public interface GraphProjectFromCypherAggregationConfig extends GraphProjectConfig {
@@ -61,6 +64,20 @@ public interface GraphProjectFromCypherAggregationConfig extends GraphProjectCon
         return List.of();
     }
 
+    /**
+     * Imports the aggregated rows on {@link #readConcurrency()} threads of the GDS pool
+     * instead of on the threads of the Cypher runtime.
+     */
+    default boolean parallelImport() {
+        return false;
+    }
+
+    @Configuration.ConvertWith(method = "org.neo4j.gds.projection.GraphProjectFromCypherAggregationConfig#parsePropertyCompression")
+    @Configuration.ToMapValue("org.neo4j.gds.projection.GraphProjectFromCypherAggregationConfig#propertyCompressionToMap")
+    default Map<String, PropertyCompression> relationshipPropertyCompression() {
+        return Map.of();
+    }
+
     @Configuration.Parameter()
     String query();
 
@@ -74,6 +91,27 @@ public interface GraphProjectFromCypherAggregationConfig extends GraphProjectCon
         );
     }
 
+    static Map<String, PropertyCompression> parsePropertyCompression(Object input) {
+        if (!(input instanceof Map)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected relationshipPropertyCompression to be a map from property key to compression, but got %s.",
+                input.getClass().getSimpleName()
+            ));
+        }
+        var compressions = new LinkedHashMap<String, PropertyCompression>();
+        ((Map<?, ?>) input).forEach((key, value) -> compressions.put(
+            String.valueOf(key),
+            PropertyCompression.parse(value)
+        ));
+        return compressions;
+    }
+
+    static Map<String, Object> propertyCompressionToMap(Map<String, PropertyCompression> compressions) {
+        var result = new LinkedHashMap<String, Object>();
+        compressions.forEach((key, compression) -> result.put(key, compression.name()));
+        return result;
+    }
+
     static GraphProjectFromCypherAggregationConfig of(
         String userName,
         String graphName,
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.annotation.ValueClass;
 import org.neo4j.gds.api.DefaultValue;
 import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.PropertyCompression;
 
 import java.util.AbstractMap;
 import java.util.Collections;
@@ -38,6 +39,7 @@ public abstract class PropertyMapping {
 
     public static final String PROPERTY_KEY = "property";
     public static final String DEFAULT_VALUE_KEY = "defaultValue";
+    public static final String COMPRESSION_KEY = "compression";
 
     /**
      * property key in the result map Graph.nodeProperties(`propertyKey`)
@@ -62,6 +64,15 @@ public abstract class PropertyMapping {
         return Aggregation.DEFAULT;
     }
 
+    /**
+     * storage encoding of the imported values, only applies to relationship properties
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    public PropertyCompression compression() {
+        return PropertyCompression.NONE;
+    }
+
     @Value.Check
     public void validateProperties() {
         if (neoPropertyKey().equals(ElementProjection.PROJECT_ALL) && aggregation() != Aggregation.COUNT) {
@@ -112,14 +123,21 @@ public abstract class PropertyMapping {
                 ));
             }
 
+            Object compressionValue = propertyMap.get(COMPRESSION_KEY);
+            PropertyCompression compression = compressionValue == null
+                ? PropertyCompression.NONE
+                : PropertyCompression.parse(compressionValue);
+
             Object defaultValue = propertyMap.get(DEFAULT_VALUE_KEY);
             boolean isUserDefined = propertyMap.containsKey(DEFAULT_VALUE_KEY);
-            return PropertyMapping.of(
-                propertyKey,
-                neoPropertyKey,
-                DefaultValue.of(defaultValue, isUserDefined),
-                aggregation
-            );
+            return ImmutablePropertyMapping
+                .builder()
+                .propertyKey(propertyKey)
+                .neoPropertyKey(neoPropertyKey)
+                .defaultValue(DefaultValue.of(defaultValue, isUserDefined))
+                .aggregation(aggregation)
+                .compression(compression)
+                .build();
         } else {
             throw new IllegalStateException(formatWithLocale(
                 "Expected stringOrMap to be of type String or Map, but got %s",
@@ -144,6 +162,9 @@ public abstract class PropertyMapping {
         if (includeAggregation) {
             value.put(RelationshipProjection.AGGREGATION_KEY, aggregation().name());
         }
+        if (compression() != PropertyCompression.NONE) {
+            value.put(COMPRESSION_KEY, compression().name());
+        }
         return new AbstractMap.SimpleImmutableEntry<>(propertyKey(), value);
     }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.gds.utils.StringFormatting.toUpperCaseWithLocale;
+
+/**
+ * Storage encoding of a relationship property after import.
+ * All encodings apart from {@link #FLOAT} are lossless.
+ * {@link #FLOAT} must be requested explicitly, as it rounds values to single precision.
+ */
+public enum PropertyCompression {
+    // store every value as a 64-bit double
+    NONE,
+    // pick the smallest lossless encoding, falls back to NONE if no encoding saves memory
+    AUTO,
+    // store a bit-packed index into a table of the distinct values
+    DICTIONARY,
+    // store integral values as bit-packed offsets to the smallest value
+    INTEGRAL,
+    // store values as 32-bit floats, rounding values that have no exact single precision representation
+    FLOAT;
+
+    private static final List<String> VALUES = Arrays
+        .stream(PropertyCompression.values())
+        .map(PropertyCompression::name)
+        .collect(Collectors.toList());
+
+    public static PropertyCompression parse(Object input) {
+        if (input instanceof String) {
+            var inputString = toUpperCaseWithLocale((String) input);
+
+            if (VALUES.contains(inputString)) {
+                return PropertyCompression.valueOf(inputString);
+            }
+
+            throw new IllegalArgumentException(formatWithLocale(
+                "Property compression `%s` is not supported. Must be one of: %s.",
+                inputString,
+                VALUES
+            ));
+        } else if (input instanceof PropertyCompression) {
+            return (PropertyCompression) input;
+        }
+
+        throw new IllegalArgumentException(formatWithLocale(
+            "Expected PropertyCompression or String. Got %s.",
+            input.getClass().getSimpleName()
+        ));
+    }
+}
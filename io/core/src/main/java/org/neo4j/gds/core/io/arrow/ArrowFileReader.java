@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Reads an Arrow IPC file. The footer is read when the file is opened, record batches are mapped
+ * from the file when they are requested and can be read concurrently.
+ */
+final class ArrowFileReader implements AutoCloseable {
+
+    /**
+     * The rows of one record batch, the columns are in the order of the fields of the schema.
+     */
+    record RecordBatch(int rowCount, List<ArrowVector> columns) {
+        ArrowVector column(int index) {
+            return columns.get(index);
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ArrowFormat.Schema schema;
+    private final long[] blockOffsets;
+    private final int[] metadataLengths;
+    private final long[] bodyLengths;
+
+    static ArrowFileReader open(Path file) {
+        try {
+            return new ArrowFileReader(file, FileChannel.open(file, StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ArrowFileReader(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        try {
+            long size = channel.size();
+            int trailerSize = Integer.BYTES + ArrowFormat.MAGIC.length;
+            if (size < ArrowFormat.ALIGNMENT + trailerSize
+                || !Arrays.equals(read(0, ArrowFormat.MAGIC.length).array(), ArrowFormat.MAGIC)) {
+                throw notAnArrowFile();
+            }
+            var trailer = read(size - trailerSize, trailerSize);
+            var trailerMagic = Arrays.copyOfRange(trailer.array(), Integer.BYTES, trailerSize);
+            int footerLength = trailer.getInt(0);
+            boolean validFooterLength = footerLength > 0 && footerLength <= size - trailerSize;
+            if (!Arrays.equals(trailerMagic, ArrowFormat.MAGIC) || !validFooterLength) {
+                throw notAnArrowFile();
+            }
+
+            var footer = FlatBufferTable.root(read(size - trailerSize - footerLength, footerLength));
+            this.schema = ArrowFormat.readSchema(footer.table(ArrowFormat.FOOTER_SCHEMA));
+            int blockCount = footer.vectorLength(ArrowFormat.FOOTER_RECORD_BATCHES);
+            this.blockOffsets = new long[blockCount];
+            this.metadataLengths = new int[blockCount];
+            this.bodyLengths = new long[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockOffsets[i] = footer.structLong(ArrowFormat.FOOTER_RECORD_BATCHES, i, ArrowFormat.BLOCK_SIZE, 0);
+                metadataLengths[i] = footer.structInt(ArrowFormat.FOOTER_RECORD_BATCHES, i, ArrowFormat.BLOCK_SIZE, 8);
+                bodyLengths[i] = footer.structLong(ArrowFormat.FOOTER_RECORD_BATCHES, i, ArrowFormat.BLOCK_SIZE, 16);
+            }
+        } catch (RuntimeException | IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    ArrowFormat.Schema schema() {
+        return schema;
+    }
+
+    int recordBatchCount() {
+        return blockOffsets.length;
+    }
+
+    RecordBatch recordBatch(int index) {
+        long blockLength = metadataLengths[index] + bodyLengths[index];
+        if (blockLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Record batch %d of `%s` is larger than 2GB, write the file with smaller record batches.",
+                index,
+                file
+            ));
+        }
+        ByteBuffer block;
+        try {
+            block = channel
+                .map(FileChannel.MapMode.READ_ONLY, blockOffsets[index], blockLength)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // older writers omit the continuation marker in front of the metadata length
+        int prefix = block.getInt(0);
+        int metadataStart = prefix == ArrowFormat.CONTINUATION ? 8 : 4;
+        int metadataSize = prefix == ArrowFormat.CONTINUATION ? block.getInt(4) : prefix;
+        var message = FlatBufferTable.root(block.slice(metadataStart, metadataSize));
+        if (message.getByte(ArrowFormat.MESSAGE_HEADER_TYPE, (byte) 0) != ArrowFormat.HEADER_RECORD_BATCH) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Block %d of `%s` is not a record batch.",
+                index,
+                file
+            ));
+        }
+        var recordBatch = message.table(ArrowFormat.MESSAGE_HEADER);
+        if (recordBatch.has(ArrowFormat.RECORD_BATCH_COMPRESSION)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`%s` uses compressed record batches, which are not supported.",
+                file
+            ));
+        }
+        long rowCount = recordBatch.getLong(ArrowFormat.RECORD_BATCH_LENGTH, 0);
+        if (rowCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Record batch %d of `%s` has more than %d rows.",
+                index,
+                file,
+                Integer.MAX_VALUE
+            ));
+        }
+
+        var body = block.slice(metadataLengths[index], (int) bodyLengths[index]).order(ByteOrder.LITTLE_ENDIAN);
+        var cursor = new int[2];
+        var columns = new ArrayList<ArrowVector>(schema.fields().size());
+        for (var field : schema.fields()) {
+            columns.add(readVector(field, recordBatch, body, cursor));
+        }
+        return new RecordBatch((int) rowCount, columns);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the field node and buffers of a column, {@code cursor} holds the index of the next field node and buffer.
+     */
+    private ArrowVector readVector(
+        ArrowFormat.Field field,
+        FlatBufferTable recordBatch,
+        ByteBuffer body,
+        int[] cursor
+    ) {
+        int node = cursor[0]++;
+        int length = (int) structMember(recordBatch, ArrowFormat.RECORD_BATCH_NODES, node, 0);
+        long nullCount = structMember(recordBatch, ArrowFormat.RECORD_BATCH_NODES, node, 8);
+        var validity = buffer(recordBatch, body, cursor[1]++);
+        switch (field.type().id()) {
+            case INT:
+            case FLOATING_POINT:
+                var values = buffer(recordBatch, body, cursor[1]++);
+                return new ArrowVector(field, length, nullCount, validity, null, values, null);
+            case UTF8:
+                var offsets = buffer(recordBatch, body, cursor[1]++);
+                var bytes = buffer(recordBatch, body, cursor[1]++);
+                return new ArrowVector(field, length, nullCount, validity, offsets, bytes, null);
+            case LIST:
+                var listOffsets = buffer(recordBatch, body, cursor[1]++);
+                var child = readVector(field.children().get(0), recordBatch, body, cursor);
+                return new ArrowVector(field, length, nullCount, validity, listOffsets, null, child);
+            default:
+                throw new IllegalStateException(formatWithLocale("Unexpected type %s.", field.type().id()));
+        }
+    }
+
+    private ByteBuffer buffer(FlatBufferTable recordBatch, ByteBuffer body, int index) {
+        long offset = structMember(recordBatch, ArrowFormat.RECORD_BATCH_BUFFERS, index, 0);
+        long length = structMember(recordBatch, ArrowFormat.RECORD_BATCH_BUFFERS, index, 8);
+        if (offset < 0 || length < 0 || offset + length > body.limit()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Corrupted record batch in `%s`, a buffer points outside of the batch.",
+                file
+            ));
+        }
+        return body.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long structMember(FlatBufferTable recordBatch, int field, int index, int memberOffset) {
+        return recordBatch.structLong(field, index, ArrowFormat.STRUCT_OF_TWO_LONGS_SIZE, memberOffset);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw notAnArrowFile();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private IllegalArgumentException notAnArrowFile() {
+        return new IllegalArgumentException(formatWithLocale("`%s` is not an Arrow IPC file.", file));
+    }
+}
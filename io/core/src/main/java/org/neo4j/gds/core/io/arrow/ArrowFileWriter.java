@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an Arrow IPC file. Record batches can be written concurrently, each batch is encoded by
+ * the calling thread and appended to the file under a lock. The footer is written on {@link #close()}.
+ */
+final class ArrowFileWriter implements AutoCloseable {
+
+    private record Block(long offset, int metadataLength, long bodyLength) {}
+
+    private static final ByteBuffer PADDING = ByteBuffer.allocate(ArrowFormat.ALIGNMENT);
+
+    private final FileChannel channel;
+    private final ArrowFormat.Schema schema;
+    private final List<Block> blocks;
+
+    static ArrowFileWriter create(Path file, ArrowFormat.Schema schema) {
+        try {
+            var channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            );
+            var writer = new ArrowFileWriter(channel, schema);
+            writer.writeHeader();
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ArrowFileWriter(FileChannel channel, ArrowFormat.Schema schema) {
+        this.channel = channel;
+        this.schema = schema;
+        this.blocks = new ArrayList<>();
+    }
+
+    void write(RecordBatchBuilder batch) {
+        if (batch.rowCount() == 0) {
+            return;
+        }
+        var encoded = batch.encode();
+        var buffers = new ArrayList<ByteBuffer>();
+        long bodyPosition = 0;
+        for (int i = 0; i < encoded.buffers().size(); i++) {
+            long offset = encoded.bufferOffsets().get(i);
+            if (offset > bodyPosition) {
+                buffers.add(padding(offset - bodyPosition));
+            }
+            var buffer = encoded.buffers().get(i);
+            buffers.add(buffer);
+            bodyPosition = offset + buffer.remaining();
+        }
+        if (encoded.bodyLength() > bodyPosition) {
+            buffers.add(padding(encoded.bodyLength() - bodyPosition));
+        }
+
+        synchronized (this) {
+            try {
+                long offset = channel.position();
+                int metadataLength = writeMessageMetadata(encoded.metadata());
+                writeFully(buffers.toArray(ByteBuffer[]::new));
+                blocks.add(new Block(offset, metadataLength, encoded.bodyLength()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try (channel) {
+            // end of stream marker, followed by the footer
+            writeFully(littleEndian(8).putInt(ArrowFormat.CONTINUATION).putInt(0).flip());
+            var footer = footer();
+            writeFully(ByteBuffer.wrap(footer));
+            writeFully(littleEndian(4).putInt(footer.length).flip(), ByteBuffer.wrap(ArrowFormat.MAGIC));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        writeFully(ByteBuffer.wrap(ArrowFormat.MAGIC), padding(ArrowFormat.ALIGNMENT - ArrowFormat.MAGIC.length));
+
+        var writer = new FlatBufferWriter();
+        int schemaTable = ArrowFormat.writeSchema(writer, schema);
+        writer.startTable(5);
+        writer.addOffset(ArrowFormat.MESSAGE_HEADER, schemaTable);
+        writer.addShort(ArrowFormat.MESSAGE_VERSION, ArrowFormat.METADATA_V5, (short) 0);
+        writer.addByte(ArrowFormat.MESSAGE_HEADER_TYPE, ArrowFormat.HEADER_SCHEMA, (byte) 0);
+        writeMessageMetadata(writer.finish(writer.endTable()));
+    }
+
+    private byte[] footer() {
+        var writer = new FlatBufferWriter();
+        int schemaTable = ArrowFormat.writeSchema(writer, schema);
+
+        writer.startVector(ArrowFormat.BLOCK_SIZE, blocks.size(), 8);
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            var block = blocks.get(i);
+            writer.startStruct(8, ArrowFormat.BLOCK_SIZE);
+            writer.putLong(block.bodyLength());
+            writer.pad(4);
+            writer.putInt(block.metadataLength());
+            writer.putLong(block.offset());
+        }
+        int recordBatches = writer.endVector();
+
+        writer.startTable(4);
+        writer.addOffset(ArrowFormat.FOOTER_SCHEMA, schemaTable);
+        writer.addOffset(ArrowFormat.FOOTER_RECORD_BATCHES, recordBatches);
+        writer.addShort(ArrowFormat.FOOTER_VERSION, ArrowFormat.METADATA_V5, (short) 0);
+        return writer.finish(writer.endTable());
+    }
+
+    /**
+     * Writes the encapsulated metadata of a message and returns its length including the prefix and the padding.
+     */
+    private int writeMessageMetadata(byte[] metadata) throws IOException {
+        int paddedLength = (int) ArrowFormat.align(8 + metadata.length) - 8;
+        writeFully(
+            littleEndian(8).putInt(ArrowFormat.CONTINUATION).putInt(paddedLength).flip(),
+            ByteBuffer.wrap(metadata),
+            padding(paddedLength - metadata.length)
+        );
+        return 8 + paddedLength;
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (var buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private static ByteBuffer littleEndian(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer padding(long length) {
+        return PADDING.duplicate().limit((int) length);
+    }
+}
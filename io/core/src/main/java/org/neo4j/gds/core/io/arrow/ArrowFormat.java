@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Constants and schema model of the Arrow IPC file format, as far as it is supported by
+ * {@link ArrowFileReader} and {@link ArrowFileWriter}.
+ * <p>
+ * Supported are signed and unsigned integers, floating point numbers, strings and lists of those,
+ * stored in little endian byte order without compression or dictionary encoding.
+ * Field indices follow the FlatBuffers definitions in {@code Schema.fbs}, {@code Message.fbs} and {@code File.fbs}.
+ */
+final class ArrowFormat {
+
+    static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    static final int CONTINUATION = 0xFFFFFFFF;
+    static final int ALIGNMENT = 8;
+
+    static final short METADATA_V5 = 4;
+
+    // Message
+    static final int MESSAGE_VERSION = 0;
+    static final int MESSAGE_HEADER_TYPE = 1;
+    static final int MESSAGE_HEADER = 2;
+    static final int MESSAGE_BODY_LENGTH = 3;
+
+    static final byte HEADER_SCHEMA = 1;
+    static final byte HEADER_RECORD_BATCH = 3;
+
+    // Schema
+    static final int SCHEMA_ENDIANNESS = 0;
+    static final int SCHEMA_FIELDS = 1;
+    static final int SCHEMA_CUSTOM_METADATA = 2;
+
+    // Field
+    static final int FIELD_NAME = 0;
+    static final int FIELD_NULLABLE = 1;
+    static final int FIELD_TYPE_TYPE = 2;
+    static final int FIELD_TYPE = 3;
+    static final int FIELD_DICTIONARY = 4;
+    static final int FIELD_CHILDREN = 5;
+
+    // KeyValue
+    static final int KEY_VALUE_KEY = 0;
+    static final int KEY_VALUE_VALUE = 1;
+
+    // Int and FloatingPoint
+    static final int INT_BIT_WIDTH = 0;
+    static final int INT_IS_SIGNED = 1;
+    static final int FLOATING_POINT_PRECISION = 0;
+    static final short PRECISION_SINGLE = 1;
+    static final short PRECISION_DOUBLE = 2;
+
+    // RecordBatch, FieldNode and Buffer are structs of two longs
+    static final int RECORD_BATCH_LENGTH = 0;
+    static final int RECORD_BATCH_NODES = 1;
+    static final int RECORD_BATCH_BUFFERS = 2;
+    static final int RECORD_BATCH_COMPRESSION = 3;
+    static final int STRUCT_OF_TWO_LONGS_SIZE = 16;
+
+    // Footer, Block is a struct of offset (long), metadata length (int, padded) and body length (long)
+    static final int FOOTER_VERSION = 0;
+    static final int FOOTER_SCHEMA = 1;
+    static final int FOOTER_RECORD_BATCHES = 3;
+    static final int BLOCK_SIZE = 24;
+
+    enum TypeId {
+        INT((byte) 2),
+        FLOATING_POINT((byte) 3),
+        UTF8((byte) 5),
+        LIST((byte) 12);
+
+        final byte value;
+
+        TypeId(byte value) {
+            this.value = value;
+        }
+
+        static TypeId of(byte value, String fieldName) {
+            for (var typeId : values()) {
+                if (typeId.value == value) {
+                    return typeId;
+                }
+            }
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` has an unsupported type with id %d, " +
+                "supported are integers, floating point numbers, strings and lists.",
+                fieldName,
+                value
+            ));
+        }
+    }
+
+    /**
+     * The type of a column, the bit width is only relevant for numbers.
+     */
+    record Type(TypeId id, int bitWidth, boolean signed) {
+        static final Type INT64 = new Type(TypeId.INT, 64, true);
+        static final Type FLOAT64 = new Type(TypeId.FLOATING_POINT, 64, true);
+        static final Type UTF8 = new Type(TypeId.UTF8, 0, false);
+        static final Type LIST = new Type(TypeId.LIST, 0, false);
+
+        boolean isNumeric() {
+            return id == TypeId.INT || id == TypeId.FLOATING_POINT;
+        }
+    }
+
+    record Field(String name, Type type, boolean nullable, List<Field> children) {
+        static Field of(String name, Type type) {
+            return new Field(name, type, true, List.of());
+        }
+
+        static Field listOf(String name, Field element) {
+            return new Field(name, Type.LIST, true, List.of(element));
+        }
+    }
+
+    record Schema(List<Field> fields, Map<String, String> metadata) {
+        int indexOf(String name) {
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i).name().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    static Schema readSchema(FlatBufferTable schema) {
+        if (schema.getShort(SCHEMA_ENDIANNESS, (short) 0) != 0) {
+            throw new IllegalArgumentException("Only files in little endian byte order are supported.");
+        }
+        int fieldCount = schema.vectorLength(SCHEMA_FIELDS);
+        var fields = new ArrayList<Field>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(readField(schema.tableElement(SCHEMA_FIELDS, i)));
+        }
+        var metadata = new LinkedHashMap<String, String>();
+        for (int i = 0; i < schema.vectorLength(SCHEMA_CUSTOM_METADATA); i++) {
+            var keyValue = schema.tableElement(SCHEMA_CUSTOM_METADATA, i);
+            metadata.put(keyValue.string(KEY_VALUE_KEY), keyValue.string(KEY_VALUE_VALUE));
+        }
+        return new Schema(fields, metadata);
+    }
+
+    static int writeSchema(FlatBufferWriter writer, Schema schema) {
+        var fieldOffsets = new int[schema.fields().size()];
+        for (int i = 0; i < fieldOffsets.length; i++) {
+            fieldOffsets[i] = writeField(writer, schema.fields().get(i));
+        }
+        int fields = writer.createOffsetVector(fieldOffsets);
+
+        var keyValueOffsets = new int[schema.metadata().size()];
+        int index = 0;
+        for (var entry : schema.metadata().entrySet()) {
+            int key = writer.createString(entry.getKey());
+            int value = writer.createString(entry.getValue());
+            writer.startTable(2);
+            writer.addOffset(KEY_VALUE_KEY, key);
+            writer.addOffset(KEY_VALUE_VALUE, value);
+            keyValueOffsets[index++] = writer.endTable();
+        }
+        int metadata = writer.createOffsetVector(keyValueOffsets);
+
+        writer.startTable(3);
+        writer.addOffset(SCHEMA_FIELDS, fields);
+        writer.addOffset(SCHEMA_CUSTOM_METADATA, metadata);
+        return writer.endTable();
+    }
+
+    private static Field readField(FlatBufferTable field) {
+        var name = field.string(FIELD_NAME);
+        if (name == null) {
+            name = "";
+        }
+        if (field.has(FIELD_DICTIONARY)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` is dictionary encoded, which is not supported.",
+                name
+            ));
+        }
+        var typeId = TypeId.of(field.getByte(FIELD_TYPE_TYPE, (byte) 0), name);
+        Type type;
+        switch (typeId) {
+            case INT:
+                var intType = field.table(FIELD_TYPE);
+                type = new Type(TypeId.INT, intType.getInt(INT_BIT_WIDTH, 0), intType.getBoolean(INT_IS_SIGNED, false));
+                break;
+            case FLOATING_POINT:
+                var precision = field.table(FIELD_TYPE).getShort(FLOATING_POINT_PRECISION, (short) 0);
+                if (precision != PRECISION_SINGLE && precision != PRECISION_DOUBLE) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Column `%s` uses half precision floating point numbers, which are not supported.",
+                        name
+                    ));
+                }
+                type = new Type(TypeId.FLOATING_POINT, precision == PRECISION_SINGLE ? 32 : 64, true);
+                break;
+            case UTF8:
+                type = Type.UTF8;
+                break;
+            case LIST:
+                type = Type.LIST;
+                break;
+            default:
+                throw new IllegalStateException(formatWithLocale("Unexpected type %s.", typeId));
+        }
+        var children = new ArrayList<Field>();
+        for (int i = 0; i < field.vectorLength(FIELD_CHILDREN); i++) {
+            children.add(readField(field.tableElement(FIELD_CHILDREN, i)));
+        }
+        if (type.id() == TypeId.LIST && children.size() != 1) {
+            throw new IllegalArgumentException(formatWithLocale("List column `%s` must have one child.", name));
+        }
+        return new Field(name, type, field.getBoolean(FIELD_NULLABLE, false), children);
+    }
+
+    private static int writeField(FlatBufferWriter writer, Field field) {
+        int name = writer.createString(field.name());
+
+        int type;
+        switch (field.type().id()) {
+            case INT:
+                writer.startTable(2);
+                writer.addInt(INT_BIT_WIDTH, field.type().bitWidth(), 0);
+                writer.addBoolean(INT_IS_SIGNED, field.type().signed(), false);
+                type = writer.endTable();
+                break;
+            case FLOATING_POINT:
+                writer.startTable(1);
+                writer.addShort(
+                    FLOATING_POINT_PRECISION,
+                    field.type().bitWidth() == 32 ? PRECISION_SINGLE : PRECISION_DOUBLE,
+                    (short) 0
+                );
+                type = writer.endTable();
+                break;
+            default:
+                writer.startTable(0);
+                type = writer.endTable();
+        }
+
+        var childOffsets = new int[field.children().size()];
+        for (int i = 0; i < childOffsets.length; i++) {
+            childOffsets[i] = writeField(writer, field.children().get(i));
+        }
+        int children = writer.createOffsetVector(childOffsets);
+
+        writer.startTable(6);
+        writer.addOffset(FIELD_NAME, name);
+        writer.addBoolean(FIELD_NULLABLE, field.nullable(), false);
+        writer.addByte(FIELD_TYPE_TYPE, field.type().id().value, (byte) 0);
+        writer.addOffset(FIELD_TYPE, type);
+        writer.addOffset(FIELD_CHILDREN, children);
+        return writer.endTable();
+    }
+
+    static long align(long position) {
+        return (position + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private ArrowFormat() {}
+}
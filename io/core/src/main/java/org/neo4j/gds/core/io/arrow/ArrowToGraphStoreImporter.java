@@ -0,0 +1,679 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.DefaultValue;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.ImmutableNodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValuesAdapter;
+import org.neo4j.gds.api.schema.MutableGraphSchema;
+import org.neo4j.gds.api.schema.MutableNodeSchema;
+import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.collections.ha.HugeDoubleArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.loading.Capabilities;
+import org.neo4j.gds.core.loading.GraphStoreBuilder;
+import org.neo4j.gds.core.loading.ImmutableNodes;
+import org.neo4j.gds.core.loading.ImmutableStaticCapabilities;
+import org.neo4j.gds.core.loading.Nodes;
+import org.neo4j.gds.core.loading.RelationshipImportResult;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+import org.neo4j.gds.core.loading.construction.GraphFactory;
+import org.neo4j.gds.core.loading.construction.NodeLabelToken;
+import org.neo4j.gds.core.loading.construction.NodeLabelTokens;
+import org.neo4j.gds.core.loading.construction.NodesBuilder;
+import org.neo4j.gds.core.loading.construction.RelationshipsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Imports a {@link GraphStore} from Arrow IPC files, as written by {@link GraphStoreToArrowExporter}
+ * or by any other Arrow writer.
+ * <p>
+ * The directory contains node files named {@code nodes*.arrow} with an integer {@value #NODE_ID} column,
+ * an optional {@value #LABELS} column of strings or lists of strings and numeric property columns.
+ * Relationship files are named {@code relationships*.arrow} and have integer {@value #SOURCE_NODE_ID}
+ * and {@value #TARGET_NODE_ID} columns, an optional {@value #RELATIONSHIP_TYPE} string column and numeric
+ * property columns, which are imported as doubles.
+ * <p>
+ * Node properties belong to the labels listed for them in the metadata of the node file,
+ * as written by the exporter, and otherwise to all labels of the nodes in the same file.
+ * <p>
+ * Every record batch is imported by its own task. Values are read straight from the mapped files and
+ * handed to the {@link NodesBuilder} and {@link RelationshipsBuilder}s as primitives. Node properties are
+ * written in a second pass over the node files, once the node ids have been mapped.
+ */
+public final class ArrowToGraphStoreImporter {
+
+    public static final String FILE_EXTENSION = ".arrow";
+    public static final String NODE_FILE_PREFIX = "nodes";
+    public static final String RELATIONSHIP_FILE_PREFIX = "relationships";
+
+    public static final String NODE_ID = "nodeId";
+    public static final String LABELS = "labels";
+    public static final String SOURCE_NODE_ID = "sourceNodeId";
+    public static final String TARGET_NODE_ID = "targetNodeId";
+    public static final String RELATIONSHIP_TYPE = "type";
+
+    private static final String DIRECTION_KEY_PREFIX = "gds.relationshipType.";
+    private static final String DIRECTION_KEY_SUFFIX = ".direction";
+    static final String UNDIRECTED = "UNDIRECTED";
+
+    private static final String PROPERTIES_KEY_PREFIX = "gds.nodeLabel.";
+    private static final String PROPERTIES_KEY_SUFFIX = ".properties";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static String directionKey(RelationshipType relationshipType) {
+        return DIRECTION_KEY_PREFIX + relationshipType.name + DIRECTION_KEY_SUFFIX;
+    }
+
+    static String propertiesKey(NodeLabel nodeLabel) {
+        return PROPERTIES_KEY_PREFIX + nodeLabel.name + PROPERTIES_KEY_SUFFIX;
+    }
+
+    /**
+     * The value of the {@link #propertiesKey} metadata entry for the given property keys, a JSON array of strings.
+     */
+    static String propertiesValue(Collection<String> propertyKeys) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(propertyKeys);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final Path directory;
+    private final DatabaseInfo databaseInfo;
+    private final Set<RelationshipType> undirectedRelationshipTypes;
+    private final Concurrency concurrency;
+
+    /**
+     * @param undirectedRelationshipTypes types that are imported as undirected in addition to those that are
+     *                                    marked as undirected in the metadata of the relationship files
+     */
+    public static GraphStore read(
+        Path directory,
+        DatabaseInfo databaseInfo,
+        Collection<RelationshipType> undirectedRelationshipTypes,
+        Concurrency concurrency
+    ) {
+        return new ArrowToGraphStoreImporter(directory, databaseInfo, undirectedRelationshipTypes, concurrency).run();
+    }
+
+    private ArrowToGraphStoreImporter(
+        Path directory,
+        DatabaseInfo databaseInfo,
+        Collection<RelationshipType> undirectedRelationshipTypes,
+        Concurrency concurrency
+    ) {
+        this.directory = directory;
+        this.databaseInfo = databaseInfo;
+        this.undirectedRelationshipTypes = new HashSet<>(undirectedRelationshipTypes);
+        this.concurrency = concurrency;
+    }
+
+    private GraphStore run() {
+        var nodeFiles = files(NODE_FILE_PREFIX);
+        if (nodeFiles.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`%s` does not contain any node files named `%s*%s`.",
+                directory,
+                NODE_FILE_PREFIX,
+                FILE_EXTENSION
+            ));
+        }
+        var relationshipFiles = files(RELATIONSHIP_FILE_PREFIX);
+
+        var readers = new ArrayList<ArrowFileReader>();
+        try {
+            var nodeReaders = open(nodeFiles, readers);
+            var relationshipReaders = open(relationshipFiles, readers);
+
+            var nodes = importNodes(nodeReaders);
+            var relationshipImportResult = importRelationships(relationshipReaders, nodes.idMap());
+
+            return new GraphStoreBuilder()
+                .databaseInfo(databaseInfo)
+                .capabilities(ImmutableStaticCapabilities.of(Capabilities.WriteMode.NONE))
+                .schema(MutableGraphSchema.of(nodes.schema(), relationshipImportResult.relationshipSchema(), Map.of()))
+                .nodes(nodes)
+                .relationshipImportResult(relationshipImportResult)
+                .concurrency(concurrency)
+                .build();
+        } finally {
+            readers.forEach(ArrowFileReader::close);
+        }
+    }
+
+    private Nodes importNodes(List<ArrowFileReader> readers) {
+        var propertyTypes = new LinkedHashMap<String, ValueType>();
+        boolean hasLabels = false;
+        for (var reader : readers) {
+            var schema = reader.schema();
+            integerColumn(reader, NODE_ID);
+            hasLabels |= labelsColumn(reader) >= 0;
+            for (var field : schema.fields()) {
+                if (field.name().equals(NODE_ID) || field.name().equals(LABELS)) {
+                    continue;
+                }
+                var valueType = propertyType(reader, field);
+                propertyTypes.merge(field.name(), valueType, (a, b) -> a == b ? a : ValueType.DOUBLE);
+            }
+        }
+
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .concurrency(concurrency)
+            .hasLabelInformation(hasLabels)
+            .build();
+
+        var tasks = new ArrayList<Runnable>();
+        // the labels of the nodes of every file
+        var fileLabels = new ArrayList<Set<NodeLabel>>(readers.size());
+        for (var reader : readers) {
+            int idColumn = integerColumn(reader, NODE_ID);
+            int labelsColumn = labelsColumn(reader);
+            Set<NodeLabel> labels = ConcurrentHashMap.newKeySet();
+            fileLabels.add(labels);
+            for (int i = 0; i < reader.recordBatchCount(); i++) {
+                int batchIndex = i;
+                tasks.add(() -> importNodeBatch(
+                    reader,
+                    reader.recordBatch(batchIndex),
+                    idColumn,
+                    labelsColumn,
+                    nodesBuilder,
+                    labels
+                ));
+            }
+        }
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        var nodes = nodesBuilder.build();
+        if (propertyTypes.isEmpty()) {
+            return nodes;
+        }
+
+        var idMap = nodes.idMap();
+        var propertyKeys = new ArrayList<>(propertyTypes.keySet());
+        var longValues = new HugeLongArray[propertyKeys.size()];
+        var doubleValues = new HugeDoubleArray[propertyKeys.size()];
+        for (int i = 0; i < propertyKeys.size(); i++) {
+            if (propertyTypes.get(propertyKeys.get(i)) == ValueType.LONG) {
+                longValues[i] = HugeLongArray.newArray(idMap.nodeCount());
+                longValues[i].fill(DefaultValue.forLong().longValue());
+            } else {
+                doubleValues[i] = HugeDoubleArray.newArray(idMap.nodeCount());
+                doubleValues[i].fill(DefaultValue.forDouble().doubleValue());
+            }
+        }
+
+        tasks.clear();
+        for (var reader : readers) {
+            int idColumn = integerColumn(reader, NODE_ID);
+            var propertyColumns = propertyKeys.stream().mapToInt(key -> reader.schema().indexOf(key)).toArray();
+            for (int i = 0; i < reader.recordBatchCount(); i++) {
+                int batchIndex = i;
+                tasks.add(() -> importNodePropertyBatch(
+                    reader,
+                    reader.recordBatch(batchIndex),
+                    idColumn,
+                    propertyColumns,
+                    idMap,
+                    longValues,
+                    doubleValues
+                ));
+            }
+        }
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        var propertySchemas = new HashMap<String, PropertySchema>();
+        var nodePropertyStore = NodePropertyStore.builder();
+        for (int i = 0; i < propertyKeys.size(); i++) {
+            var propertyKey = propertyKeys.get(i);
+            var propertySchema = PropertySchema.of(propertyKey, propertyTypes.get(propertyKey));
+            var values = longValues[i] != null
+                ? NodePropertyValuesAdapter.adapt(longValues[i])
+                : NodePropertyValuesAdapter.adapt(doubleValues[i]);
+            propertySchemas.put(propertyKey, propertySchema);
+            nodePropertyStore.putProperty(propertyKey, ImmutableNodeProperty.of(values, propertySchema));
+        }
+
+        var nodeSchema = MutableNodeSchema.from(nodes.schema());
+        var availableLabels = nodeSchema.availableLabels();
+        for (int i = 0; i < readers.size(); i++) {
+            labelProperties(readers.get(i), fileLabels.get(i)).forEach((label, keys) -> {
+                if (availableLabels.contains(label)) {
+                    keys.forEach(key -> nodeSchema.addProperty(label, key, propertySchemas.get(key)));
+                }
+            });
+        }
+        return ImmutableNodes.of(nodeSchema, idMap, nodePropertyStore.build());
+    }
+
+    /**
+     * The property keys of every label in the given node file, as listed in its metadata
+     * or otherwise all property columns of the file for every label of its nodes.
+     */
+    private static Map<NodeLabel, List<String>> labelProperties(ArrowFileReader reader, Set<NodeLabel> labels) {
+        var columns = reader.schema()
+            .fields()
+            .stream()
+            .map(ArrowFormat.Field::name)
+            .filter(name -> !name.equals(NODE_ID) && !name.equals(LABELS))
+            .collect(Collectors.toList());
+
+        var labelProperties = new HashMap<NodeLabel, List<String>>();
+        reader.schema().metadata().forEach((key, value) -> {
+            if (key.startsWith(PROPERTIES_KEY_PREFIX) && key.endsWith(PROPERTIES_KEY_SUFFIX)) {
+                var label = NodeLabel.of(key.substring(
+                    PROPERTIES_KEY_PREFIX.length(),
+                    key.length() - PROPERTIES_KEY_SUFFIX.length()
+                ));
+                var keys = propertyKeys(reader, key, value);
+                // properties without a column in this file are not imported
+                keys.retainAll(columns);
+                labelProperties.put(label, keys);
+            }
+        });
+        if (labelProperties.isEmpty()) {
+            labels.forEach(label -> labelProperties.put(label, columns));
+        }
+        return labelProperties;
+    }
+
+    private static List<String> propertyKeys(ArrowFileReader reader, String key, String value) {
+        try {
+            return new ArrayList<>(List.of(OBJECT_MAPPER.readValue(value, String[].class)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Metadata `%s` of `%s` must be a JSON array of property keys, but got `%s`.",
+                key,
+                reader.file(),
+                value
+            ), e);
+        }
+    }
+
+    private static void importNodeBatch(
+        ArrowFileReader reader,
+        ArrowFileReader.RecordBatch batch,
+        int idColumn,
+        int labelsColumn,
+        NodesBuilder nodesBuilder,
+        Set<NodeLabel> fileLabels
+    ) {
+        var ids = batch.column(idColumn);
+        if (labelsColumn < 0) {
+            for (int row = 0; row < batch.rowCount(); row++) {
+                nodesBuilder.addNode(nodeId(reader, ids, row));
+            }
+            if (batch.rowCount() > 0) {
+                fileLabels.add(NodeLabel.ALL_NODES);
+            }
+            return;
+        }
+
+        var labels = batch.column(labelsColumn);
+        var tokens = new HashMap<Utf8Key, NodeLabelToken>();
+        var key = new Utf8Key();
+        for (int row = 0; row < batch.rowCount(); row++) {
+            long nodeId = nodeId(reader, ids, row);
+            if (labels.isNull(row)) {
+                nodesBuilder.addNode(nodeId);
+                fileLabels.add(NodeLabel.ALL_NODES);
+                continue;
+            }
+            key.clear();
+            if (labels.field().type().id() == ArrowFormat.TypeId.LIST) {
+                var elements = labels.child();
+                for (int element = labels.start(row); element < labels.end(row); element++) {
+                    key.append(elements, element);
+                }
+            } else {
+                key.append(labels, row);
+            }
+            var token = tokens.get(key);
+            if (token == null) {
+                var labelNames = new String[key.count()];
+                for (int i = 0; i < labelNames.length; i++) {
+                    labelNames[i] = key.string(i);
+                }
+                token = NodeLabelTokens.ofStrings(labelNames);
+                tokens.put(key.copy(), token);
+                if (labelNames.length == 0) {
+                    fileLabels.add(NodeLabel.ALL_NODES);
+                }
+                for (var labelName : labelNames) {
+                    fileLabels.add(NodeLabel.of(labelName));
+                }
+            }
+            nodesBuilder.addNode(nodeId, token);
+        }
+    }
+
+    private static void importNodePropertyBatch(
+        ArrowFileReader reader,
+        ArrowFileReader.RecordBatch batch,
+        int idColumn,
+        int[] propertyColumns,
+        IdMap idMap,
+        HugeLongArray[] longValues,
+        HugeDoubleArray[] doubleValues
+    ) {
+        var ids = batch.column(idColumn);
+        var mappedIds = new long[batch.rowCount()];
+        for (int row = 0; row < mappedIds.length; row++) {
+            mappedIds[row] = idMap.toMappedNodeId(nodeId(reader, ids, row));
+        }
+
+        for (int i = 0; i < propertyColumns.length; i++) {
+            if (propertyColumns[i] < 0) {
+                continue;
+            }
+            var column = batch.column(propertyColumns[i]);
+            for (int row = 0; row < mappedIds.length; row++) {
+                if (column.isNull(row)) {
+                    continue;
+                }
+                if (longValues[i] != null) {
+                    longValues[i].set(mappedIds[row], column.longValue(row));
+                } else {
+                    doubleValues[i].set(mappedIds[row], column.doubleValue(row));
+                }
+            }
+        }
+    }
+
+    private RelationshipImportResult importRelationships(List<ArrowFileReader> readers, IdMap idMap) {
+        var propertyKeys = new ArrayList<String>();
+        for (var reader : readers) {
+            integerColumn(reader, SOURCE_NODE_ID);
+            integerColumn(reader, TARGET_NODE_ID);
+            relationshipTypeColumn(reader);
+            for (var field : reader.schema().fields()) {
+                var name = field.name();
+                if (name.equals(SOURCE_NODE_ID) || name.equals(TARGET_NODE_ID) || name.equals(RELATIONSHIP_TYPE)) {
+                    continue;
+                }
+                propertyType(reader, field);
+                if (!propertyKeys.contains(name)) {
+                    propertyKeys.add(name);
+                }
+            }
+            reader.schema().metadata().forEach((key, value) -> {
+                boolean isDirectionKey = key.startsWith(DIRECTION_KEY_PREFIX) && key.endsWith(DIRECTION_KEY_SUFFIX);
+                if (isDirectionKey && value.equals(UNDIRECTED)) {
+                    undirectedRelationshipTypes.add(RelationshipType.of(key.substring(
+                        DIRECTION_KEY_PREFIX.length(),
+                        key.length() - DIRECTION_KEY_SUFFIX.length()
+                    )));
+                }
+            });
+        }
+
+        var propertyConfigs = propertyKeys
+            .stream()
+            .map(GraphFactory.PropertyConfig::of)
+            .collect(Collectors.toList());
+        var builders = new ConcurrentHashMap<RelationshipType, RelationshipsBuilder>();
+        var relationshipBuilders = new RelationshipBuilders(builders, idMap, propertyConfigs);
+
+        var tasks = new ArrayList<Runnable>();
+        for (var reader : readers) {
+            var columns = new int[]{
+                integerColumn(reader, SOURCE_NODE_ID),
+                integerColumn(reader, TARGET_NODE_ID),
+                relationshipTypeColumn(reader)
+            };
+            var propertyColumns = propertyKeys.stream().mapToInt(key -> reader.schema().indexOf(key)).toArray();
+            for (int i = 0; i < reader.recordBatchCount(); i++) {
+                int batchIndex = i;
+                tasks.add(() -> importRelationshipBatch(
+                    reader,
+                    reader.recordBatch(batchIndex),
+                    columns,
+                    propertyColumns,
+                    relationshipBuilders
+                ));
+            }
+        }
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        var relationshipsByType = new HashMap<RelationshipType, SingleTypeRelationships>();
+        builders.forEach((type, builder) -> relationshipsByType.put(type, builder.build()));
+        return RelationshipImportResult.of(relationshipsByType);
+    }
+
+    private static void importRelationshipBatch(
+        ArrowFileReader reader,
+        ArrowFileReader.RecordBatch batch,
+        int[] columns,
+        int[] propertyColumns,
+        RelationshipBuilders relationshipBuilders
+    ) {
+        var sources = batch.column(columns[0]);
+        var targets = batch.column(columns[1]);
+        var types = columns[2] >= 0 ? batch.column(columns[2]) : null;
+        var properties = new ArrowVector[propertyColumns.length];
+        for (int i = 0; i < propertyColumns.length; i++) {
+            properties[i] = propertyColumns[i] >= 0 ? batch.column(propertyColumns[i]) : null;
+        }
+        var propertyValues = new double[properties.length];
+
+        var builderByType = new HashMap<Utf8Key, RelationshipsBuilder>();
+        var key = new Utf8Key();
+        for (int row = 0; row < batch.rowCount(); row++) {
+            long source = nodeId(reader, sources, row);
+            long target = nodeId(reader, targets, row);
+
+            RelationshipsBuilder builder;
+            if (types == null || types.isNull(row)) {
+                builder = relationshipBuilders.get(RelationshipType.ALL_RELATIONSHIPS);
+            } else {
+                key.clear();
+                key.append(types, row);
+                builder = builderByType.get(key);
+                if (builder == null) {
+                    builder = relationshipBuilders.get(RelationshipType.of(key.string(0)));
+                    builderByType.put(key.copy(), builder);
+                }
+            }
+
+            switch (properties.length) {
+                case 0:
+                    builder.add(source, target);
+                    break;
+                case 1:
+                    builder.add(source, target, propertyValue(properties[0], row));
+                    break;
+                default:
+                    for (int i = 0; i < properties.length; i++) {
+                        propertyValues[i] = propertyValue(properties[i], row);
+                    }
+                    builder.add(source, target, propertyValues);
+            }
+        }
+    }
+
+    /**
+     * Creates the builder of a relationship type when the type is first seen by any of the import tasks.
+     */
+    private final class RelationshipBuilders {
+        private final Map<RelationshipType, RelationshipsBuilder> builders;
+        private final IdMap idMap;
+        private final List<GraphFactory.PropertyConfig> propertyConfigs;
+
+        private RelationshipBuilders(
+            Map<RelationshipType, RelationshipsBuilder> builders,
+            IdMap idMap,
+            List<GraphFactory.PropertyConfig> propertyConfigs
+        ) {
+            this.builders = builders;
+            this.idMap = idMap;
+            this.propertyConfigs = propertyConfigs;
+        }
+
+        RelationshipsBuilder get(RelationshipType relationshipType) {
+            return builders.computeIfAbsent(relationshipType, type -> GraphFactory.initRelationshipsBuilder()
+                .nodes(idMap)
+                .relationshipType(type)
+                .orientation(undirectedRelationshipTypes.contains(type) ? Orientation.UNDIRECTED : Orientation.NATURAL)
+                .propertyConfigs(propertyConfigs)
+                .concurrency(concurrency)
+                .build()
+            );
+        }
+    }
+
+    private static double propertyValue(ArrowVector column, int row) {
+        if (column == null || column.isNull(row)) {
+            return DefaultValue.forDouble().doubleValue();
+        }
+        return column.doubleValue(row);
+    }
+
+    private static long nodeId(ArrowFileReader reader, ArrowVector ids, int row) {
+        if (ids.isNull(row)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` of `%s` contains a null value.",
+                ids.field().name(),
+                reader.file()
+            ));
+        }
+        return ids.longValue(row);
+    }
+
+    private static int integerColumn(ArrowFileReader reader, String name) {
+        int column = reader.schema().indexOf(name);
+        if (column < 0 || reader.schema().fields().get(column).type().id() != ArrowFormat.TypeId.INT) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`%s` must have an integer column `%s`.",
+                reader.file(),
+                name
+            ));
+        }
+        return column;
+    }
+
+    private static int labelsColumn(ArrowFileReader reader) {
+        int column = reader.schema().indexOf(LABELS);
+        if (column < 0) {
+            return column;
+        }
+        var field = reader.schema().fields().get(column);
+        boolean strings = field.type().id() == ArrowFormat.TypeId.UTF8;
+        boolean listOfStrings = field.type().id() == ArrowFormat.TypeId.LIST
+            && field.children().get(0).type().id() == ArrowFormat.TypeId.UTF8;
+        if (!strings && !listOfStrings) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` of `%s` must contain strings or lists of strings.",
+                LABELS,
+                reader.file()
+            ));
+        }
+        return column;
+    }
+
+    private static int relationshipTypeColumn(ArrowFileReader reader) {
+        int column = reader.schema().indexOf(RELATIONSHIP_TYPE);
+        if (column >= 0 && reader.schema().fields().get(column).type().id() != ArrowFormat.TypeId.UTF8) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` of `%s` must contain strings.",
+                RELATIONSHIP_TYPE,
+                reader.file()
+            ));
+        }
+        return column;
+    }
+
+    private static ValueType propertyType(ArrowFileReader reader, ArrowFormat.Field field) {
+        if (!field.type().isNumeric()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Column `%s` of `%s` is not supported, " +
+                "property columns must contain integers or floating point numbers.",
+                field.name(),
+                reader.file()
+            ));
+        }
+        return field.type().id() == ArrowFormat.TypeId.INT ? ValueType.LONG : ValueType.DOUBLE;
+    }
+
+    private List<Path> files(String prefix) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException(formatWithLocale("`%s` is not a directory.", directory));
+        }
+        try (var files = Files.list(directory)) {
+            return files
+                .filter(file -> {
+                    var name = file.getFileName().toString();
+                    return name.startsWith(prefix) && name.endsWith(FILE_EXTENSION);
+                })
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ArrowFileReader> open(List<Path> files, List<ArrowFileReader> openReaders) {
+        var readers = new ArrayList<ArrowFileReader>(files.size());
+        for (var file : files) {
+            var reader = ArrowFileReader.open(file);
+            openReaders.add(reader);
+            readers.add(reader);
+        }
+        return readers;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Read access to one column of a record batch. Values are read straight from the mapped file.
+ * <p>
+ * Numbers are read with {@link #longValue} and {@link #doubleValue}, strings and lists are read
+ * through the {@link #start} and {@link #end} offsets of a row, which point into the data buffer
+ * for strings and into the {@link #child} column for lists.
+ */
+final class ArrowVector {
+
+    private final ArrowFormat.Field field;
+    private final int length;
+    private final long nullCount;
+    private final ByteBuffer validity;
+    private final ByteBuffer offsets;
+    private final ByteBuffer values;
+    private final ArrowVector child;
+
+    ArrowVector(
+        ArrowFormat.Field field,
+        int length,
+        long nullCount,
+        ByteBuffer validity,
+        ByteBuffer offsets,
+        ByteBuffer values,
+        ArrowVector child
+    ) {
+        this.field = field;
+        this.length = length;
+        this.nullCount = nullCount;
+        this.validity = validity;
+        this.offsets = offsets;
+        this.values = values;
+        this.child = child;
+    }
+
+    ArrowFormat.Field field() {
+        return field;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean isNull(int row) {
+        if (nullCount == 0 || validity.limit() == 0) {
+            return false;
+        }
+        return (validity.get(row >>> 3) & (1 << (row & 7))) == 0;
+    }
+
+    long longValue(int row) {
+        var type = field.type();
+        switch (type.bitWidth()) {
+            case 8:
+                byte byteValue = values.get(row);
+                return type.signed() ? byteValue : Byte.toUnsignedLong(byteValue);
+            case 16:
+                short shortValue = values.getShort(row << 1);
+                return type.signed() ? shortValue : Short.toUnsignedLong(shortValue);
+            case 32:
+                int intValue = values.getInt(row << 2);
+                return type.signed() ? intValue : Integer.toUnsignedLong(intValue);
+            case 64:
+                return values.getLong(row << 3);
+            default:
+                throw new IllegalStateException(formatWithLocale(
+                    "Column `%s` has an unsupported bit width of %d.",
+                    field.name(),
+                    type.bitWidth()
+                ));
+        }
+    }
+
+    double doubleValue(int row) {
+        if (field.type().id() == ArrowFormat.TypeId.INT) {
+            return longValue(row);
+        }
+        return field.type().bitWidth() == 32 ? values.getFloat(row << 2) : values.getDouble(row << 3);
+    }
+
+    int start(int row) {
+        return offsets.getInt(row << 2);
+    }
+
+    int end(int row) {
+        return offsets.getInt((row + 1) << 2);
+    }
+
+    ArrowVector child() {
+        return child;
+    }
+
+    /**
+     * Copies the bytes of a string column between the given offsets.
+     */
+    void copyBytes(int start, byte[] target, int targetOffset, int count) {
+        values.get(start, target, targetOffset, count);
+    }
+
+    String string(int row) {
+        int start = start(row);
+        var bytes = new byte[end(row) - start];
+        copyBytes(start, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Read access to a table of a FlatBuffers message, as used for the metadata of Arrow IPC files.
+ * Fields are addressed by their index in the schema definition, absent fields yield the given default.
+ */
+final class FlatBufferTable {
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    static FlatBufferTable root(ByteBuffer buffer) {
+        var littleEndian = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int rootOffset = littleEndian.getInt(littleEndian.position());
+        return new FlatBufferTable(littleEndian, littleEndian.position() + rootOffset);
+    }
+
+    private FlatBufferTable(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+        this.vtable = checkBounds(position - buffer.getInt(position));
+        this.vtableSize = Short.toUnsignedInt(buffer.getShort(vtable));
+    }
+
+    boolean has(int field) {
+        return fieldPosition(field) != 0;
+    }
+
+    byte getByte(int field, byte defaultValue) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? defaultValue : buffer.get(offset);
+    }
+
+    boolean getBoolean(int field, boolean defaultValue) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? defaultValue : buffer.get(offset) != 0;
+    }
+
+    short getShort(int field, short defaultValue) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? defaultValue : buffer.getShort(offset);
+    }
+
+    int getInt(int field, int defaultValue) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? defaultValue : buffer.getInt(offset);
+    }
+
+    long getLong(int field, long defaultValue) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? defaultValue : buffer.getLong(offset);
+    }
+
+    FlatBufferTable table(int field) {
+        int offset = fieldPosition(field);
+        if (offset == 0) {
+            throw new IllegalArgumentException(formatWithLocale("Missing required field %d.", field));
+        }
+        return new FlatBufferTable(buffer, dereference(offset));
+    }
+
+    String string(int field) {
+        int offset = fieldPosition(field);
+        if (offset == 0) {
+            return null;
+        }
+        int start = dereference(offset);
+        int length = buffer.getInt(start);
+        var bytes = new byte[length];
+        buffer.get(checkBounds(start + 4 + length) - length, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int vectorLength(int field) {
+        int offset = fieldPosition(field);
+        return offset == 0 ? 0 : buffer.getInt(dereference(offset));
+    }
+
+    FlatBufferTable tableElement(int field, int index) {
+        int element = vectorElement(field, index, 4);
+        return new FlatBufferTable(buffer, dereference(element));
+    }
+
+    /**
+     * Reads a {@code long} member of a struct element of a vector.
+     */
+    long structLong(int field, int index, int structSize, int memberOffset) {
+        return buffer.getLong(vectorElement(field, index, structSize) + memberOffset);
+    }
+
+    /**
+     * Reads an {@code int} member of a struct element of a vector.
+     */
+    int structInt(int field, int index, int structSize, int memberOffset) {
+        return buffer.getInt(vectorElement(field, index, structSize) + memberOffset);
+    }
+
+    private int vectorElement(int field, int index, int elementSize) {
+        int start = dereference(fieldPosition(field));
+        int length = buffer.getInt(start);
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(formatWithLocale("Index %d of a vector of length %d.", index, length));
+        }
+        return checkBounds(start + 4 + index * elementSize);
+    }
+
+    private int fieldPosition(int field) {
+        int vtableOffset = 4 + 2 * field;
+        if (vtableOffset >= vtableSize) {
+            return 0;
+        }
+        int fieldOffset = Short.toUnsignedInt(buffer.getShort(vtable + vtableOffset));
+        return fieldOffset == 0 ? 0 : position + fieldOffset;
+    }
+
+    private int dereference(int offsetPosition) {
+        return checkBounds(offsetPosition + buffer.getInt(offsetPosition));
+    }
+
+    private int checkBounds(int position) {
+        if (position < 0 || position > buffer.limit()) {
+            throw new IllegalArgumentException("Corrupted metadata, an offset points outside of the message.");
+        }
+        return position;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes FlatBuffers messages, as used for the metadata of Arrow IPC files.
+ * <p>
+ * Like the reference implementation, the message is written back to front: children are written before
+ * the tables that refer to them, and every written object is identified by its distance from the end
+ * of the message. Scalars are aligned to their size relative to the start of the finished message.
+ */
+final class FlatBufferWriter {
+
+    private byte[] bytes;
+    // index of the first written byte, the message grows towards the start of the array
+    private int space;
+    private int minAlignment;
+
+    private int[] vtable;
+    private int vtableInUse;
+    private int tableStart;
+    private int vectorLength;
+
+    FlatBufferWriter() {
+        this.bytes = new byte[256];
+        this.space = bytes.length;
+        this.minAlignment = 1;
+        this.vtable = new int[16];
+    }
+
+    int offset() {
+        return bytes.length - space;
+    }
+
+    int createString(String value) {
+        var utf8 = value.getBytes(StandardCharsets.UTF_8);
+        addByte((byte) 0);
+        startVector(1, utf8.length, 1);
+        space -= utf8.length;
+        System.arraycopy(utf8, 0, bytes, space, utf8.length);
+        return endVector();
+    }
+
+    int createOffsetVector(int[] offsets) {
+        startVector(4, offsets.length, 4);
+        for (int i = offsets.length - 1; i >= 0; i--) {
+            addOffset(offsets[i]);
+        }
+        return endVector();
+    }
+
+    /**
+     * Starts a vector, the elements have to be added in reverse order.
+     */
+    void startVector(int elementSize, int length, int alignment) {
+        this.vectorLength = length;
+        prep(4, elementSize * length);
+        prep(alignment, elementSize * length);
+    }
+
+    int endVector() {
+        putInt(vectorLength);
+        return offset();
+    }
+
+    void startTable(int fieldCount) {
+        if (vtable.length < fieldCount) {
+            vtable = new int[fieldCount];
+        }
+        Arrays.fill(vtable, 0, fieldCount, 0);
+        vtableInUse = fieldCount;
+        tableStart = offset();
+    }
+
+    void addByte(int field, byte value, byte defaultValue) {
+        if (value != defaultValue) {
+            addByte(value);
+            vtable[field] = offset();
+        }
+    }
+
+    void addBoolean(int field, boolean value, boolean defaultValue) {
+        addByte(field, (byte) (value ? 1 : 0), (byte) (defaultValue ? 1 : 0));
+    }
+
+    void addShort(int field, short value, short defaultValue) {
+        if (value != defaultValue) {
+            addShort(value);
+            vtable[field] = offset();
+        }
+    }
+
+    void addInt(int field, int value, int defaultValue) {
+        if (value != defaultValue) {
+            addInt(value);
+            vtable[field] = offset();
+        }
+    }
+
+    void addLong(int field, long value, long defaultValue) {
+        if (value != defaultValue) {
+            addLong(value);
+            vtable[field] = offset();
+        }
+    }
+
+    void addOffset(int field, int offset) {
+        addOffset(offset);
+        vtable[field] = offset();
+    }
+
+    int endTable() {
+        addInt(0);
+        int tableOffset = offset();
+
+        int lastField = vtableInUse - 1;
+        while (lastField >= 0 && vtable[lastField] == 0) {
+            lastField--;
+        }
+        for (int i = lastField; i >= 0; i--) {
+            addShort((short) (vtable[i] != 0 ? tableOffset - vtable[i] : 0));
+        }
+        addShort((short) (tableOffset - tableStart));
+        addShort((short) ((lastField + 1 + 2) * Short.BYTES));
+
+        // the table starts with the signed distance to its vtable, which has just been written in front of it
+        putIntAt(bytes.length - tableOffset, offset() - tableOffset);
+        return tableOffset;
+    }
+
+    /**
+     * Prepares writing a struct as an element of a vector, the members have to be put in reverse order.
+     */
+    void startStruct(int alignment, int size) {
+        prep(alignment, size);
+    }
+
+    byte[] finish(int rootTable) {
+        prep(minAlignment, 4);
+        addOffset(rootTable);
+        return Arrays.copyOfRange(bytes, space, bytes.length);
+    }
+
+    void pad(int count) {
+        for (int i = 0; i < count; i++) {
+            bytes[--space] = 0;
+        }
+    }
+
+    void putInt(int value) {
+        space -= 4;
+        putIntAt(space, value);
+    }
+
+    void putLong(long value) {
+        space -= 8;
+        for (int i = 0; i < 8; i++) {
+            bytes[space + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void addByte(byte value) {
+        prep(1, 0);
+        bytes[--space] = value;
+    }
+
+    private void addShort(short value) {
+        prep(2, 0);
+        space -= 2;
+        bytes[space] = (byte) value;
+        bytes[space + 1] = (byte) (value >>> 8);
+    }
+
+    private void addInt(int value) {
+        prep(4, 0);
+        putInt(value);
+    }
+
+    private void addLong(long value) {
+        prep(8, 0);
+        putLong(value);
+    }
+
+    private void addOffset(int offset) {
+        prep(4, 0);
+        putInt(offset() - offset + 4);
+    }
+
+    private void putIntAt(int index, int value) {
+        for (int i = 0; i < 4; i++) {
+            bytes[index + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * Pads the message so that, after writing {@code additionalBytes}, an element of {@code size} bytes is aligned.
+     */
+    private void prep(int size, int additionalBytes) {
+        if (size > minAlignment) {
+            minAlignment = size;
+        }
+        int alignment = (-(offset() + additionalBytes)) & (size - 1);
+        while (space < alignment + size + additionalBytes) {
+            int used = offset();
+            var grown = new byte[Math.max(bytes.length * 2, used + alignment + size + additionalBytes)];
+            System.arraycopy(bytes, space, grown, grown.length - used, used);
+            bytes = grown;
+            space = grown.length - used;
+        }
+        pad(alignment);
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.CompositeRelationshipIterator;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.ParallelUtil;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.FILE_EXTENSION;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.LABELS;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.NODE_FILE_PREFIX;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.NODE_ID;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.RELATIONSHIP_FILE_PREFIX;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.RELATIONSHIP_TYPE;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.SOURCE_NODE_ID;
+import static org.neo4j.gds.core.io.arrow.ArrowToGraphStoreImporter.TARGET_NODE_ID;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Exports a {@link GraphStore} to Arrow IPC files that can be read by {@link ArrowToGraphStoreImporter}.
+ * <p>
+ * Nodes are written to {@code nodes.arrow} with their original ids and the property keys of every label
+ * in the metadata of the file, relationships of all types to {@code relationships.arrow}.
+ * Undirected relationships are written once and marked as undirected in the metadata of the file.
+ * Nodes and relationships are written in record batches of up to
+ * {@value #BATCH_SIZE} rows, every task encodes its own batches.
+ * Only properties of type {@code LONG} and {@code DOUBLE} are supported.
+ */
+public final class GraphStoreToArrowExporter {
+
+    static final int BATCH_SIZE = 65_536;
+
+    private final GraphStore graphStore;
+    private final Path directory;
+    private final Concurrency concurrency;
+
+    public static void export(GraphStore graphStore, Path directory, Concurrency concurrency) {
+        new GraphStoreToArrowExporter(graphStore, directory, concurrency).run();
+    }
+
+    private GraphStoreToArrowExporter(GraphStore graphStore, Path directory, Concurrency concurrency) {
+        this.graphStore = graphStore;
+        this.directory = directory;
+        this.concurrency = concurrency;
+    }
+
+    private void run() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        exportNodes();
+        exportRelationships();
+    }
+
+    private void exportNodes() {
+        var propertyKeys = graphStore.nodePropertyKeys().stream().sorted().collect(Collectors.toList());
+        var fields = new ArrayList<ArrowFormat.Field>();
+        fields.add(ArrowFormat.Field.of(NODE_ID, ArrowFormat.Type.INT64));
+        fields.add(ArrowFormat.Field.listOf(LABELS, ArrowFormat.Field.of("item", ArrowFormat.Type.UTF8)));
+        var propertyValues = new NodePropertyValues[propertyKeys.size()];
+        for (int i = 0; i < propertyKeys.size(); i++) {
+            var propertyKey = propertyKeys.get(i);
+            propertyValues[i] = graphStore.nodeProperty(propertyKey).values();
+            fields.add(ArrowFormat.Field.of(propertyKey, columnType(propertyKey, propertyValues[i].valueType())));
+        }
+        // the properties of every label, so that the imported schema has the same properties per label
+        var metadata = new LinkedHashMap<String, String>();
+        graphStore.schema()
+            .nodeSchema()
+            .entries()
+            .stream()
+            .sorted(Comparator.comparing(entry -> entry.identifier().name))
+            .forEach(entry -> metadata.put(
+                ArrowToGraphStoreImporter.propertiesKey(entry.identifier()),
+                ArrowToGraphStoreImporter.propertiesValue(new TreeSet<>(entry.properties().keySet()))
+            ));
+        var schema = new ArrowFormat.Schema(fields, metadata);
+
+        var labels = new HashMap<NodeLabel, byte[]>();
+        graphStore.nodeLabels().forEach(label -> labels.put(label, label.name.getBytes(StandardCharsets.UTF_8)));
+
+        var idMap = graphStore.nodes();
+        long nodeCount = idMap.nodeCount();
+        var nextBatch = new AtomicLong();
+        try (var writer = ArrowFileWriter.create(directory.resolve(NODE_FILE_PREFIX + FILE_EXTENSION), schema)) {
+            var tasks = ParallelUtil.tasks(concurrency, () -> () -> {
+                var batch = new RecordBatchBuilder(schema);
+                var labelColumn = batch.list(1);
+                IdMap.NodeLabelConsumer addLabel = label -> {
+                    if (!label.equals(NodeLabel.ALL_NODES)) {
+                        labelColumn.utf8Elements().add(labels.get(label));
+                    }
+                    return true;
+                };
+
+                long start;
+                while ((start = nextBatch.getAndAdd(BATCH_SIZE)) < nodeCount) {
+                    long end = Math.min(start + BATCH_SIZE, nodeCount);
+                    for (long nodeId = start; nodeId < end; nodeId++) {
+                        batch.int64(0).add(idMap.toOriginalNodeId(nodeId));
+                        idMap.forEachNodeLabel(nodeId, addLabel);
+                        labelColumn.endList();
+                        for (int i = 0; i < propertyValues.length; i++) {
+                            addNodeProperty(batch, i + 2, propertyValues[i], nodeId);
+                        }
+                        batch.endRow();
+                    }
+                    writer.write(batch);
+                    batch.reset();
+                }
+            });
+            RunWithConcurrency.builder()
+                .concurrency(concurrency)
+                .tasks(tasks)
+                .run();
+        }
+    }
+
+    private static void addNodeProperty(RecordBatchBuilder batch, int column, NodePropertyValues values, long nodeId) {
+        if (!values.hasValue(nodeId)) {
+            if (values.valueType() == ValueType.LONG) {
+                batch.int64(column).addNull();
+            } else {
+                batch.float64(column).addNull();
+            }
+        } else if (values.valueType() == ValueType.LONG) {
+            batch.int64(column).add(values.longValue(nodeId));
+        } else {
+            batch.float64(column).add(values.doubleValue(nodeId));
+        }
+    }
+
+    private void exportRelationships() {
+        var relationshipTypes = graphStore
+            .relationshipTypes()
+            .stream()
+            .sorted(Comparator.comparing(RelationshipType::name))
+            .collect(Collectors.toList());
+        var propertyKeys = graphStore.relationshipPropertyKeys().stream().sorted().collect(Collectors.toList());
+
+        var fields = new ArrayList<ArrowFormat.Field>();
+        fields.add(ArrowFormat.Field.of(SOURCE_NODE_ID, ArrowFormat.Type.INT64));
+        fields.add(ArrowFormat.Field.of(TARGET_NODE_ID, ArrowFormat.Type.INT64));
+        fields.add(ArrowFormat.Field.of(RELATIONSHIP_TYPE, ArrowFormat.Type.UTF8));
+        propertyKeys.forEach(key -> fields.add(ArrowFormat.Field.of(key, ArrowFormat.Type.FLOAT64)));
+
+        var metadata = new LinkedHashMap<String, String>();
+        var relationshipSchema = graphStore.schema().relationshipSchema();
+        for (var relationshipType : relationshipTypes) {
+            if (relationshipSchema.isUndirected(relationshipType)) {
+                metadata.put(
+                    ArrowToGraphStoreImporter.directionKey(relationshipType),
+                    ArrowToGraphStoreImporter.UNDIRECTED
+                );
+            }
+        }
+        var schema = new ArrowFormat.Schema(fields, metadata);
+
+        long nodeCount = graphStore.nodeCount();
+        long batchesPerType = (nodeCount + BATCH_SIZE - 1) / BATCH_SIZE;
+        long batchCount = batchesPerType * relationshipTypes.size();
+        var nextBatch = new AtomicLong();
+        var path = directory.resolve(RELATIONSHIP_FILE_PREFIX + FILE_EXTENSION);
+        try (var writer = ArrowFileWriter.create(path, schema)) {
+            var tasks = ParallelUtil.tasks(concurrency, () -> new RelationshipExportTask(
+                relationshipTypes,
+                propertyKeys,
+                new RecordBatchBuilder(schema),
+                writer,
+                () -> {
+                    long batch = nextBatch.getAndIncrement();
+                    return batch < batchCount ? batch : -1;
+                },
+                batchesPerType
+            ));
+            RunWithConcurrency.builder()
+                .concurrency(concurrency)
+                .tasks(tasks)
+                .run();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchSupplier {
+        /**
+         * Returns the index of the next batch to export, or {@code -1} once all batches are claimed.
+         */
+        long next();
+    }
+
+    /**
+     * Exports batches of source nodes of one relationship type at a time. Rows are flushed to the file
+     * once a batch has been exported or the record batch is full.
+     */
+    private final class RelationshipExportTask implements Runnable, CompositeRelationshipIterator.RelationshipConsumer {
+        private final List<RelationshipType> relationshipTypes;
+        private final List<String> propertyKeys;
+        private final RecordBatchBuilder batch;
+        private final ArrowFileWriter writer;
+        private final BatchSupplier batches;
+        private final long batchesPerType;
+
+        private final CompositeRelationshipIterator[] iterators;
+        private final byte[][] typeNames;
+        // for every type and property column, the index of the property in the values of the iterator or -1
+        private final int[][] propertyIndices;
+
+        private int[] currentPropertyIndices;
+        private byte[] currentTypeName;
+        private boolean undirected;
+        private long selfLoops;
+
+        private RelationshipExportTask(
+            List<RelationshipType> relationshipTypes,
+            List<String> propertyKeys,
+            RecordBatchBuilder batch,
+            ArrowFileWriter writer,
+            BatchSupplier batches,
+            long batchesPerType
+        ) {
+            this.relationshipTypes = relationshipTypes;
+            this.propertyKeys = propertyKeys;
+            this.batch = batch;
+            this.writer = writer;
+            this.batches = batches;
+            this.batchesPerType = batchesPerType;
+            this.iterators = new CompositeRelationshipIterator[relationshipTypes.size()];
+            this.typeNames = new byte[relationshipTypes.size()][];
+            this.propertyIndices = new int[relationshipTypes.size()][];
+        }
+
+        @Override
+        public void run() {
+            long nodeCount = graphStore.nodeCount();
+            long batchIndex;
+            while ((batchIndex = batches.next()) >= 0) {
+                int typeIndex = (int) (batchIndex / batchesPerType);
+                var iterator = iterator(typeIndex);
+                currentPropertyIndices = propertyIndices[typeIndex];
+                currentTypeName = typeNames[typeIndex];
+                undirected = graphStore.schema().relationshipSchema().isUndirected(relationshipTypes.get(typeIndex));
+
+                long start = (batchIndex % batchesPerType) * BATCH_SIZE;
+                long end = Math.min(start + BATCH_SIZE, nodeCount);
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    selfLoops = 0;
+                    iterator.forEachRelationship(nodeId, this);
+                    if (batch.rowCount() >= BATCH_SIZE) {
+                        flush();
+                    }
+                }
+                flush();
+            }
+        }
+
+        @Override
+        public boolean consume(long source, long target, double[] properties) {
+            // undirected relationships are stored in both directions, self loops twice for the same node
+            if (undirected && (target < source || (target == source && (selfLoops++ & 1) == 1))) {
+                return true;
+            }
+            batch.int64(0).add(graphStore.nodes().toOriginalNodeId(source));
+            batch.int64(1).add(graphStore.nodes().toOriginalNodeId(target));
+            batch.utf8(2).add(currentTypeName);
+            for (int i = 0; i < currentPropertyIndices.length; i++) {
+                int propertyIndex = currentPropertyIndices[i];
+                if (propertyIndex < 0) {
+                    batch.float64(i + 3).addNull();
+                } else {
+                    batch.float64(i + 3).add(properties[propertyIndex]);
+                }
+            }
+            batch.endRow();
+            return true;
+        }
+
+        private CompositeRelationshipIterator iterator(int typeIndex) {
+            if (iterators[typeIndex] == null) {
+                var relationshipType = relationshipTypes.get(typeIndex);
+                var iterator = graphStore.getCompositeRelationshipIterator(
+                    relationshipType,
+                    graphStore.relationshipPropertyKeys(relationshipType)
+                ).concurrentCopy();
+                var keys = List.of(iterator.propertyKeys());
+                iterators[typeIndex] = iterator;
+                propertyIndices[typeIndex] = propertyKeys.stream().mapToInt(keys::indexOf).toArray();
+                typeNames[typeIndex] = relationshipType.name.getBytes(StandardCharsets.UTF_8);
+            }
+            return iterators[typeIndex];
+        }
+
+        private void flush() {
+            writer.write(batch);
+            batch.reset();
+        }
+    }
+
+    private static ArrowFormat.Type columnType(String propertyKey, ValueType valueType) {
+        switch (valueType) {
+            case LONG:
+                return ArrowFormat.Type.INT64;
+            case DOUBLE:
+                return ArrowFormat.Type.FLOAT64;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node property `%s` of type %s cannot be exported to Arrow, supported are %s and %s properties.",
+                    propertyKey,
+                    valueType,
+                    ValueType.LONG,
+                    ValueType.DOUBLE
+                ));
+        }
+    }
+}
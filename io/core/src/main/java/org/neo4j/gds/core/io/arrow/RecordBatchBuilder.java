@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects the rows of a record batch column by column, see {@link ArrowFileWriter#write}.
+ * A builder is used by a single thread and is reset after every written batch, so that its arrays are reused.
+ * <p>
+ * Every value of a row has to be added to its column before the row is completed with {@link #endRow()}.
+ */
+final class RecordBatchBuilder {
+
+    private final ArrowFormat.Schema schema;
+    private final List<Column> columns;
+    private int rowCount;
+
+    RecordBatchBuilder(ArrowFormat.Schema schema) {
+        this.schema = schema;
+        this.columns = new ArrayList<>();
+        for (var field : schema.fields()) {
+            columns.add(column(field));
+        }
+    }
+
+    ArrowFormat.Schema schema() {
+        return schema;
+    }
+
+    Int64Column int64(int column) {
+        return (Int64Column) columns.get(column);
+    }
+
+    Float64Column float64(int column) {
+        return (Float64Column) columns.get(column);
+    }
+
+    Utf8Column utf8(int column) {
+        return (Utf8Column) columns.get(column);
+    }
+
+    ListColumn list(int column) {
+        return (ListColumn) columns.get(column);
+    }
+
+    void endRow() {
+        rowCount++;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    void reset() {
+        rowCount = 0;
+        columns.forEach(Column::reset);
+    }
+
+    /**
+     * Encodes the batch as the metadata of a record batch message and its body.
+     */
+    EncodedBatch encode() {
+        var body = new Body();
+        columns.forEach(column -> column.encode(body));
+
+        var writer = new FlatBufferWriter();
+        writer.startVector(ArrowFormat.STRUCT_OF_TWO_LONGS_SIZE, body.buffers.size(), 8);
+        for (int i = body.buffers.size() - 1; i >= 0; i--) {
+            writer.startStruct(8, ArrowFormat.STRUCT_OF_TWO_LONGS_SIZE);
+            writer.putLong(body.buffers.get(i).remaining());
+            writer.putLong(body.bufferOffsets.get(i));
+        }
+        int buffers = writer.endVector();
+
+        writer.startVector(ArrowFormat.STRUCT_OF_TWO_LONGS_SIZE, body.nodes.size() / 2, 8);
+        for (int i = body.nodes.size() - 2; i >= 0; i -= 2) {
+            writer.startStruct(8, ArrowFormat.STRUCT_OF_TWO_LONGS_SIZE);
+            writer.putLong(body.nodes.get(i + 1));
+            writer.putLong(body.nodes.get(i));
+        }
+        int nodes = writer.endVector();
+
+        writer.startTable(4);
+        writer.addLong(ArrowFormat.RECORD_BATCH_LENGTH, rowCount, 0);
+        writer.addOffset(ArrowFormat.RECORD_BATCH_NODES, nodes);
+        writer.addOffset(ArrowFormat.RECORD_BATCH_BUFFERS, buffers);
+        int recordBatch = writer.endTable();
+
+        writer.startTable(5);
+        writer.addLong(ArrowFormat.MESSAGE_BODY_LENGTH, body.length, 0);
+        writer.addOffset(ArrowFormat.MESSAGE_HEADER, recordBatch);
+        writer.addShort(ArrowFormat.MESSAGE_VERSION, ArrowFormat.METADATA_V5, (short) 0);
+        writer.addByte(ArrowFormat.MESSAGE_HEADER_TYPE, ArrowFormat.HEADER_RECORD_BATCH, (byte) 0);
+        int message = writer.endTable();
+
+        return new EncodedBatch(writer.finish(message), body.buffers, body.bufferOffsets, body.length);
+    }
+
+    record EncodedBatch(byte[] metadata, List<ByteBuffer> buffers, List<Long> bufferOffsets, long bodyLength) {}
+
+    private static Column column(ArrowFormat.Field field) {
+        if (field.type().isNumeric() && field.type().bitWidth() != 64) {
+            throw new IllegalArgumentException("Only 64 bit numbers can be written, got " + field.type());
+        }
+        switch (field.type().id()) {
+            case INT:
+                return new Int64Column();
+            case FLOATING_POINT:
+                return new Float64Column();
+            case UTF8:
+                return new Utf8Column();
+            case LIST:
+                return new ListColumn(column(field.children().get(0)));
+            default:
+                throw new IllegalArgumentException("Unexpected column type " + field.type());
+        }
+    }
+
+    /**
+     * The field nodes and buffers of a batch, in the order of the columns.
+     */
+    private static final class Body {
+        private final List<Long> nodes = new ArrayList<>();
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private final List<Long> bufferOffsets = new ArrayList<>();
+        private long length;
+
+        void addNode(int length, int nullCount) {
+            nodes.add((long) length);
+            nodes.add((long) nullCount);
+        }
+
+        void addBuffer(ByteBuffer buffer) {
+            bufferOffsets.add(length);
+            buffers.add(buffer);
+            length = ArrowFormat.align(length + buffer.remaining());
+        }
+    }
+
+    abstract static class Column {
+        private byte[] validity = new byte[64];
+        private int nullCount;
+        int size;
+
+        void addNull() {
+            ensureValidity(size);
+            nullCount++;
+            appendEmpty();
+        }
+
+        void markValid() {
+            ensureValidity(size);
+            validity[size >>> 3] |= (byte) (1 << (size & 7));
+        }
+
+        void reset() {
+            Arrays.fill(validity, 0, Math.min(validity.length, (size + 7) >>> 3), (byte) 0);
+            nullCount = 0;
+            size = 0;
+        }
+
+        void encode(Body body) {
+            body.addNode(size, nullCount);
+            body.addBuffer(nullCount == 0
+                ? ByteBuffer.allocate(0)
+                : ByteBuffer.wrap(validity, 0, (size + 7) >>> 3).slice());
+            encodeValues(body);
+        }
+
+        abstract void appendEmpty();
+
+        abstract void encodeValues(Body body);
+
+        private void ensureValidity(int index) {
+            if ((index >>> 3) >= validity.length) {
+                validity = Arrays.copyOf(validity, validity.length * 2);
+            }
+        }
+    }
+
+    static final class Int64Column extends Column {
+        private long[] values = new long[1024];
+
+        void add(long value) {
+            markValid();
+            append(value);
+        }
+
+        @Override
+        void appendEmpty() {
+            append(0L);
+        }
+
+        @Override
+        void encodeValues(Body body) {
+            var buffer = ByteBuffer.allocate(size * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asLongBuffer().put(values, 0, size);
+            body.addBuffer(buffer);
+        }
+
+        private void append(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    static final class Float64Column extends Column {
+        private double[] values = new double[1024];
+
+        void add(double value) {
+            markValid();
+            append(value);
+        }
+
+        @Override
+        void appendEmpty() {
+            append(0D);
+        }
+
+        @Override
+        void encodeValues(Body body) {
+            var buffer = ByteBuffer.allocate(size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asDoubleBuffer().put(values, 0, size);
+            body.addBuffer(buffer);
+        }
+
+        private void append(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    static final class Utf8Column extends Column {
+        private int[] offsets = new int[1025];
+        private byte[] data = new byte[8192];
+
+        void add(String value) {
+            add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void add(byte[] bytes) {
+            markValid();
+            int start = offsets[size];
+            if (start + bytes.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, start + bytes.length));
+            }
+            System.arraycopy(bytes, 0, data, start, bytes.length);
+            appendOffset(start + bytes.length);
+        }
+
+        @Override
+        void appendEmpty() {
+            appendOffset(offsets[size]);
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            offsets[0] = 0;
+        }
+
+        @Override
+        void encodeValues(Body body) {
+            body.addBuffer(encodeOffsets(offsets, size));
+            body.addBuffer(ByteBuffer.wrap(data, 0, offsets[size]).slice());
+        }
+
+        private void appendOffset(int end) {
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = end;
+        }
+    }
+
+    static final class ListColumn extends Column {
+        private final Column elements;
+        private int[] offsets = new int[1025];
+
+        ListColumn(Column elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * The string elements of the lists, the elements of a row are added before {@link #endList()} is called.
+         */
+        Utf8Column utf8Elements() {
+            return (Utf8Column) elements;
+        }
+
+        void endList() {
+            markValid();
+            appendOffset();
+        }
+
+        @Override
+        void appendEmpty() {
+            appendOffset();
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            elements.reset();
+            offsets[0] = 0;
+        }
+
+        @Override
+        void encodeValues(Body body) {
+            body.addBuffer(encodeOffsets(offsets, size));
+            elements.encode(body);
+        }
+
+        private void appendOffset() {
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = elements.size;
+        }
+    }
+
+    private static ByteBuffer encodeOffsets(int[] offsets, int size) {
+        var buffer = ByteBuffer.allocate((size + 1) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(offsets, 0, size + 1);
+        return buffer;
+    }
+}
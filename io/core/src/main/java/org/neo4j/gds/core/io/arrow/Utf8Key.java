@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A sequence of strings, used to look up the label token or relationship type of a row without decoding strings.
+ * A key is reused to probe a map and only copied when a new entry is added.
+ */
+final class Utf8Key {
+
+    private byte[] bytes;
+    private int length;
+    private int[] ends;
+    private int count;
+    private int hash;
+
+    Utf8Key() {
+        this(new byte[64], 0, new int[4], 0, 1);
+    }
+
+    private Utf8Key(byte[] bytes, int length, int[] ends, int count, int hash) {
+        this.bytes = bytes;
+        this.length = length;
+        this.ends = ends;
+        this.count = count;
+        this.hash = hash;
+    }
+
+    void clear() {
+        length = 0;
+        count = 0;
+        hash = 1;
+    }
+
+    /**
+     * Appends the string in the given row of a string column.
+     */
+    void append(ArrowVector strings, int row) {
+        int start = strings.start(row);
+        int size = strings.end(row) - start;
+        if (length + size > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + size));
+        }
+        if (count == ends.length) {
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        strings.copyBytes(start, bytes, length, size);
+        for (int i = length; i < length + size; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        length += size;
+        ends[count++] = length;
+        hash = 31 * hash + size;
+    }
+
+    int count() {
+        return count;
+    }
+
+    String string(int index) {
+        int start = index == 0 ? 0 : ends[index - 1];
+        return new String(bytes, start, ends[index] - start, StandardCharsets.UTF_8);
+    }
+
+    Utf8Key copy() {
+        return new Utf8Key(
+            Arrays.copyOf(bytes, length),
+            length,
+            Arrays.copyOf(ends, count),
+            count,
+            hash
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Utf8Key)) {
+            return false;
+        }
+        var other = (Utf8Key) o;
+        return hash == other.hash
+            && Arrays.equals(ends, 0, count, other.ends, 0, other.count)
+            && Arrays.equals(bytes, 0, length, other.bytes, 0, other.length);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The compression of exported data files. Compressed files carry the extension of the compression,
+ * so that importers can recognize them by their name.
+ */
+public enum FileCompression {
+
+    NONE("") {
+        @Override
+        public OutputStream compress(OutputStream out) {
+            return out;
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) {
+            return in;
+        }
+    },
+    GZIP(".gz") {
+        @Override
+        public OutputStream compress(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> VALUES = Arrays
+        .stream(FileCompression.values())
+        .map(FileCompression::name)
+        .collect(Collectors.toList());
+
+    private final String fileExtension;
+
+    FileCompression(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public abstract OutputStream compress(OutputStream out) throws IOException;
+
+    public abstract InputStream decompress(InputStream in) throws IOException;
+
+    public static FileCompression of(Path file) {
+        var fileName = file.getFileName().toString();
+        for (var compression : values()) {
+            if (compression != NONE && fileName.endsWith(compression.fileExtension)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    public static FileCompression parse(Object input) {
+        if (input instanceof String) {
+            var inputString = ((String) input).toUpperCase(Locale.ENGLISH);
+            if (VALUES.contains(inputString)) {
+                return FileCompression.valueOf(inputString);
+            }
+
+            throw new IllegalArgumentException(formatWithLocale(
+                "File compression `%s` is not supported. Must be one of: %s.",
+                inputString,
+                VALUES
+            ));
+        } else if (input instanceof FileCompression) {
+            return (FileCompression) input;
+        }
+
+        throw new IllegalArgumentException(formatWithLocale(
+            "Expected FileCompression or String. Got %s.",
+            input.getClass().getSimpleName()
+        ));
+    }
+
+    public static String toString(FileCompression compression) {
+        return compression.toString();
+    }
+}
@@ -19,8 +19,10 @@
  */
 package org.neo4j.gds.core.io.file;
 
+import org.neo4j.batchimport.api.InputIterator;
 import org.neo4j.batchimport.api.input.Collector;
 import org.neo4j.batchimport.api.input.Input;
+import org.neo4j.batchimport.api.input.InputEntityVisitor;
 import org.neo4j.gds.NodeLabel;
 import org.neo4j.gds.RelationshipType;
 import org.neo4j.gds.api.GraphStore;
@@ -42,6 +44,7 @@ import org.neo4j.gds.core.utils.progress.tasks.TaskProgressTracker;
 import org.neo4j.gds.core.utils.progress.tasks.Tasks;
 import org.neo4j.gds.logging.Log;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
@@ -179,7 +182,7 @@ public class GraphStoreToFileExporter extends GraphStoreExporter {
 
         var tasks = ParallelUtil.tasks(
             concurrency,
-            (index) -> new ElementImportRunner<>(nodeVisitorSupplier.apply(index), nodeInputIterator, progressTracker)
+            (index) -> exportRunner(nodeVisitorSupplier.apply(index), nodeInputIterator, progressTracker)
         );
 
         RunWithConcurrency.builder()
@@ -200,7 +203,7 @@ public class GraphStoreToFileExporter extends GraphStoreExporter {
 
         var tasks = ParallelUtil.tasks(
             concurrency,
-            (index) -> new ElementImportRunner<>(
+            (index) -> exportRunner(
                 relationshipVisitorSupplier.apply(index),
                 relationshipInputIterator,
                 progressTracker
@@ -227,7 +230,7 @@ public class GraphStoreToFileExporter extends GraphStoreExporter {
 
             var tasks = ParallelUtil.tasks(
                 concurrency,
-                (index) -> new ElementImportRunner<>(
+                (index) -> exportRunner(
                     graphPropertyVisitorSupplier.apply(index),
                     graphPropertyInputIterator,
                     progressTracker
@@ -243,6 +246,25 @@ public class GraphStoreToFileExporter extends GraphStoreExporter {
         }
     }
 
+    /**
+     * Closes the visitor once the runner is done, as the files written by a visitor,
+     * compressed files in particular, are only complete after it has been closed.
+     */
+    private static <T extends Flushable & InputEntityVisitor> Runnable exportRunner(
+        T visitor,
+        InputIterator inputIterator,
+        ProgressTracker progressTracker
+    ) {
+        var runner = new ElementImportRunner<>(visitor, inputIterator, progressTracker);
+        return () -> {
+            try (visitor) {
+                runner.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
     private void exportUserName() {
         try (var userInfoVisitor = userInfoVisitorSupplier.get()) {
             userInfoVisitor.export(parameters.username());
@@ -38,6 +38,12 @@ public interface GraphStoreToFileExporterConfig extends GraphStoreExporterBaseCo
 
     String exportName();
 
+    @Configuration.ConvertWith(method = "org.neo4j.gds.core.io.file.FileCompression#parse")
+    @Configuration.ToMapValue("org.neo4j.gds.core.io.file.FileCompression#toString")
+    default FileCompression compression() {
+        return FileCompression.NONE;
+    }
+
     default boolean useLabelMapping() {
         // the reason for default false (unlike BackupConfig) is to prevent a breaking change in CSV export
         return false;
@@ -29,6 +29,7 @@ public record GraphStoreToFileExporterParameters(
     String username,
     RelationshipType defaultRelationshipType,
     Concurrency concurrency,
-    int batchSize
+    int batchSize,
+    FileCompression compression
 ) {
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.annotation.Configuration;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.CypherMapWrapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The configuration of a graph restored from a snapshot.
+ * It reports the configuration of the original projection, which is stored in the snapshot.
+ */
+@Configuration
+public interface GraphProjectFromSnapshotConfig extends GraphProjectConfig {
+
+    @Configuration.Ignore
+    default Map<String, Object> asProcedureResultConfigurationField() {
+        return new HashMap<>(originalConfiguration());
+    }
+
+    @Configuration.Parameter
+    String graphName();
+
+    @Configuration.Parameter
+    Map<String, Object> originalConfiguration();
+
+    static GraphProjectFromSnapshotConfig of(
+        String username,
+        String graphName,
+        Map<String, Object> originalConfiguration
+    ) {
+        return new GraphProjectFromSnapshotConfigImpl(
+            graphName,
+            originalConfiguration,
+            username,
+            CypherMapWrapper.empty()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.annotation.Configuration;
+import org.neo4j.gds.core.CypherMapWrapper;
+
+@Configuration
+public interface GraphSnapshotRestoreConfig extends GraphSnapshotConfig {
+
+    /**
+     * Registers the graph once its nodes are read and reads relationships only when they are first accessed.
+     * The relationship pages of all lazily restored graphs share the budget set by {@code gds.snapshot.memory_budget}.
+     */
+    default boolean lazy() {
+        return false;
+    }
+
+    static GraphSnapshotRestoreConfig of(String username, CypherMapWrapper config) {
+        return new GraphSnapshotRestoreConfigImpl(username, config);
+    }
+}
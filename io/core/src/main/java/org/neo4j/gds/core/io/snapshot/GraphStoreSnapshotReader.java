@@ -0,0 +1,608 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.PropertyMappings;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.ImmutableTopology;
+import org.neo4j.gds.api.Topology;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.properties.nodes.ImmutableNodeProperty;
+import org.neo4j.gds.api.properties.nodes.NodePropertyStore;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValuesAdapter;
+import org.neo4j.gds.api.properties.relationships.ImmutableProperties;
+import org.neo4j.gds.api.properties.relationships.ImmutableRelationshipProperty;
+import org.neo4j.gds.api.properties.relationships.RelationshipPropertyStore;
+import org.neo4j.gds.api.schema.Direction;
+import org.neo4j.gds.api.schema.MutableGraphSchema;
+import org.neo4j.gds.api.schema.MutableNodeSchema;
+import org.neo4j.gds.api.schema.MutableRelationshipSchemaEntry;
+import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.api.schema.RelationshipPropertySchema;
+import org.neo4j.gds.collections.ha.HugeIntArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.collections.ha.HugeObjectArray;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.compression.properties.PropertyCompressor;
+import org.neo4j.gds.core.compression.uncompressed.UncompressedAdjacencyList;
+import org.neo4j.gds.core.compression.varlong.CompressedAdjacencyList;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.loading.AdjacencyListBehavior;
+import org.neo4j.gds.core.loading.ArrayIdMap;
+import org.neo4j.gds.core.loading.Capabilities;
+import org.neo4j.gds.core.loading.GraphStoreBuilder;
+import org.neo4j.gds.core.loading.ImmutableNodes;
+import org.neo4j.gds.core.loading.ImmutableStaticCapabilities;
+import org.neo4j.gds.core.loading.LabelInformation;
+import org.neo4j.gds.core.loading.LabelInformationBuilders;
+import org.neo4j.gds.core.loading.RelationshipImportResult;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Restores a {@link GraphStore} from a snapshot written by {@link GraphStoreSnapshotWriter}.
+ * Every file is read by its own task, adjacency pages are copied in bulk from the mapped file.
+ * <p>
+ * A snapshot can also be restored lazily, in which case only the nodes are read upfront.
+ * Topologies and relationship properties are read page by page when they are first accessed,
+ * all lazily restored graphs share one budget for their resident pages, see {@link SnapshotResidency}.
+ */
+public final class GraphStoreSnapshotReader {
+
+    public record Snapshot(
+        String username,
+        String graphName,
+        Map<String, Object> projectConfiguration,
+        GraphStore graphStore,
+        long sizeInBytes
+    ) {}
+
+    private final Path directory;
+    private final Concurrency concurrency;
+    private final Optional<SnapshotResidency> residency;
+    private final AtomicLong bytesRead;
+    private final List<Runnable> pendingProperties;
+
+    private String username;
+    private String graphName;
+    private Map<String, Object> projectConfiguration;
+    private DatabaseInfo databaseInfo;
+    private Capabilities.WriteMode writeMode;
+    private long nodeCount;
+    private long highestOriginalId;
+    private List<NodeLabel> labels;
+    private MutableNodeSchema nodeSchema;
+    private List<PropertySchema> nodePropertySchemas;
+    private List<RelationshipTypeMetadata> relationshipTypes;
+
+    public static Snapshot read(Path directory, Concurrency concurrency) {
+        return new GraphStoreSnapshotReader(directory, concurrency, Optional.empty()).run();
+    }
+
+    public static Snapshot readLazily(Path directory, Concurrency concurrency) {
+        return readLazily(directory, concurrency, SnapshotResidency.global());
+    }
+
+    static Snapshot readLazily(Path directory, Concurrency concurrency, SnapshotResidency residency) {
+        return new GraphStoreSnapshotReader(directory, concurrency, Optional.of(residency)).run();
+    }
+
+    /**
+     * Limits the number of bytes of relationship pages that all lazily restored graphs keep in memory together.
+     */
+    public static void setResidentMemoryBudget(long maxResidentBytes) {
+        SnapshotResidency.global().setMaxResidentBytes(maxResidentBytes);
+    }
+
+    private GraphStoreSnapshotReader(Path directory, Concurrency concurrency, Optional<SnapshotResidency> residency) {
+        this.directory = directory;
+        this.concurrency = concurrency;
+        this.residency = residency;
+        this.bytesRead = new AtomicLong();
+        this.pendingProperties = new ArrayList<>();
+    }
+
+    private Snapshot run() {
+        var metadataFile = directory.resolve(SnapshotFormat.METADATA_FILE);
+        if (!Files.isRegularFile(metadataFile)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`%s` does not contain a complete graph snapshot.",
+                directory
+            ));
+        }
+        try (var in = SnapshotInput.open(metadataFile)) {
+            readMetadata(in);
+            bytesRead.addAndGet(in.size());
+        }
+
+        var tasks = new ArrayList<Runnable>();
+
+        var nodeIds = new HugeLongArray[1];
+        tasks.add(readTask(SnapshotFormat.NODE_IDS_FILE, in -> nodeIds[0] = in.readLongs(nodeCount)));
+
+        LabelInformation.Builder labelInformationBuilder;
+        if (labels.size() > 1) {
+            labelInformationBuilder = LabelInformationBuilders.multiLabelWithCapacityAndLabelInformation(
+                nodeCount,
+                labels,
+                List.of()
+            );
+            for (int i = 0; i < labels.size(); i++) {
+                var label = labels.get(i);
+                tasks.add(readTask(SnapshotFormat.labelFile(i), in -> readLabel(in, label, labelInformationBuilder)));
+            }
+        } else if (labels.size() == 1 && !labels.get(0).equals(NodeLabel.ALL_NODES)) {
+            labelInformationBuilder = LabelInformationBuilders.singleLabel(labels.get(0));
+        } else {
+            labelInformationBuilder = LabelInformationBuilders.allNodes();
+        }
+
+        var nodePropertyValues = new NodePropertyValues[nodePropertySchemas.size()];
+        for (int i = 0; i < nodePropertySchemas.size(); i++) {
+            int propertyIndex = i;
+            var valueType = nodePropertySchemas.get(i).valueType();
+            tasks.add(readTask(
+                SnapshotFormat.nodePropertyFile(i),
+                in -> nodePropertyValues[propertyIndex] = readNodeProperty(in, valueType)
+            ));
+        }
+
+        for (var relationshipType : relationshipTypes) {
+            relationshipType.topology.prepare(tasks);
+            relationshipType.inverseTopology.ifPresent(inverse -> inverse.prepare(tasks));
+        }
+
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(pendingProperties)
+            .run();
+
+        var idMap = ArrayIdMap.of(
+            nodeIds[0],
+            labelInformationBuilder.build(nodeCount, nodeId -> nodeId),
+            highestOriginalId,
+            concurrency
+        );
+
+        var nodePropertyStore = NodePropertyStore.builder();
+        for (int i = 0; i < nodePropertySchemas.size(); i++) {
+            var propertySchema = nodePropertySchemas.get(i);
+            nodePropertyStore.putProperty(
+                propertySchema.key(),
+                ImmutableNodeProperty.of(nodePropertyValues[i], propertySchema)
+            );
+        }
+        var nodes = ImmutableNodes.of(nodeSchema, idMap, nodePropertyStore.build());
+
+        var relationshipsByType = new HashMap<RelationshipType, SingleTypeRelationships>();
+        for (var relationshipType : relationshipTypes) {
+            var schemaEntry = new MutableRelationshipSchemaEntry(relationshipType.type, relationshipType.direction);
+            relationshipType.topology.propertySchemas.forEach(schema -> schemaEntry.addProperty(schema.key(), schema));
+
+            var builder = SingleTypeRelationships.builder()
+                .relationshipSchemaEntry(schemaEntry)
+                .topology(relationshipType.topology.topology())
+                .properties(relationshipType.topology.properties());
+            relationshipType.inverseTopology.ifPresent(inverse -> builder
+                .inverseTopology(inverse.topology())
+                .inverseProperties(inverse.properties())
+            );
+            relationshipsByType.put(relationshipType.type, builder.build());
+        }
+        var relationshipImportResult = RelationshipImportResult.of(relationshipsByType);
+
+        var graphStore = new GraphStoreBuilder()
+            .databaseInfo(databaseInfo)
+            .capabilities(ImmutableStaticCapabilities.of(writeMode))
+            .schema(MutableGraphSchema.of(nodeSchema, relationshipImportResult.relationshipSchema(), Map.of()))
+            .nodes(nodes)
+            .relationshipImportResult(relationshipImportResult)
+            .concurrency(concurrency)
+            .build();
+
+        return new Snapshot(username, graphName, projectConfiguration, graphStore, bytesRead.get());
+    }
+
+    private void readMetadata(SnapshotInput in) {
+        var magic = in.readInt();
+        var version = in.readInt();
+        if (magic != SnapshotFormat.MAGIC || version != SnapshotFormat.VERSION) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`%s` is not a graph snapshot of version %d.",
+                directory,
+                SnapshotFormat.VERSION
+            ));
+        }
+        this.username = in.readString();
+        this.graphName = in.readString();
+        this.projectConfiguration = SnapshotFormat.readConfiguration(in);
+
+        var databaseId = DatabaseId.of(in.readString());
+        var databaseLocation = DatabaseInfo.DatabaseLocation.valueOf(in.readString());
+        this.databaseInfo = in.readBoolean()
+            ? DatabaseInfo.of(databaseId, databaseLocation, DatabaseId.of(in.readString()))
+            : DatabaseInfo.of(databaseId, databaseLocation);
+        this.writeMode = Capabilities.WriteMode.valueOf(in.readString());
+
+        this.nodeCount = in.readLong();
+        this.highestOriginalId = in.readLong();
+        int labelCount = in.readInt();
+        this.labels = new ArrayList<>(labelCount);
+        for (int i = 0; i < labelCount; i++) {
+            labels.add(NodeLabel.of(in.readString()));
+        }
+
+        this.nodeSchema = MutableNodeSchema.empty();
+        int nodeSchemaEntryCount = in.readInt();
+        for (int i = 0; i < nodeSchemaEntryCount; i++) {
+            var label = NodeLabel.of(in.readString());
+            nodeSchema.addLabel(label);
+            int propertyCount = in.readInt();
+            for (int j = 0; j < propertyCount; j++) {
+                var propertySchema = SnapshotFormat.readPropertySchema(in);
+                nodeSchema.addProperty(label, propertySchema.key(), propertySchema);
+            }
+        }
+
+        int nodePropertyCount = in.readInt();
+        this.nodePropertySchemas = new ArrayList<>(nodePropertyCount);
+        for (int i = 0; i < nodePropertyCount; i++) {
+            nodePropertySchemas.add(SnapshotFormat.readPropertySchema(in));
+        }
+
+        int relationshipTypeCount = in.readInt();
+        this.relationshipTypes = new ArrayList<>(relationshipTypeCount);
+        for (int i = 0; i < relationshipTypeCount; i++) {
+            var type = RelationshipType.of(in.readString());
+            var direction = Direction.valueOf(in.readString());
+            var topology = readTopologyMetadata(in, i, false);
+            var inverseTopology = in.readBoolean()
+                ? Optional.of(readTopologyMetadata(in, i, true))
+                : Optional.<TopologyMetadata>empty();
+            relationshipTypes.add(new RelationshipTypeMetadata(type, direction, topology, inverseTopology));
+        }
+    }
+
+    private TopologyMetadata readTopologyMetadata(SnapshotInput in, int typeIndex, boolean inverse) {
+        long elementCount = in.readLong();
+        boolean isMultiGraph = in.readBoolean();
+        int propertyCount = in.readInt();
+        var metadata = new TopologyMetadata(typeIndex, inverse, elementCount, isMultiGraph, propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            metadata.propertySchemas.add(SnapshotFormat.readRelationshipPropertySchema(in));
+            metadata.compressions[i] = PropertyCompression.valueOf(in.readString());
+            metadata.propertyElementCounts[i] = in.readLong();
+            metadata.defaultPropertyValues[i] = in.readDouble();
+        }
+        return metadata;
+    }
+
+    private Runnable readTask(String fileName, FileReader reader) {
+        return () -> {
+            try (var in = SnapshotInput.open(directory.resolve(fileName))) {
+                reader.read(in);
+                bytesRead.addAndGet(in.size());
+            }
+        };
+    }
+
+    private void readLabel(SnapshotInput in, NodeLabel label, LabelInformation.Builder labelInformationBuilder) {
+        for (long start = 0; start < nodeCount; start += Long.SIZE) {
+            long word = in.readLong();
+            while (word != 0) {
+                labelInformationBuilder.addNodeIdToLabel(label, start + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private NodePropertyValues readNodeProperty(SnapshotInput in, ValueType valueType) {
+        switch (valueType) {
+            case LONG:
+                return NodePropertyValuesAdapter.adapt(in.readLongs(nodeCount));
+            case DOUBLE:
+                return NodePropertyValuesAdapter.adapt(in.readDoubles(nodeCount));
+            case LONG_ARRAY:
+                var longArrays = HugeObjectArray.newArray(long[].class, nodeCount);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        var array = new long[length];
+                        in.readLongs(array, 0, length);
+                        longArrays.set(nodeId, array);
+                    }
+                }
+                return NodePropertyValuesAdapter.adapt(longArrays);
+            case FLOAT_ARRAY:
+                var floatArrays = HugeObjectArray.newArray(float[].class, nodeCount);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        var array = new float[length];
+                        in.readFloats(array, 0, length);
+                        floatArrays.set(nodeId, array);
+                    }
+                }
+                return NodePropertyValuesAdapter.adapt(floatArrays);
+            case DOUBLE_ARRAY:
+                var doubleArrays = HugeObjectArray.newArray(double[].class, nodeCount);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        var array = new double[length];
+                        in.readDoubles(array, 0, length);
+                        doubleArrays.set(nodeId, array);
+                    }
+                }
+                return NodePropertyValuesAdapter.adapt(doubleArrays);
+            default:
+                throw new IllegalStateException(formatWithLocale("Unexpected node property type %s.", valueType));
+        }
+    }
+
+    private static final class RelationshipTypeMetadata {
+        private final RelationshipType type;
+        private final Direction direction;
+        private final TopologyMetadata topology;
+        private final Optional<TopologyMetadata> inverseTopology;
+
+        private RelationshipTypeMetadata(
+            RelationshipType type,
+            Direction direction,
+            TopologyMetadata topology,
+            Optional<TopologyMetadata> inverseTopology
+        ) {
+            this.type = type;
+            this.direction = direction;
+            this.topology = topology;
+            this.inverseTopology = inverseTopology;
+        }
+    }
+
+    /**
+     * Metadata of a topology, filled with the adjacency list and its properties once the files have been read.
+     */
+    private final class TopologyMetadata {
+        private final int typeIndex;
+        private final boolean inverse;
+        private final long elementCount;
+        private final boolean isMultiGraph;
+        private final List<RelationshipPropertySchema> propertySchemas;
+        private final PropertyCompression[] compressions;
+        private final long[] propertyElementCounts;
+        private final double[] defaultPropertyValues;
+
+        private AdjacencyList adjacencyList;
+        private final AdjacencyProperties[] propertiesLists;
+
+        private TopologyMetadata(int typeIndex, boolean inverse, long elementCount, boolean isMultiGraph, int propertyCount) {
+            this.typeIndex = typeIndex;
+            this.inverse = inverse;
+            this.elementCount = elementCount;
+            this.isMultiGraph = isMultiGraph;
+            this.propertySchemas = new ArrayList<>(propertyCount);
+            this.compressions = new PropertyCompression[propertyCount];
+            this.propertyElementCounts = new long[propertyCount];
+            this.defaultPropertyValues = new double[propertyCount];
+            this.propertiesLists = new AdjacencyProperties[propertyCount];
+        }
+
+        /**
+         * Adds the tasks that read the files of this topology or, for a lazy restore,
+         * creates lists that read the files on first access.
+         */
+        private void prepare(List<Runnable> tasks) {
+            var topologyFile = SnapshotFormat.topologyFile(typeIndex, inverse);
+            if (residency.isPresent()) {
+                var lazyAdjacencyList = new LazyAdjacencyList(
+                    directory.resolve(topologyFile),
+                    nodeCount,
+                    residency.get()
+                );
+                this.adjacencyList = lazyAdjacencyList;
+                for (int i = 0; i < propertySchemas.size(); i++) {
+                    propertiesLists[i] = new LazyAdjacencyProperties(
+                        directory.resolve(SnapshotFormat.relationshipPropertyFile(typeIndex, inverse, i)),
+                        nodeCount,
+                        lazyAdjacencyList,
+                        residency.get()
+                    );
+                }
+                return;
+            }
+
+            tasks.add(readTask(topologyFile, in -> this.adjacencyList = readAdjacencyList(in)));
+            for (int i = 0; i < propertySchemas.size(); i++) {
+                int propertyIndex = i;
+                // properties are compressed against the adjacency list, so they are read once it is available
+                var rawProperties = new RawProperties[1];
+                tasks.add(readTask(
+                    SnapshotFormat.relationshipPropertyFile(typeIndex, inverse, i),
+                    in -> rawProperties[0] = readRawProperties(in)
+                ));
+                pendingProperties.add(() -> propertiesLists[propertyIndex] = properties(
+                    propertyIndex,
+                    rawProperties[0],
+                    adjacencyList
+                ));
+            }
+        }
+
+        private AdjacencyList readAdjacencyList(SnapshotInput in) {
+            var encoding = in.readByte();
+            var degrees = in.readInts(nodeCount);
+            if (encoding == SnapshotFormat.PACKED_ENCODING || encoding == SnapshotFormat.MIXED_ENCODING) {
+                return pack(in, encoding, degrees);
+            }
+            var offsets = in.readLongs(nodeCount);
+            switch (encoding) {
+                case SnapshotFormat.VAR_LONG_ENCODING:
+                    var bytePages = new byte[in.readInt()][];
+                    for (int i = 0; i < bytePages.length; i++) {
+                        bytePages[i] = new byte[in.readInt()];
+                        in.readBytes(bytePages[i], 0, bytePages[i].length);
+                    }
+                    return CompressedAdjacencyList.of(bytePages, degrees, offsets);
+                case SnapshotFormat.UNCOMPRESSED_ENCODING:
+                    return UncompressedAdjacencyList.of(readLongPages(in), degrees, offsets);
+                default:
+                    throw new IllegalStateException(formatWithLocale("Unknown adjacency encoding %d.", encoding));
+            }
+        }
+
+        /**
+         * Packs the decoded lists again while streaming them from the file, node by node,
+         * so that the uncompressed layout is never materialized.
+         */
+        private AdjacencyList pack(SnapshotInput in, byte encoding, HugeIntArray degrees) {
+            // the lists were aggregated when they were projected, parallel relationships are kept as they are
+            var aggregations = new Aggregation[]{Aggregation.NONE};
+            var compressorFactory = encoding == SnapshotFormat.PACKED_ENCODING
+                ? AdjacencyListBehavior.packed(() -> nodeCount, PropertyMappings.of(), aggregations, true)
+                : AdjacencyListBehavior.mixed(() -> nodeCount, PropertyMappings.of(), aggregations, true);
+            compressorFactory.init();
+
+            // the offsets of the uncompressed layout are not needed, the lists are stored in node order
+            for (long node = 0; node < nodeCount; node++) {
+                in.readLong();
+            }
+            in.readInt();
+
+            try (var compressor = compressorFactory.createCompressor()) {
+                var targets = new long[0];
+                long pageEnd = 0;
+                long read = 0;
+                for (long node = 0; node < nodeCount; node++) {
+                    int degree = degrees.get(node);
+                    if (degree == 0) {
+                        continue;
+                    }
+                    if (read == pageEnd) {
+                        pageEnd += in.readInt();
+                    }
+                    if (targets.length < degree) {
+                        targets = new long[degree];
+                    }
+                    in.readLongs(targets, 0, degree);
+                    compressor.compress(node, targets, null, degree);
+                    read += degree;
+                }
+            }
+            return compressorFactory.build(false).adjacency();
+        }
+
+        private RawProperties readRawProperties(SnapshotInput in) {
+            var offsets = in.readLongs(nodeCount);
+            return new RawProperties(offsets, readLongPages(in));
+        }
+
+        private AdjacencyProperties properties(int propertyIndex, RawProperties rawProperties, AdjacencyList adjacencyList) {
+            var propertiesList = UncompressedAdjacencyList.of(
+                rawProperties.pages,
+                degrees(adjacencyList),
+                rawProperties.offsets
+            );
+            // the properties are already restored in parallel to each other
+            return PropertyCompressor.compress(
+                propertySchemas.get(propertyIndex).key(),
+                adjacencyList,
+                propertiesList,
+                nodeCount,
+                elementCount,
+                compressions[propertyIndex],
+                new Concurrency(1)
+            );
+        }
+
+        private Topology topology() {
+            return ImmutableTopology.of(adjacencyList, elementCount, isMultiGraph);
+        }
+
+        private Optional<RelationshipPropertyStore> properties() {
+            if (propertySchemas.isEmpty()) {
+                return Optional.empty();
+            }
+            var propertyStore = RelationshipPropertyStore.builder();
+            for (int i = 0; i < propertySchemas.size(); i++) {
+                var propertySchema = propertySchemas.get(i);
+                propertyStore.putRelationshipProperty(
+                    propertySchema.key(),
+                    ImmutableRelationshipProperty.of(
+                        ImmutableProperties.of(propertiesLists[i], propertyElementCounts[i], defaultPropertyValues[i]),
+                        propertySchema
+                    )
+                );
+            }
+            return Optional.of(propertyStore.build());
+        }
+    }
+
+    private record RawProperties(HugeLongArray offsets, long[][] pages) {}
+
+    private HugeIntArray degrees(AdjacencyList adjacencyList) {
+        if (adjacencyList instanceof CompressedAdjacencyList) {
+            return ((CompressedAdjacencyList) adjacencyList).degrees();
+        }
+        if (adjacencyList instanceof UncompressedAdjacencyList) {
+            return ((UncompressedAdjacencyList) adjacencyList).degrees();
+        }
+        // packed and mixed lists do not expose their degrees
+        var degrees = HugeIntArray.newArray(nodeCount);
+        degrees.setAll(adjacencyList::degree);
+        return degrees;
+    }
+
+    private static long[][] readLongPages(SnapshotInput in) {
+        var pages = new long[in.readInt()][];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = new long[in.readInt()];
+            in.readLongs(pages[i], 0, pages[i].length);
+        }
+        return pages;
+    }
+
+    @FunctionalInterface
+    private interface FileReader {
+        void read(SnapshotInput in);
+    }
+}
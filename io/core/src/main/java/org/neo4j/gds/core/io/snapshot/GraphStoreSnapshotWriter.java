@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.api.Topology;
+import org.neo4j.gds.api.properties.nodes.NodePropertyValues;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.api.properties.relationships.RelationshipPropertyStore;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.PropertyCompression;
+import org.neo4j.gds.core.compression.common.BumpAllocator;
+import org.neo4j.gds.core.compression.mixed.MixedAdjacencyList;
+import org.neo4j.gds.core.compression.packed.PackedAdjacencyList;
+import org.neo4j.gds.core.compression.properties.CompressedAdjacencyProperties;
+import org.neo4j.gds.core.compression.uncompressed.UncompressedAdjacencyList;
+import org.neo4j.gds.core.compression.varlong.CompressedAdjacencyList;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.core.loading.SingleTypeRelationships;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a {@link GraphStore} as a snapshot, see {@link SnapshotFormat} for the layout.
+ * Every file is written by its own task, the metadata file is written last,
+ * so that a snapshot without metadata is recognizable as incomplete.
+ */
+public final class GraphStoreSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CSRGraphStore graphStore;
+    private final String username;
+    private final String graphName;
+    private final Map<String, Object> projectConfiguration;
+    private final Path directory;
+    private final Concurrency concurrency;
+
+    private final List<NodeLabel> labels;
+    private final List<String> nodePropertyKeys;
+    private final List<RelationshipType> relationshipTypes;
+    private final AtomicLong bytesWritten;
+
+    // the id map may report an upper bound, the restored id map is sized by the actual highest id
+    private long highestOriginalId;
+
+    /**
+     * @param projectConfig the configuration the graph was projected with, it is restored together with the graph
+     * @return the number of bytes written
+     */
+    public static long write(
+        GraphStore graphStore,
+        GraphProjectConfig projectConfig,
+        Path directory,
+        Concurrency concurrency
+    ) {
+        var graphName = projectConfig.graphName();
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Graph `%s` cannot be snapshotted, only projected graphs are supported.",
+                graphName
+            ));
+        }
+        if (!graphStore.graphPropertyKeys().isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Graph `%s` cannot be snapshotted, graph properties are not supported.",
+                graphName
+            ));
+        }
+        return new GraphStoreSnapshotWriter((CSRGraphStore) graphStore, projectConfig, directory, concurrency).run();
+    }
+
+    private GraphStoreSnapshotWriter(
+        CSRGraphStore graphStore,
+        GraphProjectConfig projectConfig,
+        Path directory,
+        Concurrency concurrency
+    ) {
+        this.graphStore = graphStore;
+        this.username = projectConfig.username();
+        this.graphName = projectConfig.graphName();
+        this.projectConfiguration = projectConfig.asProcedureResultConfigurationField();
+        this.directory = directory;
+        this.concurrency = concurrency;
+        this.labels = graphStore.nodes().availableNodeLabels().stream()
+            .sorted(Comparator.comparing(NodeLabel::name))
+            .collect(Collectors.toList());
+        this.nodePropertyKeys = graphStore.nodePropertyKeys().stream().sorted().collect(Collectors.toList());
+        this.relationshipTypes = graphStore.relationshipTypes().stream()
+            .sorted(Comparator.comparing(RelationshipType::name))
+            .collect(Collectors.toList());
+        this.bytesWritten = new AtomicLong();
+    }
+
+    private long run() {
+        var tasks = new ArrayList<Runnable>();
+        tasks.add(() -> writeFile(SnapshotFormat.NODE_IDS_FILE, this::writeNodeIds));
+        if (labels.size() > 1) {
+            for (int i = 0; i < labels.size(); i++) {
+                var label = labels.get(i);
+                tasks.add(writeTask(SnapshotFormat.labelFile(i), out -> writeLabel(out, label)));
+            }
+        }
+        for (int i = 0; i < nodePropertyKeys.size(); i++) {
+            var values = graphStore.nodeProperty(nodePropertyKeys.get(i)).values();
+            tasks.add(writeTask(SnapshotFormat.nodePropertyFile(i), out -> writeNodeProperty(out, values)));
+        }
+        for (int i = 0; i < relationshipTypes.size(); i++) {
+            var relationships = relationships(relationshipTypes.get(i));
+            addRelationshipTasks(tasks, i, false, relationships.topology(), relationships.properties());
+            int typeIndex = i;
+            relationships.inverseTopology().ifPresent(inverseTopology -> addRelationshipTasks(
+                tasks,
+                typeIndex,
+                true,
+                inverseTopology,
+                relationships.inverseProperties()
+            ));
+        }
+
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(tasks)
+            .run();
+
+        writeFile(SnapshotFormat.METADATA_FILE, this::writeMetadata);
+        return bytesWritten.get();
+    }
+
+    private void addRelationshipTasks(
+        List<Runnable> tasks,
+        int typeIndex,
+        boolean inverse,
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties
+    ) {
+        var adjacencyList = topology.adjacencyList();
+        tasks.add(writeTask(
+            SnapshotFormat.topologyFile(typeIndex, inverse),
+            out -> writeAdjacencyList(out, adjacencyList)
+        ));
+        properties.ifPresent(propertyStore -> {
+            var propertyKeys = sortedKeys(propertyStore);
+            for (int j = 0; j < propertyKeys.size(); j++) {
+                var propertiesList = propertyStore.get(propertyKeys.get(j)).values().propertiesList();
+                tasks.add(writeTask(
+                    SnapshotFormat.relationshipPropertyFile(typeIndex, inverse, j),
+                    out -> writeAdjacencyProperties(out, adjacencyList, propertiesList)
+                ));
+            }
+        });
+    }
+
+    private Runnable writeTask(String fileName, FileWriter writer) {
+        return () -> writeFile(fileName, writer);
+    }
+
+    private void writeFile(String fileName, FileWriter writer) {
+        try (var out = SnapshotOutput.create(directory.resolve(fileName))) {
+            writer.write(out);
+            bytesWritten.addAndGet(out.bytesWritten());
+        }
+    }
+
+    private void writeMetadata(SnapshotOutput out) {
+        out.writeInt(SnapshotFormat.MAGIC);
+        out.writeInt(SnapshotFormat.VERSION);
+        out.writeString(username);
+        out.writeString(graphName);
+        SnapshotFormat.writeConfiguration(out, projectConfiguration);
+
+        var databaseInfo = graphStore.databaseInfo();
+        out.writeString(databaseInfo.databaseId().databaseName());
+        out.writeString(databaseInfo.databaseLocation().name());
+        out.writeBoolean(databaseInfo.remoteDatabaseId().isPresent());
+        databaseInfo.remoteDatabaseId().ifPresent(remoteDatabaseId -> out.writeString(remoteDatabaseId.databaseName()));
+        out.writeString(graphStore.capabilities().writeMode().name());
+
+        var idMap = graphStore.nodes();
+        out.writeLong(idMap.nodeCount());
+        out.writeLong(highestOriginalId);
+        out.writeInt(labels.size());
+        labels.forEach(label -> out.writeString(label.name()));
+
+        var nodeSchemaEntries = new ArrayList<>(graphStore.schema().nodeSchema().entries());
+        out.writeInt(nodeSchemaEntries.size());
+        for (var entry : nodeSchemaEntries) {
+            out.writeString(entry.identifier().name());
+            var properties = entry.properties().values();
+            out.writeInt(properties.size());
+            properties.forEach(propertySchema -> SnapshotFormat.writePropertySchema(out, propertySchema));
+        }
+
+        out.writeInt(nodePropertyKeys.size());
+        for (var propertyKey : nodePropertyKeys) {
+            SnapshotFormat.writePropertySchema(out, graphStore.nodeProperty(propertyKey).propertySchema());
+        }
+
+        out.writeInt(relationshipTypes.size());
+        for (var relationshipType : relationshipTypes) {
+            var relationships = relationships(relationshipType);
+            out.writeString(relationshipType.name());
+            out.writeString(relationships.relationshipSchemaEntry().direction().name());
+            writeTopologyMetadata(out, relationships.topology(), relationships.properties());
+            out.writeBoolean(relationships.inverseTopology().isPresent());
+            relationships.inverseTopology().ifPresent(inverseTopology -> writeTopologyMetadata(
+                out,
+                inverseTopology,
+                relationships.inverseProperties()
+            ));
+        }
+    }
+
+    private static void writeTopologyMetadata(
+        SnapshotOutput out,
+        Topology topology,
+        Optional<RelationshipPropertyStore> properties
+    ) {
+        out.writeLong(topology.elementCount());
+        out.writeBoolean(topology.isMultiGraph());
+        var propertyKeys = properties.map(GraphStoreSnapshotWriter::sortedKeys).orElse(List.of());
+        out.writeInt(propertyKeys.size());
+        for (var propertyKey : propertyKeys) {
+            var relationshipProperty = properties.get().get(propertyKey);
+            var values = relationshipProperty.values();
+            SnapshotFormat.writeRelationshipPropertySchema(out, relationshipProperty.propertySchema());
+            var compression = values.propertiesList() instanceof CompressedAdjacencyProperties
+                ? ((CompressedAdjacencyProperties) values.propertiesList()).compression()
+                : PropertyCompression.NONE;
+            out.writeString(compression.name());
+            out.writeLong(values.elementCount());
+            out.writeDouble(values.defaultPropertyValue());
+        }
+    }
+
+    private void writeNodeIds(SnapshotOutput out) {
+        IdMap idMap = graphStore.nodes();
+        var buffer = new long[BUFFER_SIZE];
+        long nodeCount = idMap.nodeCount();
+        long highestId = 0;
+        for (long start = 0; start < nodeCount; start += BUFFER_SIZE) {
+            int length = (int) Math.min(BUFFER_SIZE, nodeCount - start);
+            for (int i = 0; i < length; i++) {
+                buffer[i] = idMap.toOriginalNodeId(start + i);
+                highestId = Math.max(highestId, buffer[i]);
+            }
+            out.writeLongs(buffer, 0, length);
+        }
+        this.highestOriginalId = highestId;
+    }
+
+    private void writeLabel(SnapshotOutput out, NodeLabel label) {
+        IdMap idMap = graphStore.nodes();
+        long nodeCount = idMap.nodeCount();
+        for (long start = 0; start < nodeCount; start += Long.SIZE) {
+            long word = 0;
+            long end = Math.min(start + Long.SIZE, nodeCount);
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (idMap.hasLabel(nodeId, label)) {
+                    word |= 1L << (nodeId - start);
+                }
+            }
+            out.writeLong(word);
+        }
+    }
+
+    private void writeNodeProperty(SnapshotOutput out, NodePropertyValues values) {
+        long nodeCount = graphStore.nodeCount();
+        switch (values.valueType()) {
+            case LONG:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLong(values.longValue(nodeId));
+                }
+                break;
+            case DOUBLE:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDouble(values.doubleValue(nodeId));
+                }
+                break;
+            case LONG_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    var array = values.longArrayValue(nodeId);
+                    out.writeInt(array == null ? -1 : array.length);
+                    if (array != null) {
+                        out.writeLongs(array, 0, array.length);
+                    }
+                }
+                break;
+            case FLOAT_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    var array = values.floatArrayValue(nodeId);
+                    out.writeInt(array == null ? -1 : array.length);
+                    if (array != null) {
+                        out.writeFloats(array, 0, array.length);
+                    }
+                }
+                break;
+            case DOUBLE_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    var array = values.doubleArrayValue(nodeId);
+                    out.writeInt(array == null ? -1 : array.length);
+                    if (array != null) {
+                        out.writeDoubles(array, 0, array.length);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node properties of type %s are not supported by snapshots.",
+                    values.valueType()
+                ));
+        }
+    }
+
+    private void writeAdjacencyList(SnapshotOutput out, AdjacencyList adjacencyList) {
+        if (adjacencyList instanceof CompressedAdjacencyList) {
+            var compressed = (CompressedAdjacencyList) adjacencyList;
+            out.writeByte(SnapshotFormat.VAR_LONG_ENCODING);
+            out.writeInts(compressed.degrees());
+            out.writeLongs(compressed.offsets());
+            out.writeInt(compressed.pages().length);
+            for (byte[] page : compressed.pages()) {
+                out.writeInt(page.length);
+                out.writeBytes(page, 0, page.length);
+            }
+        } else if (adjacencyList instanceof UncompressedAdjacencyList) {
+            var uncompressed = (UncompressedAdjacencyList) adjacencyList;
+            out.writeByte(SnapshotFormat.UNCOMPRESSED_ENCODING);
+            out.writeInts(uncompressed.degrees());
+            writeLongPages(out, uncompressed.offsets(), uncompressed.pages());
+        } else {
+            // packed and mixed lists are not backed by heap pages, they are decoded into the uncompressed layout
+            // and tagged with their encoding, so that they are packed again when they are restored
+            if (adjacencyList instanceof PackedAdjacencyList) {
+                out.writeByte(SnapshotFormat.PACKED_ENCODING);
+            } else if (adjacencyList instanceof MixedAdjacencyList) {
+                out.writeByte(SnapshotFormat.MIXED_ENCODING);
+            } else {
+                out.writeByte(SnapshotFormat.UNCOMPRESSED_ENCODING);
+            }
+            long nodeCount = graphStore.nodeCount();
+            for (long node = 0; node < nodeCount; node++) {
+                out.writeInt(adjacencyList.degree(node));
+            }
+            var buffer = new long[BUFFER_SIZE];
+            AdjacencyCursor[] cursor = {adjacencyList.rawAdjacencyCursor()};
+            writeDecoded(out, adjacencyList, (node, into) -> {
+                cursor[0] = adjacencyList.adjacencyCursor(cursor[0], node);
+                int count = 0;
+                int read;
+                while ((read = cursor[0].nextBatch(buffer, buffer.length)) > 0) {
+                    into.writeLongs(buffer, 0, read);
+                    count += read;
+                }
+                return count;
+            });
+        }
+    }
+
+    private void writeAdjacencyProperties(
+        SnapshotOutput out,
+        AdjacencyList adjacencyList,
+        AdjacencyProperties properties
+    ) {
+        if (properties instanceof UncompressedAdjacencyList) {
+            var uncompressed = (UncompressedAdjacencyList) properties;
+            writeLongPages(out, uncompressed.offsets(), uncompressed.pages());
+        } else {
+            // compressed properties are stored decoded and compressed again when the snapshot is restored
+            var buffer = new long[BUFFER_SIZE];
+            PropertyCursor[] cursor = {properties.rawPropertyCursor()};
+            writeDecoded(out, adjacencyList, (node, into) -> {
+                cursor[0] = properties.propertyCursor(cursor[0], node, Double.NaN);
+                int count = 0;
+                while (cursor[0].hasNextLong()) {
+                    int length = 0;
+                    while (length < buffer.length && cursor[0].hasNextLong()) {
+                        buffer[length++] = cursor[0].nextLong();
+                    }
+                    into.writeLongs(buffer, 0, length);
+                    count += length;
+                }
+                return count;
+            });
+        }
+    }
+
+    private static void writeLongPages(SnapshotOutput out, HugeLongArray offsets, long[][] pages) {
+        out.writeLongs(offsets);
+        out.writeInt(pages.length);
+        for (long[] page : pages) {
+            out.writeInt(page.length);
+            out.writeLongs(page, 0, page.length);
+        }
+    }
+
+    /**
+     * Writes offsets and pages in the uncompressed layout, placing the lists of consecutive nodes
+     * the same way the {@link BumpAllocator} does: a list never spans two pages and
+     * lists that are larger than a page get a page of their own.
+     */
+    private void writeDecoded(SnapshotOutput out, AdjacencyList adjacencyList, NodeDecoder decoder) {
+        long nodeCount = graphStore.nodeCount();
+        var pageLengths = new ArrayList<Integer>();
+        int pageLength = 0;
+        for (long node = 0; node < nodeCount; node++) {
+            int degree = adjacencyList.degree(node);
+            if (degree == 0) {
+                out.writeLong(0L);
+                continue;
+            }
+            if (pageLength + degree > BumpAllocator.PAGE_SIZE && pageLength > 0) {
+                pageLengths.add(pageLength);
+                pageLength = 0;
+            }
+            out.writeLong(((long) pageLengths.size() << BumpAllocator.PAGE_SHIFT) | pageLength);
+            pageLength += degree;
+        }
+        if (pageLength > 0) {
+            pageLengths.add(pageLength);
+        }
+
+        out.writeInt(pageLengths.size());
+        int page = -1;
+        long pageEnd = 0;
+        long written = 0;
+        for (long node = 0; node < nodeCount; node++) {
+            int degree = adjacencyList.degree(node);
+            if (degree == 0) {
+                continue;
+            }
+            if (written == pageEnd) {
+                page++;
+                out.writeInt(pageLengths.get(page));
+                pageEnd += pageLengths.get(page);
+            }
+            int count = decoder.decode(node, out);
+            if (count != degree) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Expected %d values for node %d but decoded %d.",
+                    degree,
+                    node,
+                    count
+                ));
+            }
+            written += count;
+        }
+    }
+
+    private SingleTypeRelationships relationships(RelationshipType relationshipType) {
+        return graphStore.relationships(relationshipType).orElseThrow();
+    }
+
+    private static List<String> sortedKeys(RelationshipPropertyStore propertyStore) {
+        return propertyStore.keySet().stream().sorted().collect(Collectors.toList());
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(SnapshotOutput out);
+    }
+
+    @FunctionalInterface
+    private interface NodeDecoder {
+        int decode(long node, SnapshotOutput out);
+    }
+}
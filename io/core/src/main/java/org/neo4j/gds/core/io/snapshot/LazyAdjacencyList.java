@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.api.AdjacencyCursor;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.collections.ha.HugeIntArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.compression.MemoryInfo;
+import org.neo4j.gds.core.compression.common.BumpAllocator;
+import org.neo4j.gds.core.compression.uncompressed.UncompressedAdjacencyList;
+import org.neo4j.gds.core.compression.varlong.CompressedAdjacencyList;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.neo4j.gds.collections.PageUtil.indexInPage;
+import static org.neo4j.gds.collections.PageUtil.pageIndex;
+
+/**
+ * An adjacency list that is read from a snapshot on first access.
+ * The degrees and offsets are read once and stay in memory,
+ * the pages are read when a cursor is positioned on them and may be dropped again, see {@link SnapshotResidency}.
+ * <p>
+ * Lists that have been packed are served in the uncompressed layout they are stored in.
+ */
+final class LazyAdjacencyList implements AdjacencyList {
+
+    private final Path file;
+    private final long nodeCount;
+    private final SnapshotResidency residency;
+
+    private volatile Index index;
+
+    LazyAdjacencyList(Path file, long nodeCount, SnapshotResidency residency) {
+        this.file = file;
+        this.nodeCount = nodeCount;
+        this.residency = residency;
+    }
+
+    @Override
+    public int degree(long node) {
+        return index().degrees.get(node);
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(long node, double fallbackValue) {
+        return adjacencyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public AdjacencyCursor adjacencyCursor(@Nullable AdjacencyCursor reuse, long node, double fallbackValue) {
+        var currentIndex = index();
+        var degree = currentIndex.degrees.get(node);
+        if (degree == 0) {
+            return AdjacencyCursor.empty();
+        }
+        var cursor = reuse instanceof LazyCursor ? reuse : new LazyCursor(currentIndex);
+        cursor.init(currentIndex.offsets.get(node), degree);
+        return cursor;
+    }
+
+    @Override
+    public AdjacencyCursor rawAdjacencyCursor() {
+        return new LazyCursor(index());
+    }
+
+    @Override
+    public MemoryInfo memoryInfo() {
+        // the pages are shared with all other lazily restored graphs and may be dropped at any time
+        return MemoryInfo.EMPTY;
+    }
+
+    HugeIntArray degrees() {
+        return index().degrees;
+    }
+
+    private Index index() {
+        var currentIndex = index;
+        return currentIndex != null ? currentIndex : loadIndex();
+    }
+
+    private synchronized Index loadIndex() {
+        if (index != null) {
+            return index;
+        }
+        try (var in = SnapshotInput.open(file)) {
+            var encoding = in.readByte();
+            var degrees = in.readInts(nodeCount);
+            var offsets = in.readLongs(nodeCount);
+            var pages = encoding == SnapshotFormat.VAR_LONG_ENCODING
+                ? residency.bytePages(file, in)
+                : residency.longPages(file, in);
+            index = new Index(encoding == SnapshotFormat.VAR_LONG_ENCODING, degrees, offsets, pages);
+        }
+        return index;
+    }
+
+    private record Index(
+        boolean varLongEncoded,
+        HugeIntArray degrees,
+        HugeLongArray offsets,
+        List<? extends SnapshotResidency.Page<?>> pages
+    ) {}
+
+    /**
+     * Positions a cursor of the stored encoding on a single page, which is resolved on every {@code init}.
+     */
+    private static final class LazyCursor implements AdjacencyCursor {
+        private final List<? extends SnapshotResidency.Page<?>> pages;
+        private final Object[] currentPage;
+        private final AdjacencyCursor cursor;
+
+        private LazyCursor(Index index) {
+            this.pages = index.pages;
+            if (index.varLongEncoded) {
+                var bytePage = new byte[1][];
+                this.currentPage = bytePage;
+                this.cursor = CompressedAdjacencyList.cursor(bytePage);
+            } else {
+                var longPage = new long[1][];
+                this.currentPage = longPage;
+                this.cursor = UncompressedAdjacencyList.cursor(longPage);
+            }
+        }
+
+        @Override
+        public void init(long index, int degree) {
+            currentPage[0] = pages.get(pageIndex(index, BumpAllocator.PAGE_SHIFT)).get();
+            cursor.init(indexInPage(index, BumpAllocator.PAGE_MASK), degree);
+        }
+
+        @Override
+        public int size() {
+            return cursor.size();
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return cursor.hasNextVLong();
+        }
+
+        @Override
+        public long nextVLong() {
+            return cursor.nextVLong();
+        }
+
+        @Override
+        public long peekVLong() {
+            return cursor.peekVLong();
+        }
+
+        @Override
+        public int remaining() {
+            return cursor.remaining();
+        }
+
+        @Override
+        public long skipUntil(long nodeId) {
+            return cursor.skipUntil(nodeId);
+        }
+
+        @Override
+        public long advance(long nodeId) {
+            return cursor.advance(nodeId);
+        }
+
+        @Override
+        public long advanceBy(int n) {
+            return cursor.advanceBy(n);
+        }
+
+        @Override
+        public int nextBatch(long[] buffer, int max) {
+            return cursor.nextBatch(buffer, max);
+        }
+    }
+}
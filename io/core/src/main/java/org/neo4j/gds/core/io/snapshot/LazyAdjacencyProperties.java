@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.api.AdjacencyProperties;
+import org.neo4j.gds.api.properties.relationships.PropertyCursor;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.compression.common.BumpAllocator;
+import org.neo4j.gds.core.compression.uncompressed.UncompressedAdjacencyList;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.neo4j.gds.collections.PageUtil.indexInPage;
+import static org.neo4j.gds.collections.PageUtil.pageIndex;
+
+/**
+ * Relationship properties that are read from a snapshot on first access.
+ * The offsets are read once and stay in memory,
+ * the pages are read when a cursor is positioned on them and may be dropped again, see {@link SnapshotResidency}.
+ * <p>
+ * The properties are served in the uncompressed layout they are stored in.
+ */
+final class LazyAdjacencyProperties implements AdjacencyProperties {
+
+    private final Path file;
+    private final long nodeCount;
+    private final LazyAdjacencyList adjacencyList;
+    private final SnapshotResidency residency;
+
+    private volatile Index index;
+
+    LazyAdjacencyProperties(Path file, long nodeCount, LazyAdjacencyList adjacencyList, SnapshotResidency residency) {
+        this.file = file;
+        this.nodeCount = nodeCount;
+        this.adjacencyList = adjacencyList;
+        this.residency = residency;
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(long node, double fallbackValue) {
+        return propertyCursor(null, node, fallbackValue);
+    }
+
+    @Override
+    public PropertyCursor propertyCursor(PropertyCursor reuse, long node, double fallbackValue) {
+        var degree = adjacencyList.degree(node);
+        if (degree == 0) {
+            return PropertyCursor.empty();
+        }
+        var currentIndex = index();
+        var cursor = reuse instanceof LazyCursor ? reuse : new LazyCursor(currentIndex.pages);
+        cursor.init(currentIndex.offsets.get(node), degree);
+        return cursor;
+    }
+
+    @Override
+    public PropertyCursor rawPropertyCursor() {
+        return new LazyCursor(index().pages);
+    }
+
+    private Index index() {
+        var currentIndex = index;
+        return currentIndex != null ? currentIndex : loadIndex();
+    }
+
+    private synchronized Index loadIndex() {
+        if (index != null) {
+            return index;
+        }
+        try (var in = SnapshotInput.open(file)) {
+            var offsets = in.readLongs(nodeCount);
+            index = new Index(offsets, residency.longPages(file, in));
+        }
+        return index;
+    }
+
+    private record Index(HugeLongArray offsets, List<SnapshotResidency.Page<long[]>> pages) {}
+
+    /**
+     * Positions an uncompressed cursor on a single page, which is resolved on every {@code init}.
+     */
+    private static final class LazyCursor implements PropertyCursor {
+        private final List<SnapshotResidency.Page<long[]>> pages;
+        private final long[][] currentPage;
+        private final UncompressedAdjacencyList.Cursor cursor;
+
+        private LazyCursor(List<SnapshotResidency.Page<long[]>> pages) {
+            this.pages = pages;
+            this.currentPage = new long[1][];
+            this.cursor = UncompressedAdjacencyList.cursor(currentPage);
+        }
+
+        @Override
+        public void init(long index, int degree) {
+            currentPage[0] = pages.get(pageIndex(index, BumpAllocator.PAGE_SHIFT)).get();
+            cursor.init(indexInPage(index, BumpAllocator.PAGE_MASK), degree);
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return cursor.hasNextLong();
+        }
+
+        @Override
+        public long nextLong() {
+            return cursor.nextLong();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.api.DefaultValue;
+import org.neo4j.gds.api.PropertyState;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.api.schema.RelationshipPropertySchema;
+import org.neo4j.gds.core.Aggregation;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Layout of a graph store snapshot.
+ * <p>
+ * A snapshot is a directory with one metadata file and one file per array-like component of the graph store,
+ * so that the components can be written and read in parallel:
+ * <ul>
+ *     <li>{@value #METADATA_FILE} contains the projection configuration, the schema, the counts
+ *     and the encodings of all other files</li>
+ *     <li>{@value #NODE_IDS_FILE} contains the original id of every internal node id</li>
+ *     <li>{@code nodes.label.<i>} contains the node label bit sets if there are multiple labels</li>
+ *     <li>{@code nodes.property.<i>} contains the values of a node property</li>
+ *     <li>{@code relationships.<i>[.inverse]} contains the topology of a relationship type</li>
+ *     <li>{@code relationships.<i>[.inverse].property.<j>} contains the values of a relationship property</li>
+ * </ul>
+ * Adjacency lists are dumped page by page in the encoding they have in memory, together with their degrees and offsets.
+ * Packed and mixed adjacency lists live off-heap, they are decoded into the uncompressed layout
+ * and packed again when the snapshot is restored.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x47445353; // GDSS
+    static final int VERSION = 2;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final String METADATA_FILE = "graph.meta";
+    static final String NODE_IDS_FILE = "nodes.ids";
+
+    /**
+     * Pages of a {@link org.neo4j.gds.core.compression.varlong.CompressedAdjacencyList}.
+     */
+    static final byte VAR_LONG_ENCODING = 1;
+    /**
+     * Pages of a {@link org.neo4j.gds.core.compression.uncompressed.UncompressedAdjacencyList}.
+     */
+    static final byte UNCOMPRESSED_ENCODING = 2;
+    /**
+     * A {@link org.neo4j.gds.core.compression.packed.PackedAdjacencyList} in the uncompressed layout.
+     */
+    static final byte PACKED_ENCODING = 3;
+    /**
+     * A {@link org.neo4j.gds.core.compression.mixed.MixedAdjacencyList} in the uncompressed layout.
+     */
+    static final byte MIXED_ENCODING = 4;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte INT_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte FLOAT_VALUE = 3;
+    private static final byte DOUBLE_VALUE = 4;
+    private static final byte LONG_ARRAY_VALUE = 5;
+    private static final byte FLOAT_ARRAY_VALUE = 6;
+    private static final byte DOUBLE_ARRAY_VALUE = 7;
+    private static final byte BOOLEAN_VALUE = 8;
+    private static final byte STRING_VALUE = 9;
+    private static final byte LIST_VALUE = 10;
+    private static final byte MAP_VALUE = 11;
+
+    private SnapshotFormat() {}
+
+    static String labelFile(int labelIndex) {
+        return "nodes.label." + labelIndex;
+    }
+
+    static String nodePropertyFile(int propertyIndex) {
+        return "nodes.property." + propertyIndex;
+    }
+
+    static String topologyFile(int typeIndex, boolean inverse) {
+        return "relationships." + typeIndex + (inverse ? ".inverse" : "");
+    }
+
+    static String relationshipPropertyFile(int typeIndex, boolean inverse, int propertyIndex) {
+        return topologyFile(typeIndex, inverse) + ".property." + propertyIndex;
+    }
+
+    static void writePropertySchema(SnapshotOutput out, PropertySchema propertySchema) {
+        out.writeString(propertySchema.key());
+        out.writeString(propertySchema.valueType().name());
+        writeDefaultValue(out, propertySchema.defaultValue());
+        out.writeString(propertySchema.state().name());
+    }
+
+    static PropertySchema readPropertySchema(SnapshotInput in) {
+        var key = in.readString();
+        var valueType = ValueType.valueOf(in.readString());
+        var defaultValue = readDefaultValue(in);
+        var state = PropertyState.valueOf(in.readString());
+        return PropertySchema.of(key, valueType, defaultValue, state);
+    }
+
+    static void writeRelationshipPropertySchema(SnapshotOutput out, RelationshipPropertySchema propertySchema) {
+        writePropertySchema(out, propertySchema);
+        out.writeString(propertySchema.aggregation().name());
+    }
+
+    static RelationshipPropertySchema readRelationshipPropertySchema(SnapshotInput in) {
+        var propertySchema = readPropertySchema(in);
+        var aggregation = Aggregation.valueOf(in.readString());
+        return RelationshipPropertySchema.of(
+            propertySchema.key(),
+            propertySchema.valueType(),
+            propertySchema.defaultValue(),
+            propertySchema.state(),
+            aggregation
+        );
+    }
+
+    /**
+     * Writes the projection configuration as reported by {@code gds.graph.list}.
+     * Values that are neither numbers, strings, booleans, arrays, lists nor maps
+     * are kept as their string representation.
+     */
+    static void writeConfiguration(SnapshotOutput out, Map<String, Object> configuration) {
+        writeConfigurationValue(out, configuration);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readConfiguration(SnapshotInput in) {
+        return (Map<String, Object>) readValue(in);
+    }
+
+    private static void writeConfigurationValue(SnapshotOutput out, Object value) {
+        if (value instanceof Map) {
+            var map = (Map<?, ?>) value;
+            out.writeByte(MAP_VALUE);
+            out.writeInt(map.size());
+            map.forEach((key, entryValue) -> {
+                out.writeString(String.valueOf(key));
+                writeConfigurationValue(out, entryValue);
+            });
+        } else if (value instanceof Collection) {
+            var collection = (Collection<?>) value;
+            out.writeByte(LIST_VALUE);
+            out.writeInt(collection.size());
+            collection.forEach(element -> writeConfigurationValue(out, element));
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (isValue(value)) {
+            writeValue(out, value);
+        } else {
+            out.writeByte(STRING_VALUE);
+            out.writeString(String.valueOf(value));
+        }
+    }
+
+    private static boolean isValue(Object value) {
+        return value == null
+            || value instanceof Integer
+            || value instanceof Long
+            || value instanceof Float
+            || value instanceof Double
+            || value instanceof long[]
+            || value instanceof float[]
+            || value instanceof double[];
+    }
+
+    private static void writeDefaultValue(SnapshotOutput out, DefaultValue defaultValue) {
+        out.writeBoolean(defaultValue.isUserDefined());
+        writeValue(out, defaultValue.getObject());
+    }
+
+    private static DefaultValue readDefaultValue(SnapshotInput in) {
+        var isUserDefined = in.readBoolean();
+        return DefaultValue.of(readValue(in), isUserDefined);
+    }
+
+    private static void writeValue(SnapshotOutput out, Object value) {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeDouble((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof long[]) {
+            var array = (long[]) value;
+            out.writeByte(LONG_ARRAY_VALUE);
+            out.writeInt(array.length);
+            out.writeLongs(array, 0, array.length);
+        } else if (value instanceof float[]) {
+            var array = (float[]) value;
+            out.writeByte(FLOAT_ARRAY_VALUE);
+            out.writeInt(array.length);
+            out.writeFloats(array, 0, array.length);
+        } else if (value instanceof double[]) {
+            var array = (double[]) value;
+            out.writeByte(DOUBLE_ARRAY_VALUE);
+            out.writeInt(array.length);
+            out.writeDoubles(array, 0, array.length);
+        } else {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Values of type %s are not supported by snapshots.",
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static Object readValue(SnapshotInput in) {
+        var type = in.readByte();
+        Object value;
+        switch (type) {
+            case NULL_VALUE:
+                value = null;
+                break;
+            case INT_VALUE:
+                value = in.readInt();
+                break;
+            case LONG_VALUE:
+                value = in.readLong();
+                break;
+            case FLOAT_VALUE:
+                value = (float) in.readDouble();
+                break;
+            case DOUBLE_VALUE:
+                value = in.readDouble();
+                break;
+            case LONG_ARRAY_VALUE:
+                var longs = new long[in.readInt()];
+                in.readLongs(longs, 0, longs.length);
+                value = longs;
+                break;
+            case FLOAT_ARRAY_VALUE:
+                var floats = new float[in.readInt()];
+                in.readFloats(floats, 0, floats.length);
+                value = floats;
+                break;
+            case DOUBLE_ARRAY_VALUE:
+                var doubles = new double[in.readInt()];
+                in.readDoubles(doubles, 0, doubles.length);
+                value = doubles;
+                break;
+            case BOOLEAN_VALUE:
+                value = in.readBoolean();
+                break;
+            case STRING_VALUE:
+                value = in.readString();
+                break;
+            case LIST_VALUE:
+                int size = in.readInt();
+                var list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                value = list;
+                break;
+            case MAP_VALUE:
+                int entryCount = in.readInt();
+                var map = new LinkedHashMap<String, Object>();
+                for (int i = 0; i < entryCount; i++) {
+                    var key = in.readString();
+                    map.put(key, readValue(in));
+                }
+                value = map;
+                break;
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown value type %d.", type));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.collections.cursor.HugeCursor;
+import org.neo4j.gds.collections.ha.HugeDoubleArray;
+import org.neo4j.gds.collections.ha.HugeIntArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Reader for a single snapshot file.
+ * The file is memory-mapped in windows of at most {@link #WINDOW_SIZE} bytes,
+ * so that arrays are filled with bulk copies straight from the page cache.
+ */
+final class SnapshotInput implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    static SnapshotInput open(Path file) {
+        try {
+            var channel = FileChannel.open(file, READ);
+            return new SnapshotInput(file, channel, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SnapshotInput(Path file, FileChannel channel, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+        this.windowStart = 0;
+        map(0);
+    }
+
+    boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    byte readByte() {
+        ensureAvailable(Byte.BYTES);
+        return window.get();
+    }
+
+    int readInt() {
+        ensureAvailable(Integer.BYTES);
+        return window.getInt();
+    }
+
+    long readLong() {
+        ensureAvailable(Long.BYTES);
+        return window.getLong();
+    }
+
+    double readDouble() {
+        ensureAvailable(Double.BYTES);
+        return window.getDouble();
+    }
+
+    String readString() {
+        var bytes = new byte[readInt()];
+        readBytes(bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void readBytes(byte[] into, int offset, int length) {
+        while (length > 0) {
+            ensureAvailable(Byte.BYTES);
+            int count = Math.min(length, window.remaining());
+            window.get(into, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readInts(int[] into, int offset, int length) {
+        while (length > 0) {
+            ensureAvailable(Integer.BYTES);
+            int count = Math.min(length, window.remaining() / Integer.BYTES);
+            window.asIntBuffer().get(into, offset, count);
+            window.position(window.position() + count * Integer.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readLongs(long[] into, int offset, int length) {
+        while (length > 0) {
+            ensureAvailable(Long.BYTES);
+            int count = Math.min(length, window.remaining() / Long.BYTES);
+            window.asLongBuffer().get(into, offset, count);
+            window.position(window.position() + count * Long.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readFloats(float[] into, int offset, int length) {
+        while (length > 0) {
+            ensureAvailable(Float.BYTES);
+            int count = Math.min(length, window.remaining() / Float.BYTES);
+            window.asFloatBuffer().get(into, offset, count);
+            window.position(window.position() + count * Float.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readDoubles(double[] into, int offset, int length) {
+        while (length > 0) {
+            ensureAvailable(Double.BYTES);
+            int count = Math.min(length, window.remaining() / Double.BYTES);
+            window.asDoubleBuffer().get(into, offset, count);
+            window.position(window.position() + count * Double.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    HugeIntArray readInts(long length) {
+        var values = HugeIntArray.newArray(length);
+        try (HugeCursor<int[]> cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                readInts(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        return values;
+    }
+
+    HugeLongArray readLongs(long length) {
+        var values = HugeLongArray.newArray(length);
+        try (HugeCursor<long[]> cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        return values;
+    }
+
+    HugeDoubleArray readDoubles(long length) {
+        var values = HugeDoubleArray.newArray(length);
+        try (HugeCursor<double[]> cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        return values;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long position() {
+        return windowStart + window.position();
+    }
+
+    void seek(long position) {
+        if (position >= windowStart && position <= windowStart + window.limit()) {
+            window.position((int) (position - windowStart));
+        } else {
+            map(position);
+        }
+    }
+
+    void skip(long bytes) {
+        seek(position() + bytes);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureAvailable(int bytes) {
+        if (window.remaining() < bytes) {
+            var position = windowStart + window.position();
+            if (size - position < bytes) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Unexpected end of snapshot file `%s` at offset %d.",
+                    file,
+                    position
+                ));
+            }
+            map(position);
+        }
+    }
+
+    private void map(long position) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            window.order(SnapshotFormat.BYTE_ORDER);
+            windowStart = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.neo4j.gds.collections.cursor.HugeCursor;
+import org.neo4j.gds.collections.ha.HugeIntArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Buffered writer for a single snapshot file.
+ * Arrays are written with bulk copies into a direct buffer, in {@link SnapshotFormat#BYTE_ORDER byte order}.
+ */
+final class SnapshotOutput implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long bytesWritten;
+
+    static SnapshotOutput create(Path file) {
+        try {
+            return new SnapshotOutput(FileChannel.open(file, CREATE_NEW, WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SnapshotOutput(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(SnapshotFormat.BYTE_ORDER);
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    void writeByte(byte value) {
+        ensureCapacity(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void writeDouble(double value) {
+        ensureCapacity(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void writeString(String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    void writeBytes(byte[] values, int offset, int length) {
+        while (length > 0) {
+            ensureCapacity(Byte.BYTES);
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(values, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeInts(int[] values, int offset, int length) {
+        while (length > 0) {
+            ensureCapacity(Integer.BYTES);
+            int count = Math.min(length, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeLongs(long[] values, int offset, int length) {
+        while (length > 0) {
+            ensureCapacity(Long.BYTES);
+            int count = Math.min(length, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeFloats(float[] values, int offset, int length) {
+        while (length > 0) {
+            ensureCapacity(Float.BYTES);
+            int count = Math.min(length, buffer.remaining() / Float.BYTES);
+            buffer.asFloatBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Float.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeDoubles(double[] values, int offset, int length) {
+        while (length > 0) {
+            ensureCapacity(Double.BYTES);
+            int count = Math.min(length, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeInts(HugeIntArray values) {
+        try (HugeCursor<int[]> cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                writeInts(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    void writeLongs(HugeLongArray values) {
+        try (HugeCursor<long[]> cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                writeLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    long bytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    @Override
+    public void close() {
+        try (channel) {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
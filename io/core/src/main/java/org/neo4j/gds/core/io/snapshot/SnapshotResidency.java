@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the pages of lazily restored snapshots that are resident in memory.
+ * <p>
+ * All lazily restored graphs share the {@link #global()} residency, so that their pages compete for one budget.
+ * A page is read from its snapshot file the first time it is accessed.
+ * When the resident pages exceed the budget, pages are dropped in CLOCK order:
+ * a page that has been accessed since the clock hand last passed it gets a second chance.
+ * Dropped pages are read again on their next access.
+ * Cursors that have been positioned on a page before it is dropped keep working on it,
+ * the memory is reclaimed once they move on.
+ * <p>
+ * Accessing a resident page only sets its reference bit, so that readers do not need to synchronize.
+ */
+final class SnapshotResidency {
+
+    private static final SnapshotResidency GLOBAL = new SnapshotResidency(Long.MAX_VALUE);
+
+    private final ArrayDeque<Page<?>> clock;
+
+    private long maxResidentBytes;
+    private long residentBytes;
+
+    static SnapshotResidency global() {
+        return GLOBAL;
+    }
+
+    SnapshotResidency(long maxResidentBytes) {
+        this.maxResidentBytes = maxResidentBytes;
+        this.clock = new ArrayDeque<>();
+    }
+
+    synchronized void setMaxResidentBytes(long maxResidentBytes) {
+        this.maxResidentBytes = maxResidentBytes;
+        evict(null);
+    }
+
+    synchronized long residentBytes() {
+        return residentBytes;
+    }
+
+    <T> Page<T> page(Path file, long position, Function<SnapshotInput, T> reader) {
+        return new Page<>(file, position, reader);
+    }
+
+    /**
+     * Registers the pages of the uncompressed layout that start at the current position of {@code in},
+     * without reading their contents.
+     */
+    List<Page<long[]>> longPages(Path file, SnapshotInput in) {
+        int pageCount = in.readInt();
+        var pages = new ArrayList<Page<long[]>>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(page(file, in.position(), SnapshotResidency::readLongPage));
+            in.skip((long) in.readInt() * Long.BYTES);
+        }
+        return pages;
+    }
+
+    /**
+     * Registers the pages of the var-long layout that start at the current position of {@code in},
+     * without reading their contents.
+     */
+    List<Page<byte[]>> bytePages(Path file, SnapshotInput in) {
+        int pageCount = in.readInt();
+        var pages = new ArrayList<Page<byte[]>>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(page(file, in.position(), SnapshotResidency::readBytePage));
+            in.skip(in.readInt());
+        }
+        return pages;
+    }
+
+    private synchronized void loaded(Page<?> page) {
+        clock.addLast(page);
+        residentBytes += page.sizeInBytes;
+        evict(page);
+    }
+
+    /**
+     * Drops pages until the budget is met, the page that has just been loaded is never dropped.
+     */
+    private void evict(Page<?> loaded) {
+        while (residentBytes > maxResidentBytes && !clock.isEmpty()) {
+            var candidate = clock.pollFirst();
+            if (candidate == loaded) {
+                clock.addLast(candidate);
+                if (clock.size() == 1) {
+                    return;
+                }
+            } else if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.addLast(candidate);
+            } else {
+                residentBytes -= candidate.sizeInBytes;
+                candidate.value = null;
+            }
+        }
+    }
+
+    private static long[] readLongPage(SnapshotInput in) {
+        var page = new long[in.readInt()];
+        in.readLongs(page, 0, page.length);
+        return page;
+    }
+
+    private static byte[] readBytePage(SnapshotInput in) {
+        var page = new byte[in.readInt()];
+        in.readBytes(page, 0, page.length);
+        return page;
+    }
+
+    final class Page<T> {
+        private final Path file;
+        private final long position;
+        private final Function<SnapshotInput, T> reader;
+
+        private volatile T value;
+        private volatile boolean referenced;
+        private long sizeInBytes;
+
+        private Page(Path file, long position, Function<SnapshotInput, T> reader) {
+            this.file = file;
+            this.position = position;
+            this.reader = reader;
+        }
+
+        T get() {
+            var currentValue = value;
+            if (currentValue == null) {
+                return load();
+            }
+            if (!referenced) {
+                referenced = true;
+            }
+            return currentValue;
+        }
+
+        boolean isResident() {
+            return value != null;
+        }
+
+        private synchronized T load() {
+            var currentValue = value;
+            if (currentValue != null) {
+                return currentValue;
+            }
+            try (var in = SnapshotInput.open(file)) {
+                in.seek(position);
+                currentValue = reader.apply(in);
+                sizeInBytes = in.position() - position;
+            }
+            value = currentValue;
+            loaded(this);
+            return currentValue;
+        }
+    }
+}
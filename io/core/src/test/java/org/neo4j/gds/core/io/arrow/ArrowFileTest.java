@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArrowFileTest {
+
+    private static final ArrowFormat.Schema SCHEMA = new ArrowFormat.Schema(
+        List.of(
+            ArrowFormat.Field.of("id", ArrowFormat.Type.INT64),
+            ArrowFormat.Field.of("score", ArrowFormat.Type.FLOAT64),
+            ArrowFormat.Field.of("name", ArrowFormat.Type.UTF8),
+            ArrowFormat.Field.listOf("tags", ArrowFormat.Field.of("item", ArrowFormat.Type.UTF8))
+        ),
+        Map.of("origin", "test")
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadWrittenRecordBatches() {
+        var file = directory.resolve("data.arrow");
+        try (var writer = ArrowFileWriter.create(file, SCHEMA)) {
+            var batch = new RecordBatchBuilder(SCHEMA);
+            for (int row = 0; row < 3000; row++) {
+                batch.int64(0).add(row);
+                if (row % 3 == 0) {
+                    batch.float64(1).addNull();
+                } else {
+                    batch.float64(1).add(row / 2D);
+                }
+                batch.utf8(2).add("näme" + row);
+                var tags = batch.list(3);
+                for (int tag = 0; tag < row % 4; tag++) {
+                    tags.utf8Elements().add("t" + tag);
+                }
+                tags.endList();
+                batch.endRow();
+            }
+            writer.write(batch);
+            batch.reset();
+
+            batch.int64(0).addNull();
+            batch.float64(1).add(42D);
+            batch.utf8(2).addNull();
+            batch.list(3).addNull();
+            batch.endRow();
+            writer.write(batch);
+        }
+
+        try (var reader = ArrowFileReader.open(file)) {
+            assertThat(reader.schema()).isEqualTo(SCHEMA);
+            assertThat(reader.recordBatchCount()).isEqualTo(2);
+
+            var first = reader.recordBatch(0);
+            assertThat(first.rowCount()).isEqualTo(3000);
+            for (int row = 0; row < 3000; row++) {
+                assertThat(first.column(0).longValue(row)).isEqualTo(row);
+                assertThat(first.column(1).isNull(row)).isEqualTo(row % 3 == 0);
+                if (row % 3 != 0) {
+                    assertThat(first.column(1).doubleValue(row)).isEqualTo(row / 2D);
+                }
+                assertThat(first.column(2).string(row)).isEqualTo("näme" + row);
+                var tags = first.column(3);
+                assertThat(tags.end(row) - tags.start(row)).isEqualTo(row % 4);
+                for (int tag = tags.start(row); tag < tags.end(row); tag++) {
+                    assertThat(tags.child().string(tag)).isEqualTo("t" + (tag - tags.start(row)));
+                }
+            }
+
+            var second = reader.recordBatch(1);
+            assertThat(second.rowCount()).isEqualTo(1);
+            assertThat(second.column(0).isNull(0)).isTrue();
+            assertThat(second.column(1).doubleValue(0)).isEqualTo(42D);
+            assertThat(second.column(2).isNull(0)).isTrue();
+            assertThat(second.column(3).isNull(0)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotArrowFiles() throws Exception {
+        var file = directory.resolve("nodes.arrow");
+        Files.writeString(file, "nodeId,labels\n0,A\n");
+
+        assertThatThrownBy(() -> ArrowFileReader.open(file))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("is not an Arrow IPC file");
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.extension.GdlExtension;
+import org.neo4j.gds.extension.GdlGraph;
+import org.neo4j.gds.extension.IdFunction;
+import org.neo4j.gds.extension.Inject;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the built-in Arrow reader and writer are compatible with the Arrow Java implementation.
+ */
+@GdlExtension
+class ArrowJavaCompatibilityTest {
+
+    @GdlGraph
+    static String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {long: 42, double: 13.37})" +
+        ", (b:A:B {long: 43, double: 4.2})" +
+        ", (c:C {double: 0.5})" +
+        ", (a)-[:R {weight: 1.0}]->(b)" +
+        ", (b)-[:R {weight: 2.0}]->(c)" +
+        ", (c)-[:S]->(a)";
+
+    private static final DatabaseInfo DATABASE_INFO = DatabaseInfo.of(
+        DatabaseId.of("neo4j"),
+        DatabaseInfo.DatabaseLocation.LOCAL
+    );
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @TempDir
+    Path directory;
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    void setup() {
+        allocator = new RootAllocator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    void shouldImportFilesWrittenByArrowJava() throws IOException {
+        try (
+            var nodeId = new BigIntVector("nodeId", allocator);
+            var labels = ListVector.empty("labels", allocator);
+            var age = new IntVector("age", allocator)
+        ) {
+            var labelValues = (VarCharVector) labels
+                .addOrGetVector(FieldType.nullable(ArrowType.Utf8.INSTANCE))
+                .getVector();
+            addNode(nodeId, labels, labelValues, 0, 10, "Person");
+            addNode(nodeId, labels, labelValues, 1, 11, "Person", "Admin");
+            addNode(nodeId, labels, labelValues, 2, 12, "Person");
+            age.setSafe(0, 30);
+            age.setSafe(1, 40);
+            age.setNull(2);
+            write("nodes_people.arrow", Map.of(), 3, nodeId, labels, age);
+        }
+        try (
+            var nodeId = new BigIntVector("nodeId", allocator);
+            var labels = new VarCharVector("labels", allocator);
+            var population = new Float8Vector("population", allocator)
+        ) {
+            nodeId.setSafe(0, 20);
+            nodeId.setSafe(1, 21);
+            labels.setSafe(0, utf8("City"));
+            labels.setSafe(1, utf8("City"));
+            population.setSafe(0, 1.5);
+            population.setSafe(1, 2.5);
+            write("nodes_places.arrow", Map.of(), 2, nodeId, labels, population);
+        }
+        try (
+            var source = new BigIntVector("sourceNodeId", allocator);
+            var target = new BigIntVector("targetNodeId", allocator);
+            var type = new VarCharVector("type", allocator);
+            var weight = new Float4Vector("weight", allocator)
+        ) {
+            addRelationship(source, target, type, 0, 10, 20, "LIVES_IN");
+            addRelationship(source, target, type, 1, 11, 21, "LIVES_IN");
+            addRelationship(source, target, type, 2, 10, 11, "KNOWS");
+            weight.setSafe(0, 1.0F);
+            weight.setSafe(1, 2.0F);
+            weight.setNull(2);
+            var metadata = Map.of(
+                ArrowToGraphStoreImporter.directionKey(RelationshipType.of("KNOWS")),
+                ArrowToGraphStoreImporter.UNDIRECTED
+            );
+            write("relationships.arrow", metadata, 3, source, target, type, weight);
+        }
+
+        var imported = ArrowToGraphStoreImporter.read(directory, DATABASE_INFO, List.of(), new Concurrency(2));
+
+        assertThat(imported.nodeCount()).isEqualTo(5);
+        var nodes = imported.nodes();
+        assertThat(nodes.nodeLabels(nodes.toMappedNodeId(11)))
+            .containsExactlyInAnyOrder(NodeLabel.of("Person"), NodeLabel.of("Admin"));
+        assertThat(nodes.nodeLabels(nodes.toMappedNodeId(21))).containsExactly(NodeLabel.of("City"));
+
+        var ageValues = imported.nodeProperty("age").values();
+        assertThat(ageValues.valueType()).isEqualTo(ValueType.LONG);
+        assertThat(ageValues.longValue(nodes.toMappedNodeId(11))).isEqualTo(40L);
+        assertThat(imported.nodeProperty("population").values().doubleValue(nodes.toMappedNodeId(20)))
+            .isEqualTo(1.5);
+
+        // properties belong to the labels of the nodes in the same file
+        var nodeSchema = imported.schema().nodeSchema();
+        assertThat(nodeSchema.get(NodeLabel.of("Person")).properties()).containsOnlyKeys("age");
+        assertThat(nodeSchema.get(NodeLabel.of("Admin")).properties()).containsOnlyKeys("age");
+        assertThat(nodeSchema.get(NodeLabel.of("City")).properties()).containsOnlyKeys("population");
+
+        var livesIn = imported.getGraph(RelationshipType.of("LIVES_IN"), Optional.of("weight"));
+        assertThat(livesIn.relationshipCount()).isEqualTo(2);
+        assertThat(livesIn.relationshipProperty(nodes.toMappedNodeId(11), nodes.toMappedNodeId(21)))
+            .isEqualTo(2.0);
+        var knows = imported.getGraph(RelationshipType.of("KNOWS"), Optional.of("weight"));
+        assertThat(imported.schema().relationshipSchema().isUndirected(RelationshipType.of("KNOWS"))).isTrue();
+        assertThat(knows.relationshipCount()).isEqualTo(2);
+        assertThat(knows.relationshipProperty(nodes.toMappedNodeId(11), nodes.toMappedNodeId(10))).isNaN();
+    }
+
+    @Test
+    void shouldExportFilesReadableByArrowJava() throws IOException {
+        GraphStoreToArrowExporter.export(graphStore, directory, new Concurrency(2));
+
+        var nodeRows = read("nodes.arrow");
+        assertThat(nodeRows.metadata()).containsEntry(
+            ArrowToGraphStoreImporter.propertiesKey(NodeLabel.of("C")),
+            "[\"double\"]"
+        );
+        var nodesById = nodeRows.rows()
+            .stream()
+            .collect(Collectors.toMap(row -> (Long) row.get("nodeId"), row -> row));
+        assertThat(nodesById).hasSize(3);
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            var row = nodesById.get(graphStore.nodes().toOriginalNodeId(nodeId));
+            var labels = ((List<?>) row.get("labels"))
+                .stream()
+                .map(label -> NodeLabel.of(label.toString()))
+                .collect(Collectors.toSet());
+            assertThat(labels).isEqualTo(new HashSet<>(graphStore.nodes().nodeLabels(nodeId)));
+            assertThat(row.get("double")).isEqualTo(graphStore.nodeProperty("double").values().doubleValue(nodeId));
+        }
+
+        var relationshipRows = read("relationships.arrow").rows();
+        var relationships = new HashSet<List<Object>>();
+        for (var row : relationshipRows) {
+            relationships.add(List.of(
+                row.get("sourceNodeId"),
+                row.get("targetNodeId"),
+                row.get("type").toString(),
+                row.get("weight") == null ? "null" : row.get("weight")
+            ));
+        }
+        long a = idFunction.of("a");
+        long b = idFunction.of("b");
+        long c = idFunction.of("c");
+        assertThat(relationships).containsExactlyInAnyOrder(
+            List.of(a, b, "R", 1.0),
+            List.of(b, c, "R", 2.0),
+            List.of(c, a, "S", "null")
+        );
+    }
+
+    private static void addNode(
+        BigIntVector nodeIds,
+        ListVector labels,
+        VarCharVector labelValues,
+        int row,
+        long nodeId,
+        String... labelNames
+    ) {
+        nodeIds.setSafe(row, nodeId);
+        int offset = labels.startNewValue(row);
+        for (int i = 0; i < labelNames.length; i++) {
+            labelValues.setSafe(offset + i, utf8(labelNames[i]));
+        }
+        labelValues.setValueCount(offset + labelNames.length);
+        labels.endValue(row, labelNames.length);
+    }
+
+    private static void addRelationship(
+        BigIntVector sources,
+        BigIntVector targets,
+        VarCharVector types,
+        int row,
+        long source,
+        long target,
+        String type
+    ) {
+        sources.setSafe(row, source);
+        targets.setSafe(row, target);
+        types.setSafe(row, utf8(type));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void write(String fileName, Map<String, String> metadata, int rowCount, FieldVector... vectors)
+        throws IOException {
+        var fields = new ArrayList<org.apache.arrow.vector.types.pojo.Field>();
+        for (var vector : vectors) {
+            vector.setValueCount(rowCount);
+            fields.add(vector.getField());
+        }
+        try (
+            var root = new VectorSchemaRoot(new Schema(fields, metadata), List.of(vectors), rowCount);
+            var channel = FileChannel.open(
+                directory.resolve(fileName),
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE
+            );
+            var writer = new ArrowFileWriter(root, null, channel)
+        ) {
+            writer.start();
+            writer.writeBatch();
+            writer.end();
+        }
+    }
+
+    private FileContent read(String fileName) throws IOException {
+        try (
+            var channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.READ);
+            var reader = new ArrowFileReader(channel, allocator)
+        ) {
+            var root = reader.getVectorSchemaRoot();
+            var rows = new ArrayList<Map<String, Object>>();
+            for (var block : reader.getRecordBlocks()) {
+                reader.loadRecordBatch(block);
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    var values = new HashMap<String, Object>();
+                    for (var vector : root.getFieldVectors()) {
+                        values.put(vector.getName(), vector.getObject(row));
+                    }
+                    rows.add(values);
+                }
+            }
+            return new FileContent(root.getSchema().getCustomMetadata(), rows);
+        }
+    }
+
+    private record FileContent(Map<String, String> metadata, List<Map<String, Object>> rows) {}
+}
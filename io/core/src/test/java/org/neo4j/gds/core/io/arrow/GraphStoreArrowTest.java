@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.arrow;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.extension.GdlExtension;
+import org.neo4j.gds.extension.GdlGraph;
+import org.neo4j.gds.extension.Inject;
+import org.neo4j.gds.gdl.GdlFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+
+@GdlExtension
+class GraphStoreArrowTest {
+
+    @GdlGraph
+    static String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {long: 42, double: 13.37})" +
+        ", (b:A:B {long: 43, double: 4.2})" +
+        ", (c:B {long: 44, double: 0.5})" +
+        ", (d:C {long: 45, double: 1.5})" +
+        ", (a)-[:R {weight: 1.0, cost: 5.0}]->(b)" +
+        ", (a)-[:R {weight: 2.0, cost: 6.0}]->(c)" +
+        ", (b)-[:R {weight: 3.0, cost: 7.0}]->(c)" +
+        ", (c)-[:S {weight: 4.0, cost: 8.0}]->(a)" +
+        ", (d)-[:S {weight: 5.0, cost: 9.0}]->(d)";
+
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    static String UNDIRECTED_CYPHER =
+        "CREATE" +
+        "  (a:A)-[:R {w: 1.0}]->(b:A)" +
+        ", (b)-[:R {w: 2.0}]->(c:A)" +
+        ", (c)-[:R {w: 3.0}]->(c)";
+
+    private static final DatabaseInfo DATABASE_INFO = DatabaseInfo.of(
+        DatabaseId.of("neo4j"),
+        DatabaseInfo.DatabaseLocation.LOCAL
+    );
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private GraphStore undirectedGraphStore;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldImportExportedGraphStore() {
+        GraphStoreToArrowExporter.export(graphStore, directory, new Concurrency(4));
+
+        var imported = ArrowToGraphStoreImporter.read(directory, DATABASE_INFO, List.of(), new Concurrency(4));
+
+        assertThat(imported.nodeCount()).isEqualTo(graphStore.nodeCount());
+        assertThat(imported.nodeLabels()).isEqualTo(graphStore.nodeLabels());
+        assertThat(imported.relationshipTypes()).isEqualTo(graphStore.relationshipTypes());
+        assertThat(imported.relationshipCount()).isEqualTo(graphStore.relationshipCount());
+        assertThat(imported.databaseInfo()).isEqualTo(DATABASE_INFO);
+        assertThat(imported.nodeProperty("long").valueType()).isEqualTo(ValueType.LONG);
+        assertThat(imported.nodeProperty("double").valueType()).isEqualTo(ValueType.DOUBLE);
+
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            long originalId = graphStore.nodes().toOriginalNodeId(nodeId);
+            long importedId = imported.nodes().toMappedNodeId(originalId);
+            assertThat(imported.nodes().nodeLabels(importedId))
+                .containsExactlyInAnyOrderElementsOf(graphStore.nodes().nodeLabels(nodeId));
+            assertThat(imported.nodeProperty("long").values().longValue(importedId))
+                .isEqualTo(graphStore.nodeProperty("long").values().longValue(nodeId));
+            assertThat(imported.nodeProperty("double").values().doubleValue(importedId))
+                .isEqualTo(graphStore.nodeProperty("double").values().doubleValue(nodeId));
+        }
+
+        assertGraphEquals(graphStore.getUnion(), imported.getUnion());
+        for (var type : List.of("R", "S")) {
+            for (var property : List.of("weight", "cost")) {
+                assertGraphEquals(
+                    graphStore.getGraph(RelationshipType.of(type), Optional.of(property)),
+                    imported.getGraph(RelationshipType.of(type), Optional.of(property))
+                );
+            }
+        }
+    }
+
+    @Test
+    void shouldImportUndirectedRelationshipsOnce() {
+        var undirected = undirectedGraphStore;
+        GraphStoreToArrowExporter.export(undirected, directory, new Concurrency(1));
+        try (var reader = ArrowFileReader.open(directory.resolve("relationships.arrow"))) {
+            assertThat(reader.schema().metadata()).containsEntry("gds.relationshipType.R.direction", "UNDIRECTED");
+            assertThat(reader.recordBatch(0).rowCount()).isEqualTo(3);
+        }
+
+        var imported = ArrowToGraphStoreImporter.read(directory, DATABASE_INFO, List.of(), new Concurrency(1));
+
+        assertThat(imported.schema().relationshipSchema().isUndirected(RelationshipType.of("R"))).isTrue();
+        assertThat(imported.relationshipCount()).isEqualTo(undirected.relationshipCount());
+        assertGraphEquals(
+            undirected.getGraph(RelationshipType.of("R"), Optional.of("w")),
+            imported.getGraph(RelationshipType.of("R"), Optional.of("w"))
+        );
+    }
+
+    @Test
+    void shouldImportFilesWithDifferentColumns() {
+        var idAndLabel = List.of(
+            ArrowFormat.Field.of("nodeId", ArrowFormat.Type.INT64),
+            ArrowFormat.Field.of("labels", ArrowFormat.Type.UTF8),
+            ArrowFormat.Field.of("score", ArrowFormat.Type.INT64)
+        );
+        writeNodes("nodes_0.arrow", idAndLabel, batch -> {
+            batch.int64(0).add(100);
+            batch.utf8(1).add("Person");
+            batch.int64(2).add(7);
+            batch.endRow();
+            batch.int64(0).add(200);
+            batch.utf8(1).addNull();
+            batch.int64(2).addNull();
+            batch.endRow();
+        });
+        var idAndDoubleScore = List.of(
+            ArrowFormat.Field.of("nodeId", ArrowFormat.Type.INT64),
+            ArrowFormat.Field.of("score", ArrowFormat.Type.FLOAT64)
+        );
+        writeNodes("nodes_1.arrow", idAndDoubleScore, batch -> {
+            batch.int64(0).add(300);
+            batch.float64(1).add(0.5);
+            batch.endRow();
+        });
+        var relationshipSchema = new ArrowFormat.Schema(
+            List.of(
+                ArrowFormat.Field.of("sourceNodeId", ArrowFormat.Type.INT64),
+                ArrowFormat.Field.of("targetNodeId", ArrowFormat.Type.INT64)
+            ),
+            Map.of()
+        );
+        try (var writer = ArrowFileWriter.create(directory.resolve("relationships_0.arrow"), relationshipSchema)) {
+            var batch = new RecordBatchBuilder(relationshipSchema);
+            batch.int64(0).add(100);
+            batch.int64(1).add(300);
+            batch.endRow();
+            writer.write(batch);
+        }
+
+        var imported = ArrowToGraphStoreImporter.read(
+            directory,
+            DATABASE_INFO,
+            List.of(RelationshipType.ALL_RELATIONSHIPS),
+            new Concurrency(2)
+        );
+
+        assertThat(imported.nodeCount()).isEqualTo(3);
+        assertThat(imported.nodes().hasLabel(imported.nodes().toMappedNodeId(100), NodeLabel.of("Person"))).isTrue();
+        var score = imported.nodeProperty("score").values();
+        assertThat(score.valueType()).isEqualTo(ValueType.DOUBLE);
+        assertThat(score.doubleValue(imported.nodes().toMappedNodeId(100))).isEqualTo(7D);
+        assertThat(score.doubleValue(imported.nodes().toMappedNodeId(200))).isNaN();
+        assertThat(score.doubleValue(imported.nodes().toMappedNodeId(300))).isEqualTo(0.5);
+
+        assertThat(imported.relationshipTypes()).containsExactly(RelationshipType.ALL_RELATIONSHIPS);
+        assertThat(imported.schema().relationshipSchema().isUndirected()).isTrue();
+        assertThat(imported.relationshipCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepNodePropertiesPerLabel() {
+        var perLabel = GdlFactory.of("(a:A {long: 1}), (b:B {double: 2.0}), (c:C {long: 3, double: 4.0}), ()").build();
+        GraphStoreToArrowExporter.export(perLabel, directory, new Concurrency(1));
+
+        var imported = ArrowToGraphStoreImporter.read(directory, DATABASE_INFO, List.of(), new Concurrency(1));
+
+        var nodeSchema = imported.schema().nodeSchema();
+        assertThat(nodeSchema.get(NodeLabel.of("A")).properties()).containsOnlyKeys("long");
+        assertThat(nodeSchema.availableLabels()).isEqualTo(perLabel.schema().nodeSchema().availableLabels());
+        for (var label : nodeSchema.availableLabels()) {
+            assertThat(nodeSchema.get(label).properties().keySet())
+                .as("properties of %s", label)
+                .isEqualTo(perLabel.schema().nodeSchema().get(label).properties().keySet());
+        }
+    }
+
+    @Test
+    void shouldRejectDirectoriesWithoutNodeFiles() {
+        var concurrency = new Concurrency(1);
+        assertThatThrownBy(() -> ArrowToGraphStoreImporter.read(directory, DATABASE_INFO, List.of(), concurrency))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not contain any node files");
+    }
+
+    private void writeNodes(String fileName, List<ArrowFormat.Field> fields, Consumer<RecordBatchBuilder> rows) {
+        var schema = new ArrowFormat.Schema(fields, Map.of());
+        try (var writer = ArrowFileWriter.create(directory.resolve(fileName), schema)) {
+            var batch = new RecordBatchBuilder(schema);
+            rows.accept(batch);
+            writer.write(batch);
+        }
+    }
+}
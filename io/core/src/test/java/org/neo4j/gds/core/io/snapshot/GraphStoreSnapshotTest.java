@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.gds.NodeLabel;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.AdjacencyList;
+import org.neo4j.gds.api.GraphStore;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.compression.mixed.MixedAdjacencyList;
+import org.neo4j.gds.core.compression.packed.PackedAdjacencyList;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.CSRGraphStore;
+import org.neo4j.gds.extension.GdlExtension;
+import org.neo4j.gds.extension.GdlGraph;
+import org.neo4j.gds.extension.Inject;
+import org.neo4j.gds.gdl.GdlFactory;
+import org.neo4j.gds.utils.GdsFeatureToggles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+
+@GdlExtension
+class GraphStoreSnapshotTest {
+
+    @GdlGraph(indexInverse = true)
+    static String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {long: 42, double: 13.37, longArray: [1L, 2L, 3L]})" +
+        ", (b:A:B {long: 43, double: 4.2, longArray: [4L, 5L]})" +
+        ", (c:B {long: 44, double: 0.5, doubleArray: [1.5, 2.5]})" +
+        ", (d:C)" +
+        ", (a)-[:R {weight: 1.0, cost: 5.0}]->(b)" +
+        ", (a)-[:R {weight: 2.0, cost: 6.0}]->(c)" +
+        ", (b)-[:R {weight: 3.0, cost: 7.0}]->(c)" +
+        ", (c)-[:S]->(a)" +
+        ", (d)-[:S]->(d)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @Test
+    void shouldRestoreGraphStore() {
+        var bytesWritten = GraphStoreSnapshotWriter.write(
+            graphStore,
+            GraphProjectFromSnapshotConfig.of("alice", "graph", Map.of()),
+            snapshotDirectory,
+            new Concurrency(4)
+        );
+        assertThat(bytesWritten).isPositive();
+
+        var snapshot = GraphStoreSnapshotReader.read(snapshotDirectory, new Concurrency(4));
+
+        assertThat(snapshot.username()).isEqualTo("alice");
+        assertThat(snapshot.graphName()).isEqualTo("graph");
+        assertRestored(graphStore, snapshot.graphStore());
+    }
+
+    @Test
+    void shouldRestoreProjectConfiguration() {
+        var nodeProjection = new LinkedHashMap<String, Object>();
+        nodeProjection.put("label", "A");
+        nodeProjection.put("properties", Map.of("long", Map.of("defaultValue", 42L, "property", "long")));
+        var projectConfiguration = new LinkedHashMap<String, Object>();
+        projectConfiguration.put("nodeProjection", Map.of("A", nodeProjection));
+        projectConfiguration.put("relationshipProjection", List.of("R", "S"));
+        projectConfiguration.put("readConcurrency", 4);
+        projectConfiguration.put("validateRelationships", true);
+        projectConfiguration.put("jobId", "42");
+        projectConfiguration.put("username", null);
+        projectConfiguration.put("defaultValue", new double[]{1.5, 2.5});
+        projectConfiguration.put("aggregation", Aggregation.SUM);
+
+        GraphStoreSnapshotWriter.write(
+            graphStore,
+            GraphProjectFromSnapshotConfig.of("alice", "graph", projectConfiguration),
+            snapshotDirectory,
+            new Concurrency(1)
+        );
+        var snapshot = GraphStoreSnapshotReader.read(snapshotDirectory, new Concurrency(1));
+
+        var restored = GraphProjectFromSnapshotConfig.of("bob", "restored", snapshot.projectConfiguration());
+        assertThat(restored.username()).isEqualTo("bob");
+        assertThat(restored.graphName()).isEqualTo("restored");
+        var restoredConfiguration = restored.asProcedureResultConfigurationField();
+        assertThat(restoredConfiguration)
+            .containsEntry("nodeProjection", Map.of("A", Map.of(
+                "label", "A",
+                "properties", Map.of("long", Map.of("defaultValue", 42L, "property", "long"))
+            )))
+            .containsEntry("relationshipProjection", List.of("R", "S"))
+            .containsEntry("readConcurrency", 4)
+            .containsEntry("validateRelationships", true)
+            .containsEntry("jobId", "42")
+            .containsEntry("username", null)
+            .containsEntry("aggregation", "SUM")
+            .hasSize(projectConfiguration.size());
+        assertThat((double[]) restoredConfiguration.get("defaultValue")).containsExactly(1.5, 2.5);
+    }
+
+    @Test
+    void shouldRestorePackedAdjacencyLists() {
+        GdsFeatureToggles.USE_PACKED_ADJACENCY_LIST.enableAndRun(() -> {
+            var packedGraphStore = GdlFactory.of(DB_CYPHER).build();
+
+            GraphStoreSnapshotWriter.write(packedGraphStore, config("packed"), snapshotDirectory, new Concurrency(1));
+            var snapshot = GraphStoreSnapshotReader.read(snapshotDirectory, new Concurrency(1));
+
+            assertThat(adjacencyList(snapshot.graphStore())).isInstanceOf(PackedAdjacencyList.class);
+            assertRestored(packedGraphStore, snapshot.graphStore());
+        });
+    }
+
+    @Test
+    void shouldRestoreMixedAdjacencyLists() {
+        GdsFeatureToggles.USE_MIXED_ADJACENCY_LIST.enableAndRun(() -> {
+            var mixedGraphStore = GdlFactory.of(DB_CYPHER).build();
+
+            GraphStoreSnapshotWriter.write(mixedGraphStore, config("mixed"), snapshotDirectory, new Concurrency(1));
+            var snapshot = GraphStoreSnapshotReader.read(snapshotDirectory, new Concurrency(1));
+
+            assertThat(adjacencyList(snapshot.graphStore())).isInstanceOf(MixedAdjacencyList.class);
+            assertRestored(mixedGraphStore, snapshot.graphStore());
+        });
+    }
+
+    @Test
+    void shouldRestoreLazily() {
+        GraphStoreSnapshotWriter.write(graphStore, config("graph"), snapshotDirectory, new Concurrency(4));
+
+        var residency = new SnapshotResidency(Long.MAX_VALUE);
+        var snapshot = GraphStoreSnapshotReader.readLazily(snapshotDirectory, new Concurrency(4), residency);
+
+        assertRestored(graphStore, snapshot.graphStore());
+    }
+
+    @Test
+    void shouldNotReadPagesForDegrees() {
+        GraphStoreSnapshotWriter.write(graphStore, config("graph"), snapshotDirectory, new Concurrency(1));
+
+        var residency = new SnapshotResidency(Long.MAX_VALUE);
+        var restored = GraphStoreSnapshotReader.readLazily(snapshotDirectory, new Concurrency(1), residency)
+            .graphStore()
+            .getUnion();
+
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertThat(restored.degree(nodeId)).isEqualTo(graphStore.getUnion().degree(nodeId));
+        }
+        assertThat(residency.residentBytes()).isZero();
+    }
+
+    @Test
+    void shouldShareBudgetBetweenLazilyRestoredGraphs() {
+        GraphStoreSnapshotWriter.write(graphStore, config("graph"), snapshotDirectory, new Concurrency(1));
+
+        // every page exceeds the budget, so each access drops the previously read page of either graph
+        var residency = new SnapshotResidency(1);
+        var first = GraphStoreSnapshotReader.readLazily(snapshotDirectory, new Concurrency(1), residency);
+        var second = GraphStoreSnapshotReader.readLazily(snapshotDirectory, new Concurrency(1), residency);
+
+        assertRestored(graphStore, first.graphStore());
+        assertRestored(graphStore, second.graphStore());
+        assertRestored(graphStore, first.graphStore());
+    }
+
+    @Test
+    void shouldDropPagesInClockOrder() {
+        GraphStoreSnapshotWriter.write(graphStore, config("graph"), snapshotDirectory, new Concurrency(1));
+
+        var nodeIds = snapshotDirectory.resolve(SnapshotFormat.NODE_IDS_FILE);
+        var residency = new SnapshotResidency(2 * Long.BYTES);
+        var first = residency.page(nodeIds, 0, SnapshotInput::readLong);
+        var second = residency.page(nodeIds, Long.BYTES, SnapshotInput::readLong);
+        var third = residency.page(nodeIds, 2 * Long.BYTES, SnapshotInput::readLong);
+        assertThat(first.isResident()).isFalse();
+        assertThat(residency.residentBytes()).isZero();
+
+        assertThat(first.get()).isEqualTo(graphStore.nodes().toOriginalNodeId(0));
+        assertThat(second.get()).isEqualTo(graphStore.nodes().toOriginalNodeId(1));
+        assertThat(residency.residentBytes()).isEqualTo(2 * Long.BYTES);
+
+        // the first page has been accessed again, so it gets a second chance
+        first.get();
+        assertThat(third.get()).isEqualTo(graphStore.nodes().toOriginalNodeId(2));
+        assertThat(first.isResident()).isTrue();
+        assertThat(second.isResident()).isFalse();
+        assertThat(third.isResident()).isTrue();
+        assertThat(residency.residentBytes()).isEqualTo(2 * Long.BYTES);
+
+        assertThat(second.get()).isEqualTo(graphStore.nodes().toOriginalNodeId(1));
+        assertThat(second.isResident()).isTrue();
+        assertThat(residency.residentBytes()).isEqualTo(2 * Long.BYTES);
+    }
+
+    @Test
+    void shouldRejectIncompleteSnapshot() throws Exception {
+        GraphStoreSnapshotWriter.write(graphStore, config("graph"), snapshotDirectory, new Concurrency(1));
+        Files.delete(snapshotDirectory.resolve(SnapshotFormat.METADATA_FILE));
+
+        assertThatThrownBy(() -> GraphStoreSnapshotReader.read(snapshotDirectory, new Concurrency(1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not contain a complete graph snapshot");
+    }
+
+    private static GraphProjectConfig config(String graphName) {
+        return GraphProjectConfig.emptyWithName("", graphName);
+    }
+
+    private static AdjacencyList adjacencyList(GraphStore graphStore) {
+        var relationships = ((CSRGraphStore) graphStore).relationships(RelationshipType.of("R")).orElseThrow();
+        return relationships.topology().adjacencyList();
+    }
+
+    private static void assertRestored(GraphStore expected, GraphStore actual) {
+        assertThat(actual.nodeCount()).isEqualTo(expected.nodeCount());
+        assertThat(actual.nodeLabels()).isEqualTo(expected.nodeLabels());
+        assertThat(actual.schema()).isEqualTo(expected.schema());
+        assertThat(actual.inverseIndexedRelationshipTypes()).isEqualTo(expected.inverseIndexedRelationshipTypes());
+        assertThat(actual.relationshipCount()).isEqualTo(expected.relationshipCount());
+        assertThat(actual.databaseInfo()).isEqualTo(expected.databaseInfo());
+
+        for (long nodeId = 0; nodeId < expected.nodeCount(); nodeId++) {
+            assertThat(actual.nodes().toOriginalNodeId(nodeId)).isEqualTo(expected.nodes().toOriginalNodeId(nodeId));
+            for (var label : expected.nodeLabels()) {
+                assertThat(actual.nodes().hasLabel(nodeId, label)).isEqualTo(expected.nodes().hasLabel(nodeId, label));
+            }
+        }
+
+        assertGraphEquals(expected.getUnion(), actual.getUnion());
+        assertGraphEquals(
+            expected.getGraph(RelationshipType.of("R"), Optional.of("weight")),
+            actual.getGraph(RelationshipType.of("R"), Optional.of("weight"))
+        );
+        assertGraphEquals(
+            expected.getGraph(NodeLabel.of("B"), RelationshipType.of("R"), Optional.of("cost")),
+            actual.getGraph(NodeLabel.of("B"), RelationshipType.of("R"), Optional.of("cost"))
+        );
+
+        if (expected.inverseIndexedRelationshipTypes().contains(RelationshipType.of("R"))) {
+            var expectedGraph = expected.getGraph(RelationshipType.of("R"));
+            var actualGraph = actual.getGraph(RelationshipType.of("R"));
+            for (long nodeId = 0; nodeId < expected.nodeCount(); nodeId++) {
+                assertThat(actualGraph.degreeInverse(nodeId)).isEqualTo(expectedGraph.degreeInverse(nodeId));
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.neo4j.gds.api.schema.MutableNodeSchema;
 import org.neo4j.gds.api.schema.MutableRelationshipSchema;
 import org.neo4j.gds.api.schema.PropertySchema;
 import org.neo4j.gds.api.schema.RelationshipPropertySchema;
+import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.io.GraphStoreInput;
 import org.neo4j.gds.core.io.file.FileHeader;
 import org.neo4j.gds.core.io.file.FileInput;
@@ -44,6 +45,7 @@ import org.neo4j.gds.core.io.file.HeaderProperty;
 import org.neo4j.gds.core.io.file.MappedListIterator;
 import org.neo4j.gds.core.io.file.NodeFileHeader;
 import org.neo4j.gds.core.io.file.RelationshipFileHeader;
+import org.neo4j.gds.core.io.file.csv.CsvFileSegments.Segment;
 import org.neo4j.gds.core.loading.Capabilities;
 
 import java.io.IOException;
@@ -76,6 +78,7 @@ final class CsvFileInput implements FileInput {
         );
 
     private final Path importPath;
+    private final Concurrency concurrency;
     private final String userName;
     private final GraphInfo graphInfo;
     private final MutableNodeSchema nodeSchema;
@@ -86,8 +89,9 @@ final class CsvFileInput implements FileInput {
     private final Capabilities capabilities;
     private final Optional<Map<String, String>> typeMapping;
 
-    CsvFileInput(Path importPath) {
+    CsvFileInput(Path importPath, Concurrency concurrency) {
         this.importPath = importPath;
+        this.concurrency = concurrency;
         this.userName = new UserInfoLoader(importPath).load();
         this.graphInfo = new GraphInfoLoader(importPath, CSV_MAPPER).load();
         this.nodeSchema = new NodeSchemaLoader(importPath).load();
@@ -103,14 +107,14 @@ final class CsvFileInput implements FileInput {
         Map<Path, List<Path>> pathMapping = CsvImportFileUtil.nodeHeaderToFileMapping(
             this.importPath
         );
-        Map<NodeFileHeader, List<Path>> headerToDataFilesMapping = pathMapping.entrySet()
+        Map<NodeFileHeader, List<Segment>> headerToDataFilesMapping = pathMapping.entrySet()
             .stream()
             .collect(Collectors.toMap(
                 entry -> CsvImportFileUtil.parseNodeHeader(
                     entry.getKey(),
                     labelMapping.isPresent() ? labelMapping.get()::get : Functions.identity()
                 ),
-                Map.Entry::getValue
+                entry -> segments(entry.getValue())
             ));
 
         return () -> new NodeImporter(headerToDataFilesMapping, nodeSchema);
@@ -125,13 +129,13 @@ final class CsvFileInput implements FileInput {
     @Override
     public InputIterable relationships() {
         Map<Path, List<Path>> pathMapping = CsvImportFileUtil.relationshipHeaderToFileMapping(importPath);
-        Map<RelationshipFileHeader, List<Path>> headerToDataFilesMapping = pathMapping.entrySet().stream()
+        Map<RelationshipFileHeader, List<Segment>> headerToDataFilesMapping = pathMapping.entrySet().stream()
             .collect(Collectors.toMap(
                 entry -> CsvImportFileUtil.parseRelationshipHeader(
                     entry.getKey(),
                     typeMapping.isPresent() ? typeMapping.get()::get : Functions.identity()
                 ),
-                Map.Entry::getValue
+                entry -> segments(entry.getValue())
         ));
 
         return () -> new RelationshipImporter(headerToDataFilesMapping, relationshipSchema);
@@ -142,12 +146,23 @@ final class CsvFileInput implements FileInput {
         var pathMapping = CsvImportFileUtil.graphPropertyHeaderToFileMapping(importPath);
         var headerToDataFilesMapping = pathMapping.entrySet().stream().collect(Collectors.toMap(
             entry -> CsvImportFileUtil.parseGraphPropertyHeader(entry.getKey()),
-            Map.Entry::getValue
+            entry -> segments(entry.getValue())
         ));
 
         return () -> new GraphPropertyImporter(headerToDataFilesMapping, graphPropertySchema);
     }
 
+    /**
+     * Splits large data files into segments, so that their lines are imported by several chunks in parallel.
+     */
+    private List<Segment> segments(List<Path> dataFiles) {
+        return dataFiles
+            .stream()
+            .map(dataFile -> CsvFileSegments.split(dataFile, CsvFileSegments.DEFAULT_SEGMENT_SIZE, concurrency))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public String userName() {
         return userName;
@@ -188,11 +203,11 @@ final class CsvFileInput implements FileInput {
         SCHEMA,
         PROPERTY_SCHEMA extends PropertySchema> implements InputIterator {
 
-        private final MappedListIterator<HEADER, Path> entryIterator;
+        private final MappedListIterator<HEADER, Segment> entryIterator;
         final SCHEMA elementSchema;
 
         FileImporter(
-            Map<HEADER, List<Path>> headerToDataFilesMapping,
+            Map<HEADER, List<Segment>> headerToDataFilesMapping,
             SCHEMA elementSchema
         ) {
             this.entryIterator = new MappedListIterator<>(headerToDataFilesMapping);
@@ -202,7 +217,7 @@ final class CsvFileInput implements FileInput {
         @Override
         public synchronized boolean next(InputChunk chunk) throws IOException {
             if (entryIterator.hasNext()) {
-                Pair<HEADER, Path> entry = entryIterator.next();
+                Pair<HEADER, Segment> entry = entryIterator.next();
 
                 assert chunk instanceof LineChunk;
                 var header = entry.getKey();
@@ -220,7 +235,7 @@ final class CsvFileInput implements FileInput {
     static class NodeImporter extends FileImporter<NodeFileHeader, MutableNodeSchema, PropertySchema> {
 
         NodeImporter(
-            Map<NodeFileHeader, List<Path>> headerToDataFilesMapping,
+            Map<NodeFileHeader, List<Segment>> headerToDataFilesMapping,
             MutableNodeSchema nodeSchema
         ) {
             super(headerToDataFilesMapping, nodeSchema);
@@ -235,7 +250,7 @@ final class CsvFileInput implements FileInput {
     static class RelationshipImporter extends FileImporter<RelationshipFileHeader, MutableRelationshipSchema, RelationshipPropertySchema> {
 
         RelationshipImporter(
-            Map<RelationshipFileHeader, List<Path>> headerToDataFilesMapping,
+            Map<RelationshipFileHeader, List<Segment>> headerToDataFilesMapping,
             MutableRelationshipSchema relationshipSchema
         ) {
             super(headerToDataFilesMapping, relationshipSchema);
@@ -251,7 +266,7 @@ final class CsvFileInput implements FileInput {
 
 
         GraphPropertyImporter(
-            Map<GraphPropertyFileHeader, List<Path>> headerToDataFilesMapping,
+            Map<GraphPropertyFileHeader, List<Segment>> headerToDataFilesMapping,
             Map<String, PropertySchema> graphPropertySchema
         ) {
             super(headerToDataFilesMapping, graphPropertySchema);
@@ -278,10 +293,10 @@ final class CsvFileInput implements FileInput {
             this.schema = schema;
         }
 
-        void initialize(HEADER header, Path path) throws IOException {
+        void initialize(HEADER header, Segment segment) throws IOException {
             this.header = header;
             this.propertySchemas = header.schemaForIdentifier(schema);
-            this.lineIterator = LINE_READER.readValues(path.toFile());
+            this.lineIterator = LINE_READER.readValues(segment.open());
         }
 
         @Override
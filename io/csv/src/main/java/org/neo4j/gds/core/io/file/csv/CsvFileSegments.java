@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.file.csv;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.io.file.FileCompression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Splits CSV data files into byte ranges that can be parsed independently,
+ * so that the lines of a single large file can be imported by several threads.
+ * <p>
+ * A segment always ends after a line break that is not part of a quoted value.
+ * Whether a line break is quoted depends on all quotes in front of it, so the file is scanned in two passes:
+ * first, fixed size ranges of the file are scanned in parallel, recording the parity of the quotes in each range
+ * and the first line break for either quote state at the start of the range.
+ * Then, the quote state at the start of each range follows from the parities of the ranges before it,
+ * which determines the line break the segment is split at.
+ * <p>
+ * Compressed files cannot be read from an arbitrary offset and always form a single segment.
+ */
+final class CsvFileSegments {
+
+    static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final byte QUOTE = '"';
+    private static final byte LINE_BREAK = '\n';
+    private static final long NO_LINE_BREAK = -1;
+
+    private CsvFileSegments() {}
+
+    /**
+     * A byte range of a data file, starting at the beginning of a line and ending after a line break or at the end
+     * of the file.
+     */
+    record Segment(Path file, long start, long end) {
+
+        long length() {
+            return end - start;
+        }
+
+        /**
+         * Opens a stream over the memory mapped bytes of this segment.
+         * Segments larger than a single mapping are mapped in several parts.
+         */
+        InputStream open() throws IOException {
+            var compression = FileCompression.of(file);
+            if (compression != FileCompression.NONE) {
+                return compression.decompress(Files.newInputStream(file));
+            }
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                var streams = new ArrayList<InputStream>();
+                for (long position = start; position < end; position += Integer.MAX_VALUE) {
+                    var size = Math.min(Integer.MAX_VALUE, end - position);
+                    var buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                    streams.add(new ByteBufferBackedInputStream(buffer));
+                }
+                if (streams.size() == 1) {
+                    return streams.get(0);
+                }
+                return new SequenceInputStream(Collections.enumeration(streams));
+            }
+        }
+    }
+
+    static List<Segment> split(Path file, long segmentSize, Concurrency concurrency) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The segment size must be positive and at most %d bytes, but was %d.",
+                Integer.MAX_VALUE,
+                segmentSize
+            ));
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var fileSize = channel.size();
+            if (fileSize <= segmentSize || FileCompression.of(file) != FileCompression.NONE) {
+                return List.of(new Segment(file, 0, fileSize));
+            }
+
+            var rangeCount = Math.toIntExact((fileSize + segmentSize - 1) / segmentSize);
+            var scans = new RangeScan[rangeCount];
+            var tasks = IntStream.range(0, rangeCount).mapToObj(range -> (Runnable) () -> {
+                var start = range * segmentSize;
+                var size = Math.min(segmentSize, fileSize - start);
+                try {
+                    scans[range] = RangeScan.of(channel.map(FileChannel.MapMode.READ_ONLY, start, size), start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+
+            RunWithConcurrency.builder()
+                .concurrency(concurrency)
+                .tasks(tasks)
+                .executor(DefaultPool.INSTANCE)
+                .run();
+
+            var segments = new ArrayList<Segment>();
+            long segmentStart = 0;
+            boolean quoted = scans[0].oddQuotes;
+            for (int range = 1; range < rangeCount; range++) {
+                var scan = scans[range];
+                var lineBreak = quoted ? scan.firstLineBreakOddQuotes : scan.firstLineBreakEvenQuotes;
+                // a line longer than a range merges it into the previous segment
+                if (lineBreak != NO_LINE_BREAK && lineBreak + 1 < fileSize) {
+                    segments.add(new Segment(file, segmentStart, lineBreak + 1));
+                    segmentStart = lineBreak + 1;
+                }
+                quoted ^= scan.oddQuotes;
+            }
+            segments.add(new Segment(file, segmentStart, fileSize));
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class RangeScan {
+        // whether the range contains an odd number of quotes, escaped quotes are doubled and do not flip it
+        private boolean oddQuotes;
+        // the first line breaks preceded by an even or odd number of quotes within the range
+        private long firstLineBreakEvenQuotes = NO_LINE_BREAK;
+        private long firstLineBreakOddQuotes = NO_LINE_BREAK;
+
+        static RangeScan of(MappedByteBuffer buffer, long offset) {
+            var scan = new RangeScan();
+            boolean odd = false;
+            var limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                var b = buffer.get(i);
+                if (b == QUOTE) {
+                    odd = !odd;
+                } else if (b == LINE_BREAK) {
+                    if (odd) {
+                        if (scan.firstLineBreakOddQuotes == NO_LINE_BREAK) {
+                            scan.firstLineBreakOddQuotes = offset + i;
+                        }
+                    } else if (scan.firstLineBreakEvenQuotes == NO_LINE_BREAK) {
+                        scan.firstLineBreakEvenQuotes = offset + i;
+                    }
+                }
+            }
+            scan.oddQuotes = odd;
+            return scan;
+        }
+    }
+}
@@ -20,7 +20,9 @@
 package org.neo4j.gds.core.io.file.csv;
 
 import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.GraphPropertyVisitor;
+import org.neo4j.gds.logging.Log;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -43,17 +45,23 @@ class CsvGraphPropertyVisitor extends GraphPropertyVisitor {
     private final int visitorId;
     private final Map<String, JacksonFileAppender> csvAppenders;
     private final Set<String> headerFiles;
+    private final FileCompression compression;
+    private final Log log;
 
     public CsvGraphPropertyVisitor(
         Path fileLocation,
         Map<String, PropertySchema> graphPropertySchemas,
         Set<String> headerFiles,
-        int visitorId
+        int visitorId,
+        FileCompression compression,
+        Log log
     ) {
         this.fileLocation = fileLocation;
         this.graphPropertySchemas = graphPropertySchemas;
         this.headerFiles = headerFiles;
         this.visitorId = visitorId;
+        this.compression = compression;
+        this.log = log;
         this.csvAppenders = new HashMap<>();
     }
 
@@ -92,19 +100,25 @@ class CsvGraphPropertyVisitor extends GraphPropertyVisitor {
     private JacksonFileAppender getAppender(String propertyKey) {
         return csvAppenders.computeIfAbsent(propertyKey, __ -> {
             var headerFileName = formatWithLocale(GRAPH_PROPERTY_HEADER_FILE_NAME_TEMPLATE, propertyKey);
-            var dataFileName = formatWithLocale(GRAPH_PROPERTY_DATA_FILE_NAME_TEMPLATE, propertyKey, visitorId);
+            var dataFileName = formatWithLocale(GRAPH_PROPERTY_DATA_FILE_NAME_TEMPLATE, propertyKey, visitorId)
+                + compression.fileExtension();
             var propertySchema = graphPropertySchemas.get(propertyKey);
 
             if (headerFiles.add(headerFileName)) {
                 writeHeaderFile(propertySchema, headerFileName);
             }
 
-            return fileAppender(fileLocation.resolve(dataFileName), propertySchema);
+            return fileAppender(fileLocation.resolve(dataFileName), propertySchema, compression, log);
         });
     }
 
     private void writeHeaderFile(PropertySchema propertySchema, String headerFileName) {
-        try (var headerAppender = fileAppender(fileLocation.resolve(headerFileName), propertySchema)) {
+        try (var headerAppender = fileAppender(
+            fileLocation.resolve(headerFileName),
+            propertySchema,
+            FileCompression.NONE,
+            Log.noOpLog()
+        )) {
             var propertyHeader = formatWithLocale(
                 "%s:%s",
                 propertySchema.key(),
@@ -121,12 +135,16 @@ class CsvGraphPropertyVisitor extends GraphPropertyVisitor {
 
     private JacksonFileAppender fileAppender(
         Path filePath,
-        PropertySchema propertySchema
+        PropertySchema propertySchema,
+        FileCompression compression,
+        Log log
     ) {
         return JacksonFileAppender.of(
             filePath,
             List.of(propertySchema),
-            UnaryOperator.identity()
+            UnaryOperator.identity(),
+            compression,
+            log
         );
     }
 }
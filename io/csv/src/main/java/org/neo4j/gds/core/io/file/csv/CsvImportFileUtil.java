@@ -21,6 +21,7 @@ package org.neo4j.gds.core.io.file.csv;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectReader;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.GraphPropertyFileHeader;
 import org.neo4j.gds.core.io.file.NodeFileHeader;
 import org.neo4j.gds.core.io.file.RelationshipFileHeader;
@@ -36,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +47,11 @@ import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
 final class CsvImportFileUtil {
 
     private static final ObjectReader HEADER_FILE_READER = LINE_READER;
+    // data files may be compressed, in which case they carry the extension of the compression
+    private static final String COMPRESSION_FILE_EXTENSION_PATTERN = Arrays.stream(FileCompression.values())
+        .filter(compression -> compression != FileCompression.NONE)
+        .map(compression -> Pattern.quote(compression.fileExtension()))
+        .collect(Collectors.joining("|", "(", ")?"));
 
     private CsvImportFileUtil() {}
 
@@ -132,7 +139,8 @@ final class CsvImportFileUtil {
     ) {
         Map<Path, List<Path>> headerToDataFileMapping = new HashMap<>();
         for (Path headerFile : headerPaths.apply(csvDirectory)) {
-            String dataFilePattern = headerFile.getFileName().toString().replace("_header", "(_\\d+)");
+            String dataFilePattern = headerFile.getFileName().toString().replace("_header", "(_\\d+)")
+                + COMPRESSION_FILE_EXTENSION_PATTERN;
             List<Path> dataPaths = headerToDataFileMapping.computeIfAbsent(
                 headerFile,
                 path -> new ArrayList<>()
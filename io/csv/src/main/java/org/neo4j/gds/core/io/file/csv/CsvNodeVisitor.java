@@ -25,7 +25,9 @@ import org.neo4j.gds.NodeLabel;
 import org.neo4j.gds.api.schema.NodeSchema;
 import org.neo4j.gds.api.schema.PropertySchema;
 import org.neo4j.gds.core.io.IdentifierMapper;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.NodeVisitor;
+import org.neo4j.gds.logging.Log;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -49,6 +51,8 @@ public class CsvNodeVisitor extends NodeVisitor {
     private final Set<String> headerFiles;
     private final int visitorId;
     private final IdentifierMapper<NodeLabel> nodeLabelMapping;
+    private final FileCompression compression;
+    private final Log log;
     private final Map<String, JacksonFileAppender> csvAppenders;
 
     CsvNodeVisitor(
@@ -56,19 +60,23 @@ public class CsvNodeVisitor extends NodeVisitor {
         NodeSchema nodeSchema,
         Set<String> headerFiles,
         int visitorId,
-        IdentifierMapper<NodeLabel> nodeLabelMapping
+        IdentifierMapper<NodeLabel> nodeLabelMapping,
+        FileCompression compression,
+        Log log
     ) {
         super(nodeSchema);
         this.fileLocation = fileLocation;
         this.headerFiles = headerFiles;
         this.visitorId = visitorId;
         this.nodeLabelMapping = nodeLabelMapping;
+        this.compression = compression;
+        this.log = log;
         this.csvAppenders = new HashMap<>();
     }
 
     @TestOnly
     public CsvNodeVisitor(Path fileLocation, NodeSchema nodeSchema, IdentifierMapper<NodeLabel> nodeLabelMapping) {
-        this(fileLocation, nodeSchema, new HashSet<>(), 0, nodeLabelMapping);
+        this(fileLocation, nodeSchema, new HashSet<>(), 0, nodeLabelMapping, FileCompression.NONE, Log.noOpLog());
     }
 
     @Override
@@ -112,7 +120,7 @@ public class CsvNodeVisitor extends NodeVisitor {
         return csvAppenders.computeIfAbsent(labelsString, (ignore) -> {
             var fileName = labelsString.isBlank() ? "nodes" : formatWithLocale("nodes_%s", labelsString);
             var headerFileName = formatWithLocale("%s_header.csv", fileName);
-            var dataFileName = formatWithLocale("%s_%d.csv", fileName, visitorId);
+            var dataFileName = formatWithLocale("%s_%d.csv%s", fileName, visitorId, compression.fileExtension());
 
             if (headerFiles.add(headerFileName)) {
                 writeHeaderFile(headerFileName);
@@ -120,7 +128,9 @@ public class CsvNodeVisitor extends NodeVisitor {
 
             return fileAppender(
                 fileLocation.resolve(dataFileName),
-                csvSchemaBuilder -> csvSchemaBuilder.addNumberColumn(ID_COLUMN_NAME)
+                csvSchemaBuilder -> csvSchemaBuilder.addNumberColumn(ID_COLUMN_NAME),
+                compression,
+                log
             );
         });
     }
@@ -128,7 +138,9 @@ public class CsvNodeVisitor extends NodeVisitor {
     private void writeHeaderFile(String headerFileName) {
         try (var headerAppender = fileAppender(
             fileLocation.resolve(headerFileName),
-            csvSchemaBuilder -> csvSchemaBuilder.addColumn(ID_COLUMN_NAME, CsvSchema.ColumnType.STRING)
+            csvSchemaBuilder -> csvSchemaBuilder.addColumn(ID_COLUMN_NAME, CsvSchema.ColumnType.STRING),
+            FileCompression.NONE,
+            Log.noOpLog()
         )) {
             headerAppender.startLine();
             headerAppender.append(ID_COLUMN_NAME);
@@ -159,13 +171,20 @@ public class CsvNodeVisitor extends NodeVisitor {
         }
     }
 
-    private JacksonFileAppender fileAppender(Path filePath, UnaryOperator<CsvSchema.Builder> builderUnaryOperator) {
+    private JacksonFileAppender fileAppender(
+        Path filePath,
+        UnaryOperator<CsvSchema.Builder> builderUnaryOperator,
+        FileCompression compression,
+        Log log
+    ) {
         var propertySchema = getPropertySchema();
         propertySchema.sort(Comparator.comparing(PropertySchema::key));
         return JacksonFileAppender.of(
             filePath,
             propertySchema,
-            builderUnaryOperator
+            builderUnaryOperator,
+            compression,
+            log
         );
     }
 
@@ -24,7 +24,9 @@ import org.neo4j.gds.RelationshipType;
 import org.neo4j.gds.api.schema.PropertySchema;
 import org.neo4j.gds.api.schema.RelationshipSchema;
 import org.neo4j.gds.core.io.IdentifierMapper;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.RelationshipVisitor;
+import org.neo4j.gds.logging.Log;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -44,6 +46,8 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
     private final Path fileLocation;
     private final Set<String> headerFiles;
     private final int visitorId;
+    private final FileCompression compression;
+    private final Log log;
     private final Map<String, JacksonFileAppender> csvAppenders;
 
     CsvRelationshipVisitor(
@@ -51,12 +55,16 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
         RelationshipSchema relationshipSchema,
         Set<String> headerFiles,
         int visitorId,
-        IdentifierMapper<RelationshipType> relationshipTypeMapping
+        IdentifierMapper<RelationshipType> relationshipTypeMapping,
+        FileCompression compression,
+        Log log
     ) {
         super(relationshipSchema, relationshipTypeMapping);
         this.fileLocation = fileLocation;
         this.headerFiles = headerFiles;
         this.visitorId = visitorId;
+        this.compression = compression;
+        this.log = log;
         this.csvAppenders = new HashMap<>();
     }
 
@@ -66,7 +74,15 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
         RelationshipSchema relationshipSchema,
         IdentifierMapper<RelationshipType> relationshipTypeMapping
     ) {
-        this(fileLocation, relationshipSchema, new HashSet<>(), 0, relationshipTypeMapping);
+        this(
+            fileLocation,
+            relationshipSchema,
+            new HashSet<>(),
+            0,
+            relationshipTypeMapping,
+            FileCompression.NONE,
+            Log.noOpLog()
+        );
     }
 
     @Override
@@ -111,18 +127,19 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
         return csvAppenders.computeIfAbsent(relationshipType(), (ignore) -> {
             var fileName = formatWithLocale("relationships_%s", relationshipType());
             var headerFileName = formatWithLocale("%s_header.csv", fileName);
-            var dataFileName = formatWithLocale("%s_%d.csv", fileName, visitorId);
+            var dataFileName = formatWithLocale("%s_%d.csv%s", fileName, visitorId, compression.fileExtension());
 
             if (headerFiles.add(headerFileName)) {
                 writeHeaderFile(headerFileName);
             }
 
-            return fileAppender(fileLocation.resolve(dataFileName));
+            return fileAppender(fileLocation.resolve(dataFileName), compression, log);
         });
     }
 
     private void writeHeaderFile(String headerFileName) {
-        try (var headerAppender = fileAppender(fileLocation.resolve(headerFileName))) {
+        var headerFile = fileLocation.resolve(headerFileName);
+        try (var headerAppender = fileAppender(headerFile, FileCompression.NONE, Log.noOpLog())) {
             headerAppender.startLine();
             headerAppender.append(START_ID_COLUMN_NAME);
             headerAppender.append(END_ID_COLUMN_NAME);
@@ -153,7 +170,7 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
         }
     }
 
-    private JacksonFileAppender fileAppender(Path filePath) {
+    private JacksonFileAppender fileAppender(Path filePath, FileCompression compression, Log log) {
         var propertySchema = getPropertySchema();
         propertySchema.sort(Comparator.comparing(PropertySchema::key));
         return JacksonFileAppender.of(
@@ -161,7 +178,9 @@ public class CsvRelationshipVisitor extends RelationshipVisitor {
             propertySchema,
             csvSchemaBuilder -> csvSchemaBuilder
                 .addNumberColumn(START_ID_COLUMN_NAME)
-                .addNumberColumn(END_ID_COLUMN_NAME)
+                .addNumberColumn(END_ID_COLUMN_NAME),
+            compression,
+            log
         );
     }
 }
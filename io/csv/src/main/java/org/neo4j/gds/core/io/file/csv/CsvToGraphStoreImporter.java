@@ -29,6 +29,8 @@ import java.nio.file.Path;
 
 public class CsvToGraphStoreImporter extends FileToGraphStoreImporter {
 
+    private final Concurrency concurrency;
+
     public CsvToGraphStoreImporter(
         Concurrency concurrency,
         Path importPath,
@@ -36,11 +38,12 @@ public class CsvToGraphStoreImporter extends FileToGraphStoreImporter {
         TaskRegistryFactory taskRegistryFactory
     ) {
         super(concurrency, importPath, log, taskRegistryFactory);
+        this.concurrency = concurrency;
     }
 
     @Override
     protected FileInput fileInput(Path importPath) {
-        return new CsvFileInput(importPath);
+        return new CsvFileInput(importPath, concurrency);
     }
 
     @Override
@@ -93,14 +93,26 @@ public final class GraphStoreToCsvExporter {
                 nodeSchema.union(neoNodeSchema),
                 headerFiles,
                 index,
-                labelMapper
+                labelMapper,
+                parameters.compression(),
+                log
+            ),
+            (index) -> new CsvRelationshipVisitor(
+                exportPath,
+                relationshipSchema,
+                headerFiles,
+                index,
+                relationshipTypeMapper,
+                parameters.compression(),
+                log
             ),
-            (index) -> new CsvRelationshipVisitor(exportPath, relationshipSchema, headerFiles, index, relationshipTypeMapper),
             (index) -> new CsvGraphPropertyVisitor(
                 exportPath,
                 graphStore.schema().graphProperties(),
                 headerFiles,
-                index
+                index,
+                parameters.compression(),
+                log
             ),
             taskRegistryFactory,
             log,
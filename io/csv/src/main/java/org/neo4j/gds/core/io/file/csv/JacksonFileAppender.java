@@ -19,35 +19,76 @@
  */
 package org.neo4j.gds.core.io.file.csv;
 
-import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.core.io.file.FileCompression;
+import org.neo4j.gds.logging.Log;
 
+import java.io.FilterOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
 
 import static org.neo4j.gds.api.DefaultValue.INTEGER_DEFAULT_FALLBACK;
 import static org.neo4j.gds.api.DefaultValue.LONG_DEFAULT_FALLBACK;
 
+/**
+ * Appends lines to a CSV file in the format that Jackson's {@code CsvGenerator} writes with its default settings.
+ * <p>
+ * The generator formats every double and every array element to a {@code String} before writing it.
+ * This appender formats numbers into a reused {@link StringBuilder} instead and encodes them straight into its
+ * output buffer, which keeps exports of property-heavy graphs from allocating per value.
+ */
 final class JacksonFileAppender implements Flushable, AutoCloseable {
 
-    private final CsvGenerator csvEncoder;
-    private final CsvSchema csvSchema;
+    private static final byte COLUMN_SEPARATOR = ',';
+    private static final char ARRAY_ELEMENT_SEPARATOR = ';';
+    private static final byte QUOTE = '"';
+    private static final byte LINE_SEPARATOR = '\n';
+    // Jackson quotes values longer than this without looking at them
+    private static final int MAX_QUOTE_CHECK_CHARS = 24;
+    // Jackson quotes values containing a char below the largest of separator, quote and line separator
+    private static final char MIN_SAFE_CHAR = ',' + 1;
+    private static final char CONTROL_CHAR_ESCAPE = '\\';
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // the longest encoding of a single char, so that it can be put into the buffer without checking the capacity
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final Path filePath;
+    private final OutputStream out;
+    private final CountingOutputStream fileOut;
+    private final int columnCount;
+    private final Log log;
+    private final byte[] buffer;
+    private final StringBuilder formatBuffer;
+    private final long startNanos;
 
+    private int position;
     private int currentColumnIndex = 0;
+    private long lineCount;
+    private long byteCount;
 
     static <PROPERTY_SCHEMA extends PropertySchema> JacksonFileAppender of(
         Path filePath,
         List<PROPERTY_SCHEMA> propertySchemas,
         UnaryOperator<CsvSchema.Builder> schemaEnricher
+    ) {
+        return of(filePath, propertySchemas, schemaEnricher, FileCompression.NONE, Log.noOpLog());
+    }
+
+    static <PROPERTY_SCHEMA extends PropertySchema> JacksonFileAppender of(
+        Path filePath,
+        List<PROPERTY_SCHEMA> propertySchemas,
+        UnaryOperator<CsvSchema.Builder> schemaEnricher,
+        FileCompression compression,
+        Log log
     ) {
         var csvSchemaBuilder = schemaEnricher.apply(CsvSchema.builder());
         for (PROPERTY_SCHEMA propertySchema : propertySchemas) {
@@ -70,68 +111,97 @@ final class JacksonFileAppender implements Flushable, AutoCloseable {
         }
         var csvSchema = csvSchemaBuilder.build();
 
-        var mapper = CsvMapper.csvBuilder().build();
-        var factory = mapper.getFactory();
-
         try {
-            var writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8);
-            var csvEncoder = factory.createGenerator(writer);
-            csvEncoder.setSchema(csvSchema);
-            return new JacksonFileAppender(csvEncoder, csvSchema);
+            var fileOut = new CountingOutputStream(Files.newOutputStream(filePath));
+            var out = compression.compress(fileOut);
+            return new JacksonFileAppender(filePath, out, fileOut, csvSchema.size(), log);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
     private JacksonFileAppender(
-        CsvGenerator csvEncoder,
-        CsvSchema csvSchema
+        Path filePath,
+        OutputStream out,
+        CountingOutputStream fileOut,
+        int columnCount,
+        Log log
     ) {
-        this.csvEncoder = csvEncoder;
-        this.csvSchema = csvSchema;
+        this.filePath = filePath;
+        this.out = out;
+        this.fileOut = fileOut;
+        this.columnCount = columnCount;
+        this.log = log;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.formatBuffer = new StringBuilder();
+        this.startNanos = System.nanoTime();
     }
 
     void append(long value) throws IOException {
         if (value != LONG_DEFAULT_FALLBACK && value != INTEGER_DEFAULT_FALLBACK) {
-            setFieldName();
-            csvEncoder.writeNumber(value);
+            startColumn();
+            formatBuffer.setLength(0);
+            formatBuffer.append(value);
+            writeUnquoted(formatBuffer);
         } else {
             appendEmptyField();
         }
-
     }
 
     void append(double value) throws IOException {
         if (!Double.isNaN(value)) {
-            setFieldName();
-            csvEncoder.writeNumber(value);
+            startColumn();
+            formatBuffer.setLength(0);
+            formatBuffer.append(value);
+            writeUnquoted(formatBuffer);
         } else {
             appendEmptyField();
         }
     }
 
-    void append(String value) throws IOException {
-        setFieldName();
-        csvEncoder.writeString(value);
+    void append(@Nullable String value) throws IOException {
+        if (value != null) {
+            startColumn();
+            writeValue(value);
+        } else {
+            appendEmptyField();
+        }
     }
 
     void append(double[] value) throws IOException {
-        setFieldName();
-        csvEncoder.writeArray(value, 0, value.length);
+        startColumn();
+        formatBuffer.setLength(0);
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                formatBuffer.append(ARRAY_ELEMENT_SEPARATOR);
+            }
+            formatBuffer.append(value[i]);
+        }
+        writeValue(formatBuffer);
     }
 
     void append(long[] value) throws IOException {
-        setFieldName();
-        csvEncoder.writeArray(value, 0, value.length);
+        startColumn();
+        formatBuffer.setLength(0);
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                formatBuffer.append(ARRAY_ELEMENT_SEPARATOR);
+            }
+            formatBuffer.append(value[i]);
+        }
+        writeValue(formatBuffer);
     }
 
     void append(float[] value) throws IOException {
-        setFieldName();
-        csvEncoder.writeStartArray(value, value.length);
-        for (float v : value) {
-            csvEncoder.writeNumber(v);
+        startColumn();
+        formatBuffer.setLength(0);
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                formatBuffer.append(ARRAY_ELEMENT_SEPARATOR);
+            }
+            formatBuffer.append(value[i]);
         }
-        csvEncoder.writeEndArray();
+        writeValue(formatBuffer);
     }
 
     void appendAny(@Nullable Object value) throws IOException {
@@ -154,32 +224,157 @@ final class JacksonFileAppender implements Flushable, AutoCloseable {
         }
     }
 
-    void startLine() throws IOException {
+    void startLine() {
         currentColumnIndex = 0;
-        csvEncoder.writeStartObject();
     }
 
     void endLine() throws IOException {
-        csvEncoder.writeEndObject();
+        // like Jackson, columns that have not been written are written empty
+        while (currentColumnIndex < columnCount) {
+            appendEmptyField();
+        }
+        ensureCapacity(1);
+        buffer[position++] = LINE_SEPARATOR;
+        lineCount++;
     }
 
     @Override
     public void flush() throws IOException {
-        csvEncoder.flush();
+        flushBuffer();
+        out.flush();
     }
 
     @Override
     public void close() throws IOException {
-        csvEncoder.close();
+        flushBuffer();
+        out.close();
+
+        var tookNanos = System.nanoTime() - startNanos;
+        log.debug(
+            "Csv export: wrote %d lines with %d bytes (%d bytes on disk) to `%s` in %d ms, %.2f MiB/s",
+            lineCount,
+            byteCount,
+            fileOut.count,
+            filePath.getFileName(),
+            TimeUnit.NANOSECONDS.toMillis(tookNanos),
+            byteCount / (1024.0 * 1024.0) / Math.max(tookNanos / 1e9, 1e-9)
+        );
     }
 
     private void appendEmptyField() throws IOException {
-        setFieldName();
-        csvEncoder.writeNull();
+        startColumn();
+    }
+
+    private void startColumn() throws IOException {
+        if (currentColumnIndex++ > 0) {
+            ensureCapacity(1);
+            buffer[position++] = COLUMN_SEPARATOR;
+        }
     }
 
-    private void setFieldName() throws IOException {
-        var column = csvSchema.column(currentColumnIndex++);
-        csvEncoder.writeFieldName(column.getName());
+    private void writeValue(CharSequence value) throws IOException {
+        if (needsQuotes(value)) {
+            ensureCapacity(1);
+            buffer[position++] = QUOTE;
+            for (int i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                if (c == QUOTE) {
+                    ensureCapacity(1);
+                    buffer[position++] = QUOTE;
+                }
+                i = writeChar(value, i);
+            }
+            ensureCapacity(1);
+            buffer[position++] = QUOTE;
+        } else {
+            writeUnquoted(value);
+        }
+    }
+
+    private void writeUnquoted(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            i = writeChar(value, i);
+        }
+    }
+
+    /**
+     * Encodes the char at the given index as UTF-8 and returns the index of the last char that has been consumed,
+     * which is the next one for surrogate pairs.
+     */
+    private int writeChar(CharSequence value, int index) throws IOException {
+        ensureCapacity(MAX_CHAR_BYTES);
+        var c = value.charAt(index);
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c)
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+                var codePoint = Character.toCodePoint(c, value.charAt(++index));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // malformed input is replaced, like the JDK encoder does
+                buffer[position++] = '?';
+            }
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    private static boolean needsQuotes(CharSequence value) {
+        var length = value.length();
+        if (length > MAX_QUOTE_CHECK_CHARS) {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            if (c < MIN_SAFE_CHAR || c == CONTROL_CHAR_ESCAPE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            byteCount += position;
+            position = 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
     }
 }
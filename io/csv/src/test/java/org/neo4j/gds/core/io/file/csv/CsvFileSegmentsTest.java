@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.core.io.file.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.gds.core.concurrency.Concurrency;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvFileSegmentsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 7, 16, 64, 1024})
+    void shouldSplitAtLineBoundaries(long segmentSize) throws IOException {
+        var file = tempDir.resolve("nodes_0.csv");
+        var lines = IntStream.range(0, 100)
+            .mapToObj(i -> i % 3 == 0
+                ? i + ",\"multi\nline, \"\"quoted\"\"\n value\"," + i * 2
+                : i + ",plain," + i * 2)
+            .collect(Collectors.joining("\n", "", "\n"));
+        Files.writeString(file, lines);
+
+        var segments = CsvFileSegments.split(file, segmentSize, new Concurrency(4));
+
+        assertThat(segments.size()).isGreaterThan(1);
+        assertThat(segments.get(0).start()).isEqualTo(0);
+        assertThat(segments.get(segments.size() - 1).end()).isEqualTo(Files.size(file));
+        for (int i = 1; i < segments.size(); i++) {
+            assertThat(segments.get(i).start()).isEqualTo(segments.get(i - 1).end());
+        }
+
+        assertThat(readSegments(segments)).containsExactlyElementsOf(read(file));
+    }
+
+    @Test
+    void shouldNotSplitSmallFiles() throws IOException {
+        var file = tempDir.resolve("nodes_0.csv");
+        Files.writeString(file, "0,a\n1,b\n");
+
+        var segments = CsvFileSegments.split(file, 1024, new Concurrency(4));
+
+        assertThat(segments).containsExactly(new CsvFileSegments.Segment(file, 0, 8));
+    }
+
+    @Test
+    void shouldMergeRangesWithoutLineBreak() throws IOException {
+        var file = tempDir.resolve("nodes_0.csv");
+        Files.writeString(file, "0," + "a".repeat(100) + "\n1,b\n");
+
+        var segments = CsvFileSegments.split(file, 10, new Concurrency(4));
+
+        assertThat(segments).containsExactly(
+            new CsvFileSegments.Segment(file, 0, 103),
+            new CsvFileSegments.Segment(file, 103, 107)
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidSegmentSize() {
+        var file = tempDir.resolve("nodes_0.csv");
+
+        assertThatThrownBy(() -> CsvFileSegments.split(file, 0, new Concurrency(4)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("The segment size must be positive");
+    }
+
+    private static List<List<String>> readSegments(List<CsvFileSegments.Segment> segments) throws IOException {
+        var rows = new ArrayList<List<String>>();
+        for (var segment : segments) {
+            try (var lineIterator = CsvFileInput.LINE_READER.<String[]>readValues(segment.open())) {
+                lineIterator.forEachRemaining(line -> rows.add(List.of(line)));
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<String>> read(Path file) throws IOException {
+        var rows = new ArrayList<List<String>>();
+        try (var lineIterator = CsvFileInput.LINE_READER.<String[]>readValues(file.toFile())) {
+            lineIterator.forEachRemaining(line -> rows.add(List.of(line)));
+        }
+        return rows;
+    }
+}
@@ -22,6 +22,8 @@ package org.neo4j.gds.core.io.file.csv;
 import org.junit.jupiter.api.Test;
 import org.neo4j.gds.api.nodeproperties.ValueType;
 import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.core.io.file.FileCompression;
+import org.neo4j.gds.logging.Log;
 
 import java.util.HashSet;
 import java.util.List;
@@ -36,7 +38,9 @@ class CsvGraphPropertyVisitorTest extends CsvVisitorTest {
             tempDir,
             longPropWithSchema,
             new HashSet<>(),
-            0
+            0,
+            FileCompression.NONE,
+            Log.noOpLog()
         )) {
             for (int i = 0; i < 4; i++) {
                 graphPropertyVisitor.property("longProp", (long) i);
@@ -66,7 +70,9 @@ class CsvGraphPropertyVisitorTest extends CsvVisitorTest {
             tempDir,
             graphPropertySchemas,
             new HashSet<>(),
-            0
+            0,
+            FileCompression.NONE,
+            Log.noOpLog()
         )) {
             for (int i = 0; i < 4; i++) {
                 graphPropertyVisitor.property("doubleProp", (double) i);
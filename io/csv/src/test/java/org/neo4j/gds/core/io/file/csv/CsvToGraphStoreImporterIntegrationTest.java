@@ -34,6 +34,7 @@ import org.neo4j.gds.api.properties.graph.DoubleArrayGraphPropertyValues;
 import org.neo4j.gds.api.properties.graph.LongGraphPropertyValues;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.GraphStoreToFileExporterParameters;
 import org.neo4j.gds.core.loading.ArrayIdMapBuilder;
 import org.neo4j.gds.core.loading.Capabilities.WriteMode;
@@ -44,6 +45,8 @@ import org.neo4j.gds.core.utils.progress.TaskRegistryFactory;
 import org.neo4j.gds.gdl.GdlFactory;
 import org.neo4j.gds.logging.Log;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -110,6 +113,36 @@ class CsvToGraphStoreImporterIntegrationTest {
         assertGraphEquals(graphStore.getUnion(), importedGraph);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldImportCompressedFiles(int concurrency) throws IOException {
+        var graphStore = GdlFactory.of(GRAPH_WITH_PROPERTIES).build();
+        addDoubleArrayGraphProperty(graphStore);
+
+        GraphStoreToCsvExporter.create(
+            graphStore,
+            exportParameters(concurrency, FileCompression.GZIP),
+            graphLocation,
+            Optional.empty(),
+            TaskRegistryFactory.empty(),
+            Log.noOpLog(),
+            DefaultPool.INSTANCE
+        ).run();
+
+        try (var files = Files.list(graphLocation)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                .filteredOn(fileName -> fileName.matches("(nodes|relationships|graph_property)_.*_\\d+\\.csv.*"))
+                .isNotEmpty()
+                .allMatch(fileName -> fileName.endsWith(".csv.gz"));
+        }
+
+        var importer = new CsvToGraphStoreImporter(new Concurrency(concurrency), graphLocation, Log.noOpLog(), EmptyTaskRegistryFactory.INSTANCE);
+        var importedGraphStore = importer.run().graphStore();
+
+        assertGraphEquals(graphStore.getUnion(), importedGraphStore.getUnion());
+        assertThat(importedGraphStore.graphPropertyKeys()).containsExactly("doubleArrayProp");
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {1, 4})
     void shouldImportGraphStoreWithGraphProperties(int concurrency) {
@@ -273,12 +306,17 @@ class CsvToGraphStoreImporterIntegrationTest {
     }
 
     private GraphStoreToFileExporterParameters exportParameters(int concurrency) {
+        return exportParameters(concurrency, FileCompression.NONE);
+    }
+
+    private GraphStoreToFileExporterParameters exportParameters(int concurrency, FileCompression compression) {
         return new GraphStoreToFileExporterParameters(
             "my-export",
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(concurrency),
-            10_000
+            10_000,
+            compression
         );
     }
 
@@ -32,6 +32,7 @@ import org.neo4j.gds.api.properties.graph.LongGraphPropertyValues;
 import org.neo4j.gds.core.Aggregation;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.io.file.FileCompression;
 import org.neo4j.gds.core.io.file.GraphStoreToFileExporterParameters;
 import org.neo4j.gds.core.loading.Capabilities.WriteMode;
 import org.neo4j.gds.core.utils.progress.TaskRegistryFactory;
@@ -144,7 +145,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
         // export db
         var exporter = GraphStoreToCsvExporter.create(graphStore, parameters, tempDir, Optional.empty(), TaskRegistryFactory.empty(), Log.noOpLog(), DefaultPool.INSTANCE);
@@ -250,7 +252,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         var graphPropertyValues = new LongGraphPropertyValues() {
@@ -304,7 +307,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(2),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         // export db
@@ -381,7 +385,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(4),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         var graphPropertyValues = new LongGraphPropertyValues() {
@@ -455,7 +460,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         graphStore.addGraphProperty("graphProp", new LongGraphPropertyValues() {
@@ -652,7 +658,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "UserA",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         var exporter = GraphStoreToCsvExporter.create(
@@ -680,7 +687,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         var exporter = GraphStoreToCsvExporter.create(
@@ -732,7 +740,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         // export db
@@ -779,7 +788,8 @@ class GraphStoreToCsvExporterTest extends CsvTest {
             "",
             RelationshipType.ALL_RELATIONSHIPS,
             new Concurrency(1),
-            10_000
+            10_000,
+            FileCompression.NONE
         );
 
         var exporter = GraphStoreToCsvExporter.create(
@@ -19,6 +19,7 @@
  */
 package org.neo4j.gds.core.io.file.csv;
 
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -26,10 +27,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.gds.api.nodeproperties.ValueType;
 import org.neo4j.gds.api.schema.PropertySchema;
+import org.neo4j.gds.core.io.file.FileCompression;
+import org.neo4j.gds.logging.Log;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.gds.api.DefaultValue.INTEGER_DEFAULT_FALLBACK;
@@ -225,4 +232,74 @@ class JacksonFileAppenderTest {
 
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "plain",
+        "",
+        "with space",
+        "with,comma",
+        "with;semicolon",
+        "with\"quote\"",
+        "with\\backslash",
+        "multi\nline",
+        "exactly-24-characters-xx",
+        "longer than twenty four characters",
+        "ümlaut",
+        "emoji \uD83D\uDE00"
+    })
+    void shouldQuoteStringsLikeJackson(String value) throws IOException {
+        var stringPropertySchema = PropertySchema.of("stringPropertySchema", ValueType.STRING);
+        var stringPropertyFilePath = tempDir.resolve("string-property-test.csv");
+        try (var appender = JacksonFileAppender.of(
+            stringPropertyFilePath,
+            List.of(stringPropertySchema),
+            builder -> builder.addNumberColumn(":ID")
+        )) {
+            appender.startLine();
+            appender.append(42L);
+            appender.append(value);
+            appender.endLine();
+        }
+
+        var csvSchema = CsvSchema.builder().addNumberColumn(":ID").addColumn("stringPropertySchema").build();
+        var expected = new StringWriter();
+        try (var generator = CsvMapper.csvBuilder().build().getFactory().createGenerator(expected)) {
+            generator.setSchema(csvSchema);
+            generator.writeStartObject();
+            generator.writeFieldName(":ID");
+            generator.writeNumber(42L);
+            generator.writeFieldName("stringPropertySchema");
+            generator.writeString(value);
+            generator.writeEndObject();
+        }
+
+        assertThat(Files.readString(stringPropertyFilePath, StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void shouldCompressWithGzip() throws IOException {
+        var doublePropertySchema = PropertySchema.of("doublePropertySchema", ValueType.DOUBLE);
+        var doublePropertyFilePath = tempDir.resolve("double-property-test.csv.gz");
+        try (var appender = JacksonFileAppender.of(
+            doublePropertyFilePath,
+            List.of(doublePropertySchema),
+            builder -> builder.addNumberColumn(":ID"),
+            FileCompression.GZIP,
+            Log.noOpLog()
+        )) {
+            for (int i = 0; i < 1000; i++) {
+                appender.startLine();
+                appender.append((long) i);
+                appender.append(i / 2.0);
+                appender.endLine();
+            }
+        }
+
+        try (var in = new GZIPInputStream(Files.newInputStream(doublePropertyFilePath))) {
+            var lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(1000);
+            assertThat(lines[0]).isEqualTo("0,0.0");
+            assertThat(lines[999]).isEqualTo("999,499.5");
+        }
+    }
 }
@@ -70,6 +70,8 @@ class NodeLabelIndexBasedScannerTest extends BaseTest {
 
             try (var scanner = new MultipleNodeLabelIndexBasedScanner(
                 labelIds,
+                new int[]{1, 1},
+                1,
                 prefetchSize,
                 txContext
             );
@@ -117,6 +119,64 @@ class NodeLabelIndexBasedScannerTest extends BaseTest {
         }
     }
 
+    @Test
+    void testMinimumNumberOfPartitionsForSkewedLabels() {
+        var dominantLabel = Label.label("Dominant");
+        var rareLabel = Label.label("Rare");
+        var nodeCount = 20_000;
+
+        runInFullAccessTransaction(db, tx -> {
+            for (int i = 0; i < nodeCount; i++) {
+                if (i % 100 == 0) {
+                    tx.createNode(rareLabel);
+                } else {
+                    tx.createNode(dominantLabel);
+                }
+            }
+        });
+
+        // all nodes fit into a single partition of the default batch size
+        assertThat(scanPartitions(rareLabel, dominantLabel, 1, nodeCount)).isEqualTo(1);
+        // the label index limits how fine partitions can get, but a minimum splits the scan
+        assertThat(scanPartitions(rareLabel, dominantLabel, 8, nodeCount)).isGreaterThan(1);
+    }
+
+    private int scanPartitions(Label labelA, Label labelB, int minNumberOfPartitions, int expectedNodeCount) {
+        try (var transactions = GraphDatabaseApiProxy.newKernelTransaction(db)) {
+            var txContext = DatabaseTransactionContext.of(db, transactions.tx());
+            var ktx = transactions.ktx();
+
+            var labelIds = new int[]{
+                ktx.tokenRead().nodeLabel(labelA.name()),
+                ktx.tokenRead().nodeLabel(labelB.name())
+            };
+
+            try (
+                var scanner = new MultipleNodeLabelIndexBasedScanner(
+                    labelIds,
+                    new int[]{1, 1},
+                    minNumberOfPartitions,
+                    StoreScanner.DEFAULT_PREFETCH_SIZE,
+                    txContext
+                );
+                var storeScanner = scanner.createCursor(ktx)
+            ) {
+                var actualNodeCount = new MutableInt();
+                var partitions = 0;
+                while (storeScanner.reserveBatch()) {
+                    partitions++;
+                    storeScanner.consumeBatch(nodeReference -> {
+                        actualNodeCount.increment();
+                        return true;
+                    });
+                }
+
+                assertThat(actualNodeCount.getValue()).isEqualTo(expectedNodeCount);
+                return partitions;
+            }
+        }
+    }
+
     @Test
     void testBatchSizeAlignment() {
         var prefetchSize = StoreScanner.DEFAULT_PREFETCH_SIZE;
@@ -140,6 +200,8 @@ class NodeLabelIndexBasedScannerTest extends BaseTest {
             try (
                 var scanner = new NodeLabelIndexBasedScanner(
                     labelToken,
+                    1,
+                    1,
                     prefetchSize,
                     txContext
                 );
@@ -32,6 +32,7 @@ import org.neo4j.gds.api.AdjacencyProperties;
 import org.neo4j.gds.api.DatabaseId;
 import org.neo4j.gds.api.GraphLoaderContext;
 import org.neo4j.gds.api.ImmutableGraphLoaderContext;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.compat.GraphDatabaseApiProxy;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.concurrency.Concurrency;
@@ -88,6 +89,7 @@ class ScanningRelationshipsImporterTest extends BaseTest {
         var graphDimensions = graphDimensions(graphProjectConfig, graphLoaderContext);
         var importer = new ScanningRelationshipsImporterBuilder()
             .idMap(new DirectIdMap(graphDimensions.nodeCount()))
+            .pageAllocator(PageAllocator.heap())
             .loadingContext(graphLoaderContext)
             .progressTracker(ProgressTracker.NULL_TRACKER)
             .dimensions(graphDimensions)
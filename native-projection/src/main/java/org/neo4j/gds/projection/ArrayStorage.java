@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.projection;
+
+import org.neo4j.gds.collections.ha.PageAllocator;
+import org.neo4j.gds.settings.GdsSettings;
+import org.neo4j.gds.utils.StringJoining;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.gds.utils.StringFormatting.toUpperCaseWithLocale;
+
+/**
+ * Where the per-node adjacency degrees and offsets of a projected graph are stored.
+ * The adjacency pages themselves, the properties and the id map are always allocated on the heap.
+ */
+public enum ArrayStorage {
+    /**
+     * Regular Java arrays on the heap.
+     */
+    HEAP,
+    /**
+     * Direct buffers outside the heap, released when the graph is garbage collected.
+     */
+    OFF_HEAP,
+    /**
+     * Memory-mapped temporary files, paged in and out by the operating system.
+     * The files are created in the directory that is configured with {@code gds.projection.array_storage_location}.
+     */
+    MAPPED;
+
+    private static final List<String> VALUES = Arrays
+        .stream(ArrayStorage.values())
+        .map(ArrayStorage::name)
+        .collect(Collectors.toList());
+
+    /**
+     * @param location supplies the configured directory for memory-mapped files, only called for {@link #MAPPED}
+     */
+    public PageAllocator pageAllocator(Supplier<Optional<Path>> location) {
+        switch (this) {
+            case OFF_HEAP:
+                return PageAllocator.offHeap();
+            case MAPPED:
+                return PageAllocator.mapped(location.get().orElseThrow(() -> new IllegalArgumentException(
+                    formatWithLocale(
+                        "ArrayStorage `%s` requires the configuration option '%s' to be set.",
+                        MAPPED,
+                        GdsSettings.arrayStorageLocation().name()
+                    ))));
+            default:
+                return PageAllocator.heap();
+        }
+    }
+
+    public static ArrayStorage parse(Object object) {
+        if (object instanceof String) {
+            var inputString = toUpperCaseWithLocale((String) object);
+            if (!VALUES.contains(inputString)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "ArrayStorage `%s` is not supported. Must be one of: %s.",
+                    object,
+                    StringJoining.join(VALUES)
+                ));
+            }
+            return ArrayStorage.valueOf(inputString);
+        } else if (object instanceof ArrayStorage) {
+            return (ArrayStorage) object;
+        }
+
+        throw new IllegalArgumentException(formatWithLocale(
+            "Expected ArrayStorage or String. Got %s.",
+            object.getClass().getSimpleName()
+        ));
+    }
+
+    public static String toString(ArrayStorage arrayStorage) {
+        return arrayStorage.toString();
+    }
+}
@@ -29,6 +29,7 @@ import org.neo4j.gds.annotation.Configuration.ConvertWith;
 import org.neo4j.gds.annotation.Configuration.Key;
 import org.neo4j.gds.config.GraphProjectConfig;
 import org.neo4j.gds.core.CypherMapWrapper;
+import org.neo4j.gds.core.loading.ChunkedAdjacencyLists;
 
 import java.util.HashSet;
 import java.util.Map;
@@ -72,6 +73,34 @@ public interface GraphProjectFromStoreConfig extends GraphProjectConfig {
         return PropertyMappings.of();
     }
 
+    /**
+     * Where to store the per-node adjacency degrees and offsets of the projected graph.
+     */
+    @Configuration.ConvertWith(method = "org.neo4j.gds.projection.ArrayStorage#parse")
+    @Configuration.ToMapValue("org.neo4j.gds.projection.ArrayStorage#toString")
+    default ArrayStorage arrayStorage() {
+        return ArrayStorage.HEAP;
+    }
+
+    /**
+     * Whether to record the nodes and relationships that are created and deleted after the projection,
+     * so that the graph can be refreshed without projecting it again.
+     */
+    default boolean trackChanges() {
+        return false;
+    }
+
+    /**
+     * The number of buffered relationships of a node from which parallel relationships may be aggregated
+     * on insertion, instead of after the relationships have been imported. A node only switches if a sample of
+     * its relationships has enough duplicates. The default of {@code 0} disables this, it has no effect when
+     * parallel relationships are not aggregated.
+     */
+    @Configuration.IntegerRange(min = 0)
+    default int hashAggregationThreshold() {
+        return ChunkedAdjacencyLists.DEFAULT_HASH_AGGREGATION_THRESHOLD;
+    }
+
     @Configuration.Check
     default void validateProjectionsAreNotEmpty() {
         if (nodeProjections().isEmpty()) {
@@ -33,14 +33,20 @@ import java.util.stream.Collectors;
 final class MultipleNodeLabelIndexBasedScanner extends AbstractNodeCursorBasedScanner<CompositeNodeCursor> {
 
     private final int[] labelIds;
+    private final int[] labelWeights;
+    private final int minNumberOfPartitions;
 
     MultipleNodeLabelIndexBasedScanner(
         int[] labelIds,
+        int[] labelWeights,
+        int minNumberOfPartitions,
         int prefetchSize,
         TransactionContext transaction
     ) {
         super(prefetchSize, transaction);
         this.labelIds = labelIds;
+        this.labelWeights = labelWeights;
+        this.minNumberOfPartitions = minNumberOfPartitions;
     }
 
     @Override
@@ -57,6 +63,8 @@ final class MultipleNodeLabelIndexBasedScanner extends AbstractNodeCursorBasedSc
         return new CompositeNodeScan(PartitionedStoreScan.createScans(
             transaction,
             batchSize(),
+            minNumberOfPartitions,
+            labelWeights,
             labelIds
         ));
     }
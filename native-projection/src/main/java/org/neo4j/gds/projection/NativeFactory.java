@@ -20,10 +20,12 @@
 package org.neo4j.gds.projection;
 
 import org.immutables.builder.Builder;
+import org.neo4j.configuration.Config;
 import org.neo4j.gds.Orientation;
 import org.neo4j.gds.api.CSRGraphStoreFactory;
 import org.neo4j.gds.api.GraphLoaderContext;
 import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.loading.CSRGraphStore;
@@ -37,7 +39,9 @@ import org.neo4j.gds.core.utils.progress.tasks.TaskTreeProgressTracker;
 import org.neo4j.gds.core.utils.progress.tasks.Tasks;
 import org.neo4j.gds.core.utils.warnings.EmptyUserLogRegistryFactory;
 import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.settings.GdsSettings;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 import static org.neo4j.gds.projection.GraphDimensionsValidation.validate;
@@ -79,7 +83,12 @@ final class NativeFactory extends CSRGraphStoreFactory<GraphProjectFromStoreConf
 
     @Override
     public MemoryEstimation estimateMemoryUsageDuringLoading() {
-        return getMemoryEstimation(storeConfig.nodeProjections(), storeConfig.relationshipProjections(), true);
+        return getMemoryEstimation(
+            storeConfig.nodeProjections(),
+            storeConfig.relationshipProjections(),
+            true,
+            storeConfig.hashAggregationThreshold() > 0
+        );
     }
 
     @Override
@@ -135,10 +144,11 @@ final class NativeFactory extends CSRGraphStoreFactory<GraphProjectFromStoreConf
         validate(dimensions, storeConfig);
 
         var concurrency = graphProjectConfig.readConcurrency();
+        var pageAllocator = storeConfig.arrayStorage().pageAllocator(this::arrayStorageLocation);
         try {
             progressTracker.beginSubTask();
             Nodes nodes = loadNodes(concurrency);
-            RelationshipImportResult relationships = loadRelationships(nodes.idMap(), concurrency);
+            RelationshipImportResult relationships = loadRelationships(nodes.idMap(), pageAllocator, concurrency);
             CSRGraphStore graphStore = createGraphStore(nodes, relationships);
 
             logLoadingSummary(graphStore);
@@ -166,10 +176,15 @@ final class NativeFactory extends CSRGraphStoreFactory<GraphProjectFromStoreConf
         }
     }
 
-    private RelationshipImportResult loadRelationships(IdMap idMap, Concurrency concurrency) {
+    private RelationshipImportResult loadRelationships(
+        IdMap idMap,
+        PageAllocator pageAllocator,
+        Concurrency concurrency
+    ) {
         var scanningRelationshipsImporter = new ScanningRelationshipsImporterBuilder()
             .idMap(idMap)
             .graphProjectConfig(graphProjectConfig)
+            .pageAllocator(pageAllocator)
             .loadingContext(loadingContext)
             .dimensions(dimensions)
             .progressTracker(progressTracker)
@@ -184,6 +199,14 @@ final class NativeFactory extends CSRGraphStoreFactory<GraphProjectFromStoreConf
         }
     }
 
+    /**
+     * The directory for memory-mapped arrays is a server setting, users cannot choose where files are written.
+     */
+    private Optional<Path> arrayStorageLocation() {
+        var neo4jConfig = loadingContext.dependencyResolver().resolveDependency(Config.class);
+        return Optional.ofNullable(neo4jConfig.get(GdsSettings.arrayStorageLocation()));
+    }
+
     @Override
     protected ProgressTracker progressTracker() {
         return progressTracker;
@@ -28,14 +28,20 @@ import org.neo4j.kernel.api.KernelTransaction;
 final class NodeLabelIndexBasedScanner extends AbstractNodeCursorBasedScanner<NodeLabelIndexCursor> {
 
     private final int labelId;
+    private final int labelWeight;
+    private final int minNumberOfPartitions;
 
     NodeLabelIndexBasedScanner(
         int labelId,
+        int labelWeight,
+        int minNumberOfPartitions,
         int prefetchSize,
         TransactionContext transaction
     ) {
         super(prefetchSize, transaction);
         this.labelId = labelId;
+        this.labelWeight = labelWeight;
+        this.minNumberOfPartitions = minNumberOfPartitions;
     }
 
     @Override
@@ -45,8 +51,9 @@ final class NodeLabelIndexBasedScanner extends AbstractNodeCursorBasedScanner<No
 
     @Override
     StoreScan<NodeLabelIndexCursor> entityCursorScan(KernelTransaction transaction) {
-        int batchSize = batchSize();
-        return PartitionedStoreScan.createScans(transaction, batchSize, labelId).get(0);
+        return PartitionedStoreScan
+            .createScans(transaction, batchSize(), minNumberOfPartitions, new int[]{labelWeight}, labelId)
+            .get(0);
     }
 
     @Override
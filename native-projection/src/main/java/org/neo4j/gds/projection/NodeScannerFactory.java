@@ -20,6 +20,7 @@
 package org.neo4j.gds.projection;
 
 import org.neo4j.common.EntityType;
+import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.logging.Log;
 import org.neo4j.gds.transaction.TransactionContext;
 import org.neo4j.internal.kernel.api.InternalIndexState;
@@ -35,12 +36,23 @@ import static org.neo4j.gds.core.GraphDimensions.ANY_LABEL;
 
 public final class NodeScannerFactory {
 
+    /**
+     * Label index scans are split into at least this many partitions per thread, so that threads that are done
+     * early can take over partitions of the others.
+     */
+    static final int PARTITIONS_PER_THREAD = 4;
+
     private NodeScannerFactory() {}
 
+    /**
+     * @param labelWeights the relative cost of scanning a node of each label, in the same order as {@code labelIds}
+     */
     public static StoreScanner.Factory<NodeReference> create(
         TransactionContext transactionContext,
         long nodeCount,
         int[] labelIds,
+        int[] labelWeights,
+        Concurrency concurrency,
         Log log
     ) {
         var hasNodeLabelIndex = hasNodeLabelIndex(transactionContext);
@@ -51,15 +63,22 @@ public final class NodeScannerFactory {
 
         if (Arrays.stream(labelIds).anyMatch(labelId -> labelId == ANY_LABEL) || !hasNodeLabelIndex) {
             return (prefetchSize, transaction) -> new NodeCursorBasedScanner(prefetchSize, nodeCount, transaction);
-        } else if (labelIds.length == 1) {
+        }
+
+        int minNumberOfPartitions = concurrency.value() * PARTITIONS_PER_THREAD;
+        if (labelIds.length == 1) {
             return (prefetchSize, transaction) -> new NodeLabelIndexBasedScanner(
                 labelIds[0],
+                labelWeights[0],
+                minNumberOfPartitions,
                 prefetchSize,
                 transaction
             );
         } else {
             return (prefetchSize, transaction) -> new MultipleNodeLabelIndexBasedScanner(
                 labelIds,
+                labelWeights,
+                minNumberOfPartitions,
                 prefetchSize,
                 transaction
             );
@@ -40,12 +40,21 @@ final class RecordScannerTaskRunner {
 
     ImportResult runImport(ExecutorService executorService) {
         Collection<RecordScannerTask> tasks = new ArrayList<>(threadCount);
+        Collection<Runnable> timedTasks = new ArrayList<>(threadCount);
+        long[] taskDurations = new long[threadCount];
         for (int i = 0; i < threadCount; i++) {
-            tasks.add(recordScannerTaskFactory.create(i));
+            var task = recordScannerTaskFactory.create(i);
+            int taskIndex = i;
+            tasks.add(task);
+            timedTasks.add(() -> {
+                long taskStart = System.nanoTime();
+                task.run();
+                taskDurations[taskIndex] = System.nanoTime() - taskStart;
+            });
         }
 
         long start = System.nanoTime();
-        ParallelUtil.run(tasks, executorService);
+        ParallelUtil.run(timedTasks, executorService);
 
         ParallelUtil.run(recordScannerTaskFactory.adjacencyListBuilderTasks(), executorService);
         long elapsed = System.nanoTime() - start;
@@ -62,6 +71,7 @@ final class RecordScannerTaskRunner {
             .importedRecords(importedRecords)
             .importedProperties(importedProperties)
             .durationNanos(elapsed)
+            .taskDurationsNanos(taskDurations)
             .build();
     }
 
@@ -72,6 +82,11 @@ final class RecordScannerTaskRunner {
         long importedRecords();
 
         long importedProperties();
+
+        /**
+         * How long each scanner task took, tasks that take much longer than others indicate a skewed scan.
+         */
+        long[] taskDurationsNanos();
     }
 
     public interface RecordScannerTaskFactory {
@@ -43,6 +43,7 @@ import org.neo4j.gds.logging.Log;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference, Nodes> {
@@ -64,8 +65,6 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
     ) {
         var expectedCapacity = dimensions.highestPossibleNodeCount();
 
-        var scannerFactory = scannerFactory(loadingContext.transactionContext(), dimensions, loadingContext.log());
-
         var idMapBuilder = IdMapBehaviorServiceProvider
             .idMapBehavior()
             .create(
@@ -90,6 +89,14 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
 
         var loadablePropertyMappings = LoadablePropertyMappings.of(graphProjectConfig);
 
+        var scannerFactory = scannerFactory(
+            loadingContext.transactionContext(),
+            dimensions,
+            loadablePropertyMappings,
+            concurrency,
+            loadingContext.log()
+        );
+
         var nodePropertyImporter = initializeNodePropertyImporter(
             loadablePropertyMappings,
             dimensions,
@@ -141,6 +148,8 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
     private static StoreScanner.Factory<NodeReference> scannerFactory(
         TransactionContext transaction,
         GraphDimensions dimensions,
+        LoadablePropertyMappings propertyMappings,
+        Concurrency concurrency,
         Log log
     ) {
         var tokenNodeLabelMapping = dimensions.tokenNodeLabelMapping();
@@ -148,7 +157,19 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
 
         long nodeCount = dimensions.nodeCount();
         int[] labelIds = tokenNodeLabelMapping.keys().toArray();
-        return NodeScannerFactory.create(transaction, nodeCount, labelIds, log);
+
+        // reading properties dominates the cost of importing a node, so a node weighs one plus its loaded properties
+        var storedProperties = propertyMappings.storedProperties();
+        int[] labelWeights = new int[labelIds.length];
+        for (int i = 0; i < labelIds.length; i++) {
+            labelWeights[i] = 1 + tokenNodeLabelMapping.get(labelIds[i]).stream()
+                .map(storedProperties::get)
+                .filter(Objects::nonNull)
+                .mapToInt(PropertyMappings::numberOfMappings)
+                .sum();
+        }
+
+        return NodeScannerFactory.create(transaction, nodeCount, labelIds, labelWeights, concurrency, log);
     }
 
     @Override
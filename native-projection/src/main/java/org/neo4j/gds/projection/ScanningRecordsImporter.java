@@ -30,6 +30,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.LongStream;
 
 import static org.neo4j.gds.mem.Estimate.humanReadable;
 import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
@@ -109,6 +110,19 @@ abstract class ScanningRecordsImporter<Record, T> {
                 )
             );
 
+            var taskDurations = LongStream.of(importResult.taskDurationsNanos()).summaryStatistics();
+            if (taskDurations.getCount() > 0) {
+                progressTracker.logDebug(
+                    formatWithLocale(
+                        "Scanned with %d tasks; task durations min %.3f s, avg %.3f s, max %.3f s",
+                        taskDurations.getCount(),
+                        taskDurations.getMin() / 1e9,
+                        taskDurations.getAverage() / 1e9,
+                        taskDurations.getMax() / 1e9
+                    )
+                );
+            }
+
         } finally {
             progressTracker.endSubTask("Store Scan");
         }
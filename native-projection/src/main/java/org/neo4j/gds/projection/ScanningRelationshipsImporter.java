@@ -25,6 +25,7 @@ import org.neo4j.gds.RelationshipProjection;
 import org.neo4j.gds.RelationshipType;
 import org.neo4j.gds.api.GraphLoaderContext;
 import org.neo4j.gds.api.IdMap;
+import org.neo4j.gds.collections.ha.PageAllocator;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.loading.ImmutableSingleTypeRelationshipImportContext;
@@ -43,6 +44,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
 
     private final GraphProjectFromStoreConfig graphProjectConfig;
     private final GraphLoaderContext loadingContext;
+    private final PageAllocator pageAllocator;
 
     private final IdMap idMap;
     private List<SingleTypeRelationshipImportContext> importContexts;
@@ -54,6 +56,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
         GraphDimensions dimensions,
         ProgressTracker progressTracker,
         IdMap idMap,
+        PageAllocator pageAllocator,
         Concurrency concurrency
     ) {
         return new ScanningRelationshipsImporter(
@@ -62,6 +65,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
             dimensions,
             progressTracker,
             idMap,
+            pageAllocator,
             concurrency
         );
     }
@@ -72,6 +76,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
         GraphDimensions dimensions,
         ProgressTracker progressTracker,
         IdMap idMap,
+        PageAllocator pageAllocator,
         Concurrency concurrency
     ) {
         super(
@@ -88,6 +93,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
         this.graphProjectConfig = graphProjectConfig;
         this.loadingContext = loadingContext;
         this.idMap = idMap;
+        this.pageAllocator = pageAllocator;
     }
 
     @Override
@@ -110,7 +116,9 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
                         projection,
                         dimensions.relationshipTypeTokenMapping().get(relationshipType),
                         dimensions.relationshipPropertyTokens(),
-                        !graphProjectConfig.validateRelationships()
+                        !graphProjectConfig.validateRelationships(),
+                        pageAllocator,
+                        graphProjectConfig.hashAggregationThreshold()
                     );
 
                     var importer = new SingleTypeRelationshipImporterBuilder()
@@ -162,7 +170,9 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
             inverseProjection,
             dimensions.relationshipTypeTokenMapping().get(relationshipType),
             dimensions.relationshipPropertyTokens(),
-            !graphProjectConfig.validateRelationships()
+            !graphProjectConfig.validateRelationships(),
+            pageAllocator,
+            graphProjectConfig.hashAggregationThreshold()
         );
 
         var inverseImporter = new SingleTypeRelationshipImporterBuilder()
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.projection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.gds.collections.ha.PageAllocator;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ArrayStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldOnlyResolveTheLocationForMappedStorage() {
+        assertThat(ArrayStorage.HEAP.pageAllocator(() -> {
+            throw new AssertionError("location must not be resolved");
+        }).isOnHeap()).isTrue();
+        assertThat(ArrayStorage.OFF_HEAP.pageAllocator(() -> {
+            throw new AssertionError("location must not be resolved");
+        }).isOnHeap()).isFalse();
+    }
+
+    @Test
+    void shouldMapFilesIntoTheConfiguredLocation() {
+        var pageAllocator = ArrayStorage.MAPPED.pageAllocator(() -> Optional.of(tempDir));
+
+        assertThat(pageAllocator)
+            .isInstanceOf(PageAllocator.MappedAllocator.class)
+            .extracting(allocator -> ((PageAllocator.MappedAllocator) allocator).directory())
+            .isEqualTo(tempDir);
+    }
+
+    @Test
+    void shouldFailForMappedStorageWithoutConfiguredLocation() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ArrayStorage.MAPPED.pageAllocator(Optional::empty))
+            .withMessageContaining("ArrayStorage `MAPPED` requires the configuration option")
+            .withMessageContaining("gds.projection.array_storage_location");
+    }
+}
@@ -27,11 +27,13 @@ import org.neo4j.gds.RelationshipProjection;
 import org.neo4j.gds.RelationshipProjections;
 import org.neo4j.gds.RelationshipType;
 import org.neo4j.gds.api.CSRGraphStoreFactory;
+import org.neo4j.gds.collections.ha.HugeLongArray;
 import org.neo4j.gds.core.GraphDimensions;
 import org.neo4j.gds.core.ImmutableGraphDimensions;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.mem.MemoryEstimation;
 import org.neo4j.gds.mem.MemoryTree;
+import org.neo4j.gds.utils.GdsFeatureToggles;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -87,8 +89,50 @@ class NativeFactoryTest {
             .getMemoryEstimation(nodeProjections, relationshipProjections, true)
             .estimate(dimensions, new Concurrency(1));
 
-        assertEquals(6_828_526_776L, estimate.memoryUsage().min);
-        assertEquals(7_633_833_144L, estimate.memoryUsage().max);
+        assertEquals(6_828_526_880L, estimate.memoryUsage().min);
+        assertEquals(7_633_833_248L, estimate.memoryUsage().max);
+    }
+
+    @Test
+    void memoryEstimationWithNodeReordering() {
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .relCountUpperBound(500_000_000L)
+            .build();
+        var nodeProjections = NodeProjections.all();
+        var relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.ALL
+        );
+        var concurrency = new Concurrency(1);
+
+        var withoutReordering = CSRGraphStoreFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, true)
+            .estimate(dimensions, concurrency);
+        var loadedGraph = CSRGraphStoreFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, false)
+            .estimate(dimensions, concurrency);
+
+        MemoryTree withReordering;
+        GdsFeatureToggles.NODE_REORDERING_STRATEGY.set(GdsFeatureToggles.NodeReorderingStrategy.DEGREE);
+        try {
+            withReordering = CSRGraphStoreFactory
+                .getMemoryEstimation(nodeProjections, relationshipProjections, true)
+                .estimate(dimensions, concurrency);
+        } finally {
+            GdsFeatureToggles.NODE_REORDERING_STRATEGY.set(GdsFeatureToggles.NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+        }
+
+        // the id mappings and the degrees, plus a second copy of the loaded graph
+        var reorderingOverhead = 3 * HugeLongArray.memoryEstimation(dimensions.nodeCount());
+        assertEquals(
+            withoutReordering.memoryUsage().min + reorderingOverhead + loadedGraph.memoryUsage().min,
+            withReordering.memoryUsage().min
+        );
+        assertEquals(
+            withoutReordering.memoryUsage().max + reorderingOverhead + loadedGraph.memoryUsage().max,
+            withReordering.memoryUsage().max
+        );
     }
 
     @Test
@@ -116,8 +160,8 @@ class NativeFactoryTest {
             .getMemoryEstimation(nodeProjections, relationshipProjections, true)
             .estimate(dimensions, new Concurrency(1));
 
-        assertEquals(12_056_534_400L, estimate.memoryUsage().min);
-        assertEquals(13_667_147_136L, estimate.memoryUsage().max);
+        assertEquals(12_056_534_608L, estimate.memoryUsage().min);
+        assertEquals(13_667_147_344L, estimate.memoryUsage().max);
     }
 
     @Test
@@ -139,7 +183,7 @@ class NativeFactoryTest {
             .getMemoryEstimation(nodeProjections, relationshipProjections, true)
             .estimate(dimensions, new Concurrency(1));
 
-        assertEquals(12_056_534_400L, estimate.memoryUsage().min);
-        assertEquals(13_667_147_136L, estimate.memoryUsage().max);
+        assertEquals(12_056_534_608L, estimate.memoryUsage().min);
+        assertEquals(13_667_147_344L, estimate.memoryUsage().max);
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.settings;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.Description;
+import org.neo4j.configuration.SettingsDeclaration;
+import org.neo4j.graphdb.config.Setting;
+
+import static org.neo4j.configuration.SettingValueParsers.BYTES;
+import static org.neo4j.configuration.SettingValueParsers.ofEnum;
+import static org.neo4j.gds.compat.SettingProxy.newBuilder;
+
+@ServiceProvider
+public class CatalogMemorySettings implements SettingsDeclaration {
+
+    public enum EvictionPolicy {
+        /**
+         * Evicted graphs are dropped.
+         */
+        DROP,
+        /**
+         * Evicted graphs are saved as snapshots in the export location, from where they can be restored.
+         */
+        SPILL
+    }
+
+    @Description("Limits the estimated memory of all projected graphs. " +
+        "When a graph is projected that exceeds the budget, the least recently used graphs are evicted. " +
+        "A value of 0 disables the budget.")
+    @SuppressWarnings("WeakerAccess")
+    public static final Setting<Long> catalog_memory_budget = newBuilder(
+        "gds.catalog.memory_budget",
+        BYTES,
+        0L
+    ).build();
+
+    @Description("What happens to graphs that are evicted from the graph catalog to stay within its memory budget.")
+    @SuppressWarnings("WeakerAccess")
+    public static final Setting<EvictionPolicy> catalog_eviction_policy = newBuilder(
+        "gds.catalog.eviction_policy",
+        ofEnum(EvictionPolicy.class),
+        EvictionPolicy.DROP
+    ).build();
+
+    @Description("Limits the memory of relationship pages that lazily restored graph snapshots keep resident. " +
+        "The budget is shared by all lazily restored graphs. " +
+        "A value of 0 disables the budget.")
+    @SuppressWarnings("WeakerAccess")
+    public static final Setting<Long> snapshot_memory_budget = newBuilder(
+        "gds.snapshot.memory_budget",
+        BYTES,
+        0L
+    ).build();
+}
@@ -31,7 +31,23 @@ public final class GdsSettings {
         return GraphStoreExportSettings.export_location_setting;
     }
 
+    public static Setting<Path> arrayStorageLocation() {
+        return ProjectionSettings.array_storage_location;
+    }
+
     public static Setting<Boolean> validateUsingMaxMemoryEstimation() {
         return MemoryEstimationSettings.validate_using_max_memory_estimation;
     }
+
+    public static Setting<Long> catalogMemoryBudget() {
+        return CatalogMemorySettings.catalog_memory_budget;
+    }
+
+    public static Setting<CatalogMemorySettings.EvictionPolicy> catalogEvictionPolicy() {
+        return CatalogMemorySettings.catalog_eviction_policy;
+    }
+
+    public static Setting<Long> snapshotMemoryBudget() {
+        return CatalogMemorySettings.snapshot_memory_budget;
+    }
 }
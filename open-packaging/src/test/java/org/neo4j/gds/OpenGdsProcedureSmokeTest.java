@@ -52,6 +52,13 @@ class OpenGdsProcedureSmokeTest extends BaseProcTest {
         "gds.graph.sample.cnarw",
         "gds.graph.sample.cnarw.estimate",
 
+        "gds.graph.refresh",
+        "gds.graph.relationships.delete",
+        "gds.graph.relationships.insert",
+
+        "gds.graph.snapshot.restore",
+        "gds.graph.snapshot.save",
+
         "gds.allShortestPaths.stream",
 
         "gds.articulationPoints.mutate",
@@ -593,7 +600,7 @@ class OpenGdsProcedureSmokeTest extends BaseProcTest {
         );
 
         // If you find yourself updating this count, please also update the count in SmokeTest.kt
-        int expectedCount = 434;
+        int expectedCount = 439;
         assertEquals(
             expectedCount,
             returnedRows,
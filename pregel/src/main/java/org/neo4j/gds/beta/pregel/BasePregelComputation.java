@@ -68,6 +68,21 @@ public interface BasePregelComputation<C extends PregelConfig> {
         return Optional.empty();
     }
 
+    /**
+     * A message schema declares that messages are composed of multiple
+     * values, e.g. a (long, double) pair or a fixed-size vector, instead
+     * of a single double. If a schema is declared, messages must be sent
+     * with the typed {@code sendTo} methods of the compute context and read
+     * with {@link Messages#nextMessage()} and the value accessors.
+     * <br>
+     * A reducer, if present, is applied to each vector position independently.
+     *
+     * @see MessageSchema
+     */
+    default Optional<MessageSchema> messageSchema(C config) {
+        return Optional.empty();
+    }
+
     /**
      * If the input graph is weighted, i.e. relationships have a
      * property, this method can be overridden to apply that weight
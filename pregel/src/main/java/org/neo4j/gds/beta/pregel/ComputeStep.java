@@ -19,12 +19,15 @@
  */
 package org.neo4j.gds.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.beta.pregel.context.ComputeContext;
 import org.neo4j.gds.beta.pregel.context.InitContext;
 import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.gds.core.utils.partition.Partition;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
 
+import java.util.function.LongConsumer;
+
 public interface ComputeStep<
     CONFIG extends PregelConfig,
     ITERATOR extends Messages.MessageIterator,
@@ -50,6 +53,15 @@ public interface ComputeStep<
 
     ProgressTracker progressTracker();
 
+    /**
+     * The frontier of active nodes, if the computation runs with {@link PregelConfig#sparseSupersteps()}.
+     */
+    default @Nullable Frontier frontier() {
+        return messenger() instanceof FrontierTrackingMessenger<?> frontierTracking
+            ? frontierTracking.frontier()
+            : null;
+    }
+
     default void computeBatch() {
         var messenger = messenger();
         var messageIterator = messenger.messageIterator();
@@ -60,7 +72,9 @@ public interface ComputeStep<
         var computeContext = computeContext();
         var voteBits = voteBits();
 
-        nodeBatch.consume(nodeId -> {
+        var frontier = frontier();
+
+        LongConsumer computeNode = nodeId -> {
             if (computeContext.isInitialSuperstep()) {
                 initContext.setNodeId(nodeId);
                 initFunction().init(initContext);
@@ -72,8 +86,19 @@ public interface ComputeStep<
                 voteBits.clear(nodeId);
                 computeContext.setNodeId(nodeId);
                 computeFunction().compute(computeContext, messages);
+
+                if (frontier != null && !voteBits.get(nodeId)) {
+                    frontier.activate(nodeId);
+                }
             }
-        });
+        };
+
+        if (frontier != null && frontier.isSparse()) {
+            frontier.forEachActiveNode(nodeBatch, computeNode);
+        } else {
+            nodeBatch.consume(computeNode);
+        }
+        messenger.flush();
         progressTracker().logProgress(nodeBatch.nodeCount());
     }
 
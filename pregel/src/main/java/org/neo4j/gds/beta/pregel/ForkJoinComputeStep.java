@@ -85,7 +85,12 @@ public final class ForkJoinComputeStep<
 
     @Override
     public void compute() {
-        if (nodeBatch.nodeCount() >= SEQUENTIAL_THRESHOLD) {
+        // in sparse supersteps, only the active nodes of a batch are computed
+        var frontier = frontier();
+        var computeCount = frontier != null && frontier.isSparse()
+            ? frontier.activeNodeCount(nodeBatch)
+            : nodeBatch.nodeCount();
+        if (computeCount >= SEQUENTIAL_THRESHOLD) {
             long startNode = nodeBatch.startNode();
             long batchSize = nodeBatch.nodeCount();
             boolean isEven = batchSize % 2 == 0;
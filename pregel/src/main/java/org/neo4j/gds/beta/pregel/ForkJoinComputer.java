@@ -21,6 +21,7 @@ package org.neo4j.gds.beta.pregel;
 
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.beta.pregel.context.ComputeContext;
 import org.neo4j.gds.beta.pregel.context.ComputeContext.BidirectionalComputeContext;
@@ -49,10 +50,11 @@ public class ForkJoinComputer<CONFIG extends PregelConfig> extends PregelCompute
         NodeValue nodeValues,
         Messenger<?> messenger,
         HugeAtomicBitSet voteBits,
+        @Nullable Frontier frontier,
         ForkJoinPool forkJoinPool,
         ProgressTracker progressTracker
     ) {
-        super(graph, computation, config, nodeValues, messenger, voteBits, progressTracker);
+        super(graph, computation, config, nodeValues, messenger, voteBits, frontier, progressTracker);
         this.forkJoinPool = forkJoinPool;
     }
 
@@ -63,6 +65,9 @@ public class ForkJoinComputer<CONFIG extends PregelConfig> extends PregelCompute
 
     @Override
     public void initIteration(int iteration) {
+        if (frontier != null) {
+            frontier.advance(iteration);
+        }
         this.sentMessage = new AtomicBoolean(false);
         MutableInt mutableIteration = new MutableInt(iteration);
         Partition partition = Partition.of(0, graph.nodeCount());
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.neo4j.gds.collections.ha.HugeLongArray;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.partition.Partition;
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks the nodes that need to be computed in a superstep, i.e. nodes that
+ * received messages in the previous superstep or did not vote to halt.
+ * <br>
+ * If only a small fraction of the nodes is active, the superstep runs in
+ * sparse mode: the active nodes are compacted into a sorted id list and
+ * compute steps only visit those nodes instead of checking every node.
+ * Otherwise, the superstep runs dense and visits all nodes as usual.
+ */
+public final class Frontier {
+
+    // Supersteps run sparse if at most this fraction of nodes is active.
+    static final double SPARSE_RATIO = 0.05;
+
+    private final long sparseThreshold;
+    private final HugeLongArray activeNodes;
+
+    private HugeAtomicBitSet active;
+    private HugeAtomicBitSet next;
+    private long activeNodeCount;
+    private boolean isSparse;
+
+    static Frontier create(long nodeCount) {
+        return new Frontier(nodeCount, (long) (nodeCount * SPARSE_RATIO));
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(Frontier.class)
+            .perNode("active bits", HugeAtomicBitSet::memoryEstimation)
+            .perNode("next active bits", HugeAtomicBitSet::memoryEstimation)
+            .perNode("active node ids", nodeCount -> HugeLongArray.memoryEstimation((long) (nodeCount * SPARSE_RATIO)))
+            .build();
+    }
+
+    Frontier(long nodeCount, long sparseThreshold) {
+        this.sparseThreshold = sparseThreshold;
+        this.activeNodes = HugeLongArray.newArray(sparseThreshold);
+        this.active = HugeAtomicBitSet.create(nodeCount);
+        this.next = HugeAtomicBitSet.create(nodeCount);
+    }
+
+    /**
+     * Marks the node as active in the next superstep.
+     */
+    void activate(long nodeId) {
+        // avoid contended writes for nodes that receive many messages
+        if (!next.get(nodeId)) {
+            next.set(nodeId);
+        }
+    }
+
+    /**
+     * Makes the nodes that have been activated during the previous superstep
+     * the frontier of the given superstep. The initial superstep is always dense.
+     * <br>
+     * Must not be called concurrently with {@link #activate(long)}.
+     */
+    void advance(int iteration) {
+        var tmp = active;
+        this.active = next;
+        this.next = tmp;
+        this.next.clear();
+
+        if (iteration == 0) {
+            this.isSparse = false;
+            return;
+        }
+
+        this.activeNodeCount = active.cardinality();
+        this.isSparse = activeNodeCount <= sparseThreshold;
+
+        if (isSparse) {
+            var index = new long[]{0};
+            active.forEachSetBit(nodeId -> activeNodes.set(index[0]++, nodeId));
+        }
+    }
+
+    boolean isSparse() {
+        return isSparse;
+    }
+
+    /**
+     * The number of active nodes within the given partition, only valid in sparse supersteps.
+     */
+    long activeNodeCount(Partition partition) {
+        return lowerBound(partition.startNode() + partition.nodeCount()) - lowerBound(partition.startNode());
+    }
+
+    /**
+     * Calls the consumer for each active node within the given partition, only valid in sparse supersteps.
+     */
+    void forEachActiveNode(Partition partition, LongConsumer consumer) {
+        var endNode = partition.startNode() + partition.nodeCount();
+        for (long i = lowerBound(partition.startNode()); i < activeNodeCount; i++) {
+            var nodeId = activeNodes.get(i);
+            if (nodeId >= endNode) {
+                break;
+            }
+            consumer.accept(nodeId);
+        }
+    }
+
+    void release() {
+        activeNodes.release();
+    }
+
+    // index of the first active node that is greater than or equal to the given node
+    private long lowerBound(long nodeId) {
+        long low = 0;
+        long high = activeNodeCount;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (activeNodes.get(mid) < nodeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
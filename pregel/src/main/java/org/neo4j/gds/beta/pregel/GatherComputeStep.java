@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.neo4j.gds.beta.pregel.context.GatherContext;
+import org.neo4j.gds.beta.pregel.context.InitContext;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.partition.Partition;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+
+final class GatherComputeStep<CONFIG extends PregelConfig> implements Runnable {
+
+    private final GatherPregelComputation<CONFIG> computation;
+    private final InitContext<CONFIG> initContext;
+    private final GatherContext<CONFIG> gatherContext;
+    private final Partition nodeBatch;
+    private final HugeAtomicBitSet voteBits;
+    private final ProgressTracker progressTracker;
+
+    GatherComputeStep(
+        GatherPregelComputation<CONFIG> computation,
+        InitContext<CONFIG> initContext,
+        GatherContext<CONFIG> gatherContext,
+        Partition nodeBatch,
+        HugeAtomicBitSet voteBits,
+        ProgressTracker progressTracker
+    ) {
+        this.computation = computation;
+        this.initContext = initContext;
+        this.gatherContext = gatherContext;
+        this.nodeBatch = nodeBatch;
+        this.voteBits = voteBits;
+        this.progressTracker = progressTracker;
+    }
+
+    void init() {
+        nodeBatch.consume(nodeId -> {
+            initContext.setNodeId(nodeId);
+            computation.init(initContext);
+        });
+    }
+
+    @Override
+    public void run() {
+        nodeBatch.consume(nodeId -> {
+            if (!voteBits.get(nodeId)) {
+                gatherContext.setNodeId(nodeId);
+                computation.compute(gatherContext);
+            }
+        });
+        progressTracker.logProgress(nodeBatch.nodeCount());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.beta.pregel.context.GatherContext;
+import org.neo4j.gds.beta.pregel.context.InitContext;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.partition.Partition;
+import org.neo4j.gds.core.utils.partition.PartitionUtils;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Executes a {@link GatherPregelComputation}. Before each superstep, the node values
+ * are copied into a snapshot, from which neighbor values are read during the superstep.
+ * Nodes only write their own values, so no messages and no synchronization are needed.
+ */
+final class GatherComputer<CONFIG extends PregelConfig> extends PregelComputer<CONFIG> {
+
+    private final ExecutorService executorService;
+    private final Concurrency concurrency;
+    private final MutableInt iteration;
+
+    private NodeValue previousNodeValues;
+    private List<GatherComputeStep<CONFIG>> computeSteps;
+
+    GatherComputer(
+        Graph graph,
+        GatherPregelComputation<CONFIG> computation,
+        CONFIG config,
+        NodeValue nodeValues,
+        HugeAtomicBitSet voteBits,
+        Concurrency concurrency,
+        ExecutorService executorService,
+        ProgressTracker progressTracker
+    ) {
+        super(graph, computation, config, nodeValues, null, voteBits, null, progressTracker);
+        this.executorService = executorService;
+        this.concurrency = concurrency;
+        this.iteration = new MutableInt(0);
+    }
+
+    @Override
+    void initComputation() {
+        this.previousNodeValues = NodeValue.of(nodeValues.schema(), graph.nodeCount(), concurrency);
+        this.computeSteps = createComputeSteps();
+
+        // initial values must be visible to the neighbors in the first superstep
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(computeSteps.stream().map(computeStep -> (Runnable) computeStep::init))
+            .executor(executorService)
+            .run();
+    }
+
+    @Override
+    void initIteration(int iteration) {
+        this.iteration.setValue(iteration);
+        nodeValues.copyTo(previousNodeValues);
+    }
+
+    @Override
+    void runIteration() {
+        RunWithConcurrency.builder()
+            .concurrency(concurrency)
+            .tasks(computeSteps)
+            .executor(executorService)
+            .run();
+    }
+
+    @Override
+    boolean hasConverged() {
+        // without messages, halted nodes are never reactivated
+        return voteBits.allSet();
+    }
+
+    @Override
+    void release() {
+        if (config.useForkJoin()) {
+            executorService.shutdown();
+        }
+        computation.close();
+    }
+
+    private List<GatherComputeStep<CONFIG>> createComputeSteps() {
+        Function<Partition, GatherComputeStep<CONFIG>> partitionFunction = partition -> {
+            var concurrentGraph = graph.concurrentCopy();
+            return new GatherComputeStep<>(
+                (GatherPregelComputation<CONFIG>) computation,
+                new InitContext<>(concurrentGraph, config, nodeValues, progressTracker),
+                new GatherContext<>(
+                    concurrentGraph,
+                    config,
+                    nodeValues,
+                    previousNodeValues,
+                    voteBits,
+                    iteration,
+                    progressTracker
+                ),
+                partition,
+                voteBits,
+                progressTracker
+            );
+        };
+
+        if (config.partitioning() == Partitioning.RANGE) {
+            return PartitionUtils.rangePartition(
+                concurrency,
+                graph.nodeCount(),
+                partitionFunction,
+                Optional.empty()
+            );
+        }
+        // the work per node depends on its degree, which also applies to `auto` partitioning
+        return PartitionUtils.degreePartition(
+            graph,
+            concurrency,
+            partitionFunction::apply,
+            Optional.empty()
+        );
+    }
+}
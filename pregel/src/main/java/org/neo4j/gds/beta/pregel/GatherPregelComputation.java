@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.neo4j.gds.beta.pregel.context.GatherContext;
+import org.neo4j.gds.beta.pregel.context.InitContext;
+
+/**
+ * Interface to express user-defined logic using pull-based
+ * (gather) semantics. Instead of sending messages, a node reads
+ * the node values that its neighbors had at the end of the previous
+ * superstep. No message queues or message arrays are allocated and
+ * no synchronization between nodes is necessary.
+ * <br>
+ * Neighbor values are read over the inverse index, which is
+ * therefore required for directed graphs.
+ *
+ * @see Pregel
+ */
+public interface GatherPregelComputation<C extends PregelConfig> extends BasePregelComputation<C> {
+
+    /**
+     * The init method is called for all nodes before the first
+     * superstep (iteration) of the Pregel computation and allows
+     * initializing node values. The initial values are visible
+     * to neighbors in the first superstep.
+     */
+    default void init(InitContext<C> context) {}
+
+    /**
+     * The compute method is called individually for each node
+     * in every superstep as long as the node has not voted to halt.
+     * Since there are no messages, a node that voted to halt is
+     * not computed again.
+     * <br>
+     * Neighbor values accessed via the context are the values
+     * at the end of the previous superstep, values of the currently
+     * processed node are the current ones.
+     */
+    void compute(GatherContext<C> context);
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Describes the layout of messages that are composed of more than a single double.
+ * <br>
+ * A computation declares its message schema via {@link BasePregelComputation#messageSchema(PregelConfig)}.
+ * Messages are sent with the typed {@code sendTo} and {@code sendToNeighbors} variants
+ * of the {@link org.neo4j.gds.beta.pregel.context.ComputeContext} and read via
+ * {@link Messages#nextMessage()}. Each message occupies {@link #slots()} 64-bit slots in
+ * primitive message queues, no message objects are allocated. Long values are stored as they are,
+ * double values as their raw bits and float values as pairs of raw bits that share a slot.
+ * <br>
+ * Example:
+ * <pre>
+ * public Optional&lt;MessageSchema&gt; messageSchema(PregelConfig config) {
+ *      return Optional.of(MessageSchema.longDoublePair());
+ * }
+ * </pre>
+ */
+public final class MessageSchema {
+
+    public enum Type {
+        /**
+         * A long value at index 0 and a double value at index 1, e.g. a node id and a distance.
+         */
+        LONG_DOUBLE_PAIR,
+        /**
+         * A fixed number of double values.
+         */
+        DOUBLE_VECTOR,
+        /**
+         * A fixed number of float values.
+         */
+        FLOAT_VECTOR
+    }
+
+    private final Type type;
+    private final int width;
+
+    public static MessageSchema longDoublePair() {
+        return new MessageSchema(Type.LONG_DOUBLE_PAIR, 2);
+    }
+
+    public static MessageSchema doubleVector(int dimension) {
+        return new MessageSchema(Type.DOUBLE_VECTOR, dimension);
+    }
+
+    public static MessageSchema floatVector(int dimension) {
+        return new MessageSchema(Type.FLOAT_VECTOR, dimension);
+    }
+
+    private MessageSchema(Type type, int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The dimension of a message vector must be at least 1, but got %d.",
+                width
+            ));
+        }
+        this.type = type;
+        this.width = width;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * The number of values in a single message.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * The number of 64-bit slots a single message occupies.
+     */
+    public int slots() {
+        return type == Type.FLOAT_VECTOR ? (width + 1) / 2 : width;
+    }
+
+    /**
+     * Whether the given {@link Reducer} can be applied to messages of this schema.
+     * Vectors are reduced element-wise by any reducer. Pairs are reduced to the pair with the
+     * double value that a {@link Reducer#isSelective() selective} reducer picks, e.g. the
+     * argmin for {@link Reducer.Min}.
+     */
+    public boolean isReducible(Reducer reducer) {
+        return type != Type.LONG_DOUBLE_PAIR || reducer.isSelective();
+    }
+
+    /**
+     * Stores the float values in slots, two values per slot.
+     */
+    public static void encodeFloats(float[] values, long[] slots) {
+        for (int i = 0; i < values.length; i += 2) {
+            slots[i / 2] = encodeFloats(values[i], i + 1 < values.length ? values[i + 1] : 0F);
+        }
+    }
+
+    /**
+     * Returns the float value at the given index from slots written by {@link #encodeFloats(float[], long[])}.
+     */
+    public static float decodeFloat(long slot, int index) {
+        return Float.intBitsToFloat((int) (slot >>> ((index & 1) << 5)));
+    }
+
+    /**
+     * Stores a pair of float values in a single slot.
+     */
+    static long encodeFloats(float low, float high) {
+        return ((long) Float.floatToRawIntBits(high) << 32) | (Float.floatToRawIntBits(low) & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a message of the given type and number of values does not match this schema
+     */
+    public void validateMessage(Type messageType, int length) {
+        if (messageType != type) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The computation declared messages of type %s, but sent a message of type %s.",
+                type,
+                messageType
+            ));
+        }
+        if (length != width) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected a message with %d values, but got %d.",
+                width,
+                length
+            ));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        var that = (MessageSchema) o;
+        return width == that.width && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + width;
+    }
+
+    @Override
+    public String toString() {
+        return formatWithLocale("MessageSchema{type=%s, width=%d}", type, width);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.gds.beta.pregel;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
 import java.util.OptionalLong;
@@ -42,10 +43,40 @@ public final class Messages implements Iterable<Double> {
         }
     }
 
+    /**
+     * Iterates over messages that follow a {@link MessageSchema}.
+     * Each message is stored in {@link MessageSchema#slots()} 64-bit slots.
+     */
+    public interface TypedMessageIterator extends MessageIterator {
+
+        MessageSchema.Type type();
+
+        /**
+         * Advances to the next message.
+         *
+         * @return true, iff there is another message
+         */
+        boolean nextMessage();
+
+        /**
+         * Returns the slot at the given index of the current message.
+         */
+        long slot(int index);
+
+        @Override
+        default double nextDouble() {
+            throw new UnsupportedOperationException(
+                "The computation declared a message schema, use `Messages#nextMessage` to read messages."
+            );
+        }
+    }
+
     private final MessageIterator iterator;
+    private final @Nullable TypedMessageIterator typedIterator;
 
     Messages(MessageIterator iterator) {
         this.iterator = iterator;
+        this.typedIterator = iterator instanceof TypedMessageIterator ? (TypedMessageIterator) iterator : null;
     }
 
     /**
@@ -63,6 +94,82 @@ public final class Messages implements Iterable<Double> {
         return this.iterator.isEmpty();
     }
 
+    /**
+     * Advances to the next message, if the computation declared a {@link MessageSchema}.
+     * The values of the current message are accessed via the typed getters, e.g.:
+     * <pre>
+     * while (messages.nextMessage()) {
+     *     long nodeId = messages.longValue(0);
+     *     double distance = messages.doubleValue(1);
+     * }
+     * </pre>
+     *
+     * @return true, iff there is another message
+     */
+    public boolean nextMessage() {
+        return typedIterator().nextMessage();
+    }
+
+    /**
+     * Returns the long value at the given index of the current message,
+     * i.e. index 0 for messages of a {@link MessageSchema.Type#LONG_DOUBLE_PAIR} schema.
+     */
+    public long longValue(int index) {
+        return typedIterator().slot(index);
+    }
+
+    /**
+     * Returns the double value at the given index of the current message.
+     * Float values are widened to double.
+     */
+    public double doubleValue(int index) {
+        var typedIterator = typedIterator();
+        if (typedIterator.type() == MessageSchema.Type.FLOAT_VECTOR) {
+            return MessageSchema.decodeFloat(typedIterator.slot(index / 2), index);
+        }
+        return Double.longBitsToDouble(typedIterator.slot(index));
+    }
+
+    /**
+     * Returns the float value at the given index of the current message.
+     */
+    public float floatValue(int index) {
+        var typedIterator = typedIterator();
+        if (typedIterator.type() == MessageSchema.Type.FLOAT_VECTOR) {
+            return MessageSchema.decodeFloat(typedIterator.slot(index / 2), index);
+        }
+        return (float) Double.longBitsToDouble(typedIterator.slot(index));
+    }
+
+    /**
+     * Copies the values of the current message into the given array,
+     * for messages of a {@link MessageSchema.Type#DOUBLE_VECTOR} schema.
+     */
+    public void doubleValues(double[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = doubleValue(i);
+        }
+    }
+
+    /**
+     * Copies the values of the current message into the given array,
+     * for messages of a {@link MessageSchema.Type#FLOAT_VECTOR} schema.
+     */
+    public void floatValues(float[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = floatValue(i);
+        }
+    }
+
+    private TypedMessageIterator typedIterator() {
+        if (typedIterator != null) {
+            return typedIterator;
+        }
+        throw new UnsupportedOperationException(
+            "The computation did not declare a message schema, use the double iterator to read messages."
+        );
+    }
+
     /**
      * If the computation defined a {@link org.neo4j.gds.beta.pregel.Reducer}, this method will
      * return the sender of the aggregated message. Depending on the reducer implementation, the
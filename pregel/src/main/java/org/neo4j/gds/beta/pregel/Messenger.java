@@ -19,6 +19,9 @@
  */
 package org.neo4j.gds.beta.pregel;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.OptionalLong;
 
 public interface Messenger<ITERATOR extends Messages.MessageIterator> {
@@ -27,6 +30,17 @@ public interface Messenger<ITERATOR extends Messages.MessageIterator> {
 
     void sendTo(long sourceNodeId, long targetNodeId, double message);
 
+    /**
+     * Sends a message that follows the {@link MessageSchema} of the computation,
+     * encoded in {@link MessageSchema#slots()} slots.
+     * The message array may be reused by the caller after this method returns.
+     */
+    default void sendTo(long sourceNodeId, long targetNodeId, long[] message) {
+        throw new UnsupportedOperationException(
+            "Messages with multiple values require the computation to declare a message schema."
+        );
+    }
+
     ITERATOR messageIterator();
 
     void initMessageIterator(ITERATOR messageIterator, long nodeId, boolean isFirstIteration);
@@ -35,5 +49,29 @@ public interface Messenger<ITERATOR extends Messages.MessageIterator> {
         return OptionalLong.empty();
     }
 
+    /**
+     * Called by a compute step on its own thread after it computed its batch of nodes.
+     * Messengers that buffer messages locally must make them visible to the next superstep.
+     */
+    default void flush() {}
+
+    /**
+     * Writes the messages that have been sent to the given node in the current superstep.
+     * Called at the end of a superstep to write a checkpoint of the computation.
+     */
+    default void writeMessages(long nodeId, DataOutput output) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support checkpoints.");
+    }
+
+    /**
+     * Restores the messages written by {@link #writeMessages(long, DataOutput)},
+     * so that the node receives them in the next superstep.
+     *
+     * @return true, iff the node has at least one message
+     */
+    default boolean readMessages(long nodeId, DataInput input) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support checkpoints.");
+    }
+
     void release();
 }
@@ -161,6 +161,71 @@ public abstract class NodeValue {
         doubleArrayProperties(key).set(nodeId, value);
     }
 
+    /**
+     * Copies all property values into the given node value, which must have the same schema.
+     * Array values are copied deeply, so that changing an array of this node value in place
+     * does not affect the target. Arrays of the target are reused if their length matches.
+     */
+    void copyTo(NodeValue target) {
+        for (var element : pregelSchema.elements()) {
+            var key = element.propertyKey();
+            switch (element.propertyType()) {
+                case DOUBLE:
+                    var doubles = doubleProperties(key);
+                    doubles.copyTo(target.doubleProperties(key), doubles.size());
+                    break;
+                case LONG:
+                    var longs = longProperties(key);
+                    longs.copyTo(target.longProperties(key), longs.size());
+                    break;
+                case LONG_ARRAY:
+                    var longArrays = longArrayProperties(key);
+                    var targetLongArrays = target.longArrayProperties(key);
+                    for (long nodeId = 0; nodeId < longArrays.size(); nodeId++) {
+                        targetLongArrays.set(nodeId, copyOf(longArrays.get(nodeId), targetLongArrays.get(nodeId)));
+                    }
+                    break;
+                case DOUBLE_ARRAY:
+                    var doubleArrays = doubleArrayProperties(key);
+                    var targetDoubleArrays = target.doubleArrayProperties(key);
+                    for (long nodeId = 0; nodeId < doubleArrays.size(); nodeId++) {
+                        targetDoubleArrays.set(
+                            nodeId,
+                            copyOf(doubleArrays.get(nodeId), targetDoubleArrays.get(nodeId))
+                        );
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Unsupported value type: %s",
+                        element.propertyType()
+                    ));
+            }
+        }
+    }
+
+    private static long @Nullable [] copyOf(long @Nullable [] source, long @Nullable [] reuse) {
+        if (source == null) {
+            return null;
+        }
+        if (reuse == null || reuse.length != source.length) {
+            return source.clone();
+        }
+        System.arraycopy(source, 0, reuse, 0, source.length);
+        return reuse;
+    }
+
+    private static double @Nullable [] copyOf(double @Nullable [] source, double @Nullable [] reuse) {
+        if (source == null) {
+            return null;
+        }
+        if (reuse == null || reuse.length != source.length) {
+            return source.clone();
+        }
+        System.arraycopy(source, 0, reuse, 0, source.length);
+        return reuse;
+    }
+
     void checkProperty(String key, ValueType expectedType) {
         checkProperty(key, propertyTypes.get(key), expectedType);
     }
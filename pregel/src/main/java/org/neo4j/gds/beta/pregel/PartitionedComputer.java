@@ -22,6 +22,7 @@ package org.neo4j.gds.beta.pregel;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.beta.pregel.context.ComputeContext;
 import org.neo4j.gds.beta.pregel.context.ComputeContext.BidirectionalComputeContext;
@@ -34,6 +35,7 @@ import org.neo4j.gds.core.utils.partition.Partition;
 import org.neo4j.gds.core.utils.partition.PartitionUtils;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -54,11 +56,12 @@ public class PartitionedComputer<CONFIG extends PregelConfig> extends PregelComp
         NodeValue nodeValues,
         Messenger<?> messenger,
         HugeAtomicBitSet voteBits,
+        @Nullable Frontier frontier,
         Concurrency concurrency,
         ExecutorService executorService,
         ProgressTracker progressTracker
     ) {
-        super(graph, computation, config, nodeValues, messenger, voteBits, progressTracker);
+        super(graph, computation, config, nodeValues, messenger, voteBits, frontier, progressTracker);
         this.executorService = executorService;
         this.concurrency = concurrency;
     }
@@ -70,6 +73,9 @@ public class PartitionedComputer<CONFIG extends PregelConfig> extends PregelComp
 
     @Override
     public void initIteration(int iteration) {
+        if (frontier != null) {
+            frontier.advance(iteration);
+        }
         for (var computeStep : computeSteps) {
             computeStep.init(iteration);
         }
@@ -77,9 +83,22 @@ public class PartitionedComputer<CONFIG extends PregelConfig> extends PregelComp
 
     @Override
     public void runIteration() {
+        var tasks = computeSteps;
+        if (frontier != null && frontier.isSparse()) {
+            // only schedule partitions that contain active nodes
+            tasks = new ArrayList<>();
+            for (var computeStep : computeSteps) {
+                if (frontier.activeNodeCount(computeStep.nodeBatch()) > 0) {
+                    tasks.add(computeStep);
+                } else {
+                    progressTracker.logProgress(computeStep.nodeBatch().nodeCount());
+                }
+            }
+        }
+
         RunWithConcurrency.builder()
             .concurrency(concurrency)
-            .tasks(computeSteps)
+            .tasks(tasks)
             .executor(executorService)
             .run();
     }
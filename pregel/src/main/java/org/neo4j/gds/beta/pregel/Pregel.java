@@ -20,6 +20,7 @@
 package org.neo4j.gds.beta.pregel;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.api.nodeproperties.ValueType;
 import org.neo4j.gds.beta.pregel.context.MasterComputeContext;
@@ -38,6 +39,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
@@ -49,7 +52,8 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final NodeValue nodeValues;
 
-    private final Messenger<?> messenger;
+    // absent for pull-based computations
+    private final @Nullable Messenger<?> messenger;
 
     private final PregelComputer<CONFIG> computer;
 
@@ -95,6 +99,20 @@ public final class Pregel<CONFIG extends PregelConfig> {
             ));
         }
 
+        if (computation instanceof GatherPregelComputation) {
+            validateGatherComputation(graph, config, computation);
+        }
+
+        if (config.checkpointDirectory().isPresent()) {
+            validateCheckpoints(config, computation);
+        }
+
+        computation.messageSchema(config).ifPresent(messageSchema -> validateMessageSchema(
+            messageSchema,
+            config,
+            computation
+        ));
+
         return new Pregel<>(
             graph,
             config,
@@ -119,6 +137,34 @@ public final class Pregel<CONFIG extends PregelConfig> {
         boolean isQueueBased,
         boolean isAsync,
         boolean isTrackingSender
+    ) {
+        return memoryEstimation(propertiesMap, isQueueBased, isAsync, isTrackingSender, false);
+    }
+
+    /**
+     * @param isSparse whether the computation runs with {@link PregelConfig#sparseSupersteps()}
+     */
+    public static MemoryEstimation memoryEstimation(
+        Map<String, ValueType> propertiesMap,
+        boolean isQueueBased,
+        boolean isAsync,
+        boolean isTrackingSender,
+        boolean isSparse
+    ) {
+        return memoryEstimation(propertiesMap, isQueueBased, isAsync, isTrackingSender, isSparse, false);
+    }
+
+    /**
+     * @param isSparse     whether the computation runs with {@link PregelConfig#sparseSupersteps()}
+     * @param isCombinable whether the reducer of the computation {@link Reducer#isCombinable() is combinable}
+     */
+    public static MemoryEstimation memoryEstimation(
+        Map<String, ValueType> propertiesMap,
+        boolean isQueueBased,
+        boolean isAsync,
+        boolean isTrackingSender,
+        boolean isSparse,
+        boolean isCombinable
     ) {
         var estimationBuilder = MemoryEstimations.builder(Pregel.class)
             .perNode("vote bits", HugeAtomicBitSet::memoryEstimation)
@@ -132,12 +178,67 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 estimationBuilder.add("message queues", SyncQueueMessenger.memoryEstimation());
             }
         } else {
-            estimationBuilder.add("message arrays", ReducingMessenger.memoryEstimation(isTrackingSender));
+            estimationBuilder.add("message arrays", ReducingMessenger.memoryEstimation(isTrackingSender, isCombinable));
+        }
+        if (isSparse) {
+            estimationBuilder.add("frontier", Frontier.memoryEstimation());
+        }
+
+        return estimationBuilder.build();
+    }
+
+    /**
+     * Estimates the memory of a synchronous computation that declared the given {@link MessageSchema}.
+     */
+    public static MemoryEstimation memoryEstimation(
+        Map<String, ValueType> propertiesMap,
+        boolean isQueueBased,
+        MessageSchema messageSchema
+    ) {
+        return memoryEstimation(propertiesMap, isQueueBased, messageSchema, false);
+    }
+
+    /**
+     * Estimates the memory of a synchronous computation that declared the given {@link MessageSchema}.
+     *
+     * @param isSparse whether the computation runs with {@link PregelConfig#sparseSupersteps()}
+     */
+    public static MemoryEstimation memoryEstimation(
+        Map<String, ValueType> propertiesMap,
+        boolean isQueueBased,
+        MessageSchema messageSchema,
+        boolean isSparse
+    ) {
+        var estimationBuilder = MemoryEstimations.builder(Pregel.class)
+            .perNode("vote bits", HugeAtomicBitSet::memoryEstimation)
+            .perThread("compute steps", MemoryEstimations.builder(PartitionedComputeStep.class).build())
+            .add("node value", NodeValue.memoryEstimation(propertiesMap));
+
+        if (isQueueBased) {
+            estimationBuilder.add("message queues", TypedSyncQueueMessenger.memoryEstimation(messageSchema));
+        } else {
+            estimationBuilder.add("message arrays", TypedReducingMessenger.memoryEstimation(messageSchema));
+        }
+        if (isSparse) {
+            estimationBuilder.add("frontier", Frontier.memoryEstimation());
         }
 
         return estimationBuilder.build();
     }
 
+    /**
+     * Estimates the memory of a {@link GatherPregelComputation}, which keeps a snapshot
+     * of the node values instead of message queues or message arrays.
+     */
+    public static MemoryEstimation gatherMemoryEstimation(Map<String, ValueType> propertiesMap) {
+        return MemoryEstimations.builder(Pregel.class)
+            .perNode("vote bits", HugeAtomicBitSet::memoryEstimation)
+            .perThread("compute steps", MemoryEstimations.builder(GatherComputeStep.class).build())
+            .add("node value", NodeValue.memoryEstimation(propertiesMap))
+            .add("previous node value", NodeValue.memoryEstimation(propertiesMap))
+            .build();
+    }
+
     public static <CONFIG extends PregelConfig> Task progressTask(Graph graph, CONFIG config, String taskName) {
         return Tasks.iterativeDynamic(
             taskName,
@@ -158,6 +259,82 @@ public final class Pregel<CONFIG extends PregelConfig> {
         return progressTask(graph, config, taskName);
     }
 
+    private static <CONFIG extends PregelConfig> void validateGatherComputation(
+        Graph graph,
+        CONFIG config,
+        BasePregelComputation<CONFIG> computation
+    ) {
+        var characteristics = graph.characteristics();
+        if (!characteristics.isInverseIndexed() && !characteristics.isUndirected()) {
+            throw new UnsupportedOperationException(formatWithLocale(
+                "The Pregel algorithm %s requires inverse indexes for all configured relationships %s",
+                computation.getClass().getSimpleName(),
+                StringJoining.join(config.relationshipTypes())
+            ));
+        }
+        if (computation.reducer().isPresent() || computation.messageSchema(config).isPresent()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The Pregel algorithm %s gathers neighbor values and cannot declare a reducer or a message schema.",
+                computation.getClass().getSimpleName()
+            ));
+        }
+        if (config.isAsynchronous() || config.sparseSupersteps()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The Pregel algorithm %s gathers neighbor values and does not support " +
+                "`isAsynchronous` or `sparseSupersteps`.",
+                computation.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static <CONFIG extends PregelConfig> void validateCheckpoints(
+        CONFIG config,
+        BasePregelComputation<CONFIG> computation
+    ) {
+        if (config.checkpointInterval() < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The checkpoint interval must be at least 1, but was %d.",
+                config.checkpointInterval()
+            ));
+        }
+        // asynchronous messages are consumed while they are sent, there is no consistent state between supersteps
+        if (config.isAsynchronous() && computation.reducer().isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The Pregel algorithm %s runs in asynchronous mode, which does not support checkpoints.",
+                computation.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static <CONFIG extends PregelConfig> void validateMessageSchema(
+        MessageSchema messageSchema,
+        CONFIG config,
+        BasePregelComputation<CONFIG> computation
+    ) {
+        if (config.isAsynchronous()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The Pregel algorithm %s declares a message schema, which is not supported in asynchronous mode.",
+                computation.getClass().getSimpleName()
+            ));
+        }
+        var reducer = computation.reducer();
+        if (reducer.isPresent()) {
+            if (!messageSchema.isReducible(reducer.get())) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The Pregel algorithm %s declares a reducer, which cannot be applied to messages of type %s.",
+                    computation.getClass().getSimpleName(),
+                    messageSchema.type()
+                ));
+            }
+            if (config.trackSender()) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The Pregel algorithm %s declares a message schema, which does not support tracking the sender.",
+                    computation.getClass().getSimpleName()
+                ));
+            }
+        }
+    }
+
     private Pregel(
         final Graph graph,
         final CONFIG config,
@@ -175,13 +352,18 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.progressTracker = progressTracker;
         this.terminationFlag = terminationFlag;
 
-        var reducer = computation.reducer();
-
-        this.messenger = reducer.isPresent()
-            ? ReducingMessenger.create(graph, config, reducer.get())
-            : config.isAsynchronous()
-                ? new AsyncQueueMessenger(graph.nodeCount())
-                : new SyncQueueMessenger(graph.nodeCount());
+        Frontier frontier = null;
+        if (computation instanceof GatherPregelComputation) {
+            // neighbor values are read directly, no messages are sent
+            this.messenger = null;
+        } else {
+            var messenger = createMessenger(graph, config, computation, progressTracker);
+            if (config.sparseSupersteps()) {
+                frontier = Frontier.create(graph.nodeCount());
+                messenger = FrontierTrackingMessenger.wrap(messenger, frontier);
+            }
+            this.messenger = messenger;
+        }
 
         this.computer = PregelComputer.<CONFIG>builder()
             .graph(graph)
@@ -190,6 +372,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
             .nodeValues(nodeValues)
             .messenger(messenger)
             .voteBits(HugeAtomicBitSet.create(graph.nodeCount()))
+            .frontier(frontier)
             .executorService(config.useForkJoin()
                 ? ExecutorServiceUtil.createForkJoinPool(config.concurrency())
                 : executor)
@@ -197,25 +380,88 @@ public final class Pregel<CONFIG extends PregelConfig> {
             .build();
     }
 
+    private static <CONFIG extends PregelConfig> Messenger<?> createMessenger(
+        Graph graph,
+        CONFIG config,
+        BasePregelComputation<CONFIG> computation,
+        ProgressTracker progressTracker
+    ) {
+        var reducer = computation.reducer();
+        var messageSchema = computation.messageSchema(config);
+
+        if (messageSchema.isPresent()) {
+            return reducer.isPresent()
+                ? new TypedReducingMessenger(graph, config, reducer.get(), messageSchema.get())
+                : new TypedSyncQueueMessenger(graph.nodeCount(), messageSchema.get());
+        }
+
+        return reducer.isPresent()
+            ? ReducingMessenger.create(graph, config, reducer.get(), progressTracker)
+            : config.isAsynchronous()
+                ? new AsyncQueueMessenger(graph.nodeCount())
+                : new SyncQueueMessenger(graph.nodeCount());
+    }
+
     public void setTerminationFlag(TerminationFlag terminationFlag) {
         this.terminationFlag = terminationFlag;
     }
 
     public PregelResult run() {
+        return run(false);
+    }
+
+    /**
+     * Continues the computation from the latest checkpoint in {@link PregelConfig#checkpointDirectory()}.
+     * If the directory contains no checkpoint, the computation starts from the first superstep.
+     * <br>
+     * The graph, the configuration and the computation must be the same as for the
+     * run that wrote the checkpoint. State that is kept in fields of the computation
+     * itself is not part of the checkpoint.
+     */
+    public PregelResult resume() {
+        if (config.checkpointDirectory().isEmpty()) {
+            throw new IllegalStateException("Resuming a Pregel computation requires a checkpoint directory.");
+        }
+        return run(true);
+    }
+
+    private PregelResult run(boolean resume) {
         boolean didConverge = false;
 
         computer.initComputation();
 
+        var checkpoints = config.checkpointDirectory()
+            .map(directory -> new PregelCheckpoints(
+                directory,
+                nodeValues,
+                computer.voteBits,
+                messenger,
+                computer.frontier,
+                config.concurrency(),
+                executor,
+                progressTracker
+            ))
+            .orElse(null);
+
         try {
             progressTracker.beginSubTask();
 
             int iteration = 0;
+            if (resume && checkpoints != null) {
+                var superstep = checkpoints.restoreLatest();
+                if (superstep.isPresent()) {
+                    iteration = superstep.getAsInt() + 1;
+                }
+            }
+
             for (; iteration < config.maxIterations(); iteration++) {
                 terminationFlag.assertRunning();
                 progressTracker.beginSubTask();
 
                 computer.initIteration(iteration);
-                messenger.initIteration(iteration);
+                if (messenger != null) {
+                    messenger.initIteration(iteration);
+                }
                 computer.runIteration();
 
                 progressTracker.endSubTask();
@@ -229,6 +475,12 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 if (didConverge) {
                     break;
                 }
+
+                if (checkpoints != null
+                    && (iteration + 1) % config.checkpointInterval() == 0
+                    && iteration + 1 < config.maxIterations()) {
+                    checkpoints.write(iteration);
+                }
             }
             return ImmutablePregelResult.builder()
                 .nodeValues(nodeValues)
@@ -242,8 +494,11 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public void release() {
+        // the messenger may still log the final superstep
+        if (messenger != null) {
+            messenger.release();
+        }
         progressTracker.release();
-        messenger.release();
     }
 
     private boolean runMasterComputeStep(int iteration) {
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.RunWithConcurrency;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.partition.Partition;
+import org.neo4j.gds.core.utils.partition.PartitionUtils;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes the state of a Pregel computation to disk at the end of a superstep and restores it.
+ * <br>
+ * The state consists of the node values, the vote bits and the messages that are received
+ * in the next superstep. Each checkpoint is a directory named after its superstep, which
+ * contains a metadata file and one binary file per range partition of the nodes. Partitions
+ * are written and read in parallel. A checkpoint is written to a temporary directory that is
+ * renamed once all files are complete, so that a failed write never replaces the latest
+ * valid checkpoint. Older checkpoints are deleted afterwards.
+ */
+final class PregelCheckpoints {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String CHECKPOINT_PREFIX = "superstep-";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String METADATA_FILE = "metadata.bin";
+    private static final Pattern CHECKPOINT_PATTERN = Pattern.compile(CHECKPOINT_PREFIX + "(\\d+)");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final NodeValue nodeValues;
+    private final HugeAtomicBitSet voteBits;
+    private final @Nullable Messenger<?> messenger;
+    private final @Nullable Frontier frontier;
+    private final Concurrency concurrency;
+    private final ExecutorService executor;
+    private final ProgressTracker progressTracker;
+
+    // elements are stored in a stable order, the order of the schema set is undefined
+    private final List<Element> elements;
+
+    PregelCheckpoints(
+        Path directory,
+        NodeValue nodeValues,
+        HugeAtomicBitSet voteBits,
+        @Nullable Messenger<?> messenger,
+        @Nullable Frontier frontier,
+        Concurrency concurrency,
+        ExecutorService executor,
+        ProgressTracker progressTracker
+    ) {
+        this.directory = directory;
+        this.nodeValues = nodeValues;
+        this.voteBits = voteBits;
+        this.messenger = messenger;
+        this.frontier = frontier;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.progressTracker = progressTracker;
+        this.elements = nodeValues.schema()
+            .elements()
+            .stream()
+            .sorted(Comparator.comparing(Element::propertyKey))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the state after the given superstep has been completed.
+     */
+    void write(int superstep) {
+        var checkpoint = directory.resolve(CHECKPOINT_PREFIX + superstep);
+        var temporary = directory.resolve(CHECKPOINT_PREFIX + superstep + TEMPORARY_SUFFIX);
+
+        try {
+            deleteRecursively(temporary);
+            Files.createDirectories(temporary);
+
+            var partitions = PartitionUtils.rangePartition(
+                concurrency,
+                voteBits.size(),
+                Function.identity(),
+                Optional.empty()
+            );
+            writeMetadata(temporary, superstep, partitions.size());
+
+            RunWithConcurrency.builder()
+                .concurrency(concurrency)
+                .tasks(IntStream.range(0, partitions.size())
+                    .mapToObj(index -> (Runnable) () -> writePartition(temporary, index, partitions.get(index))))
+                .executor(executor)
+                .run();
+
+            deleteRecursively(checkpoint);
+            Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+
+            for (var previous : checkpoints()) {
+                if (!previous.equals(checkpoint)) {
+                    deleteRecursively(previous);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(formatWithLocale("Could not write checkpoint to `%s`", directory), e);
+        }
+
+        progressTracker.logInfo(formatWithLocale("Wrote checkpoint of superstep %d to `%s`", superstep, checkpoint));
+    }
+
+    /**
+     * Restores the state from the latest checkpoint in the directory.
+     *
+     * @return the superstep after which the checkpoint has been written, empty if there is no checkpoint
+     */
+    OptionalInt restoreLatest() {
+        var latest = latestSuperstep();
+        if (latest.isEmpty()) {
+            return latest;
+        }
+
+        var checkpoint = directory.resolve(CHECKPOINT_PREFIX + latest.getAsInt());
+        try {
+            var partitionCount = readMetadata(checkpoint, latest.getAsInt());
+
+            RunWithConcurrency.builder()
+                .concurrency(concurrency)
+                .tasks(IntStream.range(0, partitionCount)
+                    .mapToObj(index -> (Runnable) () -> readPartition(checkpoint, index)))
+                .executor(executor)
+                .run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(formatWithLocale("Could not read checkpoint from `%s`", checkpoint), e);
+        }
+
+        progressTracker.logInfo(formatWithLocale(
+            "Restored checkpoint of superstep %d from `%s`",
+            latest.getAsInt(),
+            checkpoint
+        ));
+        return latest;
+    }
+
+    OptionalInt latestSuperstep() {
+        try {
+            return checkpoints()
+                .stream()
+                .filter(checkpoint -> Files.exists(checkpoint.resolve(METADATA_FILE)))
+                .map(checkpoint -> CHECKPOINT_PATTERN.matcher(checkpoint.getFileName().toString()))
+                .filter(matcher -> matcher.matches())
+                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                .max();
+        } catch (IOException e) {
+            throw new UncheckedIOException(formatWithLocale("Could not list checkpoints in `%s`", directory), e);
+        }
+    }
+
+    private List<Path> checkpoints() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().startsWith(CHECKPOINT_PREFIX))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void writeMetadata(Path checkpoint, int superstep, int partitionCount) throws IOException {
+        try (var output = outputStream(checkpoint.resolve(METADATA_FILE))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(superstep);
+            output.writeLong(voteBits.size());
+            output.writeUTF(messengerType());
+            output.writeInt(elements.size());
+            for (var element : elements) {
+                output.writeUTF(element.propertyKey());
+                output.writeUTF(element.propertyType().name());
+            }
+            output.writeInt(partitionCount);
+        }
+    }
+
+    /**
+     * @return the number of partition files
+     */
+    private int readMetadata(Path checkpoint, int superstep) throws IOException {
+        try (var input = inputStream(checkpoint.resolve(METADATA_FILE))) {
+            var version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Checkpoint `%s` has format version %d, expected %d.",
+                    checkpoint,
+                    version,
+                    FORMAT_VERSION
+                ));
+            }
+            var storedSuperstep = input.readInt();
+            assert storedSuperstep == superstep : "superstep does not match the checkpoint directory";
+
+            var nodeCount = input.readLong();
+            var messengerType = input.readUTF();
+            var elementCount = input.readInt();
+            var storedElements = new ArrayList<String>(elementCount);
+            for (int i = 0; i < elementCount; i++) {
+                storedElements.add(input.readUTF() + ": " + input.readUTF());
+            }
+            var expectedElements = elements
+                .stream()
+                .map(element -> element.propertyKey() + ": " + element.propertyType().name())
+                .collect(Collectors.toList());
+
+            if (nodeCount != voteBits.size()
+                || !messengerType.equals(messengerType())
+                || !storedElements.equals(expectedElements)) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Checkpoint `%s` does not match the computation. " +
+                    "Expected %d nodes, messenger %s and schema %s, but found %d nodes, messenger %s and schema %s.",
+                    checkpoint,
+                    voteBits.size(),
+                    messengerType(),
+                    expectedElements,
+                    nodeCount,
+                    messengerType,
+                    storedElements
+                ));
+            }
+
+            return input.readInt();
+        }
+    }
+
+    private String messengerType() {
+        if (messenger == null) {
+            return "none";
+        }
+        var type = messenger instanceof FrontierTrackingMessenger<?> frontierTracking
+            ? frontierTracking.delegate()
+            : messenger;
+        return type.getClass().getSimpleName();
+    }
+
+    private void writePartition(Path checkpoint, int index, Partition partition) {
+        var startNode = partition.startNode();
+        var endNode = startNode + partition.nodeCount();
+
+        try (var output = outputStream(checkpoint.resolve(partitionFile(index)))) {
+            output.writeLong(startNode);
+            output.writeLong(partition.nodeCount());
+
+            for (var element : elements) {
+                var key = element.propertyKey();
+                switch (element.propertyType()) {
+                    case DOUBLE:
+                        var doubles = nodeValues.doubleProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            output.writeDouble(doubles.get(nodeId));
+                        }
+                        break;
+                    case LONG:
+                        var longs = nodeValues.longProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            output.writeLong(longs.get(nodeId));
+                        }
+                        break;
+                    case LONG_ARRAY:
+                        var longArrays = nodeValues.longArrayProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            var values = longArrays.get(nodeId);
+                            output.writeInt(values == null ? -1 : values.length);
+                            if (values != null) {
+                                for (var value : values) {
+                                    output.writeLong(value);
+                                }
+                            }
+                        }
+                        break;
+                    case DOUBLE_ARRAY:
+                        var doubleArrays = nodeValues.doubleArrayProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            var values = doubleArrays.get(nodeId);
+                            output.writeInt(values == null ? -1 : values.length);
+                            if (values != null) {
+                                for (var value : values) {
+                                    output.writeDouble(value);
+                                }
+                            }
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Unsupported value type: %s",
+                            element.propertyType()
+                        ));
+                }
+            }
+
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                output.writeBoolean(voteBits.get(nodeId));
+            }
+
+            if (messenger != null) {
+                for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                    messenger.writeMessages(nodeId, output);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readPartition(Path checkpoint, int index) {
+        try (var input = inputStream(checkpoint.resolve(partitionFile(index)))) {
+            var startNode = input.readLong();
+            var endNode = startNode + input.readLong();
+
+            for (var element : elements) {
+                var key = element.propertyKey();
+                switch (element.propertyType()) {
+                    case DOUBLE:
+                        var doubles = nodeValues.doubleProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            doubles.set(nodeId, input.readDouble());
+                        }
+                        break;
+                    case LONG:
+                        var longs = nodeValues.longProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            longs.set(nodeId, input.readLong());
+                        }
+                        break;
+                    case LONG_ARRAY:
+                        var longArrays = nodeValues.longArrayProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            var length = input.readInt();
+                            long[] values = null;
+                            if (length >= 0) {
+                                values = new long[length];
+                                for (int i = 0; i < length; i++) {
+                                    values[i] = input.readLong();
+                                }
+                            }
+                            longArrays.set(nodeId, values);
+                        }
+                        break;
+                    case DOUBLE_ARRAY:
+                        var doubleArrays = nodeValues.doubleArrayProperties(key);
+                        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                            var length = input.readInt();
+                            double[] values = null;
+                            if (length >= 0) {
+                                values = new double[length];
+                                for (int i = 0; i < length; i++) {
+                                    values[i] = input.readDouble();
+                                }
+                            }
+                            doubleArrays.set(nodeId, values);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Unsupported value type: %s",
+                            element.propertyType()
+                        ));
+                }
+            }
+
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                if (input.readBoolean()) {
+                    voteBits.set(nodeId);
+                } else {
+                    voteBits.clear(nodeId);
+                    activate(nodeId);
+                }
+            }
+
+            if (messenger != null) {
+                for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                    if (messenger.readMessages(nodeId, input)) {
+                        activate(nodeId);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the first superstep after restoring only computes active nodes if it is sparse
+    private void activate(long nodeId) {
+        if (frontier != null) {
+            frontier.activate(nodeId);
+        }
+    }
+
+    private static String partitionFile(int index) {
+        return formatWithLocale("partition-%d.bin", index);
+    }
+
+    private static DataOutputStream outputStream(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static DataInputStream inputStream(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (var files = Files.walk(path)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
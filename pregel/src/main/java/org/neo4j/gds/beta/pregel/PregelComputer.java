@@ -20,6 +20,7 @@
 package org.neo4j.gds.beta.pregel;
 
 import org.immutables.builder.Builder;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
@@ -34,17 +35,20 @@ abstract class PregelComputer<CONFIG extends PregelConfig> {
     final BasePregelComputation<CONFIG> computation;
     final CONFIG config;
     final NodeValue nodeValues;
-    final Messenger<?> messenger;
+    // absent for pull-based computations
+    final @Nullable Messenger<?> messenger;
     final HugeAtomicBitSet voteBits;
     final ProgressTracker progressTracker;
+    final @Nullable Frontier frontier;
 
     PregelComputer(
         Graph graph,
         BasePregelComputation<CONFIG> computation,
         CONFIG config,
         NodeValue nodeValues,
-        Messenger<?> messenger,
+        @Nullable Messenger<?> messenger,
         HugeAtomicBitSet voteBits,
+        @Nullable Frontier frontier,
         ProgressTracker progressTracker
     ) {
         this.graph = graph;
@@ -53,6 +57,7 @@ abstract class PregelComputer<CONFIG extends PregelConfig> {
         this.nodeValues = nodeValues;
         this.messenger = messenger;
         this.voteBits = voteBits;
+        this.frontier = frontier;
         this.progressTracker = progressTracker;
     }
 
@@ -76,11 +81,25 @@ abstract class PregelComputer<CONFIG extends PregelConfig> {
         BasePregelComputation<CONFIG> computation,
         CONFIG config,
         NodeValue nodeValues,
-        Messenger<?> messenger,
+        @Nullable Messenger<?> messenger,
         HugeAtomicBitSet voteBits,
+        @Nullable Frontier frontier,
         ExecutorService executorService,
         ProgressTracker progressTracker
     ) {
+        if (computation instanceof GatherPregelComputation) {
+            return new GatherComputer<>(
+                graph,
+                (GatherPregelComputation<CONFIG>) computation,
+                config,
+                nodeValues,
+                voteBits,
+                config.concurrency(),
+                executorService,
+                progressTracker
+            );
+        }
+
         if (config.useForkJoin()) {
             if (!(executorService instanceof ForkJoinPool)) {
                 throw new IllegalArgumentException(formatWithLocale(
@@ -96,6 +115,7 @@ abstract class PregelComputer<CONFIG extends PregelConfig> {
                 nodeValues,
                 messenger,
                 voteBits,
+                frontier,
                 (ForkJoinPool) executorService,
                 progressTracker
             );
@@ -108,6 +128,7 @@ abstract class PregelComputer<CONFIG extends PregelConfig> {
             nodeValues,
             messenger,
             voteBits,
+            frontier,
             config.concurrency(),
             executorService,
             progressTracker
@@ -25,6 +25,9 @@ import org.neo4j.gds.config.ConcurrencyConfig;
 import org.neo4j.gds.config.IterationsConfig;
 import org.neo4j.gds.config.RelationshipWeightConfig;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 @Configuration
 public interface PregelConfig extends
     AlgoBaseConfig,
@@ -43,6 +46,14 @@ public interface PregelConfig extends
         return Partitioning.RANGE;
     }
 
+    /**
+     * If enabled, supersteps in which only few nodes received messages or did not
+     * vote to halt only compute those nodes instead of visiting every node.
+     */
+    default boolean sparseSupersteps() {
+        return false;
+    }
+
     @Configuration.Ignore
     default boolean useForkJoin() {
         return partitioning() == Partitioning.AUTO;
@@ -52,4 +63,22 @@ public interface PregelConfig extends
     default boolean trackSender() {
         return false;
     }
+
+    /**
+     * If present, the state of the computation is written to this directory after every
+     * {@link #checkpointInterval()} supersteps. A terminated computation can be continued
+     * from the latest checkpoint using {@link Pregel#resume()}.
+     * <br>
+     * Checkpoints are not configurable by procedure users, since they write to the file system
+     * of the server. Custom configurations can override this method to enable them.
+     */
+    @Configuration.Ignore
+    default Optional<Path> checkpointDirectory() {
+        return Optional.empty();
+    }
+
+    @Configuration.Ignore
+    default int checkpointInterval() {
+        return 10;
+    }
 }
@@ -144,6 +144,51 @@ public abstract class PrimitiveDoubleQueues {
         dropSharedReference(nodeId);
     }
 
+    /**
+     * Appends all given values to the queue of the given node as one contiguous block,
+     * so that values pushed concurrently by other threads do not interleave with them.
+     */
+    public void push(long nodeId, double[] messages) {
+        int count = messages.length;
+        long idx;
+
+        while (true) {
+            idx = tails.get(nodeId);
+            if (idx < 0) {
+                // Another thread currently grows the queue. Unlike for single
+                // messages, we cannot claim the slots right after the grown
+                // part, since they might exceed the new capacity. We wait
+                // until the index turns positive again and start over.
+                Thread.onSpinWait();
+                continue;
+            }
+            long nextIdx = idx + count;
+
+            if (hasSpaceLeft(nodeId, (int) nextIdx)) {
+                long currentIdx = tails.compareAndExchange(nodeId, idx, nextIdx);
+                if (currentIdx == idx) {
+                    break;
+                }
+            } else {
+                // Same protocol as for single messages, see push(long, double).
+                long currentIdx = tails.compareAndExchange(nodeId, idx, -nextIdx);
+                if (currentIdx == idx) {
+                    getExclusiveReference(nodeId);
+                    grow(nodeId, (int) nextIdx);
+                    dropExclusiveReference(nodeId);
+                    tails.compareAndExchange(nodeId, -nextIdx, nextIdx);
+                    break;
+                }
+            }
+        }
+
+        VarHandle.fullFence();
+
+        getSharedReference(nodeId);
+        System.arraycopy(messages, 0, queues.get(nodeId), (int) idx, count);
+        dropSharedReference(nodeId);
+    }
+
     private void getSharedReference(long nodeId) {
         while (true) {
             // If another thread is currently growing the queue, the
@@ -27,6 +27,9 @@ import org.neo4j.gds.mem.MemoryEstimations;
 import org.neo4j.gds.core.utils.paged.ParalleLongPageCreator;
 import org.neo4j.gds.mem.Estimate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 
 public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
@@ -99,12 +102,42 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
         iterator.init(prevQueues.get(nodeId), (int) prevTails.get(nodeId));
     }
 
+    /**
+     * Writes the values that have been pushed to the queue of the node in the current iteration.
+     */
+    void writeQueue(long nodeId, DataOutput output) throws IOException {
+        var queue = queues.get(nodeId);
+        var length = (int) tails.get(nodeId);
+        output.writeInt(length);
+        for (int i = 0; i < length; i++) {
+            output.writeDouble(queue[i]);
+        }
+    }
+
+    /**
+     * Pushes the values written by {@link #writeQueue(long, DataOutput)} to the queue of the node.
+     *
+     * @return true, iff at least one value has been pushed
+     */
+    boolean readQueue(long nodeId, DataInput input) throws IOException {
+        var length = input.readInt();
+        if (length == 0) {
+            return false;
+        }
+        var values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = input.readDouble();
+        }
+        push(nodeId, values);
+        return true;
+    }
+
     @Override
     void grow(long nodeId, int minCapacity) {
         var queue = queues.get(nodeId);
         var capacity = queue.length;
-        // grow by 50%
-        var newCapacity = capacity + (capacity >> 1);
+        // grow by 50%, or more if multiple messages are pushed at once
+        var newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
         queues.set(nodeId, Arrays.copyOf(queue, newCapacity));
     }
 
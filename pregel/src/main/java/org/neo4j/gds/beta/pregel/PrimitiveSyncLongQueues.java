@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.jetbrains.annotations.TestOnly;
+import org.neo4j.gds.collections.ha.HugeObjectArray;
+import org.neo4j.gds.collections.haa.HugeAtomicLongArray;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.utils.paged.ParalleLongPageCreator;
+import org.neo4j.gds.mem.Estimate;
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Synchronous message queues of 64-bit slots for messages that follow a {@link MessageSchema}.
+ * Each message is pushed as a contiguous block of {@link MessageSchema#slots()} slots,
+ * long values are stored as they are, so that no bit pattern is lost in a conversion to double.
+ * <br>
+ * Concurrent pushes follow the protocol of {@link PrimitiveDoubleQueues#push(long, double[])}.
+ */
+final class PrimitiveSyncLongQueues {
+
+    // Used to allow either a single thread exclusive access to a queue
+    // in order to grow and replace it or multiple threads shared access
+    // to the queue in order to insert a message.
+    private final HugeAtomicLongArray referenceCounts;
+
+    // The queues and tails of the current and of the previous iteration,
+    // they are being toggled after each iteration.
+    private HugeObjectArray<long[]> queues;
+    private HugeAtomicLongArray tails;
+    private HugeObjectArray<long[]> prevQueues;
+    private HugeAtomicLongArray prevTails;
+
+    static PrimitiveSyncLongQueues of(long nodeCount, int initialQueueCapacity) {
+        var currentTails = HugeAtomicLongArray.of(nodeCount, ParalleLongPageCreator.passThrough(new Concurrency(1)));
+        var prevTails = HugeAtomicLongArray.of(nodeCount, ParalleLongPageCreator.passThrough(new Concurrency(1)));
+        var referenceCounts = HugeAtomicLongArray.of(nodeCount, ParalleLongPageCreator.passThrough(new Concurrency(1)));
+
+        var currentQueues = HugeObjectArray.newArray(long[].class, nodeCount);
+        var prevQueues = HugeObjectArray.newArray(long[].class, nodeCount);
+        currentQueues.setAll(value -> new long[initialQueueCapacity]);
+        prevQueues.setAll(value -> new long[initialQueueCapacity]);
+
+        return new PrimitiveSyncLongQueues(currentQueues, currentTails, prevQueues, prevTails, referenceCounts);
+    }
+
+    static MemoryEstimation memoryEstimation(int initialQueueCapacity) {
+        var queueSize = Estimate.sizeOfLongArray(initialQueueCapacity);
+        return MemoryEstimations.builder(PrimitiveSyncLongQueues.class)
+            .perNode("current queues", nodeCount -> HugeObjectArray.memoryEstimation(nodeCount, queueSize))
+            .perNode("previous queues", nodeCount -> HugeObjectArray.memoryEstimation(nodeCount, queueSize))
+            .perNode("current tails", HugeAtomicLongArray::memoryEstimation)
+            .perNode("previous tails", HugeAtomicLongArray::memoryEstimation)
+            .perNode("reference counts", HugeAtomicLongArray::memoryEstimation)
+            .build();
+    }
+
+    private PrimitiveSyncLongQueues(
+        HugeObjectArray<long[]> queues,
+        HugeAtomicLongArray tails,
+        HugeObjectArray<long[]> prevQueues,
+        HugeAtomicLongArray prevTails,
+        HugeAtomicLongArray referenceCounts
+    ) {
+        this.queues = queues;
+        this.tails = tails;
+        this.prevQueues = prevQueues;
+        this.prevTails = prevTails;
+        this.referenceCounts = referenceCounts;
+    }
+
+    void swapQueues() {
+        var tmpTails = tails;
+        this.tails = prevTails;
+        this.prevTails = tmpTails;
+        this.tails.setAll(0);
+
+        var tmpQueues = queues;
+        this.queues = prevQueues;
+        this.prevQueues = tmpQueues;
+    }
+
+    /**
+     * Appends all given slots to the queue of the given node as one contiguous block,
+     * so that slots pushed concurrently by other threads do not interleave with them.
+     */
+    void push(long nodeId, long[] slots) {
+        int count = slots.length;
+        long idx;
+
+        while (true) {
+            idx = tails.get(nodeId);
+            if (idx < 0) {
+                // Another thread currently grows the queue, we
+                // wait until the index turns positive again.
+                Thread.onSpinWait();
+                continue;
+            }
+            long nextIdx = idx + count;
+
+            if (queues.get(nodeId).length >= nextIdx) {
+                long currentIdx = tails.compareAndExchange(nodeId, idx, nextIdx);
+                if (currentIdx == idx) {
+                    break;
+                }
+            } else {
+                // The negated next index blocks other threads until the queue is grown.
+                long currentIdx = tails.compareAndExchange(nodeId, idx, -nextIdx);
+                if (currentIdx == idx) {
+                    getExclusiveReference(nodeId);
+                    grow(nodeId, (int) nextIdx);
+                    dropExclusiveReference(nodeId);
+                    tails.compareAndExchange(nodeId, -nextIdx, nextIdx);
+                    break;
+                }
+            }
+        }
+
+        // Avoids that the queues.get call is moved before the grow operation.
+        VarHandle.fullFence();
+
+        getSharedReference(nodeId);
+        System.arraycopy(slots, 0, queues.get(nodeId), (int) idx, count);
+        dropSharedReference(nodeId);
+    }
+
+    void initIterator(Iterator iterator, long nodeId) {
+        iterator.init(prevQueues.get(nodeId), (int) prevTails.get(nodeId));
+    }
+
+    /**
+     * Writes the slots that have been pushed to the queue of the node in the current iteration.
+     */
+    void writeQueue(long nodeId, DataOutput output) throws IOException {
+        var queue = queues.get(nodeId);
+        var length = (int) tails.get(nodeId);
+        output.writeInt(length);
+        for (int i = 0; i < length; i++) {
+            output.writeLong(queue[i]);
+        }
+    }
+
+    /**
+     * Pushes the slots written by {@link #writeQueue(long, DataOutput)} to the queue of the node.
+     *
+     * @return true, iff at least one slot has been pushed
+     */
+    boolean readQueue(long nodeId, DataInput input) throws IOException {
+        var length = input.readInt();
+        if (length == 0) {
+            return false;
+        }
+        var slots = new long[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = input.readLong();
+        }
+        push(nodeId, slots);
+        return true;
+    }
+
+    private void grow(long nodeId, int minCapacity) {
+        var queue = queues.get(nodeId);
+        var capacity = queue.length;
+        // grow by 50%, or more if the pushed block does not fit
+        var newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
+        queues.set(nodeId, Arrays.copyOf(queue, newCapacity));
+    }
+
+    private void getSharedReference(long nodeId) {
+        while (true) {
+            // A negative reference count means that the queue is growing.
+            var refCount = referenceCounts.get(nodeId);
+            if (refCount < 0) continue;
+            if (referenceCounts.compareAndSet(nodeId, refCount, refCount + 1)) {
+                break;
+            }
+        }
+    }
+
+    private void dropSharedReference(long nodeId) {
+        referenceCounts.getAndAdd(nodeId, -1);
+    }
+
+    private void getExclusiveReference(long nodeId) {
+        while (true) {
+            // A positive reference count means that other threads insert into the queue.
+            var refCount = referenceCounts.get(nodeId);
+            if (refCount > 0) {
+                continue;
+            }
+            if (referenceCounts.compareAndSet(nodeId, refCount, -1)) {
+                break;
+            }
+        }
+    }
+
+    private void dropExclusiveReference(long nodeId) {
+        referenceCounts.set(nodeId, 0);
+    }
+
+    void release() {
+        queues.release();
+        tails.release();
+        prevQueues.release();
+        prevTails.release();
+        referenceCounts.release();
+    }
+
+    @TestOnly
+    long[] queue(long nodeId) {
+        return queues.get(nodeId);
+    }
+
+    /**
+     * Iterates over messages that occupy a fixed number of consecutive slots.
+     */
+    static class Iterator implements Messages.TypedMessageIterator {
+
+        private final MessageSchema.Type type;
+        private final int slots;
+        private long[] queue;
+        private int length;
+        private int offset;
+
+        Iterator(MessageSchema messageSchema) {
+            this.type = messageSchema.type();
+            this.slots = messageSchema.slots();
+        }
+
+        void init(long[] queue, int length) {
+            this.queue = queue;
+            this.length = length;
+            this.offset = -slots;
+        }
+
+        @Override
+        public MessageSchema.Type type() {
+            return type;
+        }
+
+        @Override
+        public boolean nextMessage() {
+            offset += slots;
+            return offset < length;
+        }
+
+        @Override
+        public long slot(int index) {
+            return queue[offset + index];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset + slots < length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return length == 0;
+        }
+    }
+}
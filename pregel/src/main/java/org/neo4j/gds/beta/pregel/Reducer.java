@@ -31,6 +31,35 @@ public interface Reducer {
      */
     double reduce(double current, double message);
 
+    /**
+     * Returns true, iff two values that have been reduced from disjoint
+     * sets of messages can be merged using {@link #combine(double, double)}.
+     * <br>
+     * Combinable reducers allow the messenger to pre-reduce messages to the
+     * same target within a compute step, before they are reduced into the
+     * array that is shared by all threads.
+     */
+    default boolean isCombinable() {
+        return false;
+    }
+
+    /**
+     * Merges two values that have each been reduced from a disjoint set of messages.
+     */
+    default double combine(double current, double partial) {
+        return reduce(current, partial);
+    }
+
+    /**
+     * Returns true, iff {@link #reduce(double, double)} always returns one of its arguments.
+     * <br>
+     * Selective reducers can reduce (long, double) pair messages, see
+     * {@link MessageSchema#longDoublePair()}: the pair whose double value is selected is kept.
+     */
+    default boolean isSelective() {
+        return false;
+    }
+
     class Sum implements Reducer {
 
         @Override
@@ -43,6 +72,11 @@ public interface Reducer {
             return current + message;
         }
 
+        @Override
+        public boolean isCombinable() {
+            return true;
+        }
+
     }
 
     class Min implements Reducer {
@@ -56,6 +90,16 @@ public interface Reducer {
         public double reduce(double current, double message) {
             return Math.min(current, message);
         }
+
+        @Override
+        public boolean isCombinable() {
+            return true;
+        }
+
+        @Override
+        public boolean isSelective() {
+            return true;
+        }
     }
 
     class Max implements Reducer {
@@ -69,6 +113,16 @@ public interface Reducer {
         public double reduce(double current, double message) {
             return Math.max(current, message);
         }
+
+        @Override
+        public boolean isCombinable() {
+            return true;
+        }
+
+        @Override
+        public boolean isSelective() {
+            return true;
+        }
     }
 
     class Count implements Reducer {
@@ -82,5 +136,15 @@ public interface Reducer {
         public double reduce(double current, double message) {
             return current + 1;
         }
+
+        @Override
+        public boolean isCombinable() {
+            return true;
+        }
+
+        @Override
+        public double combine(double current, double partial) {
+            return current + partial;
+        }
     }
 }
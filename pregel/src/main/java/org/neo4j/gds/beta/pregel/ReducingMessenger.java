@@ -24,11 +24,21 @@ import org.neo4j.gds.collections.ha.HugeLongArray;
 import org.neo4j.gds.collections.haa.HugeAtomicDoubleArray;
 import org.neo4j.gds.core.concurrency.ParallelUtil;
 import org.neo4j.gds.core.utils.paged.ParallelDoublePageCreator;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.mem.Estimate;
 import org.neo4j.gds.mem.MemoryEstimation;
 import org.neo4j.gds.mem.MemoryEstimations;
 import org.neo4j.gds.termination.TerminationFlag;
+import org.neo4j.gds.utils.CloseableThreadLocal;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
 
 /**
  * A messenger implementation that is backed by two double arrays used
@@ -45,9 +55,17 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
     HugeAtomicDoubleArray sendArray;
     HugeAtomicDoubleArray receiveArray;
 
-    static ReducingMessenger create(Graph graph, PregelConfig config, Reducer reducer) {
-        return config.trackSender()
-            ? new WithSender(graph, config, reducer)
+    static ReducingMessenger create(
+        Graph graph,
+        PregelConfig config,
+        Reducer reducer,
+        ProgressTracker progressTracker
+    ) {
+        if (config.trackSender()) {
+            return new WithSender(graph, config, reducer);
+        }
+        return reducer.isCombinable()
+            ? new Combining(graph, config, reducer, progressTracker)
             : new ReducingMessenger(graph, config, reducer);
     }
 
@@ -68,7 +86,7 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
         );
     }
 
-    static MemoryEstimation memoryEstimation(boolean withSender) {
+    static MemoryEstimation memoryEstimation(boolean withSender, boolean isCombinable) {
         var builder = MemoryEstimations.builder(ReducingMessenger.class)
             .perNode("send array", HugeAtomicDoubleArray::memoryEstimation)
             .perNode("receive array", HugeAtomicDoubleArray::memoryEstimation);
@@ -77,6 +95,8 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
             builder
                 .perNode("send sender array", HugeLongArray::memoryEstimation)
                 .perNode("receive sender array", HugeLongArray::memoryEstimation);
+        } else if (isCombinable) {
+            builder.perThread("combining buffers", Combining.bufferMemoryEstimation());
         }
         return builder
             .build();
@@ -120,6 +140,18 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
         messageIterator.init(message, message != reducer.identity(), OptionalLong.empty());
     }
 
+    @Override
+    public void writeMessages(long nodeId, DataOutput output) throws IOException {
+        output.writeDouble(sendArray.get(nodeId));
+    }
+
+    @Override
+    public boolean readMessages(long nodeId, DataInput input) throws IOException {
+        var message = input.readDouble();
+        sendArray.set(nodeId, message);
+        return message != reducer.identity();
+    }
+
     @Override
     public void release() {
         sendArray.release();
@@ -175,6 +207,19 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
             return OptionalLong.of(receiveSenderArray.get(nodeId));
         }
 
+        @Override
+        public void writeMessages(long nodeId, DataOutput output) throws IOException {
+            super.writeMessages(nodeId, output);
+            output.writeLong(sendSenderArray.get(nodeId));
+        }
+
+        @Override
+        public boolean readMessages(long nodeId, DataInput input) throws IOException {
+            var hasMessage = super.readMessages(nodeId, input);
+            sendSenderArray.set(nodeId, input.readLong());
+            return hasMessage;
+        }
+
         @Override
         public void release() {
             sendSenderArray.release();
@@ -183,6 +228,198 @@ class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIter
         }
     }
 
+    /**
+     * Pre-reduces messages to the same target in a small buffer per thread,
+     * which is flushed into the shared send array at the end of each compute
+     * step. This avoids most of the CAS contention on high-degree targets.
+     */
+    static final class Combining extends ReducingMessenger {
+
+        // number of slots of the thread-local buffer, must be a power of two
+        static final int BUFFER_SIZE = 1024;
+
+        private final ProgressTracker progressTracker;
+        private final CloseableThreadLocal<CombiningBuffer> buffers;
+
+        private final LongAdder sentMessages;
+        private final LongAdder combinedMessages;
+        private final LongAdder sharedUpdates;
+        private final LongAdder casRetries;
+
+        // the current superstep, -1 before the first one
+        private int iteration = -1;
+
+        Combining(Graph graph, PregelConfig config, Reducer reducer, ProgressTracker progressTracker) {
+            super(graph, config, reducer);
+            assert reducer.isCombinable() : "reducer must be combinable";
+
+            this.progressTracker = progressTracker;
+            this.buffers = CloseableThreadLocal.withInitial(CombiningBuffer::new);
+            this.sentMessages = new LongAdder();
+            this.combinedMessages = new LongAdder();
+            this.sharedUpdates = new LongAdder();
+            this.casRetries = new LongAdder();
+        }
+
+        @Override
+        public void initIteration(int iteration) {
+            if (iteration > 0) {
+                logContentionMetrics(iteration - 1);
+            }
+            this.iteration = iteration;
+            super.initIteration(iteration);
+        }
+
+        static long bufferMemoryEstimation() {
+            return Estimate.sizeOfInstance(CombiningBuffer.class)
+                + Estimate.sizeOfLongArray(BUFFER_SIZE)
+                + Estimate.sizeOfDoubleArray(BUFFER_SIZE);
+        }
+
+        @Override
+        public void sendTo(long sourceNodeId, long targetNodeId, double message) {
+            buffers.get().add(targetNodeId, message);
+        }
+
+        @Override
+        public void flush() {
+            buffers.get().flush();
+        }
+
+        /**
+         * Statistics about the messages flushed since the beginning of the current superstep.
+         */
+        ContentionMetrics contentionMetrics() {
+            return new ContentionMetrics(
+                sentMessages.sum(),
+                combinedMessages.sum(),
+                sharedUpdates.sum(),
+                casRetries.sum()
+            );
+        }
+
+        private void logContentionMetrics(int superstep) {
+            var metrics = contentionMetrics();
+            if (metrics.sentMessages() > 0) {
+                progressTracker.logDebug(() -> formatWithLocale(
+                    "Superstep %d: %d messages sent, %d combined locally, %d shared updates, %d CAS retries",
+                    superstep,
+                    metrics.sentMessages(),
+                    metrics.combinedMessages(),
+                    metrics.sharedUpdates(),
+                    metrics.casRetries()
+                ));
+            }
+            sentMessages.reset();
+            combinedMessages.reset();
+            sharedUpdates.reset();
+            casRetries.reset();
+        }
+
+        @Override
+        public void release() {
+            // the metrics of the final superstep are not logged by a following initIteration
+            if (iteration >= 0) {
+                logContentionMetrics(iteration);
+            }
+            buffers.close();
+            super.release();
+        }
+
+        /**
+         * @param sentMessages     the number of messages sent by compute functions
+         * @param combinedMessages the number of messages reduced into the buffer of a thread
+         * @param sharedUpdates    the number of partial results merged into the shared send array
+         * @param casRetries       the number of failed compare-and-exchange attempts while merging
+         */
+        record ContentionMetrics(long sentMessages, long combinedMessages, long sharedUpdates, long casRetries) {}
+
+        /**
+         * A direct-mapped cache of partially reduced messages that is owned by a single thread.
+         * A slot is merged into the send array when another target maps to the same slot,
+         * so that messages to high-degree targets stay in the buffer for most of the compute step.
+         */
+        private final class CombiningBuffer {
+            private static final long EMPTY = -1L;
+            private static final int SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(BUFFER_SIZE);
+
+            private final long[] targets;
+            private final double[] values;
+            private int size;
+
+            private long sent;
+            private long combined;
+            private long updates;
+            private long retries;
+
+            CombiningBuffer() {
+                this.targets = new long[BUFFER_SIZE];
+                this.values = new double[BUFFER_SIZE];
+                Arrays.fill(targets, EMPTY);
+            }
+
+            void add(long target, double message) {
+                sent++;
+                // fibonacci hashing spreads consecutive node ids over all slots
+                int slot = (int) ((target * 0x9E3779B97F4A7C15L) >>> SHIFT);
+                long current = targets[slot];
+
+                if (current == target) {
+                    values[slot] = reducer.reduce(values[slot], message);
+                    combined++;
+                    return;
+                }
+
+                if (current == EMPTY) {
+                    size++;
+                } else {
+                    merge(current, values[slot]);
+                }
+                targets[slot] = target;
+                values[slot] = reducer.reduce(reducer.identity(), message);
+            }
+
+            void flush() {
+                if (size > 0) {
+                    for (int slot = 0; slot < BUFFER_SIZE; slot++) {
+                        if (targets[slot] != EMPTY) {
+                            merge(targets[slot], values[slot]);
+                            targets[slot] = EMPTY;
+                        }
+                    }
+                    size = 0;
+                }
+
+                if (sent > 0) {
+                    sentMessages.add(sent);
+                    combinedMessages.add(combined);
+                    sharedUpdates.add(updates);
+                    casRetries.add(retries);
+                    sent = combined = updates = retries = 0;
+                }
+            }
+
+            private void merge(long target, double partial) {
+                var array = sendArray;
+                double current = array.get(target);
+                while (true) {
+                    double update = reducer.combine(current, partial);
+                    if (Double.doubleToRawLongBits(update) == Double.doubleToRawLongBits(current)) {
+                        // e.g. the minimum did not change, there is nothing to write
+                        return;
+                    }
+                    double witness = array.compareAndExchange(target, current, update);
+                    if (Double.doubleToRawLongBits(witness) == Double.doubleToRawLongBits(current)) {
+                        updates++;
+                        return;
+                    }
+                    retries++;
+                    current = witness;
+                }
+            }
+        }
+    }
+
     static class SingleMessageIterator implements Messages.MessageIterator {
 
         boolean hasNext;
@@ -21,6 +21,10 @@ package org.neo4j.gds.beta.pregel;
 
 import org.neo4j.gds.mem.MemoryEstimation;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public class SyncQueueMessenger implements Messenger<PrimitiveSyncDoubleQueues.Iterator> {
 
     private final PrimitiveSyncDoubleQueues queues;
@@ -53,6 +57,16 @@ public class SyncQueueMessenger implements Messenger<PrimitiveSyncDoubleQueues.I
         queues.initIterator(messageIterator, nodeId);
     }
 
+    @Override
+    public void writeMessages(long nodeId, DataOutput output) throws IOException {
+        queues.writeQueue(nodeId, output);
+    }
+
+    @Override
+    public boolean readMessages(long nodeId, DataInput input) throws IOException {
+        return queues.readQueue(nodeId, input);
+    }
+
     @Override
     public void release() {
         queues.release();
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.collections.haa.HugeAtomicLongArray;
+import org.neo4j.gds.core.concurrency.ParallelUtil;
+import org.neo4j.gds.core.utils.paged.ParalleLongPageCreator;
+import org.neo4j.gds.mem.Estimate;
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+import org.neo4j.gds.termination.TerminationFlag;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A messenger for messages that follow a {@link MessageSchema}. Every node receives at most
+ * one message per superstep, incoming messages are reduced into the slots of that message.
+ * <br>
+ * Vectors are reduced element-wise, i.e. the {@link Reducer} is applied to each vector position
+ * independently. Pairs are reduced by a {@link Reducer#isSelective() selective} reducer, which
+ * keeps the long value of the pair whose double value it selects, e.g. the argmin.
+ */
+class TypedReducingMessenger implements Messenger<TypedReducingMessenger.Iterator> {
+
+    // the long and the double value of a pair must change together, so pairs are reduced under a lock
+    private static final int PAIR_LOCK_STRIPES = 1024;
+
+    private final PregelConfig config;
+    private final Reducer reducer;
+    private final MessageSchema messageSchema;
+    private final int slots;
+    // the identity element in the encoding of a slot
+    private final long identitySlot;
+    private final Object[] pairLocks;
+
+    private HugeAtomicLongArray sendArray;
+    private HugeAtomicLongArray receiveArray;
+
+    TypedReducingMessenger(Graph graph, PregelConfig config, Reducer reducer, MessageSchema messageSchema) {
+        assert !Double.isNaN(reducer.identity()) : "identity element must not be NaN";
+        assert messageSchema.isReducible(reducer) : "message schema must be reducible";
+
+        this.config = config;
+        this.reducer = reducer;
+        this.messageSchema = messageSchema;
+        this.slots = messageSchema.slots();
+        this.identitySlot = messageSchema.type() == MessageSchema.Type.FLOAT_VECTOR
+            ? MessageSchema.encodeFloats((float) reducer.identity(), (float) reducer.identity())
+            : Double.doubleToRawLongBits(reducer.identity());
+        var isPair = messageSchema.type() == MessageSchema.Type.LONG_DOUBLE_PAIR;
+        this.pairLocks = new Object[isPair ? PAIR_LOCK_STRIPES : 0];
+        for (int i = 0; i < pairLocks.length; i++) {
+            pairLocks[i] = new Object();
+        }
+
+        var size = graph.nodeCount() * slots;
+        this.receiveArray = HugeAtomicLongArray.of(size, ParalleLongPageCreator.passThrough(config.concurrency()));
+        this.sendArray = HugeAtomicLongArray.of(size, ParalleLongPageCreator.passThrough(config.concurrency()));
+    }
+
+    static MemoryEstimation memoryEstimation(MessageSchema messageSchema) {
+        var slots = messageSchema.slots();
+        var builder = MemoryEstimations.builder(TypedReducingMessenger.class)
+            .perNode("send array", nodeCount -> HugeAtomicLongArray.memoryEstimation(nodeCount * slots))
+            .perNode("receive array", nodeCount -> HugeAtomicLongArray.memoryEstimation(nodeCount * slots));
+        if (messageSchema.type() == MessageSchema.Type.LONG_DOUBLE_PAIR) {
+            builder.fixed(
+                "pair locks",
+                Estimate.sizeOfObjectArray(PAIR_LOCK_STRIPES)
+                + PAIR_LOCK_STRIPES * Estimate.sizeOfInstance(Object.class)
+            );
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        var tmp = receiveArray;
+        this.receiveArray = sendArray;
+        this.sendArray = tmp;
+
+        ParallelUtil.parallelForEachNode(
+            sendArray.size(),
+            config.concurrency(),
+            TerminationFlag.RUNNING_TRUE,
+            index -> sendArray.set(index, identitySlot)
+        );
+    }
+
+    @Override
+    public void sendTo(long sourceNodeId, long targetNodeId, double message) {
+        throw new UnsupportedOperationException(
+            "The computation declared a message schema, messages must be sent with the typed `sendTo` methods."
+        );
+    }
+
+    @Override
+    public void sendTo(long sourceNodeId, long targetNodeId, long[] message) {
+        var offset = targetNodeId * slots;
+        switch (messageSchema.type()) {
+            case LONG_DOUBLE_PAIR:
+                reducePair(targetNodeId, offset, message[0], Double.longBitsToDouble(message[1]));
+                break;
+            case DOUBLE_VECTOR:
+                for (int i = 0; i < slots; i++) {
+                    var value = Double.longBitsToDouble(message[i]);
+                    sendArray.update(offset + i, current -> Double.doubleToRawLongBits(
+                        reducer.reduce(Double.longBitsToDouble(current), value)
+                    ));
+                }
+                break;
+            case FLOAT_VECTOR:
+                for (int i = 0; i < slots; i++) {
+                    var low = MessageSchema.decodeFloat(message[i], 0);
+                    var high = MessageSchema.decodeFloat(message[i], 1);
+                    sendArray.update(offset + i, current -> MessageSchema.encodeFloats(
+                        (float) reducer.reduce(MessageSchema.decodeFloat(current, 0), low),
+                        (float) reducer.reduce(MessageSchema.decodeFloat(current, 1), high)
+                    ));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected message type: " + messageSchema.type());
+        }
+    }
+
+    private void reducePair(long targetNodeId, long offset, long longValue, double doubleValue) {
+        synchronized (pairLocks[(int) (targetNodeId & (PAIR_LOCK_STRIPES - 1))]) {
+            var current = Double.longBitsToDouble(sendArray.get(offset + 1));
+            var reduced = reducer.reduce(current, doubleValue);
+            if (Double.compare(reduced, current) != 0) {
+                sendArray.set(offset, longValue);
+                sendArray.set(offset + 1, Double.doubleToRawLongBits(reduced));
+            }
+        }
+    }
+
+    @Override
+    public Iterator messageIterator() {
+        return new Iterator(messageSchema);
+    }
+
+    @Override
+    public void initMessageIterator(Iterator messageIterator, long nodeId, boolean isFirstIteration) {
+        var offset = nodeId * slots;
+        var message = messageIterator.message;
+        for (int i = 0; i < slots; i++) {
+            message[i] = receiveArray.getAndReplace(offset + i, identitySlot);
+        }
+        messageIterator.init(hasMessage(message));
+    }
+
+    /**
+     * Whether at least one value of the message differs from the identity element.
+     */
+    private boolean hasMessage(long[] message) {
+        var identity = reducer.identity();
+        switch (messageSchema.type()) {
+            case LONG_DOUBLE_PAIR:
+                return Double.longBitsToDouble(message[1]) != identity;
+            case DOUBLE_VECTOR:
+                for (long slot : message) {
+                    if (Double.longBitsToDouble(slot) != identity) {
+                        return true;
+                    }
+                }
+                return false;
+            case FLOAT_VECTOR:
+                for (int i = 0; i < messageSchema.width(); i++) {
+                    if (MessageSchema.decodeFloat(message[i / 2], i) != (float) identity) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                throw new IllegalStateException("Unexpected message type: " + messageSchema.type());
+        }
+    }
+
+    @Override
+    public void writeMessages(long nodeId, DataOutput output) throws IOException {
+        var offset = nodeId * slots;
+        for (int i = 0; i < slots; i++) {
+            output.writeLong(sendArray.get(offset + i));
+        }
+    }
+
+    @Override
+    public boolean readMessages(long nodeId, DataInput input) throws IOException {
+        var offset = nodeId * slots;
+        var message = new long[slots];
+        for (int i = 0; i < slots; i++) {
+            message[i] = input.readLong();
+            sendArray.set(offset + i, message[i]);
+        }
+        return hasMessage(message);
+    }
+
+    @Override
+    public void release() {
+        sendArray.release();
+        receiveArray.release();
+    }
+
+    static class Iterator implements Messages.TypedMessageIterator {
+
+        private final MessageSchema.Type type;
+        private final long[] message;
+        private boolean hasNext;
+        private boolean isEmpty;
+
+        Iterator(MessageSchema messageSchema) {
+            this.type = messageSchema.type();
+            this.message = new long[messageSchema.slots()];
+        }
+
+        void init(boolean hasMessage) {
+            this.hasNext = hasMessage;
+            this.isEmpty = !hasMessage;
+        }
+
+        @Override
+        public MessageSchema.Type type() {
+            return type;
+        }
+
+        @Override
+        public boolean nextMessage() {
+            var hasMessage = hasNext;
+            hasNext = false;
+            return hasMessage;
+        }
+
+        @Override
+        public long slot(int index) {
+            return message[index];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return isEmpty;
+        }
+    }
+}
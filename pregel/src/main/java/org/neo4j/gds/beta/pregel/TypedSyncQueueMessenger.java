@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.neo4j.gds.mem.MemoryEstimation;
+import org.neo4j.gds.mem.MemoryEstimations;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A messenger for messages that follow a {@link MessageSchema}. Each message is
+ * stored as a contiguous block of {@link MessageSchema#slots()} slots in the
+ * message queue of the receiving node.
+ */
+class TypedSyncQueueMessenger implements Messenger<PrimitiveSyncLongQueues.Iterator> {
+
+    private final PrimitiveSyncLongQueues queues;
+    private final MessageSchema messageSchema;
+
+    TypedSyncQueueMessenger(long nodeCount, MessageSchema messageSchema) {
+        this.messageSchema = messageSchema;
+        this.queues = PrimitiveSyncLongQueues.of(nodeCount, initialQueueCapacity(messageSchema));
+    }
+
+    static MemoryEstimation memoryEstimation(MessageSchema messageSchema) {
+        return MemoryEstimations.builder(TypedSyncQueueMessenger.class)
+            .add("queues", PrimitiveSyncLongQueues.memoryEstimation(initialQueueCapacity(messageSchema)))
+            .build();
+    }
+
+    private static int initialQueueCapacity(MessageSchema messageSchema) {
+        // room for at least two messages
+        return Math.max(PrimitiveDoubleQueues.MIN_CAPACITY, 2 * messageSchema.slots());
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        queues.swapQueues();
+    }
+
+    @Override
+    public void sendTo(long sourceNodeId, long targetNodeId, double message) {
+        throw new UnsupportedOperationException(
+            "The computation declared a message schema, messages must be sent with the typed `sendTo` methods."
+        );
+    }
+
+    @Override
+    public void sendTo(long sourceNodeId, long targetNodeId, long[] message) {
+        queues.push(targetNodeId, message);
+    }
+
+    @Override
+    public PrimitiveSyncLongQueues.Iterator messageIterator() {
+        return new PrimitiveSyncLongQueues.Iterator(messageSchema);
+    }
+
+    @Override
+    public void initMessageIterator(
+        PrimitiveSyncLongQueues.Iterator messageIterator,
+        long nodeId,
+        boolean isFirstIteration
+    ) {
+        queues.initIterator(messageIterator, nodeId);
+    }
+
+    @Override
+    public void writeMessages(long nodeId, DataOutput output) throws IOException {
+        queues.writeQueue(nodeId, output);
+    }
+
+    @Override
+    public boolean readMessages(long nodeId, DataInput input) throws IOException {
+        return queues.readQueue(nodeId, input);
+    }
+
+    @Override
+    public void release() {
+        queues.release();
+    }
+}
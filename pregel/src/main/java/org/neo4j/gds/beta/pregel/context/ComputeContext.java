@@ -21,8 +21,10 @@ package org.neo4j.gds.beta.pregel.context;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.mutable.MutableInt;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.gds.api.Graph;
 import org.neo4j.gds.beta.pregel.BasePregelComputation;
+import org.neo4j.gds.beta.pregel.MessageSchema;
 import org.neo4j.gds.beta.pregel.Messenger;
 import org.neo4j.gds.beta.pregel.NodeValue;
 import org.neo4j.gds.beta.pregel.PregelConfig;
@@ -43,6 +45,9 @@ public class ComputeContext<CONFIG extends PregelConfig> extends NodeCentricCont
     private final Messenger<?> messenger;
     private final MutableInt iteration;
     private final MutableBoolean hasSendMessage;
+    private final @Nullable MessageSchema messageSchema;
+    // reused for every typed message, the messenger copies the values before returning
+    private final long[] messageBuffer;
 
     protected BasePregelComputation<CONFIG> computation;
 
@@ -59,11 +64,13 @@ public class ComputeContext<CONFIG extends PregelConfig> extends NodeCentricCont
         this.computation = computation;
         this.sendMessagesFunction = config.hasRelationshipWeightProperty()
             ? this::sendToNeighborsWeighted
-            : this::sendToNeighbors;
+            : this::sendToNeighborsUnweighted;
         this.messenger = messenger;
         this.voteBits = voteBits;
         this.iteration = iteration;
         this.hasSendMessage = hasSendMessage.orElse(new MutableBoolean(false));
+        this.messageSchema = computation.messageSchema(config).orElse(null);
+        this.messageBuffer = messageSchema == null ? new long[0] : new long[messageSchema.slots()];
     }
 
     private final SendMessagesFunction sendMessagesFunction;
@@ -166,7 +173,106 @@ public class ComputeContext<CONFIG extends PregelConfig> extends NodeCentricCont
         this.hasSendMessage.setValue(true);
     }
 
-    private void sendToNeighbors(long sourceNodeId, double message) {
+    /**
+     * Sends a (long, double) pair to the target node.
+     * Requires the computation to declare a {@link MessageSchema#longDoublePair()} schema.
+     *
+     * @throws IllegalArgumentException if the computation declared a different message schema
+     */
+    public void sendTo(long targetNodeId, long longValue, double doubleValue) {
+        encodePair(longValue, doubleValue);
+        sendTypedMessage(targetNodeId);
+    }
+
+    /**
+     * Sends a (long, double) pair to all neighbors of the node.
+     * Requires the computation to declare a {@link MessageSchema#longDoublePair()} schema.
+     */
+    public void sendToNeighbors(long longValue, double doubleValue) {
+        encodePair(longValue, doubleValue);
+        sendTypedMessageToNeighbors();
+    }
+
+    /**
+     * Sends a double vector to the target node.
+     * Requires the computation to declare a {@link MessageSchema#doubleVector(int)} schema.
+     *
+     * @throws IllegalArgumentException if the computation declared a different message schema
+     */
+    public void sendTo(long targetNodeId, double[] message) {
+        encodeVector(message);
+        sendTypedMessage(targetNodeId);
+    }
+
+    /**
+     * Sends a double vector to all neighbors of the node.
+     * Requires the computation to declare a {@link MessageSchema#doubleVector(int)} schema.
+     */
+    public void sendToNeighbors(double[] message) {
+        encodeVector(message);
+        sendTypedMessageToNeighbors();
+    }
+
+    /**
+     * Sends a float vector to the target node.
+     * Requires the computation to declare a {@link MessageSchema#floatVector(int)} schema.
+     *
+     * @throws IllegalArgumentException if the computation declared a different message schema
+     */
+    public void sendTo(long targetNodeId, float[] message) {
+        encodeVector(message);
+        sendTypedMessage(targetNodeId);
+    }
+
+    /**
+     * Sends a float vector to all neighbors of the node.
+     * Requires the computation to declare a {@link MessageSchema#floatVector(int)} schema.
+     */
+    public void sendToNeighbors(float[] message) {
+        encodeVector(message);
+        sendTypedMessageToNeighbors();
+    }
+
+    void sendTypedMessage(long targetNodeId) {
+        messenger.sendTo(this.nodeId, targetNodeId, messageBuffer);
+        this.hasSendMessage.setValue(true);
+    }
+
+    private void sendTypedMessageToNeighbors() {
+        graph.forEachRelationship(nodeId, (ignored, targetNodeId) -> {
+            sendTypedMessage(targetNodeId);
+            return true;
+        });
+    }
+
+    void encodePair(long longValue, double doubleValue) {
+        validateMessage(MessageSchema.Type.LONG_DOUBLE_PAIR, 2);
+        messageBuffer[0] = longValue;
+        messageBuffer[1] = Double.doubleToRawLongBits(doubleValue);
+    }
+
+    void encodeVector(double[] message) {
+        validateMessage(MessageSchema.Type.DOUBLE_VECTOR, message.length);
+        for (int i = 0; i < message.length; i++) {
+            messageBuffer[i] = Double.doubleToRawLongBits(message[i]);
+        }
+    }
+
+    void encodeVector(float[] message) {
+        validateMessage(MessageSchema.Type.FLOAT_VECTOR, message.length);
+        MessageSchema.encodeFloats(message, messageBuffer);
+    }
+
+    private void validateMessage(MessageSchema.Type type, int length) {
+        if (messageSchema == null) {
+            throw new UnsupportedOperationException(
+                "Messages with multiple values require the computation to declare a message schema."
+            );
+        }
+        messageSchema.validateMessage(type, length);
+    }
+
+    private void sendToNeighborsUnweighted(long sourceNodeId, double message) {
         graph.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
             sendTo(targetNodeId, message);
             return true;
@@ -218,7 +324,7 @@ public class ComputeContext<CONFIG extends PregelConfig> extends NodeCentricCont
 
             this.sendMessagesIncomingFunction = config.hasRelationshipWeightProperty()
                 ? this::sendToIncomingNeighborsWeighted
-                : this::sendToIncomingNeighbors;
+                : this::sendToIncomingNeighborsUnweighted;
         }
 
         /**
@@ -228,7 +334,41 @@ public class ComputeContext<CONFIG extends PregelConfig> extends NodeCentricCont
             sendMessagesIncomingFunction.sendToIncomingNeighbors(nodeId, message);
         }
 
-        private void sendToIncomingNeighbors(long sourceNodeId, double message) {
+        /**
+         * Sends a (long, double) pair to all incoming neighbors of the node.
+         * Requires the computation to declare a {@link MessageSchema#longDoublePair()} schema.
+         */
+        public void sendToIncomingNeighbors(long longValue, double doubleValue) {
+            encodePair(longValue, doubleValue);
+            sendTypedMessageToIncomingNeighbors();
+        }
+
+        /**
+         * Sends a double vector to all incoming neighbors of the node.
+         * Requires the computation to declare a {@link MessageSchema#doubleVector(int)} schema.
+         */
+        public void sendToIncomingNeighbors(double[] message) {
+            encodeVector(message);
+            sendTypedMessageToIncomingNeighbors();
+        }
+
+        /**
+         * Sends a float vector to all incoming neighbors of the node.
+         * Requires the computation to declare a {@link MessageSchema#floatVector(int)} schema.
+         */
+        public void sendToIncomingNeighbors(float[] message) {
+            encodeVector(message);
+            sendTypedMessageToIncomingNeighbors();
+        }
+
+        private void sendTypedMessageToIncomingNeighbors() {
+            graph.forEachInverseRelationship(nodeId, (ignored, targetNodeId) -> {
+                sendTypedMessage(targetNodeId);
+                return true;
+            });
+        }
+
+        private void sendToIncomingNeighborsUnweighted(long sourceNodeId, double message) {
             graph.forEachInverseRelationship(sourceNodeId, (ignored, targetNodeId) -> {
                 sendTo(targetNodeId, message);
                 return true;
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel.context;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.beta.pregel.NodeValue;
+import org.neo4j.gds.beta.pregel.PregelConfig;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A context that is used during a pull-based computation. It allows an
+ * implementation to read the values of other nodes from the previous
+ * superstep and change the state of the currently processed node.
+ */
+public class GatherContext<CONFIG extends PregelConfig> extends NodeCentricContext<CONFIG> {
+
+    private final NodeValue previousNodeValue;
+    private final HugeAtomicBitSet voteBits;
+    private final MutableInt iteration;
+
+    public GatherContext(
+        Graph graph,
+        CONFIG config,
+        NodeValue nodeValue,
+        NodeValue previousNodeValue,
+        HugeAtomicBitSet voteBits,
+        MutableInt iteration,
+        ProgressTracker progressTracker
+    ) {
+        super(graph, config, nodeValue, progressTracker);
+        this.previousNodeValue = previousNodeValue;
+        this.voteBits = voteBits;
+        this.iteration = iteration;
+    }
+
+    /**
+     * Returns the current node value for the given node schema key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double
+     */
+    public double doubleNodeValue(String key) {
+        return nodeValue.doubleValue(key, nodeId);
+    }
+
+    /**
+     * Returns the current node value for the given node schema key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long
+     */
+    public long longNodeValue(String key) {
+        return nodeValue.longValue(key, nodeId);
+    }
+
+    /**
+     * Returns the current node value for the given node schema key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long array
+     */
+    public long[] longArrayNodeValue(String key) {
+        return nodeValue.longArrayValue(key, nodeId);
+    }
+
+    /**
+     * Returns the current node value for the given node schema key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double array
+     */
+    public double[] doubleArrayNodeValue(String key) {
+        return nodeValue.doubleArrayValue(key, nodeId);
+    }
+
+    /**
+     * Returns the value of the given node at the end of the previous superstep.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double
+     */
+    public double doubleNeighborValue(String key, long neighborNodeId) {
+        return previousNodeValue.doubleValue(key, neighborNodeId);
+    }
+
+    /**
+     * Returns the value of the given node at the end of the previous superstep.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long
+     */
+    public long longNeighborValue(String key, long neighborNodeId) {
+        return previousNodeValue.longValue(key, neighborNodeId);
+    }
+
+    /**
+     * Returns the value of the given node at the end of the previous superstep.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long array
+     */
+    public long[] longArrayNeighborValue(String key, long neighborNodeId) {
+        return previousNodeValue.longArrayValue(key, neighborNodeId);
+    }
+
+    /**
+     * Returns the value of the given node at the end of the previous superstep.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double array
+     */
+    public double[] doubleArrayNeighborValue(String key, long neighborNodeId) {
+        return previousNodeValue.doubleArrayValue(key, neighborNodeId);
+    }
+
+    /**
+     * Returns the degree (number of outgoing relationships) of the given node.
+     */
+    public int degree(long nodeId) {
+        return graph.degree(nodeId);
+    }
+
+    /**
+     * Calls the consumer for each incoming neighbor of the currently processed node.
+     * For undirected graphs, incoming and outgoing neighbors are the same.
+     */
+    public void forEachIncomingNeighbor(LongConsumer sourceConsumer) {
+        forEachIncomingNeighbor((sourceNodeId, weight) -> sourceConsumer.accept(sourceNodeId));
+    }
+
+    /**
+     * Calls the consumer for each incoming neighbor of the currently processed node
+     * together with the weight of the relationship, which is 1.0 for unweighted graphs.
+     * For undirected graphs, incoming and outgoing neighbors are the same.
+     */
+    public void forEachIncomingNeighbor(WeightedNeighborConsumer sourceConsumer) {
+        if (graph.characteristics().isUndirected()) {
+            forEachNeighbor(sourceConsumer);
+            return;
+        }
+        graph.forEachInverseRelationship(nodeId, 1.0, (ignored, sourceNodeId, weight) -> {
+            sourceConsumer.accept(sourceNodeId, weight);
+            return true;
+        });
+    }
+
+    /**
+     * Calls the consumer for each neighbor of the currently processed node
+     * together with the weight of the relationship, which is 1.0 for unweighted graphs.
+     */
+    public void forEachNeighbor(WeightedNeighborConsumer targetConsumer) {
+        graph.forEachRelationship(nodeId, 1.0, (ignored, targetNodeId, weight) -> {
+            targetConsumer.accept(targetNodeId, weight);
+            return true;
+        });
+    }
+
+    /**
+     * Notify the execution framework that this node intends
+     * to stop the computation. A node that voted to halt is
+     * not computed in subsequent supersteps.
+     */
+    public void voteToHalt() {
+        voteBits.set(nodeId);
+    }
+
+    /**
+     * Indicates if the current superstep is the first superstep.
+     */
+    public boolean isInitialSuperstep() {
+        return superstep() == 0;
+    }
+
+    /**
+     * Returns the current superstep (0-based).
+     */
+    public int superstep() {
+        return iteration.getValue();
+    }
+
+    @FunctionalInterface
+    public interface WeightedNeighborConsumer {
+        void accept(long neighborNodeId, double weight);
+    }
+}
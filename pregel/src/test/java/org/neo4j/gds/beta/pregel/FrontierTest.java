@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrontierTest {
+
+    @Test
+    void initialSuperstepIsDense() {
+        var frontier = new Frontier(100, 10);
+
+        frontier.advance(0);
+
+        assertThat(frontier.isSparse()).isFalse();
+    }
+
+    @Test
+    void switchesBetweenSparseAndDense() {
+        var frontier = new Frontier(100, 10);
+        frontier.advance(0);
+
+        frontier.activate(42);
+        frontier.advance(1);
+        assertThat(frontier.isSparse()).isTrue();
+
+        for (int nodeId = 0; nodeId < 11; nodeId++) {
+            frontier.activate(nodeId);
+        }
+        frontier.advance(2);
+        assertThat(frontier.isSparse()).isFalse();
+
+        frontier.advance(3);
+        assertThat(frontier.isSparse()).isTrue();
+        assertThat(frontier.activeNodeCount(Partition.of(0, 100))).isEqualTo(0);
+    }
+
+    @Test
+    void activeNodesPerPartition() {
+        var frontier = new Frontier(100, 10);
+        frontier.advance(0);
+
+        frontier.activate(3);
+        frontier.activate(42);
+        frontier.activate(42);
+        frontier.activate(50);
+        frontier.activate(99);
+        frontier.advance(1);
+
+        assertThat(frontier.activeNodeCount(Partition.of(0, 100))).isEqualTo(4);
+        assertThat(frontier.activeNodeCount(Partition.of(0, 42))).isEqualTo(1);
+        assertThat(frontier.activeNodeCount(Partition.of(42, 9))).isEqualTo(2);
+        assertThat(frontier.activeNodeCount(Partition.of(51, 48))).isEqualTo(0);
+
+        var nodes = new ArrayList<Long>();
+        frontier.forEachActiveNode(Partition.of(42, 58), nodes::add);
+        assertThat(nodes).containsExactly(42L, 50L, 99L);
+    }
+}
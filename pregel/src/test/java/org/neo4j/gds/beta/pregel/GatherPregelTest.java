@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.gds.Orientation;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.beta.pregel.context.GatherContext;
+import org.neo4j.gds.beta.pregel.context.InitContext;
+import org.neo4j.gds.core.ImmutableGraphDimensions;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.extension.GdlExtension;
+import org.neo4j.gds.extension.GdlGraph;
+import org.neo4j.gds.extension.Inject;
+import org.neo4j.gds.extension.TestGraph;
+import org.neo4j.gds.mem.MemoryEstimateDefinition;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@GdlExtension
+class GatherPregelTest {
+
+    private static final String GRAPH =
+        "CREATE" +
+        "  (alice:Node)" +
+        ", (bob:Node)" +
+        ", (eve:Node)" +
+        ", (alice)-[:REL]->(bob)" +
+        ", (alice)-[:REL]->(eve)";
+
+    @GdlGraph(graphNamePrefix = "inverse", indexInverse = true)
+    private static final String INVERSE_GRAPH = GRAPH;
+
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String UNDIRECTED_GRAPH = GRAPH;
+
+    @GdlGraph
+    private static final String DIRECTED_GRAPH = GRAPH;
+
+    @Inject
+    private TestGraph inverseGraph;
+
+    @Inject
+    private TestGraph undirectedGraph;
+
+    @Inject
+    private TestGraph graph;
+
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void gathersFromIncomingNeighbors(Partitioning partitioning) {
+        var values = run(inverseGraph, partitioning);
+
+        assertThat(values.doubleValue(SumComputation.KEY, inverseGraph.toMappedNodeId("alice"))).isEqualTo(0);
+        assertThat(values.doubleValue(SumComputation.KEY, inverseGraph.toMappedNodeId("bob")))
+            .isEqualTo(initialValue(inverseGraph, "alice"));
+        assertThat(values.doubleValue(SumComputation.KEY, inverseGraph.toMappedNodeId("eve")))
+            .isEqualTo(initialValue(inverseGraph, "alice"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void readsNeighborValuesFromPreviousSuperstep(Partitioning partitioning) {
+        var values = run(undirectedGraph, partitioning);
+
+        // alice is updated in the same superstep, but bob and eve must see its initial value
+        assertThat(values.doubleValue(SumComputation.KEY, undirectedGraph.toMappedNodeId("alice")))
+            .isEqualTo(initialValue(undirectedGraph, "bob") + initialValue(undirectedGraph, "eve"));
+        assertThat(values.doubleValue(SumComputation.KEY, undirectedGraph.toMappedNodeId("bob")))
+            .isEqualTo(initialValue(undirectedGraph, "alice"));
+        assertThat(values.doubleValue(SumComputation.KEY, undirectedGraph.toMappedNodeId("eve")))
+            .isEqualTo(initialValue(undirectedGraph, "alice"));
+    }
+
+    @Test
+    void readsArrayNeighborValuesFromPreviousSuperstep() {
+        // a single thread computes alice first, which changes its arrays in place before bob and eve read them
+        var config = PregelConfigImpl.builder()
+            .maxIterations(1)
+            .partitioning(Partitioning.RANGE)
+            .concurrency(1)
+            .build();
+
+        var values = Pregel.create(
+            undirectedGraph,
+            config,
+            new InPlaceArraySumComputation(),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        ).run().nodeValues();
+
+        var alice = undirectedGraph.toMappedNodeId("alice");
+        var aliceSum = initialValue(undirectedGraph, "bob") + initialValue(undirectedGraph, "eve");
+        assertThat(values.doubleArrayValue(InPlaceArraySumComputation.DOUBLES, alice)).containsExactly(aliceSum);
+        assertThat(values.longArrayValue(InPlaceArraySumComputation.LONGS, alice)).containsExactly((long) aliceSum);
+
+        for (var neighbor : new String[]{"bob", "eve"}) {
+            var nodeId = undirectedGraph.toMappedNodeId(neighbor);
+            var aliceInitial = initialValue(undirectedGraph, "alice");
+            assertThat(values.doubleArrayValue(InPlaceArraySumComputation.DOUBLES, nodeId))
+                .containsExactly(aliceInitial);
+            assertThat(values.longArrayValue(InPlaceArraySumComputation.LONGS, nodeId))
+                .containsExactly((long) aliceInitial);
+        }
+    }
+
+    @Test
+    void convergesWhenAllNodesVotedToHalt() {
+        var config = PregelConfigImpl.builder().maxIterations(10).build();
+
+        var result = Pregel.create(
+            undirectedGraph,
+            config,
+            new SumComputation(),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        ).run();
+
+        assertThat(result.didConverge()).isTrue();
+        assertThat(result.ranIterations()).isEqualTo(0);
+    }
+
+    @Test
+    void throwIfDirectedWithoutInverseIndex() {
+        var config = PregelConfigImpl.builder().maxIterations(1).build();
+
+        assertThatThrownBy(() -> Pregel.create(
+            graph,
+            config,
+            new SumComputation(),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        ))
+            .isInstanceOf(UnsupportedOperationException.class)
+            .hasMessage(
+                "The Pregel algorithm SumComputation requires inverse indexes for all configured relationships ['*']"
+            );
+    }
+
+    @Test
+    void throwIfReducerIsDeclared() {
+        var config = PregelConfigImpl.builder().maxIterations(1).build();
+
+        assertThatThrownBy(() -> Pregel.create(
+            inverseGraph,
+            config,
+            new SumComputation() {
+                @Override
+                public Optional<Reducer> reducer() {
+                    return Optional.of(new Reducer.Sum());
+                }
+            },
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cannot declare a reducer or a message schema");
+    }
+
+    @Test
+    void memoryEstimationWithoutMessages() {
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(10_000).relCountUpperBound(100_000).build();
+        var concurrency = new Concurrency(4);
+        var properties = Map.of(SumComputation.KEY, ValueType.DOUBLE);
+
+        var gather = Pregel.gatherMemoryEstimation(properties).estimate(dimensions, concurrency).memoryUsage();
+        var queues = Pregel.memoryEstimation(properties, true, false).estimate(dimensions, concurrency).memoryUsage();
+        var reducing = Pregel.memoryEstimation(properties, false, false)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+
+        assertThat(gather.max).isLessThan(queues.max);
+        assertThat(gather.max).isLessThan(reducing.max);
+    }
+
+    private static double initialValue(TestGraph graph, String variable) {
+        return graph.toMappedNodeId(variable) + 1;
+    }
+
+    private static NodeValue run(Graph graph, Partitioning partitioning) {
+        var config = PregelConfigImpl.builder()
+            .maxIterations(1)
+            .partitioning(partitioning)
+            .build();
+
+        var pregel = Pregel.create(
+            graph,
+            config,
+            new SumComputation(),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        return pregel.run().nodeValues();
+    }
+
+    static class SumComputation implements GatherPregelComputation<PregelConfig> {
+
+        static final String KEY = "sum";
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder().add(KEY, ValueType.DOUBLE).build();
+        }
+
+        @Override
+        public void init(InitContext<PregelConfig> context) {
+            context.setNodeValue(KEY, context.nodeId() + 1.0);
+        }
+
+        @Override
+        public void compute(GatherContext<PregelConfig> context) {
+            var sum = new double[1];
+            context.forEachIncomingNeighbor(neighbor -> sum[0] += context.doubleNeighborValue(KEY, neighbor));
+            context.setNodeValue(KEY, sum[0]);
+            context.voteToHalt();
+        }
+
+        @Override
+        public MemoryEstimateDefinition estimateDefinition(boolean isAsynchronous) {
+            return () -> Pregel.gatherMemoryEstimation(Map.of(KEY, ValueType.DOUBLE));
+        }
+    }
+
+    /**
+     * Sums the array values of the neighbors into the arrays of the node, which are changed in place.
+     */
+    static class InPlaceArraySumComputation implements GatherPregelComputation<PregelConfig> {
+
+        static final String DOUBLES = "doubles";
+        static final String LONGS = "longs";
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder()
+                .add(DOUBLES, ValueType.DOUBLE_ARRAY)
+                .add(LONGS, ValueType.LONG_ARRAY)
+                .build();
+        }
+
+        @Override
+        public void init(InitContext<PregelConfig> context) {
+            context.setNodeValue(DOUBLES, new double[]{context.nodeId() + 1.0});
+            context.setNodeValue(LONGS, new long[]{context.nodeId() + 1});
+        }
+
+        @Override
+        public void compute(GatherContext<PregelConfig> context) {
+            var doubleSum = new double[1];
+            var longSum = new long[1];
+            context.forEachIncomingNeighbor(neighbor -> {
+                doubleSum[0] += context.doubleArrayNeighborValue(DOUBLES, neighbor)[0];
+                longSum[0] += context.longArrayNeighborValue(LONGS, neighbor)[0];
+            });
+            context.doubleArrayNodeValue(DOUBLES)[0] = doubleSum[0];
+            context.longArrayNodeValue(LONGS)[0] = longSum[0];
+            context.voteToHalt();
+        }
+
+        @Override
+        public MemoryEstimateDefinition estimateDefinition(boolean isAsynchronous) {
+            return () -> Pregel.gatherMemoryEstimation(Map.of(
+                DOUBLES, ValueType.DOUBLE_ARRAY,
+                LONGS, ValueType.LONG_ARRAY
+            ));
+        }
+    }
+}
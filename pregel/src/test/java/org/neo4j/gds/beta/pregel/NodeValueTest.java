@@ -145,4 +145,32 @@ class NodeValueTest {
             .hasMessageContaining("Default value is not supported for")
             .hasMessageContaining("array properties");
     }
+
+    @Test
+    void copyTo() {
+        var schema = new PregelSchema.Builder()
+            .add("double", ValueType.DOUBLE)
+            .add("long", ValueType.LONG)
+            .add("longArray", ValueType.LONG_ARRAY)
+            .add("doubleArray", ValueType.DOUBLE_ARRAY)
+            .build();
+        var source = NodeValue.of(schema, 10, new Concurrency(4));
+        var target = NodeValue.of(schema, 10, new Concurrency(4));
+
+        source.set("double", 3, 4.2);
+        source.set("long", 5, 42L);
+        source.set("longArray", 7, new long[]{1, 3, 3, 7});
+        source.set("doubleArray", 9, new double[]{13.37});
+
+        source.copyTo(target);
+
+        assertThat(target.doubleValue("double", 3)).isEqualTo(4.2);
+        assertThat(target.longValue("long", 5)).isEqualTo(42L);
+        assertThat(target.longArrayValue("longArray", 7)).containsExactly(1, 3, 3, 7);
+        assertThat(target.doubleArrayValue("doubleArray", 9)).containsExactly(13.37);
+
+        // changes of the source are not visible in the copy
+        source.set("double", 3, 1.0);
+        assertThat(target.doubleValue("double", 3)).isEqualTo(4.2);
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.gds.annotation.Configuration;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.api.nodeproperties.ValueType;
+import org.neo4j.gds.beta.generator.RandomGraphGenerator;
+import org.neo4j.gds.beta.generator.RelationshipDistribution;
+import org.neo4j.gds.beta.pregel.context.ComputeContext;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.mem.MemoryEstimateDefinition;
+import org.neo4j.gds.termination.TerminationFlag;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.neo4j.gds.beta.pregel.PregelTest.TestPregelComputation.KEY;
+
+class PregelCheckpointTest {
+
+    private static final Graph GRAPH = RandomGraphGenerator.builder()
+        .nodeCount(1_000)
+        .averageDegree(5)
+        .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+        .seed(42L)
+        .build()
+        .generate();
+
+    @TempDir
+    Path checkpointDirectory;
+
+    static Stream<Arguments> messengers() {
+        return Stream.of(
+            Arguments.of(Optional.empty(), false),
+            Arguments.of(Optional.of(new Reducer.Sum()), false),
+            Arguments.of(Optional.empty(), true),
+            Arguments.of(Optional.of(new Reducer.Sum()), true)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("messengers")
+    void resumeComputesSameResult(Optional<Reducer> reducer, boolean trackSender) {
+        var uninterrupted = run(
+            PregelConfigImpl.builder().maxIterations(10).concurrency(4).build(),
+            new RankComputation(reducer),
+            false
+        );
+
+        // checkpoints are written after supersteps 1 and 3, the run stops after superstep 5
+        var interrupted = run(config(6).trackSender(trackSender).build(), new RankComputation(reducer), false);
+        assertThat(interrupted.ranIterations()).isEqualTo(6);
+        assertThat(checkpointDirectory.toFile().list()).containsExactly("superstep-3");
+
+        var resumed = run(config(10).trackSender(trackSender).build(), new RankComputation(reducer), true);
+
+        assertThat(resumed.ranIterations()).isEqualTo(uninterrupted.ranIterations());
+        for (long nodeId = 0; nodeId < GRAPH.nodeCount(); nodeId++) {
+            assertThat(resumed.nodeValues().doubleValue(RankComputation.RANK, nodeId))
+                .isCloseTo(uninterrupted.nodeValues().doubleValue(RankComputation.RANK, nodeId), within(1e-9));
+            assertThat(resumed.nodeValues().longValue(RankComputation.SUPERSTEPS, nodeId)).isEqualTo(10L);
+        }
+    }
+
+    @Test
+    void resumeSparseSupersteps() {
+        var computation = new PregelTest.TestBfsComputation(Optional.of(new Reducer.Min()));
+        var uninterrupted = run(
+            PregelConfigImpl.builder().maxIterations(30).sparseSupersteps(true).concurrency(4).build(),
+            computation,
+            false
+        );
+
+        run(config(3).sparseSupersteps(true).build(), computation, false);
+        var resumed = run(config(30).sparseSupersteps(true).build(), computation, true);
+
+        assertThat(resumed.didConverge()).isTrue();
+        assertThat(resumed.nodeValues().doubleProperties(KEY).toArray())
+            .containsExactly(uninterrupted.nodeValues().doubleProperties(KEY).toArray());
+    }
+
+    @Test
+    void startFromFirstSuperstepWithoutCheckpoint() {
+        var computation = new RankComputation(Optional.empty());
+
+        var result = run(config(3).build(), computation, true);
+
+        assertThat(result.ranIterations()).isEqualTo(3);
+        assertThat(result.nodeValues().longValue(RankComputation.SUPERSTEPS, 0)).isEqualTo(3L);
+    }
+
+    @Test
+    void ignoreIncompleteCheckpoint() throws IOException {
+        run(config(4).build(), new RankComputation(Optional.empty()), false);
+        Files.createDirectory(checkpointDirectory.resolve("superstep-3.tmp"));
+
+        var resumed = run(config(4).build(), new RankComputation(Optional.empty()), true);
+
+        // resumed after superstep 1
+        assertThat(resumed.nodeValues().longValue(RankComputation.SUPERSTEPS, 0)).isEqualTo(4L);
+        assertThat(new File(checkpointDirectory.toFile(), "superstep-1")).isDirectory();
+    }
+
+    @Test
+    void failOnCheckpointOfDifferentComputation() {
+        run(config(4).build(), new RankComputation(Optional.empty()), false);
+
+        var otherComputation = new PregelTest.TestBfsComputation(Optional.empty());
+        assertThatThrownBy(() -> run(config(4).build(), otherComputation, true))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("does not match the computation");
+    }
+
+    @Test
+    void failOnAsynchronousComputation() {
+        var config = config(4).isAsynchronous(true).build();
+
+        assertThatThrownBy(() -> run(config, new RankComputation(Optional.empty()), false))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not support checkpoints");
+    }
+
+    @Test
+    void resumeRequiresCheckpointDirectory() {
+        var config = PregelConfigImpl.builder().maxIterations(4).build();
+        var pregel = Pregel.create(
+            GRAPH,
+            config,
+            new RankComputation(Optional.empty()),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER,
+            TerminationFlag.RUNNING_TRUE
+        );
+
+        assertThatThrownBy(pregel::resume)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Resuming a Pregel computation requires a checkpoint directory.");
+    }
+
+    private CheckpointConfigImpl.Builder config(int maxIterations) {
+        return CheckpointConfigImpl.builder()
+            .checkpointPath(checkpointDirectory.toString())
+            .maxIterations(maxIterations)
+            .concurrency(4);
+    }
+
+    private static PregelResult run(
+        PregelConfig config,
+        PregelComputation<PregelConfig> computation,
+        boolean resume
+    ) {
+        var pregel = Pregel.create(
+            GRAPH,
+            config,
+            computation,
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER,
+            TerminationFlag.RUNNING_TRUE
+        );
+        return resume ? pregel.resume() : pregel.run();
+    }
+
+    @Configuration("CheckpointConfigImpl")
+    interface CheckpointConfig extends PregelConfig {
+
+        String checkpointPath();
+
+        @Configuration.Key("trackSender")
+        @Override
+        default boolean trackSender() {
+            return false;
+        }
+
+        @Override
+        @Configuration.Ignore
+        default Optional<Path> checkpointDirectory() {
+            return Optional.of(Path.of(checkpointPath()));
+        }
+
+        @Override
+        @Configuration.Ignore
+        default int checkpointInterval() {
+            return 2;
+        }
+    }
+
+    static class RankComputation implements PregelComputation<PregelConfig> {
+
+        static final String RANK = "rank";
+        static final String SUPERSTEPS = "supersteps";
+
+        private final Optional<Reducer> reducer;
+
+        RankComputation(Optional<Reducer> reducer) {
+            this.reducer = reducer;
+        }
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder()
+                .add(RANK, ValueType.DOUBLE)
+                .add(SUPERSTEPS, ValueType.LONG)
+                .build();
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return reducer;
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            var rank = 1.0;
+            if (!context.isInitialSuperstep()) {
+                var sum = 0.0;
+                for (var message : messages) {
+                    sum += message;
+                }
+                rank = 0.15 + 0.85 * sum;
+            }
+            context.setNodeValue(RANK, rank);
+            var supersteps = context.isInitialSuperstep() ? 0 : context.longNodeValue(SUPERSTEPS);
+            context.setNodeValue(SUPERSTEPS, supersteps + 1);
+
+            if (context.degree() > 0) {
+                context.sendToNeighbors(rank / context.degree());
+            }
+        }
+
+        @Override
+        public MemoryEstimateDefinition estimateDefinition(boolean isAsynchronous) {
+            return null;
+        }
+    }
+}
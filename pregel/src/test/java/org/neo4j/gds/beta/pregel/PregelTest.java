@@ -41,10 +41,12 @@ import org.neo4j.gds.beta.pregel.context.ComputeContext.BidirectionalComputeCont
 import org.neo4j.gds.beta.pregel.context.InitContext;
 import org.neo4j.gds.beta.pregel.context.MasterComputeContext;
 import org.neo4j.gds.collections.ha.HugeDoubleArray;
+import org.neo4j.gds.collections.ha.HugeLongArray;
 import org.neo4j.gds.compat.TestLog;
 import org.neo4j.gds.core.ImmutableGraphDimensions;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.gds.core.utils.progress.EmptyTaskRegistryFactory;
 import org.neo4j.gds.core.utils.progress.TaskRegistry;
 import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
@@ -55,11 +57,13 @@ import org.neo4j.gds.extension.Inject;
 import org.neo4j.gds.extension.TestGraph;
 import org.neo4j.gds.logging.GdsTestLog;
 import org.neo4j.gds.logging.Log;
+import org.neo4j.gds.mem.Estimate;
 import org.neo4j.gds.mem.MemoryEstimateDefinition;
 import org.neo4j.gds.mem.MemoryRange;
 import org.neo4j.gds.termination.TerminationFlag;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -276,6 +280,84 @@ class PregelTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("partitioningsAndReducers")
+    void sparseSuperstepsComputeSameResult(Partitioning partitioning, Optional<Reducer> reducer) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .seed(42L)
+            .build()
+            .generate();
+
+        var configBuilder = PregelConfigImpl.builder()
+            .maxIterations(50)
+            .partitioning(partitioning)
+            .concurrency(4);
+
+        var dense = run(graph, configBuilder.sparseSupersteps(false).build(), new TestBfsComputation(reducer));
+        var sparse = run(graph, configBuilder.sparseSupersteps(true).build(), new TestBfsComputation(reducer));
+
+        assertThat(sparse.toArray()).containsExactly(dense.toArray());
+        // the frontier starts with a single node, so the computation must have reached more than that
+        assertThat(Arrays.stream(dense.toArray()).filter(distance -> distance < Double.MAX_VALUE).count())
+            .isGreaterThan(100);
+    }
+
+    @Test
+    void sparseSuperstepsMemoryEstimation() {
+        var nodeCount = 10_000;
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).relCountUpperBound(100_000).build();
+        var concurrency = new Concurrency(4);
+        var schema = Map.of("key", ValueType.DOUBLE);
+
+        var dense = Pregel.memoryEstimation(schema, false, false, false, false)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+        var sparse = Pregel.memoryEstimation(schema, false, false, false, true)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+
+        var frontier = Estimate.sizeOfInstance(Frontier.class)
+            + 2 * HugeAtomicBitSet.memoryEstimation(nodeCount)
+            + HugeLongArray.memoryEstimation(nodeCount / 20);
+        assertThat(sparse.min - dense.min).isEqualTo(frontier);
+        assertThat(sparse.max - dense.max).isEqualTo(frontier);
+    }
+
+    @Test
+    void combiningBuffersMemoryEstimation() {
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(10_000).relCountUpperBound(100_000).build();
+        var concurrency = new Concurrency(4);
+        var schema = Map.of("key", ValueType.DOUBLE);
+
+        var reducing = Pregel.memoryEstimation(schema, false, false, false, false, false)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+        var combining = Pregel.memoryEstimation(schema, false, false, false, false, true)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+        // the sender is tracked without combining, even if the reducer is combinable
+        var withSender = Pregel.memoryEstimation(schema, false, false, true, false, false)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+        var combinableWithSender = Pregel.memoryEstimation(schema, false, false, true, false, true)
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+
+        assertThat(combining.max - reducing.max)
+            .isEqualTo(concurrency.value() * ReducingMessenger.Combining.bufferMemoryEstimation());
+        assertThat(combinableWithSender).isEqualTo(withSender);
+    }
+
+    static Stream<Arguments> partitioningsAndReducers() {
+        return crossArguments(
+            PregelTest::partitionings,
+            () -> Stream.of(Arguments.of(Optional.empty()), Arguments.of(Optional.of(new Reducer.Min())))
+        );
+    }
+
     @NotNull
     private HugeDoubleArray run(Graph graph, PregelConfig config, PregelComputation<PregelConfig> computation) {
         var pregelJob = Pregel.create(
@@ -727,6 +809,54 @@ class PregelTest {
         }
     }
 
+    static class TestBfsComputation implements PregelComputation<PregelConfig> {
+
+        private final Optional<Reducer> reducer;
+
+        TestBfsComputation(Optional<Reducer> reducer) {
+            this.reducer = reducer;
+        }
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder().add(KEY, ValueType.DOUBLE).build();
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return reducer;
+        }
+
+        @Override
+        public MemoryEstimateDefinition estimateDefinition(boolean isAsynchronous) {
+            return null;
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.isInitialSuperstep()) {
+                if (context.nodeId() == 0) {
+                    context.setNodeValue(KEY, 0.0);
+                    context.sendToNeighbors(1.0);
+                } else {
+                    context.setNodeValue(KEY, Double.MAX_VALUE);
+                }
+            } else {
+                var distance = context.doubleNodeValue(KEY);
+                for (var message : messages) {
+                    if (message < distance) {
+                        distance = message;
+                    }
+                }
+                if (distance < context.doubleNodeValue(KEY)) {
+                    context.setNodeValue(KEY, distance);
+                    context.sendToNeighbors(distance + 1);
+                }
+            }
+            context.voteToHalt();
+        }
+    }
+
     public static class TestReduciblePregelComputation extends TestPregelComputation {
 
         @Override
@@ -914,6 +1044,227 @@ class PregelTest {
             .hasMessage("The Pregel algorithm Bidirectional requires inverse indexes for all configured relationships ['*']");
     }
 
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void sendsTypedPairMessages(Partitioning partitioning) {
+        var config = PregelConfigImpl.builder()
+            .maxIterations(2)
+            .partitioning(partitioning)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TypedMessagesComputation(MessageSchema.longDoublePair(), Optional.empty()),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        // bob and eve send (nodeId, 1.5 * nodeId) to alice
+        assertArrayEquals(new double[]{3, 4.5}, nodeValues.doubleArrayValue(TypedMessagesComputation.KEY, 0));
+    }
+
+    static Stream<Arguments> selectiveReducers() {
+        return Stream.of(
+            // bob sends the minimum (1, 1.5), eve sends the maximum (2, 3.0)
+            Arguments.of(new Reducer.Min(), new double[]{1, 1.5}),
+            Arguments.of(new Reducer.Max(), new double[]{2, 3.0})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("selectiveReducers")
+    void reducesTypedPairMessages(Reducer reducer, double[] expected) {
+        var config = PregelConfigImpl.builder()
+            .maxIterations(2)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TypedMessagesComputation(MessageSchema.longDoublePair(), Optional.of(reducer)),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertArrayEquals(expected, nodeValues.doubleArrayValue(TypedMessagesComputation.KEY, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendsTypedVectorMessages(boolean withReducer) {
+        var config = PregelConfigImpl.builder()
+            .maxIterations(2)
+            .build();
+
+        var reducer = withReducer ? Optional.<Reducer>of(new Reducer.Sum()) : Optional.<Reducer>empty();
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TypedMessagesComputation(MessageSchema.doubleVector(3), reducer),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        // bob and eve send (nodeId, 2 * nodeId, 3 * nodeId) to alice
+        assertArrayEquals(new double[]{3, 6, 9}, nodeValues.doubleArrayValue(TypedMessagesComputation.KEY, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendsTypedFloatVectorMessages(boolean withReducer) {
+        var config = PregelConfigImpl.builder()
+            .maxIterations(2)
+            .build();
+
+        var reducer = withReducer ? Optional.<Reducer>of(new Reducer.Sum()) : Optional.<Reducer>empty();
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            // an odd width leaves the upper half of the last slot unused
+            new TypedMessagesComputation(MessageSchema.floatVector(3), reducer),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertArrayEquals(new double[]{3, 6, 9}, nodeValues.doubleArrayValue(TypedMessagesComputation.KEY, 0));
+    }
+
+    @Test
+    void throwIfMessageSchemaInAsyncMode() {
+        ThrowableAssert.ThrowingCallable pregelCreate = () -> Pregel.create(
+            graph,
+            PregelConfigImpl.builder().maxIterations(2).isAsynchronous(true).build(),
+            new TypedMessagesComputation(MessageSchema.doubleVector(2), Optional.empty()),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        assertThatThrownBy(pregelCreate)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not supported in asynchronous mode");
+    }
+
+    @Test
+    void throwIfReducerCannotBeAppliedToMessageSchema() {
+        ThrowableAssert.ThrowingCallable pregelCreate = () -> Pregel.create(
+            graph,
+            PregelConfigImpl.builder().maxIterations(2).build(),
+            new TypedMessagesComputation(MessageSchema.longDoublePair(), Optional.of(new Reducer.Sum())),
+            DefaultPool.INSTANCE,
+            ProgressTracker.NULL_TRACKER
+        );
+
+        assertThatThrownBy(pregelCreate)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cannot be applied to messages of type LONG_DOUBLE_PAIR");
+    }
+
+    @Test
+    void typedMemoryEstimation() {
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(10_000).relCountUpperBound(100_000).build();
+        var concurrency = new Concurrency(4);
+        var schema = Map.of("key", ValueType.DOUBLE);
+
+        var scalar = Pregel.memoryEstimation(schema, false, false).estimate(dimensions, concurrency).memoryUsage();
+        var vector = Pregel.memoryEstimation(schema, false, MessageSchema.doubleVector(4))
+            .estimate(dimensions, concurrency)
+            .memoryUsage();
+
+        assertThat(vector.min).isGreaterThan(scalar.min);
+        assertThat(vector.max).isGreaterThan(scalar.max);
+    }
+
+    static class TypedMessagesComputation implements PregelComputation<PregelConfig> {
+
+        static final String KEY = "value";
+        // the long value of a pair carries a NaN bit pattern, which must not be altered in transit
+        static final long NAN_BITS = 0x7FF0000000000000L;
+
+        private final MessageSchema messageSchema;
+        private final Optional<Reducer> reducer;
+
+        TypedMessagesComputation(MessageSchema messageSchema, Optional<Reducer> reducer) {
+            this.messageSchema = messageSchema;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder().add(KEY, ValueType.DOUBLE_ARRAY).build();
+        }
+
+        @Override
+        public Optional<MessageSchema> messageSchema(PregelConfig config) {
+            return Optional.of(messageSchema);
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return reducer;
+        }
+
+        @Override
+        public MemoryEstimateDefinition estimateDefinition(boolean isAsynchronous) {
+            return null;
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            var nodeId = context.nodeId();
+            var width = messageSchema.width();
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(KEY, new double[width]);
+                if (nodeId == 0) {
+                    return;
+                }
+                switch (messageSchema.type()) {
+                    case LONG_DOUBLE_PAIR:
+                        context.sendTo(0L, NAN_BITS + nodeId, 1.5 * nodeId);
+                        break;
+                    case DOUBLE_VECTOR:
+                        var doubles = new double[width];
+                        for (int i = 0; i < width; i++) {
+                            doubles[i] = (i + 1) * nodeId;
+                        }
+                        context.sendTo(0L, doubles);
+                        break;
+                    case FLOAT_VECTOR:
+                        var floats = new float[width];
+                        for (int i = 0; i < width; i++) {
+                            floats[i] = (i + 1) * nodeId;
+                        }
+                        context.sendTo(0L, floats);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected value: " + messageSchema.type());
+                }
+            } else {
+                var sum = new double[width];
+                while (messages.nextMessage()) {
+                    if (messageSchema.type() == MessageSchema.Type.LONG_DOUBLE_PAIR) {
+                        sum[0] += messages.longValue(0) - NAN_BITS;
+                        sum[1] += messages.doubleValue(1);
+                    } else if (messageSchema.type() == MessageSchema.Type.FLOAT_VECTOR) {
+                        for (int i = 0; i < width; i++) {
+                            sum[i] += messages.floatValue(i);
+                        }
+                    } else {
+                        for (int i = 0; i < width; i++) {
+                            sum[i] += messages.doubleValue(i);
+                        }
+                    }
+                }
+                context.setNodeValue(KEY, sum);
+            }
+            context.voteToHalt();
+        }
+    }
+
     static class Bidirectional implements BidirectionalPregelComputation<PregelConfig> {
         @Override
         public PregelSchema schema(PregelConfig config) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveSyncLongQueuesTest {
+
+    @Test
+    void iterateTypedMessages() {
+        var schema = MessageSchema.doubleVector(3);
+        var queue = PrimitiveSyncLongQueues.of(1, 4);
+
+        // exceeds the initial capacity, so that the queue has to grow
+        var messageCount = 100;
+        for (int i = 0; i < messageCount; i++) {
+            queue.push(0, new long[]{
+                Double.doubleToRawLongBits(i),
+                Double.doubleToRawLongBits(2 * i),
+                Double.doubleToRawLongBits(3 * i)
+            });
+        }
+
+        queue.swapQueues();
+
+        var iterator = new PrimitiveSyncLongQueues.Iterator(schema);
+        queue.initIterator(iterator, 0);
+
+        var sums = new double[schema.width()];
+        var count = 0;
+        while (iterator.nextMessage()) {
+            for (int i = 0; i < schema.width(); i++) {
+                sums[i] += Double.longBitsToDouble(iterator.slot(i));
+            }
+            count++;
+        }
+
+        var expectedSum = IntStream.range(0, messageCount).sum();
+        assertThat(count).isEqualTo(messageCount);
+        assertThat(sums).containsExactly(expectedSum, 2 * expectedSum, 3 * expectedSum);
+    }
+
+    @Test
+    void keepLongSlotsUnchanged() {
+        var queue = PrimitiveSyncLongQueues.of(1, 2);
+
+        // would be a NaN if read as a double
+        var slots = new long[]{-1L, 0x7FF0000000000001L};
+        queue.push(0, slots);
+        queue.swapQueues();
+
+        var iterator = new PrimitiveSyncLongQueues.Iterator(MessageSchema.longDoublePair());
+        queue.initIterator(iterator, 0);
+
+        assertThat(iterator.nextMessage()).isTrue();
+        assertThat(iterator.slot(0)).isEqualTo(-1L);
+        assertThat(iterator.slot(1)).isEqualTo(0x7FF0000000000001L);
+        assertThat(iterator.nextMessage()).isFalse();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.gds.api.Graph;
+import org.neo4j.gds.beta.generator.RandomGraphGenerator;
+import org.neo4j.gds.beta.generator.RelationshipDistribution;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.concurrency.ParallelUtil;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTrackerAdapter;
+
+import java.util.ArrayList;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReducingMessengerTest {
+
+    private static final int THREADS = 4;
+    private static final int HUB = 0;
+
+    // more nodes than slots in the combining buffer, so that slots are evicted
+    private static final Graph GRAPH = RandomGraphGenerator.builder()
+        .nodeCount(4 * ReducingMessenger.Combining.BUFFER_SIZE)
+        .averageDegree(1)
+        .relationshipDistribution(RelationshipDistribution.UNIFORM)
+        .seed(42L)
+        .build()
+        .generate();
+
+    static Stream<Arguments> reducers() {
+        long nodeCount = GRAPH.nodeCount();
+        return Stream.of(
+            Arguments.of(new Reducer.Sum(), (LongToDoubleFunction) nodeId -> nodeId == HUB
+                ? THREADS * (nodeCount + 1.0)
+                : THREADS * (nodeId + 1.0)),
+            Arguments.of(new Reducer.Count(), (LongToDoubleFunction) nodeId -> nodeId == HUB
+                ? THREADS * (nodeCount + 1.0)
+                : THREADS),
+            Arguments.of(new Reducer.Min(), (LongToDoubleFunction) nodeId -> nodeId + 1.0),
+            Arguments.of(new Reducer.Max(), (LongToDoubleFunction) nodeId -> nodeId + 1.0)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("reducers")
+    void combineMessagesLocally(Reducer reducer, LongToDoubleFunction expected) {
+        var messenger = sendToHubAndSelf(reducer);
+        assertThat(messenger).isInstanceOf(ReducingMessenger.Combining.class);
+
+        var metrics = ((ReducingMessenger.Combining) messenger).contentionMetrics();
+        assertThat(metrics.sentMessages()).isEqualTo(2 * THREADS * GRAPH.nodeCount());
+        // messages to the hub are combined unless its slot is evicted by a colliding node
+        assertThat(metrics.combinedMessages()).isGreaterThan(THREADS * GRAPH.nodeCount() / 2);
+        assertThat(metrics.sharedUpdates()).isLessThanOrEqualTo(metrics.sentMessages() - metrics.combinedMessages());
+
+        assertReceived(messenger, expected);
+    }
+
+    @Test
+    void reduceDirectlyIfReducerIsNotCombinable() {
+        var reducer = new Reducer.Sum() {
+            @Override
+            public boolean isCombinable() {
+                return false;
+            }
+        };
+
+        var messenger = sendToHubAndSelf(reducer);
+
+        assertThat(messenger).isNotInstanceOf(ReducingMessenger.Combining.class);
+        assertReceived(messenger, nodeId -> nodeId == HUB
+            ? THREADS * (GRAPH.nodeCount() + 1.0)
+            : THREADS * (nodeId + 1.0));
+    }
+
+    @Test
+    void logMetricsOfFinalSuperstepOnRelease() {
+        var messages = new ArrayList<String>();
+        var progressTracker = new ProgressTrackerAdapter(ProgressTracker.NULL_TRACKER) {
+            @Override
+            public void logDebug(Supplier<String> messageSupplier) {
+                messages.add(messageSupplier.get());
+            }
+        };
+
+        var messenger = sendToHubAndSelf(new Reducer.Sum(), progressTracker);
+        assertThat(messages).isEmpty();
+
+        messenger.release();
+        assertThat(messages)
+            .singleElement()
+            .asString()
+            .startsWith("Superstep 0: " + 2 * THREADS * GRAPH.nodeCount() + " messages sent");
+    }
+
+    private static ReducingMessenger sendToHubAndSelf(Reducer reducer) {
+        return sendToHubAndSelf(reducer, ProgressTracker.NULL_TRACKER);
+    }
+
+    private static ReducingMessenger sendToHubAndSelf(Reducer reducer, ProgressTracker progressTracker) {
+        var config = PregelConfigImpl.builder().maxIterations(1).concurrency(THREADS).build();
+        var messenger = ReducingMessenger.create(GRAPH, config, reducer, progressTracker);
+        messenger.initIteration(0);
+
+        var tasks = new ArrayList<Runnable>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (long nodeId = 0; nodeId < GRAPH.nodeCount(); nodeId++) {
+                    messenger.sendTo(nodeId, HUB, 1.0);
+                    // each node sends a message with a distinct value to itself
+                    messenger.sendTo(nodeId, nodeId, nodeId + 1.0);
+                }
+                messenger.flush();
+            });
+        }
+        ParallelUtil.run(tasks, DefaultPool.INSTANCE);
+
+        return messenger;
+    }
+
+    private static void assertReceived(ReducingMessenger messenger, LongToDoubleFunction expected) {
+        messenger.initIteration(1);
+        var iterator = messenger.messageIterator();
+        for (long nodeId = 0; nodeId < GRAPH.nodeCount(); nodeId++) {
+            messenger.initMessageIterator(iterator, nodeId, false);
+            assertThat(iterator.hasNext()).isTrue();
+            assertThat(iterator.nextDouble()).as("node %d", nodeId).isEqualTo(expected.applyAsDouble(nodeId));
+        }
+        messenger.release();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.catalog;
+
+import org.neo4j.gds.applications.graphstorecatalog.GraphSnapshotResult;
+import org.neo4j.gds.procedures.GraphDataScienceProcedures;
+import org.neo4j.procedure.Context;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphSnapshotProc {
+    @Context
+    public GraphDataScienceProcedures facade;
+
+    @Procedure(name = "gds.graph.snapshot.save", mode = READ)
+    @Description("Saves a named graph to a binary snapshot in the export location.")
+    public Stream<GraphSnapshotResult> save(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration") Map<String, Object> configuration
+    ) {
+        return facade.graphCatalog().saveSnapshot(graphName, configuration);
+    }
+
+    @Procedure(name = "gds.graph.snapshot.restore", mode = READ)
+    @Description("Restores a named graph from a binary snapshot in the export location.")
+    public Stream<GraphSnapshotResult> restore(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration") Map<String, Object> configuration
+    ) {
+        return facade.graphCatalog().restoreSnapshot(graphName, configuration);
+    }
+}
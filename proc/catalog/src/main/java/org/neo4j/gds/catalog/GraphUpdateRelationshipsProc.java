@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.catalog;
+
+import org.neo4j.gds.applications.graphstorecatalog.GraphUpdateRelationshipsResult;
+import org.neo4j.gds.procedures.GraphDataScienceProcedures;
+import org.neo4j.procedure.Context;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphUpdateRelationshipsProc {
+    @Context
+    public GraphDataScienceProcedures facade;
+
+    @Procedure(name = "gds.graph.relationships.insert", mode = READ)
+    @Description("Inserts relationships into the named graph without projecting it again.")
+    public Stream<GraphUpdateRelationshipsResult> insert(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "relationshipType") String relationshipType,
+        @Name(value = "relationships") List<Map<String, Object>> relationships,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return facade.graphCatalog().insertRelationships(graphName, relationshipType, relationships, configuration);
+    }
+
+    @Procedure(name = "gds.graph.relationships.delete", mode = READ)
+    @Description("Deletes relationships from the named graph without projecting it again.")
+    public Stream<GraphUpdateRelationshipsResult> delete(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "relationshipType") String relationshipType,
+        @Name(value = "relationships") List<Map<String, Object>> relationships,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return facade.graphCatalog().deleteRelationships(graphName, relationshipType, relationships, configuration);
+    }
+}
@@ -107,8 +107,8 @@ class GraphProjectProcEstimateTest extends BaseProcTest {
 
         runQueryWithRowConsumer(query, Map.of("relProjection", relProjection),
             row -> {
-                softly.assertThat(row.getNumber("bytesMin").longValue()).isEqualTo(68686120);
-                softly.assertThat(row.getNumber("bytesMax").longValue()).isEqualTo(68686120);
+                softly.assertThat(row.getNumber("bytesMin").longValue()).isEqualTo(68686624);
+                softly.assertThat(row.getNumber("bytesMax").longValue()).isEqualTo(68686624);
                 softly.assertThat(row.getNumber("heapPercentageMin").doubleValue()).isEqualTo(expectedPercentage);
                 softly.assertThat(row.getNumber("heapPercentageMax").doubleValue()).isEqualTo(expectedPercentage);
             }
@@ -206,8 +206,8 @@ class GraphProjectProcEstimateTest extends BaseProcTest {
         runQueryWithRowConsumer(
             query,
             row -> {
-                softly.assertThat(row.getNumber("bytesMin").longValue()).isEqualTo(344128414632L);
-                softly.assertThat(row.getNumber("bytesMax").longValue()).isEqualTo(384930603944L);
+                softly.assertThat(row.getNumber("bytesMin").longValue()).isEqualTo(344128414944L);
+                softly.assertThat(row.getNumber("bytesMax").longValue()).isEqualTo(384930604256L);
                 softly.assertThat(row.getNumber("nodeCount").longValue()).isEqualTo(5_000_000_000L);
                 softly.assertThat(row.getNumber("relationshipCount").longValue()).isEqualTo(20_000_000_000L);
             }
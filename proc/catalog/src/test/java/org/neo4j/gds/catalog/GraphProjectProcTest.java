@@ -596,6 +596,38 @@ class GraphProjectProcTest extends BaseProcTest {
         assertGraphEquals(fromGdl(formatWithLocale("()-[:B {w: %d}]->()", expectedValue)), graph);
     }
 
+    @ParameterizedTest(name = "aggregation={0}")
+    @CsvSource({"SINGLE, 1, 5", "SUM, 10, 15", "MAX, 4, 10", "COUNT, 4, 2"})
+    void relationshipProjectionHashAggregation(Aggregation aggregation, int expectedToB, int expectedToC) {
+        runQuery(
+            "CREATE (a:Hub)-[:HUB {weight: 1}]->(b:Hub)," +
+            " (a)-[:HUB {weight: 2}]->(b)," +
+            " (a)-[:HUB {weight: 3}]->(b)," +
+            " (a)-[:HUB {weight: 4}]->(b)," +
+            " (a)-[:HUB {weight: 5}]->(c:Hub)," +
+            " (a)-[:HUB {weight: 10}]->(c)"
+        );
+
+        Map<String, Object> relationshipProjection = Map.of("HUB", Map.of(
+            "properties", Map.of("weight", Map.of("aggregation", aggregation.name()))
+        ));
+
+        runQuery(
+            "CALL gds.graph.project('g', 'Hub', $relationshipProjection, {hashAggregationThreshold: 1})",
+            Map.of("relationshipProjection", relationshipProjection)
+        );
+
+        Graph graph = GraphStoreCatalog.get("", DatabaseId.of(db.databaseName()), "g").graphStore().getUnion();
+        assertGraphEquals(
+            fromGdl(formatWithLocale(
+                "(a:Hub)-[:HUB {w: %d}]->(b:Hub), (a)-[:HUB {w: %d}]->(c:Hub)",
+                expectedToB,
+                expectedToC
+            )),
+            graph
+        );
+    }
+
     @ParameterizedTest(name = "aggregation={0}")
     @EnumSource(Aggregation.class)
     void relationshipProjectionPropertyAggregationsNativeVsCypher(Aggregation aggregationParam) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.BaseProcTest;
+import org.neo4j.gds.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+class GraphUpdateRelationshipsProcTest extends BaseProcTest {
+    private static final String DB_CYPHER =
+        "CREATE (a:A), (b:A), (c:A), (a)-[:T {p: 1.0}]->(b), (b)-[:T {p: 2.0}]->(c)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphUpdateRelationshipsProc.class,
+            GraphProjectProc.class,
+            GraphStreamRelationshipPropertiesProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.project('g', 'A', {T: {properties: 'p'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldInsertAndDeleteRelationships() {
+        var insert = "MATCH (a:A), (c:A) WHERE id(a) = 0 AND id(c) = 2 " +
+            "CALL gds.graph.relationships.insert('g', 'T', [{source: id(c), target: id(a), properties: {p: 3.0}}]) " +
+            "YIELD relationshipCount, relationshipsInserted " +
+            "RETURN relationshipCount, relationshipsInserted";
+        assertCypherResult(insert, List.of(Map.of(
+            "relationshipCount", 3L,
+            "relationshipsInserted", 1L
+        )));
+
+        var delete = "MATCH (a:A), (b:A) WHERE id(a) = 0 AND id(b) = 1 " +
+            "CALL gds.graph.relationships.delete('g', 'T', [{source: id(a), target: id(b)}]) " +
+            "YIELD relationshipCount, relationshipsDeleted " +
+            "RETURN relationshipCount, relationshipsDeleted";
+        assertCypherResult(delete, List.of(Map.of(
+            "relationshipCount", 2L,
+            "relationshipsDeleted", 1L
+        )));
+
+        var stream = "CALL gds.graph.relationshipProperty.stream('g', 'p') " +
+            "YIELD sourceNodeId, targetNodeId, propertyValue " +
+            "RETURN sourceNodeId, targetNodeId, propertyValue ORDER BY sourceNodeId";
+        assertCypherResult(stream, List.of(
+            Map.of("sourceNodeId", 1L, "targetNodeId", 2L, "propertyValue", 2.0),
+            Map.of("sourceNodeId", 2L, "targetNodeId", 0L, "propertyValue", 3.0)
+        ));
+    }
+}
@@ -61,6 +61,13 @@ public final class FeatureToggleProc {
         facade.operations().enableArrowDatabaseImport(enableArrowDatabaseImport);
     }
 
+    @Internal
+    @Procedure("gds.features.nodeReorderingStrategy")
+    @Description("Sets the strategy used to reorder node ids after a native projection.")
+    public void nodeReorderingStrategy(@Name(value = "nodeReorderingStrategy") String nodeReorderingStrategy) {
+        facade.operations().setNodeReorderingStrategy(nodeReorderingStrategy);
+    }
+
     @Internal
     @Procedure("gds.features.pagesPerThread")
     @Description("Toggle how many pages per thread are being used by the loader.")
@@ -89,6 +96,13 @@ public final class FeatureToggleProc {
         return facade.operations().resetEnableArrowDatabaseImport();
     }
 
+    @Internal
+    @Procedure("gds.features.nodeReorderingStrategy.reset")
+    @Description("Sets the node reordering strategy to the default. That value is returned.")
+    public Stream<FeatureStringValue> resetNodeReorderingStrategy() {
+        return facade.operations().resetNodeReorderingStrategy();
+    }
+
     @Internal
     @Procedure("gds.features.pagesPerThread.reset")
     @Description("Set the value of pages per thread to the default. That value is returned.")
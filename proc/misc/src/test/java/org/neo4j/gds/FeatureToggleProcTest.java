@@ -40,6 +40,8 @@ import static org.neo4j.gds.utils.GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY;
 import static org.neo4j.gds.utils.GdsFeatureToggles.ADJACENCY_PACKING_STRATEGY_DEFAULT_SETTING;
 import static org.neo4j.gds.utils.GdsFeatureToggles.ENABLE_ADJACENCY_COMPRESSION_MEMORY_TRACKING;
 import static org.neo4j.gds.utils.GdsFeatureToggles.ENABLE_ARROW_DATABASE_IMPORT;
+import static org.neo4j.gds.utils.GdsFeatureToggles.NODE_REORDERING_STRATEGY;
+import static org.neo4j.gds.utils.GdsFeatureToggles.NODE_REORDERING_STRATEGY_DEFAULT_SETTING;
 import static org.neo4j.gds.utils.GdsFeatureToggles.USE_MIXED_ADJACENCY_LIST;
 import static org.neo4j.gds.utils.GdsFeatureToggles.USE_PACKED_ADJACENCY_LIST;
 import static org.neo4j.gds.utils.GdsFeatureToggles.USE_REORDERED_ADJACENCY_LIST;
@@ -171,6 +173,33 @@ class FeatureToggleProcTest extends BaseProcTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(value = GdsFeatureToggles.NodeReorderingStrategy.class)
+    void shouldToggleAndResetNodeReorderingStrategy(GdsFeatureToggles.NodeReorderingStrategy strategy) {
+        try {
+            runQuery("CALL gds.features.nodeReorderingStrategy($value)", Map.of("value", strategy.name()));
+            assertThat(NODE_REORDERING_STRATEGY.get()).isEqualTo(strategy);
+            assertCypherResult(
+                "CALL gds.features.nodeReorderingStrategy.reset()",
+                List.of(Map.of("value", NODE_REORDERING_STRATEGY_DEFAULT_SETTING.name()))
+            );
+            assertThat(NODE_REORDERING_STRATEGY.get()).isEqualTo(NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+        } finally {
+            NODE_REORDERING_STRATEGY.set(NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+        }
+    }
+
+    @Test
+    void toggleNodeReorderingStrategyShouldFailIfStrategyIsUnsupported() {
+        assertThatThrownBy(() -> runQuery("CALL gds.features.nodeReorderingStrategy($value)", Map.of("value", "rcm")))
+            .rootCause()
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid node reordering strategy")
+            .hasMessageContaining("rcm")
+            .hasMessageContaining(Arrays.toString(GdsFeatureToggles.NodeReorderingStrategy.values()));
+        assertThat(NODE_REORDERING_STRATEGY.get()).isEqualTo(NODE_REORDERING_STRATEGY_DEFAULT_SETTING);
+    }
+
     @Test
     void toggleUseReorderedAdjacencyList() {
         var useReorderedAdjacencyList = USE_REORDERED_ADJACENCY_LIST.isEnabled();
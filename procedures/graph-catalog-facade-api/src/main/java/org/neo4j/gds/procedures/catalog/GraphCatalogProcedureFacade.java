@@ -24,8 +24,11 @@ import org.neo4j.gds.applications.graphstorecatalog.DatabaseExportResult;
 import org.neo4j.gds.applications.graphstorecatalog.FileExportResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphGenerationStats;
 import org.neo4j.gds.applications.graphstorecatalog.GraphMemoryUsage;
+import org.neo4j.gds.applications.graphstorecatalog.GraphRefreshResult;
+import org.neo4j.gds.applications.graphstorecatalog.GraphSnapshotResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamNodePropertiesResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamNodePropertyResult;
+import org.neo4j.gds.applications.graphstorecatalog.GraphUpdateRelationshipsResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamRelationshipPropertiesResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamRelationshipPropertyResult;
 import org.neo4j.gds.applications.graphstorecatalog.MutateLabelResult;
@@ -223,6 +226,26 @@ public interface GraphCatalogProcedureFacade {
         Map<String, Object> configuration
     );
 
+    Stream<GraphSnapshotResult> saveSnapshot(String graphName, Map<String, Object> configuration);
+
+    Stream<GraphSnapshotResult> restoreSnapshot(String graphName, Map<String, Object> configuration);
+
+    Stream<GraphRefreshResult> refreshGraph(String graphName, Map<String, Object> configuration);
+
+    Stream<GraphUpdateRelationshipsResult> insertRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    );
+
+    Stream<GraphUpdateRelationshipsResult> deleteRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    );
+
     Stream<GraphGenerationStats> generateGraph(
         String graphName,
         long nodeCount,
@@ -29,12 +29,15 @@ import org.neo4j.gds.applications.graphstorecatalog.GraphCatalogApplications;
 import org.neo4j.gds.applications.graphstorecatalog.GraphGenerationStats;
 import org.neo4j.gds.applications.graphstorecatalog.GraphMemoryUsage;
 import org.neo4j.gds.applications.graphstorecatalog.GraphProjectMemoryUsageService;
+import org.neo4j.gds.applications.graphstorecatalog.GraphRefreshResult;
+import org.neo4j.gds.applications.graphstorecatalog.GraphSnapshotResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamNodePropertiesResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamNodePropertyOrPropertiesResultProducer;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamNodePropertyResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamRelationshipPropertiesResult;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamRelationshipPropertyOrPropertiesResultProducer;
 import org.neo4j.gds.applications.graphstorecatalog.GraphStreamRelationshipPropertyResult;
+import org.neo4j.gds.applications.graphstorecatalog.GraphUpdateRelationshipsResult;
 import org.neo4j.gds.applications.graphstorecatalog.MutateLabelResult;
 import org.neo4j.gds.applications.graphstorecatalog.NodePropertiesWriteResult;
 import org.neo4j.gds.applications.graphstorecatalog.RandomWalkSamplingResult;
@@ -664,6 +667,51 @@ public class LocalGraphCatalogProcedureFacade implements GraphCatalogProcedureFa
         return Stream.of(result);
     }
 
+    @Override
+    public Stream<GraphSnapshotResult> saveSnapshot(String graphName, Map<String, Object> configuration) {
+        var result = catalog.saveSnapshot(graphName, configuration);
+
+        return Stream.of(result);
+    }
+
+    @Override
+    public Stream<GraphSnapshotResult> restoreSnapshot(String graphName, Map<String, Object> configuration) {
+        var result = catalog.restoreSnapshot(graphName, configuration);
+
+        return Stream.of(result);
+    }
+
+    @Override
+    public Stream<GraphRefreshResult> refreshGraph(String graphName, Map<String, Object> configuration) {
+        var result = catalog.refreshGraph(graphName, configuration);
+
+        return Stream.of(result);
+    }
+
+    @Override
+    public Stream<GraphUpdateRelationshipsResult> insertRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    ) {
+        var result = catalog.insertRelationships(graphName, relationshipType, relationships, configuration);
+
+        return Stream.of(result);
+    }
+
+    @Override
+    public Stream<GraphUpdateRelationshipsResult> deleteRelationships(
+        String graphName,
+        String relationshipType,
+        List<Map<String, Object>> relationships,
+        Map<String, Object> configuration
+    ) {
+        var result = catalog.deleteRelationships(graphName, relationshipType, relationships, configuration);
+
+        return Stream.of(result);
+    }
+
     @Override
     public Stream<GraphGenerationStats> generateGraph(
         String graphName,
@@ -28,6 +28,7 @@ import java.time.ZonedDateTime;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class GraphInfoWithHistogramTest {
@@ -77,13 +78,12 @@ class GraphInfoWithHistogramTest {
 
         assertThat(graphInfoWithHistogram.creationTime).isEqualTo(creationTime);
         assertThat(graphInfoWithHistogram.configuration).containsExactlyInAnyOrderEntriesOf(
-            Map.of(
-                "jobId",
-                "some job",
-                "logProgress",
-                true,
-                "nodeProjection",
-                Map.of(
+            Map.ofEntries(
+                entry("arrayStorage", "HEAP"),
+                entry("hashAggregationThreshold", 0),
+                entry("jobId", "some job"),
+                entry("logProgress", true),
+                entry("nodeProjection", Map.of(
                     "A",
                     Map.of(
                         "label",
@@ -91,13 +91,10 @@ class GraphInfoWithHistogramTest {
                         "properties",
                         emptyMap()
                     )
-                ),
-                "nodeProperties",
-                emptyMap(),
-                "readConcurrency",
-                4,
-                "relationshipProjection",
-                Map.of(
+                )),
+                entry("nodeProperties", emptyMap()),
+                entry("readConcurrency", 4),
+                entry("relationshipProjection", Map.of(
                     "REL",
                     Map.of(
                         "type",
@@ -111,13 +108,11 @@ class GraphInfoWithHistogramTest {
                         "properties",
                         emptyMap()
                     )
-                ),
-                "relationshipProperties",
-                emptyMap(),
-                "sudo",
-                false,
-                "validateRelationships",
-                false
+                )),
+                entry("relationshipProperties", emptyMap()),
+                entry("sudo", false),
+                entry("trackChanges", false),
+                entry("validateRelationships", false)
             )
         );
         assertThat(graphInfoWithHistogram.database).isEqualTo("some database");
@@ -23,9 +23,12 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.neo4j.gds.applications.algorithms.machinery.AlgorithmProcessingTemplate;
 import org.neo4j.gds.applications.graphstorecatalog.ExportLocation;
 import org.neo4j.gds.applications.graphstorecatalog.GraphCatalogApplications;
+import org.neo4j.gds.applications.graphstorecatalog.GraphSnapshotEvictionPolicy;
 import org.neo4j.gds.applications.modelcatalog.ModelCatalogApplications;
 import org.neo4j.gds.applications.modelcatalog.ModelRepository;
 import org.neo4j.gds.applications.operations.FeatureTogglesRepository;
+import org.neo4j.gds.core.io.snapshot.GraphStoreSnapshotReader;
+import org.neo4j.gds.core.loading.CatalogEvictionPolicy;
 import org.neo4j.gds.core.loading.GraphStoreCatalog;
 import org.neo4j.gds.core.model.ModelCatalog;
 import org.neo4j.gds.core.utils.mem.GcListenerExtension;
@@ -43,6 +46,7 @@ import org.neo4j.gds.procedures.TaskRegistryFactoryService;
 import org.neo4j.gds.procedures.UserAccessor;
 import org.neo4j.gds.procedures.UserLogServices;
 import org.neo4j.gds.procedures.memory.MemoryFacade;
+import org.neo4j.gds.settings.CatalogMemorySettings;
 import org.neo4j.gds.settings.GdsSettings;
 import org.neo4j.graphdb.config.Configuration;
 import org.neo4j.kernel.api.procedure.GlobalProcedures;
@@ -146,6 +150,30 @@ public final class OpenGraphDataScienceExtensionBuilder {
         GraphStoreCatalog.registerGraphStoreAddedListener(memoryTracker);
         GraphStoreCatalog.registerGraphStoreRemovedListener(memoryTracker);
 
+        // The catalog evicts least recently used graphs once it exceeds its budget
+        var catalogMemoryBudget = neo4jConfiguration.get(GdsSettings.catalogMemoryBudget());
+        if (catalogMemoryBudget > 0) {
+            var evictionPolicy = neo4jConfiguration.get(GdsSettings.catalogEvictionPolicy());
+            log.info(
+                "Graph catalog memory budget: %d bytes, evicted graphs are %s",
+                catalogMemoryBudget,
+                evictionPolicy == CatalogMemorySettings.EvictionPolicy.SPILL ? "spilled to snapshots" : "dropped"
+            );
+            GraphStoreCatalog.setMemoryBudget(
+                catalogMemoryBudget,
+                evictionPolicy == CatalogMemorySettings.EvictionPolicy.SPILL
+                    ? new GraphSnapshotEvictionPolicy(log, exportLocation)
+                    : CatalogEvictionPolicy.DROP
+            );
+        }
+
+        // Lazily restored snapshots share one budget for their resident relationship pages
+        var snapshotMemoryBudget = neo4jConfiguration.get(GdsSettings.snapshotMemoryBudget());
+        if (snapshotMemoryBudget > 0) {
+            log.info("Snapshot memory budget: %d bytes", snapshotMemoryBudget);
+            GraphStoreSnapshotReader.setResidentMemoryBudget(snapshotMemoryBudget);
+        }
+
         // in the short term, until we eradicate old usages, we also install the shared state in its old place
         GcListenerExtension.setMemoryGauge(freeMemoryAfterLastGc);
         // State is populated from a GC listener
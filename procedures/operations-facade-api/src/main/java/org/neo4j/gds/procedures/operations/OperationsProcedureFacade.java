@@ -38,6 +38,8 @@ public interface OperationsProcedureFacade {
 
     Stream<FeatureState> resetEnableArrowDatabaseImport();
 
+    Stream<FeatureStringValue> resetNodeReorderingStrategy();
+
     Stream<FeatureLongValue> resetPagesPerThread();
 
     Stream<FeatureState> resetUseMixedAdjacencyList();
@@ -50,6 +52,8 @@ public interface OperationsProcedureFacade {
 
     void setAdjacencyPackingStrategy(String strategyIdentifier);
 
+    void setNodeReorderingStrategy(String strategyIdentifier);
+
     void setPagesPerThread(long value);
 
     void setUseMixedAdjacencyList(boolean value);
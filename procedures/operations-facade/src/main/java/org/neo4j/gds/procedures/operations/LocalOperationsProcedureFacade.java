@@ -77,6 +77,13 @@ public class LocalOperationsProcedureFacade implements OperationsProcedureFacade
         return Stream.of(new FeatureState(isEnabled));
     }
 
+    @Override
+    public Stream<FeatureStringValue> resetNodeReorderingStrategy() {
+        var canonicalStrategyIdentifier = applicationsFacade.operations().resetNodeReorderingStrategy();
+
+        return Stream.of(new FeatureStringValue(canonicalStrategyIdentifier));
+    }
+
     @Override
     public Stream<FeatureLongValue> resetPagesPerThread() {
         var pagesPerThread = applicationsFacade.operations().resetPagesPerThread();
@@ -117,6 +124,11 @@ public class LocalOperationsProcedureFacade implements OperationsProcedureFacade
         applicationsFacade.operations().setAdjacencyPackingStrategy(strategyIdentifier);
     }
 
+    @Override
+    public void setNodeReorderingStrategy(String strategyIdentifier) {
+        applicationsFacade.operations().setNodeReorderingStrategy(strategyIdentifier);
+    }
+
     @Override
     public void setPagesPerThread(long value) {
         applicationsFacade.operations().setPagesPerThread(value);
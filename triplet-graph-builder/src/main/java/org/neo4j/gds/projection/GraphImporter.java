@@ -31,6 +31,7 @@ import org.neo4j.gds.api.schema.MutableRelationshipSchema;
 import org.neo4j.gds.api.schema.RelationshipSchema;
 import org.neo4j.gds.config.GraphProjectConfig;
 import org.neo4j.gds.core.Aggregation;
+import org.neo4j.gds.core.PropertyCompression;
 import org.neo4j.gds.core.loading.Capabilities.WriteMode;
 import org.neo4j.gds.core.loading.GraphStoreBuilder;
 import org.neo4j.gds.core.loading.GraphStoreCatalog;
@@ -60,14 +61,16 @@ import java.util.stream.Collectors;
 import static java.util.stream.Collectors.toMap;
 import static org.neo4j.gds.Orientation.NATURAL;
 import static org.neo4j.gds.Orientation.UNDIRECTED;
+import static org.neo4j.gds.utils.StringFormatting.formatWithLocale;
 
-public final class GraphImporter {
+public final class GraphImporter implements TripletImporter {
 
     public static final int NO_TARGET_NODE = -1;
 
     private final GraphProjectConfig config;
     private final List<String> undirectedRelationshipTypes;
     private final List<String> inverseIndexedRelationshipTypes;
+    private final Map<String, PropertyCompression> relationshipPropertyCompression;
     private final LazyIdMapBuilder idMapBuilder;
 
     private final WriteMode writeMode;
@@ -76,6 +79,7 @@ public final class GraphImporter {
     private final ProgressTracker progressTracker;
 
     private final Map<RelationshipType, RelationshipsBuilder> relImporters;
+    private final Set<String> relationshipPropertyKeys;
     private final ImmutableMutableGraphSchema.Builder graphSchemaBuilder;
 
     public static Task graphImporterTask(int taskVolume) {
@@ -94,21 +98,46 @@ public final class GraphImporter {
         WriteMode writeMode,
         String query,
         ProgressTracker progressTracker
+    ) {
+        this(
+            config,
+            undirectedRelationshipTypes,
+            inverseIndexedRelationshipTypes,
+            Map.of(),
+            idMapBuilder,
+            writeMode,
+            query,
+            progressTracker
+        );
+    }
+
+    public GraphImporter(
+        GraphProjectConfig config,
+        List<String> undirectedRelationshipTypes,
+        List<String> inverseIndexedRelationshipTypes,
+        Map<String, PropertyCompression> relationshipPropertyCompression,
+        LazyIdMapBuilder idMapBuilder,
+        WriteMode writeMode,
+        String query,
+        ProgressTracker progressTracker
     ) {
         this.config = config;
         this.undirectedRelationshipTypes = undirectedRelationshipTypes;
         this.inverseIndexedRelationshipTypes = inverseIndexedRelationshipTypes;
+        this.relationshipPropertyCompression = relationshipPropertyCompression;
         this.idMapBuilder = idMapBuilder;
         this.writeMode = writeMode;
         this.query = query;
         this.progressTracker = progressTracker;
         this.relImporters = new ConcurrentHashMap<>();
+        this.relationshipPropertyKeys = ConcurrentHashMap.newKeySet();
         this.graphSchemaBuilder = MutableGraphSchema.builder();
 
         progressTracker.beginSubTask("Graph aggregation");
         progressTracker.beginSubTask("Update aggregation");
     }
 
+    @Override
     public void update(
         long sourceNode,
         long targetNode,
@@ -160,6 +189,7 @@ public final class GraphImporter {
         progressTracker.logProgress();
     }
 
+    @Override
     public AggregationResult result(
         DatabaseInfo databaseInfo,
         ProgressTimer timer,
@@ -189,6 +219,7 @@ public final class GraphImporter {
         progressTracker.endSubTask("Nodes");
 
         progressTracker.beginSubTask("Relationships");
+        validateRelationshipPropertyCompression();
         buildRelationshipsWithProperties(graphStoreBuilder, valueMapper);
 
         var graphStore = graphStoreBuilder.schema(this.graphSchemaBuilder.build()).build();
@@ -238,6 +269,21 @@ public final class GraphImporter {
         }
     }
 
+    private void validateRelationshipPropertyCompression() {
+        var unusedPropertyKeys = relationshipPropertyCompression.keySet().stream()
+            .filter(propertyKey -> !relationshipPropertyKeys.contains(propertyKey))
+            .sorted()
+            .toList();
+        if (!unusedPropertyKeys.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Specified relationshipPropertyCompression keys `%s` were not projected in the graph. "
+                + "Projected relationship properties are: `%s`.",
+                unusedPropertyKeys,
+                StringJoining.join(relationshipPropertyKeys)
+            ));
+        }
+    }
+
     private List<String> notProjectedRelationshipTypes(RelationshipSchema schema, List<String> givenRelationshipTypes) {
         if (givenRelationshipTypes.contains(ElementProjection.PROJECT_ALL)) {
             return List.of();
@@ -274,8 +320,12 @@ public final class GraphImporter {
 
     if (properties != null) {
         for (String propertyKey : properties.propertyKeys()) {
+            relationshipPropertyKeys.add(propertyKey);
             relationshipsBuilderBuilder.addPropertyConfig(
-                ImmutablePropertyConfig.builder().propertyKey(propertyKey).build()
+                ImmutablePropertyConfig.builder()
+                    .propertyKey(propertyKey)
+                    .compression(relationshipPropertyCompression.getOrDefault(propertyKey, PropertyCompression.NONE))
+                    .build()
             );
         }
     }
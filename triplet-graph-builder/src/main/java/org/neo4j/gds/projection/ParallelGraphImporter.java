@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.projection;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.loading.construction.NodeLabelToken;
+import org.neo4j.gds.core.loading.construction.PropertyValues;
+import org.neo4j.gds.core.utils.ProgressTimer;
+import org.neo4j.gds.logging.Log;
+import org.neo4j.gds.utils.AutoCloseableThreadLocal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves the import of aggregated rows off the threads of the Cypher runtime.
+ * <p>
+ * Every aggregating thread collects its rows in batches, one batch per partition of the source node ids,
+ * without any synchronization. Full batches are imported by tasks on the given executor, which add the
+ * nodes and relationships to the thread-local builders of the wrapped {@link GraphImporter}.
+ * At most {@code concurrency} batches are imported at the same time, an aggregating thread that
+ * completes another batch waits until one of them is done. The local builders are merged when the
+ * graph store is built.
+ */
+public final class ParallelGraphImporter implements TripletImporter {
+
+    static final int BATCH_SIZE = 10_000;
+
+    private final GraphImporter importer;
+    private final int concurrency;
+    private final int batchSize;
+    private final Executor executor;
+    private final Log log;
+
+    private final Semaphore importSlots;
+    private final AutoCloseableThreadLocal<RowBuffer> rowBuffers;
+    private final AtomicReference<RuntimeException> failure;
+
+    private final long startNanos;
+    private final LongAdder aggregatedRows;
+    private final AtomicLong importedBatches;
+    private final LongAdder importNanos;
+
+    public ParallelGraphImporter(GraphImporter importer, Concurrency concurrency, Executor executor, Log log) {
+        this(importer, concurrency, BATCH_SIZE, executor, log);
+    }
+
+    ParallelGraphImporter(GraphImporter importer, Concurrency concurrency, int batchSize, Executor executor, Log log) {
+        this.importer = importer;
+        this.concurrency = concurrency.value();
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.log = log;
+        this.importSlots = new Semaphore(this.concurrency);
+        this.rowBuffers = AutoCloseableThreadLocal.withInitial(() -> new RowBuffer(this.concurrency, this.batchSize));
+        this.failure = new AtomicReference<>();
+        this.startNanos = System.nanoTime();
+        this.aggregatedRows = new LongAdder();
+        this.importedBatches = new AtomicLong();
+        this.importNanos = new LongAdder();
+    }
+
+    @Override
+    public void update(
+        long sourceNode,
+        long targetNode,
+        @Nullable PropertyValues sourceNodePropertyValues,
+        @Nullable PropertyValues targetNodePropertyValues,
+        NodeLabelToken sourceNodeLabels,
+        NodeLabelToken targetNodeLabels,
+        RelationshipType relationshipType,
+        @Nullable PropertyValues relationshipProperties
+    ) {
+        var row = new Row(
+            sourceNode,
+            targetNode,
+            sourceNodePropertyValues,
+            targetNodePropertyValues,
+            sourceNodeLabels,
+            targetNodeLabels,
+            relationshipType,
+            relationshipProperties
+        );
+
+        var buffer = this.rowBuffers.get();
+        var partition = partition(sourceNode);
+        if (buffer.add(partition, row)) {
+            importBatch(buffer.take(partition));
+        }
+    }
+
+    @Override
+    public void flush() {
+        importBatches(this.rowBuffers.get());
+    }
+
+    @Override
+    public AggregationResult result(DatabaseInfo databaseInfo, ProgressTimer timer, boolean hasSeenArbitraryId) {
+        var aggregationNanos = System.nanoTime() - this.startNanos;
+
+        // The Cypher runtime calls for the result after all rows have been aggregated,
+        // so the buffers of all aggregating threads can be imported from here.
+        this.rowBuffers.forEach(this::importBatches);
+        this.rowBuffers.close();
+        this.importSlots.acquireUninterruptibly(this.concurrency);
+        this.importSlots.release(this.concurrency);
+        throwIfFailed();
+        var importNanos = System.nanoTime() - this.startNanos - aggregationNanos;
+
+        var buildStart = System.nanoTime();
+        var result = this.importer.result(databaseInfo, timer, hasSeenArbitraryId);
+        var buildNanos = System.nanoTime() - buildStart;
+
+        logMetrics(result, aggregationNanos, importNanos, buildNanos);
+
+        return result;
+    }
+
+    private int partition(long sourceNode) {
+        // spread consecutive ids, so that all partitions fill up at the same pace
+        return (int) Long.remainderUnsigned(sourceNode * 0x9E3779B97F4A7C15L, this.concurrency);
+    }
+
+    private void importBatches(RowBuffer buffer) {
+        for (int partition = 0; partition < this.concurrency; partition++) {
+            if (buffer.size(partition) > 0) {
+                importBatch(buffer.take(partition));
+            }
+        }
+    }
+
+    private void importBatch(Row[] batch) {
+        throwIfFailed();
+        this.aggregatedRows.add(countRows(batch));
+        try {
+            this.importSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        try {
+            this.executor.execute(() -> importRows(batch));
+        } catch (RejectedExecutionException e) {
+            this.importSlots.release();
+            throw e;
+        }
+    }
+
+    private void importRows(Row[] batch) {
+        var start = System.nanoTime();
+        try {
+            if (this.failure.get() != null) {
+                return;
+            }
+            for (var row : batch) {
+                if (row == null) {
+                    break;
+                }
+                this.importer.update(
+                    row.sourceNode(),
+                    row.targetNode(),
+                    row.sourceNodePropertyValues(),
+                    row.targetNodePropertyValues(),
+                    row.sourceNodeLabels(),
+                    row.targetNodeLabels(),
+                    row.relationshipType(),
+                    row.relationshipProperties()
+                );
+            }
+            this.importedBatches.incrementAndGet();
+        } catch (RuntimeException e) {
+            this.failure.compareAndSet(null, e);
+        } finally {
+            this.importNanos.add(System.nanoTime() - start);
+            this.importSlots.release();
+        }
+    }
+
+    private void throwIfFailed() {
+        var error = this.failure.get();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void logMetrics(AggregationResult result, long aggregationNanos, long importNanos, long buildNanos) {
+        var rows = this.aggregatedRows.sum();
+        log.info(
+            "Graph aggregation `%s`: aggregated %d rows in %d ms (%d rows/s), " +
+                "finished importing %d batches on %d threads %d ms later (%d rows/s per thread), " +
+                "built the graph store in %d ms.",
+            result.graphName(),
+            rows,
+            aggregationNanos / 1_000_000,
+            perSecond(rows, aggregationNanos),
+            this.importedBatches.get(),
+            this.concurrency,
+            importNanos / 1_000_000,
+            perSecond(rows, this.importNanos.sum()),
+            buildNanos / 1_000_000
+        );
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return nanos == 0 ? 0 : (long) (count * 1_000_000_000.0 / nanos);
+    }
+
+    private static int countRows(Row[] batch) {
+        int count = 0;
+        while (count < batch.length && batch[count] != null) {
+            count++;
+        }
+        return count;
+    }
+
+    private record Row(
+        long sourceNode,
+        long targetNode,
+        @Nullable PropertyValues sourceNodePropertyValues,
+        @Nullable PropertyValues targetNodePropertyValues,
+        NodeLabelToken sourceNodeLabels,
+        NodeLabelToken targetNodeLabels,
+        RelationshipType relationshipType,
+        @Nullable PropertyValues relationshipProperties
+    ) {}
+
+    /**
+     * The rows of one aggregating thread that have not been handed to the import yet.
+     * Only accessed by its thread, and by the thread building the result once all rows have been aggregated.
+     */
+    private static final class RowBuffer implements AutoCloseable {
+        private final int batchSize;
+        private final Row[][] batches;
+        private final int[] sizes;
+
+        RowBuffer(int partitions, int batchSize) {
+            this.batchSize = batchSize;
+            this.batches = new Row[partitions][];
+            this.sizes = new int[partitions];
+        }
+
+        /**
+         * Returns true if the batch of the partition is full.
+         */
+        boolean add(int partition, Row row) {
+            var batch = this.batches[partition];
+            if (batch == null) {
+                batch = this.batches[partition] = new Row[this.batchSize];
+            }
+            batch[this.sizes[partition]++] = row;
+            return this.sizes[partition] == this.batchSize;
+        }
+
+        int size(int partition) {
+            return this.sizes[partition];
+        }
+
+        Row[] take(int partition) {
+            var batch = this.batches[partition];
+            this.batches[partition] = null;
+            this.sizes[partition] = 0;
+            return batch;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
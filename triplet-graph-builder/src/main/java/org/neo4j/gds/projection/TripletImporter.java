@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.projection;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.core.loading.construction.NodeLabelToken;
+import org.neo4j.gds.core.loading.construction.PropertyValues;
+import org.neo4j.gds.core.utils.ProgressTimer;
+
+/**
+ * Imports the rows of a Cypher aggregation, each row being a source node with an optional target node,
+ * and builds a graph store from them once all rows have been aggregated.
+ */
+public interface TripletImporter {
+
+    void update(
+        long sourceNode,
+        long targetNode,
+        @Nullable PropertyValues sourceNodePropertyValues,
+        @Nullable PropertyValues targetNodePropertyValues,
+        NodeLabelToken sourceNodeLabels,
+        NodeLabelToken targetNodeLabels,
+        RelationshipType relationshipType,
+        @Nullable PropertyValues relationshipProperties
+    );
+
+    /**
+     * Called by a thread that has no more rows to aggregate for the moment.
+     * Implementations that buffer rows per thread hand the buffered rows on.
+     */
+    default void flush() {
+    }
+
+    AggregationResult result(DatabaseInfo databaseInfo, ProgressTimer timer, boolean hasSeenArbitraryId);
+}
@@ -29,6 +29,7 @@ import org.neo4j.gds.api.PropertyState;
 import org.neo4j.gds.compat.TestLog;
 import org.neo4j.gds.compat.TestLogImpl;
 import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.PropertyCompression;
 import org.neo4j.gds.core.concurrency.Concurrency;
 import org.neo4j.gds.core.loading.Capabilities;
 import org.neo4j.gds.core.loading.GraphStoreCatalog;
@@ -454,4 +455,43 @@ class GraphImporterTest {
 
         assertThat(taskStore.tasks()).isEmpty();
      }
+
+    @Test
+    void shouldFailImportWithUnusedRelationshipPropertyCompression() {
+        var importer = new GraphImporter(
+            GraphProjectConfig.emptyWithName("", "g"),
+            List.of(),
+            List.of(),
+            Map.of("weight", PropertyCompression.FLOAT, "cost", PropertyCompression.AUTO),
+            new LazyIdMapBuilderBuilder()
+                .concurrency(new Concurrency(4))
+                .hasLabelInformation(true)
+                .hasProperties(true)
+                .propertyState(PropertyState.REMOTE)
+                .build(),
+            Capabilities.WriteMode.REMOTE,
+            "",
+            ProgressTracker.NULL_TRACKER
+        );
+
+        importer.update(
+            0,
+            1,
+            null,
+            null,
+            NodeLabelTokens.empty(),
+            NodeLabelTokens.empty(),
+            RelationshipType.of("REL"),
+            PropertyValues.of(Map.of("weight", PrimitiveValues.floatingPointValue(0.5)))
+        );
+
+        assertThatThrownBy(() -> importer.result(
+            DatabaseInfo.of(DatabaseId.EMPTY, DatabaseInfo.DatabaseLocation.LOCAL),
+            ProgressTimer.start(),
+            true
+        )).hasMessage(
+            "Specified relationshipPropertyCompression keys `[cost]` were not projected in the graph. "
+            + "Projected relationship properties are: `['weight']`."
+        );
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.projection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.RelationshipType;
+import org.neo4j.gds.api.DatabaseId;
+import org.neo4j.gds.api.DatabaseInfo;
+import org.neo4j.gds.api.PropertyState;
+import org.neo4j.gds.config.GraphProjectConfig;
+import org.neo4j.gds.core.concurrency.Concurrency;
+import org.neo4j.gds.core.concurrency.DefaultPool;
+import org.neo4j.gds.core.loading.Capabilities;
+import org.neo4j.gds.core.loading.GraphStoreCatalog;
+import org.neo4j.gds.core.loading.LazyIdMapBuilderBuilder;
+import org.neo4j.gds.core.loading.construction.NodeLabelTokens;
+import org.neo4j.gds.core.loading.construction.PropertyValues;
+import org.neo4j.gds.core.utils.ProgressTimer;
+import org.neo4j.gds.core.utils.progress.tasks.ProgressTracker;
+import org.neo4j.gds.logging.Log;
+import org.neo4j.gds.values.primitive.PrimitiveValues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.gds.TestSupport.assertGraphEquals;
+import static org.neo4j.gds.TestSupport.fromGdl;
+
+class ParallelGraphImporterTest {
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldImportRowsLeftInBuffers() {
+        var importer = parallelImporter(100);
+
+        for (int i = 0; i < 2; i++) {
+            importer.update(
+                i,
+                i + 1,
+                PropertyValues.of(Map.of("prop", PrimitiveValues.longValue(i))),
+                PropertyValues.of(Map.of("prop", PrimitiveValues.longValue(i + 1))),
+                NodeLabelTokens.ofStrings("Label"),
+                NodeLabelTokens.ofStrings("Label"),
+                RelationshipType.of("REL"),
+                PropertyValues.of(Map.of("weight", PrimitiveValues.floatingPointValue(i + 0.5)))
+            );
+        }
+
+        var result = importer.result(
+            DatabaseInfo.of(DatabaseId.EMPTY, DatabaseInfo.DatabaseLocation.LOCAL),
+            ProgressTimer.start(),
+            true
+        );
+
+        assertThat(result.nodeCount()).isEqualTo(3);
+        assertThat(result.relationshipCount()).isEqualTo(2);
+        var graphStore = GraphStoreCatalog.get("", "", "g").graphStore();
+        assertGraphEquals(
+            fromGdl(
+                "(a:Label {prop: 0})-[:REL {weight: 0.5}]->(b:Label {prop: 1})-[:REL {weight: 1.5}]->(c:Label {prop: 2})"
+            ),
+            graphStore.getUnion()
+        );
+    }
+
+    @Test
+    void shouldImportRowsOfManyThreads() throws Exception {
+        var nodeCount = 10_000;
+        var threads = 4;
+        var importer = parallelImporter(64);
+
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < threads; thread++) {
+                var offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int node = offset; node < nodeCount; node += threads) {
+                        importer.update(
+                            node,
+                            (node + 1) % nodeCount,
+                            null,
+                            null,
+                            NodeLabelTokens.empty(),
+                            NodeLabelTokens.empty(),
+                            RelationshipType.ALL_RELATIONSHIPS,
+                            null
+                        );
+                    }
+                    importer.flush();
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var result = importer.result(
+            DatabaseInfo.of(DatabaseId.EMPTY, DatabaseInfo.DatabaseLocation.LOCAL),
+            ProgressTimer.start(),
+            true
+        );
+
+        assertThat(result.nodeCount()).isEqualTo(nodeCount);
+        assertThat(result.relationshipCount()).isEqualTo(nodeCount);
+
+        var graph = GraphStoreCatalog.get("", "", "g").graphStore().getUnion();
+        var targets = new ArrayList<Long>();
+        graph.forEachNode(node -> {
+            assertThat(graph.degree(node)).isEqualTo(1);
+            var source = graph.toOriginalNodeId(node);
+            graph.forEachRelationship(node, (s, target) -> {
+                assertThat(graph.toOriginalNodeId(target)).isEqualTo((source + 1) % nodeCount);
+                targets.add(target);
+                return true;
+            });
+            return true;
+        });
+        assertThat(targets).hasSize(nodeCount);
+    }
+
+    @Test
+    void shouldFailWhenRowsCannotBeImported() {
+        var importer = parallelImporter(1);
+
+        importer.update(
+            -42,
+            1,
+            null,
+            null,
+            NodeLabelTokens.empty(),
+            NodeLabelTokens.empty(),
+            RelationshipType.ALL_RELATIONSHIPS,
+            null
+        );
+
+        assertThatThrownBy(() -> importer.result(
+            DatabaseInfo.of(DatabaseId.EMPTY, DatabaseInfo.DatabaseLocation.LOCAL),
+            ProgressTimer.start(),
+            true
+        )).hasMessageContaining("-42");
+        assertThat(GraphStoreCatalog.exists("", DatabaseId.EMPTY, "g")).isFalse();
+    }
+
+    private static ParallelGraphImporter parallelImporter(int batchSize) {
+        var concurrency = new Concurrency(4);
+        var importer = new GraphImporter(
+            GraphProjectConfig.emptyWithName("", "g"),
+            List.of(),
+            List.of(),
+            new LazyIdMapBuilderBuilder()
+                .concurrency(concurrency)
+                .hasLabelInformation(true)
+                .hasProperties(true)
+                .propertyState(PropertyState.REMOTE)
+                .build(),
+            Capabilities.WriteMode.REMOTE,
+            "",
+            ProgressTracker.NULL_TRACKER
+        );
+        return new ParallelGraphImporter(importer, concurrency, batchSize, DefaultPool.INSTANCE, Log.noOpLog());
+    }
+}